@@ -1,6 +1,20 @@
 package com.example;
 
+import com.example.config.CategoryProperties;
+import com.example.config.ChatProperties;
+import com.example.config.DtoCacheProperties;
+import com.example.config.FacetProperties;
+import com.example.config.FeedProperties;
+import com.example.config.IngestProperties;
 import com.example.config.JwtProperties;
+import com.example.config.LiveRegistryProperties;
+import com.example.config.LiveTimerProperties;
+import com.example.config.NotificationProperties;
+import com.example.config.PresenceProperties;
+import com.example.config.ScheduleProperties;
+import com.example.config.SubscriptionProperties;
+import com.example.config.TagProperties;
+import com.example.config.VideoCatalogProperties;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.info.Info;
@@ -9,7 +23,11 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
-@SpringBootApplication @EnableConfigurationProperties(JwtProperties.class)
+@SpringBootApplication @EnableConfigurationProperties({JwtProperties.class, ChatProperties.class, PresenceProperties.class,
+        IngestProperties.class, LiveRegistryProperties.class, LiveTimerProperties.class,
+        ScheduleProperties.class, NotificationProperties.class, SubscriptionProperties.class,
+        FeedProperties.class, TagProperties.class, FacetProperties.class,
+        CategoryProperties.class, DtoCacheProperties.class, VideoCatalogProperties.class})
 @OpenAPIDefinition(info = @Info(title = "Streaming Site API", version = "1.0"))
 @SecurityScheme(name = "bearerAuth", type = SecuritySchemeType.HTTP, scheme = "bearer", bearerFormat = "JWT")
 public class BackendApplication {
@@ -0,0 +1,33 @@
+package com.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * カテゴリ一覧のスナップショットと、カテゴリ別の動画件数・人気動画に関する設定値。
+ */
+@Getter @Setter @ConfigurationProperties(prefix = "app.category")
+public class CategoryProperties {
+
+    /** 他ノードでの変更を取り込むため、カテゴリ一覧を全件読み直す間隔（ms） */
+    private long reloadIntervalMs = 300_000;
+
+    /** 他ノードでの付け替えを取り込むため、部分木のカテゴリID集合のキャッシュを破棄する間隔（ms） */
+    private long subtreeRefreshIntervalMs = 60_000;
+
+    /** カテゴリごとに返す人気動画の最大件数 */
+    private int popularSize = 20;
+
+    /** 件数・人気動画を DB の集計と突き合わせて作り直す間隔（ms） */
+    private long statsReconcileIntervalMs = 600_000;
+
+    /** 突き合わせで DB から一度に読み込む行数 */
+    private int statsLoadChunkSize = 50_000;
+
+    /** 一括付与で1トランザクションにまとめる対象（動画・ライブ配信）の件数 */
+    private int bulkChunkSize = 1_000;
+
+    /** 一括付与の1リクエストで受け付ける (対象, カテゴリ) の組の上限 */
+    private int bulkMaxLinks = 100_000;
+}
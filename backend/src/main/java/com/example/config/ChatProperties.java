@@ -0,0 +1,100 @@
+package com.example.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * チャット配信（ファンアウト）に関する設定値。
+ */
+@Getter @Setter @ConfigurationProperties(prefix = "app.chat")
+public class ChatProperties {
+
+    /** 絵文字だけのメッセージをリアクションとみなす最大文字数（コードポイント数） */
+    private int reactionMaxLength = 8;
+
+    /** リアクションとみなす定型の一語（絵文字以外。これ以外の短い発言は通常のメッセージとして扱う） */
+    private List<String> reactionWords = new ArrayList<>(List.of("草", "w", "ww", "www", "888", "8888", "gg"));
+
+    /** リアクション集約ウィンドウ（ミリ秒） */
+    private long aggregationWindowMs = 1000;
+
+    /** 間引き配信へ切り替えるメッセージレート（件/秒） */
+    private double sampledModeEnterRate = 200;
+
+    /** 間引き配信を解除するメッセージレート（件/秒）。enter より小さくしてヒステリシスを持たせる */
+    private double sampledModeExitRate = 100;
+
+    /** 間引き配信中に個別配信する目標レート（件/秒） */
+    private double targetDeliveryRate = 50;
+
+    /** SSE 接続のタイムアウト（ミリ秒） */
+    private long sseTimeoutMs = 30 * 60 * 1000L;
+
+    /** 終了配信のチャットアーカイブ設定 */
+    private Archive archive = new Archive();
+
+    /** VOD 同期のチャットリプレイ設定 */
+    private Replay replay = new Replay();
+
+    /** 複数ノード間のチャット中継設定 */
+    private Relay relay = new Relay();
+
+    @Getter @Setter
+    public static class Archive {
+        /** 1ブロックに圧縮するメッセージ件数 */
+        private int blockSize = 512;
+        /** アーカイブ作成時に1回で読み込むメッセージ件数 */
+        private int readChunkSize = 2000;
+        /** アーカイブ後に1トランザクションで削除する行数 */
+        private int deleteChunkSize = 1000;
+        /** 未アーカイブの終了配信を拾う定期スイープの間隔（ms） */
+        private long sweepIntervalMs = 10 * 60 * 1000L;
+        /** 作成途中のアーカイブがこの時間（ms）進まなければ、書き込みジョブが止まったとみなして作り直す */
+        private long abandonAfterMs = 15 * 60 * 1000L;
+    }
+
+    @Getter @Setter
+    public static class Replay {
+        /** 時刻インデックスのチェックポイント間隔（ms） */
+        private long checkpointIntervalMs = 10_000;
+        /** 1リクエストで取得できる最大の時間幅（ms、先読み分を含む） */
+        private long maxWindowMs = 5 * 60 * 1000L;
+        /** 1リクエストで返す最大メッセージ件数 */
+        private int maxMessages = 2000;
+        /** 展開済みブロックを保持する件数（LRU） */
+        private int blockCacheSize = 64;
+    }
+
+    @Getter @Setter
+    public static class Relay {
+        /** 自ノードのID */
+        private String nodeId = "node-1";
+        /** クラスタ全ノードのID（空なら自ノードのみ）。配信のオーナー決定に使う */
+        private List<String> nodes = new ArrayList<>();
+        /** 中継ブローカーの種類 */
+        private BrokerType broker = BrokerType.IN_MEMORY;
+        /** local-socket: 自ノードの待ち受けポート（0 なら空きポート） */
+        private int listenPort = 0;
+        /** local-socket: 他ノードの待ち受けポート */
+        private List<Integer> peerPorts = new ArrayList<>();
+        /** 1バッチの最大メッセージ数 */
+        private int batchSize = 64;
+        /** バッチを溜める最大待ち時間（ms） */
+        private long lingerMs = 5;
+        /** コンシステントハッシュの1ノードあたり仮想ノード数 */
+        private int virtualNodes = 128;
+        /** 並べ替え待ちの最大件数（超えたら欠番を諦める） */
+        private int reorderMaxPending = 256;
+        /** 欠番を待つ最大時間（ms）。過ぎたら欠番を諦めて先の連番を配信する */
+        private long reorderGapTimeoutMs = 500;
+        /** オーナーノードへ転送した投稿の応答待ち上限（ms） */
+        private long forwardTimeoutMs = 3000;
+    }
+
+    public enum BrokerType {
+        IN_MEMORY, LOCAL_SOCKET
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.config;
+
+import com.example.service.chat.relay.ChatBroker;
+import com.example.service.chat.relay.InMemoryChatBroker;
+import com.example.service.chat.relay.LocalSocketChatBroker;
+import java.io.IOException;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ノード間チャット中継ブローカーの選択。
+ * 既定は単一ノード向けの in-memory、同一ホスト上の複数ノードでは local-socket を使う。
+ */
+@Configuration
+public class ChatRelayConfig {
+
+    @Bean(destroyMethod = "close")
+    public ChatBroker chatBroker(ChatProperties chatProperties) throws IOException {
+        ChatProperties.Relay relay = chatProperties.getRelay();
+        return switch (relay.getBroker()) {
+            case IN_MEMORY -> new InMemoryChatBroker();
+            case LOCAL_SOCKET -> new LocalSocketChatBroker(relay.getListenPort(), relay.getPeerPorts());
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 詳細取得 API のレスポンスDTOキャッシュ（動画・ライブ配信・ユーザー）に関する設定値。
+ */
+@Getter @Setter @ConfigurationProperties(prefix = "app.dto-cache")
+public class DtoCacheProperties {
+
+    /** エントリの有効期限（ms）。再生数など、イベントで破棄しない変更の反映はこの期限に任せる */
+    private long ttlMs = 30_000;
+
+    /** 動画キャッシュの上限（バイト） */
+    private long videoMaxBytes = 16L * 1024 * 1024;
+
+    /** ライブ配信キャッシュの上限（バイト） */
+    private long liveStreamMaxBytes = 8L * 1024 * 1024;
+
+    /** ユーザーキャッシュの上限（バイト） */
+    private long userMaxBytes = 8L * 1024 * 1024;
+
+    /** 1エントリの平均の大きさの目安（バイト。頻度スケッチの大きさに使う） */
+    private int averageEntryBytes = 512;
+
+    /** ホットキー判定用の頻度スケッチの1行あたりのカウンタ数 */
+    private int hotSketchWidth = 4096;
+
+    /** この推定頻度に達した ID をホットキーに昇格させ、DTO をニアキャッシュに持つ */
+    private int hotPromoteThreshold = 200;
+
+    /** 減衰後の推定頻度がこれを下回ったホットキーを降格させる */
+    private int hotDemoteThreshold = 50;
+
+    /** キャッシュごとのホットキーの上限件数 */
+    private int hotMaxKeys = 64;
+
+    /** 頻度を半分にする間隔（ms） */
+    private long hotDecayIntervalMs = 10_000;
+}
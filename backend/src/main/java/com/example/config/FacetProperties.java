@@ -0,0 +1,27 @@
+package com.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 動画のファセット索引（カテゴリ・タグ・公開範囲・状態のビットマップ）に関する設定値。
+ */
+@Getter @Setter @ConfigurationProperties(prefix = "app.facet")
+public class FacetProperties {
+
+    /** 起動時・再構築時に DB から一度に読み込む行数 */
+    private int loadChunkSize = 50_000;
+
+    /** 索引を DB から作り直す間隔（ms） */
+    private long rebuildIntervalMs = 21_600_000;
+
+    /** 1ページの最大件数 */
+    private int maxPageSize = 100;
+
+    /** 結果に含めるタグ別件数の上限（件数の多い順。0 ならタグ別件数を返さない） */
+    private int tagCountLimit = 20;
+
+    /** タグ別件数を、結果の動画を1件ずつ数えて求める件数の上限（超えたらビットマップ同士で数える） */
+    private int tagCountScanLimit = 20_000;
+}
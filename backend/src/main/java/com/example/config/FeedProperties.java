@@ -0,0 +1,36 @@
+package com.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * フォロー中チャンネルの新着動画フィードに関する設定値。
+ */
+@Getter @Setter @ConfigurationProperties(prefix = "app.feed")
+public class FeedProperties {
+
+    /** 配信者ごとにメモリへ保持する新着動画の件数 */
+    private int perCreatorLimit = 100;
+
+    /** 新着動画を保持する配信者数の上限 */
+    private int creatorCacheSize = 50_000;
+
+    /** 配信者の新着動画の有効期間（ms）。他ノードでの公開・非公開はこの期間で反映される */
+    private long creatorCacheTtlMs = 300_000;
+
+    /** 配信者の新着動画を DB から一度に読み込む配信者数 */
+    private int loadChunkSize = 500;
+
+    /** ユーザーごとにマージ済みで保持する件数（先頭ページ分。perCreatorLimit 以下に丸める） */
+    private int cachedItems = 100;
+
+    /** マージ済みフィードを保持するユーザー数の上限 */
+    private int feedCacheSize = 10_000;
+
+    /** マージ済みフィードの有効期間（ms） */
+    private long feedCacheTtlMs = 60_000;
+
+    /** 1ページの最大件数 */
+    private int maxPageSize = 50;
+}
@@ -0,0 +1,42 @@
+package com.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 配信取り込み（RTMP 等のインジェスト）時のストリームキー認可に関する設定値。
+ */
+@Getter @Setter @ConfigurationProperties(prefix = "app.ingest")
+public class IngestProperties {
+
+    /** 有効なキーのキャッシュを DB で確認し直すまでの時間（ms）。他ノードでの無効化を拾うため */
+    private long positiveTtlMs = 5 * 60 * 1000L;
+
+    /** 存在しないキーを覚えておく最大件数 */
+    private int negativeMaxSize = 100_000;
+
+    /** 存在しないキーを覚えておく時間（ms） */
+    private long negativeTtlMs = 60_000;
+
+    /**
+     * キャッシュにないキーを DB で照会する回数の上限（送信元ごと、1秒あたり）。
+     * 超えた分は照会せずに無効なキーとして扱う（異なるキーでの総当たり対策）
+     */
+    private double lookupsPerSecondPerSource = 1;
+
+    /** 送信元ごとの照会回数の上限を一時的に超えてよい回数 */
+    private int lookupBurstPerSource = 10;
+
+    /** 照会回数を数える送信元の上限 */
+    private int rateLimitMaxSources = 100_000;
+
+    /**
+     * ネガティブキャッシュにあるキーを DB で照会し直す回数の上限（1秒あたり、ノード全体）。
+     * 超えた分は照会せずに無効なキーとして扱う
+     */
+    private double negativeRechecksPerSecond = 50;
+
+    /** 照会し直す回数の上限を一時的に超えてよい回数 */
+    private int negativeRecheckBurst = 200;
+}
@@ -0,0 +1,18 @@
+package com.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 配信中・まもなく開始の配信をメモリに保持するレジストリの設定値。
+ */
+@Getter @Setter @ConfigurationProperties(prefix = "app.live-registry")
+public class LiveRegistryProperties {
+
+    /** 「まもなく開始」として保持する配信予定の先読み時間（時間） */
+    private long scheduledHorizonHours = 24;
+
+    /** DB との突き合わせ（再読み込み）の間隔（ms） */
+    private long reconcileIntervalMs = 60_000;
+}
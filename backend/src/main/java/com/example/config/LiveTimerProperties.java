@@ -0,0 +1,30 @@
+package com.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 配信のライフサイクルタイマー（開始前リマインド・未開始の自動キャンセル・配信者不在の自動終了）の設定値。
+ */
+@Getter @Setter @ConfigurationProperties(prefix = "app.live-timer")
+public class LiveTimerProperties {
+
+    /** タイミングホイール最下層の刻み（ms）。タイマー処理の実行間隔も兼ねる */
+    private long tickMs = 1_000;
+
+    /** タイミングホイール1層あたりのスロット数 */
+    private int wheelSize = 64;
+
+    /** 配信予定日時の何分前にリマインドを出すか */
+    private long reminderLeadMinutes = 10;
+
+    /** 配信予定日時を過ぎても開始されない配信を、何分後に自動キャンセルするか */
+    private long noShowGraceMinutes = 30;
+
+    /** 取り込みサーバからのハートビートがこの時間（ms）途切れた配信中ライブを自動終了する */
+    private long heartbeatTimeoutMs = 300_000;
+
+    /** 最終ハートビート時刻を DB に記録する最短間隔（ms）。{@code heartbeatTimeoutMs} より十分短くすること */
+    private long heartbeatPersistIntervalMs = 30_000;
+}
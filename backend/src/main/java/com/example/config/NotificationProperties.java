@@ -0,0 +1,33 @@
+package com.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 通知（配信開始時のフォロワーへのファンアウト）に関する設定値。
+ */
+@Getter @Setter @ConfigurationProperties(prefix = "app.notification")
+public class NotificationProperties {
+
+    /** フォロワーIDをキーセットで読む1回あたりの件数（= 通知のバッチ挿入1回の件数） */
+    private int fanoutBatchSize = 1000;
+
+    /** ファンアウトを並行して実行するスレッド数 */
+    private int fanoutThreads = 2;
+
+    /** 実行待ちにできるファンアウトの数（溢れた分は定期的に再投入する） */
+    private int fanoutQueueCapacity = 100;
+
+    /** 溢れたファンアウトを再投入する間隔（ms） */
+    private long retryIntervalMs = 5_000;
+
+    /** 完了したファンアウトの進捗を保持する時間（ms） */
+    private long progressRetentionMs = 3_600_000;
+
+    /** 失敗したファンアウトを、続きから再開するまでの待ち時間（ms） */
+    private long resumeDelayMs = 60_000;
+
+    /** 実行中のまま進捗がこの時間（ms）更新されないファンアウトは、実行ノードが止まったとみなして再開する */
+    private long stalledAfterMs = 300_000;
+}
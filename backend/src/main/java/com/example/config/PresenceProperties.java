@@ -0,0 +1,38 @@
+package com.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 配信中の視聴者プレゼンス（ハートビート）と視聴者数ランキングに関する設定値。
+ */
+@Getter @Setter @ConfigurationProperties(prefix = "app.presence")
+public class PresenceProperties {
+
+    /** 最終ハートビートからこの時間（ms）を過ぎた視聴者は離脱とみなす */
+    private long ttlMs = 30_000;
+
+    /** 正確に数える同時視聴者数の上限。超えたら HyperLogLog の近似に切り替える */
+    private int exactThreshold = 1000;
+
+    /** 近似モードで HyperLogLog を分ける時間バケット（ms） */
+    private long bucketMs = 5_000;
+
+    /** HyperLogLog の精度（レジスタ数 = 2^precision） */
+    private int hllPrecision = 12;
+
+    /**
+     * 送信元アドレス1つあたりに受け付ける匿名ハートビートの流量（1秒あたり）と一時的な超過分。
+     * 超えた分は数えないため、1つのアドレスから clientId を変えて水増しできる視聴者数は
+     * おおよそ流量 × TTL までに抑えられる（NAT の内側の正規の視聴者は clientId ごとに数える）
+     */
+    private double anonymousHeartbeatsPerSecond = 50;
+    private int anonymousHeartbeatBurst = 200;
+
+    /** 流量制限を保持する送信元アドレス数の上限 */
+    private int rateLimitMaxAddresses = 100_000;
+
+    /** 視聴者数ランキングの再計算間隔（ms） */
+    private long rankIntervalMs = 2_000;
+}
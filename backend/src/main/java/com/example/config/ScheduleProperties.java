@@ -0,0 +1,21 @@
+package com.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 配信予定カレンダー（期間指定の配信予定一覧・配信者ごとの時間重複チェック）の設定値。
+ */
+@Getter @Setter @ConfigurationProperties(prefix = "app.schedule")
+public class ScheduleProperties {
+
+    /** 配信予定の想定枠（分）。予定日時からこの時間を配信枠とみなして重なりを判定する */
+    private long slotMinutes = 60;
+
+    /** 配信予定一覧で一度に指定できる期間の上限（日） */
+    private long maxRangeDays = 31;
+
+    /** 配信予定を DB から読み直す間隔（ms）。他ノードで作成・変更された配信予定はこの間隔で反映される */
+    private long reloadIntervalMs = 60_000;
+}
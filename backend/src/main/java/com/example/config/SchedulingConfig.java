@@ -0,0 +1,63 @@
+package com.example.config;
+
+import java.util.concurrent.Executor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * バックグラウンド処理（集約フラッシュ・定期ジョブ・非同期ジョブ）のためのスケジューリング設定。
+ */
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class SchedulingConfig {
+
+    /**
+     * 終了配信のチャットアーカイブ化用エグゼキュータ。
+     * DB 負荷を抑えるためスレッド数とキューを絞っている（溢れた分は定期スイープで回収）。
+     */
+    @Bean(name = "chatCompactionExecutor")
+    public Executor chatCompactionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("chat-compaction-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 他ノードから転送されたチャット投稿の永続化用エグゼキュータ。
+     * 中継の受信スレッドを DB 処理で塞がないために分離している。
+     */
+    @Bean(name = "chatRelayExecutor")
+    public Executor chatRelayExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(10_000);
+        executor.setThreadNamePrefix("chat-relay-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 配信開始通知のファンアウト用エグゼキュータ。
+     * フォロワー数の多い配信者でも DB を占有しないようスレッド数とキューを絞る
+     * （キュー溢れは呼び出し側で保留し、定期的に再投入する）。
+     */
+    @Bean(name = "notificationFanoutExecutor")
+    public Executor notificationFanoutExecutor(NotificationProperties props) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(props.getFanoutThreads());
+        executor.setMaxPoolSize(props.getFanoutThreads());
+        executor.setQueueCapacity(props.getFanoutQueueCapacity());
+        executor.setThreadNamePrefix("notification-fanout-");
+        executor.initialize();
+        return executor;
+    }
+}
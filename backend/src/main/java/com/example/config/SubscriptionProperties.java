@@ -0,0 +1,39 @@
+package com.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * フォロー（subscriptions）とフォロワー数カウンタ・フォローグラフに関する設定値。
+ */
+@Getter @Setter @ConfigurationProperties(prefix = "app.subscription")
+public class SubscriptionProperties {
+
+    /** フォロワー数・フォロー数のキャッシュ件数 */
+    private int countCacheSize = 10_000;
+
+    /** フォロワー数・フォロー数のキャッシュ有効期間（ms） */
+    private long countCacheTtlMs = 60_000;
+
+    /** カウンタ突き合わせで1トランザクションに扱うユーザー数 */
+    private int reconcileChunkSize = 500;
+
+    /** カウンタ突き合わせの実行間隔（ms） */
+    private long reconcileIntervalMs = 3_600_000;
+
+    /** フォローグラフの全件読み込みで1回に読む行数 */
+    private int graphLoadChunkSize = 50_000;
+
+    /** フォローグラフへ差分（フォロー・解除）を反映する間隔（ms） */
+    private long graphMergeIntervalMs = 10_000;
+
+    /** フォローグラフを DB から全件読み直す間隔（ms） */
+    private long graphReloadIntervalMs = 86_400_000;
+
+    /** おすすめの探索で1ユーザーあたりにたどるフォロー・フォロワーの上限 */
+    private int suggestionFanout = 200;
+
+    /** おすすめの最大件数 */
+    private int suggestionMaxLimit = 50;
+}
@@ -0,0 +1,18 @@
+package com.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * タグ（入力候補の索引）に関する設定値。
+ */
+@Getter @Setter @ConfigurationProperties(prefix = "app.tag")
+public class TagProperties {
+
+    /** 入力候補の最大件数（索引の各ノードが保持する上位件数） */
+    private int suggestMaxLimit = 20;
+
+    /** 入力候補の索引を DB から作り直す間隔（ms） */
+    private long reconcileIntervalMs = 3_600_000;
+}
@@ -0,0 +1,27 @@
+package com.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 公開動画の列指向カタログ（絞り込み・並べ替え用のメモリ上の表）に関する設定値。
+ */
+@Getter @Setter @ConfigurationProperties(prefix = "app.video-catalog")
+public class VideoCatalogProperties {
+
+    /** false にすると一覧は常に DB から返す */
+    private boolean enabled = true;
+
+    /** 起動時・再構築時に DB から一度に読み込む行数 */
+    private int loadChunkSize = 50_000;
+
+    /** カタログを DB から作り直す間隔（ms）。再生数は app.video-card.views-refresh-interval-ms の間隔で読み直す */
+    private long rebuildIntervalMs = 300_000;
+
+    /** このノードで増えた再生数をまとめてカタログに加算する間隔（ms） */
+    private long viewsFlushIntervalMs = 1_000;
+
+    /** カタログで返す範囲の上限（offset + size）。これより深いページは DB から返す */
+    private int maxWindow = 10_000;
+}
@@ -1,6 +1,7 @@
 package com.example.controller;
 
 import com.example.dto.categories.*;
+import com.example.dto.videos.PublicVideoResponseDTO;
 import com.example.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
@@ -39,7 +40,13 @@ public class CategoryController {
         return ResponseEntity.ok(categoryService.getCategory(id));
     }
 
-    @Operation(summary = "カテゴリ検索", description = "名称の部分一致でカテゴリを検索します（公開）")
+    @Operation(summary = "スラッグでカテゴリ取得", description = "URL 用のスラッグでカテゴリを1件取得します（公開）")
+    @GetMapping("/categories/by-slug/{slug}")
+    public ResponseEntity<CategoryResponseDTO> getCategoryBySlug(@PathVariable String slug) {
+        return ResponseEntity.ok(categoryService.getCategoryBySlug(slug));
+    }
+
+    @Operation(summary = "カテゴリ検索", description = "名称の部分一致（prefix=true なら前方一致）でカテゴリを検索します（公開）")
     @GetMapping("/categories")
     public ResponseEntity<Page<CategoryResponseDTO>> searchCategories(
             @ParameterObject @Valid CategorySearchRequestDTO request,
@@ -49,6 +56,24 @@ public class CategoryController {
         return ResponseEntity.ok(page);
     }
 
+    @Operation(summary = "カテゴリの人気動画", description = "カテゴリ内の公開動画を再生数の多い順に返します（公開）")
+    @GetMapping("/categories/{id}/popular-videos")
+    public ResponseEntity<List<PublicVideoResponseDTO>> getPopularVideos(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(categoryService.getPopularVideos(id, limit));
+    }
+
+    @Operation(summary = "カテゴリの動画一覧", description = "カテゴリとその子孫カテゴリに属する公開動画を返します（公開）")
+    @GetMapping("/categories/{id}/videos")
+    public ResponseEntity<Page<PublicVideoResponseDTO>> getVideosInCategory(
+            @PathVariable UUID id,
+            @ParameterObject Pageable pageable
+    ) {
+        return ResponseEntity.ok(categoryService.getVideosInSubtree(id, pageable));
+    }
+
     // ========================================================
     // ============ Ⅱ. 認証必須（Authenticated） ==============
     // ========================================================
@@ -149,7 +174,37 @@ public class CategoryController {
         return ResponseEntity.ok(categoryService.updateCategory(id, request));
     }
 
-    @Operation(summary = "カテゴリ削除", description = "カテゴリを削除します（管理者）")
+    @Operation(summary = "カテゴリの親を付け替え", description = "カテゴリを部分木ごと別の親の下へ移します。parentId 省略で最上位へ（管理者）")
+    @PutMapping("/categories/{id}/parent")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CategoryResponseDTO> moveCategory(
+            @PathVariable UUID id,
+            @RequestBody CategoryMoveRequestDTO request
+    ) {
+        return ResponseEntity.ok(categoryService.moveCategory(id, request));
+    }
+
+    @Operation(summary = "動画へカテゴリを一括付与",
+            description = "(動画ID, カテゴリID[]) の組をまとめて付与し、動画ごとの結果を返します（管理者）")
+    @PostMapping("/categories/bulk/videos")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CategoryBulkLinkResultDTO> bulkAddCategoriesToVideos(
+            @Valid @RequestBody CategoryBulkLinkRequestDTO request
+    ) {
+        return ResponseEntity.ok(categoryService.bulkAddCategoriesToVideos(request));
+    }
+
+    @Operation(summary = "ライブ配信へカテゴリを一括付与",
+            description = "(ライブ配信ID, カテゴリID[]) の組をまとめて付与し、配信ごとの結果を返します（管理者）")
+    @PostMapping("/categories/bulk/livestreams")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CategoryBulkLinkResultDTO> bulkAddCategoriesToLiveStreams(
+            @Valid @RequestBody CategoryBulkLinkRequestDTO request
+    ) {
+        return ResponseEntity.ok(categoryService.bulkAddCategoriesToLiveStreams(request));
+    }
+
+    @Operation(summary = "カテゴリ削除", description = "カテゴリを削除します。子カテゴリがある場合は削除できません（管理者）")
     @DeleteMapping("/categories/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteCategory(@PathVariable UUID id) {
@@ -0,0 +1,96 @@
+package com.example.controller;
+
+import com.example.dto.chat_messages.*;
+import com.example.security.UserPrincipal;
+import com.example.service.ChatService;
+import com.example.service.chat.ChatRelayService;
+import com.example.service.chat.ChatReplayService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Tag(name = "Chat", description = "ライブ配信チャットに関するAPI群")
+@RestController
+@RequestMapping("/api/live-streams/{liveStreamId}/chat")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth") // 既定は認証必須。匿名許可は yml 側の例外で制御
+public class ChatController {
+    // ==========================================
+    // # ChatController
+    // ## 1. 公開API (Anonymous OK)   … 履歴取得・リプレイ・SSE購読
+    // ## 2. 認証API (JWT必須)        … 投稿
+    // ==========================================
+
+    private final ChatService chatService;
+    private final ChatRelayService chatRelayService;
+    private final ChatReplayService chatReplayService;
+
+    // ------------------------------------------------
+    // 1) 公開API（Anonymous OK）※ yml の permitAll で例外指定
+    // ------------------------------------------------
+
+    @Operation(summary = "チャット履歴取得", description = "指定配信のチャットを新しい順に取得（ページング）")
+    @GetMapping
+    public ResponseEntity<Page<ChatMessageResponseDTO>> getMessages(
+            @Parameter(description = "ライブ配信ID") @PathVariable UUID liveStreamId,
+            @Parameter(description = "ページング情報") @ParameterObject Pageable pageable) {
+        return ResponseEntity.ok(chatService.getMessages(liveStreamId, pageable));
+    }
+
+    @Operation(summary = "チャット履歴取得（投稿順）",
+               description = "リプレイ用に投稿順で取得（ページング）。終了配信はアーカイブからオフセット指定で読み出す")
+    @GetMapping("/archive")
+    public ResponseEntity<Page<ChatMessageResponseDTO>> getMessagesInOrder(
+            @Parameter(description = "ライブ配信ID") @PathVariable UUID liveStreamId,
+            @Parameter(description = "ページング情報") @ParameterObject Pageable pageable) {
+        return ResponseEntity.ok(chatService.getMessagesInOrder(liveStreamId, pageable));
+    }
+
+    @Operation(summary = "チャットリプレイ",
+               description = "配信開始からの経過時間（ms）で from〜to のチャットを投稿順に取得。prefetch 分だけ先読みして返す")
+    @GetMapping("/replay")
+    public ResponseEntity<ChatReplayWindowDTO> replay(
+            @Parameter(description = "ライブ配信ID") @PathVariable UUID liveStreamId,
+            @Parameter(description = "開始位置（ms）") @RequestParam long from,
+            @Parameter(description = "終了位置（ms、排他的）") @RequestParam long to,
+            @Parameter(description = "先読み時間（ms）") @RequestParam(defaultValue = "0") long prefetch,
+            @Parameter(description = "打ち切られた時間窓の続きを読むカーソル（前回の nextCursor）")
+            @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(chatReplayService.replay(liveStreamId, from, to, prefetch, after));
+    }
+
+    @Operation(summary = "チャット購読",
+               description = "SSE でチャットを受信。event=message は個別メッセージ、event=reaction はリアクションの集計")
+    @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @Parameter(description = "ライブ配信ID") @PathVariable UUID liveStreamId) {
+        return chatRelayService.subscribe(liveStreamId);
+    }
+
+    // ------------------------------------------------
+    // 2) 認証API（JWT必須）
+    // ------------------------------------------------
+
+    @Operation(summary = "チャット投稿", description = "配信中のライブ配信にメッセージを投稿（要ログイン）")
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping
+    public ResponseEntity<ChatMessageResponseDTO> postMessage(
+            @Parameter(description = "ライブ配信ID") @PathVariable UUID liveStreamId,
+            @Valid @RequestBody ChatMessageCreateRequestDTO request,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(chatRelayService.post(liveStreamId, principal.getId(), request));
+    }
+}
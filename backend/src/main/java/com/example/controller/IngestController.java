@@ -0,0 +1,56 @@
+package com.example.controller;
+
+import com.example.dto.ingest.*;
+import com.example.enums.StreamStatus;
+import com.example.service.ingest.StreamKeyAuthService;
+import com.example.service.live.LiveStreamTimerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Ingest", description = "配信取り込みサーバ向けのAPI群")
+@RestController
+@RequestMapping("/api/ingest")
+@RequiredArgsConstructor
+public class IngestController {
+    // ==========================================
+    // # IngestController
+    // ## 1. 公開API (Anonymous OK)   … ストリームキー認可・配信者ハートビート（キー自体が資格情報）
+    // ==========================================
+
+    private final StreamKeyAuthService streamKeyAuthService;
+    private final LiveStreamTimerService liveStreamTimerService;
+
+    // ------------------------------------------------
+    // 1) 公開API（Anonymous OK）※ yml の permitAll で例外指定
+    // ------------------------------------------------
+
+    @Operation(summary = "ストリームキー認可",
+               description = "取り込みサーバが接続・再接続のたびに呼ぶ。配信予定・配信中のキーのみ許可し、それ以外はエラー")
+    @PostMapping("/auth")
+    public ResponseEntity<IngestAuthResponseDTO> authorize(@Valid @RequestBody IngestAuthRequestDTO request,
+                                                           HttpServletRequest servletRequest) {
+        return ResponseEntity.ok(touch(
+                streamKeyAuthService.authorize(request.getStreamKey(), servletRequest.getRemoteAddr())));
+    }
+
+    @Operation(summary = "配信者ハートビート",
+               description = "取り込みサーバが映像を受信している間、定期的に呼ぶ。途切れた配信中ライブは一定時間後に自動終了する")
+    @PostMapping("/heartbeat")
+    public ResponseEntity<IngestAuthResponseDTO> heartbeat(@Valid @RequestBody IngestAuthRequestDTO request,
+                                                           HttpServletRequest servletRequest) {
+        return ResponseEntity.ok(touch(
+                streamKeyAuthService.authorize(request.getStreamKey(), servletRequest.getRemoteAddr())));
+    }
+
+    private IngestAuthResponseDTO touch(IngestAuthResponseDTO auth) {
+        if (auth.getStatus() == StreamStatus.LIVE) {
+            liveStreamTimerService.touch(auth.getLiveStreamId());
+        }
+        return auth;
+    }
+}
@@ -4,17 +4,21 @@ import com.example.dto.live_streams.*;
 import com.example.enums.StreamStatus;
 import com.example.security.UserPrincipal;
 import com.example.service.LiveStreamService;
+import com.example.service.presence.LivePresenceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -36,6 +40,7 @@ public class LiveStreamController {
     // ==========================================
 
     private final LiveStreamService liveStreamService;
+    private final LivePresenceService livePresenceService;
 
     // ------------------------------------------------
     // 1) 公開API（Anonymous OK）※ yml の anonymous / permitAll で例外指定
@@ -65,7 +70,8 @@ public class LiveStreamController {
         return ResponseEntity.ok(liveStreamService.getLiveStreamsByUserAndStatus(userId, status, pageable));
     }
 
-    @Operation(summary = "ステータス別ライブ一覧", description = "配信ステータスに基づく配信一覧（ページング）")
+    @Operation(summary = "ステータス別ライブ一覧",
+               description = "配信ステータスに基づく配信一覧（ページング）。LIVE かつソート指定なしは同時視聴者数順")
     @GetMapping("/status")
     public ResponseEntity<Page<LiveStreamResponseDTO>> getLiveStreamsByStatus(
             @Parameter(description = "配信ステータス") @RequestParam StreamStatus status,
@@ -81,6 +87,15 @@ public class LiveStreamController {
         return ResponseEntity.ok(liveStreamService.getLiveStreamsByStatuses(statuses, pageable));
     }
 
+    @Operation(summary = "配信予定カレンダー",
+               description = "期間 [from, to) に配信枠がかかる配信予定を予定日時順に取得（ISO-8601、期間の上限あり）")
+    @GetMapping("/upcoming")
+    public ResponseEntity<List<LiveStreamResponseDTO>> getUpcomingLiveStreams(
+            @Parameter(description = "期間の開始") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "期間の終了（排他的）") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(liveStreamService.getUpcomingLiveStreams(from, to));
+    }
+
     @Operation(summary = "タイトル検索付きライブ一覧", description = "タイトル部分一致＋ステータス指定（ページング）")
     @GetMapping("/search")
     public ResponseEntity<Page<LiveStreamResponseDTO>> getLiveStreamsByTitleAndStatus(
@@ -98,6 +113,25 @@ public class LiveStreamController {
                 LiveStreamResponseDTO.fromEntity(liveStreamService.getLiveStreamByStreamKey(streamKey)));
     }
 
+    @Operation(summary = "視聴ハートビート",
+               description = "配信中ライブの視聴継続を通知し、現在の視聴者数を返す。匿名視聴は送信元アドレスと clientId で識別（1アドレスあたりのハートビート流量に上限あり）")
+    @PostMapping("/{id}/presence/heartbeat")
+    public ResponseEntity<LiveStreamPresenceDTO> heartbeat(
+            @Parameter(description = "ライブ配信ID") @PathVariable UUID id,
+            @Parameter(description = "匿名視聴者のクライアント識別子") @RequestParam(required = false) String clientId,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal principal,
+            HttpServletRequest request) {
+        UUID userId = principal != null ? principal.getId() : null;
+        return ResponseEntity.ok(livePresenceService.heartbeat(id, userId, clientId, request.getRemoteAddr()));
+    }
+
+    @Operation(summary = "視聴者数取得", description = "配信中ライブの同時視聴者数と累計ユニーク視聴者数")
+    @GetMapping("/{id}/presence")
+    public ResponseEntity<LiveStreamPresenceDTO> getPresence(
+            @Parameter(description = "ライブ配信ID") @PathVariable UUID id) {
+        return ResponseEntity.ok(livePresenceService.getPresence(id));
+    }
+
     // ------------------------------------------------
     // 2) 認証API（JWT必須）
     // ------------------------------------------------
@@ -132,6 +166,16 @@ public class LiveStreamController {
         return ResponseEntity.ok(liveStreamService.rescheduleLiveStream(id, request));
     }
 
+    @Operation(summary = "ストリームキー再発行",
+               description = "ストリームキーを再発行して返す。旧キーは以後の取り込みで拒否される（配信者本人・要ログイン）")
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/{id}/stream-key/regenerate")
+    public ResponseEntity<LiveStreamKeyResponseDTO> regenerateStreamKey(
+            @Parameter(description = "ライブ配信ID") @PathVariable UUID id,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(liveStreamService.regenerateStreamKey(id, principal.getId()));
+    }
+
     @Operation(summary = "ライブ開始", description = "配信IDのステータスを LIVE に変更（要ログイン）")
     @PreAuthorize("isAuthenticated()")
     @PostMapping("/{id}/open")
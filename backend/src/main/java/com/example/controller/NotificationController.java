@@ -0,0 +1,56 @@
+package com.example.controller;
+
+import com.example.dto.notifications.*;
+import com.example.security.UserPrincipal;
+import com.example.service.NotificationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Notifications", description = "通知に関するAPI群")
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class NotificationController {
+    // ==========================================
+    // # NotificationController
+    // ## 2. 認証API (JWT必須)   … 自分宛ての通知一覧・配信開始通知の配信状況
+    // ==========================================
+
+    private final NotificationService notificationService;
+
+    // ------------------------------------------------
+    // 2) 認証API（JWT必須）
+    // ------------------------------------------------
+
+    @Operation(summary = "自分宛ての通知一覧", description = "ログインユーザー宛ての通知を新しい順に取得（ページング）")
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping
+    public ResponseEntity<Page<NotificationResponseDTO>> getMyNotifications(
+            @Parameter(description = "ページング情報") @ParameterObject Pageable pageable,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(notificationService.getMyNotifications(principal.getId(), pageable));
+    }
+
+    @Operation(summary = "配信開始通知の配信状況",
+               description = "配信開始時のフォロワーへの通知作成の進捗（状態・作成件数・バッチ数）。配信者本人または ADMIN のみ")
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/fanout/{liveStreamId}")
+    public ResponseEntity<NotificationFanoutStatusDTO> getFanoutProgress(
+            @Parameter(description = "ライブ配信ID") @PathVariable UUID liveStreamId,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(
+                notificationService.getFanoutProgress(liveStreamId, principal.getId(), principal.getRole()));
+    }
+}
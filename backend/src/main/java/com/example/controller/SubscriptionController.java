@@ -0,0 +1,77 @@
+package com.example.controller;
+
+import com.example.dto.subscriptions.*;
+import com.example.security.UserPrincipal;
+import com.example.service.SubscriptionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Subscriptions", description = "フォロー（チャンネル登録）に関するAPI群")
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth") // 既定は認証必須。匿名許可は yml 側の例外で制御
+public class SubscriptionController {
+    // ==========================================
+    // # SubscriptionController
+    // ## 1. 公開API (Anonymous OK)   … フォロワー数・フォロー数
+    // ## 2. 認証API (JWT必須)        … フォロー・フォロー解除（冪等）・おすすめチャンネル
+    // ==========================================
+
+    private final SubscriptionService subscriptionService;
+
+    // ------------------------------------------------
+    // 1) 公開API（Anonymous OK）※ yml の permitAll で例外指定
+    // ------------------------------------------------
+
+    @Operation(summary = "フォロワー数・フォロー数取得",
+               description = "指定ユーザーのフォロワー数・フォロー数。ログイン時は自分がフォロー中かも返す")
+    @GetMapping("/{userId}/follow-stats")
+    public ResponseEntity<FollowStatsDTO> getFollowStats(
+            @Parameter(description = "ユーザーID") @PathVariable UUID userId,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal principal) {
+        UUID viewerId = principal != null ? principal.getId() : null;
+        return ResponseEntity.ok(subscriptionService.getFollowStats(userId, viewerId));
+    }
+
+    // ------------------------------------------------
+    // 2) 認証API（JWT必須）
+    // ------------------------------------------------
+
+    @Operation(summary = "フォロー", description = "指定ユーザーをフォローする。既にフォロー中なら何もしない（要ログイン）")
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/{userId}/follow")
+    public ResponseEntity<FollowStatsDTO> follow(
+            @Parameter(description = "フォローするユーザーID") @PathVariable UUID userId,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(subscriptionService.follow(principal.getId(), userId));
+    }
+
+    @Operation(summary = "フォロー解除", description = "指定ユーザーのフォローを解除する。フォローしていなければ何もしない（要ログイン）")
+    @PreAuthorize("isAuthenticated()")
+    @DeleteMapping("/{userId}/follow")
+    public ResponseEntity<FollowStatsDTO> unfollow(
+            @Parameter(description = "フォロー解除するユーザーID") @PathVariable UUID userId,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(subscriptionService.unfollow(principal.getId(), userId));
+    }
+
+    @Operation(summary = "おすすめチャンネル",
+               description = "フォロー中のユーザーや自分のフォロワーがフォローしているチャンネルを多い順に取得（要ログイン）")
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/me/follow-suggestions")
+    public ResponseEntity<List<FollowSuggestionDTO>> getFollowSuggestions(
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal principal,
+            @Parameter(description = "最大件数") @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(subscriptionService.getFollowSuggestions(principal.getId(), limit));
+    }
+}
@@ -88,7 +88,7 @@ public class UserController {
         @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal principal,
         @PathVariable UUID id
     ) {
-      return ResponseEntity.ok(UserResponseDTO.fromEntity(userService.getUserById(id)));
+      return ResponseEntity.ok(userService.getUserResponse(id));
     }
 
     /** ユーザー復元（ADMIN） */
@@ -1,11 +1,16 @@
 package com.example.controller;
 
+import com.example.dto.videos.FeedPageDTO;
 import com.example.dto.videos.PublicVideoResponseDTO;
 import com.example.dto.videos.SearchRequestDTO;
+import com.example.dto.videos.VideoFacetPageDTO;
+import com.example.dto.videos.VideoFacetSearchRequestDTO;
 import com.example.dto.videos.VideoCreateRequestDTO;
 import com.example.dto.videos.VideoResponseDTO;
 import com.example.dto.videos.VideoUpdateRequestDTO;
 import com.example.security.UserPrincipal;
+import com.example.service.FeedService;
+import com.example.service.VideoFacetService;
 import com.example.service.VideoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -38,6 +43,8 @@ public class VideoController {
     // ==========================================
 
     private final VideoService videoService;
+    private final FeedService feedService;
+    private final VideoFacetService videoFacetService;
 
     // ------------------------------------------------
     // 1) 公開API（Anonymous OK）※ yml で例外指定する想定
@@ -50,6 +57,14 @@ public class VideoController {
         return ResponseEntity.ok(videoService.getVideo(id));
     }
 
+    @Operation(summary = "スラッグで公開動画を取得",
+               description = "URL 用のスラッグで公開動画を1件取得します（非公開・削除済みは 404）")
+    @GetMapping("/by-slug/{slug}")
+    public ResponseEntity<PublicVideoResponseDTO> getVideoBySlug(
+            @Parameter(description = "動画スラッグ") @PathVariable String slug) {
+        return ResponseEntity.ok(videoService.getPublicVideoBySlug(slug));
+    }
+
     @Operation(summary = "公開動画を検索",
                description = "タイトル部分一致・viewsCount/publishedAt ソート・ページング対応")
     @GetMapping("/search")
@@ -82,6 +97,17 @@ public class VideoController {
         return ResponseEntity.ok(videoService.getRecentVideos(pageable));
     }
 
+    @Operation(summary = "カテゴリ・タグで公開動画を絞り込む",
+               description = "カテゴリ・タグの ANY/ALL・除外を組み合わせて絞り込み、作成日時の新しい順に返す。"
+                       + "該当動画全体のカテゴリ・タグ・状態別の件数も返す")
+    @GetMapping("/browse")
+    public ResponseEntity<VideoFacetPageDTO> browseVideos(
+            @Parameter(description = "絞り込み条件") @ModelAttribute VideoFacetSearchRequestDTO request,
+            @Parameter(description = "ページ番号（0始まり）") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "取得件数") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(videoFacetService.browse(request, page, size));
+    }
+
     @Operation(summary = "動画の再生数をカウントアップ", description = "再生イベント用（公開エンドポイント想定）")
     @PatchMapping("/{id}/views")
     public ResponseEntity<Void> incrementViews(@PathVariable UUID id) {
@@ -93,6 +119,17 @@ public class VideoController {
     // 2) 認証API（JWT必須）
     // ------------------------------------------------
 
+    @Operation(summary = "フォロー中チャンネルの新着動画",
+               description = "フォロー中チャンネルの公開動画を新しい順に取得（要ログイン）。次ページは nextCursor を cursor に渡す")
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/feed")
+    public ResponseEntity<FeedPageDTO> getFeed(
+            @Parameter(hidden = true) @AuthenticationPrincipal UserPrincipal principal,
+            @Parameter(description = "前ページの nextCursor（先頭ページは省略）") @RequestParam(required = false) String cursor,
+            @Parameter(description = "取得件数") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(feedService.getFeed(principal.getId(), cursor, size));
+    }
+
     @Operation(summary = "自分の動画一覧を取得", description = "マイアーカイブ一覧API（要ログイン）")
     @GetMapping("/my")
     public ResponseEntity<Page<VideoResponseDTO>> getMyVideos(
@@ -0,0 +1,28 @@
+package com.example.dto.categories;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import java.util.List;
+import java.util.UUID;
+import lombok.*;
+
+/**
+ * 動画・ライブ配信へのカテゴリの一括付与リクエスト。
+ * 同じ対象IDが複数回現れた場合はカテゴリIDをまとめて1件として扱う。
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class CategoryBulkLinkRequestDTO {
+
+    @NotEmpty
+    private List<@Valid @NotNull Item> items;
+
+    /** 対象1件分（動画IDまたはライブ配信IDと、付与するカテゴリID） */
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class Item {
+        @NotNull
+        private UUID entityId;
+
+        @NotEmpty
+        private List<@NotNull UUID> categoryIds;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.dto.categories;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.*;
+
+/**
+ * カテゴリの一括付与の結果。
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class CategoryBulkLinkResultDTO {
+
+    /** 新たに付与した件数の合計 */
+    private long linked;
+
+    /** 対象ごとの結果（リクエストで最初に現れた順） */
+    private List<ItemResult> items;
+
+    public enum Status {
+        /** 1件以上のカテゴリを新たに付与した */
+        LINKED,
+        /** すべて付与済みだった */
+        UNCHANGED,
+        /** 対象が存在しない（削除済みを含む） */
+        NOT_FOUND
+    }
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class ItemResult {
+        private UUID entityId;
+        private Status status;
+        /** 新たに付与したカテゴリ数 */
+        private int added;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.dto.categories;
 
 import jakarta.validation.constraints.*;
+import java.util.UUID;
 import lombok.*;
 
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
@@ -9,6 +10,11 @@ public class CategoryCreateRequestDTO {
     @Size(max = 100)         // 文字数制限
     private String name;
 
+    @Size(max = 100)
+    private String slug; // 任意（省略時は名前から生成）
+
     @Size(max = 500)
     private String description; // 任意
+
+    private UUID parentId; // 親カテゴリ（任意。省略時は最上位）
 }
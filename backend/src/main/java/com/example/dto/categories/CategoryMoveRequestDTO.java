@@ -0,0 +1,12 @@
+package com.example.dto.categories;
+
+import java.util.UUID;
+import lombok.*;
+
+/**
+ * カテゴリの親を付け替えるリクエスト。parentId が null なら最上位へ移す。
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class CategoryMoveRequestDTO {
+    private UUID parentId;
+}
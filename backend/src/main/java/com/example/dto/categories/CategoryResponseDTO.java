@@ -10,12 +10,15 @@ import lombok.Getter;
  * CategoryのレスポンスDTO
  */
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class CategoryResponseDTO {
 
     private UUID id;
     private String name;
+    private String slug;
     private String description;
+    private UUID parentId;
+    private Long videoCount; // 公開動画の件数（一覧・取得時に付与）
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -23,7 +26,9 @@ public class CategoryResponseDTO {
         return CategoryResponseDTO.builder()
                 .id(entity.getId())
                 .name(entity.getName())
+                .slug(entity.getSlug())
                 .description(entity.getDescription())
+                .parentId(entity.getParent() != null ? entity.getParent().getId() : null)
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
                 .build();
@@ -13,4 +13,7 @@ public class CategorySearchRequestDTO {
 
     @Size(max = 100, message = "検索キーワードは100文字以内で入力してください。")
     private String keyword;
+
+    /** true なら名前の前方一致のみ（既定は部分一致） */
+    private Boolean prefix;
 }
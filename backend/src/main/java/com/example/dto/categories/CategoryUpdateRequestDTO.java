@@ -13,6 +13,9 @@ public class CategoryUpdateRequestDTO {
     @Size(max = 100)
     private String name;         // nullなら変更なし
 
+    @Size(max = 100)
+    private String slug;         // nullなら変更なし（名前を変えてもスラッグは変えない）
+
     @Size(max = 500)
     private String description;  // nullなら変更なし
 }
@@ -0,0 +1,12 @@
+package com.example.dto.chat_messages;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ChatMessageCreateRequestDTO {
+    @NotBlank
+    @Size(max = 500)
+    private String message;
+}
@@ -8,18 +8,28 @@ import java.util.UUID;
 import java.time.LocalDateTime;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 @Getter
 @Builder
+@Jacksonized // ノード間中継で JSON から復元するため
 public class ChatMessageResponseDTO {
 
     private UUID id;
+    private UUID liveStreamId;
+    private UUID userId;
+    private String userName;
+    private String message;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
     public static ChatMessageResponseDTO fromEntity(ChatMessage entity) {
         return ChatMessageResponseDTO.builder()
                 .id(entity.getId())
+                .liveStreamId(entity.getLiveStream().getId())
+                .userId(entity.getUser().getId())
+                .userName(entity.getUser().getName())
+                .message(entity.getMessage())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
                 .build();
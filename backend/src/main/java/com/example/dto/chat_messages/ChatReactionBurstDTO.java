@@ -0,0 +1,19 @@
+package com.example.dto.chat_messages;
+
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 集約ウィンドウ内で同一リアクションが投稿された件数（例: 🔥 x 842）。
+ */
+@Getter
+@Builder
+public class ChatReactionBurstDTO {
+    private UUID liveStreamId;
+    private String reaction;
+    private long count;
+    private long windowMs;
+    /** 現在の間引き間隔（1 = 全件配信、N = N件に1件のみ個別配信） */
+    private int sampleEvery;
+}
@@ -0,0 +1,21 @@
+package com.example.dto.chat_messages;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * リプレイ用のチャットメッセージ（配信開始からの経過時間付き）。
+ */
+@Getter
+@Builder
+public class ChatReplayMessageDTO {
+    /** 配信開始からの経過時間（ms）。VOD の再生位置と同じ軸 */
+    private long offsetMs;
+    private UUID id;
+    private UUID userId;
+    private String userName;
+    private String message;
+    private LocalDateTime createdAt;
+}
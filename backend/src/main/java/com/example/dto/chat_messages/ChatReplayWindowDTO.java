@@ -0,0 +1,31 @@
+package com.example.dto.chat_messages;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * VOD の再生位置に同期したチャットの時間窓。
+ * 先読み分を含めて {@code fromMs} 〜 {@code bufferedUntilMs} のメッセージを投稿順で返す。
+ */
+@Getter
+@Builder
+public class ChatReplayWindowDTO {
+    private UUID liveStreamId;
+    /** 要求された開始位置（ms） */
+    private long fromMs;
+    /** 要求された終了位置（ms、排他的） */
+    private long toMs;
+    /** 先読みを含めて返した範囲の終端（ms、排他的） */
+    private long bufferedUntilMs;
+    /** 次に要求すべき開始位置（ms）。件数上限で打ち切った場合は最後に返したメッセージの位置 */
+    private long nextFromMs;
+    /** 件数上限で打ち切った場合に、続きの要求へ after として渡すカーソル（打ち切っていなければ null） */
+    private String nextCursor;
+    /** 件数上限で打ち切った場合 true（nextFromMs と nextCursor で続きを要求すること） */
+    private boolean truncated;
+    /** 圧縮アーカイブから返した場合 true */
+    private boolean archived;
+    private List<ChatReplayMessageDTO> messages;
+}
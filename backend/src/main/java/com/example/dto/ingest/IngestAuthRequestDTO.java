@@ -0,0 +1,12 @@
+package com.example.dto.ingest;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class IngestAuthRequestDTO {
+    @NotBlank
+    @Size(max = 255)
+    private String streamKey;
+}
@@ -0,0 +1,17 @@
+package com.example.dto.ingest;
+
+import com.example.enums.StreamStatus;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * ストリームキー認可の結果（認可できた配信）。
+ */
+@Getter
+@Builder
+public class IngestAuthResponseDTO {
+    private UUID liveStreamId;
+    private UUID userId;
+    private StreamStatus status;
+}
@@ -0,0 +1,23 @@
+package com.example.dto.live_streams;
+
+import com.example.entity.LiveStream;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 配信者本人に返すストリームキー。
+ */
+@Getter
+@Builder
+public class LiveStreamKeyResponseDTO {
+    private UUID liveStreamId;
+    private String streamKey;
+
+    public static LiveStreamKeyResponseDTO fromEntity(LiveStream entity) {
+        return LiveStreamKeyResponseDTO.builder()
+                .liveStreamId(entity.getId())
+                .streamKey(entity.getStreamKey())
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.dto.live_streams;
+
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 配信中ライブの視聴者数。
+ */
+@Getter
+@Builder
+public class LiveStreamPresenceDTO {
+    private UUID liveStreamId;
+    /** 現在の同時視聴者数 */
+    private long currentViewers;
+    /** 配信開始からの累計ユニーク視聴者数 */
+    private long uniqueViewers;
+    /** 大規模配信で HyperLogLog による近似値を返している場合 true */
+    private boolean approximate;
+}
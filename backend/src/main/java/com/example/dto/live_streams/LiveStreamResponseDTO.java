@@ -1,25 +1,51 @@
 /**
- * 自動生成された LiveStream のレスポンスDTO
+ * LiveStream のレスポンスDTO
  */
 package com.example.dto.live_streams;
 
 import com.example.entity.LiveStream;
+import com.example.enums.StreamStatus;
+import java.util.List;
 import java.util.UUID;
 import java.time.LocalDateTime;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
+@Jacksonized // レスポンスのキャッシュから読み戻すため
 public class LiveStreamResponseDTO {
 
     private UUID id;
+    private UUID userId;
+    private String title;
+    private String description;
+    private String thumbnailPath;
+    private StreamStatus status;
+    private Long viewsCount;
+    /** 現在の同時視聴者数（配信中ランキングから返す場合のみ） */
+    private Long currentViewers;
+    private LocalDateTime scheduledAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime endedAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    /** 同じ配信者の他の配信予定と時間が重なる場合、その配信ID（作成・予定変更時のみ） */
+    private List<UUID> overlappingStreamIds;
 
     public static LiveStreamResponseDTO fromEntity(LiveStream entity) {
         return LiveStreamResponseDTO.builder()
                 .id(entity.getId())
+                .userId(entity.getUser().getId())
+                .title(entity.getTitle())
+                .description(entity.getDescription())
+                .thumbnailPath(entity.getThumbnailPath())
+                .status(entity.getStatus())
+                .viewsCount(entity.getViewsCount())
+                .scheduledAt(entity.getScheduledAt())
+                .startedAt(entity.getStartedAt())
+                .endedAt(entity.getEndedAt())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
                 .build();
@@ -0,0 +1,26 @@
+/**
+ * 配信開始通知のファンアウト進捗DTO
+ */
+package com.example.dto.notifications;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class NotificationFanoutStatusDTO {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private UUID liveStreamId;
+    private State state;
+    /** 作成済みの通知件数 */
+    private long delivered;
+    /** 書き込み済みのバッチ数 */
+    private long batches;
+    private LocalDateTime queuedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
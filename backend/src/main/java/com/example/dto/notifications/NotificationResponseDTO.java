@@ -0,0 +1,34 @@
+/**
+ * Notification のレスポンスDTO
+ */
+package com.example.dto.notifications;
+
+import com.example.entity.Notification;
+import com.example.enums.NotificationType;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class NotificationResponseDTO {
+
+    private UUID id;
+    private NotificationType type;
+    private UUID actorId;
+    private UUID liveStreamId;
+    private LocalDateTime readAt;
+    private LocalDateTime createdAt;
+
+    public static NotificationResponseDTO fromEntity(Notification entity) {
+        return NotificationResponseDTO.builder()
+                .id(entity.getId())
+                .type(entity.getType())
+                .actorId(entity.getActor() != null ? entity.getActor().getId() : null)
+                .liveStreamId(entity.getLiveStream() != null ? entity.getLiveStream().getId() : null)
+                .readAt(entity.getReadAt())
+                .createdAt(entity.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+/**
+ * フォロワー数・フォロー数のレスポンスDTO
+ */
+package com.example.dto.subscriptions;
+
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder(toBuilder = true)
+public class FollowStatsDTO {
+
+    private UUID userId;
+    private long followerCount;
+    private long followingCount;
+    /** 閲覧者がこのユーザーをフォローしているか（未ログインなら null） */
+    private Boolean following;
+}
@@ -0,0 +1,17 @@
+package com.example.dto.subscriptions;
+
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * おすすめのチャンネル（ユーザー）。
+ * {@code score} はフォロー中のユーザーと自分のフォロワーから2歩先でたどり着いた回数。
+ */
+@Getter @Builder
+public class FollowSuggestionDTO {
+    private UUID userId;
+    private String name;
+    private String profileImagePath;
+    private int score;
+}
@@ -0,0 +1,14 @@
+package com.example.dto.tags;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class TagCreateRequestDTO {
+    @NotBlank
+    @Size(max = 255)
+    private String name;
+
+    @Size(max = 255)
+    private String slug; // 任意（省略時は名前から生成）
+}
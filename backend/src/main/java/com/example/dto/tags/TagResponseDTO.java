@@ -14,12 +14,16 @@ import lombok.Getter;
 public class TagResponseDTO {
 
     private UUID id;
+    private String name;
+    private String slug;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
     public static TagResponseDTO fromEntity(Tag entity) {
         return TagResponseDTO.builder()
                 .id(entity.getId())
+                .name(entity.getName())
+                .slug(entity.getSlug())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
                 .build();
@@ -0,0 +1,18 @@
+package com.example.dto.tags;
+
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * タグの入力候補（利用件数 = 付与されている動画・配信の数）
+ */
+@Getter
+@Builder
+public class TagSuggestionDTO {
+
+    private UUID id;
+    private String name;
+    private String slug;
+    private long usageCount;
+}
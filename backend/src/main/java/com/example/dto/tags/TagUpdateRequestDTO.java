@@ -0,0 +1,13 @@
+package com.example.dto.tags;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class TagUpdateRequestDTO {
+    @Size(max = 255)
+    private String name; // nullなら変更しない
+
+    @Size(max = 255)
+    private String slug; // nullなら変更しない
+}
@@ -0,0 +1,15 @@
+package com.example.dto.videos;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * フォロー中チャンネルの新着フィードの1ページ。
+ * 次ページは {@code nextCursor} をそのまま渡して取得する（最終ページなら null）。
+ */
+@Getter @Builder
+public class FeedPageDTO {
+    private List<FeedVideoDTO> items;
+    private String nextCursor;
+}
@@ -0,0 +1,24 @@
+package com.example.dto.videos;
+
+import com.example.entity.Video;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter @Builder
+public class FeedVideoDTO {
+    private UUID id;
+    private String title;
+    private String thumbnailPath;
+    private Long viewsCount;
+    private LocalDateTime publishedAt;
+    private UploaderDTO uploader;
+
+    public static FeedVideoDTO fromEntity(Video video)
+    {
+        return FeedVideoDTO.builder().id(video.getId()).title(video.getTitle())
+                .thumbnailPath(video.getThumbnailPath()).viewsCount(video.getViewsCount())
+                .publishedAt(video.getPublishedAt()).uploader(UploaderDTO.fromUser(video.getUser())).build();
+    }
+}
@@ -9,6 +9,7 @@ import lombok.Getter;
 public class PublicVideoResponseDTO {
     private UUID id;
     private String title;
+    private String slug;
     private String thumbnailPath;
     private Long viewsCount;
     private UploaderDTO uploader;
@@ -16,6 +17,7 @@ public class PublicVideoResponseDTO {
     public static PublicVideoResponseDTO fromEntity(Video video)
     {
         return PublicVideoResponseDTO.builder().id(video.getId()).title(video.getTitle())
+                .slug(video.getSlug())
                 .thumbnailPath(video.getThumbnailPath()).viewsCount(video.getViewsCount())
                 .uploader(UploaderDTO.fromUser(video.getUser())).build();
     }
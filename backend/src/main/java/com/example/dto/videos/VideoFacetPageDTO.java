@@ -0,0 +1,20 @@
+package com.example.dto.videos;
+
+import com.example.enums.VideoStatus;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * カテゴリ・タグで絞り込んだ公開動画の1ページと、該当動画全体のファセット別件数。
+ */
+@Getter @Builder
+public class VideoFacetPageDTO {
+    private List<PublicVideoResponseDTO> items;
+    private long total;
+    private Map<UUID, Long> categoryCounts; // カテゴリID → 件数
+    private Map<UUID, Long> tagCounts;      // タグID → 件数（件数の多い順に上位のみ）
+    private Map<VideoStatus, Long> statusCounts;
+}
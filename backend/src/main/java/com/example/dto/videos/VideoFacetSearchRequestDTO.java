@@ -0,0 +1,27 @@
+package com.example.dto.videos;
+
+import com.example.enums.VideoStatus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * カテゴリ・タグによる公開動画の絞り込み条件。
+ * 同じ種類の ID は {@code categoryMatch} / {@code tagMatch} で OR（ANY）か AND（ALL）を選び、
+ * 種類どうし・除外条件とは AND で組み合わせる。
+ */
+@Getter @Setter
+public class VideoFacetSearchRequestDTO {
+
+    public enum Match { ANY, ALL }
+
+    private List<UUID> categoryIds = new ArrayList<>();        // 絞り込むカテゴリ（任意）
+    private Match categoryMatch = Match.ANY;                   // いずれか（ANY）／すべて（ALL）
+    private List<UUID> tagIds = new ArrayList<>();             // 絞り込むタグ（任意）
+    private Match tagMatch = Match.ANY;                        // いずれか（ANY）／すべて（ALL）
+    private List<UUID> excludeCategoryIds = new ArrayList<>(); // 除外するカテゴリ（任意）
+    private List<UUID> excludeTagIds = new ArrayList<>();      // 除外するタグ（任意）
+    private VideoStatus status;                                // 動画の状態（任意）
+}
@@ -8,9 +8,11 @@ import java.util.UUID;
 import java.time.LocalDateTime;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 
 @Getter
 @Builder
+@Jacksonized // レスポンスのキャッシュから読み戻すため
 public class VideoResponseDTO {
 
     private UUID id;
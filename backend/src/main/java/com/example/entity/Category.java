@@ -22,7 +22,8 @@ import java.util.List;
         uniqueConstraints = {@UniqueConstraint(name = "uk_category_name", columnNames = "name"),
                 @UniqueConstraint(name = "uk_category_slug", columnNames = "slug")},
         indexes = {@Index(name = "idx_category_name", columnList = "name"),
-                @Index(name = "idx_category_slug", columnList = "slug")})
+                @Index(name = "idx_category_slug", columnList = "slug"),
+                @Index(name = "idx_category_parent_id", columnList = "parent_id")})
 @Getter
 @NoArgsConstructor
 @SQLDelete(sql = "UPDATE categories SET deleted_at = CURRENT_TIMESTAMP WHERE id = ?")
@@ -50,6 +51,11 @@ public class Category extends AbstractSoftDeletableEntity {
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
+    /** 親カテゴリ（最上位なら null）。祖先・子孫の関係は category_closures に展開して持つ */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    private Category parent;
+
     // ============================
     // ======== リレーション ========
     // ============================
@@ -138,4 +144,17 @@ public class Category extends AbstractSoftDeletableEntity {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public void setSlug(String slug) {
+        this.slug = slug;
+    }
+
+    /**
+     * 親カテゴリを付け替えます（閉包テーブルの更新は呼び出し側で行う）。
+     *
+     * @param parent 新しい親カテゴリ（最上位にするなら null）
+     */
+    public void moveTo(Category parent) {
+        this.parent = parent;
+    }
 }
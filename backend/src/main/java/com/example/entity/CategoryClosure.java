@@ -0,0 +1,52 @@
+package com.example.entity;
+
+import com.example.util.entity.AbstractBaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * カテゴリ階層の閉包テーブル。祖先と子孫の組（自分自身は深さ 0）をすべて持ち、
+ * 部分木の判定を1回のインデックス付き結合で行えるようにする。
+ */
+@Entity
+@Table(name = "category_closures",
+        uniqueConstraints = @UniqueConstraint(name = "uk_category_closure",
+                columnNames = {"ancestor_id", "descendant_id"}),
+        indexes = {@Index(name = "idx_category_closure_descendant", columnList = "descendant_id, depth")})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CategoryClosure extends AbstractBaseEntity {
+
+    /** 祖先カテゴリ */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "ancestor_id", nullable = false)
+    private Category ancestor;
+
+    /** 子孫カテゴリ */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "descendant_id", nullable = false)
+    private Category descendant;
+
+    /** 祖先から子孫までの段数（自分自身は 0） */
+    @Column(name = "depth", nullable = false)
+    private int depth;
+
+    // ====================================================
+    // ================= コンストラクタ ===================
+    // ====================================================
+
+    /**
+     * コンストラクタ
+     *
+     * @param ancestor 祖先カテゴリ
+     * @param descendant 子孫カテゴリ
+     * @param depth 段数
+     */
+    public CategoryClosure(Category ancestor, Category descendant, int depth) {
+        this.ancestor = ancestor;
+        this.descendant = descendant;
+        this.depth = depth;
+    }
+}
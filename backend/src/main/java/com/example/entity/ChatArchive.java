@@ -0,0 +1,157 @@
+package com.example.entity;
+
+import com.example.util.entity.AbstractBaseEntity;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.util.Assert;
+
+/**
+ * 終了した配信のチャットを圧縮アーカイブ化したもののヘッダ情報。
+ * メッセージ本体は {@link ChatArchiveBlock} に固定件数ずつ圧縮して格納し、
+ * 先頭からの通し番号（オフセット）で必要なブロックだけを読み出せるようにする。
+ *
+ * @version 1.0
+ */
+@Entity
+@Table(name = "chat_archives",
+        uniqueConstraints = @UniqueConstraint(name = "uk_chat_archive_live_stream",
+                columnNames = "live_stream_id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ChatArchive extends AbstractBaseEntity {
+
+    /** 対象の配信 */
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "live_stream_id", nullable = false)
+    private LiveStream liveStream;
+
+    /** アーカイブ済みメッセージ件数 */
+    @Column(name = "message_count", nullable = false)
+    private int messageCount;
+
+    /** 1ブロックあたりのメッセージ件数（最終ブロックのみ端数） */
+    @Column(name = "block_size", nullable = false)
+    private int blockSize;
+
+    /** ブロック数 */
+    @Column(name = "block_count", nullable = false)
+    private int blockCount;
+
+    /** 圧縮前のバイト数 */
+    @Column(name = "raw_bytes", nullable = false)
+    private long rawBytes;
+
+    /** 圧縮後のバイト数 */
+    @Column(name = "compressed_bytes", nullable = false)
+    private long compressedBytes;
+
+    /** 最初のメッセージの投稿日時 */
+    @Column(name = "first_message_at")
+    private LocalDateTime firstMessageAt;
+
+    /** 最後のメッセージの投稿日時 */
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    /**
+     * 最後にアーカイブしたメッセージのID。元の行の削除は (投稿日時, ID) がこの位置以下のものに限る
+     * （アーカイブ後に届いた行を消さないため）。
+     */
+    @JdbcTypeCode(SqlTypes.UUID)
+    @Column(name = "last_message_id", columnDefinition = "BINARY(16)")
+    private UUID lastMessageId;
+
+    /** リプレイの時間軸の基準（配信開始日時。未開始なら最初のメッセージの投稿日時） */
+    @Column(name = "replay_origin_at")
+    private LocalDateTime replayOriginAt;
+
+    /** リプレイ用の疎な時刻インデックス（経過時間チェックポイント → 通し番号） */
+    @Lob
+    @Column(name = "replay_index", length = 1024 * 1024)
+    private byte[] replayIndex;
+
+    /** 作成途中で放棄されたか（ブロックを削除してから作り直す。書き込み中のジョブはこれを見て中断する） */
+    @Column(name = "abandoned", nullable = false)
+    private boolean abandoned;
+
+    // ===================================================
+    // ============= 🏗 コンストラクタ定義 ===============
+    // ===================================================
+
+    /**
+     * @param liveStream 対象の配信（null不可）
+     * @param blockSize  1ブロックあたりのメッセージ件数（1以上）
+     */
+    public ChatArchive(LiveStream liveStream, int blockSize) {
+        Assert.notNull(liveStream, "配信は必須です");
+        Assert.isTrue(blockSize > 0, "ブロックサイズは1以上で指定してください");
+        this.liveStream = liveStream;
+        this.blockSize = blockSize;
+    }
+
+    // ===================================================
+    // ================== 業務ロジック ==================
+    // ===================================================
+
+    /**
+     * 作成途中の進捗（書き込み済みのメッセージ件数・ブロック数）を反映します。
+     * 更新日時が書き込みジョブの生存確認を兼ねます。
+     */
+    public void recordProgress(int messageCount, int blockCount) {
+        this.messageCount = messageCount;
+        this.blockCount = blockCount;
+    }
+
+    /**
+     * 作成途中のアーカイブを放棄済みにします。
+     */
+    public void abandon() {
+        this.abandoned = true;
+    }
+
+    /**
+     * 全メッセージの書き込みが完了しているか（未完了のアーカイブは読み出しに使わない）。
+     */
+    public boolean isComplete() {
+        return lastMessageId != null && !abandoned;
+    }
+
+    /**
+     * 書き込み済みブロックの集計値を反映します。
+     */
+    public void complete(int messageCount, int blockCount, long rawBytes, long compressedBytes,
+            LocalDateTime firstMessageAt, LocalDateTime lastMessageAt, UUID lastMessageId) {
+        this.messageCount = messageCount;
+        this.blockCount = blockCount;
+        this.rawBytes = rawBytes;
+        this.compressedBytes = compressedBytes;
+        this.firstMessageAt = firstMessageAt;
+        this.lastMessageAt = lastMessageAt;
+        this.lastMessageId = lastMessageId;
+    }
+
+    /**
+     * リプレイ用の時刻インデックスを設定します。
+     *
+     * @param replayOriginAt 経過時間の基準日時
+     * @param replayIndex    直列化済みインデックス
+     */
+    public void attachReplayIndex(LocalDateTime replayOriginAt, byte[] replayIndex) {
+        Assert.notNull(replayOriginAt, "リプレイの基準日時は必須です");
+        this.replayOriginAt = replayOriginAt;
+        this.replayIndex = replayIndex;
+    }
+
+    /**
+     * 通し番号（0始まり）が属するブロック番号を返します。
+     */
+    public int blockOf(int ordinal) {
+        return ordinal / blockSize;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.entity;
+
+import com.example.util.entity.AbstractBaseEntity;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * チャットアーカイブの圧縮ブロック。
+ * 連続する最大 {@link ChatArchive#getBlockSize()} 件のメッセージを1行に圧縮して保持する。
+ *
+ * @version 1.0
+ */
+@Entity
+@Table(name = "chat_archive_blocks",
+        uniqueConstraints = @UniqueConstraint(name = "uk_chat_archive_block",
+                columnNames = {"archive_id", "block_no"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ChatArchiveBlock extends AbstractBaseEntity {
+
+    /** 所属するアーカイブ */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "archive_id", nullable = false)
+    private ChatArchive archive;
+
+    /** ブロック番号（0始まり） */
+    @Column(name = "block_no", nullable = false)
+    private int blockNo;
+
+    /** ブロック先頭メッセージの通し番号 */
+    @Column(name = "first_ordinal", nullable = false)
+    private int firstOrdinal;
+
+    /** ブロック内のメッセージ件数 */
+    @Column(name = "message_count", nullable = false)
+    private int messageCount;
+
+    /** ブロック先頭メッセージの投稿日時 */
+    @Column(name = "first_message_at", nullable = false)
+    private LocalDateTime firstMessageAt;
+
+    /** 圧縮済みメッセージ列 */
+    @Lob
+    @Column(name = "data", nullable = false, length = 16 * 1024 * 1024)
+    private byte[] data;
+
+    public ChatArchiveBlock(ChatArchive archive, int blockNo, int firstOrdinal, int messageCount,
+            LocalDateTime firstMessageAt, byte[] data) {
+        this.archive = archive;
+        this.blockNo = blockNo;
+        this.firstOrdinal = firstOrdinal;
+        this.messageCount = messageCount;
+        this.firstMessageAt = firstMessageAt;
+        this.data = data;
+    }
+}
@@ -18,6 +18,7 @@ import com.example.util.entity.AbstractBaseEntity;
     name = "chat_messages",
     indexes = {
         @Index(name = "idx_chat_message_live_stream_id", columnList = "live_stream_id"),
+        @Index(name = "idx_chat_message_stream_created", columnList = "live_stream_id, created_at"),
         @Index(name = "idx_chat_message_user_id", columnList = "user_id")
     }
 )
@@ -28,6 +28,7 @@ import org.springframework.util.Assert;
                 @Index(name = "idx_live_stream_stream_key", columnList = "stream_key"),
                 @Index(name = "idx_live_stream_scheduled_at", columnList = "scheduled_at"),
                 @Index(name = "idx_live_stream_status", columnList = "status"),
+                @Index(name = "idx_live_stream_status_scheduled_at", columnList = "status, scheduled_at"),
                 @Index(name = "idx_live_stream_deleted_at", columnList = "deleted_at")})
 @SQLDelete(sql = "UPDATE live_streams SET deleted_at = CURRENT_TIMESTAMP WHERE id = ?")
 @Filter(name = "activeFilter", condition = "deleted_at IS NULL")
@@ -75,6 +76,13 @@ public class LiveStream extends AbstractSoftDeletableEntity {
     /** 配信終了時刻 */
     private LocalDateTime endedAt;
 
+    /** 取り込みサーバからの最終ハートビート時刻（配信中のみ。どのノードが受けても更新する） */
+    private LocalDateTime lastHeartbeatAt;
+
+    /** 配信開始の世代（LIVE 以外から開始するたびに 1 増える。配信中の再開始では変わらない） */
+    @Column(nullable = false)
+    private int openGeneration;
+
     // ============================
     // ======== リレーション ========
     // ============================
@@ -142,10 +150,13 @@ public class LiveStream extends AbstractSoftDeletableEntity {
 
     /**
      * 配信を開始します。 ステータスをLIVEに変更し、開始時刻を現在時刻で記録します。
+     * 配信中でなかった場合は配信開始の世代を進めます。
      */
     public void open() {
+        if (this.status != StreamStatus.LIVE) this.openGeneration++;
         this.status = StreamStatus.LIVE;
         this.startedAt = LocalDateTime.now();
+        this.lastHeartbeatAt = this.startedAt;
     }
 
     /**
@@ -164,6 +175,16 @@ public class LiveStream extends AbstractSoftDeletableEntity {
         this.endedAt = LocalDateTime.now();
     }
 
+    /**
+     * 視聴回数を加算します。
+     *
+     * @param views 加算する回数（0以上）
+     */
+    public void addViews(long views) {
+        Assert.isTrue(views >= 0, "視聴回数の加算値は0以上で指定してください");
+        this.viewsCount += views;
+    }
+
     // ===================================================
     // ============ 📝 メタ情報の更新処理 ============
     // ===================================================
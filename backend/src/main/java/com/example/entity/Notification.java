@@ -0,0 +1,58 @@
+package com.example.entity;
+
+import com.example.enums.NotificationType;
+import com.example.util.entity.AbstractBaseEntity;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.util.Assert;
+
+/**
+ * ユーザーへの通知（フォロー中の配信者の配信開始など）。
+ * 大量のフォロワーへの配信開始通知は JDBC のバッチ挿入で作成するため、列構成を変える場合は
+ * {@link com.example.service.notification.LiveNotificationFanoutService} の INSERT 文も合わせて変更すること。
+ *
+ * @version 1.0
+ */
+@Entity
+@Table(name = "notifications",
+        indexes = @Index(name = "idx_notification_recipient_created", columnList = "recipient_id, created_at"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class Notification extends AbstractBaseEntity {
+
+    /** 通知の受信者 */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "recipient_id", nullable = false)
+    private User recipient;
+
+    /** 通知の種類 */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 30)
+    private NotificationType type;
+
+    /** 通知のきっかけとなったユーザー（配信者など） */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "actor_id")
+    private User actor;
+
+    /** 関連する配信 */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "live_stream_id")
+    private LiveStream liveStream;
+
+    /** 既読日時（未読なら null） */
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+
+    public Notification(User recipient, NotificationType type, User actor, LiveStream liveStream) {
+        Assert.notNull(recipient, "受信者は必須です");
+        Assert.notNull(type, "通知の種類は必須です");
+        this.recipient = recipient;
+        this.type = type;
+        this.actor = actor;
+        this.liveStream = liveStream;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.entity;
+
+import com.example.enums.FanoutState;
+import com.example.util.entity.AbstractBaseEntity;
+import jakarta.persistence.*;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * 配信開始通知のファンアウト1回分の実行記録（配信 × 配信開始の世代ごとに1行）。
+ * 同じ配信開始で二重に通知を作らないための一意制約と、失敗・停止した実行を続きから再開するための
+ * 読み込み位置を持つ。行の読み書きは
+ * {@link com.example.service.notification.LiveNotificationFanoutService} が JDBC で直接行うため、
+ * 列構成を変える場合は同クラスの SQL も合わせて変更すること。
+ *
+ * @version 1.0
+ */
+@Entity
+@Table(name = "notification_fanouts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_notification_fanout_stream_generation",
+                columnNames = {"live_stream_id", "open_generation"}),
+        indexes = @Index(name = "idx_notification_fanout_state_updated", columnList = "state, updated_at"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class NotificationFanout extends AbstractBaseEntity {
+
+    /** 対象の配信 */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "live_stream_id", nullable = false)
+    private LiveStream liveStream;
+
+    /** 配信開始の世代（{@link LiveStream#getOpenGeneration()}） */
+    @Column(name = "open_generation", nullable = false)
+    private int openGeneration;
+
+    /** 実行状態 */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false, length = 20)
+    private FanoutState state;
+
+    /** 実行中のワーカーの識別子（再開で持ち主が替わったら、前の持ち主の書き込みを止める） */
+    @JdbcTypeCode(SqlTypes.UUID)
+    @Column(name = "run_token", columnDefinition = "BINARY(16)")
+    private UUID runToken;
+
+    /** 通知済みの最後のフォロワーID（再開時はこの続きから読む。未着手なら null） */
+    @JdbcTypeCode(SqlTypes.UUID)
+    @Column(name = "last_recipient_id", columnDefinition = "BINARY(16)")
+    private UUID lastRecipientId;
+
+    /** 作成済みの通知件数 */
+    @Column(name = "delivered", nullable = false)
+    private long delivered;
+
+    /** 書き込み済みのバッチ数 */
+    @Column(name = "batches", nullable = false)
+    private long batches;
+}
@@ -15,7 +15,7 @@ import com.example.util.entity.AbstractSoftDeletableEntity;
     ),
     indexes = {
         @Index(name = "idx_subscriptions_subscriber", columnList = "subscriber_id"),
-        @Index(name = "idx_subscriptions_target", columnList = "target_id")
+        @Index(name = "idx_subscriptions_target", columnList = "target_id, subscriber_id")
     }
 )
 @Getter
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Size;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.springframework.util.Assert;
 import com.example.util.entity.AbstractBaseEntity;
 
 /**
@@ -58,6 +59,24 @@ public class Tag extends AbstractBaseEntity {
     // =================== 業務ロジック ===================
     // ====================================================
 
+    /**
+     * タグ名・スラッグを更新します（nullは変更しない）。
+     *
+     * @param name タグ名
+     * @param slug タグスラッグ
+     * @throws IllegalArgumentException 空文字が指定された場合
+     */
+    public void rename(String name, String slug) {
+        if (name != null) {
+            Assert.hasText(name, "タグ名は空にできません");
+            this.name = name;
+        }
+        if (slug != null) {
+            Assert.hasText(slug, "スラッグは空にできません");
+            this.slug = slug;
+        }
+    }
+
     /**
      * タグのスラッグが一致するかを判定します。
      *
@@ -130,6 +130,20 @@ public class User extends AbstractSoftDeletableEntity {
     @Column(name = "login_failure_count", nullable = false)
     private int loginFailureCount = 0;
 
+    /**
+     * フォロワー数（subscriptions の非正規化カウンタ。フォロー・解除と同じトランザクションで増減する）。
+     * 増減は {@code UserRepository} の一括 UPDATE だけで行い、エンティティの保存では書き戻さない
+     * （読み込み済みの古い値でログイン記録等の保存時に上書きしないため）。
+     */
+    @Column(name = "follower_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long followerCount = 0L;
+
+    /** フォロー中の数（同上） */
+    @Column(name = "following_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long followingCount = 0L;
+
     /** タイムゾーン（例: Asia/Tokyo） */
     @Size(max = 100)
     @Column(name = "timezone")
@@ -26,6 +26,7 @@ import org.springframework.util.Assert;
 @Table(name = "videos",
         indexes = {@Index(name = "idx_video_user_id", columnList = "user_id"),
                 @Index(name = "idx_video_published_at", columnList = "published_at"),
+                @Index(name = "idx_video_user_published_at", columnList = "user_id, published_at"),
                 @Index(name = "idx_video_status_visibility", columnList = "status, visibility"),
                 @Index(name = "idx_video_deleted_at", columnList = "deleted_at")})
 @SQLDelete(
@@ -175,6 +176,16 @@ public class Video extends AbstractSoftDeletableEntity {
     // ============ 📈 再生・公開制御メソッド ============
     // ===================================================
 
+    /**
+     * スラッグを設定する（作成時・未設定分の補完のみ。公開後の URL を変えないため更新はしない）。
+     *
+     * @param slug スラッグ
+     */
+    public void assignSlug(String slug) {
+        Assert.hasText(slug, "スラッグは空にできません");
+        this.slug = slug;
+    }
+
     /**
      * 再生数を1増やす。
      */
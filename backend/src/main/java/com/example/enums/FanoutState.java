@@ -0,0 +1,5 @@
+package com.example.enums;
+
+public enum FanoutState {
+    RUNNING, COMPLETED, FAILED
+}
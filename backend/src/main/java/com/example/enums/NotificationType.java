@@ -0,0 +1,5 @@
+package com.example.enums;
+
+public enum NotificationType {
+    LIVE_STARTED
+}
@@ -0,0 +1,18 @@
+package com.example.event;
+
+import java.util.UUID;
+
+/**
+ * カテゴリの作成・更新・親の付け替え・削除を通知するイベント。
+ * {@link org.springframework.transaction.event.TransactionalEventListener} で受け取り、
+ * コミット後にファセット索引等のメモリ上の状態へ反映するために使用する。
+ *
+ * @param categoryId カテゴリID
+ * @param type       変更の種類
+ */
+public record CategoryLifecycleEvent(UUID categoryId, Type type) {
+
+    public enum Type {
+        CREATED, UPDATED, MOVED, DELETED
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.event;
+
+import com.example.dto.chat_messages.ChatMessageResponseDTO;
+
+/**
+ * チャットメッセージが永続化されたことを通知するイベント。
+ * コミット後にファンアウト（視聴者への配信）へ引き渡すために使用する。
+ *
+ * @param message 投稿されたメッセージ
+ */
+public record ChatMessagePostedEvent(ChatMessageResponseDTO message) {
+}
@@ -0,0 +1,23 @@
+package com.example.event;
+
+import java.util.UUID;
+
+/**
+ * ライブ配信の状態遷移を通知するイベント。
+ * {@link org.springframework.transaction.event.TransactionalEventListener} で受け取り、
+ * コミット後の後処理（チャットのアーカイブ化など）を行うために使用する。
+ *
+ * @param liveStreamId 配信ID
+ * @param type         遷移の種類
+ */
+public record LiveStreamLifecycleEvent(UUID liveStreamId, Type type) {
+
+    public enum Type {
+        CREATED, UPDATED, RESCHEDULED, OPENED, CLOSED, CANCELLED, RESTORED, KEY_REGENERATED
+    }
+
+    /** 配信が終了状態（ENDED / CANCELLED）に遷移したか */
+    public boolean isTerminal() {
+        return type == Type.CLOSED || type == Type.CANCELLED;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.event;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 配信予定日時が近づいたことを通知するイベント（ライフサイクルタイマーが発行する）。
+ *
+ * @param liveStreamId 配信ID
+ * @param scheduledAt  配信予定日時
+ */
+public record LiveStreamReminderEvent(UUID liveStreamId, LocalDateTime scheduledAt) {
+}
@@ -0,0 +1,15 @@
+package com.example.event;
+
+import java.util.UUID;
+
+/**
+ * フォロー・フォロー解除を通知するイベント（実際に状態が変わった場合のみ発行する）。
+ * {@link org.springframework.transaction.event.TransactionalEventListener} で受け取り、
+ * コミット後にカウンタのキャッシュ破棄などを行うために使用する。
+ *
+ * @param subscriberId フォローする側
+ * @param targetId     フォローされる側
+ * @param following    フォローした場合 true、解除した場合 false
+ */
+public record SubscriptionChangedEvent(UUID subscriberId, UUID targetId, boolean following) {
+}
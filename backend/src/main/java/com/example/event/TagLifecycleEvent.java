@@ -0,0 +1,18 @@
+package com.example.event;
+
+import java.util.UUID;
+
+/**
+ * タグの作成・更新・削除を通知するイベント。
+ * {@link org.springframework.transaction.event.TransactionalEventListener} で受け取り、
+ * コミット後に入力候補の索引へ反映するために使用する。
+ *
+ * @param tagId タグID
+ * @param type  変更の種類
+ */
+public record TagLifecycleEvent(UUID tagId, Type type) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
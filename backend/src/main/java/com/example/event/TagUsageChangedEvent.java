@@ -0,0 +1,13 @@
+package com.example.event;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 動画・配信へのタグの付与・解除で、タグの利用件数が変わったことを通知するイベント
+ * （実際に付与・解除された分のみ）。
+ *
+ * @param deltas タグID → 利用件数の増減
+ */
+public record TagUsageChangedEvent(Map<UUID, Long> deltas) {
+}
@@ -0,0 +1,13 @@
+package com.example.event;
+
+import java.util.UUID;
+
+/**
+ * ユーザー情報の更新・削除・復元を通知するイベント。
+ * {@link org.springframework.transaction.event.TransactionalEventListener} で受け取り、
+ * コミット後にレスポンスのキャッシュを破棄するために使用する。
+ *
+ * @param userId ユーザーID
+ */
+public record UserChangedEvent(UUID userId) {
+}
@@ -0,0 +1,19 @@
+package com.example.event;
+
+import java.util.UUID;
+
+/**
+ * 動画の作成・更新・公開状態の変更を通知するイベント。
+ * {@link org.springframework.transaction.event.TransactionalEventListener} で受け取り、
+ * コミット後にフィード等のメモリ上の索引を更新するために使用する。
+ *
+ * @param videoId 動画ID
+ * @param userId  投稿ユーザーID
+ * @param type    変更の種類
+ */
+public record VideoLifecycleEvent(UUID videoId, UUID userId, Type type) {
+
+    public enum Type {
+        CREATED, UPDATED, PUBLISHED, UNPUBLISHED, DELETED, RESTORED
+    }
+}
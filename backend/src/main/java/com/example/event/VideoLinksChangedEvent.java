@@ -0,0 +1,19 @@
+package com.example.event;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 動画へのカテゴリ・タグの付与・解除を通知するイベント。
+ * {@link org.springframework.transaction.event.TransactionalEventListener} で受け取り、
+ * コミット後にファセット索引等へ反映するために使用する。一括付与では1チャンク分の動画をまとめて通知する。
+ *
+ * @param videoIds 付与が変わった動画ID
+ */
+public record VideoLinksChangedEvent(Collection<UUID> videoIds) {
+
+    public static VideoLinksChangedEvent of(UUID videoId) {
+        return new VideoLinksChangedEvent(List.of(videoId));
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.event;
+
+import java.util.UUID;
+
+/**
+ * 動画の再生数が1増えたことを通知するイベント。
+ * {@link org.springframework.transaction.event.TransactionalEventListener} で受け取り、
+ * コミット後にメモリ上の再生数を進めるために使用する（DTO キャッシュ等の破棄には使わない）。
+ *
+ * @param videoId 動画ID
+ */
+public record VideoViewedEvent(UUID videoId) {
+}
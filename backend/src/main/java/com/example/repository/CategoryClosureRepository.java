@@ -0,0 +1,46 @@
+package com.example.repository;
+
+import com.example.entity.CategoryClosure;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, UUID> {
+
+  // 祖先（自分自身を含む）をロックして読む（階層の変更用。FOR UPDATE でスナップショットではなく最新の行を読む）
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT cc FROM CategoryClosure cc WHERE cc.descendant.id = :descendantId")
+  List<CategoryClosure> lockByDescendantId(@Param("descendantId")
+  UUID descendantId);
+
+  // 部分木（自分自身を含む）をロックして読む
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT cc FROM CategoryClosure cc WHERE cc.ancestor.id = :ancestorId")
+  List<CategoryClosure> lockByAncestorId(@Param("ancestorId")
+  UUID ancestorId);
+
+  // 部分木のカテゴリID（自分自身を含む）
+  @Query("SELECT cc.descendant.id FROM CategoryClosure cc WHERE cc.ancestor.id = :ancestorId")
+  List<UUID> findDescendantIds(@Param("ancestorId")
+  UUID ancestorId);
+
+  // 閉包の行を持たない削除されていないカテゴリ（導入前から存在するもの。削除時に外した行は補わない）
+  @Query("SELECT c.id FROM Category c WHERE c.deletedAt IS NULL AND NOT EXISTS ("
+      + "SELECT 1 FROM CategoryClosure cc WHERE cc.descendant = c AND cc.depth = 0)")
+  List<UUID> findCategoryIdsWithoutClosure();
+
+  // 部分木を外側の祖先から切り離す（部分木の内側の組は残す）
+  @Modifying
+  @Query("DELETE FROM CategoryClosure cc WHERE cc.descendant.id IN :subtree AND cc.ancestor.id NOT IN :subtree")
+  int deleteOuterLinks(@Param("subtree")
+  Collection<UUID> subtree);
+
+  // 削除
+  @Modifying int deleteByDescendant_Id(UUID descendantId);
+}
@@ -1,11 +1,18 @@
 package com.example.repository;
 
 import com.example.entity.Category;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CategoryRepository extends JpaRepository<Category, UUID> {
 
@@ -14,6 +21,23 @@ public interface CategoryRepository extends JpaRepository<Category, UUID> {
 
     boolean existsByNameIgnoreCase(String name);
 
-    // あいまい検索 + ページング
-    Page<Category> findByNameContainingIgnoreCase(String keyword, Pageable pageable);
+    // スラッグの重複確認（削除済みを含む）
+    Optional<Category> findBySlugIgnoreCase(String slug);
+
+    // 検索（スナップショットで並べ替えられない項目が指定された場合）
+    Page<Category> findByDeletedAtIsNull(Pageable pageable);
+
+    Page<Category> findByNameContainingIgnoreCaseAndDeletedAtIsNull(String keyword, Pageable pageable);
+
+    Page<Category> findByNameStartingWithIgnoreCaseAndDeletedAtIsNull(String prefix, Pageable pageable);
+
+    // スラッグの作り直し（読んだ時点から変わっていない場合だけ書き換え、他ノードの作り直しと競合しない）
+    @Modifying
+    @Query("UPDATE Category c SET c.slug = :slug WHERE c.id = :id AND (c.slug IS NULL OR c.slug = :current)")
+    int replaceSlugIfUnchanged(@Param("id") UUID id, @Param("current") String current, @Param("slug") String slug);
+
+    // 階層の変更（行ロックはID順に取り、付け替え同士のデッドロックを避ける）
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Category c WHERE c.id IN :ids ORDER BY c.id")
+    List<Category> lockAllById(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,26 @@
+package com.example.repository;
+
+import com.example.entity.ChatArchiveBlock;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ChatArchiveBlockRepository extends JpaRepository<ChatArchiveBlock, UUID> {
+
+    // オフセット範囲に対応するブロックだけを読む（uk_chat_archive_block を使用）
+    List<ChatArchiveBlock> findByArchive_IdAndBlockNoBetweenOrderByBlockNo(UUID archiveId, int fromBlock, int toBlock);
+
+    // 展開済みキャッシュに無いブロックだけを読む（uk_chat_archive_block を使用）
+    List<ChatArchiveBlock> findByArchive_IdAndBlockNoInOrderByBlockNo(UUID archiveId, Collection<Integer> blockNos);
+
+    // 放棄したアーカイブのブロックを番号範囲ごとに削除する
+    @Modifying
+    @Query("DELETE FROM ChatArchiveBlock b WHERE b.archive.id = :archiveId AND b.blockNo >= :fromBlock AND b.blockNo < :toBlock")
+    int deleteBlockRange(@Param("archiveId") UUID archiveId,
+                         @Param("fromBlock") int fromBlock,
+                         @Param("toBlock") int toBlock);
+}
@@ -0,0 +1,13 @@
+package com.example.repository;
+
+import com.example.entity.ChatArchive;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ChatArchiveRepository extends JpaRepository<ChatArchive, UUID> {
+
+    Optional<ChatArchive> findByLiveStream_Id(UUID liveStreamId);
+
+    boolean existsByLiveStream_Id(UUID liveStreamId);
+}
@@ -0,0 +1,100 @@
+package com.example.repository;
+
+import com.example.entity.ChatMessage;
+import com.example.enums.StreamStatus;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+
+public interface ChatMessageRepository extends JpaRepository<ChatMessage, UUID> {
+
+    // 配信ごとのメッセージ（投稿者名を表示するため user を同時取得）
+    @EntityGraph(attributePaths = "user")
+    Page<ChatMessage> findByLiveStream_Id(UUID liveStreamId, Pageable pageable);
+
+    // --- アーカイブ用：投稿順のキーセット読み込み ---
+    @Query("""
+      SELECT m FROM ChatMessage m JOIN FETCH m.user
+      WHERE m.liveStream.id = :liveStreamId
+      ORDER BY m.createdAt, m.id
+    """)
+    List<ChatMessage> findFirstChunk(@Param("liveStreamId") UUID liveStreamId, Pageable pageable);
+
+    @Query("""
+      SELECT m FROM ChatMessage m JOIN FETCH m.user
+      WHERE m.liveStream.id = :liveStreamId
+        AND (m.createdAt > :afterAt OR (m.createdAt = :afterAt AND m.id > :afterId))
+      ORDER BY m.createdAt, m.id
+    """)
+    List<ChatMessage> findChunkAfter(@Param("liveStreamId") UUID liveStreamId,
+                                     @Param("afterAt") LocalDateTime afterAt,
+                                     @Param("afterId") UUID afterId,
+                                     Pageable pageable);
+
+    // --- リプレイ用：未アーカイブ配信の時間範囲読み込み（live_stream_id, created_at の複合インデックス） ---
+    @Query("""
+      SELECT m FROM ChatMessage m JOIN FETCH m.user
+      WHERE m.liveStream.id = :liveStreamId
+        AND m.createdAt >= :from AND m.createdAt < :to
+      ORDER BY m.createdAt, m.id
+    """)
+    List<ChatMessage> findRange(@Param("liveStreamId") UUID liveStreamId,
+                                @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to,
+                                Pageable pageable);
+
+    // --- リプレイ用：打ち切った時間窓の続き（最後に返した (created_at, id) より後ろ） ---
+    @Query("""
+      SELECT m FROM ChatMessage m JOIN FETCH m.user
+      WHERE m.liveStream.id = :liveStreamId
+        AND m.createdAt >= :from AND m.createdAt < :to
+        AND (m.createdAt > :afterAt OR (m.createdAt = :afterAt AND m.id > :afterId))
+      ORDER BY m.createdAt, m.id
+    """)
+    List<ChatMessage> findRangeAfter(@Param("liveStreamId") UUID liveStreamId,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     @Param("afterAt") LocalDateTime afterAt,
+                                     @Param("afterId") UUID afterId,
+                                     Pageable pageable);
+
+    // --- アーカイブ後のチャンク削除（アーカイブ済みの位置以下の行だけ） ---
+    @Query("""
+      SELECT m.id FROM ChatMessage m
+      WHERE m.liveStream.id = :liveStreamId
+        AND (m.createdAt < :upToAt OR (m.createdAt = :upToAt AND m.id <= :upToId))
+    """)
+    List<UUID> findIdsUpTo(@Param("liveStreamId") UUID liveStreamId,
+                           @Param("upToAt") LocalDateTime upToAt,
+                           @Param("upToId") UUID upToId,
+                           Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ChatMessage m WHERE m.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // --- 未アーカイブ、またはアーカイブ済みの行が削除されずに残っている終了配信 ---
+    //     （アーカイブ後に届いた行だけが残っている配信は対象にしない）
+    //     live_streams の (status, id) をキーセットで辿り、各配信の行は (live_stream_id, created_at) で引く
+    @Query("""
+      SELECT l.id FROM LiveStream l
+      WHERE l.status IN :statuses AND l.id > :afterId
+        AND EXISTS (
+          SELECT m.id FROM ChatMessage m
+          WHERE m.liveStream = l
+            AND NOT EXISTS (
+              SELECT a.id FROM ChatArchive a
+              WHERE a.liveStream = l
+                AND (a.lastMessageId IS NULL OR m.createdAt > a.lastMessageAt
+                     OR (m.createdAt = a.lastMessageAt AND m.id > a.lastMessageId))))
+      ORDER BY l.id
+    """)
+    List<UUID> findCompactableLiveStreamIds(@Param("statuses") Collection<StreamStatus> statuses,
+                                            @Param("afterId") UUID afterId,
+                                            Pageable pageable);
+}
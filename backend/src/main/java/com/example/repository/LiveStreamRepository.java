@@ -2,6 +2,9 @@ package com.example.repository;
 
 import com.example.entity.LiveStream;
 import com.example.enums.StreamStatus;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -9,6 +12,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface LiveStreamRepository extends JpaRepository<LiveStream, UUID> {
 
@@ -20,6 +24,23 @@ public interface LiveStreamRepository extends JpaRepository<LiveStream, UUID> {
 
     Page<LiveStream> findByStatus(StreamStatus status, Pageable pageable);
 
+    List<LiveStream> findAllByStatus(StreamStatus status);
+
+    List<LiveStream> findAllByStatusIn(Collection<StreamStatus> statuses);
+
+    List<LiveStream> findAllByStatusAndScheduledAtLessThanEqual(StreamStatus status, LocalDateTime until);
+
+    long countByStatusAndScheduledAtAfter(StreamStatus status, LocalDateTime after);
+
+    // --- 配信予定カレンダー（(status, scheduled_at) の複合インデックスを使う） ---
+    List<LiveStream> findAllByStatusOrderByScheduledAtAsc(StreamStatus status);
+
+    List<LiveStream> findAllByStatusAndScheduledAtGreaterThanAndScheduledAtLessThanOrderByScheduledAtAsc(
+            StreamStatus status, LocalDateTime after, LocalDateTime before);
+
+    List<LiveStream> findAllByUserIdAndStatusAndScheduledAtGreaterThanAndScheduledAtLessThan(
+            UUID userId, StreamStatus status, LocalDateTime after, LocalDateTime before);
+
     Page<LiveStream> findByStatusIn(List<StreamStatus> statuses, Pageable pageable);
 
     Page<LiveStream> findByTitleContainingIgnoreCaseAndStatus(String title, StreamStatus status, Pageable pageable);
@@ -29,6 +50,43 @@ public interface LiveStreamRepository extends JpaRepository<LiveStream, UUID> {
     Optional<LiveStream> findByIdIncludingDeleted(@Param("id")
     UUID id);
 
+    // --- ライフサイクルタイマーによる一括遷移（状態・期限を条件に含め、他ノードとの競合時は何もしない） ---
+    @Query("SELECT l.id FROM LiveStream l WHERE l.id IN :ids AND l.status = 'SCHEDULED' AND l.scheduledAt <= :cutoff AND l.deletedAt IS NULL")
+    List<UUID> findNoShowIds(@Param("ids")
+    Collection<UUID> ids, @Param("cutoff")
+    LocalDateTime cutoff);
+
+    @Modifying @Query("UPDATE LiveStream l SET l.status = 'CANCELLED', l.endedAt = :now WHERE l.id IN :ids AND l.status = 'SCHEDULED'")
+    int cancelAll(@Param("ids")
+    Collection<UUID> ids, @Param("now")
+    LocalDateTime now);
+
+    // 最終ハートビートが staleBefore より前の配信中ライブ（ハートビートの記録と競合しないよう行ロックを取る）
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM LiveStream l WHERE l.id IN :ids AND l.status = 'LIVE' AND l.deletedAt IS NULL"
+            + " AND COALESCE(l.lastHeartbeatAt, l.startedAt) < :staleBefore ORDER BY l.id")
+    List<LiveStream> lockAbandoned(@Param("ids")
+    Collection<UUID> ids, @Param("staleBefore")
+    LocalDateTime staleBefore);
+
+    @Modifying @Query("UPDATE LiveStream l SET l.status = 'ENDED', l.endedAt = :now WHERE l.id IN :ids AND l.status = 'LIVE'"
+            + " AND COALESCE(l.lastHeartbeatAt, l.startedAt) < :staleBefore")
+    int closeAll(@Param("ids")
+    Collection<UUID> ids, @Param("now")
+    LocalDateTime now, @Param("staleBefore")
+    LocalDateTime staleBefore);
+
+    @Transactional
+    @Modifying @Query("UPDATE LiveStream l SET l.lastHeartbeatAt = :now WHERE l.id = :id AND l.status = 'LIVE'")
+    int recordHeartbeat(@Param("id")
+    UUID id, @Param("now")
+    LocalDateTime now);
+
+    @Modifying @Query("UPDATE LiveStream l SET l.viewsCount = l.viewsCount + :views WHERE l.id = :id")
+    void addViews(@Param("id")
+    UUID id, @Param("views")
+    long views);
+
     // --- 論理削除の復元 ---
     @Modifying @Query("UPDATE LiveStream l SET l.deletedAt = NULL, l.status = 'SCHEDULED' WHERE l.id = :id")
     void restoreById(@Param("id")
@@ -0,0 +1,22 @@
+package com.example.repository;
+
+import com.example.entity.LiveStreamTag;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface LiveStreamTagRepository extends JpaRepository<LiveStreamTag, UUID> {
+
+  // 取得
+  List<LiveStreamTag> findByLiveStream_Id(UUID liveStreamId);
+
+  // 削除
+  @Modifying int deleteByTag_Id(UUID tagId);
+  @Modifying int deleteByLiveStream_IdAndTag_Id(UUID liveStreamId, UUID tagId);
+
+  // タグごとの利用件数（[タグID, 件数]）
+  @Query("SELECT lt.tag.id, COUNT(lt) FROM LiveStreamTag lt GROUP BY lt.tag.id")
+  List<Object[]> countGroupByTag();
+}
@@ -0,0 +1,50 @@
+package com.example.repository;
+
+import com.example.entity.Subscription;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+
+public interface SubscriptionRepository extends JpaRepository<Subscription, UUID> {
+
+    // --- 解除済み（論理削除）も含めて取得。(subscriber_id, target_id) は一意 ---
+    @Query("SELECT s FROM Subscription s WHERE s.subscriber.id = :subscriberId AND s.target.id = :targetId")
+    Optional<Subscription> findPairIncludingDeleted(@Param("subscriberId")
+    UUID subscriberId, @Param("targetId")
+    UUID targetId);
+
+    @Query("SELECT COUNT(s) > 0 FROM Subscription s "
+            + "WHERE s.subscriber.id = :subscriberId AND s.target.id = :targetId AND s.deletedAt IS NULL")
+    boolean isFollowing(@Param("subscriberId")
+    UUID subscriberId, @Param("targetId")
+    UUID targetId);
+
+    @Query("SELECT s.target.id FROM Subscription s WHERE s.subscriber.id = :subscriberId AND s.deletedAt IS NULL")
+    List<UUID> findTargetIdsBySubscriberId(@Param("subscriberId")
+    UUID subscriberId);
+
+    // --- フォロー・解除（状態を条件にした更新で、変化した場合のみ 1 を返す） ---
+    @Modifying @Query("UPDATE Subscription s SET s.deletedAt = NULL WHERE s.id = :id AND s.deletedAt IS NOT NULL")
+    int reactivate(@Param("id")
+    UUID id);
+
+    @Modifying @Query("UPDATE Subscription s SET s.deletedAt = CURRENT_TIMESTAMP "
+            + "WHERE s.subscriber.id = :subscriberId AND s.target.id = :targetId AND s.deletedAt IS NULL")
+    int deactivate(@Param("subscriberId")
+    UUID subscriberId, @Param("targetId")
+    UUID targetId);
+
+    // --- カウンタの突き合わせ用集計（[ユーザーID, 件数]） ---
+    @Query("SELECT s.target.id, COUNT(s) FROM Subscription s "
+            + "WHERE s.target.id IN :ids AND s.deletedAt IS NULL GROUP BY s.target.id")
+    List<Object[]> countFollowersByTargetIds(@Param("ids")
+    Collection<UUID> ids);
+
+    @Query("SELECT s.subscriber.id, COUNT(s) FROM Subscription s "
+            + "WHERE s.subscriber.id IN :ids AND s.deletedAt IS NULL GROUP BY s.subscriber.id")
+    List<Object[]> countFollowingBySubscriberIds(@Param("ids")
+    Collection<UUID> ids);
+}
@@ -0,0 +1,23 @@
+package com.example.repository;
+
+import com.example.entity.Tag;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TagRepository extends JpaRepository<Tag, UUID> {
+
+    // 正確一致（大文字小文字無視）
+    Optional<Tag> findByNameIgnoreCase(String name);
+
+    Optional<Tag> findBySlug(String slug);
+
+    // あいまい検索 + ページング
+    Page<Tag> findByNameContainingIgnoreCase(String keyword, Pageable pageable);
+
+    // 前方一致（入力候補の索引が読み込まれるまでの代替）
+    List<Tag> findByNameStartingWithIgnoreCase(String prefix, Pageable pageable);
+}
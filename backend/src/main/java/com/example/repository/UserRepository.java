@@ -1,8 +1,12 @@
 package com.example.repository;
 
 import com.example.entity.User;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
@@ -28,4 +32,27 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     @Modifying
     @Query("UPDATE User u SET u.deletedAt = NULL WHERE u.id = :id")
     void restoreById(@Param("id") UUID id);
+
+    // 4) フォロー数カウンタ（行ロックはID順に取り、相互フォローでのデッドロックを避ける）
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id IN :ids ORDER BY u.id")
+    List<User> lockAllById(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE User u SET u.followerCount = u.followerCount + :delta WHERE u.id = :id")
+    void addFollowerCount(@Param("id") UUID id, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE User u SET u.followingCount = u.followingCount + :delta WHERE u.id = :id")
+    void addFollowingCount(@Param("id") UUID id, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE User u SET u.followerCount = :followers, u.followingCount = :following WHERE u.id = :id")
+    void setFollowCounts(@Param("id") UUID id, @Param("followers") long followers, @Param("following") long following);
+
+    @Query("SELECT u.id, u.followerCount, u.followingCount FROM User u ORDER BY u.id")
+    List<Object[]> findFollowCountsFirstChunk(Pageable pageable);
+
+    @Query("SELECT u.id, u.followerCount, u.followingCount FROM User u WHERE u.id > :after ORDER BY u.id")
+    List<Object[]> findFollowCountsChunkAfter(@Param("after") UUID after, Pageable pageable);
 }
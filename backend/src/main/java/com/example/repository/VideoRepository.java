@@ -2,6 +2,9 @@ package com.example.repository;
 
 import com.example.entity.Video;
 import com.example.enums.VideoVisibility;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
@@ -29,4 +32,39 @@ public interface VideoRepository extends JpaRepository<Video, UUID> {
     @Modifying @Query("UPDATE Video v SET v.deletedAt = NULL, v.status = 'READY' WHERE v.id = :id")
     void restoreById(@Param("id")
     UUID id);
+
+    // --- フォロー中フィード：配信者ごとの新着上位 limit 件（公開済みのみ） ---
+    @Query("SELECT v FROM Video v JOIN FETCH v.user WHERE v.id IN ("
+            + "SELECT r.id FROM (SELECT x.id AS id, ROW_NUMBER() OVER ("
+            + "PARTITION BY x.user.id ORDER BY x.publishedAt DESC, x.id DESC) AS rn "
+            + "FROM Video x WHERE x.user.id IN :userIds AND x.visibility = com.example.enums.VideoVisibility.PUBLIC "
+            + "AND x.publishedAt IS NOT NULL AND x.deletedAt IS NULL) r WHERE r.rn <= :limit)")
+    List<Video> findRecentPublishedByUserIds(@Param("userIds")
+    Collection<UUID> userIds, @Param("limit")
+    int limit);
+
+    // --- フォロー中フィード：(公開日時, ID) のキーセットで続きを読む ---
+    @Query("SELECT v FROM Video v JOIN FETCH v.user WHERE v.user.id IN ("
+            + "SELECT s.target.id FROM Subscription s WHERE s.subscriber.id = :subscriberId AND s.deletedAt IS NULL) "
+            + "AND v.visibility = com.example.enums.VideoVisibility.PUBLIC AND v.publishedAt IS NOT NULL "
+            + "AND v.deletedAt IS NULL "
+            + "AND (v.publishedAt < :publishedAt OR (v.publishedAt = :publishedAt AND v.id < :id)) "
+            + "ORDER BY v.publishedAt DESC, v.id DESC")
+    List<Video> findFeedAfter(@Param("subscriberId")
+    UUID subscriberId, @Param("publishedAt")
+    LocalDateTime publishedAt, @Param("id")
+    UUID id, Pageable pageable);
+
+    // --- ファセット絞り込み結果の表示用：投稿者込みでまとめて読む ---
+    @Query("SELECT v FROM Video v JOIN FETCH v.user WHERE v.id IN :ids")
+    List<Video> findAllWithUserByIdIn(@Param("ids")
+    Collection<UUID> ids);
+
+    // --- カテゴリの部分木に属する公開動画（カテゴリIDは部分木を展開済みで渡す） ---
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT v FROM Video v WHERE v.visibility = com.example.enums.VideoVisibility.PUBLIC "
+            + "AND v.deletedAt IS NULL AND EXISTS (SELECT 1 FROM VideoCategory vc WHERE vc.video = v "
+            + "AND vc.deletedAt IS NULL AND vc.category.id IN :categoryIds)")
+    Page<Video> findPublicByCategoryIds(@Param("categoryIds")
+    Collection<UUID> categoryIds, Pageable pageable);
 }
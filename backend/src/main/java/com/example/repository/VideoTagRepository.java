@@ -0,0 +1,22 @@
+package com.example.repository;
+
+import com.example.entity.VideoTag;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface VideoTagRepository extends JpaRepository<VideoTag, UUID> {
+
+  // 取得
+  List<VideoTag> findByVideo_Id(UUID videoId);
+
+  // 削除
+  @Modifying int deleteByTag_Id(UUID tagId);
+  @Modifying int deleteByVideo_IdAndTag_Id(UUID videoId, UUID tagId);
+
+  // タグごとの利用件数（[タグID, 件数]）
+  @Query("SELECT vt.tag.id, COUNT(vt) FROM VideoTag vt GROUP BY vt.tag.id")
+  List<Object[]> countGroupByTag();
+}
@@ -1,21 +1,35 @@
 package com.example.service;
 
+import com.example.config.CategoryProperties;
 import com.example.dto.categories.*;
+import com.example.dto.videos.PublicVideoResponseDTO;
 import com.example.entity.Category;
 import com.example.entity.LiveStream;
 import com.example.entity.VideoCategory;
 import com.example.entity.LiveStreamCategory;
 import com.example.entity.Video;
+import com.example.event.CategoryLifecycleEvent;
+import com.example.event.VideoLinksChangedEvent;
 import com.example.repository.CategoryRepository;
 import com.example.repository.VideoCategoryRepository;
+import com.example.repository.VideoRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import com.example.repository.LiveStreamCategoryRepository;
+import com.example.service.cache.ReadCoalescer;
+import com.example.service.category.CategoryBulkLinker;
+import com.example.service.category.CategoryCatalog;
+import com.example.service.category.CategoryHierarchy;
+import com.example.service.category.CategoryStatsStore;
+import com.example.service.video.VideoCardStore;
+import com.example.util.slug.Slugifier;
 import java.util.*;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -28,6 +42,15 @@ public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final VideoCategoryRepository videoCategoryRepository;
     private final LiveStreamCategoryRepository liveStreamCategoryRepository;
+    private final CategoryCatalog categoryCatalog;
+    private final CategoryStatsStore categoryStats;
+    private final CategoryHierarchy categoryHierarchy;
+    private final CategoryBulkLinker categoryBulkLinker;
+    private final CategoryProperties categoryProperties;
+    private final VideoRepository videoRepository;
+    private final ReadCoalescer readCoalescer;
+    private final VideoCardStore videoCardStore;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PersistenceContext
     private EntityManager em;
@@ -37,17 +60,79 @@ public class CategoryService {
     // ========================================================
 
     public CategoryResponseDTO getCategory(UUID id) {
-        Category c = categoryRepository.findById(id)
+        CategoryResponseDTO c = categoryCatalog.findById(id)
                 .orElseThrow(() -> new NoSuchElementException(String.format(CATEGORY_NOT_FOUND, id)));
-        return CategoryResponseDTO.fromEntity(c);
+        return c.toBuilder().videoCount(categoryStats.count(id)).build();
+    }
+
+    /**
+     * スラッグでカテゴリを取得する（スナップショットで引き、DB は参照しない）。
+     *
+     * @throws NoSuchElementException カテゴリが存在しない場合
+     */
+    public CategoryResponseDTO getCategoryBySlug(String slug) {
+        CategoryResponseDTO c = categoryCatalog.findBySlug(slug)
+                .orElseThrow(() -> new NoSuchElementException("カテゴリが見つかりません (slug: " + slug + ")"));
+        return c.toBuilder().videoCount(categoryStats.count(c.getId())).build();
     }
 
     public Page<CategoryResponseDTO> searchCategories(CategorySearchRequestDTO req, Pageable pageable) {
         String keyword = (req != null && req.getKeyword() != null) ? req.getKeyword() : "";
-        Page<Category> page = (keyword.isBlank())
-                ? categoryRepository.findAll(pageable)
-                : categoryRepository.findByNameContainingIgnoreCase(keyword, pageable);
-        return page.map(CategoryResponseDTO::fromEntity);
+        boolean prefixOnly = req != null && Boolean.TRUE.equals(req.getPrefix());
+        Page<CategoryResponseDTO> page = categoryCatalog.search(keyword, prefixOnly, pageable)
+                .orElseGet(() -> searchInDatabase(keyword, prefixOnly, pageable));
+        Map<UUID, Long> counts = categoryStats.counts(page.map(CategoryResponseDTO::getId).getContent());
+        return page.map(c -> c.toBuilder().videoCount(counts.get(c.getId())).build());
+    }
+
+    /**
+     * カテゴリの人気動画（公開動画を再生数の多い順）を返す。
+     *
+     * @throws NoSuchElementException   カテゴリが存在しない場合
+     * @throws IllegalArgumentException 件数が範囲外の場合
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<PublicVideoResponseDTO> getPopularVideos(UUID categoryId, int limit) {
+        if (limit < 1 || limit > categoryProperties.getPopularSize()) {
+            throw new IllegalArgumentException("取得件数は 1〜" + categoryProperties.getPopularSize() + " で指定してください");
+        }
+        if (categoryCatalog.findById(categoryId).isEmpty()) {
+            throw new NoSuchElementException(String.format(CATEGORY_NOT_FOUND, categoryId));
+        }
+        List<UUID> ids = categoryStats.popular(categoryId, limit);
+        if (ids.isEmpty()) return List.of();
+        if (videoCardStore.isReady()) {
+            return videoCardStore.cards(ids); // 公開中のものだけ、ヒープ外のカードから直接書き出す
+        }
+        // 同じ並びの ID 列を同時に読む呼び出しは1本の問い合わせにまとめる
+        return readCoalescer.load("category.popular", ids, () -> {
+            Map<UUID, Video> loaded = videoRepository.findAllWithUserByIdIn(ids).stream()
+                    .collect(Collectors.toMap(Video::getId, v -> v));
+            return ids.stream()
+                    .map(loaded::get)
+                    .filter(v -> v != null && v.isPublic()) // 反映待ちの間に非公開・削除されたもの
+                    .map(PublicVideoResponseDTO::fromEntity)
+                    .toList();
+        });
+    }
+
+    /**
+     * カテゴリとその子孫カテゴリに属する公開動画を返す（未指定なら公開日時の新しい順）。
+     *
+     * @throws NoSuchElementException カテゴリが存在しない場合
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Page<PublicVideoResponseDTO> getVideosInSubtree(UUID categoryId, Pageable pageable) {
+        if (categoryCatalog.findById(categoryId).isEmpty()) {
+            throw new NoSuchElementException(String.format(CATEGORY_NOT_FOUND, categoryId));
+        }
+        Pageable sorted = pageable.getSort().isSorted() ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                        Sort.by(Sort.Direction.DESC, "publishedAt"));
+        Object key = ReadCoalescer.key(categoryId, sorted.getPageNumber(), sorted.getPageSize(), sorted.getSort());
+        return readCoalescer.load("category.videos", key, () ->
+                videoRepository.findPublicByCategoryIds(categoryHierarchy.subtreeOf(categoryId), sorted)
+                        .map(PublicVideoResponseDTO::fromEntity));
     }
 
     // ========================================================
@@ -80,6 +165,7 @@ public class CategoryService {
 
         if (!toSave.isEmpty()) {
             videoCategoryRepository.saveAll(toSave);
+            eventPublisher.publishEvent(VideoLinksChangedEvent.of(videoId));
         }
     }
 
@@ -87,6 +173,7 @@ public class CategoryService {
     public void replaceVideoCategories(UUID videoId, List<UUID> categoryIds) {
         // 全削除 → 再挿入（nullなら全削除のみ）
         videoCategoryRepository.deleteByVideo_Id(videoId);
+        eventPublisher.publishEvent(VideoLinksChangedEvent.of(videoId));
         if (categoryIds == null) return;
 
         Set<UUID> unique = new LinkedHashSet<>(categoryIds);
@@ -106,7 +193,9 @@ public class CategoryService {
 
     @Transactional
     public void removeCategoryFromVideo(UUID videoId, UUID categoryId) {
-        videoCategoryRepository.deleteByVideo_IdAndCategory_Id(videoId, categoryId);
+        if (videoCategoryRepository.deleteByVideo_IdAndCategory_Id(videoId, categoryId) > 0) {
+            eventPublisher.publishEvent(VideoLinksChangedEvent.of(videoId));
+        }
     }
 
     // ---- LiveStream × Category ----
@@ -167,11 +256,16 @@ public class CategoryService {
 
     @Transactional
     public CategoryResponseDTO createCategory(CategoryCreateRequestDTO req) {
-        categoryRepository.findByNameIgnoreCase(req.getName())
-                .ifPresent(x -> { throw new IllegalArgumentException("カテゴリ名は既に存在します"); });
-
-        Category c = new Category(req.getName(), req.getDescription(), null);
-        return CategoryResponseDTO.fromEntity(categoryRepository.save(c));
+        assertNameAvailable(req.getName(), null);
+        Category parent = req.getParentId() != null ? getActiveCategoryOrThrow(req.getParentId()) : null;
+
+        String slug = req.getSlug() != null ? requestedSlug(req.getSlug(), null) : generateSlug(req.getName());
+        Category c = new Category(req.getName(), slug, req.getDescription());
+        c.moveTo(parent);
+        c = categoryRepository.save(c);
+        categoryHierarchy.attach(c, parent);
+        eventPublisher.publishEvent(new CategoryLifecycleEvent(c.getId(), CategoryLifecycleEvent.Type.CREATED));
+        return CategoryResponseDTO.fromEntity(c);
     }
 
     @Transactional
@@ -180,37 +274,186 @@ public class CategoryService {
                 .orElseThrow(() -> new NoSuchElementException(String.format(CATEGORY_NOT_FOUND, id)));
 
         if (req.getName() != null) {
-            categoryRepository.findByNameIgnoreCase(req.getName())
-                    .filter(existing -> !existing.getId().equals(id))
-                    .ifPresent(x -> { throw new IllegalArgumentException("カテゴリ名は既に存在します"); });
+            assertNameAvailable(req.getName(), id);
             c.setName(req.getName());
         }
         if (req.getDescription() != null) {
             c.setDescription(req.getDescription());
         }
+        if (req.getSlug() != null) {
+            c.setSlug(requestedSlug(req.getSlug(), id));
+        }
+        eventPublisher.publishEvent(new CategoryLifecycleEvent(id, CategoryLifecycleEvent.Type.UPDATED));
         return CategoryResponseDTO.fromEntity(c); // 永続化コンテキストで更新
     }
 
+    /**
+     * カテゴリを部分木ごと別の親の下へ移す（parentId が null なら最上位へ）。
+     *
+     * @throws NoSuchElementException   カテゴリ・親カテゴリが存在しない場合
+     * @throws IllegalArgumentException 自分自身または子孫を親にしようとした場合
+     */
+    @Transactional
+    public CategoryResponseDTO moveCategory(UUID id, CategoryMoveRequestDTO req) {
+        Category c = getActiveCategoryOrThrow(id);
+        Category parent = req.getParentId() != null ? getActiveCategoryOrThrow(req.getParentId()) : null;
+        categoryHierarchy.move(c, parent);
+        eventPublisher.publishEvent(new CategoryLifecycleEvent(id, CategoryLifecycleEvent.Type.MOVED));
+        return CategoryResponseDTO.fromEntity(c);
+    }
+
+    /**
+     * 複数の動画へカテゴリを一括で付与する（付与済みのものはそのまま）。
+     * 一定件数ごとに別トランザクションでコミットするため、途中で失敗した場合もそれまでのチャンクは反映される。
+     *
+     * @throws NoSuchElementException   存在しないカテゴリIDが含まれる場合
+     * @throws IllegalArgumentException 件数が上限を超える場合
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CategoryBulkLinkResultDTO bulkAddCategoriesToVideos(CategoryBulkLinkRequestDTO req) {
+        return bulkLink(CategoryBulkLinker.Target.VIDEO, req);
+    }
+
+    /**
+     * 複数のライブ配信へカテゴリを一括で付与する（付与済みのものはそのまま）。
+     *
+     * @throws NoSuchElementException   存在しないカテゴリIDが含まれる場合
+     * @throws IllegalArgumentException 件数が上限を超える場合
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CategoryBulkLinkResultDTO bulkAddCategoriesToLiveStreams(CategoryBulkLinkRequestDTO req) {
+        return bulkLink(CategoryBulkLinker.Target.LIVE_STREAM, req);
+    }
+
     @Transactional
     public void deleteCategory(UUID id) {
+        categoryHierarchy.detach(id); // 子カテゴリがあれば削除しない
         // 参照掃除（DBでFK CASCADEを使わない方針ならこちらで）
         videoCategoryRepository.deleteByCategory_Id(id);
         liveStreamCategoryRepository.deleteByCategory_Id(id);
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryLifecycleEvent(id, CategoryLifecycleEvent.Type.DELETED));
     }
 
     // ========================================================
     // ================== INTERNAL UTILITIES ==================
     // ========================================================
 
+    /**
+     * 一括付与の共通処理。対象IDごとにカテゴリIDをまとめ、カテゴリの存在はリクエスト全体で一度だけ確かめる。
+     */
+    private CategoryBulkLinkResultDTO bulkLink(CategoryBulkLinker.Target target, CategoryBulkLinkRequestDTO req) {
+        Map<UUID, Set<UUID>> requested = new LinkedHashMap<>();
+        int links = 0;
+        for (CategoryBulkLinkRequestDTO.Item item : req.getItems()) {
+            Set<UUID> categories = requested.computeIfAbsent(item.getEntityId(), k -> new LinkedHashSet<>());
+            links -= categories.size();
+            categories.addAll(item.getCategoryIds());
+            links += categories.size();
+        }
+        if (links > categoryProperties.getBulkMaxLinks()) {
+            throw new IllegalArgumentException(
+                    "一括付与できるのは最大 " + categoryProperties.getBulkMaxLinks() + " 件です");
+        }
+        assertAllCategoriesExist(requested.values().stream()
+                .flatMap(Set::stream)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+
+        List<CategoryBulkLinkResultDTO.ItemResult> items = categoryBulkLinker.link(target, requested).stream()
+                .map(o -> new CategoryBulkLinkResultDTO.ItemResult(o.entityId(),
+                        !o.found() ? CategoryBulkLinkResultDTO.Status.NOT_FOUND
+                                : o.added() > 0 ? CategoryBulkLinkResultDTO.Status.LINKED
+                                : CategoryBulkLinkResultDTO.Status.UNCHANGED,
+                        o.added()))
+                .toList();
+        long linked = items.stream().mapToLong(CategoryBulkLinkResultDTO.ItemResult::getAdded).sum();
+        return new CategoryBulkLinkResultDTO(linked, items);
+    }
+
+    /**
+     * スナップショットで並べ替えられない項目が指定された検索を DB で行う。
+     */
+    private Page<CategoryResponseDTO> searchInDatabase(String keyword, boolean prefixOnly, Pageable pageable) {
+        String k = keyword.strip();
+        Page<Category> page = k.isEmpty() ? categoryRepository.findByDeletedAtIsNull(pageable)
+                : prefixOnly ? categoryRepository.findByNameStartingWithIgnoreCaseAndDeletedAtIsNull(k, pageable)
+                : categoryRepository.findByNameContainingIgnoreCaseAndDeletedAtIsNull(k, pageable);
+        return page.map(CategoryResponseDTO::fromEntity);
+    }
+
+    private Category getActiveCategoryOrThrow(UUID id) {
+        return categoryRepository.findById(id)
+                .filter(c -> !c.isDeleted())
+                .orElseThrow(() -> new NoSuchElementException(String.format(CATEGORY_NOT_FOUND, id)));
+    }
+
+    /**
+     * カテゴリがすべて存在する（削除されていない）ことをスナップショットで確かめる。
+     * スナップショットにないものだけ DB を確認し、あれば（他ノードで作成済み）スナップショットへ取り込む。
+     */
     private void assertAllCategoriesExist(Collection<UUID> ids) {
         if (ids == null || ids.isEmpty()) return;
-        Set<UUID> set = new LinkedHashSet<>(ids);
-        List<Category> found = categoryRepository.findAllById(set);
-        if (found.size() != set.size()) {
-            Set<UUID> hit = found.stream().map(Category::getId).collect(Collectors.toSet());
-            set.removeAll(hit);
-            throw new NoSuchElementException("存在しないカテゴリIDがあります: " + set);
+        CategoryCatalog.Snapshot snapshot = categoryCatalog.current();
+        Set<UUID> missing = new LinkedHashSet<>(ids);
+        missing.removeIf(snapshot.byId()::containsKey);
+        if (missing.isEmpty()) return;
+
+        List<UUID> found = categoryRepository.findAllById(missing).stream()
+                .filter(c -> !c.isDeleted())
+                .map(Category::getId)
+                .toList();
+        if (!found.isEmpty()) {
+            categoryCatalog.refresh(found);
+            found.forEach(missing::remove);
+        }
+        if (!missing.isEmpty()) {
+            throw new NoSuchElementException("存在しないカテゴリIDがあります: " + missing);
+        }
+    }
+
+    /**
+     * 名前からスラッグを作る。使われていれば連番（-2, -3, ...）を付ける。
+     */
+    private String generateSlug(String name) {
+        String base = Slugifier.slugOf(name);
+        return Slugifier.unique(base.isEmpty() ? "category" : base, slug -> slugOwner(slug).isPresent());
+    }
+
+    /**
+     * 指定されたスラッグを正規化し、他のカテゴリと重複しないことを確かめる。
+     *
+     * @throws IllegalArgumentException 使える文字を含まない、または既に使われている場合
+     */
+    private String requestedSlug(String requested, UUID selfId) {
+        String slug = Slugifier.slugOf(requested);
+        if (slug.isEmpty()) {
+            throw new IllegalArgumentException("スラッグに使える文字が含まれていません");
+        }
+        if (slugOwner(slug).filter(owner -> !owner.equals(selfId)).isPresent()) {
+            throw new IllegalArgumentException("スラッグは既に存在します");
+        }
+        return slug;
+    }
+
+    /** スラッグを使っているカテゴリのID（スナップショット → DB（削除済みを含む）の順に確認） */
+    private Optional<UUID> slugOwner(String slug) {
+        return categoryCatalog.findBySlug(slug).map(CategoryResponseDTO::getId)
+                .or(() -> categoryRepository.findBySlugIgnoreCase(slug).map(Category::getId));
+    }
+
+    /**
+     * カテゴリ名が他のカテゴリと重複しないことを確かめる。
+     * 正規化（NFKC・小文字）した名前でスナップショットを、大文字小文字を無視して DB（削除済みを含む）を確認する。
+     */
+    private void assertNameAvailable(String name, UUID selfId) {
+        boolean taken = categoryCatalog.findByName(name)
+                .filter(existing -> !existing.getId().equals(selfId))
+                .isPresent()
+                || categoryRepository.findByNameIgnoreCase(name)
+                        .filter(existing -> !existing.getId().equals(selfId))
+                        .isPresent();
+        if (taken) {
+            throw new IllegalArgumentException("カテゴリ名は既に存在します");
         }
     }
 }
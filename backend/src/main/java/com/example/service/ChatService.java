@@ -0,0 +1,141 @@
+package com.example.service;
+
+import com.example.dto.chat_messages.*;
+import com.example.entity.ChatMessage;
+import com.example.entity.LiveStream;
+import com.example.entity.User;
+import com.example.enums.StreamStatus;
+import com.example.event.ChatMessagePostedEvent;
+import com.example.repository.ChatMessageRepository;
+import com.example.repository.LiveStreamRepository;
+import com.example.repository.UserRepository;
+import com.example.service.chat.ArchivedChatMessage;
+import com.example.service.chat.ChatArchiveService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.*;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * ChatService
+ *
+ * ライブ配信チャットの投稿・取得を提供するサービス層クラス。
+ * 視聴者への配信（ファンアウト）はコミット後に {@link ChatMessagePostedEvent} 経由で行う。
+ * 終了済みでアーカイブ化された配信の読み出しは、chat_messages ではなく圧縮アーカイブから行う。
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ChatService {
+
+    private static final String STREAM_NOT_FOUND = "配信が見つからないか、削除されています";
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final LiveStreamRepository liveStreamRepository;
+    private final UserRepository userRepository;
+    private final ChatArchiveService chatArchiveService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // ========================================================
+    // =============== Ⅰ. 未認証OK（Public） ==================
+    // ========================================================
+
+    /**
+     * 配信のチャットを新しい順に取得する。
+     *
+     * @param liveStreamId 配信ID
+     * @param pageable     ページ情報（ソート指定は無視し createdAt 降順で返す）
+     * @return チャットメッセージのページ
+     */
+    public Page<ChatMessageResponseDTO> getMessages(UUID liveStreamId, Pageable pageable) {
+        var archive = chatArchiveService.findArchive(liveStreamId);
+        if (archive.isPresent()) {
+            // 新しい順のページ → 投稿順の通し番号範囲に読み替えて該当ブロックだけ展開
+            int total = archive.get().getMessageCount();
+            long end = total - pageable.getOffset();
+            long start = Math.max(0, end - pageable.getPageSize());
+            List<ChatMessageResponseDTO> content = new ArrayList<>(
+                    toResponses(liveStreamId, chatArchiveService.read(archive.get(), (int) start, (int) (end - start))));
+            Collections.reverse(content);
+            return new PageImpl<>(content, pageable, total);
+        }
+
+        Pageable sorted = PageRequest.of(
+            pageable.getPageNumber(), pageable.getPageSize(),
+            Sort.by(Sort.Direction.DESC, "createdAt")
+        );
+        return chatMessageRepository.findByLiveStream_Id(liveStreamId, sorted)
+                .map(ChatMessageResponseDTO::fromEntity);
+    }
+
+    /**
+     * 配信のチャットを投稿順（リプレイ順）に取得する。
+     * アーカイブ済みの配信はオフセットでブロックをシークして読み出す。
+     *
+     * @param liveStreamId 配信ID
+     * @param pageable     ページ情報（ソート指定は無視し createdAt 昇順で返す）
+     * @return チャットメッセージのページ
+     */
+    public Page<ChatMessageResponseDTO> getMessagesInOrder(UUID liveStreamId, Pageable pageable) {
+        var archive = chatArchiveService.findArchive(liveStreamId);
+        if (archive.isPresent()) {
+            List<ArchivedChatMessage> messages = chatArchiveService.read(
+                    archive.get(), (int) pageable.getOffset(), pageable.getPageSize());
+            return new PageImpl<>(toResponses(liveStreamId, messages), pageable, archive.get().getMessageCount());
+        }
+
+        Pageable sorted = PageRequest.of(
+            pageable.getPageNumber(), pageable.getPageSize(),
+            Sort.by(Sort.Direction.ASC, "createdAt").and(Sort.by(Sort.Direction.ASC, "id"))
+        );
+        return chatMessageRepository.findByLiveStream_Id(liveStreamId, sorted)
+                .map(ChatMessageResponseDTO::fromEntity);
+    }
+
+    // ========================================================
+    // ============ Ⅱ. 認証必須（Authenticated） ==============
+    // ========================================================
+
+    /**
+     * 配信中のライブ配信にチャットを投稿する（本人）。
+     *
+     * @param liveStreamId 配信ID
+     * @param userId       投稿者のユーザーID
+     * @param request      投稿内容
+     * @return 投稿されたメッセージ
+     * @throws NoSuchElementException   配信が存在しない、または削除済みの場合
+     * @throws IllegalArgumentException 配信中（LIVE）でない場合
+     */
+    @Transactional
+    public ChatMessageResponseDTO postMessage(UUID liveStreamId, UUID userId, ChatMessageCreateRequestDTO request) {
+        LiveStream stream = liveStreamRepository.findById(liveStreamId)
+                .filter(s -> !s.isDeleted())
+                .orElseThrow(() -> new NoSuchElementException(STREAM_NOT_FOUND));
+        if (stream.getStatus() != StreamStatus.LIVE) {
+            throw new IllegalArgumentException("配信中のライブ配信にのみチャットを投稿できます");
+        }
+
+        User userRef = userRepository.getReferenceById(userId);
+        ChatMessage saved = chatMessageRepository.save(new ChatMessage(stream, userRef, request.getMessage()));
+
+        ChatMessageResponseDTO dto = ChatMessageResponseDTO.fromEntity(saved);
+        eventPublisher.publishEvent(new ChatMessagePostedEvent(dto));
+        return dto;
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private static List<ChatMessageResponseDTO> toResponses(UUID liveStreamId, List<ArchivedChatMessage> messages) {
+        return messages.stream()
+                .map(m -> ChatArchiveService.toResponse(liveStreamId, m))
+                .toList();
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.service;
+
+import com.example.config.FeedProperties;
+import com.example.dto.videos.FeedPageDTO;
+import com.example.dto.videos.FeedVideoDTO;
+import com.example.repository.SubscriptionRepository;
+import com.example.repository.VideoRepository;
+import com.example.service.feed.CreatorTimelineStore;
+import com.example.service.feed.FeedCursor;
+import com.example.service.feed.HomeFeedCache;
+import com.example.service.feed.HomeFeedCache.Feed;
+import com.example.util.merge.KWayMerge;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * FeedService
+ *
+ * フォロー中チャンネルの新着動画フィードを提供するサービス層クラス。
+ * 先頭ページは、配信者ごとの新着リスト（{@link CreatorTimelineStore}）をヒープで k-way マージした結果を
+ * ユーザーごとにキャッシュして返す。各配信者のリストは上位 perCreatorLimit 件を持つため、
+ * マージ結果の先頭 perCreatorLimit 件までは DB の並びと一致する。それより深いページは
+ * (公開日時, ID) のキーセットで DB から読む。
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class FeedService {
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final VideoRepository videoRepository;
+    private final CreatorTimelineStore timelineStore;
+    private final HomeFeedCache feedCache;
+    private final FeedProperties props;
+
+    // ========================================================
+    // ============ Ⅱ. 認証必須（Authenticated） ==============
+    // ========================================================
+
+    /**
+     * フォロー中チャンネルの新着動画を新しい順に取得する（本人）。
+     *
+     * @param userId ユーザーID
+     * @param cursor 前ページの {@code nextCursor}（先頭ページなら null）
+     * @param size   取得件数
+     * @throws IllegalArgumentException 件数・カーソルが不正な場合
+     */
+    public FeedPageDTO getFeed(UUID userId, String cursor, int size) {
+        if (size < 1 || size > props.getMaxPageSize()) {
+            throw new IllegalArgumentException("取得件数は 1〜" + props.getMaxPageSize() + " で指定してください");
+        }
+        FeedCursor after = cursor == null || cursor.isBlank() ? null : FeedCursor.decode(cursor);
+
+        Feed feed = feedOf(userId);
+        List<FeedVideoDTO> items = feed.items();
+        int start = after == null ? 0 : feed.indexAfter(after);
+        // 先頭ページ、またはキャッシュ内に収まるページはメモリから返す
+        if (after == null || start + size <= items.size() || feed.complete()) {
+            int end = Math.min(start + size, items.size());
+            boolean hasMore = end < items.size() || !feed.complete();
+            return toPage(items.subList(start, end), hasMore);
+        }
+        // キャッシュ内の続きも DB から読み直す。カーソルがキャッシュより古い場合はクライアントのカーソルのまま読む
+        // （キャッシュ末尾の項目に置き換えると、返したページより前に巻き戻ってしまう）
+        if (start > 0 && start < items.size()) {
+            after = FeedCursor.of(items.get(start - 1));
+        }
+        return readFromDb(userId, after, size);
+    }
+
+    // ========================================================
+    // =============== INTERNAL UTILITY METHOD ================
+    // ========================================================
+
+    /**
+     * キャッシュ済みのフィードを返す。なければフォロー中の配信者の新着をマージして作る。
+     */
+    private Feed feedOf(UUID userId) {
+        Feed cached = feedCache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        // 世代はトランザクションの最初のクエリ（＝スナップショットの作成）より前に取る
+        long generation = feedCache.generation();
+        long timelineGeneration = timelineStore.generation();
+        Set<UUID> creators = Set.copyOf(subscriptionRepository.findTargetIdsBySubscriberId(userId));
+        int depth = Math.min(props.getCachedItems(), props.getPerCreatorLimit());
+        List<FeedVideoDTO> merged = KWayMerge.merge(
+                new ArrayList<>(timelineStore.getAll(creators, timelineGeneration).values()),
+                FeedCursor.ITEM_ORDER, depth);
+        Feed feed = new Feed(creators, List.copyOf(merged), merged.size() < depth, System.currentTimeMillis());
+        feedCache.put(userId, feed, generation);
+        return feed;
+    }
+
+    /**
+     * カーソルの後ろから DB をキーセットで読む（1件多く読んで続きの有無を判定する）。
+     */
+    private FeedPageDTO readFromDb(UUID userId, FeedCursor after, int size) {
+        List<FeedVideoDTO> rows = videoRepository
+                .findFeedAfter(userId, after.publishedAt(), after.id(), PageRequest.of(0, size + 1)).stream()
+                .map(FeedVideoDTO::fromEntity)
+                .toList();
+        boolean hasMore = rows.size() > size;
+        return toPage(hasMore ? rows.subList(0, size) : rows, hasMore);
+    }
+
+    private static FeedPageDTO toPage(List<FeedVideoDTO> items, boolean hasMore) {
+        return FeedPageDTO.builder()
+                .items(List.copyOf(items))
+                .nextCursor(hasMore && !items.isEmpty() ? FeedCursor.of(items.get(items.size() - 1)).encode() : null)
+                .build();
+    }
+}
@@ -4,15 +4,29 @@ import com.example.dto.live_streams.*;
 import com.example.entity.LiveStream;
 import com.example.entity.User;
 import com.example.enums.StreamStatus;
+import com.example.event.LiveStreamLifecycleEvent;
 import com.example.repository.LiveStreamRepository;
 import com.example.repository.UserRepository;
+import com.example.service.cache.DtoCaches;
+import com.example.service.cache.ReadCoalescer;
+import com.example.service.live.LiveScheduleService;
+import com.example.service.live.LiveStreamRegistry;
+import com.example.service.presence.LivePresenceService;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.NoSuchElementException;
 import java.util.UUID;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -27,6 +41,12 @@ public class LiveStreamService {
 
     private final LiveStreamRepository liveStreamRepository;
     private final UserRepository userRepository;
+    private final LivePresenceService livePresenceService;
+    private final LiveStreamRegistry liveStreamRegistry;
+    private final LiveScheduleService liveScheduleService;
+    private final DtoCaches dtoCaches;
+    private final ReadCoalescer readCoalescer;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ========================================================
     // =============== Ⅰ. 未認証OK（Public） ==================
@@ -39,34 +59,62 @@ public class LiveStreamService {
      * @return ライブ配信のレスポンスDTO
      * @throws NoSuchElementException 該当配信が見つからない、または削除されている場合
      */
+    @Transactional(propagation = Propagation.SUPPORTS) // キャッシュにヒットした場合はトランザクションを開始しない
     public LiveStreamResponseDTO getLiveStreamById(UUID id) {
-        LiveStream stream = getLiveStreamOrThrow(id);
-        return LiveStreamResponseDTO.fromEntity(stream);
+        return dtoCaches.liveStreams().get(id, () -> LiveStreamResponseDTO.fromEntity(getLiveStreamOrThrow(id)));
     }
 
     /**
      * ステータスでフィルタされた配信一覧を取得する。
+     * LIVE でソート指定がない場合は、同時視聴者数順の一覧をメモリから返す（DB は参照しない）。
+     * 配信中・まもなく開始の配信はレジストリから返し、保持していない場合のみ DB を参照する
+     * （同じ条件の同時呼び出しは1本の問い合わせにまとめる）。
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<LiveStreamResponseDTO> getLiveStreamsByStatus(StreamStatus status, Pageable pageable) {
-        return liveStreamRepository.findByStatus(status, pageable)
-                .map(LiveStreamResponseDTO::fromEntity);
+        if (status == StreamStatus.LIVE && pageable.getSort().isUnsorted()) {
+            return livePresenceService.getLiveRanking(pageable);
+        }
+        return liveStreamRegistry.list(List.of(status), pageable)
+                .orElseGet(() -> coalescedPage("live-stream.by-status", EnumSet.of(status), pageable,
+                        () -> liveStreamRepository.findByStatus(status, pageable)
+                                .map(LiveStreamResponseDTO::fromEntity)));
     }
 
     /**
      * 複数ステータスでフィルタされた配信一覧を取得する。
+     * 全ステータスをレジストリが保持している場合はメモリから返す。
+     * DB を参照する場合、ステータスの指定順や重複はキーに含めない（IN 句の結果は変わらないため）。
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<LiveStreamResponseDTO> getLiveStreamsByStatuses(List<StreamStatus> statuses, Pageable pageable) {
-        return liveStreamRepository.findByStatusIn(statuses, pageable)
-                .map(LiveStreamResponseDTO::fromEntity);
+        return liveStreamRegistry.list(statuses, pageable)
+                .orElseGet(() -> coalescedPage("live-stream.by-status",
+                        statuses.isEmpty() ? EnumSet.noneOf(StreamStatus.class) : EnumSet.copyOf(statuses), pageable,
+                        () -> liveStreamRepository.findByStatusIn(statuses, pageable)
+                                .map(LiveStreamResponseDTO::fromEntity)));
+    }
+
+    /**
+     * 期間 [from, to) に配信枠がかかる配信予定を予定日時順に取得する（配信予定カレンダー）。
+     *
+     * @throws IllegalArgumentException 期間が逆転している、または上限を超える場合
+     */
+    public List<LiveStreamResponseDTO> getUpcomingLiveStreams(LocalDateTime from, LocalDateTime to) {
+        return liveScheduleService.upcoming(from, to);
     }
 
     /**
      * タイトルとステータスで絞り込んだ配信一覧を取得する。
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<LiveStreamResponseDTO> getLiveStreamsByTitleAndStatus(
             String title, StreamStatus status, Pageable pageable) {
-        return liveStreamRepository.findByTitleContainingIgnoreCaseAndStatus(title, status, pageable)
-                .map(LiveStreamResponseDTO::fromEntity);
+        // 大文字小文字を区別しない部分一致なので、小文字化したタイトルで検索しても結果は変わらない
+        String normalized = title != null ? title.toLowerCase(Locale.ROOT) : null;
+        return coalescedPage("live-stream.search", ReadCoalescer.key(normalized, status), pageable,
+                () -> liveStreamRepository.findByTitleContainingIgnoreCaseAndStatus(normalized, status, pageable)
+                        .map(LiveStreamResponseDTO::fromEntity));
     }
 
     /**
@@ -85,6 +133,7 @@ public class LiveStreamService {
 
     /**
      * ライブ配信を新規作成する（本人）。
+     * 自分の他の配信予定と時間が重なる場合も作成し、重なる配信IDを返して警告する。
      *
      * @param userId  作成者のユーザーID
      * @param request 作成リクエストDTO
@@ -100,7 +149,9 @@ public class LiveStreamService {
                 request.getScheduledAt(),
                 userRef
         );
-        return LiveStreamResponseDTO.fromEntity(liveStreamRepository.save(stream));
+        LiveStream saved = liveStreamRepository.save(stream);
+        publish(saved, LiveStreamLifecycleEvent.Type.CREATED);
+        return withOverlaps(saved);
     }
 
     /**
@@ -127,19 +178,42 @@ public class LiveStreamService {
     public LiveStreamResponseDTO updateLiveStream(UUID id, LiveStreamUpdateRequestDTO request) {
         LiveStream stream = getLiveStreamOrThrow(id);
         stream.updateLiveStreamInfo(request.getTitle(), request.getDescription(), request.getThumbnailPath());
+        publish(stream, LiveStreamLifecycleEvent.Type.UPDATED);
         return LiveStreamResponseDTO.fromEntity(stream);
     }
 
     /**
      * 配信予定日時を更新する（本人）。
+     * 自分の他の配信予定と時間が重なる場合も更新し、重なる配信IDを返して警告する。
      */
     @Transactional
     public LiveStreamResponseDTO rescheduleLiveStream(UUID id, LiveStreamReSchedul request) {
         LiveStream stream = getLiveStreamOrThrow(id);
         if (request.getScheduledAt() != null) {
             stream.reschedule(request.getScheduledAt());
+            publish(stream, LiveStreamLifecycleEvent.Type.RESCHEDULED);
         }
-        return LiveStreamResponseDTO.fromEntity(stream);
+        return withOverlaps(stream);
+    }
+
+    /**
+     * ストリームキーを再発行する（本人）。旧キーはコミット後に取り込み認可から外れる。
+     *
+     * @param id     ライブ配信ID
+     * @param userId 操作するユーザーID
+     * @return 新しいストリームキー
+     * @throws NoSuchElementException   配信が存在しない、または削除済みの場合
+     * @throws AccessDeniedException    配信者本人でない場合
+     */
+    @Transactional
+    public LiveStreamKeyResponseDTO regenerateStreamKey(UUID id, UUID userId) {
+        LiveStream stream = getLiveStreamOrThrow(id);
+        if (!stream.getUser().getId().equals(userId)) {
+            throw new AccessDeniedException("配信者本人のみストリームキーを再発行できます");
+        }
+        stream.generateStreamKey();
+        publish(stream, LiveStreamLifecycleEvent.Type.KEY_REGENERATED);
+        return LiveStreamKeyResponseDTO.fromEntity(stream);
     }
 
     /**
@@ -149,6 +223,7 @@ public class LiveStreamService {
     public void deleteLiveStream(UUID id) {
         LiveStream stream = getLiveStreamOrThrow(id);
         stream.cancel();
+        publish(stream, LiveStreamLifecycleEvent.Type.CANCELLED);
     }
 
     /**
@@ -158,16 +233,21 @@ public class LiveStreamService {
     public LiveStreamResponseDTO openLiveStream(UUID id) {
         LiveStream stream = getLiveStreamOrThrow(id);
         stream.open();
+        publish(stream, LiveStreamLifecycleEvent.Type.OPENED);
         return LiveStreamResponseDTO.fromEntity(stream);
     }
 
     /**
-     * 配信を終了状態に変更する（本人）。
+     * 配信を終了状態に変更する（本人）。累計ユニーク視聴者数を視聴回数へ加算する。
      */
     @Transactional
     public LiveStreamResponseDTO closeLiveStream(UUID id) {
         LiveStream stream = getLiveStreamOrThrow(id);
+        if (stream.getStatus() == StreamStatus.LIVE) {
+            stream.addViews(livePresenceService.uniqueViewers(id));
+        }
         stream.close();
+        publish(stream, LiveStreamLifecycleEvent.Type.CLOSED);
         return LiveStreamResponseDTO.fromEntity(stream);
     }
 
@@ -178,6 +258,7 @@ public class LiveStreamService {
     public LiveStreamResponseDTO cancelLiveStream(UUID id) {
         LiveStream stream = getLiveStreamOrThrow(id);
         stream.cancel();
+        publish(stream, LiveStreamLifecycleEvent.Type.CANCELLED);
         return LiveStreamResponseDTO.fromEntity(stream);
     }
 
@@ -199,9 +280,57 @@ public class LiveStreamService {
             throw new IllegalStateException("この配信は削除されていません");
         }
         stream.restore();
+        publish(stream, LiveStreamLifecycleEvent.Type.RESTORED);
         return LiveStreamResponseDTO.fromEntity(liveStreamRepository.save(stream));
     }
 
+    // ========================================================
+    // ========== Ⅳ. システム（ライフサイクルタイマー） ==========
+    // ========================================================
+
+    /**
+     * 予定日時を過ぎても開始されなかった配信を一括でキャンセルする。
+     * 状態と期限を条件に含めた集合更新で行い、直前に開始・変更された配信は対象外になる。
+     *
+     * @param ids    候補の配信ID
+     * @param cutoff この日時以前が配信予定日時の配信のみ対象
+     * @return キャンセルした配信ID
+     */
+    @Transactional
+    public List<UUID> cancelNoShows(Collection<UUID> ids, LocalDateTime cutoff) {
+        List<UUID> targets = liveStreamRepository.findNoShowIds(ids, cutoff);
+        if (!targets.isEmpty()) {
+            liveStreamRepository.cancelAll(targets, LocalDateTime.now());
+            targets.forEach(id -> publish(id, LiveStreamLifecycleEvent.Type.CANCELLED));
+        }
+        return targets;
+    }
+
+    /**
+     * 配信者（取り込み）のハートビートが途切れた配信中ライブを一括で終了する。
+     * 途切れたかは DB に記録した最終ハートビート時刻で判定するため、別のノードがハートビートを受けている配信は終了しない。
+     * 累計ユニーク視聴者数は {@link #closeLiveStream(UUID)} と同様に視聴回数へ加算する。
+     *
+     * @param ids         候補の配信ID
+     * @param staleBefore 最終ハートビートがこの日時より前の配信のみ対象
+     * @return 終了した配信ID
+     */
+    @Transactional
+    public List<UUID> closeAbandoned(Collection<UUID> ids, LocalDateTime staleBefore) {
+        List<UUID> targets = liveStreamRepository.lockAbandoned(ids, staleBefore).stream()
+                .map(LiveStream::getId)
+                .toList();
+        if (!targets.isEmpty()) {
+            for (UUID id : targets) {
+                long views = livePresenceService.uniqueViewers(id);
+                if (views > 0) liveStreamRepository.addViews(id, views);
+            }
+            liveStreamRepository.closeAll(targets, LocalDateTime.now(), staleBefore);
+            targets.forEach(id -> publish(id, LiveStreamLifecycleEvent.Type.CLOSED));
+        }
+        return targets;
+    }
+
     // ========================================================
     // =============== INTERNAL UTILITY METHOD ================
     // ========================================================
@@ -218,4 +347,37 @@ public class LiveStreamService {
                 .filter(stream -> !stream.isDeleted())
                 .orElseThrow(() -> new NoSuchElementException("配信が見つからないか、削除されています"));
     }
+
+    /**
+     * 状態遷移をイベントとして通知する（購読側はコミット後に処理する）。
+     */
+    private void publish(LiveStream stream, LiveStreamLifecycleEvent.Type type) {
+        publish(stream.getId(), type);
+    }
+
+    private void publish(UUID id, LiveStreamLifecycleEvent.Type type) {
+        eventPublisher.publishEvent(new LiveStreamLifecycleEvent(id, type));
+    }
+
+    /**
+     * 配信予定なら、同じ配信者の他の配信予定との時間重複を添えてDTOに変換する。
+     */
+    private LiveStreamResponseDTO withOverlaps(LiveStream stream) {
+        LiveStreamResponseDTO dto = LiveStreamResponseDTO.fromEntity(stream);
+        if (stream.getStatus() != StreamStatus.SCHEDULED) {
+            return dto;
+        }
+        List<UUID> overlaps = liveScheduleService.overlapping(
+                stream.getUser().getId(), stream.getScheduledAt(), stream.getId());
+        return overlaps.isEmpty() ? dto : dto.toBuilder().overlappingStreamIds(overlaps).build();
+    }
+
+    /**
+     * 配信一覧の DB 問い合わせを、同じ条件の同時呼び出し間でまとめて実行する。
+     */
+    private Page<LiveStreamResponseDTO> coalescedPage(String group, Object condition, Pageable pageable,
+                                                      Supplier<Page<LiveStreamResponseDTO>> loader) {
+        Object key = ReadCoalescer.key(condition, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        return readCoalescer.load(group, key, loader);
+    }
 }
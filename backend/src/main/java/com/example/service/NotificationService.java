@@ -0,0 +1,63 @@
+package com.example.service;
+
+import com.example.dto.notifications.NotificationFanoutStatusDTO;
+import com.example.dto.notifications.NotificationResponseDTO;
+import com.example.enums.UserRole;
+import com.example.repository.LiveStreamRepository;
+import com.example.repository.NotificationRepository;
+import com.example.service.notification.LiveNotificationFanoutService;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * NotificationService
+ *
+ * ユーザーへの通知の参照を提供するサービス層クラス。
+ * 通知の作成（配信開始時のファンアウト）は {@link LiveNotificationFanoutService} が行う。
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class NotificationService {
+
+    private final NotificationRepository notificationRepository;
+    private final LiveStreamRepository liveStreamRepository;
+    private final LiveNotificationFanoutService liveNotificationFanoutService;
+
+    // ========================================================
+    // ============ Ⅱ. 認証必須（Authenticated） ==============
+    // ========================================================
+
+    /**
+     * 自分宛ての通知を新しい順に取得する（本人）。
+     */
+    public Page<NotificationResponseDTO> getMyNotifications(UUID userId, Pageable pageable) {
+        return notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId, pageable)
+                .map(NotificationResponseDTO::fromEntity);
+    }
+
+    /**
+     * 配信開始通知のファンアウト進捗を取得する（配信者本人または ADMIN）。
+     *
+     * @param liveStreamId ライブ配信ID
+     * @param userId       ログインユーザーID
+     * @param role         ログインユーザーのロール
+     * @throws NoSuchElementException   配信または進捗が存在しない場合
+     * @throws AccessDeniedException   配信者本人でも ADMIN でもない場合
+     */
+    public NotificationFanoutStatusDTO getFanoutProgress(UUID liveStreamId, UUID userId, UserRole role) {
+        UUID ownerId = liveStreamRepository.findById(liveStreamId)
+                .map(stream -> stream.getUser().getId())
+                .orElseThrow(() -> new NoSuchElementException("配信が見つかりません (ID: " + liveStreamId + ")"));
+        if (role != UserRole.ADMIN && !ownerId.equals(userId)) {
+            throw new AccessDeniedException("配信者本人のみ通知の配信状況を確認できます");
+        }
+        return liveNotificationFanoutService.getProgress(liveStreamId);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.service;
+
+import com.example.config.SubscriptionProperties;
+import com.example.dto.subscriptions.FollowStatsDTO;
+import com.example.dto.subscriptions.FollowSuggestionDTO;
+import com.example.entity.Subscription;
+import com.example.entity.User;
+import com.example.event.SubscriptionChangedEvent;
+import com.example.repository.SubscriptionRepository;
+import com.example.repository.UserRepository;
+import com.example.service.subscription.FollowCountCache;
+import com.example.service.subscription.FollowGraphService;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * SubscriptionService
+ *
+ * フォロー（チャンネル登録）機能に関連するビジネスロジックを提供するサービス層クラス。
+ * フォロワー数・フォロー数は users の非正規化カウンタで持ち、subscriptions の行の追加・解除と
+ * 同じトランザクションで増減する。両ユーザーの行を ID 順にロックしてから判定するため、
+ * 同じ組み合わせの同時リクエストや相互フォローでもカウンタはずれない（冪等）。
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SubscriptionService {
+
+    private static final String USER_NOT_FOUND = "ユーザーが見つかりません";
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final UserRepository userRepository;
+    private final FollowCountCache followCountCache;
+    private final FollowGraphService followGraphService;
+    private final SubscriptionProperties props;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // ========================================================
+    // =============== Ⅰ. 未認証OK（Public） ==================
+    // ========================================================
+
+    /**
+     * フォロワー数・フォロー数を取得する（キャッシュから返す）。
+     *
+     * @param userId   対象ユーザーID
+     * @param viewerId 閲覧者のユーザーID（未ログインなら null）
+     * @throws NoSuchElementException ユーザーが存在しない、または削除済みの場合
+     */
+    public FollowStatsDTO getFollowStats(UUID userId, UUID viewerId) {
+        FollowStatsDTO stats = followCountCache.get(userId);
+        if (viewerId == null) {
+            return stats;
+        }
+        return stats.toBuilder().following(subscriptionRepository.isFollowing(viewerId, userId)).build();
+    }
+
+    // ========================================================
+    // ============ Ⅱ. 認証必須（Authenticated） ==============
+    // ========================================================
+
+    /**
+     * ユーザーをフォローする（本人）。既にフォロー中なら何もしない。
+     *
+     * @return フォロー後の対象ユーザーのカウンタ
+     * @throws IllegalArgumentException 自分自身をフォローしようとした場合
+     * @throws NoSuchElementException   対象ユーザーが存在しない、または削除済みの場合
+     */
+    @Transactional
+    public FollowStatsDTO follow(UUID subscriberId, UUID targetId) {
+        if (subscriberId.equals(targetId)) {
+            throw new IllegalArgumentException("自分自身はフォローできません");
+        }
+        Map<UUID, User> users = lockUsers(subscriberId, targetId);
+        User subscriber = users.get(subscriberId);
+        User target = users.get(targetId);
+
+        Optional<Subscription> existing = subscriptionRepository.findPairIncludingDeleted(subscriberId, targetId);
+        boolean changed;
+        if (existing.isEmpty()) {
+            subscriptionRepository.save(Subscription.builder().subscriber(subscriber).target(target).build());
+            changed = true;
+        } else {
+            changed = existing.get().isDeleted() && subscriptionRepository.reactivate(existing.get().getId()) == 1;
+        }
+        return applyChange(subscriber, target, changed, true);
+    }
+
+    /**
+     * ユーザーのフォローを解除する（本人）。フォローしていなければ何もしない。
+     *
+     * @return 解除後の対象ユーザーのカウンタ
+     * @throws NoSuchElementException 対象ユーザーが存在しない、または削除済みの場合
+     */
+    @Transactional
+    public FollowStatsDTO unfollow(UUID subscriberId, UUID targetId) {
+        if (subscriberId.equals(targetId)) {
+            throw new IllegalArgumentException("自分自身はフォロー解除できません");
+        }
+        Map<UUID, User> users = lockUsers(subscriberId, targetId);
+        boolean changed = subscriptionRepository.deactivate(subscriberId, targetId) == 1;
+        return applyChange(users.get(subscriberId), users.get(targetId), changed, false);
+    }
+
+    /**
+     * おすすめのチャンネル（ユーザー）を取得する（本人）。
+     * フォローグラフのスナップショットから算出し、削除済みのユーザーは除く。
+     *
+     * @param userId ログインユーザーID
+     * @param limit  最大件数
+     * @throws IllegalArgumentException 件数が範囲外の場合
+     */
+    public List<FollowSuggestionDTO> getFollowSuggestions(UUID userId, int limit) {
+        if (limit < 1 || limit > props.getSuggestionMaxLimit()) {
+            throw new IllegalArgumentException("取得件数は 1〜" + props.getSuggestionMaxLimit() + " で指定してください");
+        }
+        // 削除済みユーザーを除いても件数が足りるよう多めに求める
+        List<FollowGraphService.Suggestion> ranked = followGraphService.suggest(userId, limit * 2);
+        List<UUID> ids = ranked.stream().map(FollowGraphService.Suggestion::userId).toList();
+        Map<UUID, User> users = userRepository.findAllById(ids).stream()
+                .filter(u -> !u.isDeleted())
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return ranked.stream()
+                .filter(r -> users.containsKey(r.userId()))
+                .limit(limit)
+                .map(r -> FollowSuggestionDTO.builder()
+                        .userId(r.userId())
+                        .name(users.get(r.userId()).getName())
+                        .profileImagePath(users.get(r.userId()).getProfileImagePath())
+                        .score(r.score())
+                        .build())
+                .toList();
+    }
+
+    // ========================================================
+    // =============== INTERNAL UTILITY METHOD ================
+    // ========================================================
+
+    /**
+     * 両ユーザーの行を ID 順にロックして取得する。
+     *
+     * @throws NoSuchElementException どちらかが存在しない、または削除済みの場合
+     */
+    private Map<UUID, User> lockUsers(UUID subscriberId, UUID targetId) {
+        Map<UUID, User> users = userRepository.lockAllById(List.of(subscriberId, targetId)).stream()
+                .filter(u -> !u.isDeleted())
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        if (!users.containsKey(subscriberId) || !users.containsKey(targetId)) {
+            throw new NoSuchElementException(USER_NOT_FOUND);
+        }
+        return users;
+    }
+
+    /**
+     * 状態が変わった場合のみカウンタを増減し、イベントを発行する。
+     */
+    private FollowStatsDTO applyChange(User subscriber, User target, boolean changed, boolean following) {
+        long delta = changed ? (following ? 1 : -1) : 0;
+        if (changed) {
+            userRepository.addFollowerCount(target.getId(), delta);
+            userRepository.addFollowingCount(subscriber.getId(), delta);
+            eventPublisher.publishEvent(new SubscriptionChangedEvent(subscriber.getId(), target.getId(), following));
+        }
+        return FollowStatsDTO.builder()
+                .userId(target.getId())
+                .followerCount(target.getFollowerCount() + delta)
+                .followingCount(target.getFollowingCount())
+                .following(following)
+                .build();
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.service;
+
+import com.example.config.TagProperties;
+import com.example.dto.tags.*;
+import com.example.entity.LiveStream;
+import com.example.entity.LiveStreamTag;
+import com.example.entity.Tag;
+import com.example.entity.Video;
+import com.example.entity.VideoTag;
+import com.example.event.TagLifecycleEvent;
+import com.example.event.TagUsageChangedEvent;
+import com.example.event.VideoLinksChangedEvent;
+import com.example.repository.LiveStreamTagRepository;
+import com.example.repository.TagRepository;
+import com.example.repository.VideoTagRepository;
+import com.example.service.tag.TagSuggestIndex;
+import com.example.util.slug.Slugifier;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.*;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.*;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * TagService
+ *
+ * タグの CRUD と、動画・配信へのタグの付与・解除、入力候補を提供するサービス層クラス。
+ * 入力候補は {@link TagSuggestIndex}（メモリ上の前方一致索引）から返し、
+ * 付与・解除で実際に変わった利用件数はイベントで索引へ反映する。
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TagService {
+
+    private static final String TAG_NOT_FOUND = "タグが見つかりません (ID: %s)";
+
+    private final TagRepository tagRepository;
+    private final VideoTagRepository videoTagRepository;
+    private final LiveStreamTagRepository liveStreamTagRepository;
+    private final TagSuggestIndex tagSuggestIndex;
+    private final TagProperties props;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    // ========================================================
+    // =============== Ⅰ. 未認証OK（Public） ==================
+    // ========================================================
+
+    public TagResponseDTO getTag(UUID id) {
+        Tag t = tagRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException(String.format(TAG_NOT_FOUND, id)));
+        return TagResponseDTO.fromEntity(t);
+    }
+
+    public Page<TagResponseDTO> searchTags(TagSearchRequestDTO req, Pageable pageable) {
+        String keyword = (req != null && req.getKeyword() != null) ? req.getKeyword() : "";
+        Page<Tag> page = (keyword.isBlank())
+                ? tagRepository.findAll(pageable)
+                : tagRepository.findByNameContainingIgnoreCase(keyword, pageable);
+        return page.map(TagResponseDTO::fromEntity);
+    }
+
+    /**
+     * 入力途中の文字列に前方一致するタグを、利用件数の多い順に返す。
+     *
+     * @throws IllegalArgumentException 件数が範囲外の場合
+     */
+    public List<TagSuggestionDTO> suggestTags(String prefix, int limit) {
+        if (limit < 1 || limit > props.getSuggestMaxLimit()) {
+            throw new IllegalArgumentException("取得件数は 1〜" + props.getSuggestMaxLimit() + " で指定してください");
+        }
+        return tagSuggestIndex.suggest(prefix == null ? "" : prefix, limit);
+    }
+
+    // ========================================================
+    // ============ Ⅱ. 認証必須（Authenticated） ==============
+    // ========================================================
+
+    // ---- Video × Tag ----
+    @Transactional
+    public void addTagsToVideo(UUID videoId, List<UUID> tagIds) {
+        if (tagIds == null || tagIds.isEmpty()) return;
+
+        Set<UUID> unique = new LinkedHashSet<>(tagIds);
+        assertAllTagsExist(unique);
+
+        Set<UUID> already = videoTagRepository.findByVideo_Id(videoId).stream()
+                .map(vt -> vt.getTag().getId())
+                .collect(Collectors.toSet());
+
+        Video videoRef = em.getReference(Video.class, videoId); // SELECTしない参照
+        List<VideoTag> toSave = unique.stream()
+                .filter(tid -> !already.contains(tid))
+                .map(tid -> new VideoTag(videoRef, em.getReference(Tag.class, tid)))
+                .toList();
+
+        if (!toSave.isEmpty()) {
+            videoTagRepository.saveAll(toSave);
+            publishUsage(toSave.stream().map(vt -> vt.getTag().getId()).toList(), 1);
+            eventPublisher.publishEvent(VideoLinksChangedEvent.of(videoId));
+        }
+    }
+
+    @Transactional
+    public void removeTagFromVideo(UUID videoId, UUID tagId) {
+        if (videoTagRepository.deleteByVideo_IdAndTag_Id(videoId, tagId) > 0) {
+            publishUsage(List.of(tagId), -1);
+            eventPublisher.publishEvent(VideoLinksChangedEvent.of(videoId));
+        }
+    }
+
+    // ---- LiveStream × Tag ----
+    @Transactional
+    public void addTagsToLiveStream(UUID liveStreamId, List<UUID> tagIds) {
+        if (tagIds == null || tagIds.isEmpty()) return;
+
+        Set<UUID> unique = new LinkedHashSet<>(tagIds);
+        assertAllTagsExist(unique);
+
+        Set<UUID> already = liveStreamTagRepository.findByLiveStream_Id(liveStreamId).stream()
+                .map(lt -> lt.getTag().getId())
+                .collect(Collectors.toSet());
+
+        LiveStream liveRef = em.getReference(LiveStream.class, liveStreamId); // SELECTしない参照
+        List<LiveStreamTag> toSave = unique.stream()
+                .filter(tid -> !already.contains(tid))
+                .map(tid -> new LiveStreamTag(liveRef, em.getReference(Tag.class, tid)))
+                .toList();
+
+        if (!toSave.isEmpty()) {
+            liveStreamTagRepository.saveAll(toSave);
+            publishUsage(toSave.stream().map(lt -> lt.getTag().getId()).toList(), 1);
+        }
+    }
+
+    @Transactional
+    public void removeTagFromLiveStream(UUID liveStreamId, UUID tagId) {
+        if (liveStreamTagRepository.deleteByLiveStream_IdAndTag_Id(liveStreamId, tagId) > 0) {
+            publishUsage(List.of(tagId), -1);
+        }
+    }
+
+    // ========================================================
+    // ============== Ⅲ. 管理者必須（Admin-only） =============
+    // ========================================================
+
+    @Transactional
+    public TagResponseDTO createTag(TagCreateRequestDTO req) {
+        String name = nameOf(req.getName());
+        assertNameAvailable(name, null);
+        String slug = slugOf(req.getSlug() != null ? req.getSlug() : name);
+        assertSlugAvailable(slug, null);
+
+        Tag t = tagRepository.save(new Tag(name, slug));
+        eventPublisher.publishEvent(new TagLifecycleEvent(t.getId(), TagLifecycleEvent.Type.CREATED));
+        return TagResponseDTO.fromEntity(t);
+    }
+
+    @Transactional
+    public TagResponseDTO updateTag(UUID id, TagUpdateRequestDTO req) {
+        Tag t = tagRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException(String.format(TAG_NOT_FOUND, id)));
+
+        String name = req.getName() != null ? nameOf(req.getName()) : null;
+        if (name != null) {
+            assertNameAvailable(name, id);
+        }
+        String slug = req.getSlug() != null ? slugOf(req.getSlug()) : null;
+        if (slug != null) {
+            assertSlugAvailable(slug, id);
+        }
+        t.rename(name, slug);
+        eventPublisher.publishEvent(new TagLifecycleEvent(id, TagLifecycleEvent.Type.UPDATED));
+        return TagResponseDTO.fromEntity(t); // 永続化コンテキストで更新
+    }
+
+    @Transactional
+    public void deleteTag(UUID id) {
+        videoTagRepository.deleteByTag_Id(id);
+        liveStreamTagRepository.deleteByTag_Id(id);
+        tagRepository.deleteById(id);
+        eventPublisher.publishEvent(new TagLifecycleEvent(id, TagLifecycleEvent.Type.DELETED));
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private void assertAllTagsExist(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) return;
+        Set<UUID> set = new LinkedHashSet<>(ids);
+        List<Tag> found = tagRepository.findAllById(set);
+        if (found.size() != set.size()) {
+            Set<UUID> hit = found.stream().map(Tag::getId).collect(Collectors.toSet());
+            set.removeAll(hit);
+            throw new NoSuchElementException("存在しないタグIDがあります: " + set);
+        }
+    }
+
+    private void assertNameAvailable(String name, UUID selfId) {
+        tagRepository.findByNameIgnoreCase(name)
+                .filter(existing -> !existing.getId().equals(selfId))
+                .ifPresent(x -> { throw new IllegalArgumentException("タグ名は既に存在します"); });
+    }
+
+    private void assertSlugAvailable(String slug, UUID selfId) {
+        tagRepository.findBySlug(slug)
+                .filter(existing -> !existing.getId().equals(selfId))
+                .ifPresent(x -> { throw new IllegalArgumentException("スラッグは既に存在します"); });
+    }
+
+    private void publishUsage(List<UUID> tagIds, long delta) {
+        Map<UUID, Long> deltas = new HashMap<>();
+        tagIds.forEach(id -> deltas.merge(id, delta, Long::sum));
+        eventPublisher.publishEvent(new TagUsageChangedEvent(deltas));
+    }
+
+    /**
+     * 保存するタグ名（{@link TagSuggestIndex#canonicalName} と同じく NFKC で正規化し、前後の空白を除く）。
+     * 重複の確認も同じ名前で行い、全角・半角違いや前後の空白だけが違う名前を別のタグにしない。
+     *
+     * @throws IllegalArgumentException 空白だけの場合
+     */
+    private static String nameOf(String text) {
+        String name = TagSuggestIndex.canonicalName(text);
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("タグ名を入力してください");
+        }
+        return name;
+    }
+
+    /**
+     * スラッグを作る（{@link Slugifier#slugOf} に委ねる）。
+     *
+     * @throws IllegalArgumentException 文字・数字を含まない場合
+     */
+    private static String slugOf(String text) {
+        String slug = Slugifier.slugOf(text);
+        if (slug.isEmpty()) {
+            throw new IllegalArgumentException("スラッグに使える文字が含まれていません");
+        }
+        return slug;
+    }
+}
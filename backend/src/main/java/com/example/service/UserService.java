@@ -3,13 +3,17 @@ package com.example.service;
 import com.example.dto.users.*;
 import com.example.entity.User;
 import com.example.enums.UserRole;
+import com.example.event.UserChangedEvent;
 import com.example.repository.UserRepository;
 import com.example.security.JwtUtils;
+import com.example.service.cache.DtoCaches;
 import java.time.Duration;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
@@ -26,6 +30,8 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
+    private final DtoCaches dtoCaches;
+    private final ApplicationEventPublisher eventPublisher;
 
     // =========================================================
     // =============== Ⅰ. 未認証OK（Public） ==================
@@ -81,7 +87,9 @@ public class UserService {
             .orElseThrow(() -> new IllegalArgumentException(USER_NOT_FOUND));
         user.updateProfile(request.getName(), request.getProfileImagePath(),
                            request.getCoverImagePath(), request.getBio());
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        changed(saved);
+        return saved;
     }
 
     /**
@@ -93,6 +101,7 @@ public class UserService {
             .orElseThrow(() -> new IllegalArgumentException(USER_NOT_FOUND));
         user.changePassword(request.getOldPassword(), request.getNewPassword(), passwordEncoder);
         userRepository.save(user);
+        changed(user);
     }
 
     /**
@@ -104,6 +113,7 @@ public class UserService {
             .orElseThrow(() -> new IllegalArgumentException(USER_NOT_FOUND));
         user.changeEmail(request.getNewEmail());
         userRepository.save(user);
+        changed(user);
     }
 
     /**
@@ -115,6 +125,7 @@ public class UserService {
             .orElseThrow(() -> new IllegalArgumentException(USER_NOT_FOUND));
         user.updatePhoneNumber(request.getPhoneNumber());
         userRepository.save(user);
+        changed(user);
     }
 
     /**
@@ -126,6 +137,7 @@ public class UserService {
             .orElseThrow(() -> new IllegalArgumentException(USER_NOT_FOUND));
         user.updatePreferences(request.getTimezone(), request.getLanguage(), request.getBirthday());
         userRepository.save(user);
+        changed(user);
     }
 
     /**
@@ -137,6 +149,7 @@ public class UserService {
             .orElseThrow(() -> new IllegalArgumentException(USER_NOT_FOUND));
         user.softDelete();
         userRepository.save(user);
+        changed(user);
     }
 
     /**
@@ -148,6 +161,7 @@ public class UserService {
             .orElseThrow(() -> new IllegalArgumentException(USER_NOT_FOUND));
         user.issueRememberToken(duration);
         userRepository.save(user);
+        changed(user);
         return user.getRememberToken();
     }
 
@@ -169,6 +183,7 @@ public class UserService {
             .orElseThrow(() -> new IllegalArgumentException(USER_NOT_FOUND));
         user.markLoginSuccess();
         userRepository.save(user);
+        changed(user);
     }
 
     /**
@@ -180,12 +195,21 @@ public class UserService {
             .orElseThrow(() -> new IllegalArgumentException(USER_NOT_FOUND));
         user.markLoginFailure();
         userRepository.save(user);
+        changed(user);
     }
 
     // =========================================================
     // ============== Ⅲ. 管理者必須（Admin-only） ===============
     // =========================================================
 
+    /**
+     * ユーザー情報をレスポンスDTOで取得する（キャッシュから返し、ヒットした場合はトランザクションも開始しない）。
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public UserResponseDTO getUserResponse(UUID userId) {
+        return dtoCaches.users().get(userId, () -> UserResponseDTO.fromEntity(getUserById(userId)));
+    }
+
     /**
      * UUIDからユーザーを取得（管理用）。
      */
@@ -204,5 +228,17 @@ public class UserService {
             .orElseThrow(() -> new IllegalArgumentException(USER_NOT_FOUND));
         user.restore();
         userRepository.save(user);
+        changed(user);
+    }
+
+    // =========================================================
+    // ================== INTERNAL UTILITIES ===================
+    // =========================================================
+
+    /**
+     * ユーザーの変更をイベントとして発行する（コミット後にレスポンスのキャッシュを破棄）。
+     */
+    private void changed(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
     }
 }
@@ -0,0 +1,111 @@
+package com.example.service;
+
+import com.example.config.FacetProperties;
+import com.example.dto.videos.PublicVideoResponseDTO;
+import com.example.dto.videos.VideoFacetPageDTO;
+import com.example.dto.videos.VideoFacetSearchRequestDTO;
+import com.example.dto.videos.VideoFacetSearchRequestDTO.Match;
+import com.example.entity.Video;
+import com.example.enums.VideoVisibility;
+import com.example.repository.VideoRepository;
+import com.example.service.video.VideoCardStore;
+import com.example.service.video.VideoFacetIndex;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * VideoFacetService
+ *
+ * カテゴリ・タグの組み合わせで公開動画を絞り込むサービス層クラス。
+ * 絞り込みと件数は {@link VideoFacetIndex}（メモリ上のビットマップ索引）で求め、
+ * 該当ページの動画はヒープ外のカードストア（{@link VideoCardStore}）から索引の並び（作成日時の新しい順）で返す。
+ * カードストアの読み込みが終わるまでは、該当ページの動画だけを1回のクエリで読んで並べ直す。
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class VideoFacetService {
+
+    private final VideoFacetIndex facetIndex;
+    private final VideoRepository videoRepository;
+    private final VideoCardStore videoCardStore;
+    private final FacetProperties props;
+
+    // ========================================================
+    // =============== Ⅰ. 未認証OK（Public） ==================
+    // ========================================================
+
+    /**
+     * 条件に合う公開動画のページと、該当動画全体のカテゴリ・タグ・状態別の件数を返す。
+     *
+     * @param page 0 始まりのページ番号
+     * @param size 1ページの件数
+     * @throws IllegalArgumentException ページ指定が不正な場合
+     */
+    public VideoFacetPageDTO browse(VideoFacetSearchRequestDTO req, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("ページ番号は 0 以上で指定してください");
+        }
+        if (size < 1 || size > props.getMaxPageSize()) {
+            throw new IllegalArgumentException("取得件数は 1〜" + props.getMaxPageSize() + " で指定してください");
+        }
+        VideoFacetIndex.Result result = facetIndex.query(toQuery(req), (long) page * size, size);
+
+        List<PublicVideoResponseDTO> items = videoCardStore.isReady()
+                ? videoCardStore.cards(result.videoIds())
+                : loadItems(result.videoIds());
+
+        return VideoFacetPageDTO.builder()
+                .items(items)
+                .total(result.total())
+                .categoryCounts(result.categoryCounts())
+                .tagCounts(result.tagCounts())
+                .statusCounts(result.statusCounts())
+                .build();
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private List<PublicVideoResponseDTO> loadItems(List<UUID> videoIds) {
+        Map<UUID, Video> loaded = videoIds.isEmpty() ? Map.of()
+                : videoRepository.findAllWithUserByIdIn(videoIds).stream()
+                        .collect(Collectors.toMap(Video::getId, Function.identity()));
+        return videoIds.stream()
+                .map(loaded::get)
+                .filter(v -> v != null && !v.isDeleted()) // 索引への反映待ちの間に削除されたもの
+                .map(PublicVideoResponseDTO::fromEntity)
+                .toList();
+    }
+
+    private static VideoFacetIndex.Query toQuery(VideoFacetSearchRequestDTO req) {
+        VideoFacetSearchRequestDTO r = req != null ? req : new VideoFacetSearchRequestDTO();
+        Set<UUID> categories = setOf(r.getCategoryIds());
+        Set<UUID> tags = setOf(r.getTagIds());
+        boolean allCategories = r.getCategoryMatch() == Match.ALL;
+        boolean allTags = r.getTagMatch() == Match.ALL;
+        return new VideoFacetIndex.Query(
+                allCategories ? Set.of() : categories,
+                allCategories ? categories : Set.of(),
+                setOf(r.getExcludeCategoryIds()),
+                allTags ? Set.of() : tags,
+                allTags ? tags : Set.of(),
+                setOf(r.getExcludeTagIds()),
+                VideoVisibility.PUBLIC, // 公開動画のみ
+                r.getStatus());
+    }
+
+    private static Set<UUID> setOf(Collection<UUID> ids) {
+        return ids == null ? Set.of() : new LinkedHashSet<>(ids);
+    }
+}
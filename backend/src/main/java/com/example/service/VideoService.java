@@ -5,14 +5,32 @@ import com.example.entity.User;
 import com.example.entity.Video;
 import com.example.enums.VideoSort;
 import com.example.enums.VideoVisibility;
+import com.example.event.VideoLifecycleEvent;
+import com.example.event.VideoViewedEvent;
 import com.example.repository.UserRepository;
 import com.example.repository.VideoRepository;
+import com.example.service.cache.DtoCaches;
+import com.example.service.cache.ReadCoalescer;
+import com.example.service.video.VideoCardStore;
+import com.example.service.video.VideoCardTable;
+import com.example.service.video.VideoCatalog;
+import com.example.service.video.VideoColumns;
+import com.example.service.video.VideoSlugIndex;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -25,6 +43,12 @@ public class VideoService {
 
     private final VideoRepository videoRepository;
     private final UserRepository userRepository;
+    private final VideoSlugIndex videoSlugIndex;
+    private final DtoCaches dtoCaches;
+    private final ReadCoalescer readCoalescer;
+    private final VideoCatalog videoCatalog;
+    private final VideoCardStore videoCardStore;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ========================================================
     // ========== 内部ユーティリティメソッド ==================
@@ -47,19 +71,101 @@ public class VideoService {
         return video;
     }
 
+    /**
+     * 動画の変更をイベントとして発行します（コミット後にフィード等へ反映）。
+     */
+    private void publish(Video video, VideoLifecycleEvent.Type type) {
+        eventPublisher.publishEvent(new VideoLifecycleEvent(video.getId(), video.getUser().getId(), type));
+    }
+
+    /**
+     * 公開動画一覧の DB 問い合わせを、同じ条件の同時呼び出し間でまとめて実行します。
+     * キーはページ番号・件数・並び順と、条件の値で作ります。
+     */
+    private Page<PublicVideoResponseDTO> coalescedPage(String group, Object condition, Pageable pageable,
+                                                       Supplier<Page<PublicVideoResponseDTO>> loader) {
+        Object key = ReadCoalescer.key(condition, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        return readCoalescer.load(group, key, loader);
+    }
+
+    /**
+     * 公開動画一覧をメモリ上のカタログから返します（カタログで答えられない場合は空）。
+     * 表示情報はカードストアから（JSON へはレコードから直接書き出すため、中身を写さないページで返します）、
+     * 読み込み前なら1回のクエリでまとめて読みます。
+     */
+    private Optional<Page<PublicVideoResponseDTO>> fromCatalog(VideoColumns.Filter filter, Pageable pageable) {
+        return videoCatalog.query(filter, pageable)
+            .map(result -> videoCardStore.isReady()
+                ? new VideoCardTable.CardsPage(storedCards(result.videoIds()), pageable, result.total())
+                : new PageImpl<>(loadCards(result.videoIds()), pageable, result.total()));
+    }
+
+    /**
+     * カードストアからカードを返します。ストアにない動画（他ノードで公開され、ストアがまだ読み直していないもの）は
+     * DB から読んでストアに登録してから返します。
+     */
+    private VideoCardTable.Cards storedCards(List<UUID> videoIds) {
+        List<UUID> missing = videoCardStore.missing(videoIds);
+        if (!missing.isEmpty()) {
+            videoRepository.findAllWithUserByIdIn(missing).forEach(videoCardStore::put);
+        }
+        return videoCardStore.cards(videoIds);
+    }
+
+    /**
+     * 同順位の並びを動画ID順に固定したページ情報を返します（ページ境界で重複・欠落させないため）。
+     * カタログも同順位は動画IDの符号なし比較で並べ、BINARY(16) の比較も符号なしのバイト順なので、
+     * DB から読んだ場合もカタログと同じ順になります。
+     */
+    private static Pageable withIdTieBreak(Pageable pageable) {
+        if (pageable.isUnpaged() || pageable.getSort().getOrderFor("id") != null) {
+            return pageable;
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().and(Sort.by("id")));
+    }
+
+    private List<PublicVideoResponseDTO> loadCards(List<UUID> videoIds) {
+        Map<UUID, Video> loaded = videoIds.isEmpty() ? Map.of()
+            : videoRepository.findAllWithUserByIdIn(videoIds).stream()
+                .collect(Collectors.toMap(Video::getId, Function.identity()));
+        return videoIds.stream()
+            .map(loaded::get)
+            .filter(v -> v != null && v.isPublic()) // 反映待ちの間に非公開・削除されたもの
+            .map(PublicVideoResponseDTO::fromEntity)
+            .toList();
+    }
+
     // ========================================================
     // ========== Ⅰ. 未認証OK（Public APIs） ==================
     // ========================================================
 
     /**
      * 指定IDの動画を取得します（公開/非公開の可視性は呼び出し側で制御してください）。
+     * レスポンスはキャッシュから返し、ヒットした場合はトランザクションも開始しません。
      *
      * @param id 動画ID
      * @return 該当動画のレスポンスDTO
      * @throws NoSuchElementException 動画が存在しない場合
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public VideoResponseDTO getVideo(UUID id) {
-        return VideoResponseDTO.fromEntity(getActiveVideoOrThrow(id));
+        return dtoCaches.videos().get(id, () -> VideoResponseDTO.fromEntity(getActiveVideoOrThrow(id)));
+    }
+
+    /**
+     * スラッグから公開動画を取得します（スラッグ → ID の解決はメモリ上の索引で行います）。
+     *
+     * @param slug 動画スラッグ
+     * @return 公開動画レスポンスDTO
+     * @throws NoSuchElementException 動画が存在しない、または公開されていない場合
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public PublicVideoResponseDTO getPublicVideoBySlug(String slug) {
+        return readCoalescer.load("video.by-slug", slug, () -> videoSlugIndex.resolve(slug)
+            .flatMap(videoRepository::findById)
+            .filter(Video::isPublic)
+            .map(PublicVideoResponseDTO::fromEntity)
+            .orElseThrow(() -> new NoSuchElementException("動画が見つかりません (slug: " + slug + ")")));
     }
 
     /**
@@ -69,8 +175,10 @@ public class VideoService {
      * @param pageable ページ情報
      * @return 公開動画レスポンスDTOのページ
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<PublicVideoResponseDTO> searchPublicVideos(SearchRequestDTO request, Pageable pageable) {
-        String query = request.getQuery() != null ? request.getQuery() : "";
+        // 大文字小文字を区別しない部分一致なので、小文字化したクエリをキーにしても結果は変わらない
+        String query = request.getQuery() != null ? request.getQuery().toLowerCase(Locale.ROOT) : "";
         Pageable effectivePageable = pageable;
         if (pageable.getSort().isUnsorted()) {
             Sort sort = (request.getSortBy() == VideoSort.VIEWS_COUNT)
@@ -78,9 +186,15 @@ public class VideoService {
                 : Sort.by(Sort.Direction.DESC, "publishedAt");
             effectivePageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
         }
-        return videoRepository
-            .findByTitleContainingIgnoreCaseAndVisibility(query, VideoVisibility.PUBLIC, effectivePageable)
-            .map(PublicVideoResponseDTO::fromEntity);
+        Pageable page = withIdTieBreak(effectivePageable);
+        // タイトルの部分一致は列の照合順序（アクセント・全半角の同一視等）に合わせるため DB で行う。
+        // クエリなしは公開動画全体の並べ替えなので、カタログから返す
+        Optional<Page<PublicVideoResponseDTO>> all = query.isEmpty()
+            ? fromCatalog(VideoColumns.Filter.none(), page)
+            : Optional.empty();
+        return all.orElseGet(() -> coalescedPage("video.search", query, page, () -> videoRepository
+            .findByTitleContainingIgnoreCaseAndVisibility(query, VideoVisibility.PUBLIC, page)
+            .map(PublicVideoResponseDTO::fromEntity)));
     }
 
     /**
@@ -90,10 +204,13 @@ public class VideoService {
      * @param pageable ページ情報
      * @return 公開動画レスポンスDTOのページ
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<PublicVideoResponseDTO> getPublicVideosByUser(UUID userId, Pageable pageable) {
-        return videoRepository
-            .findByUserIdAndVisibility(userId, VideoVisibility.PUBLIC, pageable)
-            .map(PublicVideoResponseDTO::fromEntity);
+        Pageable page = withIdTieBreak(pageable);
+        return fromCatalog(VideoColumns.Filter.byUser(userId), page)
+            .orElseGet(() -> coalescedPage("video.by-user", userId, page, () -> videoRepository
+                .findByUserIdAndVisibility(userId, VideoVisibility.PUBLIC, page)
+                .map(PublicVideoResponseDTO::fromEntity)));
     }
 
     /**
@@ -102,13 +219,16 @@ public class VideoService {
      * @param pageable ページ情報
      * @return 公開動画レスポンスDTOのページ
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<PublicVideoResponseDTO> getPopularVideos(Pageable pageable) {
-        Pageable sorted = PageRequest.of(
+        Pageable sorted = withIdTieBreak(PageRequest.of(
             pageable.getPageNumber(), pageable.getPageSize(),
             Sort.by(Sort.Direction.DESC, "viewsCount")
-        );
-        return videoRepository.findByVisibility(VideoVisibility.PUBLIC, sorted)
-                              .map(PublicVideoResponseDTO::fromEntity);
+        ));
+        return fromCatalog(VideoColumns.Filter.none(), sorted)
+            .orElseGet(() -> coalescedPage("video.popular", null, sorted, () ->
+                videoRepository.findByVisibility(VideoVisibility.PUBLIC, sorted)
+                               .map(PublicVideoResponseDTO::fromEntity)));
     }
 
     /**
@@ -117,13 +237,16 @@ public class VideoService {
      * @param pageable ページ情報
      * @return 公開動画レスポンスDTOのページ
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Page<PublicVideoResponseDTO> getRecentVideos(Pageable pageable) {
-        Pageable sorted = PageRequest.of(
+        Pageable sorted = withIdTieBreak(PageRequest.of(
             pageable.getPageNumber(), pageable.getPageSize(),
             Sort.by(Sort.Direction.DESC, "publishedAt")
-        );
-        return videoRepository.findByVisibility(VideoVisibility.PUBLIC, sorted)
-                              .map(PublicVideoResponseDTO::fromEntity);
+        ));
+        return fromCatalog(VideoColumns.Filter.none(), sorted)
+            .orElseGet(() -> coalescedPage("video.recent", null, sorted, () ->
+                videoRepository.findByVisibility(VideoVisibility.PUBLIC, sorted)
+                               .map(PublicVideoResponseDTO::fromEntity)));
     }
 
     // ========================================================
@@ -151,7 +274,10 @@ public class VideoService {
             request.getThumbnailPath(),
             userRef // 所有者
         );
-        return VideoResponseDTO.fromEntity(videoRepository.save(video));
+        video.assignSlug(videoSlugIndex.allocate(request.getTitle()));
+        Video saved = videoRepository.save(video);
+        publish(saved, VideoLifecycleEvent.Type.CREATED);
+        return VideoResponseDTO.fromEntity(saved);
     }
 
     /**
@@ -187,6 +313,7 @@ public class VideoService {
             request.getVisibility(),
             request.getStatus()
         );
+        publish(video, VideoLifecycleEvent.Type.UPDATED);
         return VideoResponseDTO.fromEntity(video);
     }
 
@@ -200,6 +327,7 @@ public class VideoService {
         Video video = getActiveVideoOrThrow(id);
         video.softDelete();
         videoRepository.save(video);
+        publish(video, VideoLifecycleEvent.Type.DELETED);
     }
 
     /**
@@ -211,6 +339,7 @@ public class VideoService {
     public void incrementViews(UUID id) {
         Video video = getActiveVideoOrThrow(id);
         video.incrementViews();
+        eventPublisher.publishEvent(new VideoViewedEvent(id));
     }
 
     /**
@@ -223,6 +352,7 @@ public class VideoService {
     public void publishVideo(UUID id, LocalDateTime publishedAt) {
         Video video = getActiveVideoOrThrow(id);
         video.publish(publishedAt);
+        publish(video, VideoLifecycleEvent.Type.PUBLISHED);
     }
 
     /**
@@ -234,6 +364,7 @@ public class VideoService {
     public void unpublishVideo(UUID id) {
         Video video = getActiveVideoOrThrow(id);
         video.unpublish();
+        publish(video, VideoLifecycleEvent.Type.UNPUBLISHED);
     }
 
     // ========================================================
@@ -256,6 +387,8 @@ public class VideoService {
             throw new IllegalStateException("この動画は削除されていません");
         }
         video.restore();
-        return VideoResponseDTO.fromEntity(videoRepository.save(video));
+        Video restored = videoRepository.save(video);
+        publish(restored, VideoLifecycleEvent.Type.RESTORED);
+        return VideoResponseDTO.fromEntity(restored);
     }
 }
@@ -0,0 +1,161 @@
+package com.example.service.cache;
+
+import com.example.util.cache.HotKeySet;
+import com.example.util.cache.WTinyLfuCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ID をキーにレスポンスDTOを JSON のバイト列で持つ読み通しキャッシュ（1種類のDTO分）。
+ *
+ * 1. 参照時にヒットすればバイト列から DTO を作り直して返す（呼び出し側が変更しても共有されない）。
+ *    外れたら loader で読み込み、シリアライズして {@link WTinyLfuCache} に入れる。
+ * 2. 破棄のたびに世代番号を進め、読み込みの最中に破棄が起きた場合は読み込んだ結果を載せない
+ *    （載せた後に世代番号を確かめ直して取り消すので、確認と載せる間に破棄が起きても古い内容が残らない）。
+ * 3. 同じ ID のミスが同時に起きた場合は {@link ReadCoalescer} で読み込みを1本にまとめる
+ *    （期限切れの直後に人気エントリへの問い合わせが重ならないようにする）。
+ * 4. ID ごとのアクセス頻度を {@link HotKeySet} で数え、頻度の高い ID（ホットキー）の DTO は
+ *    デシリアライズ済みのまま手元に持つ（ニアキャッシュ）。ホットキーの参照は本体キャッシュのロックも
+ *    JSON の読み直しも通らない。冷えたホットキーは {@link #decay()} で降格する。
+ *    ニアキャッシュから返す DTO は呼び出し間で共有されるため、呼び出し側で変更しないこと。
+ * 5. ヒット・ミス・追い出しの件数と、保持しているバイト数・件数をメトリクスに出す。
+ */
+public final class DtoCache<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(DtoCache.class);
+
+    private final String name;
+    private final Class<T> type;
+    private final ObjectMapper objectMapper;
+    private final WTinyLfuCache<UUID> cache;
+    private final HotKeySet<UUID, T> hotKeys;
+    private final long ttlMs;
+    private final ReadCoalescer coalescer;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter nearHits;
+    private final Counter misses;
+
+    DtoCache(String name, Class<T> type, ObjectMapper objectMapper, WTinyLfuCache<UUID> cache,
+             HotKeySet<UUID, T> hotKeys, long ttlMs, ReadCoalescer coalescer, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.type = type;
+        this.objectMapper = objectMapper;
+        this.cache = cache;
+        this.hotKeys = hotKeys;
+        this.ttlMs = ttlMs;
+        this.coalescer = coalescer;
+        this.hits = Counter.builder("dto.cache.hits").tag("cache", name).register(meterRegistry);
+        this.nearHits = Counter.builder("dto.cache.near.hits").tag("cache", name).register(meterRegistry);
+        this.misses = Counter.builder("dto.cache.misses").tag("cache", name).register(meterRegistry);
+        FunctionCounter.builder("dto.cache.evictions", cache, WTinyLfuCache::evictionCount)
+                .tag("cache", name).register(meterRegistry);
+        FunctionCounter.builder("dto.cache.expirations", cache, WTinyLfuCache::expirationCount)
+                .tag("cache", name).register(meterRegistry);
+        Gauge.builder("dto.cache.bytes", cache, WTinyLfuCache::weightedSize)
+                .tag("cache", name).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("dto.cache.entries", cache, WTinyLfuCache::size)
+                .tag("cache", name).register(meterRegistry);
+        Gauge.builder("dto.cache.hot.keys", hotKeys, HotKeySet::size)
+                .tag("cache", name).register(meterRegistry);
+        FunctionCounter.builder("dto.cache.hot.promotions", hotKeys, HotKeySet::promotionCount)
+                .tag("cache", name).register(meterRegistry);
+        FunctionCounter.builder("dto.cache.hot.demotions", hotKeys, HotKeySet::demotionCount)
+                .tag("cache", name).register(meterRegistry);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * キャッシュから返し、なければ loader で読み込んで入れる（loader の例外はそのまま投げる）。
+     * loader は読み取り専用トランザクションの中で実行される。
+     */
+    public T get(UUID id, Supplier<T> loader) {
+        long now = System.currentTimeMillis();
+        T near = hotKeys.touch(id, now);
+        if (near != null) {
+            nearHits.increment();
+            return near;
+        }
+        long before = generation.get();
+        byte[] cached = cache.get(id, now);
+        if (cached != null) {
+            try {
+                T value = objectMapper.readValue(cached, type);
+                hits.increment();
+                offerNear(id, value, before, now);
+                return value;
+            } catch (IOException e) {
+                log.warn("dto cache entry unreadable: cache={}, id={}", name, id, e);
+                cache.invalidate(id);
+            }
+        }
+        misses.increment();
+        T value = coalescer.load("dto." + name, id, () -> loadAndStore(id, loader));
+        offerNear(id, value, before, now);
+        return value;
+    }
+
+    public void invalidate(UUID id) {
+        generation.incrementAndGet();
+        cache.invalidate(id);
+        hotKeys.invalidate(id);
+    }
+
+    /**
+     * 頻度を減衰させ、冷えたホットキーを降格させる（定期実行）。
+     */
+    public void decay() {
+        hotKeys.decay();
+    }
+
+    /**
+     * 現在のホットキーを頻度の高い順に返す。
+     */
+    public List<HotKeySet.HotKey<UUID>> hotKeys() {
+        return hotKeys.snapshot();
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private T loadAndStore(UUID id, Supplier<T> loader) {
+        long before = generation.get();
+        T value = loader.get();
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(value);
+            cache.put(id, bytes, System.currentTimeMillis());
+            if (generation.get() != before) {
+                cache.invalidate(id); // 読み込みの最中か、載せる直前に破棄された
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("dto cache entry not serializable: cache={}, id={}", name, id, e);
+        }
+        return value;
+    }
+
+    /**
+     * ホットキーなら DTO をニアキャッシュに置く。置いた後に破棄が起きていれば取り消す
+     * （読み込みと破棄が重なったときに古い内容を残さないため）。
+     */
+    private void offerNear(UUID id, T value, long before, long now) {
+        hotKeys.offer(id, value, now + ttlMs);
+        if (generation.get() != before) {
+            hotKeys.invalidate(id);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.service.cache;
+
+import com.example.config.DtoCacheProperties;
+import com.example.dto.live_streams.LiveStreamResponseDTO;
+import com.example.dto.users.UserResponseDTO;
+import com.example.dto.videos.VideoResponseDTO;
+import com.example.event.LiveStreamLifecycleEvent;
+import com.example.event.UserChangedEvent;
+import com.example.event.VideoLifecycleEvent;
+import com.example.util.cache.WTinyLfuCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.example.util.cache.HotKeySet;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 詳細取得 API のレスポンスDTOキャッシュ（動画・ライブ配信・ユーザー）。
+ *
+ * キャッシュごとにバイト数の上限を持ち、各サービスの更新系メソッドが発行する変更イベントを
+ * コミット後に受けて該当 ID のエントリを破棄する。
+ * ID ごとのアクセス頻度は一定間隔で減衰させ、ホットキーの入れ替わりに追従させる。
+ */
+@Component
+public class DtoCaches {
+
+    private final DtoCache<VideoResponseDTO> videos;
+    private final DtoCache<LiveStreamResponseDTO> liveStreams;
+    private final DtoCache<UserResponseDTO> users;
+
+    public DtoCaches(ObjectMapper objectMapper, DtoCacheProperties props, ReadCoalescer coalescer,
+                     MeterRegistry meterRegistry) {
+        this.videos = create("video", VideoResponseDTO.class, props.getVideoMaxBytes(),
+                objectMapper, props, coalescer, meterRegistry);
+        this.liveStreams = create("live-stream", LiveStreamResponseDTO.class, props.getLiveStreamMaxBytes(),
+                objectMapper, props, coalescer, meterRegistry);
+        this.users = create("user", UserResponseDTO.class, props.getUserMaxBytes(),
+                objectMapper, props, coalescer, meterRegistry);
+    }
+
+    public DtoCache<VideoResponseDTO> videos() {
+        return videos;
+    }
+
+    public DtoCache<LiveStreamResponseDTO> liveStreams() {
+        return liveStreams;
+    }
+
+    public DtoCache<UserResponseDTO> users() {
+        return users;
+    }
+
+    public List<DtoCache<?>> all() {
+        return List.of(videos, liveStreams, users);
+    }
+
+    // ========================================================
+    // ===================== 頻度の減衰 =======================
+    // ========================================================
+
+    @Scheduled(fixedDelayString = "${app.dto-cache.hot-decay-interval-ms:10000}")
+    public void decay() {
+        all().forEach(DtoCache::decay);
+    }
+
+    // ========================================================
+    // ======================= 破棄 ===========================
+    // ========================================================
+
+    @TransactionalEventListener
+    public void onVideoChanged(VideoLifecycleEvent event) {
+        videos.invalidate(event.videoId());
+    }
+
+    @TransactionalEventListener
+    public void onLiveStreamChanged(LiveStreamLifecycleEvent event) {
+        liveStreams.invalidate(event.liveStreamId());
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        users.invalidate(event.userId());
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private static <T> DtoCache<T> create(String name, Class<T> type, long maxBytes, ObjectMapper objectMapper,
+                                          DtoCacheProperties props, ReadCoalescer coalescer,
+                                          MeterRegistry meterRegistry) {
+        int expectedEntries = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxBytes / props.getAverageEntryBytes()));
+        WTinyLfuCache<UUID> cache = new WTinyLfuCache<>(maxBytes, props.getTtlMs(), expectedEntries);
+        HotKeySet<UUID, T> hotKeys = new HotKeySet<>(props.getHotSketchWidth(), props.getHotPromoteThreshold(),
+                props.getHotDemoteThreshold(), props.getHotMaxKeys());
+        return new DtoCache<>(name, type, objectMapper, cache, hotKeys, props.getTtlMs(), coalescer, meterRegistry);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.service.cache;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * 現在のホットキー（このノードでアクセスの集中している ID）を返す actuator エンドポイント。
+ *
+ * GET /actuator/hotkeys          … キャッシュ（video / live-stream / user）ごとの一覧
+ * GET /actuator/hotkeys/{cache}  … 指定キャッシュの一覧（存在しない名前なら 404）
+ */
+@Component
+@Endpoint(id = "hotkeys")
+@RequiredArgsConstructor
+public class HotKeysEndpoint {
+
+    /**
+     * ホットキー1件。
+     *
+     * @param frequency  推定アクセス頻度（減衰込み）
+     * @param promotedAt ホットキーに昇格した日時
+     * @param cached     ニアキャッシュに DTO を持っているか
+     */
+    public record HotKeyView(UUID id, int frequency, Instant promotedAt, boolean cached) {
+    }
+
+    private final DtoCaches dtoCaches;
+
+    @ReadOperation
+    public Map<String, List<HotKeyView>> hotKeys() {
+        Map<String, List<HotKeyView>> result = new LinkedHashMap<>();
+        for (DtoCache<?> cache : dtoCaches.all()) {
+            result.put(cache.name(), views(cache));
+        }
+        return result;
+    }
+
+    @ReadOperation
+    public List<HotKeyView> hotKeysOf(@Selector String cache) {
+        return dtoCaches.all().stream()
+                .filter(c -> c.name().equals(cache))
+                .findFirst()
+                .map(HotKeysEndpoint::views)
+                .orElse(null);
+    }
+
+    private static List<HotKeyView> views(DtoCache<?> cache) {
+        return cache.hotKeys().stream()
+                .map(h -> new HotKeyView(
+                        h.key(), h.frequency(), Instant.ofEpochMilli(h.promotedAt()), h.cached()))
+                .toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.service.cache;
+
+import com.example.util.concurrent.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 同じ内容の読み取りが同時に来たとき、DB への問い合わせを1本にまとめる（single-flight）。
+ *
+ * 1. (グループ, キー) ごとに、最初の呼び出しだけが読み取り専用トランザクションの中で loader を実行し、
+ *    実行中に来た同じキーの呼び出しはその完了を待って同じ結果（または同じ例外）を受け取る。
+ * 2. 待つ側はトランザクションを開始しないので DB 接続も握らない。
+ *    そのため呼び出し元のサービスメソッドは {@code Propagation.SUPPORTS} にしておく。
+ * 3. 結果は保持しない（キャッシュではない）。返した DTO は呼び出し間で共有されるため、呼び出し側で変更しないこと。
+ * 4. グループごとに「実行した回数」と「まとめられた回数」をメトリクスに出す。
+ */
+@Component
+public class ReadCoalescer {
+
+    private record FlightKey(String group, Object key) {
+    }
+
+    private record Meters(Counter leaders, Counter coalesced) {
+    }
+
+    private final SingleFlight<FlightKey> flights = new SingleFlight<>();
+    private final TransactionTemplate readTx;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public ReadCoalescer(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("read.coalesce.inflight", flights, SingleFlight::inFlight).register(meterRegistry);
+    }
+
+    /**
+     * グループ内のキーで読み取りを実行する。同じキーの読み取りが実行中ならその結果を返す。
+     *
+     * @param group メトリクスのタグにもなる読み取りの種類（例: "video.popular"）
+     * @param key   正規化済みの検索条件（equals/hashCode で比較できること）
+     */
+    public <T> T load(String group, Object key, Supplier<T> loader) {
+        SingleFlight.Result<T> result = flights.run(new FlightKey(group, key), () -> readTx.execute(s -> loader.get()));
+        Meters m = meters.computeIfAbsent(group, this::register);
+        (result.shared() ? m.coalesced() : m.leaders()).increment();
+        return result.value();
+    }
+
+    /**
+     * 複数の値からキーを作る（null を含めてよい）。
+     */
+    public static Object key(Object... parts) {
+        return Arrays.asList(parts);
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private Meters register(String group) {
+        return new Meters(
+                Counter.builder("read.coalesce.calls").tag("group", group).tag("result", "leader")
+                        .register(meterRegistry),
+                Counter.builder("read.coalesce.calls").tag("group", group).tag("result", "coalesced")
+                        .register(meterRegistry));
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.service.category;
+
+import static com.example.util.UuidBinary.*;
+
+import com.example.config.CategoryProperties;
+import com.example.event.VideoLinksChangedEvent;
+import com.example.util.UuidBinary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 動画・ライブ配信へのカテゴリの一括付与。
+ *
+ * 1. 対象を {@code bulkChunkSize} 件ずつに区切り、チャンクごとに1トランザクションで処理する
+ *    （JPA の永続化コンテキストは使わない）。
+ * 2. チャンクごとに「対象の存在」と「既存の付与（論理削除済みを含む）」をそれぞれ IN 句1本で読み、差分を求める。
+ * 3. 新規の付与は JDBC のバッチ挿入で、論理削除済みの付与は削除を取り消すバッチ更新で書く
+ *    （ユニーク制約 (category_id, 対象ID) に当たらないように行を作り直さない）。
+ *    差分を読んでから書くまでに他のリクエストが同じ付与を作った場合に備え、挿入は
+ *    {@code ON DUPLICATE KEY UPDATE} で既存行の削除を取り消す形にする（一意制約違反で失敗させない）。
+ * 4. 動画の付与が変わった分は、チャンクごとに {@link VideoLinksChangedEvent} でまとめて通知する。
+ *
+ * カテゴリIDの存在確認は呼び出し側でリクエスト全体に対して一度だけ行う。
+ */
+@Component
+public class CategoryBulkLinker {
+
+    /** 付与先の種類（対象テーブルと付与テーブル） */
+    public enum Target {
+        VIDEO("videos", "video_categories", "video_id"),
+        LIVE_STREAM("live_streams", "live_stream_categories", "live_stream_id");
+
+        private final String ownerTable;
+        private final String linkTable;
+        private final String ownerColumn;
+
+        Target(String ownerTable, String linkTable, String ownerColumn) {
+            this.ownerTable = ownerTable;
+            this.linkTable = linkTable;
+            this.ownerColumn = ownerColumn;
+        }
+    }
+
+    /**
+     * 対象1件分の結果。
+     *
+     * @param found 対象が存在する（削除されていない）か
+     * @param added 新たに付与した（または削除を取り消した）カテゴリ数
+     */
+    public record Outcome(UUID entityId, boolean found, int added) {
+    }
+
+    /** 既存の付与1行（論理削除済みかどうか） */
+    private record Link(byte[] id, boolean deleted) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryProperties props;
+    private final Counter linked;
+
+    public CategoryBulkLinker(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher,
+                              CategoryProperties props,
+                              MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.props = props;
+        this.linked = Counter.builder("category.bulk.linked").register(meterRegistry);
+    }
+
+    /**
+     * 対象ごとにカテゴリを付与する（既に付与済みのものはそのまま）。
+     *
+     * @param requested 対象ID → 付与するカテゴリID（存在確認済みであること）
+     * @return 対象ごとの結果（requested の順）
+     */
+    public List<Outcome> link(Target target, Map<UUID, Set<UUID>> requested) {
+        List<UUID> ids = new ArrayList<>(requested.keySet());
+        List<Outcome> outcomes = new ArrayList<>(ids.size());
+        int chunk = props.getBulkChunkSize();
+        for (int from = 0; from < ids.size(); from += chunk) {
+            List<UUID> part = ids.subList(from, Math.min(from + chunk, ids.size()));
+            outcomes.addAll(tx.execute(status -> linkChunk(target, part, requested)));
+        }
+        return outcomes;
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private List<Outcome> linkChunk(Target target, List<UUID> ids, Map<UUID, Set<UUID>> requested) {
+        Object[] keys = ids.stream().map(UuidBinary::toBytes).toArray();
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+
+        Set<UUID> owners = new HashSet<>(jdbcTemplate.query(
+                "SELECT id FROM " + target.ownerTable + " WHERE deleted_at IS NULL AND id IN (" + in + ")",
+                (rs, n) -> toUuid(rs.getObject(1)), keys));
+        Map<UUID, Map<UUID, Link>> existing = new HashMap<>();
+        RowMapper<Object[]> linkRow = (rs, n) -> new Object[] {
+                rs.getBytes(1), toUuid(rs.getObject(2)), toUuid(rs.getObject(3)), rs.getTimestamp(4) != null};
+        for (Object[] row : jdbcTemplate.query(
+                "SELECT id, " + target.ownerColumn + ", category_id, deleted_at FROM " + target.linkTable
+                        + " WHERE " + target.ownerColumn + " IN (" + in + ")", linkRow, keys)) {
+            existing.computeIfAbsent((UUID) row[1], k -> new HashMap<>())
+                    .put((UUID) row[2], new Link((byte[]) row[0], (Boolean) row[3]));
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> revivals = new ArrayList<>();
+        List<Outcome> outcomes = new ArrayList<>(ids.size());
+        List<UUID> changed = new ArrayList<>();
+        for (UUID id : ids) {
+            if (!owners.contains(id)) {
+                outcomes.add(new Outcome(id, false, 0));
+                continue;
+            }
+            Map<UUID, Link> links = existing.getOrDefault(id, Map.of());
+            byte[] owner = toBytes(id);
+            int added = 0;
+            for (UUID categoryId : requested.get(id)) {
+                Link link = links.get(categoryId);
+                if (link == null) {
+                    inserts.add(new Object[] {toBytes(UUID.randomUUID()), toBytes(categoryId), owner, now, now, now});
+                } else if (link.deleted()) {
+                    revivals.add(new Object[] {now, link.id()});
+                } else {
+                    continue;
+                }
+                added++;
+            }
+            outcomes.add(new Outcome(id, true, added));
+            if (added > 0) changed.add(id);
+        }
+
+        if (!inserts.isEmpty()) {
+            // 同時に作られた付与とは重複キーになる：有効なら何も変えず、論理削除済みなら取り消す
+            jdbcTemplate.batchUpdate("INSERT INTO " + target.linkTable + " (id, category_id, " + target.ownerColumn
+                    + ", created_at, updated_at) VALUES (?, ?, ?, ?, ?)"
+                    + " ON DUPLICATE KEY UPDATE updated_at = IF(deleted_at IS NULL, updated_at, ?), deleted_at = NULL",
+                    inserts);
+        }
+        if (!revivals.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE " + target.linkTable
+                    + " SET deleted_at = NULL, updated_at = ? WHERE id = ?", revivals);
+        }
+        linked.increment(inserts.size() + revivals.size());
+        if (target == Target.VIDEO && !changed.isEmpty()) {
+            eventPublisher.publishEvent(new VideoLinksChangedEvent(changed));
+        }
+        return outcomes;
+    }
+}
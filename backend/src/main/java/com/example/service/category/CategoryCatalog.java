@@ -0,0 +1,278 @@
+package com.example.service.category;
+
+import com.example.dto.categories.CategoryResponseDTO;
+import com.example.entity.Category;
+import com.example.event.CategoryLifecycleEvent;
+import com.example.repository.CategoryRepository;
+import com.example.util.slug.Slugifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * カテゴリ一覧のメモリ上のスナップショット。
+ *
+ * 1. 削除されていない全カテゴリを、ID・正規化した名前（NFKC・小文字）・スラッグの各マップと、
+ *    正規化した名前の昇順に並べた配列に持つ。スナップショットは不変で、版番号を付けて丸ごと差し替える。
+ * 2. 作成・更新・削除のコミット後イベントで該当カテゴリを DB から読み直し、新しい版を作って差し替える。
+ *    他ノードでの変更は定期的な全件の読み直しで取り込む。
+ * 3. 名前の部分一致は正規化済みの名前を順に走査し、前方一致は並べた配列を二分探索して求める。
+ * 4. 起動時に、正規の形でないスラッグ（説明文が入ってしまったもの等）を名前から作り直す。
+ *    読んだ時点から変わっていない行だけを条件付き UPDATE で書き換えるため、複数ノードで同時に走っても冪等。
+ */
+@Service
+public class CategoryCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryCatalog.class);
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate tx;
+
+    /**
+     * 不変のスナップショット。
+     *
+     * @param version 版番号（差し替えのたびに増える）
+     * @param sorted  正規化した名前の昇順
+     * @param keys    {@code sorted} と同じ並びの正規化した名前
+     */
+    public record Snapshot(long version, Map<UUID, CategoryResponseDTO> byId, Map<String, CategoryResponseDTO> byName,
+                           Map<String, CategoryResponseDTO> bySlug, List<CategoryResponseDTO> sorted, String[] keys) {
+
+        static Snapshot of(long version, Collection<CategoryResponseDTO> categories) {
+            List<CategoryResponseDTO> sorted = new ArrayList<>(categories);
+            sorted.sort(Comparator.comparing((CategoryResponseDTO c) -> normalize(c.getName()))
+                    .thenComparing(CategoryResponseDTO::getId));
+            Map<UUID, CategoryResponseDTO> byId = new HashMap<>();
+            Map<String, CategoryResponseDTO> byName = new HashMap<>();
+            Map<String, CategoryResponseDTO> bySlug = new HashMap<>();
+            String[] keys = new String[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                CategoryResponseDTO c = sorted.get(i);
+                keys[i] = normalize(c.getName());
+                byId.put(c.getId(), c);
+                byName.put(keys[i], c);
+                if (c.getSlug() != null) bySlug.put(c.getSlug().toLowerCase(Locale.ROOT), c);
+            }
+            return new Snapshot(version, Map.copyOf(byId), Map.copyOf(byName), Map.copyOf(bySlug),
+                    List.copyOf(sorted), keys);
+        }
+    }
+
+    private volatile Snapshot snapshot = Snapshot.of(0, List.of());
+    private volatile boolean ready;
+    private final AtomicLong versions = new AtomicLong();
+
+    public CategoryCatalog(CategoryRepository categoryRepository,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry) {
+        this.categoryRepository = categoryRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        meterRegistry.gauge("category.catalog.size", this, c -> c.snapshot.byId().size());
+        meterRegistry.gauge("category.catalog.version", this, c -> c.snapshot.version());
+    }
+
+    // ========================================================
+    // ======================= 参照 ===========================
+    // ========================================================
+
+    /** 現在のスナップショット（同じ版の中で複数回参照する場合に使う） */
+    public Snapshot current() {
+        if (!ready) reload();
+        return snapshot;
+    }
+
+    public Optional<CategoryResponseDTO> findById(UUID id) {
+        return Optional.ofNullable(current().byId().get(id));
+    }
+
+    public Optional<CategoryResponseDTO> findByName(String name) {
+        return Optional.ofNullable(current().byName().get(normalize(name)));
+    }
+
+    public Optional<CategoryResponseDTO> findBySlug(String slug) {
+        return Optional.ofNullable(current().bySlug().get(slug.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * 名前の部分一致（{@code prefixOnly} なら前方一致。キーワードが空なら全件）をページングして返す。
+     * 前方一致は名前順の配列の連続した範囲になるので、二分探索で範囲の両端だけを求める。
+     * 並び順は {@code pageable} の name / createdAt / updatedAt 指定に従い、未指定なら名前順。
+     *
+     * @return それ以外の項目で並べ替える場合は空（呼び出し側で DB から読むこと）
+     */
+    public Optional<Page<CategoryResponseDTO>> search(String keyword, boolean prefixOnly, Pageable pageable) {
+        if (!supports(pageable.getSort())) return Optional.empty();
+        Snapshot s = current();
+        String key = normalize(keyword == null ? "" : keyword);
+        List<CategoryResponseDTO> hits;
+        if (key.isEmpty()) {
+            hits = s.sorted();
+        } else if (prefixOnly) {
+            int from = lowerBound(s.keys(), key);
+            int to = from;
+            while (to < s.keys().length && s.keys()[to].startsWith(key)) to++;
+            hits = s.sorted().subList(from, to);
+        } else {
+            hits = new ArrayList<>();
+            for (int i = 0; i < s.keys().length; i++) {
+                if (s.keys()[i].contains(key)) hits.add(s.sorted().get(i));
+            }
+        }
+        return Optional.of(page(hits, pageable));
+    }
+
+    // ========================================================
+    // ======================= 更新 ===========================
+    // ========================================================
+
+    /**
+     * 全カテゴリを読み直して差し替える（起動時・定期）。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.category.reload-interval-ms:300000}",
+               fixedDelayString = "${app.category.reload-interval-ms:300000}")
+    public synchronized void reload() {
+        List<CategoryResponseDTO> all = categoryRepository.findAll().stream()
+                .filter(c -> !c.isDeleted())
+                .map(CategoryResponseDTO::fromEntity)
+                .toList();
+        snapshot = Snapshot.of(versions.incrementAndGet(), all);
+        ready = true;
+    }
+
+    /**
+     * カテゴリの作成・更新・削除をコミット後に反映する。
+     */
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryLifecycleEvent event) {
+        if (!ready) return; // 初回の読み込みで反映される
+        refresh(List.of(event.categoryId()));
+    }
+
+    /**
+     * 指定カテゴリを DB から読み直し、新しい版に差し替える。
+     */
+    public synchronized void refresh(Collection<UUID> ids) {
+        Map<UUID, CategoryResponseDTO> next = new HashMap<>(snapshot.byId());
+        ids.forEach(next::remove);
+        categoryRepository.findAllById(ids).stream()
+                .filter(c -> !c.isDeleted())
+                .forEach(c -> next.put(c.getId(), CategoryResponseDTO.fromEntity(c)));
+        snapshot = Snapshot.of(versions.incrementAndGet(), next.values());
+    }
+
+    /**
+     * 正規の形でないスラッグを名前から作り直す（使われていれば連番を付ける）。
+     * 1件ずつ、読んだ時点のスラッグのまま（または未設定）の場合だけ書き換える。他ノードが先に作り直した行は
+     * 飛ばし、同じスラッグを他ノードが先に使った場合は次回の起動で作り直す。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSlugs() {
+        List<Category> all = tx.execute(status -> categoryRepository.findAll());
+        Set<String> used = new HashSet<>();
+        List<Category> broken = new ArrayList<>();
+        for (Category c : all) {
+            if (Slugifier.isCanonical(c.getSlug())) used.add(c.getSlug());
+            else broken.add(c);
+        }
+        List<UUID> fixed = new ArrayList<>();
+        for (Category c : broken) {
+            String base = Slugifier.slugOf(c.getName());
+            String slug = Slugifier.unique(base.isEmpty() ? "category" : base, used::contains);
+            used.add(slug);
+            try {
+                Integer updated = tx.execute(status -> categoryRepository.replaceSlugIfUnchanged(c.getId(), c.getSlug(), slug));
+                if (updated != null && updated > 0) fixed.add(c.getId());
+            } catch (DataIntegrityViolationException e) {
+                log.warn("category slug backfill skipped (slug taken): category={}, slug={}", c.getId(), slug);
+            }
+        }
+        if (!fixed.isEmpty()) {
+            refresh(fixed);
+            log.info("category slugs backfilled: categories={}", fixed.size());
+        }
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private static Page<CategoryResponseDTO> page(List<CategoryResponseDTO> hits, Pageable pageable) {
+        List<CategoryResponseDTO> ordered = hits;
+        if (pageable.getSort().isSorted()) {
+            ordered = new ArrayList<>(hits);
+            ordered.sort(comparatorOf(pageable.getSort()));
+        }
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(List.copyOf(ordered), pageable, ordered.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), ordered.size());
+        int to = Math.min(from + pageable.getPageSize(), ordered.size());
+        return new PageImpl<>(List.copyOf(ordered.subList(from, to)), pageable, ordered.size());
+    }
+
+    /** スナップショットで並べ替えられる項目 */
+    private static final Set<String> SORTABLE = Set.of("name", "createdAt", "updatedAt");
+
+    private static boolean supports(Sort sort) {
+        return sort.stream().allMatch(o -> SORTABLE.contains(o.getProperty()));
+    }
+
+    private static Comparator<CategoryResponseDTO> comparatorOf(Sort sort) {
+        Comparator<CategoryResponseDTO> cmp = null;
+        for (Sort.Order order : sort) {
+            Comparator<CategoryResponseDTO> next = switch (order.getProperty()) {
+                case "name" -> Comparator.comparing((CategoryResponseDTO c) -> normalize(c.getName()));
+                case "createdAt" -> Comparator.comparing(CategoryResponseDTO::getCreatedAt,
+                        Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()));
+                case "updatedAt" -> Comparator.comparing(CategoryResponseDTO::getUpdatedAt,
+                        Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()));
+                default -> throw new IllegalStateException("並び替えに使えない項目です: " + order.getProperty()); // supports で除外済み
+            };
+            if (order.isDescending()) next = next.reversed();
+            cmp = cmp == null ? next : cmp.thenComparing(next);
+        }
+        return cmp;
+    }
+
+    private static int lowerBound(String[] keys, String key) {
+        int lo = 0, hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** 検索・重複判定に使う正規化（NFKC・前後の空白除去・小文字） */
+    public static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.service.category;
+
+import com.example.entity.Category;
+import com.example.entity.CategoryClosure;
+import com.example.event.CategoryLifecycleEvent;
+import com.example.repository.CategoryClosureRepository;
+import com.example.repository.CategoryRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * カテゴリ階層（閉包テーブル category_closures）の維持と、部分木のカテゴリID集合のキャッシュ。
+ *
+ * 1. 作成・付け替え・削除のたびに、呼び出し側のトランザクション内で閉包の行を張り替える。
+ *    付け替えは、部分木を外側の祖先から切り離し、新しい親の祖先 × 部分木の組を挿入する。
+ *    張り替える前に、対象のカテゴリ行（ID順）と読み出す閉包の行を FOR UPDATE でロックし、
+ *    同時に走る付け替え同士（互いを親にする等）が古い階層を見て循環を作らないよう直列化する。
+ * 2. 部分木のカテゴリID集合（自分自身を含む）は、閉包テーブルの1クエリで読んでメモリに保持する。
+ *    階層が変わったらコミット後にすべて破棄する。読み込み中に破棄が起きた場合は、読み込んだ結果を載せない。
+ *    他ノードでの付け替えはイベントで届かないため、一定間隔でもすべて破棄する。
+ * 3. 閉包の行を持たないカテゴリ（階層の導入前から存在するもの）は、起動時に親をたどって補う。
+ *    削除済みのカテゴリは対象外（削除時に外した行を補うと、親カテゴリが削除できなくなる）。
+ */
+@Service
+public class CategoryHierarchy {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryHierarchy.class);
+
+    private final CategoryClosureRepository closureRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate tx;
+
+    /** カテゴリID → 部分木のカテゴリID（不変） */
+    private final Map<UUID, Set<UUID>> subtrees = new ConcurrentHashMap<>();
+    /** 破棄のたびに進める世代。読み込み前後で変わっていたら結果を載せない */
+    private final AtomicLong generation = new AtomicLong();
+
+    public CategoryHierarchy(CategoryClosureRepository closureRepository,
+                             CategoryRepository categoryRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.closureRepository = closureRepository;
+        this.categoryRepository = categoryRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    // ========================================================
+    // ======================= 参照 ===========================
+    // ========================================================
+
+    /**
+     * カテゴリと、その子孫すべてのID。
+     */
+    public Set<UUID> subtreeOf(UUID categoryId) {
+        Set<UUID> cached = subtrees.get(categoryId);
+        if (cached != null) return cached;
+        long before = generation.get();
+        Set<UUID> loaded = Set.copyOf(closureRepository.findDescendantIds(categoryId));
+        if (generation.get() == before) {
+            subtrees.putIfAbsent(categoryId, loaded);
+        }
+        return loaded;
+    }
+
+    // ========================================================
+    // ============ 閉包の維持（呼び出し側のトランザクション内） ============
+    // ========================================================
+
+    /**
+     * 新しいカテゴリを親の下に登録する。
+     *
+     * @param parent 親カテゴリ（最上位なら null）
+     */
+    public void attach(Category category, Category parent) {
+        List<CategoryClosure> rows = new ArrayList<>();
+        rows.add(new CategoryClosure(category, category, 0));
+        if (parent != null) {
+            categoryRepository.lockAllById(List.of(parent.getId()));
+            for (CategoryClosure up : closureRepository.lockByDescendantId(parent.getId())) {
+                rows.add(new CategoryClosure(up.getAncestor(), category, up.getDepth() + 1));
+            }
+        }
+        closureRepository.saveAll(rows);
+    }
+
+    /**
+     * カテゴリを部分木ごと新しい親の下へ付け替える。
+     *
+     * @param newParent 新しい親カテゴリ（最上位にするなら null）
+     * @throws IllegalArgumentException 自分自身または子孫を親にしようとした場合
+     */
+    public void move(Category category, Category newParent) {
+        categoryRepository.lockAllById(newParent == null
+                ? List.of(category.getId())
+                : List.of(category.getId(), newParent.getId()));
+        List<CategoryClosure> down = closureRepository.lockByAncestorId(category.getId());
+        List<UUID> subtree = down.stream().map(cc -> cc.getDescendant().getId()).toList();
+        if (newParent != null && subtree.contains(newParent.getId())) {
+            throw new IllegalArgumentException("自分自身または子孫のカテゴリを親にはできません");
+        }
+
+        closureRepository.deleteOuterLinks(subtree);
+        if (newParent != null) {
+            List<CategoryClosure> rows = new ArrayList<>();
+            for (CategoryClosure up : closureRepository.lockByDescendantId(newParent.getId())) {
+                for (CategoryClosure d : down) {
+                    rows.add(new CategoryClosure(up.getAncestor(), d.getDescendant(), up.getDepth() + 1 + d.getDepth()));
+                }
+            }
+            closureRepository.saveAll(rows);
+        }
+        category.moveTo(newParent);
+    }
+
+    /**
+     * 子を持たないカテゴリを階層から外す。
+     *
+     * @throws IllegalArgumentException 子カテゴリがある場合
+     */
+    public void detach(UUID categoryId) {
+        if (closureRepository.lockByAncestorId(categoryId).stream().anyMatch(cc -> cc.getDepth() > 0)) {
+            throw new IllegalArgumentException("子カテゴリがあるため削除できません");
+        }
+        closureRepository.deleteByDescendant_Id(categoryId);
+    }
+
+    // ========================================================
+    // ======================= 更新 ===========================
+    // ========================================================
+
+    /**
+     * 階層の変更をコミット後に反映する（部分木のキャッシュをすべて破棄）。
+     */
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryLifecycleEvent event) {
+        if (event.type() == CategoryLifecycleEvent.Type.UPDATED) return; // 名前・説明のみ
+        invalidate();
+    }
+
+    /**
+     * 他ノードでの階層の変更を取り込むため、部分木のキャッシュを定期的にすべて破棄する。
+     */
+    @Scheduled(initialDelayString = "${app.category.subtree-refresh-interval-ms:60000}",
+               fixedDelayString = "${app.category.subtree-refresh-interval-ms:60000}")
+    public void invalidate() {
+        generation.incrementAndGet();
+        subtrees.clear();
+    }
+
+    /**
+     * 閉包の行を持たないカテゴリを、親をたどって補う。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int filled = tx.execute(status -> {
+            List<UUID> missing = closureRepository.findCategoryIdsWithoutClosure();
+            List<CategoryClosure> rows = new ArrayList<>();
+            for (Category c : categoryRepository.findAllById(missing)) {
+                int depth = 0;
+                for (Category a = c; a != null; a = a.getParent()) {
+                    rows.add(new CategoryClosure(a, c, depth++));
+                }
+            }
+            closureRepository.saveAll(rows);
+            return missing.size();
+        });
+        if (filled > 0) {
+            invalidate();
+            log.info("category closure backfilled: categories={}", filled);
+        }
+    }
+}
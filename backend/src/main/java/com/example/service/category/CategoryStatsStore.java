@@ -0,0 +1,377 @@
+package com.example.service.category;
+
+import static com.example.util.UuidBinary.*;
+
+import com.example.config.CategoryProperties;
+import com.example.event.CategoryLifecycleEvent;
+import com.example.event.VideoLifecycleEvent;
+import com.example.event.VideoLinksChangedEvent;
+import com.example.util.UuidBinary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * カテゴリ別の公開動画の件数と、再生数の多い順の人気動画。
+ *
+ * 1. 公開中（PUBLIC・未削除）の動画について、カテゴリごとの件数と、再生数上位を
+ *    {@code popularSize} の2倍まで並べた集合をメモリに持つ。
+ * 2. カテゴリの付与・解除と、動画の公開・非公開・削除・復元のコミット後イベントで、該当動画の行を
+ *    DB から読み直して差分だけ反映する。人気動画から外れて残りが {@code popularSize} を下回り、
+ *    保持していない動画が残っているカテゴリは、次に参照されたときにそのカテゴリだけ DB から補充する。
+ * 3. 再生数の変化と他ノードでの変更は、定期的な全件の突き合わせで取り込む（件数のずれはメトリクスに出す）。
+ *    突き合わせの最中に届いたイベントは、差し替え後にもう一度反映する。
+ */
+@Service
+public class CategoryStatsStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryStatsStore.class);
+
+    private static final String PUBLIC_VIDEO = "v.visibility = 'PUBLIC' AND v.deleted_at IS NULL";
+    private static final String FIRST_LINKS =
+            "SELECT vc.id, vc.category_id, v.id, v.views_count FROM video_categories vc "
+                    + "JOIN videos v ON v.id = vc.video_id WHERE vc.deleted_at IS NULL AND " + PUBLIC_VIDEO + " "
+                    + "ORDER BY vc.id LIMIT ?";
+    private static final String NEXT_LINKS =
+            "SELECT vc.id, vc.category_id, v.id, v.views_count FROM video_categories vc "
+                    + "JOIN videos v ON v.id = vc.video_id WHERE vc.deleted_at IS NULL AND " + PUBLIC_VIDEO + " "
+                    + "AND vc.id > ? ORDER BY vc.id LIMIT ?";
+    private static final String LINKS_OF_VIDEOS =
+            "SELECT vc.id, vc.category_id, v.id, v.views_count FROM video_categories vc "
+                    + "JOIN videos v ON v.id = vc.video_id WHERE vc.deleted_at IS NULL AND " + PUBLIC_VIDEO + " "
+                    + "AND v.id IN (%s)";
+    /** 差分反映で IN 句にまとめる動画数 */
+    private static final int REFRESH_CHUNK = 1000;
+    private static final String TOP_OF_CATEGORY =
+            "SELECT v.id, v.views_count FROM video_categories vc "
+                    + "JOIN videos v ON v.id = vc.video_id WHERE vc.deleted_at IS NULL AND " + PUBLIC_VIDEO + " "
+                    + "AND vc.category_id = ? ORDER BY v.views_count DESC, v.id LIMIT ?";
+
+    private static final RowMapper<Object[]> LINK_ROW =
+            (rs, n) -> new Object[] {rs.getObject(1), toUuid(rs.getObject(2)), toUuid(rs.getObject(3)), rs.getLong(4)};
+
+    /** 再生数の多い順（同数は ID の符号なし比較順。BINARY(16) 列の ORDER BY と同じ順） */
+    private static final Comparator<Ranked> BY_VIEWS =
+            Comparator.comparingLong(Ranked::views).reversed()
+                    .thenComparing(Ranked::videoId, UuidBinary::compareUnsigned);
+
+    /** 人気動画の1件 */
+    private record Ranked(UUID videoId, long views) {
+    }
+
+    /** 公開中の動画1件分の状態（差分反映で外すために使う） */
+    private record Entry(List<UUID> categories, long views) {
+    }
+
+    /** カテゴリ1件分の件数と人気動画 */
+    private static final class Stats {
+        long count;
+        final TreeSet<Ranked> top = new TreeSet<>(BY_VIEWS);
+        /** 上位を保持していない動画があり、人気動画の件数が足りなくなっている */
+        boolean stale;
+        /** 件数・人気動画を変えるたびに進める（補充中に変わった場合は補充結果を捨てる） */
+        long version;
+    }
+
+    /** 突き合わせ単位の状態 */
+    private static final class State {
+        final Map<UUID, Entry> videos = new HashMap<>();
+        final Map<UUID, Stats> categories = new HashMap<>();
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryProperties props;
+    private final Counter drift;
+
+    /** 状態の参照・更新は this で同期する */
+    private State state = new State();
+    private volatile boolean ready;
+    private volatile boolean loading;
+    /** 全件の読み直しを直列化する */
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+    /** 読み直しの最中に届いた変更（差し替え後に再適用する） */
+    private final Queue<UUID> replay = new ConcurrentLinkedQueue<>();
+
+    public CategoryStatsStore(JdbcTemplate jdbcTemplate, CategoryProperties props, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.props = props;
+        this.drift = Counter.builder("category.stats.drift").register(meterRegistry);
+        meterRegistry.gauge("category.stats.videos", this, s -> s.videoCount());
+    }
+
+    // ========================================================
+    // ======================= 参照 ===========================
+    // ========================================================
+
+    /** カテゴリの公開動画の件数 */
+    public long count(UUID categoryId) {
+        ensureLoaded();
+        synchronized (this) {
+            Stats stats = state.categories.get(categoryId);
+            return stats != null ? stats.count : 0;
+        }
+    }
+
+    /** 複数カテゴリの公開動画の件数（一覧表示用） */
+    public Map<UUID, Long> counts(List<UUID> categoryIds) {
+        ensureLoaded();
+        Map<UUID, Long> out = new HashMap<>();
+        synchronized (this) {
+            for (UUID id : categoryIds) {
+                Stats stats = state.categories.get(id);
+                out.put(id, stats != null ? stats.count : 0L);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * カテゴリの人気動画の ID を再生数の多い順に最大 {@code limit} 件返す。
+     * 補充が必要なカテゴリは、ロックの外で DB から読み、その間に変更がなければ差し替える。
+     */
+    public List<UUID> popular(UUID categoryId, int limit) {
+        ensureLoaded();
+        Stats seen;
+        long seenVersion;
+        synchronized (this) {
+            seen = state.categories.get(categoryId);
+            if (seen == null) return List.of();
+            if (!seen.stale) return topOf(seen, limit);
+            seenVersion = seen.version;
+        }
+        List<Ranked> rows = queryTop(categoryId);
+        synchronized (this) {
+            Stats stats = state.categories.get(categoryId);
+            if (stats == null) return List.of();
+            // 読んでいる間に差し替え・変更があれば、この結果は使わない（次の参照で補充し直す）
+            if (stats == seen && stats.stale && stats.version == seenVersion) {
+                stats.top.clear();
+                stats.top.addAll(rows);
+                stats.stale = false;
+                stats.version++;
+            }
+            return topOf(stats, limit);
+        }
+    }
+
+    // ========================================================
+    // ======================= 更新 ===========================
+    // ========================================================
+
+    @TransactionalEventListener
+    public void onLinksChanged(VideoLinksChangedEvent event) {
+        apply(event.videoIds());
+    }
+
+    @TransactionalEventListener
+    public void onVideoChanged(VideoLifecycleEvent event) {
+        if (event.type() != VideoLifecycleEvent.Type.CREATED) { // 作成直後はカテゴリが付いていない
+            apply(List.of(event.videoId()));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryLifecycleEvent event) {
+        if (event.type() == CategoryLifecycleEvent.Type.DELETED) {
+            synchronized (this) {
+                if (state.categories.remove(event.categoryId()) == null) return;
+                state.videos.replaceAll((id, e) -> e.categories().contains(event.categoryId())
+                        ? without(e, event.categoryId()) : e);
+            }
+        }
+    }
+
+    /**
+     * 公開動画とカテゴリの付与を全件読み直し、件数のずれを数えて差し替える（起動時・定期）。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.category.stats-reconcile-interval-ms:600000}",
+               fixedDelayString = "${app.category.stats-reconcile-interval-ms:600000}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            loading = true;
+            replay.clear();
+            long started = System.currentTimeMillis();
+            State fresh = load();
+            long drifted;
+            synchronized (this) {
+                drifted = ready ? countDrift(state, fresh) : 0;
+                state = fresh;
+                ready = true;
+            }
+            loading = false;
+            List<UUID> pending = new ArrayList<>();
+            for (UUID id; (id = replay.poll()) != null; ) {
+                pending.add(id);
+            }
+            refresh(pending);
+            drift.increment(drifted);
+            log.info("category stats reconciled: videos={}, categories={}, drifted={}, tookMs={}",
+                    fresh.videos.size(), fresh.categories.size(), drifted, System.currentTimeMillis() - started);
+        } finally {
+            loading = false;
+            reconcileLock.unlock();
+        }
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private void ensureLoaded() {
+        if (ready) return;
+        reconcileLock.lock();
+        try {
+            if (!ready) reconcile();
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private synchronized long videoCount() {
+        return state.videos.size();
+    }
+
+    private void apply(Collection<UUID> videoIds) {
+        if (loading) replay.addAll(videoIds);
+        if (ready) refresh(List.copyOf(videoIds));
+    }
+
+    /**
+     * 動画の公開状態と付与を IN 句でまとめて DB から読み直し、前回からの差分を反映する。
+     */
+    private void refresh(List<UUID> videoIds) {
+        for (int from = 0; from < videoIds.size(); from += REFRESH_CHUNK) {
+            List<UUID> chunk = videoIds.subList(from, Math.min(from + REFRESH_CHUNK, videoIds.size()));
+            Object[] keys = chunk.stream().map(UuidBinary::toBytes).toArray();
+            Map<UUID, List<UUID>> categoriesOf = new HashMap<>();
+            Map<UUID, Long> viewsOf = new HashMap<>();
+            String sql = String.format(LINKS_OF_VIDEOS, String.join(",", Collections.nCopies(chunk.size(), "?")));
+            for (Object[] row : jdbcTemplate.query(sql, LINK_ROW, keys)) {
+                categoriesOf.computeIfAbsent((UUID) row[2], v -> new ArrayList<>(2)).add((UUID) row[1]);
+                viewsOf.put((UUID) row[2], (Long) row[3]);
+            }
+            synchronized (this) {
+                for (UUID videoId : chunk) {
+                    List<UUID> categories = categoriesOf.get(videoId);
+                    Entry next = categories == null ? null : new Entry(categories, viewsOf.get(videoId));
+                    Entry prev = next == null ? state.videos.remove(videoId) : state.videos.put(videoId, next);
+                    if (prev != null) {
+                        for (UUID c : prev.categories()) removeFrom(state, c, new Ranked(videoId, prev.views()));
+                    }
+                    if (next != null) {
+                        for (UUID c : next.categories()) addTo(state, c, new Ranked(videoId, next.views()));
+                    }
+                }
+            }
+        }
+    }
+
+    private void addTo(State s, UUID categoryId, Ranked video) {
+        Stats stats = s.categories.computeIfAbsent(categoryId, c -> new Stats());
+        stats.version++;
+        boolean holdsAll = stats.top.size() == stats.count;
+        stats.count++;
+        int cap = capacity();
+        if (holdsAll && stats.top.size() < cap) {
+            stats.top.add(video);
+        } else if (!stats.top.isEmpty() && BY_VIEWS.compare(video, stats.top.last()) < 0) {
+            stats.top.add(video);
+            if (stats.top.size() > cap) stats.top.pollLast();
+        }
+    }
+
+    private void removeFrom(State s, UUID categoryId, Ranked video) {
+        Stats stats = s.categories.get(categoryId);
+        if (stats == null) return;
+        stats.version++;
+        stats.count--;
+        if (stats.top.remove(video) && stats.top.size() < props.getPopularSize() && stats.top.size() < stats.count) {
+            stats.stale = true;
+        }
+        if (stats.count <= 0) s.categories.remove(categoryId);
+    }
+
+    /** 人気動画をカテゴリ単位で DB から読む（this の同期の外で呼ぶこと） */
+    private List<Ranked> queryTop(UUID categoryId) {
+        return jdbcTemplate.query(TOP_OF_CATEGORY,
+                (rs, n) -> new Ranked(toUuid(rs.getObject(1)), rs.getLong(2)), toBytes(categoryId), capacity());
+    }
+
+    private static List<UUID> topOf(Stats stats, int limit) {
+        List<UUID> out = new ArrayList<>(Math.min(limit, stats.top.size()));
+        for (Ranked r : stats.top) {
+            if (out.size() == limit) break;
+            out.add(r.videoId());
+        }
+        return out;
+    }
+
+    private State load() {
+        State s = new State();
+        Map<UUID, List<UUID>> categoriesOf = new HashMap<>();
+        Map<UUID, Long> viewsOf = new HashMap<>();
+        int chunk = props.getStatsLoadChunkSize();
+        Object after = null;
+        while (true) {
+            List<Object[]> rows = after == null
+                    ? jdbcTemplate.query(FIRST_LINKS, LINK_ROW, chunk)
+                    : jdbcTemplate.query(NEXT_LINKS, LINK_ROW, after, chunk);
+            for (Object[] row : rows) {
+                UUID videoId = (UUID) row[2];
+                categoriesOf.computeIfAbsent(videoId, v -> new ArrayList<>(2)).add((UUID) row[1]);
+                viewsOf.put(videoId, (Long) row[3]);
+            }
+            if (rows.size() < chunk) break;
+            after = rows.get(rows.size() - 1)[0];
+        }
+        categoriesOf.forEach((videoId, categories) -> {
+            Entry e = new Entry(List.copyOf(categories), viewsOf.get(videoId));
+            s.videos.put(videoId, e);
+            for (UUID c : categories) addTo(s, c, new Ranked(videoId, e.views()));
+        });
+        return s;
+    }
+
+    /** カテゴリ別件数のずれの合計 */
+    private static long countDrift(State before, State after) {
+        long drifted = 0;
+        for (Map.Entry<UUID, Stats> e : after.categories.entrySet()) {
+            Stats old = before.categories.get(e.getKey());
+            drifted += Math.abs(e.getValue().count - (old != null ? old.count : 0));
+        }
+        for (Map.Entry<UUID, Stats> e : before.categories.entrySet()) {
+            if (!after.categories.containsKey(e.getKey())) drifted += e.getValue().count;
+        }
+        return drifted;
+    }
+
+    private int capacity() {
+        return props.getPopularSize() * 2;
+    }
+
+    private static Entry without(Entry e, UUID categoryId) {
+        return new Entry(e.categories().stream().filter(c -> !c.equals(categoryId)).toList(), e.views());
+    }
+}
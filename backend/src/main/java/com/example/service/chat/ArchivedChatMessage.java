@@ -0,0 +1,16 @@
+package com.example.service.chat;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * アーカイブブロック内の1メッセージ。
+ *
+ * @param id        元のメッセージID
+ * @param userId    投稿者ID
+ * @param userName  投稿時点の投稿者名
+ * @param message   本文
+ * @param createdAt 投稿日時
+ */
+public record ArchivedChatMessage(UUID id, UUID userId, String userName, String message, LocalDateTime createdAt) {
+}
@@ -0,0 +1,106 @@
+package com.example.service.chat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * チャットアーカイブブロックのエンコード／デコード。
+ *
+ * ブロックは「件数 + メッセージ列」を {@link DataOutputStream} で直列化し、Deflate で圧縮したもの。
+ * 投稿日時はブロック内で直前メッセージとの差分（ミリ秒）として持つ。
+ */
+public final class ChatArchiveCodec {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private ChatArchiveCodec() {
+        // インスタンス化禁止
+    }
+
+    /**
+     * 圧縮済みブロックと圧縮前サイズ。
+     */
+    public record EncodedBlock(byte[] data, int rawLength) {
+    }
+
+    /**
+     * メッセージ列（投稿順）を1ブロックに圧縮する。
+     */
+    public static EncodedBlock encode(List<ArchivedChatMessage> messages) {
+        try {
+            ByteArrayOutputStream raw = new ByteArrayOutputStream(messages.size() * 96);
+            DataOutputStream out = new DataOutputStream(raw);
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(messages.size());
+            long prev = 0;
+            for (ArchivedChatMessage m : messages) {
+                long at = toEpochMillis(m.createdAt());
+                out.writeLong(at - prev);
+                prev = at;
+                out.writeLong(m.id().getMostSignificantBits());
+                out.writeLong(m.id().getLeastSignificantBits());
+                out.writeLong(m.userId().getMostSignificantBits());
+                out.writeLong(m.userId().getLeastSignificantBits());
+                out.writeUTF(m.userName() != null ? m.userName() : "");
+                out.writeUTF(m.message());
+            }
+            out.flush();
+
+            byte[] rawBytes = raw.toByteArray();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(rawBytes.length / 3 + 16);
+            try (DeflaterOutputStream deflater = new DeflaterOutputStream(compressed)) {
+                deflater.write(rawBytes);
+            }
+            return new EncodedBlock(compressed.toByteArray(), rawBytes.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("チャットアーカイブの圧縮に失敗しました", e);
+        }
+    }
+
+    /**
+     * 圧縮ブロックを展開する。
+     */
+    public static List<ArchivedChatMessage> decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(data)))) {
+            int version = in.readUnsignedByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("未対応のアーカイブ形式です: " + version);
+            }
+            int count = in.readInt();
+            List<ArchivedChatMessage> messages = new ArrayList<>(count);
+            long at = 0;
+            for (int i = 0; i < count; i++) {
+                at += in.readLong();
+                UUID id = new UUID(in.readLong(), in.readLong());
+                UUID userId = new UUID(in.readLong(), in.readLong());
+                String userName = in.readUTF();
+                String message = in.readUTF();
+                messages.add(new ArchivedChatMessage(id, userId, userName, message, fromEpochMillis(at)));
+            }
+            return messages;
+        } catch (IOException e) {
+            throw new UncheckedIOException("チャットアーカイブの展開に失敗しました", e);
+        }
+    }
+
+    static long toEpochMillis(LocalDateTime at) {
+        return at.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    static LocalDateTime fromEpochMillis(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+                Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+}
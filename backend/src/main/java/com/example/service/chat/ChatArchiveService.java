@@ -0,0 +1,148 @@
+package com.example.service.chat;
+
+import com.example.config.ChatProperties;
+import com.example.dto.chat_messages.ChatMessageResponseDTO;
+import com.example.entity.ChatArchive;
+import com.example.entity.ChatArchiveBlock;
+import com.example.repository.ChatArchiveBlockRepository;
+import com.example.repository.ChatArchiveRepository;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 圧縮済みチャットアーカイブの読み出し。
+ *
+ * 通し番号（オフセット）からブロック番号を算出し、該当範囲のブロック行だけを読み込んで展開する。
+ * 展開済みブロックは少数だけ LRU で保持し、リプレイの連続再生・先読みでの再展開を避ける
+ * （キャッシュにあるブロックは DB から読まず、無いブロックの行だけを読む）。
+ */
+@Service
+@Transactional(readOnly = true)
+public class ChatArchiveService {
+
+    private final ChatArchiveRepository archiveRepository;
+    private final ChatArchiveBlockRepository blockRepository;
+
+    /** (アーカイブID, ブロック番号) → 展開済みメッセージ列 */
+    private final Map<BlockKey, List<ArchivedChatMessage>> blockCache;
+
+    private record BlockKey(UUID archiveId, int blockNo) {
+    }
+
+    public ChatArchiveService(ChatArchiveRepository archiveRepository,
+                              ChatArchiveBlockRepository blockRepository,
+                              ChatProperties chatProperties) {
+        this.archiveRepository = archiveRepository;
+        this.blockRepository = blockRepository;
+        int capacity = chatProperties.getReplay().getBlockCacheSize();
+        this.blockCache = Collections.synchronizedMap(new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BlockKey, List<ArchivedChatMessage>> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    /**
+     * 配信のアーカイブを取得する（未アーカイブ・作成途中なら空）。
+     */
+    public Optional<ChatArchive> findArchive(UUID liveStreamId) {
+        return archiveRepository.findByLiveStream_Id(liveStreamId).filter(ChatArchive::isComplete);
+    }
+
+    /**
+     * 通し番号 {@code offset} から最大 {@code limit} 件を投稿順で読み出す。
+     *
+     * @param archive アーカイブ
+     * @param offset  先頭からの通し番号（0始まり）
+     * @param limit   最大件数
+     * @return 投稿順のメッセージ
+     */
+    public List<ArchivedChatMessage> read(ChatArchive archive, int offset, int limit) {
+        int from = Math.max(0, offset);
+        int to = (int) Math.min((long) from + Math.max(0, limit), archive.getMessageCount());
+        if (from >= to) return List.of();
+
+        // 展開済みのブロックはキャッシュから取り、無いブロックの行だけをまとめて読む
+        int firstBlock = archive.blockOf(from);
+        int lastBlock = archive.blockOf(to - 1);
+        List<List<ArchivedChatMessage>> blocks = new ArrayList<>(lastBlock - firstBlock + 1);
+        List<Integer> missing = new ArrayList<>();
+        for (int blockNo = firstBlock; blockNo <= lastBlock; blockNo++) {
+            List<ArchivedChatMessage> cached = blockCache.get(new BlockKey(archive.getId(), blockNo));
+            blocks.add(cached);
+            if (cached == null) missing.add(blockNo);
+        }
+        if (!missing.isEmpty()) {
+            for (ChatArchiveBlock block : blockRepository.findByArchive_IdAndBlockNoInOrderByBlockNo(
+                    archive.getId(), missing)) {
+                blocks.set(block.getBlockNo() - firstBlock, decode(archive.getId(), block));
+            }
+        }
+
+        List<ArchivedChatMessage> result = new ArrayList<>(to - from);
+        for (int i = 0; i < blocks.size(); i++) {
+            List<ArchivedChatMessage> messages = blocks.get(i);
+            if (messages == null) continue; // 行が無いブロック（書き込み途中で放棄されたものなど）
+            // 最後のブロック以外は満杯なので、先頭の通し番号はブロック番号から決まる
+            int firstOrdinal = (firstBlock + i) * archive.getBlockSize();
+            int start = Math.max(from - firstOrdinal, 0);
+            int end = Math.min(to - firstOrdinal, messages.size());
+            if (start < end) {
+                result.addAll(messages.subList(start, end));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 指定ブロックを展開して返す（LRU 経由）。ブロックが存在しなければ空。
+     *
+     * @param archive アーカイブ
+     * @param blockNo ブロック番号（0始まり）
+     * @return ブロック内のメッセージ（投稿順、変更不可）
+     */
+    public List<ArchivedChatMessage> block(ChatArchive archive, int blockNo) {
+        List<ArchivedChatMessage> cached = blockCache.get(new BlockKey(archive.getId(), blockNo));
+        if (cached != null) return cached;
+        return blockRepository.findByArchive_IdAndBlockNoBetweenOrderByBlockNo(archive.getId(), blockNo, blockNo)
+                .stream()
+                .findFirst()
+                .map(b -> decode(archive.getId(), b))
+                .orElse(List.of());
+    }
+
+    /**
+     * リプレイ用の時刻インデックスを返す（インデックス未作成のアーカイブは空）。
+     */
+    public Optional<ChatReplayIndex> replayIndex(ChatArchive archive) {
+        return Optional.ofNullable(archive.getReplayIndex()).map(ChatReplayIndex::fromBytes);
+    }
+
+    private List<ArchivedChatMessage> decode(UUID archiveId, ChatArchiveBlock block) {
+        return blockCache.computeIfAbsent(new BlockKey(archiveId, block.getBlockNo()),
+                key -> List.copyOf(ChatArchiveCodec.decode(block.getData())));
+    }
+
+    /**
+     * アーカイブ済みメッセージをレスポンスDTOへ変換する。
+     */
+    public static ChatMessageResponseDTO toResponse(UUID liveStreamId, ArchivedChatMessage m) {
+        return ChatMessageResponseDTO.builder()
+                .id(m.id())
+                .liveStreamId(liveStreamId)
+                .userId(m.userId())
+                .userName(m.userName())
+                .message(m.message())
+                .createdAt(m.createdAt())
+                .updatedAt(m.createdAt())
+                .build();
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.service.chat;
+
+import com.example.config.ChatProperties;
+import com.example.entity.ChatArchive;
+import com.example.entity.ChatArchiveBlock;
+import com.example.entity.ChatMessage;
+import com.example.entity.LiveStream;
+import com.example.enums.StreamStatus;
+import com.example.event.LiveStreamLifecycleEvent;
+import com.example.repository.ChatArchiveBlockRepository;
+import com.example.repository.ChatArchiveRepository;
+import com.example.repository.ChatMessageRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 終了（ENDED / CANCELLED）した配信のチャットを圧縮アーカイブへ詰め替えるバックグラウンドジョブ。
+ *
+ * 1. 投稿順にキーセットで読み込み、{@link ChatArchiveCodec} で固定件数ずつブロック化して保存する。
+ *    読み込み1チャンクごとに1トランザクションとし、行ロックと undo を小さく保つ。
+ * 2. 同時に配信開始からの経過時間で引ける疎な時刻インデックス（{@link ChatReplayIndex}）を作り、
+ *    最後のチャンクのトランザクションでヘッダの集計値と一緒に確定する（確定までは読み出しに使われない）。
+ * 3. アーカイブの確定後、元の chat_messages 行をチャンク単位（1チャンク1トランザクション）で削除する。
+ *    削除するのはアーカイブ済みの最後の (投稿日時, ID) 以下の行だけで、アーカイブ後に届いた行は残す。
+ *
+ * 配信終了イベントを契機に非同期で実行し、取りこぼし（キュー溢れ・再起動）は定期スイープで回収する。
+ * 作成途中のまま {@code abandonAfterMs} 進まないアーカイブは、書き込みジョブが止まったとみなして作り直す。
+ */
+@Service
+public class ChatCompactionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatCompactionService.class);
+
+    private static final List<StreamStatus> TERMINAL_STATUSES = List.of(StreamStatus.ENDED, StreamStatus.CANCELLED);
+
+    /** スイープで1回に拾う配信数 */
+    private static final int SWEEP_PAGE_SIZE = 100;
+
+    /** 放棄したアーカイブのブロックを1トランザクションで削除する数 */
+    private static final int DISCARD_BLOCKS_PER_TX = 16;
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatArchiveRepository archiveRepository;
+    private final ChatArchiveBlockRepository blockRepository;
+    private final ChatProperties.Archive props;
+    private final long checkpointIntervalMs;
+    private final TransactionTemplate tx;
+
+    /** 実行中の配信ID（イベントとスイープの二重実行防止） */
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public ChatCompactionService(ChatMessageRepository chatMessageRepository,
+                                 ChatArchiveRepository archiveRepository,
+                                 ChatArchiveBlockRepository blockRepository,
+                                 ChatProperties chatProperties,
+                                 PlatformTransactionManager transactionManager) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.archiveRepository = archiveRepository;
+        this.blockRepository = blockRepository;
+        this.props = chatProperties.getArchive();
+        this.checkpointIntervalMs = chatProperties.getReplay().getCheckpointIntervalMs();
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    // ========================================================
+    // ======================= トリガー ========================
+    // ========================================================
+
+    /**
+     * 配信終了のコミット後にアーカイブ化を開始する。
+     */
+    @Async("chatCompactionExecutor")
+    @TransactionalEventListener
+    public void onLifecycle(LiveStreamLifecycleEvent event) {
+        if (event.isTerminal()) {
+            compact(event.liveStreamId());
+        }
+    }
+
+    /**
+     * 行が残ったままの終了配信を拾ってアーカイブ化する。
+     * 配信IDのキーセットで {@link #SWEEP_PAGE_SIZE} 件ずつ辿り、1回の検索が走査する範囲を区切る。
+     */
+    @Scheduled(initialDelayString = "${app.chat.archive.sweep-interval-ms:600000}",
+               fixedDelayString = "${app.chat.archive.sweep-interval-ms:600000}")
+    public void sweep() {
+        UUID after = new UUID(0L, 0L);
+        while (true) {
+            UUID from = after;
+            List<UUID> targets = tx.execute(status -> chatMessageRepository.findCompactableLiveStreamIds(
+                    TERMINAL_STATUSES, from, PageRequest.of(0, SWEEP_PAGE_SIZE)));
+            if (targets == null || targets.isEmpty()) return;
+            targets.forEach(this::compact);
+            after = targets.get(targets.size() - 1);
+        }
+    }
+
+    // ========================================================
+    // ====================== 本体処理 ========================
+    // ========================================================
+
+    /**
+     * 指定配信のチャットをアーカイブ化し、アーカイブ済みの元の行を削除する。
+     * 既にアーカイブが存在する場合（前回の削除途中で停止した等）は削除のみ行う。
+     * 作成途中のアーカイブは、放棄されたものだけ破棄して作り直す（書き込み中なら何もしない）。
+     */
+    public void compact(UUID liveStreamId) {
+        if (!inFlight.add(liveStreamId)) return;
+        try {
+            Optional<ChatArchive> archive = tx.execute(status -> archiveRepository.findByLiveStream_Id(liveStreamId));
+            if (archive != null && archive.isPresent() && !archive.get().isComplete()) {
+                if (!discardIfAbandoned(archive.get().getId())) return;
+                archive = Optional.empty();
+            }
+            if (archive == null || archive.isEmpty()) {
+                int count = writeArchive(liveStreamId);
+                log.info("chat archived: stream={}, messages={}", liveStreamId, count);
+                archive = tx.execute(status -> archiveRepository.findByLiveStream_Id(liveStreamId));
+            }
+            if (archive == null || archive.isEmpty() || !archive.get().isComplete()) return;
+            int deleted = deleteRows(liveStreamId, archive.get().getLastMessageAt(), archive.get().getLastMessageId());
+            if (deleted > 0) {
+                log.info("chat rows compacted: stream={}, deleted={}", liveStreamId, deleted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("chat compaction failed: stream={}", liveStreamId, e);
+        } finally {
+            inFlight.remove(liveStreamId);
+        }
+    }
+
+    /**
+     * メッセージを投稿順に読み込み、ブロック単位で圧縮保存する。
+     * ヘッダの作成・読み込み1チャンクごとの書き込み・確定をそれぞれ別のトランザクションで行う。
+     *
+     * @return アーカイブしたメッセージ件数（0件ならアーカイブは作成しない）
+     */
+    private int writeArchive(UUID liveStreamId) {
+        BlockWriter writer = tx.execute(status -> {
+            List<ChatMessage> first = chatMessageRepository.findFirstChunk(liveStreamId, PageRequest.of(0, 1));
+            if (first.isEmpty()) return null;
+
+            LiveStream stream = em.find(LiveStream.class, liveStreamId);
+            LocalDateTime origin = stream.getStartedAt() != null ? stream.getStartedAt() : first.get(0).getCreatedAt();
+            ChatArchive archive = new ChatArchive(stream, props.getBlockSize());
+            em.persist(archive);
+            return new BlockWriter(archive.getId(), origin);
+        });
+        if (writer == null) return 0;
+
+        while (true) {
+            Boolean more = tx.execute(status -> writer.writeNextChunk(liveStreamId));
+            if (!Boolean.TRUE.equals(more)) return writer.count;
+        }
+    }
+
+    /**
+     * 作成途中のアーカイブが {@code abandonAfterMs} 以上進んでいなければ放棄済みにし、ブロックとヘッダを削除する。
+     * ブロックは番号範囲ごとに別のトランザクションで削除する。
+     *
+     * @return 破棄した（または既に無かった）なら true、書き込み中・確定済みなら false
+     */
+    private boolean discardIfAbandoned(UUID archiveId) {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(Duration.ofMillis(props.getAbandonAfterMs()));
+        Integer blockCount = tx.execute(status -> {
+            ChatArchive archive = em.find(ChatArchive.class, archiveId, LockModeType.PESSIMISTIC_WRITE);
+            if (archive == null) return 0;
+            if (archive.isComplete()) return null;
+            if (!archive.isAbandoned()) {
+                LocalDateTime touchedAt = archive.getUpdatedAt() != null ? archive.getUpdatedAt() : archive.getCreatedAt();
+                if (touchedAt.isAfter(staleBefore)) return null;
+                archive.abandon();
+            }
+            return archive.getBlockCount();
+        });
+        if (blockCount == null) return false;
+
+        for (int from = 0; from < blockCount; from += DISCARD_BLOCKS_PER_TX) {
+            int fromBlock = from;
+            tx.executeWithoutResult(status ->
+                    blockRepository.deleteBlockRange(archiveId, fromBlock, fromBlock + DISCARD_BLOCKS_PER_TX));
+        }
+        tx.executeWithoutResult(status -> archiveRepository.findById(archiveId).ifPresent(archiveRepository::delete));
+        log.warn("abandoned chat archive discarded: archive={}, blocks={}", archiveId, blockCount);
+        return true;
+    }
+
+    /**
+     * 元の chat_messages 行のうち、(投稿日時, ID) がアーカイブ済みの位置以下のものをチャンク単位で削除する。
+     *
+     * @return 削除した行数
+     */
+    private int deleteRows(UUID liveStreamId, LocalDateTime upToAt, UUID upToId) {
+        int total = 0;
+        while (true) {
+            Integer deleted = tx.execute(status -> {
+                List<UUID> ids = chatMessageRepository.findIdsUpTo(
+                        liveStreamId, upToAt, upToId, PageRequest.of(0, props.getDeleteChunkSize()));
+                return ids.isEmpty() ? 0 : chatMessageRepository.deleteByIdIn(ids);
+            });
+            if (deleted == null || deleted == 0) return total;
+            total += deleted;
+        }
+    }
+
+    /**
+     * メッセージを固定件数ずつ溜めて圧縮ブロックとして書き出す。
+     * 読み込み位置・端数のバッファ・時刻インデックスはトランザクションをまたいでメモリ上に持つ。
+     */
+    private final class BlockWriter {
+        private final UUID archiveId;
+        private final LocalDateTime origin;
+        private final ChatReplayIndex.Builder index = new ChatReplayIndex.Builder(checkpointIntervalMs);
+        private final List<ArchivedChatMessage> buffer = new ArrayList<>();
+        private int count;
+        private int blockNo;
+        private long rawBytes;
+        private long compressedBytes;
+        private LocalDateTime firstAt;
+        private LocalDateTime lastAt;
+        private UUID lastId;
+
+        BlockWriter(UUID archiveId, LocalDateTime origin) {
+            this.archiveId = archiveId;
+            this.origin = origin;
+        }
+
+        /**
+         * 前回の読み込み位置の続きを1チャンク読み込んで書き出す（呼び出し側のトランザクション内）。
+         * 続きが無ければ端数のブロックを書き出してヘッダを確定する。
+         *
+         * @return まだ続きがあれば true、確定したら false
+         */
+        boolean writeNextChunk(UUID liveStreamId) {
+            // ヘッダをロックし、放棄されていたら（停止とみなされて作り直し中なら）中断する
+            ChatArchive archive = em.find(ChatArchive.class, archiveId, LockModeType.PESSIMISTIC_WRITE);
+            if (archive == null || archive.isAbandoned()) {
+                throw new IllegalStateException("作成途中のアーカイブが放棄されました: " + archiveId);
+            }
+            PageRequest page = PageRequest.of(0, props.getReadChunkSize());
+            List<ChatMessage> chunk = lastId == null
+                    ? chatMessageRepository.findFirstChunk(liveStreamId, page)
+                    : chatMessageRepository.findChunkAfter(liveStreamId, lastAt, lastId, page);
+            for (ChatMessage m : chunk) {
+                add(new ArchivedChatMessage(
+                        m.getId(), m.getUser().getId(), m.getUser().getName(), m.getMessage(), m.getCreatedAt()));
+            }
+            if (!chunk.isEmpty()) {
+                archive.recordProgress(count, blockNo);
+                return true;
+            }
+
+            finish();
+            archive.complete(count, blockNo, rawBytes, compressedBytes, firstAt, lastAt, lastId);
+            archive.attachReplayIndex(origin, index.build().toBytes());
+            return false;
+        }
+
+        void add(ArchivedChatMessage message) {
+            if (firstAt == null) firstAt = message.createdAt();
+            lastAt = message.createdAt();
+            lastId = message.id();
+            index.add(Duration.between(origin, message.createdAt()).toMillis());
+            buffer.add(message);
+            if (buffer.size() >= props.getBlockSize()) {
+                flushBlock();
+            }
+        }
+
+        void finish() {
+            if (!buffer.isEmpty()) {
+                flushBlock();
+            }
+        }
+
+        private void flushBlock() {
+            ChatArchiveCodec.EncodedBlock encoded = ChatArchiveCodec.encode(buffer);
+            em.persist(new ChatArchiveBlock(em.getReference(ChatArchive.class, archiveId), blockNo, count,
+                    buffer.size(), buffer.get(0).createdAt(), encoded.data()));
+            rawBytes += encoded.rawLength();
+            compressedBytes += encoded.data().length;
+            count += buffer.size();
+            blockNo++;
+            buffer.clear();
+        }
+    }
+}
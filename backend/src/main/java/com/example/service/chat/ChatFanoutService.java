@@ -0,0 +1,192 @@
+package com.example.service.chat;
+
+import com.example.config.ChatProperties;
+import com.example.dto.chat_messages.ChatMessageResponseDTO;
+import com.example.dto.chat_messages.ChatReactionBurstDTO;
+import com.example.event.LiveStreamLifecycleEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * チャットの視聴者向けファンアウト（SSE配信）を担うサービス。
+ *
+ * 1. リアクション（絵文字・定型の一語）は {@link ReactionAggregator} で集約し、ウィンドウごとに件数付きで配信する。
+ * 2. 配信ごとのメッセージレートを {@link ChatFanoutThrottle} で計測し、
+ *    高負荷時は N 件に1件の間引き配信＋集約結果のみに切り替える。
+ * 3. JSON への変換はメッセージごとに1回だけ行い、全視聴者で使い回す。
+ *
+ * 投稿は {@link ChatRelayService} がノード間で中継し、連番順に並べ直したうえで {@link #publish} に渡す。
+ */
+@Service
+public class ChatFanoutService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatFanoutService.class);
+
+    static final String EVENT_MESSAGE = "message";
+    static final String EVENT_REACTION = "reaction";
+
+    private final ChatProperties props;
+    private final ObjectMapper objectMapper;
+    private final ReactionAggregator aggregator;
+    private final ChatFanoutThrottle throttle;
+
+    /** 配信ID → 接続中の視聴者 */
+    private final ConcurrentHashMap<UUID, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    private volatile long lastFlushAt = System.currentTimeMillis();
+
+    public ChatFanoutService(ChatProperties props, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.objectMapper = objectMapper;
+        this.aggregator = new ReactionAggregator(props.getReactionMaxLength(), props.getReactionWords());
+        this.throttle = new ChatFanoutThrottle(
+                props.getSampledModeEnterRate(), props.getSampledModeExitRate(), props.getTargetDeliveryRate());
+
+        meterRegistry.gauge("chat.fanout.subscribers", subscribers,
+                m -> m.values().stream().mapToInt(Set::size).sum());
+        meterRegistry.gauge("chat.fanout.sampled.streams", throttle, ChatFanoutThrottle::sampledStreamCount);
+    }
+
+    // ========================================================
+    // ==================== 購読（視聴者） =====================
+    // ========================================================
+
+    /**
+     * 視聴者として配信のチャットを購読する。
+     *
+     * @param liveStreamId 配信ID
+     * @return SSE エミッタ（切断・タイムアウト時に自動で購読解除される）
+     */
+    public SseEmitter subscribe(UUID liveStreamId) {
+        SseEmitter emitter = new SseEmitter(props.getSseTimeoutMs());
+        Set<SseEmitter> set = subscribers.computeIfAbsent(liveStreamId, id -> ConcurrentHashMap.newKeySet());
+        set.add(emitter);
+
+        Runnable remove = () -> unsubscribe(liveStreamId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    /**
+     * 自ノードにこの配信の視聴者がいるか。
+     */
+    public boolean hasSubscribers(UUID liveStreamId) {
+        Set<SseEmitter> set = subscribers.get(liveStreamId);
+        return set != null && !set.isEmpty();
+    }
+
+    /**
+     * 配信終了のコミット後に、その配信の購読をすべて閉じる。
+     */
+    @TransactionalEventListener
+    public void onLifecycle(LiveStreamLifecycleEvent event) {
+        if (event.isTerminal()) {
+            closeStream(event.liveStreamId());
+        }
+    }
+
+    /**
+     * 配信終了時に全視聴者の接続を閉じ、集約・計測状態を破棄する。
+     */
+    public void closeStream(UUID liveStreamId) {
+        Set<SseEmitter> set = subscribers.remove(liveStreamId);
+        if (set != null) {
+            set.forEach(SseEmitter::complete);
+        }
+        aggregator.forget(liveStreamId);
+        throttle.forget(liveStreamId);
+    }
+
+    // ========================================================
+    // ===================== 配信（投稿） ======================
+    // ========================================================
+
+    /**
+     * メッセージをファンアウトステージに投入する。
+     * リアクションは集約され、それ以外は間引き判定を通過した場合のみ即時配信される。
+     */
+    public void publish(ChatMessageResponseDTO message) {
+        UUID streamId = message.getLiveStreamId();
+        throttle.record(streamId);
+
+        if (aggregator.offer(streamId, message.getMessage())) {
+            return; // 次のウィンドウ締めで件数付きで配信
+        }
+        if (!throttle.shouldDeliver(streamId)) {
+            return;
+        }
+        broadcast(streamId, EVENT_MESSAGE, message);
+    }
+
+    /**
+     * 集約ウィンドウを締め、レートを更新してリアクション件数を配信する。
+     */
+    @Scheduled(fixedDelayString = "${app.chat.aggregation-window-ms:1000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        long elapsed = now - lastFlushAt;
+        lastFlushAt = now;
+        throttle.tick(elapsed);
+
+        for (Map.Entry<UUID, Map<String, Long>> stream : aggregator.drain().entrySet()) {
+            UUID streamId = stream.getKey();
+            int sampleEvery = throttle.sampleEvery(streamId);
+            stream.getValue().forEach((reaction, count) -> broadcast(streamId, EVENT_REACTION,
+                    ChatReactionBurstDTO.builder()
+                            .liveStreamId(streamId)
+                            .reaction(reaction)
+                            .count(count)
+                            .windowMs(elapsed)
+                            .sampleEvery(sampleEvery)
+                            .build()));
+        }
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private void broadcast(UUID liveStreamId, String eventName, Object payload) {
+        Set<SseEmitter> set = subscribers.get(liveStreamId);
+        if (set == null || set.isEmpty()) return;
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.warn("chat payload serialization failed: stream={}", liveStreamId, e);
+            return;
+        }
+
+        for (SseEmitter emitter : set) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(json, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                // 切断済みのクライアントは購読解除
+                unsubscribe(liveStreamId, emitter);
+            }
+        }
+    }
+
+    private void unsubscribe(UUID liveStreamId, SseEmitter emitter) {
+        subscribers.computeIfPresent(liveStreamId, (id, set) -> {
+            set.remove(emitter);
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
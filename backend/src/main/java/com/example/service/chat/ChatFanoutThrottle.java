@@ -0,0 +1,117 @@
+package com.example.service.chat;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 配信ごとのメッセージレートを計測し、高負荷時に間引き配信（N件に1件）へ切り替えるスロットル。
+ *
+ * レートは {@link #tick(long)} ごとに指数移動平均（EWMA）で平滑化する。
+ * 切替には enter / exit の2つの閾値を用い、閾値付近でモードがばたつかないようにする。
+ */
+public class ChatFanoutThrottle {
+
+    /** EWMA の平滑化係数（直近ウィンドウの重み） */
+    private static final double ALPHA = 0.5;
+
+    private final double enterRate;
+    private final double exitRate;
+    private final double targetRate;
+
+    private final ConcurrentHashMap<UUID, StreamState> states = new ConcurrentHashMap<>();
+
+    /**
+     * @param enterRate  間引き配信へ切り替えるレート（件/秒）
+     * @param exitRate   間引き配信を解除するレート（件/秒）
+     * @param targetRate 間引き中に個別配信する目標レート（件/秒）
+     */
+    public ChatFanoutThrottle(double enterRate, double exitRate, double targetRate) {
+        if (exitRate > enterRate) {
+            throw new IllegalArgumentException("exitRate は enterRate 以下で指定してください");
+        }
+        if (targetRate <= 0) {
+            throw new IllegalArgumentException("targetRate は正の値で指定してください");
+        }
+        this.enterRate = enterRate;
+        this.exitRate = exitRate;
+        this.targetRate = targetRate;
+    }
+
+    /** 受信メッセージを1件計上する。 */
+    public void record(UUID liveStreamId) {
+        states.computeIfAbsent(liveStreamId, id -> new StreamState()).received.increment();
+    }
+
+    /**
+     * 個別メッセージを視聴者へ配信すべきかを判定する。
+     * 通常モードでは常に true、間引きモードでは N 件に1件だけ true を返す。
+     */
+    public boolean shouldDeliver(UUID liveStreamId) {
+        StreamState state = states.get(liveStreamId);
+        if (state == null) return true;
+        int every = state.sampleEvery;
+        return every <= 1 || state.sequence.incrementAndGet() % every == 0;
+    }
+
+    /**
+     * 1ウィンドウ分の計測を締めて、各配信のレートとモードを更新する。
+     *
+     * @param elapsedMillis 前回の tick からの経過時間（ミリ秒）
+     */
+    public void tick(long elapsedMillis) {
+        if (elapsedMillis <= 0) return;
+        states.forEach((streamId, state) -> {
+            double rate = state.received.sumThenReset() * 1000.0 / elapsedMillis;
+            state.rate = ALPHA * rate + (1 - ALPHA) * state.rate;
+
+            boolean sampled = state.sampleEvery > 1;
+            if (!sampled && state.rate >= enterRate) {
+                state.sampleEvery = sampleInterval(state.rate);
+            } else if (sampled && state.rate < exitRate) {
+                state.sampleEvery = 1;
+            } else if (sampled) {
+                state.sampleEvery = sampleInterval(state.rate);
+            }
+
+            // 十分に静かになった配信は状態ごと破棄
+            if (state.sampleEvery == 1 && state.rate < 0.01) {
+                states.remove(streamId, state);
+            }
+        });
+    }
+
+    /** 現在の間引き間隔（1 = 全件配信） */
+    public int sampleEvery(UUID liveStreamId) {
+        StreamState state = states.get(liveStreamId);
+        return state == null ? 1 : state.sampleEvery;
+    }
+
+    /** 平滑化済みのメッセージレート（件/秒） */
+    public double rate(UUID liveStreamId) {
+        StreamState state = states.get(liveStreamId);
+        return state == null ? 0 : state.rate;
+    }
+
+    /** 現在間引きモードにある配信数 */
+    public long sampledStreamCount() {
+        return states.values().stream().filter(s -> s.sampleEvery > 1).count();
+    }
+
+    /** 配信終了時などに、その配信の計測状態を破棄する。 */
+    public void forget(UUID liveStreamId) {
+        states.remove(liveStreamId);
+    }
+
+    private int sampleInterval(double rate) {
+        return Math.max(2, (int) Math.ceil(rate / targetRate));
+    }
+
+    private static final class StreamState {
+        final LongAdder received = new LongAdder();
+        final AtomicLong sequence = new AtomicLong();
+        volatile double rate;
+        volatile int sampleEvery = 1;
+    }
+}
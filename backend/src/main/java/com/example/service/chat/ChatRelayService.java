@@ -0,0 +1,305 @@
+package com.example.service.chat;
+
+import com.example.config.ChatProperties;
+import com.example.dto.chat_messages.ChatMessageCreateRequestDTO;
+import com.example.dto.chat_messages.ChatMessageResponseDTO;
+import com.example.event.ChatMessagePostedEvent;
+import com.example.event.LiveStreamLifecycleEvent;
+import com.example.service.ChatService;
+import com.example.service.chat.relay.BatchingPublisher;
+import com.example.service.chat.relay.ChatBroker;
+import com.example.service.chat.relay.ConsistentHashRing;
+import com.example.service.chat.relay.RelayEnvelope;
+import com.example.service.chat.relay.SequenceReorderer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 複数ノード間のチャット中継。
+ *
+ * 1. 配信ごとのオーナーノードを {@link ConsistentHashRing} で決め、投稿の永続化と連番付与はオーナーだけが行う。
+ *    オーナー以外のノードに来た投稿はノード宛てトピックで転送し、オーナーの応答を待って返す。
+ * 2. 永続化のコミット後、オーナーは配信トピック（{@code stream/<id>}）へ連番付きで送信する（バッチ化）。
+ * 3. 各ノードは視聴者がいる配信のトピックだけを購読し、送信元（ノード, 起動世代）ごとに連番順へ並べ直してから
+ *    {@link ChatFanoutService} へ渡す（欠番は一定時間待って諦める）。オーナーが交代しても、新しいオーナーの
+ *    連番は旧オーナーと比べずにそのまま配送する。
+ *
+ * 単一ノード構成ではブローカーが自ノードへ折り返すだけになり、挙動は従来と変わらない。
+ */
+@Service
+public class ChatRelayService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatRelayService.class);
+
+    static final String TYPE_MESSAGE = "message";
+    static final String TYPE_POST = "post";
+    static final String TYPE_REPLY = "reply";
+
+    static final String ERROR_NOT_FOUND = "NOT_FOUND";
+    static final String ERROR_BAD_REQUEST = "BAD_REQUEST";
+    static final String ERROR_INTERNAL = "INTERNAL";
+
+    /** 他ノードへ転送する投稿 */
+    record ForwardedPost(String requestId, UUID liveStreamId, UUID userId, String message) {
+    }
+
+    /** 転送された投稿に対するオーナーの応答（成功時は message、失敗時は errorType と error） */
+    record ForwardedReply(String requestId, ChatMessageResponseDTO message, String errorType, String error) {
+    }
+
+    private final ChatProperties.Relay props;
+    private final ChatBroker broker;
+    private final BatchingPublisher publisher;
+    private final SequenceReorderer reorderer;
+    private final ConsistentHashRing ring;
+    private final ChatFanoutService fanoutService;
+    private final ChatService chatService;
+    private final ObjectMapper objectMapper;
+    private final Executor relayExecutor;
+
+    private final String nodeId;
+    /** 起動世代。ノードID と組で連番の系列を区別し、再起動で連番がリセットされたことを受信側に伝える */
+    private final long epoch = System.currentTimeMillis();
+
+    /** オーナーとして振る配信ごとの連番 */
+    private final Map<UUID, AtomicLong> sequences = new ConcurrentHashMap<>();
+    /** 購読中の配信トピック */
+    private final Map<UUID, ChatBroker.Subscription> streamSubscriptions = new ConcurrentHashMap<>();
+    /** 転送中の投稿（requestId → 応答待ち） */
+    private final Map<String, CompletableFuture<ForwardedReply>> pendingForwards = new ConcurrentHashMap<>();
+
+    public ChatRelayService(ChatProperties chatProperties,
+                            ChatBroker broker,
+                            ChatFanoutService fanoutService,
+                            ChatService chatService,
+                            ObjectMapper objectMapper,
+                            @Qualifier("chatRelayExecutor") Executor relayExecutor) {
+        this.props = chatProperties.getRelay();
+        this.broker = broker;
+        this.fanoutService = fanoutService;
+        this.chatService = chatService;
+        this.objectMapper = objectMapper;
+        this.relayExecutor = relayExecutor;
+        this.nodeId = props.getNodeId();
+
+        Set<String> nodes = new LinkedHashSet<>(props.getNodes());
+        nodes.add(nodeId);
+        this.ring = new ConsistentHashRing(nodes, props.getVirtualNodes());
+        this.publisher = new BatchingPublisher(broker, props.getBatchSize(), props.getLingerMs());
+        this.reorderer = new SequenceReorderer(props.getReorderMaxPending(), props.getReorderGapTimeoutMs());
+
+        broker.subscribe(RelayEnvelope.nodeTopic(nodeId), this::onNodeMessage);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        publisher.close();
+    }
+
+    // ========================================================
+    // ==================== 購読（視聴者） =====================
+    // ========================================================
+
+    /**
+     * 視聴者として配信のチャットを購読する。初回の視聴者が来た時点で配信トピックを購読する。
+     */
+    public SseEmitter subscribe(UUID liveStreamId) {
+        streamSubscriptions.computeIfAbsent(liveStreamId,
+                id -> broker.subscribe(RelayEnvelope.streamTopic(id), this::onStreamMessage));
+        return fanoutService.subscribe(liveStreamId);
+    }
+
+    /**
+     * 自ノードに視聴者がいなくなった配信のトピック購読を外す。
+     */
+    @Scheduled(fixedDelayString = "${app.chat.relay.prune-interval-ms:60000}")
+    public void pruneSubscriptions() {
+        streamSubscriptions.keySet().stream()
+                .filter(id -> !fanoutService.hasSubscribers(id))
+                .toList()
+                .forEach(this::unsubscribe);
+    }
+
+    /**
+     * 配信終了のコミット後に、連番・購読・並べ替え状態を破棄する。
+     */
+    @TransactionalEventListener
+    public void onLifecycle(LiveStreamLifecycleEvent event) {
+        if (event.isTerminal()) {
+            sequences.remove(event.liveStreamId());
+            unsubscribe(event.liveStreamId());
+        }
+    }
+
+    // ========================================================
+    // ===================== 投稿・送信 ========================
+    // ========================================================
+
+    /**
+     * 配信がこのノードの担当か。
+     */
+    public boolean isOwner(UUID liveStreamId) {
+        return nodeId.equals(ring.ownerOf(liveStreamId));
+    }
+
+    /**
+     * チャットを投稿する。担当外の配信はオーナーノードへ転送し、永続化結果を待って返す。
+     *
+     * @throws NoSuchElementException   配信が存在しない、または削除済みの場合
+     * @throws IllegalArgumentException 配信中（LIVE）でない場合
+     * @throws IllegalStateException    オーナーノードが応答しない場合
+     */
+    public ChatMessageResponseDTO post(UUID liveStreamId, UUID userId, ChatMessageCreateRequestDTO request) {
+        if (isOwner(liveStreamId)) {
+            return chatService.postMessage(liveStreamId, userId, request);
+        }
+
+        String requestId = UUID.randomUUID().toString();
+        CompletableFuture<ForwardedReply> reply = new CompletableFuture<>();
+        pendingForwards.put(requestId, reply);
+        try {
+            String owner = ring.ownerOf(liveStreamId);
+            publisher.offer(envelope(RelayEnvelope.nodeTopic(owner), 0, TYPE_POST,
+                    new ForwardedPost(requestId, liveStreamId, userId, request.getMessage())));
+            return unwrap(reply.get(props.getForwardTimeoutMs(), TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("チャットの担当ノードが応答しません", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("チャットの転送が中断されました", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("チャットの転送に失敗しました", e.getCause());
+        } finally {
+            pendingForwards.remove(requestId);
+        }
+    }
+
+    /**
+     * オーナーとして永続化した投稿を、コミット後に配信トピックへ送信する。
+     */
+    @TransactionalEventListener
+    public void onMessagePosted(ChatMessagePostedEvent event) {
+        UUID streamId = event.message().getLiveStreamId();
+        long seq = sequences.computeIfAbsent(streamId, id -> new AtomicLong()).incrementAndGet();
+        publisher.offer(envelope(RelayEnvelope.streamTopic(streamId), seq, TYPE_MESSAGE, event.message()));
+    }
+
+    // ========================================================
+    // ======================= 受信 ===========================
+    // ========================================================
+
+    private void onStreamMessage(RelayEnvelope envelope) {
+        reorderer.accept(envelope, System.currentTimeMillis(), this::deliver);
+    }
+
+    /**
+     * 欠番のまま後続が届かない配信トピックを、欠番を諦めて進める。
+     */
+    @Scheduled(fixedDelayString = "${app.chat.relay.reorder-gap-timeout-ms:500}")
+    public void skipReorderGaps() {
+        reorderer.skipExpiredGaps(System.currentTimeMillis(), this::deliver);
+    }
+
+    private void deliver(RelayEnvelope envelope) {
+        ChatMessageResponseDTO message = read(envelope.payload(), ChatMessageResponseDTO.class);
+        if (message != null) {
+            fanoutService.publish(message);
+        }
+    }
+
+    private void onNodeMessage(RelayEnvelope envelope) {
+        switch (envelope.type()) {
+            case TYPE_POST -> {
+                ForwardedPost post = read(envelope.payload(), ForwardedPost.class);
+                if (post != null) {
+                    relayExecutor.execute(() -> handleForwardedPost(envelope.origin(), post));
+                }
+            }
+            case TYPE_REPLY -> {
+                ForwardedReply reply = read(envelope.payload(), ForwardedReply.class);
+                if (reply != null) {
+                    CompletableFuture<ForwardedReply> waiting = pendingForwards.get(reply.requestId());
+                    if (waiting != null) waiting.complete(reply);
+                }
+            }
+            default -> log.warn("unknown relay message type: {}", envelope.type());
+        }
+    }
+
+    private void handleForwardedPost(String origin, ForwardedPost post) {
+        ForwardedReply reply;
+        try {
+            ChatMessageResponseDTO saved = chatService.postMessage(post.liveStreamId(), post.userId(),
+                    ChatMessageCreateRequestDTO.builder().message(post.message()).build());
+            reply = new ForwardedReply(post.requestId(), saved, null, null);
+        } catch (NoSuchElementException e) {
+            reply = new ForwardedReply(post.requestId(), null, ERROR_NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            reply = new ForwardedReply(post.requestId(), null, ERROR_BAD_REQUEST, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("forwarded chat post failed: stream={}", post.liveStreamId(), e);
+            reply = new ForwardedReply(post.requestId(), null, ERROR_INTERNAL, e.getMessage());
+        }
+        publisher.offer(envelope(RelayEnvelope.nodeTopic(origin), 0, TYPE_REPLY, reply));
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private void unsubscribe(UUID liveStreamId) {
+        ChatBroker.Subscription subscription = streamSubscriptions.remove(liveStreamId);
+        if (subscription != null) {
+            subscription.unsubscribe();
+        }
+        reorderer.forget(RelayEnvelope.streamTopic(liveStreamId));
+    }
+
+    private static ChatMessageResponseDTO unwrap(ForwardedReply reply) {
+        if (reply.errorType() == null) {
+            return reply.message();
+        }
+        switch (reply.errorType()) {
+            case ERROR_NOT_FOUND -> throw new NoSuchElementException(reply.error());
+            case ERROR_BAD_REQUEST -> throw new IllegalArgumentException(reply.error());
+            default -> throw new IllegalStateException(reply.error());
+        }
+    }
+
+    private RelayEnvelope envelope(String topic, long seq, String type, Object payload) {
+        try {
+            return new RelayEnvelope(topic, epoch, seq, nodeId, type, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("中継メッセージの変換に失敗しました", e);
+        }
+    }
+
+    private <T> T read(String payload, Class<T> type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (JsonProcessingException e) {
+            log.warn("relay payload deserialization failed: type={}", type.getSimpleName(), e);
+            return null;
+        }
+    }
+}
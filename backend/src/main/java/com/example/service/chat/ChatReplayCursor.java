@@ -0,0 +1,49 @@
+package com.example.service.chat;
+
+import com.example.util.UuidBinary;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * チャットリプレイの続きの位置（投稿日時, メッセージID）。件数上限で打ち切った時間窓の続きを
+ * 読むために、最後に返したメッセージの位置をクライアントへ不透明な文字列で渡す。
+ *
+ * 並びは投稿日時の昇順、同時刻は ID の昇順。ID は BINARY(16) の並び（符号なしのバイト順）に合わせて比較し、
+ * アーカイブのブロック内の順序と DB のキーセット読み出しで順序が一致するようにする。
+ *
+ * @param createdAt 投稿日時
+ * @param id        メッセージID
+ */
+public record ChatReplayCursor(LocalDateTime createdAt, UUID id) {
+
+    /**
+     * (createdAt, id) がこの位置より後ろか。
+     */
+    public boolean isBefore(LocalDateTime createdAt, UUID id) {
+        int c = this.createdAt.compareTo(createdAt);
+        if (c != 0) return c < 0;
+        return UuidBinary.compareUnsigned(this.id, id) < 0;
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException 形式が不正な場合
+     */
+    public static ChatReplayCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0) throw new IllegalArgumentException();
+            return new ChatReplayCursor(LocalDateTime.parse(raw.substring(0, sep)), UUID.fromString(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("カーソルの形式が不正です");
+        }
+    }
+}
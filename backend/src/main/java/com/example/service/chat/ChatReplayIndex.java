@@ -0,0 +1,164 @@
+package com.example.service.chat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * チャットリプレイ用の疎な時刻インデックス。
+ *
+ * 配信開始からの経過時間を {@code intervalMs} ごとのチェックポイントに区切り、
+ * 「チェックポイント番号 → その区間の先頭メッセージの通し番号」を、
+ * メッセージが存在する区間についてだけ保持する（無言区間はエントリを持たない）。
+ * シークはチェックポイント番号の二分探索で O(log n)。
+ */
+public final class ChatReplayIndex {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final long intervalMs;
+    private final int messageCount;
+    /** 昇順のチェックポイント番号 */
+    private final int[] checkpoints;
+    /** checkpoints[i] の区間の先頭メッセージの通し番号 */
+    private final int[] ordinals;
+
+    private ChatReplayIndex(long intervalMs, int messageCount, int[] checkpoints, int[] ordinals) {
+        this.intervalMs = intervalMs;
+        this.messageCount = messageCount;
+        this.checkpoints = checkpoints;
+        this.ordinals = ordinals;
+    }
+
+    public long intervalMs() {
+        return intervalMs;
+    }
+
+    public int messageCount() {
+        return messageCount;
+    }
+
+    /**
+     * 経過時間 {@code offsetMs} を含む区間の先頭メッセージの通し番号を返す。
+     * 返した位置より前に {@code offsetMs} 以降のメッセージは存在しない（該当なしなら messageCount）。
+     */
+    public int seekFloor(long offsetMs) {
+        return firstOrdinalFrom(checkpointOf(offsetMs));
+    }
+
+    /**
+     * {@code offsetMs} より前のメッセージがすべて収まる終端（排他的）の通し番号を返す。
+     */
+    public int seekCeil(long offsetMs) {
+        long cp = Math.max(0, offsetMs + intervalMs - 1) / intervalMs;
+        return firstOrdinalFrom(cp);
+    }
+
+    private long checkpointOf(long offsetMs) {
+        return Math.max(0, offsetMs) / intervalMs;
+    }
+
+    /** チェックポイント番号が cp 以上の最初のエントリの通し番号 */
+    private int firstOrdinalFrom(long cp) {
+        if (cp > Integer.MAX_VALUE) return messageCount;
+        int i = Arrays.binarySearch(checkpoints, (int) cp);
+        if (i < 0) i = -i - 1;
+        return i < ordinals.length ? ordinals[i] : messageCount;
+    }
+
+    // ========================================================
+    // ===================== 直列化 ===========================
+    // ========================================================
+
+    public byte[] toBytes() {
+        try {
+            ByteArrayOutputStream raw = new ByteArrayOutputStream(16 + checkpoints.length * 8);
+            DataOutputStream out = new DataOutputStream(raw);
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(intervalMs);
+            out.writeInt(messageCount);
+            out.writeInt(checkpoints.length);
+            for (int i = 0; i < checkpoints.length; i++) {
+                out.writeInt(checkpoints[i]);
+                out.writeInt(ordinals[i]);
+            }
+            out.flush();
+            return raw.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("リプレイインデックスの直列化に失敗しました", e);
+        }
+    }
+
+    public static ChatReplayIndex fromBytes(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readUnsignedByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("未対応のリプレイインデックス形式です: " + version);
+            }
+            long intervalMs = in.readLong();
+            int messageCount = in.readInt();
+            int n = in.readInt();
+            int[] checkpoints = new int[n];
+            int[] ordinals = new int[n];
+            for (int i = 0; i < n; i++) {
+                checkpoints[i] = in.readInt();
+                ordinals[i] = in.readInt();
+            }
+            return new ChatReplayIndex(intervalMs, messageCount, checkpoints, ordinals);
+        } catch (IOException e) {
+            throw new UncheckedIOException("リプレイインデックスの読み込みに失敗しました", e);
+        }
+    }
+
+    // ========================================================
+    // ===================== 構築 =============================
+    // ========================================================
+
+    /**
+     * 投稿順にメッセージの経過時間を受け取り、インデックスを組み立てる。
+     */
+    public static final class Builder {
+        private final long intervalMs;
+        private int[] checkpoints = new int[64];
+        private int[] ordinals = new int[64];
+        private int size;
+        private int count;
+        private long lastCheckpoint = -1;
+
+        public Builder(long intervalMs) {
+            if (intervalMs <= 0) {
+                throw new IllegalArgumentException("チェックポイント間隔は1ms以上で指定してください");
+            }
+            this.intervalMs = intervalMs;
+        }
+
+        /**
+         * 次の通し番号のメッセージを追加する。
+         *
+         * @param offsetMs 配信開始からの経過時間（負値は0扱い）
+         */
+        public void add(long offsetMs) {
+            long cp = Math.min(Math.max(0, offsetMs) / intervalMs, Integer.MAX_VALUE);
+            if (cp > lastCheckpoint) {
+                if (size == checkpoints.length) {
+                    checkpoints = Arrays.copyOf(checkpoints, size * 2);
+                    ordinals = Arrays.copyOf(ordinals, size * 2);
+                }
+                checkpoints[size] = (int) cp;
+                ordinals[size] = count;
+                size++;
+                lastCheckpoint = cp;
+            }
+            count++;
+        }
+
+        public ChatReplayIndex build() {
+            return new ChatReplayIndex(intervalMs, count,
+                    Arrays.copyOf(checkpoints, size), Arrays.copyOf(ordinals, size));
+        }
+    }
+}
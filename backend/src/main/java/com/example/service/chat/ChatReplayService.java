@@ -0,0 +1,193 @@
+package com.example.service.chat;
+
+import com.example.config.ChatProperties;
+import com.example.dto.chat_messages.ChatReplayMessageDTO;
+import com.example.dto.chat_messages.ChatReplayWindowDTO;
+import com.example.entity.ChatArchive;
+import com.example.entity.ChatMessage;
+import com.example.entity.LiveStream;
+import com.example.repository.ChatMessageRepository;
+import com.example.repository.LiveStreamRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * VOD の再生位置（配信開始からの経過時間）に同期したチャットリプレイ。
+ *
+ * 1. アーカイブ済みの配信は {@link ChatReplayIndex} で開始・終了位置の通し番号を O(log n) で求め、
+ *    該当ブロックだけを1つずつ展開しながら時間窓に入るメッセージを返す。
+ * 2. 未アーカイブ（配信中・圧縮待ち）の配信は (live_stream_id, created_at) の範囲検索で返す。
+ *
+ * 先読み（prefetch）はリクエストの時間窓を後ろに延長して返すもので、
+ * 展開済みブロックは {@link ChatArchiveService} の LRU に残るため連続再生では再展開しない。
+ * 件数上限で打ち切った場合は最後に返したメッセージの位置（{@link ChatReplayCursor}）を返し、
+ * 続きはその位置より後ろから読む（同一時刻のメッセージが上限より多くても重複・取りこぼしなく進む）。
+ */
+@Service
+@Transactional(readOnly = true)
+public class ChatReplayService {
+
+    private static final String STREAM_NOT_FOUND = "配信が見つからないか、削除されています";
+
+    private final ChatArchiveService chatArchiveService;
+    private final ChatMessageRepository chatMessageRepository;
+    private final LiveStreamRepository liveStreamRepository;
+    private final ChatProperties.Replay props;
+
+    public ChatReplayService(ChatArchiveService chatArchiveService,
+                             ChatMessageRepository chatMessageRepository,
+                             LiveStreamRepository liveStreamRepository,
+                             ChatProperties chatProperties) {
+        this.chatArchiveService = chatArchiveService;
+        this.chatMessageRepository = chatMessageRepository;
+        this.liveStreamRepository = liveStreamRepository;
+        this.props = chatProperties.getReplay();
+    }
+
+    /**
+     * 配信開始から {@code fromMs} 〜 {@code toMs}（＋先読み {@code prefetchMs}）のチャットを投稿順で取得する。
+     *
+     * @param liveStreamId 配信ID
+     * @param fromMs       開始位置（ms、0以上）
+     * @param toMs         終了位置（ms、排他的）
+     * @param prefetchMs   終了位置以降に先読みする時間（ms、0以上）
+     * @param after        前回打ち切られた時間窓の続きを読む場合のカーソル（null なら先頭から）
+     * @return 時間窓のチャット
+     * @throws IllegalArgumentException 範囲指定・カーソルが不正、または配信が未開始の場合
+     * @throws NoSuchElementException   配信が存在しない、または削除済みの場合
+     */
+    public ChatReplayWindowDTO replay(UUID liveStreamId, long fromMs, long toMs, long prefetchMs, String after) {
+        if (fromMs < 0 || prefetchMs < 0 || toMs <= fromMs) {
+            throw new IllegalArgumentException("再生位置の指定が不正です（0 <= from < to, prefetch >= 0）");
+        }
+        // toMs - fromMs は桁あふれしない。先読みは残りの幅と比べ、toMs + prefetchMs を計算する前に弾く
+        if (toMs - fromMs > props.getMaxWindowMs() || prefetchMs > props.getMaxWindowMs() - (toMs - fromMs)) {
+            throw new IllegalArgumentException("取得できる時間幅は最大 " + props.getMaxWindowMs() + "ms です");
+        }
+        long untilMs;
+        try {
+            untilMs = Math.addExact(toMs, prefetchMs);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("再生位置の指定が不正です（範囲が大きすぎます）");
+        }
+        ChatReplayCursor cursor = after == null || after.isBlank() ? null : ChatReplayCursor.decode(after);
+
+        Optional<ChatArchive> archive = chatArchiveService.findArchive(liveStreamId);
+        if (archive.isPresent() && archive.get().getReplayIndex() != null) {
+            return fromArchive(liveStreamId, archive.get(), fromMs, toMs, untilMs, cursor);
+        }
+        return fromTable(liveStreamId, fromMs, toMs, untilMs, cursor);
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private ChatReplayWindowDTO fromArchive(UUID liveStreamId, ChatArchive archive,
+                                            long fromMs, long toMs, long untilMs, ChatReplayCursor cursor) {
+        ChatReplayIndex index = chatArchiveService.replayIndex(archive).orElseThrow();
+        LocalDateTime origin = archive.getReplayOriginAt();
+        int start = index.seekFloor(fromMs);
+        int end = Math.min(index.seekCeil(untilMs), archive.getMessageCount());
+
+        List<ChatReplayMessageDTO> result = new ArrayList<>();
+        boolean truncated = false;
+        int ordinal = start;
+        // ブロックを1つずつ展開し、時間窓を抜けた時点で打ち切る
+        while (ordinal < end && !truncated) {
+            int blockNo = archive.blockOf(ordinal);
+            List<ArchivedChatMessage> block = chatArchiveService.block(archive, blockNo);
+            if (block.isEmpty()) break;
+            int blockFirst = blockNo * archive.getBlockSize();
+            for (int i = ordinal - blockFirst; i < block.size() && ordinal < end; i++, ordinal++) {
+                ArchivedChatMessage m = block.get(i);
+                long offset = offsetOf(origin, m.createdAt());
+                if (offset < fromMs || (cursor != null && !cursor.isBefore(m.createdAt(), m.id()))) continue;
+                if (offset >= untilMs) {
+                    ordinal = end;
+                    break;
+                }
+                if (result.size() >= props.getMaxMessages()) {
+                    truncated = true;
+                    break;
+                }
+                result.add(toReplay(offset, m.id(), m.userId(), m.userName(), m.message(), m.createdAt()));
+            }
+        }
+        return window(liveStreamId, fromMs, toMs, untilMs, result, truncated, true);
+    }
+
+    private ChatReplayWindowDTO fromTable(UUID liveStreamId, long fromMs, long toMs, long untilMs,
+                                          ChatReplayCursor cursor) {
+        LiveStream stream = liveStreamRepository.findById(liveStreamId)
+                .filter(s -> !s.isDeleted())
+                .orElseThrow(() -> new NoSuchElementException(STREAM_NOT_FOUND));
+        LocalDateTime origin = stream.getStartedAt();
+        if (origin == null) {
+            throw new IllegalArgumentException("配信開始前のためリプレイできません");
+        }
+
+        // 上限+1件を読んで打ち切りの有無を判定する
+        LocalDateTime from = origin.plus(Duration.ofMillis(fromMs));
+        LocalDateTime until = origin.plus(Duration.ofMillis(untilMs));
+        PageRequest limit = PageRequest.of(0, props.getMaxMessages() + 1);
+        List<ChatMessage> rows = cursor == null
+                ? chatMessageRepository.findRange(liveStreamId, from, until, limit)
+                : chatMessageRepository.findRangeAfter(liveStreamId, from, until,
+                        cursor.createdAt(), cursor.id(), limit);
+
+        List<ChatReplayMessageDTO> result = new ArrayList<>(Math.min(rows.size(), props.getMaxMessages()));
+        boolean truncated = rows.size() > props.getMaxMessages();
+        for (ChatMessage m : rows.subList(0, Math.min(rows.size(), props.getMaxMessages()))) {
+            result.add(toReplay(offsetOf(origin, m.getCreatedAt()), m.getId(), m.getUser().getId(),
+                    m.getUser().getName(), m.getMessage(), m.getCreatedAt()));
+        }
+        return window(liveStreamId, fromMs, toMs, untilMs, result, truncated, false);
+    }
+
+    /**
+     * 打ち切った場合は最後に返したメッセージの位置を続きの起点にする
+     * （その時刻のミリ秒から、カーソルより後ろを読み直す）。
+     */
+    private static ChatReplayWindowDTO window(UUID liveStreamId, long fromMs, long toMs, long untilMs,
+                                              List<ChatReplayMessageDTO> messages, boolean truncated,
+                                              boolean archived) {
+        ChatReplayMessageDTO last = truncated && !messages.isEmpty() ? messages.get(messages.size() - 1) : null;
+        long nextFromMs = last == null ? untilMs : Math.max(fromMs, last.getOffsetMs());
+        return ChatReplayWindowDTO.builder()
+                .liveStreamId(liveStreamId)
+                .fromMs(fromMs)
+                .toMs(toMs)
+                .bufferedUntilMs(nextFromMs)
+                .nextFromMs(nextFromMs)
+                .nextCursor(last == null ? null : new ChatReplayCursor(last.getCreatedAt(), last.getId()).encode())
+                .truncated(truncated)
+                .archived(archived)
+                .messages(messages)
+                .build();
+    }
+
+    private static long offsetOf(LocalDateTime origin, LocalDateTime createdAt) {
+        return Duration.between(origin, createdAt).toMillis();
+    }
+
+    private static ChatReplayMessageDTO toReplay(long offset, UUID id, UUID userId, String userName,
+                                                 String message, LocalDateTime createdAt) {
+        return ChatReplayMessageDTO.builder()
+                .offsetMs(offset)
+                .id(id)
+                .userId(userId)
+                .userName(userName)
+                .message(message)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.service.chat;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 短いリアクション（絵文字・定型の一語）を配信ごと・ウィンドウごとに集約するステージ。
+ *
+ * 1. リアクションとみなすのは、絵文字だけからなるメッセージ（maxCodePoints 以内）と、
+ *    語彙に登録した定型の一語（「草」「888」など）だけ。短いだけの普通の発言（「ありがとう」など）は対象外。
+ * 2. 同一配信に投稿された同一リアクションは個別に配信せず (配信ID, リアクション) ごとに数え上げ、
+ *    {@link #drain()} のタイミングで「🔥 x 842」のような件数付きの集計として取り出す。
+ * 3. 取り出しはキーごとの削除で件数を受け取るので、取り出しと加算が重なっても件数は落ちない
+ *    （取り出し後の加算は新しいキーとして次のウィンドウに計上される）。
+ */
+public class ReactionAggregator {
+
+    private record Key(UUID liveStreamId, String reaction) {
+    }
+
+    private static final int ZERO_WIDTH_JOINER = 0x200D;
+    private static final int COMBINING_KEYCAP = 0x20E3;
+
+    private final int maxCodePoints;
+    private final Set<String> words;
+
+    /** (配信ID, 正規化済みリアクション) → 現ウィンドウの件数 */
+    private final ConcurrentHashMap<Key, Long> windows = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxCodePoints 絵文字リアクションとみなす最大文字数（コードポイント数）
+     * @param words         リアクションとみなす定型の一語（大文字小文字・全角半角は区別しない）
+     */
+    public ReactionAggregator(int maxCodePoints, Collection<String> words) {
+        if (maxCodePoints <= 0) {
+            throw new IllegalArgumentException("maxCodePoints は1以上で指定してください");
+        }
+        this.maxCodePoints = maxCodePoints;
+        this.words = words.stream()
+                .map(ReactionAggregator::fold)
+                .filter(w -> !w.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * メッセージがリアクションに該当する場合、集約キーとなる正規化文字列を返す。
+     *
+     * @param message メッセージ本文
+     * @return 正規化済みリアクション（対象外なら null）
+     */
+    public String normalize(String message) {
+        if (message == null) return null;
+        String s = message.strip();
+        if (s.isEmpty()) return null;
+        if (isEmojiOnly(s)) return s;
+        String word = fold(s);
+        return words.contains(word) ? word : null;
+    }
+
+    /**
+     * リアクションであれば現ウィンドウに加算する。
+     *
+     * @return 集約対象として取り込んだ場合 true（呼び出し側は個別配信しない）
+     */
+    public boolean offer(UUID liveStreamId, String message) {
+        String reaction = normalize(message);
+        if (reaction == null) return false;
+        windows.merge(new Key(liveStreamId, reaction), 1L, Long::sum);
+        return true;
+    }
+
+    /**
+     * 現ウィンドウの集計を取り出してリセットする。
+     * キーごとに削除して件数を受け取るため、取り出し中に加算された分は落ちずに次のウィンドウに計上される。
+     *
+     * @return 配信ID → (リアクション → 件数)。件数0の配信は含まない
+     */
+    public Map<UUID, Map<String, Long>> drain() {
+        Map<UUID, Map<String, Long>> result = new HashMap<>();
+        for (Key key : windows.keySet()) {
+            Long count = windows.remove(key);
+            if (count != null && count > 0) {
+                result.computeIfAbsent(key.liveStreamId(), id -> new HashMap<>()).put(key.reaction(), count);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 配信終了時などに、その配信の集計状態を破棄する。
+     */
+    public void forget(UUID liveStreamId) {
+        windows.keySet().removeIf(k -> k.liveStreamId().equals(liveStreamId));
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    /**
+     * 絵文字（記号）だけからなり、maxCodePoints 以内か。
+     * 結合子・異体字セレクタ・肌の色・キーキャップは絵文字の一部として許し、記号を1つ以上含むこと。
+     */
+    private boolean isEmojiOnly(String s) {
+        int codePoints = 0;
+        boolean symbol = false;
+        for (int i = 0; i < s.length(); ) {
+            int cp = s.codePointAt(i);
+            i += Character.charCount(cp);
+            if (++codePoints > maxCodePoints) return false;
+            int type = Character.getType(cp);
+            if (type == Character.OTHER_SYMBOL) {
+                symbol = true;
+            } else if (cp != ZERO_WIDTH_JOINER && cp != COMBINING_KEYCAP
+                    && type != Character.NON_SPACING_MARK && type != Character.MODIFIER_SYMBOL) {
+                return false;
+            }
+        }
+        return symbol;
+    }
+
+    private static String fold(String s) {
+        return Normalizer.normalize(s, Normalizer.Form.NFKC).strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.service.chat.relay;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 送信メッセージを溜めてまとめて {@link ChatBroker#publish(List)} するバッチャ。
+ *
+ * バッチが {@code maxBatchSize} に達した時点、または最初の1件から {@code lingerMs} 経過した時点で送信する。
+ * 切り出したバッチは排他の中で単一の送信スレッドのキューへ積み、積んだ順に送信するため、
+ * 上限到達・時間経過・明示的な {@link #flush()} が重なっても同一ノードから出るメッセージの順序は保たれる。
+ */
+public class BatchingPublisher implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchingPublisher.class);
+
+    private final ChatBroker broker;
+    private final int maxBatchSize;
+    private final long lingerMs;
+    private final ScheduledThreadPoolExecutor sender;
+
+    private List<RelayEnvelope> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    public BatchingPublisher(ChatBroker broker, int maxBatchSize, long lingerMs) {
+        if (maxBatchSize <= 0 || lingerMs < 0) {
+            throw new IllegalArgumentException("バッチ設定が不正です");
+        }
+        this.broker = broker;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMs = lingerMs;
+        this.sender = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "chat-relay-batch");
+            t.setDaemon(true);
+            return t;
+        });
+        // 終了時は積み終えたバッチだけ送り、時間経過待ちの flush は待たない（close で flush 済み）
+        this.sender.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * 送信キューに積む。
+     */
+    public void offer(RelayEnvelope envelope) {
+        synchronized (this) {
+            pending.add(envelope);
+            if (pending.size() >= maxBatchSize) {
+                enqueue(swap());
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                sender.schedule(this::flush, lingerMs, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * 溜まっている分を送信キューへ積む（先に積まれたバッチの後に送信される）。
+     */
+    public void flush() {
+        synchronized (this) {
+            flushScheduled = false;
+            if (pending.isEmpty()) return;
+            enqueue(swap());
+        }
+    }
+
+    private List<RelayEnvelope> swap() {
+        List<RelayEnvelope> batch = pending;
+        pending = new ArrayList<>(maxBatchSize);
+        return batch;
+    }
+
+    /** 排他の中で呼ぶ。切り出した順に送信スレッドのキューへ積む */
+    private void enqueue(List<RelayEnvelope> batch) {
+        sender.execute(() -> send(batch));
+    }
+
+    private void send(List<RelayEnvelope> batch) {
+        try {
+            broker.publish(batch);
+        } catch (RuntimeException e) {
+            log.warn("relay publish failed: size={}", batch.size(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        sender.shutdown();
+        try {
+            if (!sender.awaitTermination(lingerMs + 1000, TimeUnit.MILLISECONDS)) {
+                log.debug("relay final flush timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sender.shutdownNow();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.service.chat.relay;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * ノード間のチャット中継ブローカー。
+ *
+ * トピック単位で購読し、publish されたバッチは購読中のリスナーへバッチ内の順序どおりに届く。
+ * 同一トピックへの配送はバッチをまたいでも publish 順を保つが、
+ * ノード間の到着順は保証しないため、受信側は {@link SequenceReorderer} で連番順に並べ直す。
+ */
+public interface ChatBroker extends AutoCloseable {
+
+    /**
+     * メッセージのバッチを送信する（自ノードの購読者にも配送される）。
+     */
+    void publish(List<RelayEnvelope> batch);
+
+    /**
+     * トピックを購読する。
+     *
+     * @return 購読の解除ハンドル
+     */
+    Subscription subscribe(String topic, Consumer<RelayEnvelope> listener);
+
+    @Override
+    void close();
+
+    /**
+     * 購読の解除ハンドル。
+     */
+    interface Subscription {
+        void unsubscribe();
+    }
+}
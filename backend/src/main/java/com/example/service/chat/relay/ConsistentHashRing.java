@@ -0,0 +1,53 @@
+package com.example.service.chat.relay;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * 仮想ノード付きのコンシステントハッシュリング。
+ * 配信IDからオーナーノード（チャットを永続化し連番を振るノード）を決める。
+ * ノードの増減で担当が移るのは、おおよそ 1/ノード数 の配信に限られる。
+ */
+public final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    /**
+     * @param nodeIds      ノードID（1件以上）
+     * @param virtualNodes 1ノードあたりの仮想ノード数
+     */
+    public ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        if (nodeIds.isEmpty() || virtualNodes <= 0) {
+            throw new IllegalArgumentException("ノードと仮想ノード数は1以上で指定してください");
+        }
+        for (String node : nodeIds) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    /**
+     * 配信のオーナーノードを返す。
+     */
+    public String ownerOf(UUID liveStreamId) {
+        Map.Entry<Long, String> e = ring.ceilingEntry(hash(liveStreamId.toString()));
+        return (e != null ? e : ring.firstEntry()).getValue();
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.service.chat.relay;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * 同一 JVM 内で完結するブローカー（単一ノード運用・テスト用）。
+ *
+ * 同じ {@link Hub} から作ったインスタンス同士を「別ノード」とみなして中継する。
+ * 配送は publish したスレッドで同期的に行う。
+ */
+public class InMemoryChatBroker implements ChatBroker {
+
+    /**
+     * 疑似クラスタ。ここに参加したブローカー全員へバッチを配る。
+     */
+    public static final class Hub {
+        private final Set<InMemoryChatBroker> members = new CopyOnWriteArraySet<>();
+
+        public InMemoryChatBroker join() {
+            InMemoryChatBroker broker = new InMemoryChatBroker(this);
+            members.add(broker);
+            return broker;
+        }
+    }
+
+    private final Hub hub;
+    private final TopicListeners listeners = new TopicListeners();
+
+    /** 単独ノード用（自ノードにだけ配送する） */
+    public InMemoryChatBroker() {
+        this.hub = new Hub();
+        hub.members.add(this);
+    }
+
+    private InMemoryChatBroker(Hub hub) {
+        this.hub = hub;
+    }
+
+    @Override
+    public void publish(List<RelayEnvelope> batch) {
+        if (batch.isEmpty()) return;
+        List<RelayEnvelope> copy = List.copyOf(batch);
+        for (InMemoryChatBroker member : hub.members) {
+            member.listeners.deliver(copy);
+        }
+    }
+
+    @Override
+    public Subscription subscribe(String topic, Consumer<RelayEnvelope> listener) {
+        return listeners.add(topic, listener);
+    }
+
+    @Override
+    public void close() {
+        hub.members.remove(this);
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.service.chat.relay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ループバックの TCP ソケットでノード間を中継するブローカー（同一ホスト上の複数ノード・結合テスト用）。
+ *
+ * 各ノードは自ポートで待ち受け、publish されたバッチを自ノードへ配送したうえで全ピアへ1フレームで送る。
+ * 受信側は自ノードで購読しているトピックのメッセージだけを配送する。
+ * ピアとの接続は初回送信時に張り、失敗した場合はそのバッチを捨てて次回送信時に再接続する。
+ */
+public class LocalSocketChatBroker implements ChatBroker {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalSocketChatBroker.class);
+
+    private static final int CONNECT_TIMEOUT_MS = 1000;
+    private static final int MAX_BATCH = 1 << 16;
+
+    private final TopicListeners listeners = new TopicListeners();
+    private final ServerSocket server;
+    private final List<Integer> peerPorts;
+    private final Map<Integer, PeerConnection> peers = new ConcurrentHashMap<>();
+    private final Set<Socket> inbound = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * @param listenPort 自ノードの待ち受けポート（0 なら空きポート）
+     * @param peerPorts  他ノードの待ち受けポート
+     */
+    public LocalSocketChatBroker(int listenPort, List<Integer> peerPorts) throws IOException {
+        this.server = new ServerSocket(listenPort, 50, InetAddress.getLoopbackAddress());
+        this.peerPorts = List.copyOf(peerPorts);
+        Thread acceptor = new Thread(this::acceptLoop, "chat-relay-accept-" + server.getLocalPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /** 実際の待ち受けポート */
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    @Override
+    public void publish(List<RelayEnvelope> batch) {
+        if (batch.isEmpty()) return;
+        listeners.deliver(batch);
+        for (int port : peerPorts) {
+            peers.computeIfAbsent(port, PeerConnection::new).send(batch);
+        }
+    }
+
+    @Override
+    public Subscription subscribe(String topic, Consumer<RelayEnvelope> listener) {
+        return listeners.add(topic, listener);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        closeQuietly(server);
+        peers.values().forEach(PeerConnection::close);
+        inbound.forEach(LocalSocketChatBroker::closeQuietly);
+    }
+
+    // ========================================================
+    // ======================= 受信 ===========================
+    // ========================================================
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = server.accept();
+                inbound.add(socket);
+                Thread reader = new Thread(() -> readLoop(socket), "chat-relay-read-" + socket.getPort());
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    log.warn("relay accept failed", e);
+                }
+            }
+        }
+    }
+
+    private void readLoop(Socket socket) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            while (!closed) {
+                listeners.deliver(readFrame(in));
+            }
+        } catch (EOFException e) {
+            // 送信側が切断
+        } catch (IOException e) {
+            if (!closed) {
+                log.debug("relay connection closed: {}", e.getMessage());
+            }
+        } finally {
+            inbound.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    // ========================================================
+    // ====================== フレーム ========================
+    // ========================================================
+
+    static void writeFrame(DataOutputStream out, List<RelayEnvelope> batch) throws IOException {
+        out.writeInt(batch.size());
+        for (RelayEnvelope e : batch) {
+            out.writeUTF(e.topic());
+            out.writeLong(e.epoch());
+            out.writeLong(e.seq());
+            out.writeUTF(e.origin());
+            out.writeUTF(e.type());
+            byte[] payload = e.payload().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(payload.length);
+            out.write(payload);
+        }
+        out.flush();
+    }
+
+    static List<RelayEnvelope> readFrame(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        if (n < 0 || n > MAX_BATCH) {
+            throw new IOException("invalid relay frame size: " + n);
+        }
+        List<RelayEnvelope> batch = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String topic = in.readUTF();
+            long epoch = in.readLong();
+            long seq = in.readLong();
+            String origin = in.readUTF();
+            String type = in.readUTF();
+            byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+            batch.add(new RelayEnvelope(topic, epoch, seq, origin, type, new String(payload, StandardCharsets.UTF_8)));
+        }
+        return batch;
+    }
+
+    // ========================================================
+    // ======================= 送信 ===========================
+    // ========================================================
+
+    /**
+     * ピア1台への送信用接続。フレームの混線を避けるため送信は直列化する。
+     */
+    private final class PeerConnection {
+        private final int port;
+        private Socket socket;
+        private DataOutputStream out;
+
+        PeerConnection(int port) {
+            this.port = port;
+        }
+
+        synchronized void send(List<RelayEnvelope> batch) {
+            if (closed) return;
+            try {
+                if (socket == null) {
+                    socket = new Socket();
+                    socket.setTcpNoDelay(true);
+                    socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), CONNECT_TIMEOUT_MS);
+                    out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                }
+                writeFrame(out, batch);
+            } catch (IOException e) {
+                log.warn("relay send failed, batch dropped: peer={}, size={}: {}", port, batch.size(), e.getMessage());
+                close();
+            }
+        }
+
+        synchronized void close() {
+            if (socket != null) {
+                closeQuietly(socket);
+                socket = null;
+                out = null;
+            }
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception ignored) {
+            // 終了処理のため無視
+        }
+    }
+}
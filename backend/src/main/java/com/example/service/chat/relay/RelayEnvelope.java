@@ -0,0 +1,25 @@
+package com.example.service.chat.relay;
+
+/**
+ * ノード間で中継するメッセージの封筒。
+ *
+ * @param topic   トピック（配信ごとの {@code stream/<id>}、ノード宛ての {@code node/<id>}）
+ * @param epoch   送信元ノードの起動世代（origin と組で連番の系列を区別する。世代どうしの大小は比べない）
+ * @param seq     配信トピック内の連番（1始まり、ノード宛てトピックでは 0）
+ * @param origin  送信元ノードID
+ * @param type    ペイロードの種別
+ * @param payload ペイロード（JSON）
+ */
+public record RelayEnvelope(String topic, long epoch, long seq, String origin, String type, String payload) {
+
+    public static final String STREAM_TOPIC_PREFIX = "stream/";
+    public static final String NODE_TOPIC_PREFIX = "node/";
+
+    public static String streamTopic(Object liveStreamId) {
+        return STREAM_TOPIC_PREFIX + liveStreamId;
+    }
+
+    public static String nodeTopic(String nodeId) {
+        return NODE_TOPIC_PREFIX + nodeId;
+    }
+}
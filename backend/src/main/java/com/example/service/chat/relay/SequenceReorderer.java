@@ -0,0 +1,151 @@
+package com.example.service.chat.relay;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 配信トピックごとに、送信元（オーナーノードとその起動世代の組）ごとの連番（seq）順へ並べ直す。
+ *
+ * 1. 期待する連番なら即時に渡し、続きの連番がバッファにあればまとめて渡す。
+ * 2. 先の連番はバッファに保持する。欠番が {@code maxPending} 件を超えて埋まらないか、
+ *    欠番で止まってから {@code gapTimeoutMs} を過ぎたら欠番を諦めて進める
+ *    （後続が届かない静かなトピックも {@link #skipExpiredGaps} で定期的に進める）。
+ * 3. 期待より前の連番（重複・再送）は捨てる。
+ * 4. 連番は送信元ごとに独立して扱い、送信元どうしの世代は比べない。オーナー交代（起動の早いノードへの移動を含む）や
+ *    再起動で新しい送信元が現れても、その最初の連番から配送する。1トピックで保持する送信元は
+ *    {@value #MAX_SOURCES} 件までとし、超えたら最も長く届いていない送信元をバッファを吐き出してから捨てる。
+ *
+ * 配送はトピックごとの排他の中で行うため、同じ送信元のメッセージが前後して渡ることはない。
+ */
+public class SequenceReorderer {
+
+    /** 1トピックで並べ替え状態を保持する送信元の上限（オーナー交代の直後に旧オーナーの残りを受けられる程度） */
+    static final int MAX_SOURCES = 4;
+
+    private final int maxPending;
+    private final long gapTimeoutMs;
+    private final Map<String, TopicState> topics = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxPending   欠番を待つ間にバッファへ溜める最大件数
+     * @param gapTimeoutMs 欠番を待つ最大時間（ms）
+     */
+    public SequenceReorderer(int maxPending, long gapTimeoutMs) {
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("maxPending は1以上で指定してください");
+        }
+        if (gapTimeoutMs <= 0) {
+            throw new IllegalArgumentException("gapTimeoutMs は1以上で指定してください");
+        }
+        this.maxPending = maxPending;
+        this.gapTimeoutMs = gapTimeoutMs;
+    }
+
+    /** 送信元（origin, epoch）→ 並べ替え状態。最後に届いた順（アクセス順）に並ぶ */
+    private static final class TopicState {
+        final LinkedHashMap<Source, SourceState> sources = new LinkedHashMap<>(8, 0.75f, true);
+    }
+
+    private record Source(String origin, long epoch) {
+    }
+
+    private static final class SourceState {
+        /** 次に配送すべき連番（0 = 未確定。最初に届いた連番から始める） */
+        long expected;
+        /** 欠番で止まった時刻（ms、0 = 止まっていない） */
+        long stalledSince;
+        final TreeMap<Long, RelayEnvelope> pending = new TreeMap<>();
+    }
+
+    /**
+     * メッセージを受け取り、配送可能になった分を連番順で sink に渡す。
+     *
+     * @param now 現在時刻（ms）
+     */
+    public void accept(RelayEnvelope envelope, long now, Consumer<RelayEnvelope> sink) {
+        TopicState topic = topics.computeIfAbsent(envelope.topic(), t -> new TopicState());
+        synchronized (topic) {
+            Source source = new Source(envelope.origin(), envelope.epoch());
+            SourceState state = topic.sources.get(source);
+            if (state == null) {
+                if (topic.sources.size() >= MAX_SOURCES) {
+                    evictEldest(topic, now, sink);
+                }
+                state = new SourceState();
+                state.expected = envelope.seq();
+                topic.sources.put(source, state);
+            } else if (envelope.seq() < state.expected) {
+                return; // 重複・再送
+            }
+
+            state.pending.put(envelope.seq(), envelope);
+            if (state.pending.size() > maxPending || isExpired(state, now)) {
+                state.expected = state.pending.firstKey(); // 欠番を諦める
+            }
+            deliver(state, now, sink);
+        }
+    }
+
+    /**
+     * 欠番で止まってから gapTimeoutMs を過ぎたトピックを、欠番を諦めて進める。
+     *
+     * @param now 現在時刻（ms）
+     */
+    public void skipExpiredGaps(long now, Consumer<RelayEnvelope> sink) {
+        for (TopicState topic : topics.values()) {
+            synchronized (topic) {
+                for (SourceState state : topic.sources.values()) {
+                    if (!isExpired(state, now)) continue;
+                    state.expected = state.pending.firstKey();
+                    deliver(state, now, sink);
+                }
+            }
+        }
+    }
+
+    /**
+     * トピックの状態を破棄する（購読解除・配信終了時）。
+     */
+    public void forget(String topic) {
+        topics.remove(topic);
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private boolean isExpired(SourceState state, long now) {
+        return state.stalledSince != 0 && !state.pending.isEmpty() && now - state.stalledSince >= gapTimeoutMs;
+    }
+
+    /** 最も長く届いていない送信元を、バッファの残りを連番順に渡してから捨てる */
+    private static void evictEldest(TopicState topic, long now, Consumer<RelayEnvelope> sink) {
+        Iterator<SourceState> it = topic.sources.values().iterator();
+        SourceState eldest = it.next();
+        it.remove();
+        while (!eldest.pending.isEmpty()) {
+            eldest.expected = eldest.pending.firstKey();
+            deliver(eldest, now, sink);
+        }
+    }
+
+    /** 期待する連番から続く分を渡し、まだ先の連番が残っていれば止まった時刻を記録する */
+    private static void deliver(SourceState state, long now, Consumer<RelayEnvelope> sink) {
+        RelayEnvelope next;
+        boolean advanced = false;
+        while ((next = state.pending.remove(state.expected)) != null) {
+            sink.accept(next);
+            state.expected++;
+            advanced = true;
+        }
+        if (state.pending.isEmpty()) {
+            state.stalledSince = 0;
+        } else if (advanced || state.stalledSince == 0) {
+            state.stalledSince = now;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.service.chat.relay;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ノード内のトピック購読表。各ブローカー実装で共有する。
+ */
+final class TopicListeners {
+
+    private static final Logger log = LoggerFactory.getLogger(TopicListeners.class);
+
+    private final ConcurrentHashMap<String, List<Consumer<RelayEnvelope>>> listeners = new ConcurrentHashMap<>();
+
+    ChatBroker.Subscription add(String topic, Consumer<RelayEnvelope> listener) {
+        listeners.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(listener);
+        return () -> listeners.computeIfPresent(topic, (t, list) -> {
+            list.remove(listener);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    /**
+     * 購読者がいるトピックのメッセージだけを配送する。リスナーの例外は他の配送に波及させない。
+     */
+    void deliver(List<RelayEnvelope> batch) {
+        for (RelayEnvelope envelope : batch) {
+            List<Consumer<RelayEnvelope>> list = listeners.get(envelope.topic());
+            if (list == null) continue;
+            for (Consumer<RelayEnvelope> listener : list) {
+                try {
+                    listener.accept(envelope);
+                } catch (RuntimeException e) {
+                    log.warn("relay listener failed: topic={}", envelope.topic(), e);
+                }
+            }
+        }
+    }
+}
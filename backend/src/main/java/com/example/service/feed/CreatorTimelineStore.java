@@ -0,0 +1,119 @@
+package com.example.service.feed;
+
+import com.example.config.FeedProperties;
+import com.example.dto.videos.FeedVideoDTO;
+import com.example.entity.Video;
+import com.example.event.VideoLifecycleEvent;
+import com.example.repository.VideoRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 配信者ごとの新着公開動画（新しい順・上位 {@code perCreatorLimit} 件）を保持するストア。
+ *
+ * 1. 未保持の配信者はまとめて1クエリ（配信者ごとの ROW_NUMBER で上位だけ）で読み込み、件数上限つき LRU に載せる。
+ * 2. 動画の公開・非公開・更新・削除のコミット後に、その配信者の分を破棄する（次の参照で読み直す）。
+ *    呼び出し側のトランザクションが最初のクエリを実行する前に取った世代を受け取り、それ以降に破棄が起きていたら
+ *    読み込んだ結果を載せずに捨てる（REPEATABLE READ のスナップショットが破棄より古い場合も、古い内容で上書きしない）。
+ * 3. 他ノードでの変更はイベントで届かないため、読み込みから {@code creatorCacheTtlMs} を過ぎたものは読み直す。
+ */
+@Service
+public class CreatorTimelineStore {
+
+    private final VideoRepository videoRepository;
+    private final FeedProperties props;
+    private final Map<UUID, Timeline> timelines;
+    /** 破棄のたびに進める世代。読み込み前後で変わっていたら結果を載せない */
+    private final AtomicLong generation = new AtomicLong();
+
+    /** 配信者の新着動画と、読み込んだ時刻（ms） */
+    private record Timeline(List<FeedVideoDTO> items, long loadedAt) {
+    }
+
+    public CreatorTimelineStore(VideoRepository videoRepository, FeedProperties props) {
+        this.videoRepository = videoRepository;
+        this.props = props;
+        int capacity = props.getCreatorCacheSize();
+        this.timelines = Collections.synchronizedMap(new LinkedHashMap<>(Math.min(capacity, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Timeline> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    /**
+     * 現在の世代。呼び出し側はトランザクションの最初のクエリより前に取り、{@link #getAll} に渡す。
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * 配信者ごとの新着動画を返す（各リストは {@link FeedCursor#ITEM_ORDER} 順・不変）。
+     * 呼び出し側のトランザクション内で未保持の配信者を読み込む。
+     *
+     * @param since トランザクションの最初のクエリより前に {@link #generation()} で取った世代
+     */
+    public Map<UUID, List<FeedVideoDTO>> getAll(Collection<UUID> creatorIds, long since) {
+        Map<UUID, List<FeedVideoDTO>> result = new HashMap<>(creatorIds.size() * 2);
+        List<UUID> missing = new ArrayList<>();
+        long expiredBefore = System.currentTimeMillis() - props.getCreatorCacheTtlMs();
+        for (UUID id : creatorIds) {
+            Timeline timeline = timelines.get(id);
+            if (timeline != null && timeline.loadedAt() >= expiredBefore) {
+                result.put(id, timeline.items());
+            } else {
+                missing.add(id);
+            }
+        }
+        for (int from = 0; from < missing.size(); from += props.getLoadChunkSize()) {
+            List<UUID> chunk = missing.subList(from, Math.min(from + props.getLoadChunkSize(), missing.size()));
+            result.putAll(load(chunk, since));
+        }
+        return result;
+    }
+
+    /**
+     * 動画の変更をコミット後に反映する。
+     */
+    @TransactionalEventListener
+    public void onVideoChanged(VideoLifecycleEvent event) {
+        if (event.type() == VideoLifecycleEvent.Type.CREATED) return; // 作成直後は非公開
+        generation.incrementAndGet();
+        timelines.remove(event.userId());
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private Map<UUID, List<FeedVideoDTO>> load(List<UUID> creatorIds, long since) {
+        long loadedAt = System.currentTimeMillis();
+        Map<UUID, List<FeedVideoDTO>> grouped = new HashMap<>(creatorIds.size() * 2);
+        for (Video video : videoRepository.findRecentPublishedByUserIds(creatorIds, props.getPerCreatorLimit())) {
+            grouped.computeIfAbsent(video.getUser().getId(), k -> new ArrayList<>()).add(FeedVideoDTO.fromEntity(video));
+        }
+        Map<UUID, List<FeedVideoDTO>> loaded = new HashMap<>(creatorIds.size() * 2);
+        for (UUID id : creatorIds) {
+            List<FeedVideoDTO> timeline = grouped.getOrDefault(id, new ArrayList<>());
+            timeline.sort(FeedCursor.ITEM_ORDER);
+            loaded.put(id, List.copyOf(timeline));
+        }
+        synchronized (timelines) {
+            if (generation.get() == since) {
+                loaded.forEach((id, items) -> timelines.put(id, new Timeline(items, loadedAt)));
+            }
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.service.feed;
+
+import static com.example.util.UuidBinary.*;
+
+import com.example.dto.videos.FeedVideoDTO;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * フィードの並び位置（公開日時, 動画ID）。次ページの起点としてクライアントへ不透明な文字列で渡す。
+ *
+ * 並びは公開日時の新しい順、同時刻は ID の降順。ID は BINARY(16) の並び（符号なしのバイト順）に合わせて比較し、
+ * メモリ上のマージ結果と DB のキーセット読み出しで順序が一致するようにする。
+ *
+ * @param publishedAt 公開日時
+ * @param id          動画ID
+ */
+public record FeedCursor(LocalDateTime publishedAt, UUID id) {
+
+    /** 新しい順 */
+    public static final Comparator<FeedCursor> NEWEST_FIRST =
+            Comparator.comparing(FeedCursor::publishedAt, Comparator.reverseOrder())
+                    .thenComparing(FeedCursor::id, (a, b) -> compareUnsigned(b, a));
+
+    /** フィード項目の新しい順 */
+    public static final Comparator<FeedVideoDTO> ITEM_ORDER = Comparator.comparing(FeedCursor::of, NEWEST_FIRST);
+
+    public static FeedCursor of(FeedVideoDTO item) {
+        return new FeedCursor(item.getPublishedAt(), item.getId());
+    }
+
+    public String encode() {
+        String raw = publishedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException 形式が不正な場合
+     */
+    public static FeedCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0) throw new IllegalArgumentException();
+            return new FeedCursor(LocalDateTime.parse(raw.substring(0, sep)), UUID.fromString(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("カーソルの形式が不正です");
+        }
+    }
+}
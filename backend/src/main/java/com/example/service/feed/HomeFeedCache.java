@@ -0,0 +1,122 @@
+package com.example.service.feed;
+
+import com.example.config.FeedProperties;
+import com.example.dto.videos.FeedVideoDTO;
+import com.example.event.SubscriptionChangedEvent;
+import com.example.event.VideoLifecycleEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * ユーザーごとのマージ済みフィード（先頭 {@code cachedItems} 件）のキャッシュ（件数上限つき LRU・有効期限つき）。
+ *
+ * フォロー中の配信者が動画を公開・非公開・更新・削除したとき、およびフォロー・解除したときに
+ * コミット後に破棄する。破棄と構築が競合した場合は、構築結果を載せずに捨てる。
+ */
+@Service
+public class HomeFeedCache {
+
+    /**
+     * マージ済みフィード。
+     *
+     * @param creators フォロー中の配信者ID
+     * @param items    新しい順の先頭部分
+     * @param complete items がフィードの全件か（false なら続きは DB から読む）
+     * @param builtAt  構築時刻（ms）
+     */
+    public record Feed(Set<UUID> creators, List<FeedVideoDTO> items, boolean complete, long builtAt) {
+
+        /** カーソルより後ろにある最初の項目の位置 */
+        public int indexAfter(FeedCursor cursor) {
+            int lo = 0, hi = items.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (FeedCursor.NEWEST_FIRST.compare(FeedCursor.of(items.get(mid)), cursor) <= 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    private final long ttlMs;
+    private final Map<UUID, Feed> feeds;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public HomeFeedCache(FeedProperties props, MeterRegistry meterRegistry) {
+        this.ttlMs = props.getFeedCacheTtlMs();
+        int capacity = props.getFeedCacheSize();
+        this.feeds = Collections.synchronizedMap(new LinkedHashMap<>(Math.min(capacity, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Feed> eldest) {
+                return size() > capacity;
+            }
+        });
+        this.hits = Counter.builder("feed.cache.hit").register(meterRegistry);
+        this.misses = Counter.builder("feed.cache.miss").register(meterRegistry);
+        meterRegistry.gauge("feed.cache.size", feeds, Map::size);
+    }
+
+    /** 有効なフィードを返す（なければ null） */
+    public Feed get(UUID userId) {
+        Feed feed = feeds.get(userId);
+        if (feed == null || System.currentTimeMillis() - feed.builtAt() >= ttlMs) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return feed;
+    }
+
+    /** 構築開始時点の世代（{@link #put} に渡す） */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * 構築したフィードを載せる。構築中に破棄が起きていれば載せない。
+     */
+    public void put(UUID userId, Feed feed, long builtFrom) {
+        synchronized (feeds) {
+            if (generation.get() == builtFrom) {
+                feeds.put(userId, feed);
+            }
+        }
+    }
+
+    /**
+     * 動画の変更をコミット後に反映し、その配信者をフォローしているユーザーのフィードを破棄する。
+     */
+    @TransactionalEventListener
+    public void onVideoChanged(VideoLifecycleEvent event) {
+        if (event.type() == VideoLifecycleEvent.Type.CREATED) return;
+        synchronized (feeds) {
+            generation.incrementAndGet();
+            feeds.values().removeIf(f -> f.creators().contains(event.userId()));
+        }
+    }
+
+    /**
+     * フォロー・解除をコミット後に反映する。
+     */
+    @TransactionalEventListener
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        synchronized (feeds) {
+            generation.incrementAndGet();
+            feeds.remove(event.subscriberId());
+        }
+    }
+}
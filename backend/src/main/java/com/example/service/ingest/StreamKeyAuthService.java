@@ -0,0 +1,218 @@
+package com.example.service.ingest;
+
+import com.example.config.IngestProperties;
+import com.example.dto.ingest.IngestAuthResponseDTO;
+import com.example.entity.LiveStream;
+import com.example.enums.StreamStatus;
+import com.example.event.LiveStreamLifecycleEvent;
+import com.example.repository.LiveStreamRepository;
+import com.example.util.cache.BoundedExpiringSet;
+import com.example.util.concurrent.KeyedRateLimiter;
+import com.example.util.concurrent.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * インジェスト（RTMP 等の取り込みサーバ）からのストリームキー認可。
+ *
+ * 1. 配信予定・配信中（SCHEDULED / LIVE）のキーをメモリに保持し、接続・再接続のたびに DB を引かない。
+ *    キーは SHA-256 のダイジェストで索引し、最終的な一致判定は定数時間比較で行う。
+ * 2. キャッシュにないキーの DB 照会は、送信元（取り込みサーバ等の呼び出し元アドレス）ごとのトークンバケットで制限する。
+ *    異なるキーでの総当たりは送信元の予算を使い切った時点で DB を引かずに拒否され、
+ *    他の送信元の正規の配信者は締め出されない。
+ * 3. 存在しないキーは件数上限・有効期限つきのネガティブキャッシュに入れ、同じキーの繰り返しでは DB を引かない。
+ *    他ノードで有効になったキーを有効期限前に拾うため、ネガティブキャッシュにあるキーはノード全体の
+ *    トークンバケットの範囲でだけ DB に照会し直す。
+ * 4. キー再発行・開始・終了・キャンセル・削除はコミット後のライフサイクルイベントで反映する。
+ *    他ノードでの変更に追随するため、有効キーも一定時間ごとに DB で確認し直す。
+ */
+@Service
+public class StreamKeyAuthService {
+
+    private static final String INVALID_KEY = "無効なストリームキーです";
+    private static final Set<StreamStatus> INGESTABLE = EnumSet.of(StreamStatus.SCHEDULED, StreamStatus.LIVE);
+
+    private final LiveStreamRepository liveStreamRepository;
+    private final IngestProperties props;
+
+    /** キーのダイジェスト → 認可情報 */
+    private final ConcurrentHashMap<String, KeyEntry> validKeys = new ConcurrentHashMap<>();
+    /** 配信ID → キーのダイジェスト（無効化用の逆引き） */
+    private final ConcurrentHashMap<UUID, String> digestByStream = new ConcurrentHashMap<>();
+    /** 存在しないキーのダイジェスト */
+    private final BoundedExpiringSet<String> unknownKeys;
+    /** ネガティブキャッシュにあるキーを DB に照会し直す流量制限（ノード全体） */
+    private final TokenBucket recheckLimiter;
+    /** キャッシュにないキーを DB に照会する流量制限（送信元ごと） */
+    private final KeyedRateLimiter<String> lookupLimiter;
+
+    private final Counter hits;
+    private final Counter negativeHits;
+    private final Counter throttled;
+    private final Counter validMisses;
+    private final Counter invalidMisses;
+
+    private record KeyEntry(UUID liveStreamId, UUID userId, StreamStatus status, byte[] key, long loadedAt) {
+    }
+
+    public StreamKeyAuthService(LiveStreamRepository liveStreamRepository,
+                                IngestProperties props,
+                                MeterRegistry meterRegistry) {
+        this.liveStreamRepository = liveStreamRepository;
+        this.props = props;
+        this.unknownKeys = new BoundedExpiringSet<>(props.getNegativeMaxSize(), props.getNegativeTtlMs());
+        this.recheckLimiter = new TokenBucket(props.getNegativeRechecksPerSecond(), props.getNegativeRecheckBurst());
+        this.lookupLimiter = new KeyedRateLimiter<>(props.getLookupsPerSecondPerSource(),
+                props.getLookupBurstPerSource(), props.getRateLimitMaxSources());
+
+        // ヒット率 = hit / 全体、ネガティブヒット率 = negative_hit / 全体
+        this.hits = lookups(meterRegistry, "hit");
+        this.negativeHits = lookups(meterRegistry, "negative_hit");
+        this.throttled = lookups(meterRegistry, "throttled");
+        this.validMisses = lookups(meterRegistry, "miss_valid");
+        this.invalidMisses = lookups(meterRegistry, "miss_invalid");
+        meterRegistry.gauge("ingest.auth.cache.size", validKeys, ConcurrentHashMap::size);
+        meterRegistry.gauge("ingest.auth.negative.size", unknownKeys, BoundedExpiringSet::size);
+    }
+
+    private static Counter lookups(MeterRegistry registry, String result) {
+        return Counter.builder("ingest.auth.lookups").tag("result", result).register(registry);
+    }
+
+    // ========================================================
+    // ======================== 認可 ==========================
+    // ========================================================
+
+    /**
+     * ストリームキーを認可する。
+     *
+     * @param streamKey ストリームキー
+     * @param source    送信元（呼び出し元のアドレス）。キャッシュにないキーの照会はこの単位で制限する
+     * @return 認可した配信
+     * @throws NoSuchElementException キーが存在しない、配信予定・配信中でない、または送信元の照会が上限を超えた場合
+     */
+    public IngestAuthResponseDTO authorize(String streamKey, String source) {
+        byte[] keyBytes = streamKey.getBytes(StandardCharsets.UTF_8);
+        String digest = digest(keyBytes);
+        long now = System.currentTimeMillis();
+
+        KeyEntry entry = validKeys.get(digest);
+        if (entry != null && now - entry.loadedAt() < props.getPositiveTtlMs()
+                && MessageDigest.isEqual(entry.key(), keyBytes)) {
+            hits.increment();
+            return toResponse(entry);
+        }
+        // 有効キーの確認し直しは必ず照会する。キャッシュにないキーは送信元ごと、
+        // 存在しないと分かっているキーはさらにノード全体の上限の範囲でだけ照会する
+        if (entry == null) {
+            if (!lookupLimiter.tryAcquire(source, now)) {
+                throttled.increment();
+                throw new NoSuchElementException(INVALID_KEY);
+            }
+            if (unknownKeys.contains(digest, now) && !recheckLimiter.tryAcquire(now)) {
+                negativeHits.increment();
+                throw new NoSuchElementException(INVALID_KEY);
+            }
+        }
+
+        Optional<LiveStream> stream = liveStreamRepository.findByStreamKey(streamKey).filter(this::isIngestable);
+        if (stream.isPresent()) {
+            validMisses.increment();
+            return toResponse(put(stream.get(), now));
+        }
+        invalidMisses.increment();
+        if (entry != null) {
+            evict(entry.liveStreamId());
+        }
+        unknownKeys.add(digest, now);
+        throw new NoSuchElementException(INVALID_KEY);
+    }
+
+    // ========================================================
+    // ===================== キャッシュ維持 =====================
+    // ========================================================
+
+    /**
+     * 起動時に配信予定・配信中のキーを読み込む。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        long now = System.currentTimeMillis();
+        liveStreamRepository.findAllByStatusIn(INGESTABLE).stream()
+                .filter(this::isIngestable)
+                .forEach(s -> put(s, now));
+    }
+
+    /**
+     * 配信の状態遷移・キー再発行をコミット後に反映する。
+     */
+    @TransactionalEventListener
+    public void onLifecycle(LiveStreamLifecycleEvent event) {
+        UUID id = event.liveStreamId();
+        evict(id);
+        if (!event.isTerminal()) {
+            liveStreamRepository.findById(id)
+                    .filter(this::isIngestable)
+                    .ifPresent(s -> put(s, System.currentTimeMillis()));
+        }
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private boolean isIngestable(LiveStream stream) {
+        return !stream.isDeleted() && INGESTABLE.contains(stream.getStatus());
+    }
+
+    private KeyEntry put(LiveStream stream, long now) {
+        byte[] keyBytes = stream.getStreamKey().getBytes(StandardCharsets.UTF_8);
+        String digest = digest(keyBytes);
+        KeyEntry entry = new KeyEntry(stream.getId(), stream.getUser().getId(), stream.getStatus(), keyBytes, now);
+
+        String previous = digestByStream.put(stream.getId(), digest);
+        if (previous != null && !previous.equals(digest)) {
+            validKeys.remove(previous);
+        }
+        validKeys.put(digest, entry);
+        unknownKeys.remove(digest);
+        return entry;
+    }
+
+    private void evict(UUID liveStreamId) {
+        String digest = digestByStream.remove(liveStreamId);
+        if (digest != null) {
+            validKeys.remove(digest);
+        }
+    }
+
+    private static String digest(byte[] key) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(key));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static IngestAuthResponseDTO toResponse(KeyEntry entry) {
+        return IngestAuthResponseDTO.builder()
+                .liveStreamId(entry.liveStreamId())
+                .userId(entry.userId())
+                .status(entry.status())
+                .build();
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.service.live;
+
+import com.example.config.ScheduleProperties;
+import com.example.dto.live_streams.LiveStreamResponseDTO;
+import com.example.entity.LiveStream;
+import com.example.enums.StreamStatus;
+import com.example.event.LiveStreamLifecycleEvent;
+import com.example.repository.LiveStreamRepository;
+import com.example.util.interval.IntervalIndex;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 配信予定（SCHEDULED）のカレンダー索引。
+ *
+ * 1. 配信予定を [予定日時, 予定日時 + 想定枠) の区間として {@link IntervalIndex} に持ち、
+ *    期間指定の一覧と、配信者ごとの時間重複チェックを DB を引かずに返す。
+ * 2. 起動時に (status, scheduled_at) の複合インデックスで配信予定を読み込み、
+ *    以降は作成・予定変更・開始・キャンセル等のコミット後イベントで1件ずつ反映する。
+ *    他ノードでの変更はイベントが届かないため、一定間隔で読み直して追加・置き換え・削除する。
+ * 3. 読み込みが終わるまでは同じ条件で DB を検索する。
+ *    読み込みの最中にイベントで反映した配信は、読み込んだ一覧（それより古い）で上書きしない。
+ */
+@Service
+public class LiveScheduleService {
+
+    private final LiveStreamRepository liveStreamRepository;
+    private final ScheduleProperties props;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** 全配信予定の区間 */
+    private final IntervalIndex<UUID> all = new IntervalIndex<>();
+    /** 配信者ID → その配信者の配信予定の区間 */
+    private final Map<UUID, IntervalIndex<UUID>> byUser = new HashMap<>();
+    /** 配信ID → 表示情報 */
+    private final Map<UUID, LiveStreamResponseDTO> cards = new HashMap<>();
+    /** 読み込み中にイベントで反映した配信ID（lock で保護） */
+    private final Set<UUID> changedWhileLoading = new HashSet<>();
+    /** 読み込み中か（lock で保護） */
+    private boolean loading;
+    private volatile boolean ready;
+
+    public LiveScheduleService(LiveStreamRepository liveStreamRepository, ScheduleProperties props) {
+        this.liveStreamRepository = liveStreamRepository;
+        this.props = props;
+    }
+
+    // ========================================================
+    // ======================= 参照 ===========================
+    // ========================================================
+
+    /**
+     * 期間 [from, to) に配信枠がかかる配信予定を予定日時順に返す。
+     *
+     * @throws IllegalArgumentException 期間が逆転している、または上限を超える場合
+     */
+    public List<LiveStreamResponseDTO> upcoming(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("期間の指定が不正です（from < to）");
+        }
+        if (Duration.between(from, to).toDays() >= props.getMaxRangeDays()) {
+            throw new IllegalArgumentException("指定できる期間は最大 " + props.getMaxRangeDays() + " 日です");
+        }
+        if (!ready) {
+            return liveStreamRepository.findAllByStatusAndScheduledAtGreaterThanAndScheduledAtLessThanOrderByScheduledAtAsc(
+                            StreamStatus.SCHEDULED, from.minus(slot()), to).stream()
+                    .filter(s -> !s.isDeleted())
+                    .map(LiveStreamResponseDTO::fromEntity)
+                    .toList();
+        }
+        lock.readLock().lock();
+        try {
+            return all.overlapping(toMs(from), toMs(to)).stream()
+                    .map(i -> cards.get(i.key()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 配信者の他の配信予定のうち、指定日時からの配信枠と重なるものの配信IDを返す。
+     *
+     * @param userId      配信者ID
+     * @param scheduledAt 判定する配信予定日時
+     * @param excludeId   判定から除く配信ID（自分自身。新規なら null）
+     */
+    public List<UUID> overlapping(UUID userId, LocalDateTime scheduledAt, UUID excludeId) {
+        LocalDateTime until = scheduledAt.plus(slot());
+        if (!ready) {
+            return liveStreamRepository.findAllByUserIdAndStatusAndScheduledAtGreaterThanAndScheduledAtLessThan(
+                            userId, StreamStatus.SCHEDULED, scheduledAt.minus(slot()), until).stream()
+                    .filter(s -> !s.isDeleted() && !s.getId().equals(excludeId))
+                    .map(LiveStream::getId)
+                    .toList();
+        }
+        lock.readLock().lock();
+        try {
+            IntervalIndex<UUID> own = byUser.get(userId);
+            if (own == null) return List.of();
+            return own.overlapping(toMs(scheduledAt), toMs(until)).stream()
+                    .map(IntervalIndex.Interval::key)
+                    .filter(id -> !id.equals(excludeId))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========================================================
+    // ======================= 更新 ===========================
+    // ========================================================
+
+    /**
+     * 配信予定を読み込む（起動時・定期）。読み込んだ一覧にない配信（他ノードで開始・キャンセルされたもの）は外す。
+     * 一覧の読み込みはロックの外で行うため、その間にイベントで反映した配信はロックの中で確認して読み飛ばす。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.schedule.reload-interval-ms:60000}",
+               fixedDelayString = "${app.schedule.reload-interval-ms:60000}")
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            if (loading) return; // 他の読み込みが進行中
+            loading = true;
+            changedWhileLoading.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<LiveStream> scheduled;
+        try {
+            scheduled = liveStreamRepository.findAllByStatusOrderByScheduledAtAsc(StreamStatus.SCHEDULED);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                loading = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            Set<UUID> loaded = new HashSet<>();
+            scheduled.stream()
+                    .filter(s -> !s.isDeleted() && !changedWhileLoading.contains(s.getId()))
+                    .forEach(s -> {
+                        loaded.add(s.getId());
+                        put(s);
+                    });
+            List.copyOf(cards.keySet()).stream()
+                    .filter(id -> !loaded.contains(id) && !changedWhileLoading.contains(id))
+                    .forEach(this::remove);
+            loading = false;
+            changedWhileLoading.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 配信の状態遷移をコミット後に反映する。
+     */
+    @TransactionalEventListener
+    public void onLifecycle(LiveStreamLifecycleEvent event) {
+        UUID id = event.liveStreamId();
+        LiveStream stream = event.isTerminal() ? null : liveStreamRepository.findById(id)
+                .filter(s -> !s.isDeleted() && s.getStatus() == StreamStatus.SCHEDULED)
+                .orElse(null);
+        lock.writeLock().lock();
+        try {
+            if (loading) changedWhileLoading.add(id);
+            remove(id);
+            if (stream != null) {
+                put(stream);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private void put(LiveStream stream) {
+        long start = toMs(stream.getScheduledAt());
+        long end = start + slot().toMillis();
+        UUID userId = stream.getUser().getId();
+        all.put(stream.getId(), start, end);
+        byUser.computeIfAbsent(userId, u -> new IntervalIndex<>()).put(stream.getId(), start, end);
+        cards.put(stream.getId(), LiveStreamResponseDTO.fromEntity(stream));
+    }
+
+    private void remove(UUID liveStreamId) {
+        all.remove(liveStreamId);
+        LiveStreamResponseDTO card = cards.remove(liveStreamId);
+        if (card == null) return;
+        IntervalIndex<UUID> own = byUser.get(card.getUserId());
+        if (own != null) {
+            own.remove(liveStreamId);
+            if (own.isEmpty()) byUser.remove(card.getUserId());
+        }
+    }
+
+    private Duration slot() {
+        return Duration.ofMinutes(props.getSlotMinutes());
+    }
+
+    private static long toMs(LocalDateTime time) {
+        return Objects.requireNonNull(time).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
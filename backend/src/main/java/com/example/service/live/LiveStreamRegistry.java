@@ -0,0 +1,224 @@
+package com.example.service.live;
+
+import com.example.config.LiveRegistryProperties;
+import com.example.dto.live_streams.LiveStreamResponseDTO;
+import com.example.entity.LiveStream;
+import com.example.enums.StreamStatus;
+import com.example.event.LiveStreamLifecycleEvent;
+import com.example.repository.LiveStreamRepository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 配信中（LIVE）と、まもなく開始（SCHEDULED かつ予定日時が先読み範囲内）の配信を保持するレジストリ。
+ *
+ * 1. 中身は不変のスナップショットで、更新時は丸ごと作り直して差し替える（コピーオンライト）。読み取りはロック不要。
+ * 2. 配信の状態遷移はコミット後のライフサイクルイベントで1件ずつ反映し、定期的に DB と突き合わせて作り直す。
+ * 3. 先読み範囲外の配信予定が1件もない間は SCHEDULED 一覧も全件そろっているとみなし、メモリから返す。
+ */
+@Service
+public class LiveStreamRegistry {
+
+    /** 未指定時の並び順：配信中は開始が新しい順、配信予定は予定日時が近い順 */
+    private static final Comparator<LiveStreamResponseDTO> DEFAULT_ORDER =
+            Comparator.comparing(LiveStreamResponseDTO::getStatus)
+                    .thenComparing(c -> c.getStatus() == StreamStatus.LIVE ? c.getStartedAt() : null,
+                            Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+                    .thenComparing(LiveStreamResponseDTO::getScheduledAt,
+                            Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder()))
+                    .thenComparing(LiveStreamResponseDTO::getId);
+
+    /** メモリ上で並べ替えできるプロパティ */
+    private static final Map<String, Function<LiveStreamResponseDTO, Comparable<?>>> SORTABLE = Map.of(
+            "title", LiveStreamResponseDTO::getTitle,
+            "viewsCount", LiveStreamResponseDTO::getViewsCount,
+            "scheduledAt", LiveStreamResponseDTO::getScheduledAt,
+            "startedAt", LiveStreamResponseDTO::getStartedAt,
+            "endedAt", LiveStreamResponseDTO::getEndedAt,
+            "createdAt", LiveStreamResponseDTO::getCreatedAt,
+            "updatedAt", LiveStreamResponseDTO::getUpdatedAt
+    );
+
+    private final LiveStreamRepository liveStreamRepository;
+    private final LiveRegistryProperties props;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * レジストリの不変スナップショット。
+     *
+     * @param byId              配信ID → 表示情報
+     * @param live              配信中（既定順）
+     * @param scheduled         まもなく開始（既定順）
+     * @param scheduledComplete 先読み範囲外の配信予定がなく、SCHEDULED を全件保持しているか
+     * @param horizon           先読み範囲の終端
+     */
+    private record Snapshot(Map<UUID, LiveStreamResponseDTO> byId,
+                            List<LiveStreamResponseDTO> live,
+                            List<LiveStreamResponseDTO> scheduled,
+                            boolean scheduledComplete,
+                            LocalDateTime horizon) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), List.of(), List.of(), false, LocalDateTime.MIN);
+
+        static Snapshot of(Map<UUID, LiveStreamResponseDTO> byId, boolean scheduledComplete, LocalDateTime horizon) {
+            List<LiveStreamResponseDTO> sorted = byId.values().stream().sorted(DEFAULT_ORDER).toList();
+            return new Snapshot(Map.copyOf(byId),
+                    sorted.stream().filter(c -> c.getStatus() == StreamStatus.LIVE).toList(),
+                    sorted.stream().filter(c -> c.getStatus() == StreamStatus.SCHEDULED).toList(),
+                    scheduledComplete, horizon);
+        }
+    }
+
+    public LiveStreamRegistry(LiveStreamRepository liveStreamRepository, LiveRegistryProperties props) {
+        this.liveStreamRepository = liveStreamRepository;
+        this.props = props;
+    }
+
+    // ========================================================
+    // ======================= 参照 ===========================
+    // ========================================================
+
+    /** 配信中の配信（開始が新しい順） */
+    public List<LiveStreamResponseDTO> live() {
+        return snapshot.live();
+    }
+
+    /** まもなく開始の配信（予定日時が近い順） */
+    public List<LiveStreamResponseDTO> scheduled() {
+        return snapshot.scheduled();
+    }
+
+    public Optional<LiveStreamResponseDTO> find(UUID liveStreamId) {
+        return Optional.ofNullable(snapshot.byId().get(liveStreamId));
+    }
+
+    public boolean isLive(UUID liveStreamId) {
+        return find(liveStreamId).map(c -> c.getStatus() == StreamStatus.LIVE).orElse(false);
+    }
+
+    /**
+     * 指定ステータスの一覧をメモリから返す。
+     * 保持していないステータスを含む、またはメモリ上で並べ替えできない指定の場合は空（呼び出し側で DB へ）。
+     */
+    public Optional<Page<LiveStreamResponseDTO>> list(Collection<StreamStatus> statuses, Pageable pageable) {
+        Snapshot current = snapshot;
+        for (StreamStatus status : statuses) {
+            boolean covered = status == StreamStatus.LIVE
+                    || (status == StreamStatus.SCHEDULED && current.scheduledComplete());
+            if (!covered) return Optional.empty();
+        }
+        Optional<Comparator<LiveStreamResponseDTO>> order = comparatorOf(pageable.getSort());
+        if (order.isEmpty()) return Optional.empty();
+
+        List<LiveStreamResponseDTO> matched = current.byId().values().stream()
+                .filter(c -> statuses.contains(c.getStatus()))
+                .sorted(order.get())
+                .toList();
+        return Optional.of(page(matched, pageable));
+    }
+
+    /**
+     * リストの一部をページとして切り出す。
+     */
+    public static Page<LiveStreamResponseDTO> page(List<LiveStreamResponseDTO> all, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all);
+        }
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    // ========================================================
+    // ======================= 更新 ===========================
+    // ========================================================
+
+    /**
+     * DB から読み直してスナップショットを作り直す（起動時・定期）。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.live-registry.reconcile-interval-ms:60000}",
+               fixedDelayString = "${app.live-registry.reconcile-interval-ms:60000}")
+    public synchronized void reconcile() {
+        LocalDateTime horizon = LocalDateTime.now().plusHours(props.getScheduledHorizonHours());
+        Map<UUID, LiveStreamResponseDTO> byId = new HashMap<>();
+        liveStreamRepository.findAllByStatus(StreamStatus.LIVE).stream()
+                .filter(s -> !s.isDeleted())
+                .forEach(s -> byId.put(s.getId(), LiveStreamResponseDTO.fromEntity(s)));
+        liveStreamRepository.findAllByStatusAndScheduledAtLessThanEqual(StreamStatus.SCHEDULED, horizon).stream()
+                .filter(s -> !s.isDeleted())
+                .forEach(s -> byId.put(s.getId(), LiveStreamResponseDTO.fromEntity(s)));
+        boolean complete = liveStreamRepository.countByStatusAndScheduledAtAfter(StreamStatus.SCHEDULED, horizon) == 0;
+        snapshot = Snapshot.of(byId, complete, horizon);
+    }
+
+    /**
+     * 配信の状態遷移をコミット後に反映する（視聴者数ランキング等より先に実行する）。
+     */
+    @Order(0)
+    @TransactionalEventListener
+    public void onLifecycle(LiveStreamLifecycleEvent event) {
+        refresh(event.liveStreamId());
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private synchronized void refresh(UUID liveStreamId) {
+        Snapshot current = snapshot;
+        Map<UUID, LiveStreamResponseDTO> byId = new HashMap<>(current.byId());
+        boolean complete = current.scheduledComplete();
+
+        byId.remove(liveStreamId);
+        Optional<LiveStream> stream = liveStreamRepository.findById(liveStreamId).filter(s -> !s.isDeleted());
+        if (stream.isPresent()) {
+            LiveStream s = stream.get();
+            if (s.getStatus() == StreamStatus.LIVE) {
+                byId.put(s.getId(), LiveStreamResponseDTO.fromEntity(s));
+            } else if (s.getStatus() == StreamStatus.SCHEDULED) {
+                if (s.getScheduledAt() != null && !s.getScheduledAt().isAfter(current.horizon())) {
+                    byId.put(s.getId(), LiveStreamResponseDTO.fromEntity(s));
+                } else {
+                    complete = false; // 範囲外の配信予定ができた → 次の突き合わせまで SCHEDULED は DB から
+                }
+            }
+        }
+        snapshot = Snapshot.of(byId, complete, current.horizon());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Optional<Comparator<LiveStreamResponseDTO>> comparatorOf(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Optional.of(DEFAULT_ORDER);
+        }
+        Comparator<LiveStreamResponseDTO> result = null;
+        for (Sort.Order order : sort) {
+            Function<LiveStreamResponseDTO, Comparable<?>> key = SORTABLE.get(order.getProperty());
+            if (key == null) return Optional.empty();
+            Comparator<Comparable> natural = Comparator.nullsLast(Comparator.naturalOrder());
+            Comparator<LiveStreamResponseDTO> c = Comparator.comparing(
+                    (Function) key, order.isAscending() ? natural : natural.reversed());
+            result = result == null ? c : result.thenComparing(c);
+        }
+        return Optional.of(result.thenComparing(LiveStreamResponseDTO::getId));
+    }
+}
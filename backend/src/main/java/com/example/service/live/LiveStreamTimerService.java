@@ -0,0 +1,244 @@
+package com.example.service.live;
+
+import com.example.config.LiveTimerProperties;
+import com.example.entity.LiveStream;
+import com.example.enums.StreamStatus;
+import com.example.event.LiveStreamLifecycleEvent;
+import com.example.event.LiveStreamReminderEvent;
+import com.example.repository.LiveStreamRepository;
+import com.example.service.LiveStreamService;
+import com.example.util.timer.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 配信ごとのライフサイクルタイマー。
+ *
+ * 1. 配信予定（SCHEDULED）：予定日時の {@code reminderLeadMinutes} 分前にリマインド、
+ *    予定日時から {@code noShowGraceMinutes} 分過ぎても開始されなければ自動キャンセル。
+ * 2. 配信中（LIVE）：取り込みサーバのハートビートが {@code heartbeatTimeoutMs} 途切れたら自動終了。
+ *    ハートビートはどのノードに届くか分からないため最終時刻を DB に記録し、自動終了はその時刻を条件に行う
+ *    （ハートビートを受けていないノードのタイマーが切れても、他ノードが受けている配信は終了しない）。
+ *
+ * タイマーは配信ごとに1つだけ {@link HierarchicalTimingWheel} に持ち、起動時に DB から組み立て、
+ * 以降は予定変更・開始・終了・キャンセルのコミット後イベントで張り直す。
+ * 同じ tick で発火した自動キャンセル・自動終了は、状態を条件に含めた集合更新でまとめて反映する。
+ */
+@Service
+public class LiveStreamTimerService {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveStreamTimerService.class);
+    private static final Set<StreamStatus> TIMED = EnumSet.of(StreamStatus.SCHEDULED, StreamStatus.LIVE);
+
+    enum Kind { REMINDER, NO_SHOW, HEARTBEAT }
+
+    /** タイマーの種類と、張った時点の配信予定日時 */
+    record Timer(Kind kind, LocalDateTime scheduledAt) {
+    }
+
+    private final LiveStreamRepository liveStreamRepository;
+    private final LiveStreamService liveStreamService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LiveTimerProperties props;
+    private final HierarchicalTimingWheel<UUID, Timer> wheel;
+    /** 配信ID → このノードが最終ハートビート時刻を DB に記録した時刻（ms） */
+    private final ConcurrentHashMap<UUID, Long> persistedAt = new ConcurrentHashMap<>();
+
+    public LiveStreamTimerService(LiveStreamRepository liveStreamRepository,
+                                  LiveStreamService liveStreamService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  LiveTimerProperties props,
+                                  MeterRegistry meterRegistry) {
+        this.liveStreamRepository = liveStreamRepository;
+        this.liveStreamService = liveStreamService;
+        this.eventPublisher = eventPublisher;
+        this.props = props;
+        this.wheel = new HierarchicalTimingWheel<>(System.currentTimeMillis(), props.getTickMs(), props.getWheelSize());
+        meterRegistry.gauge("live.timer.pending", wheel, HierarchicalTimingWheel::size);
+    }
+
+    // ========================================================
+    // ===================== ハートビート ======================
+    // ========================================================
+
+    /**
+     * 取り込みサーバからのハートビートを受け、配信中ライブの自動終了を先送りする。
+     * 最終ハートビート時刻は {@code heartbeatPersistIntervalMs} ごとに DB へ記録し、他ノードの自動終了を止める。
+     *
+     * @return 配信中としてタイマーを延長したか
+     */
+    public boolean touch(UUID liveStreamId) {
+        long now = System.currentTimeMillis();
+        Long persisted = persistedAt.get(liveStreamId);
+        if (persisted == null || now - persisted >= props.getHeartbeatPersistIntervalMs()) {
+            if (liveStreamRepository.recordHeartbeat(liveStreamId, LocalDateTime.now()) == 0) {
+                return false;
+            }
+            persistedAt.put(liveStreamId, now);
+        }
+        Timer current = wheel.valueOf(liveStreamId);
+        if (current == null || current.kind() != Kind.HEARTBEAT) {
+            return false;
+        }
+        wheel.schedule(liveStreamId, now + props.getHeartbeatTimeoutMs(), current);
+        return true;
+    }
+
+    // ========================================================
+    // ==================== タイマーの維持 =====================
+    // ========================================================
+
+    /**
+     * 起動時に配信予定・配信中の配信からタイマーを組み立てる。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<HierarchicalTimingWheel.Expired<UUID, Timer>> due = new ArrayList<>();
+        liveStreamRepository.findAllByStatusIn(TIMED).stream()
+                .filter(s -> !s.isDeleted())
+                .forEach(s -> due.addAll(arm(s)));
+        handle(due);
+    }
+
+    /**
+     * 配信の状態遷移をコミット後に反映し、タイマーを張り直す。
+     * コミット後のコールバック内では更新を行わず、期限切れのタイマーは次の tick で処理する。
+     */
+    @TransactionalEventListener
+    public void onLifecycle(LiveStreamLifecycleEvent event) {
+        UUID id = event.liveStreamId();
+        if (event.isTerminal()) {
+            wheel.cancel(id);
+            persistedAt.remove(id);
+            return;
+        }
+        liveStreamRepository.findById(id)
+                .filter(s -> !s.isDeleted() && TIMED.contains(s.getStatus()))
+                .ifPresentOrElse(s -> deferToNextTick(arm(s)), () -> wheel.cancel(id));
+    }
+
+    /**
+     * 時計を進め、期限に達したタイマーを処理する。
+     */
+    @Scheduled(fixedDelayString = "${app.live-timer.tick-ms:1000}")
+    public void tick() {
+        handle(wheel.advance(System.currentTimeMillis()));
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    /**
+     * 配信の状態に応じたタイマーを張る。
+     *
+     * @return 期限を過ぎていて即時に処理すべきタイマー
+     */
+    private List<HierarchicalTimingWheel.Expired<UUID, Timer>> arm(LiveStream stream) {
+        UUID id = stream.getId();
+        long now = System.currentTimeMillis();
+        if (stream.getStatus() == StreamStatus.LIVE) {
+            Timer current = wheel.valueOf(id);
+            if (current != null && current.kind() == Kind.HEARTBEAT) {
+                return List.of(); // 配信中の更新ではハートビート期限を変えない
+            }
+            // 期限は DB の最終ハートビートから数える（他ノードが受けたハートビートも反映される）
+            LocalDateTime lastHeartbeat = stream.getLastHeartbeatAt() != null
+                    ? stream.getLastHeartbeatAt() : stream.getStartedAt();
+            long from = lastHeartbeat != null ? toMs(lastHeartbeat) : now;
+            return wheel.schedule(id, from + props.getHeartbeatTimeoutMs(), new Timer(Kind.HEARTBEAT, null));
+        }
+
+        LocalDateTime scheduledAt = stream.getScheduledAt();
+        long reminderAt = toMs(scheduledAt.minusMinutes(props.getReminderLeadMinutes()));
+        if (now < reminderAt) {
+            return wheel.schedule(id, reminderAt, new Timer(Kind.REMINDER, scheduledAt));
+        }
+        return wheel.schedule(id, noShowAt(scheduledAt), new Timer(Kind.NO_SHOW, scheduledAt));
+    }
+
+    private void handle(List<HierarchicalTimingWheel.Expired<UUID, Timer>> expired) {
+        if (expired.isEmpty()) return;
+
+        List<UUID> noShows = new ArrayList<>();
+        List<UUID> abandoned = new ArrayList<>();
+        List<HierarchicalTimingWheel.Expired<UUID, Timer>> pending = new ArrayList<>(expired);
+        while (!pending.isEmpty()) {
+            HierarchicalTimingWheel.Expired<UUID, Timer> e = pending.remove(pending.size() - 1);
+            switch (e.value().kind()) {
+                case REMINDER -> {
+                    eventPublisher.publishEvent(new LiveStreamReminderEvent(e.key(), e.value().scheduledAt()));
+                    pending.addAll(wheel.schedule(e.key(), noShowAt(e.value().scheduledAt()),
+                            new Timer(Kind.NO_SHOW, e.value().scheduledAt())));
+                }
+                case NO_SHOW -> noShows.add(e.key());
+                case HEARTBEAT -> abandoned.add(e.key());
+            }
+        }
+
+        try {
+            if (!noShows.isEmpty()) {
+                LocalDateTime cutoff = LocalDateTime.now().minusMinutes(props.getNoShowGraceMinutes());
+                List<UUID> cancelled = liveStreamService.cancelNoShows(noShows, cutoff);
+                rearmSkipped(noShows, cancelled);
+            }
+            if (!abandoned.isEmpty()) {
+                LocalDateTime staleBefore = LocalDateTime.now().minus(Duration.ofMillis(props.getHeartbeatTimeoutMs()));
+                List<UUID> closed = liveStreamService.closeAbandoned(abandoned, staleBefore);
+                closed.forEach(persistedAt::remove);
+                rearmSkipped(abandoned, closed);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("live stream timer transition failed: noShows={}, abandoned={}", noShows.size(), abandoned.size(), ex);
+        }
+    }
+
+    /**
+     * 遷移の対象外だった配信（他ノードで予定変更・開始済みなど）は DB の状態からタイマーを張り直す。
+     */
+    private void rearmSkipped(List<UUID> candidates, List<UUID> applied) {
+        Set<UUID> done = new HashSet<>(applied);
+        List<HierarchicalTimingWheel.Expired<UUID, Timer>> due = new ArrayList<>();
+        for (UUID id : candidates) {
+            if (done.contains(id)) continue;
+            liveStreamRepository.findById(id)
+                    .filter(s -> !s.isDeleted() && TIMED.contains(s.getStatus()))
+                    .ifPresent(s -> due.addAll(arm(s)));
+        }
+        deferToNextTick(due);
+    }
+
+    private void deferToNextTick(List<HierarchicalTimingWheel.Expired<UUID, Timer>> due) {
+        due.forEach(e -> wheel.schedule(e.key(), System.currentTimeMillis() + props.getTickMs(), e.value()));
+    }
+
+    /**
+     * 自動キャンセルの期限。予定日時が既に過ぎている配信（過去日時での作成・停止中に過ぎたもの）にも
+     * タイマーを張った時点から猶予を与える。
+     */
+    private long noShowAt(LocalDateTime scheduledAt) {
+        long grace = Duration.ofMinutes(props.getNoShowGraceMinutes()).toMillis();
+        return Math.max(toMs(scheduledAt) + grace, System.currentTimeMillis() + grace);
+    }
+
+    private static long toMs(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
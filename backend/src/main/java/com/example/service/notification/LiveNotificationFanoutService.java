@@ -0,0 +1,384 @@
+package com.example.service.notification;
+
+import static com.example.util.UuidBinary.*;
+
+import com.example.config.NotificationProperties;
+import com.example.dto.notifications.NotificationFanoutStatusDTO;
+import com.example.dto.notifications.NotificationFanoutStatusDTO.State;
+import com.example.entity.LiveStream;
+import com.example.enums.FanoutState;
+import com.example.enums.NotificationType;
+import com.example.enums.StreamStatus;
+import com.example.event.LiveStreamLifecycleEvent;
+import com.example.repository.LiveStreamRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 配信開始時に、配信者のフォロワー全員へ通知を作成するファンアウト。
+ *
+ * 1. 配信開始のコミット後、専用の有界エグゼキュータへ投入してリクエストスレッドをすぐに返す。
+ *    キューが溢れた分は保留し、定期的に再投入する。
+ * 2. フォロワーIDは (target_id, subscriber_id) のインデックスをキーセットで一定件数ずつ読み、
+ *    通知行は JDBC のバッチ挿入で書く（1バッチ1トランザクション。JPA の永続化コンテキストは使わない）。
+ * 3. 配信ごとの進捗（状態・作成件数・バッチ数）をメモリに保持し、メトリクスにも出す。
+ * 4. 実行は (配信, 配信開始の世代) ごとに notification_fanouts の1行で記録し、一意制約で同じ配信開始の
+ *    二重実行を防ぐ。通知のバッチ挿入と読み込み位置の更新は同じトランザクションで行い、
+ *    失敗した実行・進捗の止まった実行は定期的に拾って、記録した位置の続きから再開する。
+ */
+@Service
+public class LiveNotificationFanoutService {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveNotificationFanoutService.class);
+
+    private static final String FIRST_FOLLOWERS =
+            "SELECT subscriber_id FROM subscriptions WHERE target_id = ? AND deleted_at IS NULL "
+                    + "ORDER BY subscriber_id LIMIT ?";
+    private static final String NEXT_FOLLOWERS =
+            "SELECT subscriber_id FROM subscriptions WHERE target_id = ? AND deleted_at IS NULL "
+                    + "AND subscriber_id > ? ORDER BY subscriber_id LIMIT ?";
+    private static final String INSERT_NOTIFICATION =
+            "INSERT INTO notifications (id, recipient_id, type, actor_id, live_stream_id, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_RUN =
+            "INSERT INTO notification_fanouts (id, live_stream_id, open_generation, state, run_token, delivered, batches, "
+                    + "created_at, updated_at) VALUES (?, ?, ?, 'RUNNING', ?, 0, 0, ?, ?)";
+    private static final String RESUME_RUN =
+            "UPDATE notification_fanouts SET state = 'RUNNING', run_token = ?, updated_at = ? "
+                    + "WHERE live_stream_id = ? AND open_generation = ? "
+                    + "AND (state = 'FAILED' OR (state = 'RUNNING' AND updated_at < ?))";
+    private static final String SELECT_RUN =
+            "SELECT state, last_recipient_id, delivered, batches FROM notification_fanouts "
+                    + "WHERE live_stream_id = ? AND open_generation = ?";
+    private static final String ADVANCE_RUN =
+            "UPDATE notification_fanouts SET last_recipient_id = ?, delivered = delivered + ?, batches = batches + 1, "
+                    + "updated_at = ? WHERE live_stream_id = ? AND open_generation = ? AND run_token = ?";
+    private static final String FINISH_RUN =
+            "UPDATE notification_fanouts SET state = ?, updated_at = ? "
+                    + "WHERE live_stream_id = ? AND open_generation = ? AND run_token = ?";
+    private static final String RESUMABLE_RUNS =
+            "SELECT live_stream_id, open_generation FROM notification_fanouts "
+                    + "WHERE (state = 'FAILED' AND updated_at < ?) OR (state = 'RUNNING' AND updated_at < ?) LIMIT ?";
+
+    /** 再開するファンアウトを1回の定期処理で拾う件数 */
+    private static final int RESUME_SCAN_LIMIT = 100;
+
+    private static final RowMapper<Run> RUN = (rs, n) -> new Run(
+            rs.getString(1), rs.getBytes(2), rs.getLong(3), rs.getLong(4));
+    private static final RowMapper<Job> RESUMABLE = (rs, n) -> new Job(toUuid(rs.getObject(1)), rs.getInt(2));
+
+    private final LiveStreamRepository liveStreamRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final Executor executor;
+    private final NotificationProperties props;
+
+    /** 配信ID → ファンアウトの進捗 */
+    private final ConcurrentHashMap<UUID, Progress> progress = new ConcurrentHashMap<>();
+    /** エグゼキュータに投入できなかったファンアウト */
+    private final Queue<Job> deferred = new ConcurrentLinkedQueue<>();
+
+    private final Counter delivered;
+    private final Counter rejected;
+
+    /**
+     * 実行するファンアウト。
+     *
+     * @param openGeneration 配信開始の世代（null なら実行時点の配信の世代。再開時は記録した世代）
+     */
+    private record Job(UUID liveStreamId, Integer openGeneration) {
+    }
+
+    /** notification_fanouts の1行 */
+    private record Run(String state, byte[] lastRecipientId, long delivered, long batches) {
+    }
+
+    /** 再開で他のワーカーに実行を引き継がれた */
+    private static final class LostOwnershipException extends RuntimeException {
+        LostOwnershipException() {
+            super("ファンアウトの実行が他のワーカーに引き継がれました");
+        }
+    }
+
+    /** ファンアウト1件分の進捗（実行スレッドが更新し、API から読む） */
+    private static final class Progress {
+        private final UUID liveStreamId;
+        private final LocalDateTime queuedAt = LocalDateTime.now();
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private volatile State state = State.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        Progress(UUID liveStreamId) {
+            this.liveStreamId = liveStreamId;
+        }
+
+        NotificationFanoutStatusDTO toDTO() {
+            return NotificationFanoutStatusDTO.builder()
+                    .liveStreamId(liveStreamId)
+                    .state(state)
+                    .delivered(delivered.get())
+                    .batches(batches.get())
+                    .queuedAt(queuedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+
+    public LiveNotificationFanoutService(LiveStreamRepository liveStreamRepository,
+                                         JdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager,
+                                         @Qualifier("notificationFanoutExecutor") Executor executor,
+                                         NotificationProperties props,
+                                         MeterRegistry meterRegistry) {
+        this.liveStreamRepository = liveStreamRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.props = props;
+        this.delivered = Counter.builder("notification.fanout.delivered").register(meterRegistry);
+        this.rejected = Counter.builder("notification.fanout.deferred").register(meterRegistry);
+        meterRegistry.gauge("notification.fanout.active", progress,
+                p -> p.values().stream().filter(e -> e.state == State.QUEUED || e.state == State.RUNNING).count());
+        meterRegistry.gauge("notification.fanout.backlog", deferred, Queue::size);
+    }
+
+    // ========================================================
+    // ======================= トリガー ========================
+    // ========================================================
+
+    /**
+     * 配信開始のコミット後にファンアウトを投入する。
+     */
+    @TransactionalEventListener
+    public void onLifecycle(LiveStreamLifecycleEvent event) {
+        if (event.type() == LiveStreamLifecycleEvent.Type.OPENED) {
+            submit(new Job(event.liveStreamId(), null));
+        }
+    }
+
+    /**
+     * 投入できなかったファンアウトを再投入し、失敗・停止したファンアウトを再開し、古い進捗を破棄する。
+     */
+    @Scheduled(fixedDelayString = "${app.notification.retry-interval-ms:5000}")
+    public void drain() {
+        int pending = deferred.size();
+        for (int i = 0; i < pending; i++) {
+            Job job = deferred.poll();
+            if (job == null) break;
+            if (!trySubmit(job)) {
+                deferred.add(job); // まだ空きがない → 次回に回す
+                break;
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Job> resumable = jdbcTemplate.query(RESUMABLE_RUNS, RESUMABLE,
+                Timestamp.valueOf(now.minus(Duration.ofMillis(props.getResumeDelayMs()))),
+                Timestamp.valueOf(now.minus(Duration.ofMillis(props.getStalledAfterMs()))),
+                RESUME_SCAN_LIMIT);
+        for (Job job : resumable) {
+            Progress p = progress.get(job.liveStreamId());
+            if (p == null || (p.state != State.QUEUED && p.state != State.RUNNING)) {
+                submit(job);
+            }
+        }
+        LocalDateTime expiry = LocalDateTime.now().minus(Duration.ofMillis(props.getProgressRetentionMs()));
+        progress.values().removeIf(p -> p.finishedAt != null && p.finishedAt.isBefore(expiry));
+    }
+
+    /**
+     * ファンアウトの進捗を返す。
+     *
+     * @throws NoSuchElementException 進捗が存在しない（未開始・保持期間切れ）場合
+     */
+    public NotificationFanoutStatusDTO getProgress(UUID liveStreamId) {
+        return Optional.ofNullable(progress.get(liveStreamId))
+                .map(Progress::toDTO)
+                .orElseThrow(() -> new NoSuchElementException("通知の配信状況が見つかりません"));
+    }
+
+    // ========================================================
+    // ====================== 本体処理 ========================
+    // ========================================================
+
+    private void submit(Job job) {
+        progress.put(job.liveStreamId(), new Progress(job.liveStreamId()));
+        if (!trySubmit(job)) {
+            deferred.add(job);
+        }
+    }
+
+    private boolean trySubmit(Job job) {
+        try {
+            executor.execute(() -> fanOut(job.liveStreamId(), job.openGeneration()));
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return false;
+        }
+    }
+
+    /**
+     * フォロワーをキーセットで読みながら通知をバッチ挿入する。
+     * 同じ配信開始の実行が完了済み・他で実行中なら何もせず、失敗・停止した実行は記録した位置の続きから再開する。
+     *
+     * @param openGeneration 配信開始の世代（null なら配信の現在の世代）
+     */
+    void fanOut(UUID liveStreamId, Integer openGeneration) {
+        Progress p = progress.computeIfAbsent(liveStreamId, Progress::new);
+        p.state = State.RUNNING;
+        p.startedAt = LocalDateTime.now();
+        byte[] streamId = toBytes(liveStreamId);
+        byte[] token = toBytes(UUID.randomUUID());
+        int generation = 0;
+        boolean owned = false;
+        try {
+            Optional<LiveStream> stream = liveStreamRepository.findById(liveStreamId).filter(s -> !s.isDeleted());
+            if (stream.isEmpty()) {
+                p.state = State.COMPLETED;
+                return;
+            }
+            generation = openGeneration != null ? openGeneration : stream.get().getOpenGeneration();
+            Optional<Run> claimed = claim(streamId, generation, token);
+            if (claimed.isEmpty()) {
+                // 同じ配信開始のファンアウトは完了済み、または他で実行中
+                Run current = findRun(streamId, generation).orElse(null);
+                p.state = current == null ? State.COMPLETED : State.valueOf(current.state());
+                if (current != null) {
+                    p.delivered.set(current.delivered());
+                    p.batches.set(current.batches());
+                }
+                return;
+            }
+            owned = true;
+            p.delivered.set(claimed.get().delivered());
+            p.batches.set(claimed.get().batches());
+            if (stream.get().getStatus() != StreamStatus.LIVE || stream.get().getOpenGeneration() != generation) {
+                // 再開を待つ間に配信が終わった（次の配信開始に移った）→ 残りは通知せずに打ち切る
+                finish(streamId, generation, token, FanoutState.COMPLETED);
+                p.state = State.COMPLETED;
+                return;
+            }
+            byte[] actorId = toBytes(stream.get().getUser().getId());
+
+            byte[] after = claimed.get().lastRecipientId();
+            while (true) {
+                List<byte[]> followers = after == null
+                        ? jdbcTemplate.queryForList(FIRST_FOLLOWERS, byte[].class, actorId, props.getFanoutBatchSize())
+                        : jdbcTemplate.queryForList(NEXT_FOLLOWERS, byte[].class, actorId, after, props.getFanoutBatchSize());
+                if (followers.isEmpty()) break;
+
+                insertBatch(followers, actorId, streamId, generation, token);
+                p.delivered.addAndGet(followers.size());
+                p.batches.incrementAndGet();
+                delivered.increment(followers.size());
+
+                if (followers.size() < props.getFanoutBatchSize()) break;
+                after = followers.get(followers.size() - 1);
+            }
+            if (finish(streamId, generation, token, FanoutState.COMPLETED) == 0) {
+                throw new LostOwnershipException();
+            }
+            p.state = State.COMPLETED;
+            log.info("live notification fan-out completed: stream={}, delivered={}", liveStreamId, p.delivered.get());
+        } catch (LostOwnershipException e) {
+            p.state = State.RUNNING; // 引き継いだワーカーが続ける
+            log.info("live notification fan-out taken over: stream={}, generation={}", liveStreamId, generation);
+        } catch (RuntimeException e) {
+            p.state = State.FAILED;
+            log.warn("live notification fan-out failed: stream={}, delivered={}", liveStreamId, p.delivered.get(), e);
+            if (owned) {
+                markFailed(streamId, generation, token);
+            }
+        } finally {
+            if (p.state != State.RUNNING) {
+                p.finishedAt = LocalDateTime.now();
+            }
+        }
+    }
+
+    /**
+     * 実行を引き受ける。未記録なら新しく記録し、記録済みなら失敗・停止したものだけを引き継ぐ。
+     *
+     * @return 引き受けた実行（続きの位置・件数）。完了済み・他で実行中なら空
+     */
+    private Optional<Run> claim(byte[] streamId, int generation, byte[] token) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            jdbcTemplate.update(INSERT_RUN, toBytes(UUID.randomUUID()), streamId, generation, token, now, now);
+            return Optional.of(new Run(FanoutState.RUNNING.name(), null, 0, 0));
+        } catch (DuplicateKeyException e) {
+            Timestamp stalledBefore = Timestamp.valueOf(
+                    LocalDateTime.now().minus(Duration.ofMillis(props.getStalledAfterMs())));
+            if (jdbcTemplate.update(RESUME_RUN, token, now, streamId, generation, stalledBefore) == 0) {
+                return Optional.empty();
+            }
+            return findRun(streamId, generation);
+        }
+    }
+
+    private Optional<Run> findRun(byte[] streamId, int generation) {
+        return jdbcTemplate.query(SELECT_RUN, RUN, streamId, generation).stream().findFirst();
+    }
+
+    private int finish(byte[] streamId, int generation, byte[] token, FanoutState state) {
+        return jdbcTemplate.update(FINISH_RUN, state.name(), Timestamp.valueOf(LocalDateTime.now()),
+                streamId, generation, token);
+    }
+
+    private void markFailed(byte[] streamId, int generation, byte[] token) {
+        try {
+            finish(streamId, generation, token, FanoutState.FAILED);
+        } catch (RuntimeException e) {
+            // 記録できなくても、進捗の止まった実行として再開される
+            log.warn("failed to record fan-out failure: generation={}", generation, e);
+        }
+    }
+
+    /**
+     * 通知のバッチ挿入と読み込み位置の更新を1トランザクションで行う。
+     * 実行を他のワーカーに引き継がれていたら挿入ごと取り消す。
+     */
+    private void insertBatch(List<byte[]> recipients, byte[] actorId, byte[] streamId, int generation, byte[] token) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(recipients.size());
+        for (byte[] recipient : recipients) {
+            rows.add(new Object[] {toBytes(UUID.randomUUID()), recipient, NotificationType.LIVE_STARTED.name(),
+                    actorId, streamId, now, now});
+        }
+        byte[] last = recipients.get(recipients.size() - 1);
+        tx.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_NOTIFICATION, rows);
+            if (jdbcTemplate.update(ADVANCE_RUN, last, recipients.size(), now, streamId, generation, token) == 0) {
+                throw new LostOwnershipException();
+            }
+        });
+    }
+}
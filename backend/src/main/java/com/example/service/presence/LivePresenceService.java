@@ -0,0 +1,181 @@
+package com.example.service.presence;
+
+import com.example.config.PresenceProperties;
+import com.example.dto.live_streams.LiveStreamPresenceDTO;
+import com.example.dto.live_streams.LiveStreamResponseDTO;
+import com.example.event.LiveStreamLifecycleEvent;
+import com.example.service.live.LiveStreamRegistry;
+import com.example.util.concurrent.KeyedRateLimiter;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 配信中（LIVE）ライブの視聴者プレゼンスと「視聴者数順の配信中一覧」を保持するサービス。
+ *
+ * 1. 視聴者はハートビートを送り続け、TTL 内のものを同時視聴者として {@link PresenceCounter} で数える。
+ * 2. 配信中一覧は {@link LiveStreamRegistry} の表示情報に同時視聴者数を載せ、一定間隔で並べ直したスナップショットを返す。
+ * 3. 配信の終了はコミット後のライフサイクルイベントで反映し、カウンタを破棄する。
+ *
+ * 累計ユニーク視聴者数は配信終了時に {@link com.example.entity.LiveStream#getViewsCount()} へ加算する。
+ * 匿名視聴者は送信元アドレスと clientId の組で区別する（NAT やプロキシの内側の視聴者も別々に数える）。
+ * clientId はクライアントが自由に作れるため、水増しは送信元アドレスごとのハートビートの流量制限で抑える。
+ * 送信元アドレスはプロキシの転送ヘッダーを信頼できる範囲で解決したもの（{@code server.forward-headers-strategy}）を使う。
+ */
+@Service
+public class LivePresenceService {
+
+    private static final String NOT_LIVE = "配信中のライブ配信が見つかりません";
+    private static final int MAX_CLIENT_ID_LENGTH = 64;
+
+    private static final Comparator<LiveStreamResponseDTO> BY_VIEWERS =
+            Comparator.comparing(LiveStreamResponseDTO::getCurrentViewers, Comparator.reverseOrder())
+                    .thenComparing(LiveStreamResponseDTO::getStartedAt,
+                            Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()));
+
+    private final LiveStreamRegistry liveStreamRegistry;
+    private final PresenceProperties props;
+
+    /** 送信元アドレスごとの匿名ハートビートの流量制限 */
+    private final KeyedRateLimiter<String> anonymousLimiter;
+
+    /** 配信ID → 視聴者カウンタ（初回のハートビートで作る） */
+    private final ConcurrentHashMap<UUID, PresenceCounter> counters = new ConcurrentHashMap<>();
+
+    /** 同時視聴者数順の配信中一覧（定期的に差し替える） */
+    private volatile List<LiveStreamResponseDTO> ranking = List.of();
+
+    public LivePresenceService(LiveStreamRegistry liveStreamRegistry, PresenceProperties props) {
+        this.liveStreamRegistry = liveStreamRegistry;
+        this.props = props;
+        this.anonymousLimiter = new KeyedRateLimiter<>(props.getAnonymousHeartbeatsPerSecond(),
+                props.getAnonymousHeartbeatBurst(), props.getRateLimitMaxAddresses());
+    }
+
+    // ========================================================
+    // ==================== プレゼンス ========================
+    // ========================================================
+
+    /**
+     * 視聴者のハートビートを記録し、現在の視聴者数を返す。
+     * ログインユーザーはユーザーID、匿名視聴者は送信元アドレスとクライアントが生成した識別子の組で区別する。
+     * 送信元アドレスごとの流量を超えた匿名のハートビートは記録せず、現在の視聴者数だけを返す。
+     *
+     * @param liveStreamId  配信ID
+     * @param userId        ログインユーザーのID（匿名なら null）
+     * @param clientId      匿名視聴者のクライアント識別子（ログイン時は無視）
+     * @param sourceAddress リクエストの送信元アドレス
+     * @throws IllegalArgumentException 匿名でクライアント識別子がない、または長すぎる場合
+     * @throws NoSuchElementException   配信中でない場合
+     */
+    public LiveStreamPresenceDTO heartbeat(UUID liveStreamId, UUID userId, String clientId, String sourceAddress) {
+        String viewerKey;
+        if (userId != null) {
+            viewerKey = "u:" + userId;
+        } else if (clientId != null && !clientId.isBlank() && clientId.length() <= MAX_CLIENT_ID_LENGTH) {
+            viewerKey = "a:" + sourceAddress + "#" + clientId;
+        } else {
+            throw new IllegalArgumentException("匿名視聴の場合は " + MAX_CLIENT_ID_LENGTH + " 文字以内の clientId が必要です");
+        }
+        if (!liveStreamRegistry.isLive(liveStreamId)) {
+            throw new NoSuchElementException(NOT_LIVE);
+        }
+
+        PresenceCounter counter = counters.computeIfAbsent(liveStreamId, id -> new PresenceCounter(
+                props.getExactThreshold(), props.getTtlMs(), props.getBucketMs(), props.getHllPrecision()));
+        long now = System.currentTimeMillis();
+        if (userId != null || anonymousLimiter.tryAcquire(sourceAddress, now)) {
+            counter.heartbeat(viewerKey, now);
+        }
+        return toPresence(liveStreamId, counter, now);
+    }
+
+    /**
+     * 現在の視聴者数を返す。
+     *
+     * @throws NoSuchElementException 配信中でない場合
+     */
+    public LiveStreamPresenceDTO getPresence(UUID liveStreamId) {
+        if (!liveStreamRegistry.isLive(liveStreamId)) {
+            throw new NoSuchElementException(NOT_LIVE);
+        }
+        return toPresence(liveStreamId, counters.get(liveStreamId), System.currentTimeMillis());
+    }
+
+    /**
+     * 累計ユニーク視聴者数を返す（配信中でなければ 0）。
+     */
+    public long uniqueViewers(UUID liveStreamId) {
+        PresenceCounter counter = counters.get(liveStreamId);
+        return counter != null ? counter.uniqueViewers() : 0;
+    }
+
+    // ========================================================
+    // ================== 配信中ランキング =====================
+    // ========================================================
+
+    /**
+     * 同時視聴者数順の配信中一覧を返す（DB は参照しない）。
+     */
+    public Page<LiveStreamResponseDTO> getLiveRanking(Pageable pageable) {
+        return LiveStreamRegistry.page(ranking, pageable);
+    }
+
+    /**
+     * 同時視聴者数を数え直して一覧を並べ替える。配信中でなくなった配信のカウンタはここで破棄する。
+     */
+    @Scheduled(fixedDelayString = "${app.presence.rank-interval-ms:2000}")
+    public void rerank() {
+        long now = System.currentTimeMillis();
+        List<LiveStreamResponseDTO> live = liveStreamRegistry.live();
+        Set<UUID> liveIds = live.stream().map(LiveStreamResponseDTO::getId).collect(Collectors.toSet());
+        counters.keySet().retainAll(liveIds);
+        ranking = live.stream()
+                .map(card -> {
+                    PresenceCounter counter = counters.get(card.getId());
+                    return card.toBuilder().currentViewers(counter != null ? counter.concurrent(now) : 0).build();
+                })
+                .sorted(BY_VIEWERS)
+                .toList();
+    }
+
+    // ========================================================
+    // ============== 配信状態の反映（イベント） ===============
+    // ========================================================
+
+    /**
+     * 配信の開始・更新・終了をコミット後に反映する（レジストリの更新後に実行する）。
+     */
+    @Order(10)
+    @TransactionalEventListener
+    public void onLifecycle(LiveStreamLifecycleEvent event) {
+        if (event.isTerminal()) {
+            counters.remove(event.liveStreamId());
+        }
+        rerank();
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private static LiveStreamPresenceDTO toPresence(UUID liveStreamId, PresenceCounter counter, long now) {
+        return LiveStreamPresenceDTO.builder()
+                .liveStreamId(liveStreamId)
+                .currentViewers(counter != null ? counter.concurrent(now) : 0)
+                .uniqueViewers(counter != null ? counter.uniqueViewers() : 0)
+                .approximate(counter != null && counter.isApproximate())
+                .build();
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.service.presence;
+
+import com.example.util.sketch.HyperLogLog;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 1配信分のハートビート式プレゼンス集計。
+ *
+ * 1. 同時視聴者数：最終ハートビートから {@code ttlMs} 以内の視聴者数。
+ *    少人数のうちは視聴者ごとの最終時刻を持って正確に数え、{@code exactThreshold} を超えたら
+ *    {@code bucketMs} ごとの HyperLogLog を TTL 分だけ保持して和集合で近似する。
+ *    近似中に閾値の半分を下回ったら正確な集計を並行して始め、TTL 分たまった時点で正確モードへ戻す。
+ * 2. 累計ユニーク視聴者数：閾値までは集合で正確に、超えたら HyperLogLog の推定値を使う。
+ */
+public final class PresenceCounter {
+
+    private final int exactThreshold;
+    private final long ttlMs;
+    private final long bucketMs;
+
+    /** 正確モード（または近似からの復帰準備中）の最終ハートビート時刻。近似のみの間は null */
+    private Map<String, Long> lastSeen = new HashMap<>();
+    /** 近似モードの時間バケット（正確モードでは null） */
+    private HyperLogLog[] buckets;
+    private long[] bucketNos;
+    /** 正確モードへの復帰準備を始めた時刻（-1 = 準備していない） */
+    private long warmingSince = -1;
+
+    /** 累計ユニーク視聴者（閾値超過後は null） */
+    private Set<String> uniqueExact = new HashSet<>();
+    private final HyperLogLog uniqueApprox;
+
+    public PresenceCounter(int exactThreshold, long ttlMs, long bucketMs, int precision) {
+        if (exactThreshold <= 0 || ttlMs <= 0 || bucketMs <= 0 || bucketMs > ttlMs) {
+            throw new IllegalArgumentException("プレゼンス設定が不正です");
+        }
+        this.exactThreshold = exactThreshold;
+        this.ttlMs = ttlMs;
+        this.bucketMs = bucketMs;
+        this.uniqueApprox = new HyperLogLog(precision);
+    }
+
+    /**
+     * 視聴者のハートビートを記録する。
+     */
+    public synchronized void heartbeat(String viewerKey, long nowMs) {
+        long hash = HyperLogLog.hash(viewerKey);
+
+        uniqueApprox.addHash(hash);
+        if (uniqueExact != null) {
+            uniqueExact.add(viewerKey);
+            if (uniqueExact.size() > exactThreshold) {
+                uniqueExact = null;
+            }
+        }
+
+        if (buckets != null) {
+            bucketFor(nowMs).addHash(hash);
+        }
+        if (lastSeen != null) {
+            lastSeen.put(viewerKey, nowMs);
+            if (lastSeen.size() > exactThreshold) {
+                expireExact(nowMs);
+                if (lastSeen.size() > exactThreshold) {
+                    if (buckets == null) {
+                        toApproximate(nowMs);
+                    } else {
+                        // 復帰準備中に閾値を超えた → 準備をやめて近似を続ける
+                        // （準備中の集計は warmingSince 以降の視聴者しか持たないため、バケットを作り直すと過小に数える）
+                        lastSeen = null;
+                        warmingSince = -1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 同時視聴者数を返す。
+     */
+    public synchronized long concurrent(long nowMs) {
+        if (buckets == null) {
+            expireExact(nowMs);
+            return lastSeen.size();
+        }
+
+        if (lastSeen != null && nowMs - warmingSince >= ttlMs) {
+            // 復帰準備が TTL 分たまった → 正確モードへ
+            buckets = null;
+            bucketNos = null;
+            warmingSince = -1;
+            expireExact(nowMs);
+            return lastSeen.size();
+        }
+
+        long estimate = approximate(nowMs);
+        if (lastSeen == null && estimate < exactThreshold / 2) {
+            lastSeen = new HashMap<>();
+            warmingSince = nowMs;
+        }
+        return estimate;
+    }
+
+    /**
+     * 累計ユニーク視聴者数を返す。
+     */
+    public synchronized long uniqueViewers() {
+        return uniqueExact != null ? uniqueExact.size() : uniqueApprox.estimate();
+    }
+
+    public synchronized boolean isApproximate() {
+        return buckets != null;
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private void expireExact(long nowMs) {
+        long threshold = nowMs - ttlMs;
+        lastSeen.values().removeIf(at -> at < threshold);
+    }
+
+    private void toApproximate(long nowMs) {
+        int n = (int) (ttlMs / bucketMs) + 1;
+        buckets = new HyperLogLog[n];
+        bucketNos = new long[n];
+        for (int i = 0; i < n; i++) {
+            buckets[i] = new HyperLogLog(uniqueApprox.precision());
+            bucketNos[i] = -1;
+        }
+        // 生きている視聴者を最終ハートビートのバケットへ移す
+        lastSeen.forEach((key, at) -> bucketFor(at).add(key));
+        lastSeen = null;
+        warmingSince = -1;
+    }
+
+    private HyperLogLog bucketFor(long atMs) {
+        long no = atMs / bucketMs;
+        int i = (int) (no % buckets.length);
+        if (bucketNos[i] != no) {
+            buckets[i].clear();
+            bucketNos[i] = no;
+        }
+        return buckets[i];
+    }
+
+    private long approximate(long nowMs) {
+        long oldest = (nowMs - ttlMs) / bucketMs;
+        HyperLogLog union = new HyperLogLog(uniqueApprox.precision());
+        for (int i = 0; i < buckets.length; i++) {
+            if (bucketNos[i] >= oldest) {
+                union.merge(buckets[i]);
+            }
+        }
+        return union.estimate();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.service.subscription;
+
+import com.example.config.SubscriptionProperties;
+import com.example.dto.subscriptions.FollowStatsDTO;
+import com.example.entity.User;
+import com.example.event.SubscriptionChangedEvent;
+import com.example.repository.UserRepository;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * ユーザーごとのフォロワー数・フォロー数のキャッシュ（件数上限つき LRU・有効期限つき）。
+ *
+ * 値は users テーブルの非正規化カウンタから読み、フォロー・解除のコミット後と
+ * カウンタの突き合わせで修正した後に破棄する。
+ */
+@Service
+public class FollowCountCache {
+
+    private static final String USER_NOT_FOUND = "ユーザーが見つかりません";
+
+    private final UserRepository userRepository;
+    private final long ttlMs;
+    private final Map<UUID, Entry> cache;
+
+    private record Entry(long followers, long following, long loadedAt) {
+    }
+
+    public FollowCountCache(UserRepository userRepository, SubscriptionProperties props) {
+        this.userRepository = userRepository;
+        this.ttlMs = props.getCountCacheTtlMs();
+        int capacity = props.getCountCacheSize();
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(Math.min(capacity, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    /**
+     * フォロワー数・フォロー数を返す（閲覧者のフォロー有無は含まない）。
+     *
+     * @throws NoSuchElementException ユーザーが存在しない、または削除済みの場合
+     */
+    public FollowStatsDTO get(UUID userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = cache.get(userId);
+        if (entry == null || now - entry.loadedAt() >= ttlMs) {
+            User user = userRepository.findById(userId)
+                    .filter(u -> !u.isDeleted())
+                    .orElseThrow(() -> new NoSuchElementException(USER_NOT_FOUND));
+            entry = new Entry(user.getFollowerCount(), user.getFollowingCount(), now);
+            cache.put(userId, entry);
+        }
+        return FollowStatsDTO.builder()
+                .userId(userId)
+                .followerCount(entry.followers())
+                .followingCount(entry.following())
+                .build();
+    }
+
+    public void evict(Collection<UUID> userIds) {
+        userIds.forEach(cache::remove);
+    }
+
+    /**
+     * フォロー・解除のコミット後に両者のカウンタを破棄する。
+     */
+    @TransactionalEventListener
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        cache.remove(event.subscriberId());
+        cache.remove(event.targetId());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.service.subscription;
+
+import com.example.config.SubscriptionProperties;
+import com.example.repository.SubscriptionRepository;
+import com.example.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * users のフォロワー数・フォロー数カウンタを subscriptions の実件数と突き合わせて修正するジョブ。
+ *
+ * 1. ユーザーを ID のキーセットで一定件数ずつ読み、件数を GROUP BY でまとめて数える（1チャンク1トランザクション）。
+ * 2. ずれていたユーザーだけ行をロックしてから数え直して上書きする。
+ *    フォロー・解除も同じ行をロックしてから変更するため、実行中のフォローとは競合しない。
+ */
+@Service
+public class FollowCountReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(FollowCountReconciler.class);
+
+    private final UserRepository userRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final FollowCountCache followCountCache;
+    private final SubscriptionProperties props;
+    private final TransactionTemplate tx;
+    private final Counter drift;
+
+    public FollowCountReconciler(UserRepository userRepository,
+                                 SubscriptionRepository subscriptionRepository,
+                                 FollowCountCache followCountCache,
+                                 SubscriptionProperties props,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.followCountCache = followCountCache;
+        this.props = props;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.drift = Counter.builder("subscription.counter.drift").register(meterRegistry);
+    }
+
+    /**
+     * 全ユーザーのカウンタを突き合わせる。
+     *
+     * @return 修正したユーザー数
+     */
+    @Scheduled(initialDelayString = "${app.subscription.reconcile-interval-ms:3600000}",
+               fixedDelayString = "${app.subscription.reconcile-interval-ms:3600000}")
+    public int reconcile() {
+        int fixed = 0;
+        UUID after = null;
+        while (true) {
+            PageRequest chunk = PageRequest.of(0, props.getReconcileChunkSize());
+            UUID cursor = after;
+            List<Object[]> rows = cursor == null
+                    ? userRepository.findFollowCountsFirstChunk(chunk)
+                    : userRepository.findFollowCountsChunkAfter(cursor, chunk);
+            if (rows.isEmpty()) break;
+
+            Integer n = tx.execute(status -> reconcileChunk(rows));
+            fixed += n != null ? n : 0;
+            if (rows.size() < props.getReconcileChunkSize()) break;
+            after = (UUID) rows.get(rows.size() - 1)[0];
+        }
+        if (fixed > 0) {
+            log.warn("follow counters reconciled: fixed={}", fixed);
+        }
+        return fixed;
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private int reconcileChunk(List<Object[]> rows) {
+        List<UUID> ids = rows.stream().map(r -> (UUID) r[0]).toList();
+        Map<UUID, Long> followers = toMap(subscriptionRepository.countFollowersByTargetIds(ids));
+        Map<UUID, Long> following = toMap(subscriptionRepository.countFollowingBySubscriberIds(ids));
+
+        List<UUID> drifted = new ArrayList<>();
+        for (Object[] row : rows) {
+            UUID id = (UUID) row[0];
+            if (((Number) row[1]).longValue() != followers.getOrDefault(id, 0L)
+                    || ((Number) row[2]).longValue() != following.getOrDefault(id, 0L)) {
+                drifted.add(id);
+            }
+        }
+        if (drifted.isEmpty()) return 0;
+
+        // ロックしてから数え直す（ロック前の集計との間に進んだフォローを取りこぼさない）
+        userRepository.lockAllById(drifted);
+        followers = toMap(subscriptionRepository.countFollowersByTargetIds(drifted));
+        following = toMap(subscriptionRepository.countFollowingBySubscriberIds(drifted));
+        for (UUID id : drifted) {
+            userRepository.setFollowCounts(id, followers.getOrDefault(id, 0L), following.getOrDefault(id, 0L));
+        }
+        drift.increment(drifted.size());
+        followCountCache.evict(drifted);
+        return drifted.size();
+    }
+
+    private static Map<UUID, Long> toMap(List<Object[]> rows) {
+        Map<UUID, Long> map = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            map.put((UUID) row[0], ((Number) row[1]).longValue());
+        }
+        return map;
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.service.subscription;
+
+import static com.example.util.UuidBinary.*;
+
+import com.example.config.SubscriptionProperties;
+import com.example.event.SubscriptionChangedEvent;
+import com.example.util.graph.CsrGraph;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * フォローグラフ（subscriptions）のメモリ上のスナップショットと、それを使ったおすすめチャンネルの算出。
+ *
+ * 1. ユーザーIDを 0 始まりの int 番号に振り直し、フォロー関係を {@link CsrGraph} に詰めて持つ。
+ *    起動時と定期的に、subscriptions を ID のキーセットで一定件数ずつ読んで作り直す。
+ * 2. フォロー・解除はコミット後に未反映の差分として溜め、定期的に現在のスナップショットとマージして差し替える
+ *    （DB は読まない）。差分は冪等に適用するため、全件読み直しと重なっても結果は変わらない。
+ * 3. おすすめは「フォロー中のユーザーがフォローしている」と「自分のフォロワーがフォローしている」の2歩先を数え、
+ *    回数の多い順に返す。自分自身とフォロー中のユーザー（未反映の差分を含む）は除く。
+ */
+@Service
+public class FollowGraphService {
+
+    private static final Logger log = LoggerFactory.getLogger(FollowGraphService.class);
+
+    private static final String FIRST_EDGES =
+            "SELECT id, subscriber_id, target_id FROM subscriptions WHERE deleted_at IS NULL ORDER BY id LIMIT ?";
+    private static final String NEXT_EDGES =
+            "SELECT id, subscriber_id, target_id FROM subscriptions WHERE deleted_at IS NULL AND id > ? "
+                    + "ORDER BY id LIMIT ?";
+    /** [id, subscriber_id, target_id] */
+    private static final RowMapper<Object[]> EDGE_ROW =
+            (rs, i) -> new Object[] {rs.getObject(1), rs.getObject(2), rs.getObject(3)};
+
+    /** おすすめ1件（ユーザーIDと、2歩先でたどり着いた回数） */
+    public record Suggestion(UUID userId, int score) {
+    }
+
+    /**
+     * グラフと番号の対応。ordinals は追記のみで、グラフのノード数より先の番号を含むことがある。
+     */
+    private record Snapshot(CsrGraph graph, UUID[] users, Map<UUID, Integer> ordinals) {
+        static final Snapshot EMPTY = new Snapshot(CsrGraph.empty(), new UUID[0], new ConcurrentHashMap<>());
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SubscriptionProperties props;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    /** 全件読み直しと差分マージを直列化する */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    /** 未反映の差分（フォローする側 → (相手 → フォロー中か)） */
+    private Map<UUID, Map<UUID, Boolean>> pending = new HashMap<>();
+    /** マージ中の差分（マージが終わるまで参照側はこちらも見る） */
+    private volatile Map<UUID, Map<UUID, Boolean>> merging = Map.of();
+
+    public FollowGraphService(JdbcTemplate jdbcTemplate, SubscriptionProperties props, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.props = props;
+        meterRegistry.gauge("follow.graph.nodes", this, s -> s.snapshot.graph().nodeCount());
+        meterRegistry.gauge("follow.graph.edges", this, s -> s.snapshot.graph().edgeCount());
+    }
+
+    // ========================================================
+    // ======================= 参照 ===========================
+    // ========================================================
+
+    /**
+     * おすすめのユーザーを多い順に最大 limit 件返す（ユーザーの存在・削除は呼び出し側で確認する）。
+     */
+    public List<Suggestion> suggest(UUID userId, int limit) {
+        Snapshot snap = snapshot;
+        CsrGraph graph = snap.graph();
+        Map<UUID, Boolean> changes = changesOf(userId);
+        Integer self = snap.ordinals().get(userId);
+        int u = self != null ? self : Integer.MAX_VALUE;
+        int fanout = props.getSuggestionFanout();
+
+        // フォロー中（差分で解除したものを除き、追加したものを足す）とフォロワーを起点にする
+        Set<Integer> added = new HashSet<>();
+        Set<Integer> removed = new HashSet<>();
+        changes.forEach((target, following) -> {
+            Integer v = snap.ordinals().get(target);
+            if (v != null) (following ? added : removed).add(v);
+        });
+        int[] following = graph.outNeighbors(u, fanout);
+        int[] followers = graph.inNeighbors(u, fanout);
+        int[] seeds = new int[following.length + added.size() + followers.length];
+        int n = 0;
+        for (int v : following) {
+            if (!removed.contains(v)) seeds[n++] = v;
+        }
+        for (int v : added) {
+            seeds[n++] = v;
+        }
+        System.arraycopy(followers, 0, seeds, n, followers.length);
+        n += followers.length;
+
+        CsrGraph.Suggestions ranked = graph.suggest(Arrays.copyOf(seeds, n), limit, fanout,
+                v -> v == u || added.contains(v) || (graph.hasEdge(u, v) && !removed.contains(v)));
+        List<Suggestion> result = new ArrayList<>(ranked.nodes().length);
+        for (int i = 0; i < ranked.nodes().length; i++) {
+            result.add(new Suggestion(snap.users()[ranked.nodes()[i]], ranked.scores()[i]));
+        }
+        return result;
+    }
+
+    // ========================================================
+    // ======================= 更新 ===========================
+    // ========================================================
+
+    /**
+     * フォロー・解除をコミット後に未反映の差分へ積む。
+     */
+    @TransactionalEventListener
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        synchronized (this) {
+            pending.computeIfAbsent(event.subscriberId(), k -> new HashMap<>())
+                    .put(event.targetId(), event.following());
+        }
+    }
+
+    /**
+     * 未反映の差分を現在のスナップショットにマージする。
+     */
+    @Scheduled(fixedDelayString = "${app.subscription.graph-merge-interval-ms:10000}")
+    public void mergePending() {
+        rebuildLock.lock();
+        try {
+            Map<UUID, Map<UUID, Boolean>> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) return;
+                batch = pending;
+                merging = batch;
+                pending = new HashMap<>();
+            }
+            Snapshot current = snapshot;
+            Map<UUID, Integer> ordinals = current.ordinals();
+            List<UUID> users = new ArrayList<>(Arrays.asList(current.users()));
+            IntList addSrc = new IntList();
+            IntList addDst = new IntList();
+            IntList removeSrc = new IntList();
+            IntList removeDst = new IntList();
+            batch.forEach((subscriber, targets) -> targets.forEach((target, following) -> {
+                int s = ordinalOf(subscriber, ordinals, users);
+                int t = ordinalOf(target, ordinals, users);
+                (following ? addSrc : removeSrc).add(s);
+                (following ? addDst : removeDst).add(t);
+            }));
+            CsrGraph graph = current.graph().withChanges(users.size(),
+                    addSrc.values, addDst.values, addSrc.size, removeSrc.values, removeDst.values, removeSrc.size);
+            snapshot = new Snapshot(graph, users.toArray(UUID[]::new), ordinals);
+            merging = Map.of();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * subscriptions を全件読み直してスナップショットを作り直す（起動時・定期）。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.subscription.graph-reload-interval-ms:86400000}",
+               fixedDelayString = "${app.subscription.graph-reload-interval-ms:86400000}")
+    public void reload() {
+        rebuildLock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            Map<UUID, Integer> ordinals = new ConcurrentHashMap<>();
+            List<UUID> users = new ArrayList<>();
+            IntList src = new IntList();
+            IntList dst = new IntList();
+            int chunk = props.getGraphLoadChunkSize();
+            Object after = null;
+            while (true) {
+                List<Object[]> rows = after == null
+                        ? jdbcTemplate.query(FIRST_EDGES, EDGE_ROW, chunk)
+                        : jdbcTemplate.query(NEXT_EDGES, EDGE_ROW, after, chunk);
+                for (Object[] row : rows) {
+                    src.add(ordinalOf(toUuid(row[1]), ordinals, users));
+                    dst.add(ordinalOf(toUuid(row[2]), ordinals, users));
+                }
+                if (rows.size() < chunk) break;
+                after = rows.get(rows.size() - 1)[0];
+            }
+            CsrGraph graph = CsrGraph.fromEdges(users.size(), src.values, dst.values, src.size);
+            snapshot = new Snapshot(graph, users.toArray(UUID[]::new), ordinals);
+            log.info("follow graph reloaded: nodes={}, edges={}, tookMs={}",
+                    graph.nodeCount(), graph.edgeCount(), System.currentTimeMillis() - started);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    /** 未反映・マージ中の差分のうち、指定ユーザーがフォローする側のもの（新しい方を優先） */
+    private Map<UUID, Boolean> changesOf(UUID userId) {
+        Map<UUID, Boolean> changes = new HashMap<>(merging.getOrDefault(userId, Map.of()));
+        synchronized (this) {
+            changes.putAll(pending.getOrDefault(userId, Map.of()));
+        }
+        return changes;
+    }
+
+    private static int ordinalOf(UUID id, Map<UUID, Integer> ordinals, List<UUID> users) {
+        Integer ordinal = ordinals.get(id);
+        if (ordinal == null) {
+            ordinal = users.size();
+            users.add(id);
+            ordinals.put(id, ordinal);
+        }
+        return ordinal;
+    }
+
+    /** 伸長する int 配列 */
+    private static final class IntList {
+        int[] values = new int[1024];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.service.tag;
+
+import com.example.config.TagProperties;
+import com.example.dto.tags.TagSuggestionDTO;
+import com.example.entity.Tag;
+import com.example.event.TagLifecycleEvent;
+import com.example.event.TagUsageChangedEvent;
+import com.example.repository.LiveStreamTagRepository;
+import com.example.repository.TagRepository;
+import com.example.repository.VideoTagRepository;
+import com.example.util.trie.TopKPrefixIndex;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * タグの入力候補の索引。
+ *
+ * 1. タグ名を正規化（NFKC・小文字）したキーで {@link TopKPrefixIndex} に登録し、前方一致の候補を
+ *    利用件数（付与されている動画・配信の数）の多い順に DB を引かずに返す。
+ * 2. 起動時と定期的に、タグ一覧と利用件数の集計から作り直して差し替える。
+ *    以降はタグの作成・更新・削除と、付与・解除のコミット後イベントで1件ずつ反映する。
+ *    作り直しの読み込み中はイベントを届いた順の番号付きで溜め、差し替え時に、利用件数の集計より後に届いた
+ *    増減だけを新しい索引へ流し直す（集計に含まれている増減を二重に足さない）。変更のあったタグは読み直す。
+ * 3. 読み込みが終わるまでは DB の前方一致（利用件数の順位なし）で返す。
+ */
+@Service
+public class TagSuggestIndex {
+
+    private final TagRepository tagRepository;
+    private final VideoTagRepository videoTagRepository;
+    private final LiveStreamTagRepository liveStreamTagRepository;
+    private final TagProperties props;
+
+    /** 候補として返す表示情報 */
+    private record Card(String name, String slug) {
+        static Card of(Tag tag) {
+            return new Card(tag.getName(), tag.getSlug());
+        }
+    }
+
+    /** 作り直し中に届いた利用件数の増減（seq は届いた順の番号） */
+    private record PendingDelta(long seq, Map<UUID, Long> deltas) {
+    }
+
+    private volatile TopKPrefixIndex<UUID> index;
+    /** タグID → 表示情報 */
+    private final Map<UUID, Card> cards = new ConcurrentHashMap<>();
+
+    /** 作り直しを直列化する */
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    /** 届いた利用件数イベントの通し番号（this で保護） */
+    private long received;
+    /** 作り直し中に届いた利用件数の増減（作り直し中以外は null。this で保護） */
+    private List<PendingDelta> pendingDeltas;
+    /** 作り直し中に作成・更新・削除されたタグ（作り直し中以外は null。this で保護） */
+    private Set<UUID> pendingTags;
+
+    public TagSuggestIndex(TagRepository tagRepository,
+                           VideoTagRepository videoTagRepository,
+                           LiveStreamTagRepository liveStreamTagRepository,
+                           TagProperties props) {
+        this.tagRepository = tagRepository;
+        this.videoTagRepository = videoTagRepository;
+        this.liveStreamTagRepository = liveStreamTagRepository;
+        this.props = props;
+    }
+
+    // ========================================================
+    // ======================= 参照 ===========================
+    // ========================================================
+
+    /**
+     * 入力に前方一致するタグを利用件数の多い順に返す。
+     */
+    public List<TagSuggestionDTO> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        TopKPrefixIndex<UUID> current = index;
+        if (current == null) {
+            return tagRepository.findByNameStartingWithIgnoreCase(prefix.strip(),
+                            PageRequest.of(0, limit, Sort.by("name"))).stream()
+                    .map(t -> toSuggestion(t.getId(), Card.of(t), 0))
+                    .toList();
+        }
+        return current.top(key, limit).stream()
+                .filter(cards::containsKey)
+                .map(id -> toSuggestion(id, cards.get(id), Math.max(0, current.countOf(id))))
+                .toList();
+    }
+
+    // ========================================================
+    // ======================= 更新 ===========================
+    // ========================================================
+
+    /**
+     * タグ一覧と利用件数を読み直して索引を作り直す（起動時・定期）。
+     * 読み込みはイベントの反映を止めずに行い、差し替え時に集計より後に届いた増減だけを流し直す。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.tag.reconcile-interval-ms:3600000}",
+               fixedDelayString = "${app.tag.reconcile-interval-ms:3600000}")
+    public void reload() {
+        if (!reloadLock.tryLock()) return;
+        try {
+            synchronized (this) {
+                pendingDeltas = new ArrayList<>();
+                pendingTags = new HashSet<>();
+            }
+            Map<UUID, Long> counts = new HashMap<>();
+            for (Object[] row : videoTagRepository.countGroupByTag()) {
+                counts.merge((UUID) row[0], ((Number) row[1]).longValue(), Long::sum);
+            }
+            for (Object[] row : liveStreamTagRepository.countGroupByTag()) {
+                counts.merge((UUID) row[0], ((Number) row[1]).longValue(), Long::sum);
+            }
+            long snapshot;
+            synchronized (this) {
+                snapshot = received; // ここまでに届いた増減は集計に含まれている
+            }
+
+            TopKPrefixIndex<UUID> rebuilt = new TopKPrefixIndex<>(props.getSuggestMaxLimit());
+            Map<UUID, Card> loaded = new HashMap<>();
+            for (Tag tag : tagRepository.findAll()) {
+                rebuilt.put(tag.getId(), normalize(tag.getName()), counts.getOrDefault(tag.getId(), 0L));
+                loaded.put(tag.getId(), Card.of(tag));
+            }
+
+            synchronized (this) {
+                for (PendingDelta d : pendingDeltas) {
+                    if (d.seq() > snapshot) d.deltas().forEach(rebuilt::addCount);
+                }
+                cards.keySet().retainAll(loaded.keySet());
+                cards.putAll(loaded);
+                index = rebuilt;
+                pendingTags.forEach(id -> applyTag(rebuilt, id, tagRepository.findById(id).orElse(null)));
+            }
+        } finally {
+            synchronized (this) { // 以降のイベントは差し替えた索引へ直接反映する
+                pendingDeltas = null;
+                pendingTags = null;
+            }
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * タグの作成・更新・削除をコミット後に反映する。
+     */
+    @TransactionalEventListener
+    public synchronized void onTagChanged(TagLifecycleEvent event) {
+        UUID id = event.tagId();
+        if (pendingTags != null) pendingTags.add(id);
+        TopKPrefixIndex<UUID> current = index;
+        if (current == null) return;
+        Tag tag = event.type() == TagLifecycleEvent.Type.DELETED ? null : tagRepository.findById(id).orElse(null);
+        applyTag(current, id, tag);
+    }
+
+    /**
+     * 付与・解除による利用件数の増減をコミット後に反映する。
+     */
+    @TransactionalEventListener
+    public synchronized void onUsageChanged(TagUsageChangedEvent event) {
+        received++;
+        if (pendingDeltas != null) pendingDeltas.add(new PendingDelta(received, event.deltas()));
+        TopKPrefixIndex<UUID> current = index;
+        if (current == null) return;
+        event.deltas().forEach(current::addCount);
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    /** 保存・重複確認に使うタグ名（全角半角を揃え、前後の空白を除く。大文字小文字は残す） */
+    public static String canonicalName(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).strip();
+    }
+
+    /** 索引のキー（{@link #canonicalName} を小文字にしたもの） */
+    static String normalize(String text) {
+        return canonicalName(text).toLowerCase(Locale.ROOT);
+    }
+
+    /** タグの現在の状態（削除済みなら null）を索引と表示情報へ反映する */
+    private void applyTag(TopKPrefixIndex<UUID> target, UUID id, Tag tag) {
+        if (tag == null) {
+            target.remove(id);
+            cards.remove(id);
+            return;
+        }
+        target.put(id, normalize(tag.getName()), Math.max(0, target.countOf(id)));
+        cards.put(id, Card.of(tag));
+    }
+
+    private static TagSuggestionDTO toSuggestion(UUID id, Card card, long usageCount) {
+        return TagSuggestionDTO.builder()
+                .id(id)
+                .name(card.name())
+                .slug(card.slug())
+                .usageCount(usageCount)
+                .build();
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.service.video;
+
+import static com.example.util.UuidBinary.*;
+
+import com.example.dto.videos.UploaderDTO;
+import com.example.entity.Video;
+import com.example.event.UserChangedEvent;
+import com.example.event.VideoLifecycleEvent;
+import com.example.event.VideoViewedEvent;
+import com.example.util.UuidBinary;
+import com.example.util.concurrent.DeltaAccumulator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 公開動画のカード（一覧表示用のフィールド）をヒープ外に持つストア。
+ *
+ * 1. 起動時に公開中・未削除の動画をキーセットで読み、{@link VideoCardTable} に入れる。
+ *    投稿者の名前・プロフィール画像もまとめて読む。
+ * 2. 以降は動画の変更イベント（コミット後）で1件ずつ読み直し、公開中でなくなったものは外す。
+ *    ユーザーの変更イベントでは投稿者の表示情報を読み直す。
+ * 3. このノードの再生はイベントで溜めて短い間隔でまとめて加算し（{@link VideoCatalog} の並び順と表示を揃える）、
+ *    他ノードで増えた分は一定間隔で再生数だけを読み直して取り込む。再生イベントは DB の加算のコミット後に届くため、
+ *    DB の値で上書きする行は先に反映待ちを捨てる（上書き後に加算すると二重に数える）。
+ * 4. 読み込みが終わるまでは {@link #isReady()} が false を返し、呼び出し側は DB から読む。
+ *    読み込み中に届いた変更は、読み込み後にもう一度反映する。
+ * 5. 他ノードで公開・編集された動画はイベントが届かないため、一定間隔で全件を新しい表に読み直して差し替える
+ *    （{@link VideoCatalog} の作り直しと同じ間隔）。差し替えまでの間にカタログが返した未登録の動画は、
+ *    呼び出し側が DB から読んで {@link #put(Video)} で登録する。
+ */
+@Service
+public class VideoCardStore {
+
+    private static final Logger log = LoggerFactory.getLogger(VideoCardStore.class);
+
+    private static final String CARD_COLUMNS =
+            "SELECT id, title, slug, thumbnail_path, views_count, published_at, user_id FROM videos ";
+    private static final String PUBLIC = "visibility = 'PUBLIC' AND deleted_at IS NULL";
+    private static final String COUNT_CARDS = "SELECT COUNT(*) FROM videos WHERE " + PUBLIC;
+    private static final String FIRST_CARDS = CARD_COLUMNS + "WHERE " + PUBLIC + " ORDER BY id LIMIT ?";
+    private static final String NEXT_CARDS = CARD_COLUMNS + "WHERE " + PUBLIC + " AND id > ? ORDER BY id LIMIT ?";
+    private static final String CARD_BY_ID = CARD_COLUMNS + "WHERE " + PUBLIC + " AND id = ?";
+    private static final String FIRST_VIEWS =
+            "SELECT id, views_count FROM videos WHERE " + PUBLIC + " ORDER BY id LIMIT ?";
+    private static final String NEXT_VIEWS =
+            "SELECT id, views_count FROM videos WHERE " + PUBLIC + " AND id > ? ORDER BY id LIMIT ?";
+    private static final String UPLOADERS_BY_IDS =
+            "SELECT id, name, profile_image_path FROM users WHERE id IN (%s)";
+
+    private static final RowMapper<Row> ROW = (rs, n) -> {
+        Timestamp publishedAt = rs.getTimestamp(6);
+        return new Row(rs.getObject(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getLong(5),
+                publishedAt == null ? null : publishedAt.toLocalDateTime(), rs.getObject(7));
+    };
+    private static final RowMapper<Views> VIEWS_ROW = (rs, n) -> new Views(rs.getObject(1), rs.getLong(2));
+    private static final RowMapper<UploaderDTO> UPLOADER = (rs, n) -> UploaderDTO.builder()
+            .id(toUuid(rs.getObject(1))).name(rs.getString(2)).profileImagePath(rs.getString(3)).build();
+
+    /** 一度に読む行数 */
+    private static final int LOAD_CHUNK = 10_000;
+    /** 投稿者の IN 句1本あたりの件数 */
+    private static final int UPLOADER_CHUNK = 1_000;
+    /** 読み込み時の件数に対する索引の余裕（件数の 1/4） */
+    private static final int HEADROOM_SHIFT = 2;
+
+    private record Row(Object id, String title, String slug, String thumbnailPath, long views,
+                       LocalDateTime publishedAt, Object userId) {
+    }
+
+    private record Views(Object id, long views) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    /** 読み込みまでは空の小さな表（索引は読み込み時の件数から確保する） */
+    private volatile VideoCardTable table = new VideoCardTable(0);
+    private volatile boolean ready;
+    private volatile boolean loading;
+    /** 全件読み直しを直列化する */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    /** 読み込み中に届いた変更（読み込み後にもう一度反映する） */
+    private final Queue<UUID> replay = new ConcurrentLinkedQueue<>();
+    /** 反映待ちの再生数 */
+    private final DeltaAccumulator<UUID> pendingViews = new DeltaAccumulator<>();
+
+    public VideoCardStore(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        Gauge.builder("video.cards.size", this, s -> s.table.size()).register(meterRegistry);
+        Gauge.builder("video.cards.offheap.bytes", this, s -> s.table.offHeapBytes())
+                .baseUnit("bytes").register(meterRegistry);
+    }
+
+    // ========================================================
+    // ======================= 参照 ===========================
+    // ========================================================
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 指定順の公開動画カード（公開中でない ID は除く）。JSON にはレコードから直接書き出す。
+     */
+    public VideoCardTable.Cards cards(List<UUID> videoIds) {
+        return table.cards(videoIds);
+    }
+
+    /**
+     * 登録されていない ID（指定順）。
+     */
+    public List<UUID> missing(List<UUID> videoIds) {
+        VideoCardTable t = table;
+        return videoIds.stream().filter(id -> !t.contains(id)).toList();
+    }
+
+    // ========================================================
+    // ======================= 更新 ===========================
+    // ========================================================
+
+    /**
+     * 公開動画を全件新しい表に読み直して差し替える（起動時・定期）。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.video-card.rebuild-interval-ms:300000}",
+               fixedDelayString = "${app.video-card.rebuild-interval-ms:300000}")
+    public void load() {
+        if (!rebuildLock.tryLock()) return;
+        try {
+            loading = true;
+            replay.clear();
+            long started = System.currentTimeMillis();
+            Integer count = jdbcTemplate.queryForObject(COUNT_CARDS, Integer.class);
+            int expected = count == null ? 0 : count;
+            VideoCardTable fresh = new VideoCardTable(expected + (expected >> HEADROOM_SHIFT));
+            Set<UUID> uploaderIds = new HashSet<>();
+            Object after = null;
+            while (true) {
+                List<Row> rows = after == null
+                        ? jdbcTemplate.query(FIRST_CARDS, ROW, LOAD_CHUNK)
+                        : jdbcTemplate.query(NEXT_CARDS, ROW, after, LOAD_CHUNK);
+                for (Row r : rows) {
+                    put(fresh, r);
+                    uploaderIds.add(toUuid(r.userId()));
+                }
+                if (rows.size() < LOAD_CHUNK) break;
+                after = rows.get(rows.size() - 1).id();
+            }
+            loadUploaders(fresh, new ArrayList<>(uploaderIds));
+            table = fresh;
+            pendingViews.clear(); // 全行を DB の値で読み直した
+            ready = true;
+            loading = false;
+            for (UUID id; (id = replay.poll()) != null; ) {
+                refresh(id);
+            }
+            log.info("video cards loaded: cards={}, uploaders={}, offHeapBytes={}, tookMs={}",
+                    fresh.size(), uploaderIds.size(), fresh.offHeapBytes(), System.currentTimeMillis() - started);
+        } finally {
+            loading = false;
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * DB から読んだ動画をカードとして登録する（公開中でなければ何もしない）。
+     * カタログが返したがまだ読み直していない動画（他ノードで公開されたもの）を埋めるのに使う。
+     */
+    public void put(Video video) {
+        if (!video.isPublic()) return;
+        VideoCardTable t = table;
+        t.putUploader(UploaderDTO.fromUser(video.getUser()));
+        t.put(video.getId(), video.getTitle(), video.getSlug(), video.getThumbnailPath(), video.getViewsCount(),
+                video.getPublishedAt(), video.getUser().getId());
+    }
+
+    @TransactionalEventListener
+    public void onVideoChanged(VideoLifecycleEvent event) {
+        if (loading) replay.add(event.videoId());
+        if (ready) refresh(event.videoId());
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (table.hasUploader(event.userId())) {
+            loadUploaders(table, List.of(event.userId()));
+        }
+    }
+
+    /**
+     * 再生数の加算を溜める（ロックは取らない）。反映は {@link #flushViews()} でまとめて行う。
+     */
+    @TransactionalEventListener
+    public void onVideoViewed(VideoViewedEvent event) {
+        if (ready) pendingViews.add(event.videoId(), 1);
+    }
+
+    @Scheduled(fixedDelayString = "${app.video-card.views-flush-interval-ms:1000}")
+    public void flushViews() {
+        if (pendingViews.size() > 0) table.addViews(pendingViews);
+    }
+
+    /**
+     * 再生数だけを読み直す（他ノードで増えた分を取り込む）。
+     */
+    @Scheduled(initialDelayString = "${app.video-card.views-refresh-interval-ms:60000}",
+               fixedDelayString = "${app.video-card.views-refresh-interval-ms:60000}")
+    public void refreshViews() {
+        if (!ready) return;
+        Object after = null;
+        while (true) {
+            List<Views> rows = after == null
+                    ? jdbcTemplate.query(FIRST_VIEWS, VIEWS_ROW, LOAD_CHUNK)
+                    : jdbcTemplate.query(NEXT_VIEWS, VIEWS_ROW, after, LOAD_CHUNK);
+            for (Views r : rows) {
+                UUID id = toUuid(r.id());
+                pendingViews.reset(id); // 反映待ちの分は読んだ値に含まれている
+                table.setViews(id, r.views());
+            }
+            if (rows.size() < LOAD_CHUNK) break;
+            after = rows.get(rows.size() - 1).id();
+        }
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private void refresh(UUID videoId) {
+        List<Row> rows = jdbcTemplate.query(CARD_BY_ID, ROW, (Object) toBytes(videoId));
+        pendingViews.reset(videoId);
+        if (rows.isEmpty()) {
+            table.remove(videoId);
+            return;
+        }
+        Row r = rows.get(0);
+        UUID uploaderId = toUuid(r.userId());
+        VideoCardTable t = table;
+        if (!t.hasUploader(uploaderId)) {
+            loadUploaders(t, List.of(uploaderId));
+        }
+        put(t, r);
+    }
+
+    private static void put(VideoCardTable table, Row r) {
+        table.put(toUuid(r.id()), r.title(), r.slug(), r.thumbnailPath(), r.views(), r.publishedAt(),
+                toUuid(r.userId()));
+    }
+
+    private void loadUploaders(VideoCardTable table, List<UUID> userIds) {
+        for (int from = 0; from < userIds.size(); from += UPLOADER_CHUNK) {
+            List<UUID> chunk = userIds.subList(from, Math.min(userIds.size(), from + UPLOADER_CHUNK));
+            String sql = String.format(UPLOADERS_BY_IDS, String.join(",", Collections.nCopies(chunk.size(), "?")));
+            Object[] args = chunk.stream().map(UuidBinary::toBytes).toArray();
+            jdbcTemplate.query(sql, UPLOADER, args).forEach(table::putUploader);
+        }
+    }
+}
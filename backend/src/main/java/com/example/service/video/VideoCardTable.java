@@ -0,0 +1,514 @@
+package com.example.service.video;
+
+import com.example.dto.videos.PublicVideoResponseDTO;
+import com.example.dto.videos.UploaderDTO;
+import com.example.util.concurrent.DeltaAccumulator;
+import com.example.util.offheap.OffHeapSlab;
+import com.example.util.offheap.UuidSlotIndex;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * 公開動画のカード表示用フィールドを、ヒープ外の固定長レコードで持つ表。
+ *
+ * 1. 1動画 = 1レコード（{@link #RECORD_BYTES} バイト）を {@link OffHeapSlab} に置き、
+ *    動画ID → スロットは {@link UuidSlotIndex}（UUID の上位・下位 64bit をキーにしたオープンアドレス法）で引く。
+ *    数百万件持ってもヒープ上のオブジェクトはほとんど増えず、GC の走査対象にならない。
+ * 2. 文字列は UTF-8 で固定幅の枠に入れる（タイトルは列の上限 50 文字が必ず入る幅）。
+ *    枠に入らないもの（長いスラッグ・サムネイルパス）だけはヒープ上の表に逃がす。
+ * 3. 投稿者（名前・プロフィール画像）は動画より桁違いに少ないので、ヒープ上に投稿者ID → DTO で持つ。
+ * 4. {@link Cards} は JSON へ書き出すときにレコードのバイト列から直接書く（DTO・String を作らない）。
+ *
+ * スレッドセーフ（読み書きロック）。
+ */
+public final class VideoCardTable {
+
+    // ---- レコードのレイアウト（バイト位置） ----
+    private static final int ID_MSB = 0;
+    private static final int ID_LSB = 8;
+    private static final int VIEWS = 16;
+    private static final int PUBLISHED_AT = 24;
+    private static final int UPLOADER_MSB = 32;
+    private static final int UPLOADER_LSB = 40;
+    private static final int TITLE = 48;
+    private static final int TITLE_WIDTH = 200;  // 50 文字 × 4 バイト
+    private static final int SLUG = TITLE + 2 + TITLE_WIDTH;
+    private static final int SLUG_WIDTH = 120;
+    private static final int THUMBNAIL = SLUG + 2 + SLUG_WIDTH;
+    private static final int THUMBNAIL_WIDTH = 160;
+    static final int RECORD_BYTES = (THUMBNAIL + 2 + THUMBNAIL_WIDTH + 7) & ~7;
+
+    /** 1セグメント 2^16 件（約 34MiB） */
+    private static final int SEGMENT_SHIFT = 16;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final int MAX_STRING_WIDTH = Math.max(TITLE_WIDTH, Math.max(SLUG_WIDTH, THUMBNAIL_WIDTH));
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final OffHeapSlab slab = new OffHeapSlab(RECORD_BYTES, SEGMENT_SHIFT);
+    private final UuidSlotIndex index;
+    /** 枠に入らなかった文字列（キーは スロット << 16 | フィールド位置） */
+    private final Map<Long, String> overflow = new HashMap<>();
+    private final Map<UUID, UploaderDTO> uploaders = new HashMap<>();
+
+    public VideoCardTable(int expectedSize) {
+        this.index = new UuidSlotIndex(expectedSize);
+    }
+
+    // ========================================================
+    // ======================= 更新 ===========================
+    // ========================================================
+
+    /**
+     * 動画のカードを登録（上書き）する。
+     */
+    public void put(UUID id, String title, String slug, String thumbnailPath, long viewsCount,
+                    LocalDateTime publishedAt, UUID uploaderId) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        lock.writeLock().lock();
+        try {
+            int slot = index.get(msb, lsb);
+            if (slot < 0) {
+                slot = slab.allocate();
+                index.put(msb, lsb, slot);
+            } else {
+                clearOverflow(slot);
+            }
+            slab.putLong(slot, ID_MSB, msb);
+            slab.putLong(slot, ID_LSB, lsb);
+            slab.putLong(slot, VIEWS, viewsCount);
+            slab.putLong(slot, PUBLISHED_AT, publishedAt == null ? NO_DATE
+                    : publishedAt.toInstant(ZoneOffset.UTC).toEpochMilli());
+            slab.putLong(slot, UPLOADER_MSB, uploaderId.getMostSignificantBits());
+            slab.putLong(slot, UPLOADER_LSB, uploaderId.getLeastSignificantBits());
+            putString(slot, TITLE, TITLE_WIDTH, title);
+            putString(slot, SLUG, SLUG_WIDTH, slug);
+            putString(slot, THUMBNAIL, THUMBNAIL_WIDTH, thumbnailPath);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 再生数だけを書き換える（登録されていなければ何もしない）。
+     */
+    public void setViews(UUID id, long viewsCount) {
+        lock.writeLock().lock();
+        try {
+            int slot = index.get(id);
+            if (slot >= 0) slab.putLong(slot, VIEWS, viewsCount);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 溜まった再生数の加算を1回の書き込みロックでまとめて反映する（登録されていない動画の分は捨てる）。
+     */
+    public void addViews(DeltaAccumulator<UUID> pending) {
+        lock.writeLock().lock();
+        try {
+            pending.drain((id, delta) -> {
+                int slot = index.get(id);
+                if (slot >= 0) slab.putLong(slot, VIEWS, slab.getLong(slot, VIEWS) + delta);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            int slot = index.remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (slot >= 0) {
+                clearOverflow(slot);
+                slab.free(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putUploader(UploaderDTO uploader) {
+        lock.writeLock().lock();
+        try {
+            uploaders.put(uploader.getId(), uploader);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean hasUploader(UUID userId) {
+        lock.readLock().lock();
+        try {
+            return uploaders.containsKey(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========================================================
+    // ======================= 参照 ===========================
+    // ========================================================
+
+    /**
+     * カードを DTO にして返す（JSON に書き出すだけなら {@link #cards} を使う）。
+     */
+    public Optional<PublicVideoResponseDTO> get(UUID id) {
+        lock.readLock().lock();
+        try {
+            int slot = index.get(id);
+            if (slot < 0) return Optional.empty();
+            return Optional.of(PublicVideoResponseDTO.builder()
+                    .id(id)
+                    .title(getString(slot, TITLE))
+                    .slug(getString(slot, SLUG))
+                    .thumbnailPath(getString(slot, THUMBNAIL))
+                    .viewsCount(slab.getLong(slot, VIEWS))
+                    .uploader(uploaders.get(uploaderOf(slot)))
+                    .build());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(UUID id) {
+        lock.readLock().lock();
+        try {
+            return index.get(id) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<LocalDateTime> publishedAt(UUID id) {
+        lock.readLock().lock();
+        try {
+            int slot = index.get(id);
+            if (slot < 0) return Optional.empty();
+            long millis = slab.getLong(slot, PUBLISHED_AT);
+            return millis == NO_DATE ? Optional.empty()
+                    : Optional.of(LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+                            Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 指定順のカード一覧（登録されていない ID は除く）。
+     */
+    public Cards cards(List<UUID> ids) {
+        List<UUID> present = new ArrayList<>(ids.size());
+        lock.readLock().lock();
+        try {
+            for (UUID id : ids) {
+                if (index.get(id) >= 0) present.add(id);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new Cards(this, present);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** レコードと索引が確保しているヒープ外メモリのバイト数 */
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return slab.capacityBytes() + index.capacityBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========================================================
+    // ==================== JSON 書き出し =====================
+    // ========================================================
+
+    /**
+     * カードの一覧。JSON には {@link PublicVideoResponseDTO} の配列と同じ形で、レコードから直接書き出す。
+     * 要素の参照（{@link #get}）はその都度 DTO を作り、{@link #cards} の後に外れたカードは null になる。
+     * 書き出すまでに外れたカードは書かない。
+     */
+    @JsonSerialize(using = CardsSerializer.class)
+    public static final class Cards extends AbstractList<PublicVideoResponseDTO> {
+
+        private final VideoCardTable table;
+        private final List<UUID> ids;
+
+        private Cards(VideoCardTable table, List<UUID> ids) {
+            this.table = table;
+            this.ids = ids;
+        }
+
+        @Override
+        public PublicVideoResponseDTO get(int i) {
+            return table.get(ids.get(i)).orElse(null);
+        }
+
+        @Override
+        public int size() {
+            return ids.size();
+        }
+
+        /** 今も登録されているカードだけの DTO 一覧 */
+        public List<PublicVideoResponseDTO> present() {
+            List<PublicVideoResponseDTO> out = new ArrayList<>(ids.size());
+            for (UUID id : ids) table.get(id).ifPresent(out::add);
+            return out;
+        }
+    }
+
+    /**
+     * {@link Cards} をそのまま中身に持つページ。
+     * {@link PageImpl} は中身を ArrayList へ写すため、{@link CardsSerializer} を通らず DTO を作ってしまう。
+     * JSON のプロパティは {@link PageImpl} と同じ（中身だけ {@link CardsSerializer} で書く）。
+     * Java 側で要素を辿る場合（{@link #iterator}・{@link #map}）は外れたカードを飛ばす。
+     */
+    public static final class CardsPage implements Page<PublicVideoResponseDTO> {
+
+        private final Cards content;
+        private final Pageable pageable;
+        private final long total;
+
+        public CardsPage(Cards content, Pageable pageable, long total) {
+            this.content = content;
+            this.pageable = pageable;
+            this.total = total;
+        }
+
+        @Override
+        public List<PublicVideoResponseDTO> getContent() {
+            return content;
+        }
+
+        @Override
+        public Pageable getPageable() {
+            return pageable;
+        }
+
+        @Override
+        public long getTotalElements() {
+            return total;
+        }
+
+        @Override
+        public int getTotalPages() {
+            return getSize() == 0 ? 1 : (int) Math.ceil((double) total / getSize());
+        }
+
+        @Override
+        public int getNumber() {
+            return pageable.isPaged() ? pageable.getPageNumber() : 0;
+        }
+
+        @Override
+        public int getSize() {
+            return pageable.isPaged() ? pageable.getPageSize() : content.size();
+        }
+
+        @Override
+        public int getNumberOfElements() {
+            return content.size();
+        }
+
+        @Override
+        public boolean hasContent() {
+            return !content.isEmpty();
+        }
+
+        @Override
+        public Sort getSort() {
+            return pageable.getSort();
+        }
+
+        @Override
+        public boolean isFirst() {
+            return !hasPrevious();
+        }
+
+        @Override
+        public boolean isLast() {
+            return !hasNext();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return getNumber() + 1 < getTotalPages();
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return getNumber() > 0;
+        }
+
+        @Override
+        public Pageable nextPageable() {
+            return hasNext() ? pageable.next() : Pageable.unpaged();
+        }
+
+        @Override
+        public Pageable previousPageable() {
+            return hasPrevious() ? pageable.previousOrFirst() : Pageable.unpaged();
+        }
+
+        @Override
+        public Iterator<PublicVideoResponseDTO> iterator() {
+            return content.present().iterator();
+        }
+
+        @Override
+        public <U> Page<U> map(Function<? super PublicVideoResponseDTO, ? extends U> converter) {
+            List<U> mapped = new ArrayList<>(content.size());
+            for (PublicVideoResponseDTO dto : content.present()) mapped.add(converter.apply(dto));
+            return new PageImpl<>(mapped, pageable, total);
+        }
+    }
+
+    public static final class CardsSerializer extends JsonSerializer<Cards> {
+
+        @Override
+        public void serialize(Cards cards, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Scratch scratch = SCRATCH.get();
+            // バイト列のまま書けるのは出力先がバイト列の生成器だけ（文字列へ書く場合は String にしてから書く）
+            boolean utf8 = gen instanceof UTF8JsonGenerator;
+            gen.writeStartArray();
+            for (UUID id : cards.ids) {
+                if (cards.table.copy(id, scratch)) scratch.write(gen, utf8);
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    /** 1レコード分の読み出し先（スレッドごとに使い回す） */
+    private static final class Scratch {
+        UUID id;
+        long views;
+        final byte[] title = new byte[MAX_STRING_WIDTH];
+        final byte[] slug = new byte[MAX_STRING_WIDTH];
+        final byte[] thumbnail = new byte[MAX_STRING_WIDTH];
+        int titleLength;
+        int slugLength;
+        int thumbnailLength;
+        String titleOverflow;
+        String slugOverflow;
+        String thumbnailOverflow;
+        UploaderDTO uploader;
+
+        void write(JsonGenerator gen, boolean utf8) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("id", id.toString());
+            writeUtf8(gen, utf8, "title", title, titleLength, titleOverflow);
+            writeUtf8(gen, utf8, "slug", slug, slugLength, slugOverflow);
+            writeUtf8(gen, utf8, "thumbnailPath", thumbnail, thumbnailLength, thumbnailOverflow);
+            gen.writeNumberField("viewsCount", views);
+            gen.writeFieldName("uploader");
+            if (uploader == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartObject();
+                gen.writeStringField("id", uploader.getId().toString());
+                gen.writeStringField("name", uploader.getName());
+                gen.writeStringField("profileImagePath", uploader.getProfileImagePath());
+                gen.writeEndObject();
+            }
+            gen.writeEndObject();
+        }
+
+        private static void writeUtf8(JsonGenerator gen, boolean utf8, String name, byte[] bytes, int length,
+                                      String overflow) throws IOException {
+            gen.writeFieldName(name);
+            if (length >= 0 && utf8) gen.writeUTF8String(bytes, 0, length);
+            else if (length >= 0) gen.writeString(new String(bytes, 0, length, StandardCharsets.UTF_8));
+            else if (overflow != null) gen.writeString(overflow);
+            else gen.writeNull();
+        }
+    }
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * レコードを読み出し先にコピーする（ロックはコピーの間だけ持ち、書き出しは外で行う）。
+     */
+    private boolean copy(UUID id, Scratch s) {
+        lock.readLock().lock();
+        try {
+            int slot = index.get(id);
+            if (slot < 0) return false;
+            s.id = id;
+            s.views = slab.getLong(slot, VIEWS);
+            s.titleLength = slab.copyString(slot, TITLE, s.title);
+            s.slugLength = slab.copyString(slot, SLUG, s.slug);
+            s.thumbnailLength = slab.copyString(slot, THUMBNAIL, s.thumbnail);
+            s.titleOverflow = s.titleLength == -2 ? overflow.get(overflowKey(slot, TITLE)) : null;
+            s.slugOverflow = s.slugLength == -2 ? overflow.get(overflowKey(slot, SLUG)) : null;
+            s.thumbnailOverflow = s.thumbnailLength == -2 ? overflow.get(overflowKey(slot, THUMBNAIL)) : null;
+            s.uploader = uploaders.get(uploaderOf(slot));
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private void putString(int slot, int field, int width, String value) {
+        if (!slab.putString(slot, field, width, value)) {
+            overflow.put(overflowKey(slot, field), value);
+        }
+    }
+
+    private String getString(int slot, int field) {
+        return slab.stringLength(slot, field) == -2 ? overflow.get(overflowKey(slot, field))
+                : slab.getString(slot, field);
+    }
+
+    private void clearOverflow(int slot) {
+        if (overflow.isEmpty()) return;
+        overflow.remove(overflowKey(slot, TITLE));
+        overflow.remove(overflowKey(slot, SLUG));
+        overflow.remove(overflowKey(slot, THUMBNAIL));
+    }
+
+    private UUID uploaderOf(int slot) {
+        return new UUID(slab.getLong(slot, UPLOADER_MSB), slab.getLong(slot, UPLOADER_LSB));
+    }
+
+    private static long overflowKey(int slot, int field) {
+        return ((long) slot << 16) | field;
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.service.video;
+
+import static com.example.util.UuidBinary.*;
+
+import com.example.config.VideoCatalogProperties;
+import com.example.event.VideoLifecycleEvent;
+import com.example.event.VideoViewedEvent;
+import com.example.util.concurrent.DeltaAccumulator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 公開動画の列指向カタログ。一覧の絞り込み・並べ替え・ページ切り出しを {@link VideoColumns} 上で行う。
+ *
+ * 1. 起動時と定期的に、公開中・未削除の動画をキーセットで読み直して表を作り、差し替える。
+ *    以降は動画の変更イベント（コミット後）で1件ずつ読み直し、公開中でなくなったものは外す。
+ * 2. 再生数はこのノードの再生イベントをロックなしで溜め、短い間隔でまとめて加算する
+ *    （再生のたびに走査中の読み手と書き込みロックを取り合わない）。他ノードで増えた分は、
+ *    カードストアと同じ間隔で再生数だけを読み直して取り込む（人気順がカードの再生数とずれないように）。
+ *    再生イベントは DB の加算のコミット後に届くため、DB から読み直して上書きした行の反映待ちは捨てる
+ *    （読み込みと上書きの間にコミットされた分は、次の読み直しで取り込まれる）。
+ * 3. 読み込み前・無効時・並び順がカタログにない列の場合・上限より深いページの場合は
+ *    {@link Optional#empty()} を返し、呼び出し側は DB から読む。
+ * 4. 返すのは動画IDだけで、表示情報は呼び出し側がカードストアまたは1回のクエリで読む。
+ */
+@Service
+public class VideoCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(VideoCatalog.class);
+
+    private static final String COLUMNS =
+            "SELECT id, user_id, published_at, views_count, duration FROM videos ";
+    private static final String PUBLIC = "visibility = 'PUBLIC' AND deleted_at IS NULL";
+    private static final String FIRST_VIDEOS = COLUMNS + "WHERE " + PUBLIC + " ORDER BY id LIMIT ?";
+    private static final String NEXT_VIDEOS = COLUMNS + "WHERE " + PUBLIC + " AND id > ? ORDER BY id LIMIT ?";
+    private static final String VIDEO_BY_ID = COLUMNS + "WHERE " + PUBLIC + " AND id = ?";
+    private static final String FIRST_VIEWS =
+            "SELECT id, views_count FROM videos WHERE " + PUBLIC + " ORDER BY id LIMIT ?";
+    private static final String NEXT_VIEWS =
+            "SELECT id, views_count FROM videos WHERE " + PUBLIC + " AND id > ? ORDER BY id LIMIT ?";
+
+    private static final RowMapper<Row> ROW = (rs, n) -> {
+        Timestamp publishedAt = rs.getTimestamp(3);
+        Object duration = rs.getObject(5);
+        return new Row(rs.getObject(1), rs.getObject(2),
+                publishedAt == null ? null : publishedAt.toLocalDateTime(), rs.getLong(4),
+                duration == null ? null : ((Number) duration).intValue());
+    };
+
+    private static final RowMapper<Views> VIEWS_ROW = (rs, n) -> new Views(rs.getObject(1), rs.getLong(2));
+
+    private record Row(Object id, Object userId, LocalDateTime publishedAt, long views, Integer duration) {
+    }
+
+    private record Views(Object id, long views) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final VideoCatalogProperties props;
+    private final Counter hits;
+    private final Counter fallbacks;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** 全件読み直しを直列化する */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private VideoColumns columns = new VideoColumns(0);
+    private volatile boolean ready;
+    private volatile boolean loading;
+    /** 読み直しの最中に届いた動画の変更（差し替え後にもう一度読み直す） */
+    private final Queue<UUID> replay = new ConcurrentLinkedQueue<>();
+    /** 反映待ちの再生数 */
+    private final DeltaAccumulator<UUID> pendingViews = new DeltaAccumulator<>();
+
+    public VideoCatalog(JdbcTemplate jdbcTemplate, VideoCatalogProperties props, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.props = props;
+        this.hits = Counter.builder("video.catalog.queries").tag("result", "hit").register(meterRegistry);
+        this.fallbacks = Counter.builder("video.catalog.queries").tag("result", "fallback").register(meterRegistry);
+        meterRegistry.gauge("video.catalog.size", this, c -> c.size());
+    }
+
+    // ========================================================
+    // ======================= 参照 ===========================
+    // ========================================================
+
+    /**
+     * 条件に合う公開動画の ID を、ページ情報の並び順（同順位は動画ID順）で切り出して返す。
+     * 並べ替えられるのは publishedAt / viewsCount / duration（と、同順位の並びとしての id 昇順）のみ。
+     *
+     * @return カタログで答えられない場合は空（呼び出し側で DB から読むこと）
+     */
+    public Optional<VideoColumns.Result> query(VideoColumns.Filter filter, Pageable pageable) {
+        List<VideoColumns.Order> orders = pageable.isPaged() ? toOrders(pageable.getSort()) : null;
+        if (!ready || !props.isEnabled() || orders == null
+                || pageable.getOffset() + pageable.getPageSize() > props.getMaxWindow()) {
+            fallbacks.increment();
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            VideoColumns.Result result =
+                    columns.query(filter, orders, (int) pageable.getOffset(), pageable.getPageSize());
+            hits.increment();
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========================================================
+    // ======================= 更新 ===========================
+    // ========================================================
+
+    @TransactionalEventListener
+    public void onVideoChanged(VideoLifecycleEvent event) {
+        if (loading) replay.add(event.videoId());
+        if (ready) refresh(event.videoId());
+    }
+
+    /**
+     * 再生数の加算を溜める（ロックは取らない）。反映は {@link #flushViews()} でまとめて行う。
+     */
+    @TransactionalEventListener
+    public void onVideoViewed(VideoViewedEvent event) {
+        if (ready) pendingViews.add(event.videoId(), 1);
+    }
+
+    /**
+     * 溜まった再生数を1回の書き込みロックでまとめて加算する。
+     */
+    @Scheduled(fixedDelayString = "${app.video-catalog.views-flush-interval-ms:1000}")
+    public void flushViews() {
+        if (pendingViews.size() == 0) return;
+        lock.writeLock().lock();
+        try {
+            VideoColumns current = columns;
+            pendingViews.drain(current::addViews);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 再生数だけを読み直す（他ノードで増えた分を取り込む）。間隔はカードストアの読み直しと同じ設定を使う。
+     * 読み込みはロックの外で行い、1チャンクずつ書き込みロックを取って反映する。
+     */
+    @Scheduled(initialDelayString = "${app.video-card.views-refresh-interval-ms:60000}",
+               fixedDelayString = "${app.video-card.views-refresh-interval-ms:60000}")
+    public void refreshViews() {
+        if (!ready || !props.isEnabled()) return;
+        int chunk = props.getLoadChunkSize();
+        Object after = null;
+        while (true) {
+            List<Views> rows = after == null
+                    ? jdbcTemplate.query(FIRST_VIEWS, VIEWS_ROW, chunk)
+                    : jdbcTemplate.query(NEXT_VIEWS, VIEWS_ROW, after, chunk);
+            lock.writeLock().lock();
+            try {
+                for (Views r : rows) {
+                    UUID id = toUuid(r.id());
+                    pendingViews.reset(id);
+                    columns.setViews(id, r.views());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (rows.size() < chunk) break;
+            after = rows.get(rows.size() - 1).id();
+        }
+    }
+
+    /**
+     * 公開動画を全件読み直してカタログを作り直す（起動時・定期）。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.video-catalog.rebuild-interval-ms:300000}",
+               fixedDelayString = "${app.video-catalog.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        if (!props.isEnabled() || !rebuildLock.tryLock()) return;
+        try {
+            loading = true;
+            replay.clear();
+            long started = System.currentTimeMillis();
+            VideoColumns fresh = load();
+            lock.writeLock().lock();
+            try {
+                columns = fresh;
+                pendingViews.clear(); // 全行を DB の値で上書きした
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            loading = false;
+            for (UUID id; (id = replay.poll()) != null; ) {
+                refresh(id);
+            }
+            log.info("video catalog rebuilt: videos={}, tookMs={}", fresh.size(),
+                    System.currentTimeMillis() - started);
+        } finally {
+            loading = false;
+            rebuildLock.unlock();
+        }
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return columns.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private VideoColumns load() {
+        int chunk = props.getLoadChunkSize();
+        VideoColumns fresh = new VideoColumns(chunk);
+        Object after = null;
+        while (true) {
+            List<Row> rows = after == null
+                    ? jdbcTemplate.query(FIRST_VIDEOS, ROW, chunk)
+                    : jdbcTemplate.query(NEXT_VIDEOS, ROW, after, chunk);
+            rows.forEach(r -> put(fresh, r));
+            if (rows.size() < chunk) break;
+            after = rows.get(rows.size() - 1).id();
+        }
+        return fresh;
+    }
+
+    private void refresh(UUID videoId) {
+        List<Row> rows = jdbcTemplate.query(VIDEO_BY_ID, ROW, (Object) toBytes(videoId));
+        lock.writeLock().lock();
+        try {
+            pendingViews.reset(videoId);
+            if (rows.isEmpty()) {
+                columns.remove(videoId);
+            } else {
+                put(columns, rows.get(0));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void put(VideoColumns target, Row r) {
+        target.put(toUuid(r.id()), toUuid(r.userId()), r.publishedAt(), r.views(), r.duration());
+    }
+
+    /**
+     * ページ情報の並び順を列の並び順に置き換える（カタログにない列を含むか、未指定なら null）。
+     * 動画ID の昇順はカタログの同順位の並びそのものなので、そこで打ち切る（以降の指定は効かない）。
+     */
+    private static List<VideoColumns.Order> toOrders(Sort sort) {
+        if (sort.isUnsorted()) return null;
+        List<VideoColumns.Order> orders = new ArrayList<>();
+        for (Sort.Order o : sort) {
+            if (o.getProperty().equals("id") && o.isAscending()) break;
+            VideoColumns.SortKey key = switch (o.getProperty()) {
+                case "publishedAt" -> VideoColumns.SortKey.PUBLISHED_AT;
+                case "viewsCount" -> VideoColumns.SortKey.VIEWS_COUNT;
+                case "duration" -> VideoColumns.SortKey.DURATION;
+                default -> null;
+            };
+            if (key == null) return null;
+            orders.add(new VideoColumns.Order(key, o.isDescending()));
+        }
+        return orders;
+    }
+}
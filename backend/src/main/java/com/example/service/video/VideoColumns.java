@@ -0,0 +1,329 @@
+package com.example.service.video;
+
+import com.example.util.offheap.UuidSlotIndex;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 公開動画の列指向の表（1列 = 1本のプリミティブ配列、行 = 動画の序数）。
+ *
+ * 1. 動画ID → 序数はヒープ上の {@link UuidSlotIndex}、投稿者は投稿者ID → 序数の辞書で int に置き換えて持つ。
+ *    外した行は生存フラグを落とし、序数は次の追加で使い回す。
+ * 2. 絞り込み（投稿者・公開日時/再生数/長さの範囲）は {@link #BATCH} 行ずつ、条件に合う序数を
+ *    小さな選択ベクトルに詰める。条件は分岐を作らない論理積で評価し、選択ベクトルへの書き込みも
+ *    分岐なしで行う。選択ベクトルは問い合わせごとに確保する（表の行数に比例するバッファをスレッドに持たせない）。
+ * 3. 並べ替えは上位 offset + limit 件だけを大きさ k のヒープで求める（O(n log k)）。
+ *    同順位は動画IDの昇順（上位・下位 64bit を符号なしで比較）で決める。
+ *
+ * スレッドセーフではない（呼び出し側で同期すること）。
+ */
+public final class VideoColumns {
+
+    /** 並べ替えに使える列 */
+    enum SortKey {
+        PUBLISHED_AT, VIEWS_COUNT, DURATION
+    }
+
+    /** 並べ替えの指定1つ */
+    record Order(SortKey key, boolean descending) {
+    }
+
+    /**
+     * 絞り込み条件。範囲の指定がある列は、値が未設定の行を含めない。
+     *
+     * @param userId          投稿者ID（null なら問わない）
+     * @param publishedFrom   公開日時の下限（この日時を含む。null なら問わない）
+     * @param publishedBefore 公開日時の上限（この日時を含まない。null なら問わない）
+     * @param minViews        再生数の下限（含む。null なら問わない）
+     * @param maxViews        再生数の上限（含む。null なら問わない）
+     * @param minDuration     長さ（秒）の下限（含む。null なら問わない）
+     * @param maxDuration     長さ（秒）の上限（含む。null なら問わない）
+     */
+    public record Filter(UUID userId, LocalDateTime publishedFrom, LocalDateTime publishedBefore,
+                         Long minViews, Long maxViews, Integer minDuration, Integer maxDuration) {
+
+        public static Filter none() {
+            return new Filter(null, null, null, null, null, null, null);
+        }
+
+        public static Filter byUser(UUID userId) {
+            return new Filter(userId, null, null, null, null, null, null);
+        }
+
+        public Filter publishedBetween(LocalDateTime from, LocalDateTime before) {
+            return new Filter(userId, from, before, minViews, maxViews, minDuration, maxDuration);
+        }
+
+        public Filter viewsBetween(Long min, Long max) {
+            return new Filter(userId, publishedFrom, publishedBefore, min, max, minDuration, maxDuration);
+        }
+
+        public Filter durationBetween(Integer min, Integer max) {
+            return new Filter(userId, publishedFrom, publishedBefore, minViews, maxViews, min, max);
+        }
+    }
+
+    /**
+     * 範囲条件を列の値の閉区間 [lo, hi] に置き換えたもの（指定のない列は全範囲）。
+     */
+    private record Bounds(long publishedLo, long publishedHi, long viewsLo, long viewsHi,
+                          long durationLo, long durationHi) {
+
+        static Bounds of(Filter f) {
+            boolean published = f.publishedFrom() != null || f.publishedBefore() != null;
+            boolean duration = f.minDuration() != null || f.maxDuration() != null;
+            return new Bounds(
+                    f.publishedFrom() != null ? toMillis(f.publishedFrom()) : published ? NONE + 1 : Long.MIN_VALUE,
+                    f.publishedBefore() != null ? toMillis(f.publishedBefore()) - 1 : Long.MAX_VALUE,
+                    f.minViews() != null ? f.minViews() : Long.MIN_VALUE,
+                    f.maxViews() != null ? f.maxViews() : Long.MAX_VALUE,
+                    f.minDuration() != null ? f.minDuration() : duration ? NONE + 1 : Long.MIN_VALUE,
+                    f.maxDuration() != null ? f.maxDuration() : Long.MAX_VALUE);
+        }
+    }
+
+    /** 該当件数と、指定範囲の動画ID（並び順どおり） */
+    public record Result(long total, List<UUID> videoIds) {
+    }
+
+    /** 公開日時・長さが未設定（昇順で先頭、降順で末尾に来る） */
+    static final long NONE = Long.MIN_VALUE;
+
+    /** 1回の走査で選択ベクトルに詰める行数 */
+    static final int BATCH = 4096;
+
+    private final UuidSlotIndex index;
+    private final Map<UUID, Integer> userOrdinals = new HashMap<>();
+    private long[] idMsb;
+    private long[] idLsb;
+    private boolean[] live;
+    private int[] user;
+    private long[] publishedAt;
+    private long[] views;
+    private long[] duration;
+    private int rows;
+    private int[] free = new int[16];
+    private int freeCount;
+    private int size;
+
+    VideoColumns(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        this.index = new UuidSlotIndex(capacity, false);
+        this.idMsb = new long[capacity];
+        this.idLsb = new long[capacity];
+        this.live = new boolean[capacity];
+        this.user = new int[capacity];
+        this.publishedAt = new long[capacity];
+        this.views = new long[capacity];
+        this.duration = new long[capacity];
+    }
+
+    // ========================================================
+    // ======================= 更新 ===========================
+    // ========================================================
+
+    void put(UUID id, UUID userId, LocalDateTime published, long viewsCount, Integer durationSeconds) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        int row = index.get(msb, lsb);
+        if (row < 0) {
+            row = freeCount > 0 ? free[--freeCount] : nextRow();
+            index.put(msb, lsb, row);
+            size++;
+        }
+        idMsb[row] = msb;
+        idLsb[row] = lsb;
+        user[row] = userOrdinals.computeIfAbsent(userId, u -> userOrdinals.size());
+        publishedAt[row] = published == null ? NONE : toMillis(published);
+        views[row] = viewsCount;
+        duration[row] = durationSeconds == null ? NONE : durationSeconds;
+        live[row] = true;
+    }
+
+    void setViews(UUID id, long viewsCount) {
+        int row = index.get(id);
+        if (row >= 0) views[row] = viewsCount;
+    }
+
+    void addViews(UUID id, long delta) {
+        int row = index.get(id);
+        if (row >= 0) views[row] += delta;
+    }
+
+    void remove(UUID id) {
+        int row = index.remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (row < 0) return;
+        live[row] = false;
+        if (freeCount == free.length) free = Arrays.copyOf(free, freeCount * 2);
+        free[freeCount++] = row;
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // ========================================================
+    // ======================= 検索 ===========================
+    // ========================================================
+
+    Result query(Filter f, List<Order> orders, int offset, int limit) {
+        int userOrdinal = -1;
+        if (f.userId() != null) {
+            Integer o = userOrdinals.get(f.userId());
+            if (o == null) return new Result(0, List.of());
+            userOrdinal = o;
+        }
+        Bounds bounds = Bounds.of(f);
+        TopN top = new TopN((int) Math.min((long) offset + limit, size), orders);
+        int[] selected = new int[BATCH];
+        long count = 0;
+        for (int from = 0; from < rows; from += BATCH) {
+            int n = scan(from, Math.min(rows, from + BATCH), userOrdinal, bounds, selected);
+            count += n;
+            for (int i = 0; i < n; i++) {
+                top.offer(selected[i]);
+            }
+        }
+        int[] sorted = top.sorted();
+        List<UUID> ids = new ArrayList<>(Math.max(0, sorted.length - offset));
+        for (int i = offset; i < sorted.length; i++) {
+            ids.add(new UUID(idMsb[sorted[i]], idLsb[sorted[i]]));
+        }
+        return new Result(count, ids);
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    /**
+     * [from, to) の行のうち条件に合う序数を selected に詰め、件数を返す。
+     *
+     * @param userOrdinal 投稿者の序数（負なら問わない）
+     * @param b           列ごとの値の範囲
+     */
+    private int scan(int from, int to, int userOrdinal, Bounds b, int[] selected) {
+        boolean anyUser = userOrdinal < 0;
+        long pLo = b.publishedLo(), pHi = b.publishedHi();
+        long vLo = b.viewsLo(), vHi = b.viewsHi();
+        long dLo = b.durationLo(), dHi = b.durationHi();
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            boolean ok = live[i] & (anyUser | user[i] == userOrdinal)
+                    & publishedAt[i] >= pLo & publishedAt[i] <= pHi
+                    & views[i] >= vLo & views[i] <= vHi
+                    & duration[i] >= dLo & duration[i] <= dHi;
+            selected[count] = i;
+            count += ok ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * 並び順で上位 k 件を保持する最大ヒープ（根が k 件の中で最も後ろに来る行）。
+     */
+    private final class TopN {
+        private final long[][] keys;
+        private final boolean[] descending;
+        private final int[] heap;
+        private int n;
+
+        TopN(int k, List<Order> orders) {
+            this.keys = new long[orders.size()][];
+            this.descending = new boolean[orders.size()];
+            for (int j = 0; j < orders.size(); j++) {
+                keys[j] = column(orders.get(j).key());
+                descending[j] = orders.get(j).descending();
+            }
+            this.heap = new int[k];
+        }
+
+        void offer(int row) {
+            if (n < heap.length) {
+                heap[n] = row;
+                siftUp(n++);
+            } else if (n > 0 && compare(row, heap[0]) < 0) {
+                heap[0] = row;
+                siftDown(0, n);
+            }
+        }
+
+        /** 保持している行を並び順に並べて返す（ヒープは壊れる） */
+        int[] sorted() {
+            for (int end = n - 1; end > 0; end--) {
+                int t = heap[0];
+                heap[0] = heap[end];
+                heap[end] = t;
+                siftDown(0, end);
+            }
+            return n == heap.length ? heap : Arrays.copyOf(heap, n);
+        }
+
+        private void siftUp(int i) {
+            int row = heap[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (compare(heap[parent], row) >= 0) break;
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = row;
+        }
+
+        private void siftDown(int i, int end) {
+            int row = heap[i];
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= end) break;
+                if (child + 1 < end && compare(heap[child + 1], heap[child]) > 0) child++;
+                if (compare(row, heap[child]) >= 0) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = row;
+        }
+
+        /** 並び順で a が b より前なら負 */
+        private int compare(int a, int b) {
+            for (int j = 0; j < keys.length; j++) {
+                int c = Long.compare(keys[j][a], keys[j][b]);
+                if (c != 0) return descending[j] ? -c : c;
+            }
+            int c = Long.compareUnsigned(idMsb[a], idMsb[b]);
+            return c != 0 ? c : Long.compareUnsigned(idLsb[a], idLsb[b]);
+        }
+    }
+
+    private long[] column(SortKey key) {
+        return switch (key) {
+            case PUBLISHED_AT -> publishedAt;
+            case VIEWS_COUNT -> views;
+            case DURATION -> duration;
+        };
+    }
+
+    private int nextRow() {
+        if (rows == live.length) {
+            int capacity = rows * 2;
+            idMsb = Arrays.copyOf(idMsb, capacity);
+            idLsb = Arrays.copyOf(idLsb, capacity);
+            live = Arrays.copyOf(live, capacity);
+            user = Arrays.copyOf(user, capacity);
+            publishedAt = Arrays.copyOf(publishedAt, capacity);
+            views = Arrays.copyOf(views, capacity);
+            duration = Arrays.copyOf(duration, capacity);
+        }
+        return rows++;
+    }
+
+    private static long toMillis(LocalDateTime t) {
+        return t.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
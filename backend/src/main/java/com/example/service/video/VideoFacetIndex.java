@@ -0,0 +1,545 @@
+package com.example.service.video;
+
+import static com.example.util.UuidBinary.*;
+
+import com.example.config.FacetProperties;
+import com.example.enums.VideoStatus;
+import com.example.enums.VideoVisibility;
+import com.example.event.CategoryLifecycleEvent;
+import com.example.event.TagLifecycleEvent;
+import com.example.event.VideoLifecycleEvent;
+import com.example.event.VideoLinksChangedEvent;
+import com.example.util.UuidBinary;
+import com.example.util.bitmap.RoaringBitmap;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 動画のファセット索引。
+ *
+ * 1. 動画に作成順の連番（序数）を振り、カテゴリごと・タグごと・公開範囲ごと・状態ごとに
+ *    序数の集合を {@link RoaringBitmap} で持つ。カテゴリ・タグの AND / OR / NOT の組み合わせと
+ *    ファセット別の件数を、中間テーブルの結合なしにメモリ上で求める。
+ * 2. 起動時と定期的に、videos / video_categories / video_tags をキーセットで読み直して差し替える。
+ *    以降は動画の作成・更新・削除、カテゴリ・タグの付与・解除と削除のコミット後イベントで1件ずつ反映する。
+ *    差分と読み直しには世代を振り、読み直しの開始後に差分を反映していれば、読み直した索引は古いものとして捨てる
+ *    （現在の索引は差分で最新に保たれているので、次回の定期読み直しに任せる）。
+ *    初回の読み込みの最中に届いたイベントは、読み込み後に反映する。
+ * 3. 返すのは序数から引き直した動画IDだけで、表示情報は呼び出し側が1回のクエリでまとめて読む。
+ */
+@Service
+public class VideoFacetIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(VideoFacetIndex.class);
+
+    private static final String FIRST_VIDEOS =
+            "SELECT id, status, visibility, deleted_at, created_at FROM videos ORDER BY id LIMIT ?";
+    private static final String NEXT_VIDEOS =
+            "SELECT id, status, visibility, deleted_at, created_at FROM videos WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String FIRST_VIDEO_CATEGORIES =
+            "SELECT id, video_id, category_id FROM video_categories WHERE deleted_at IS NULL ORDER BY id LIMIT ?";
+    private static final String NEXT_VIDEO_CATEGORIES =
+            "SELECT id, video_id, category_id FROM video_categories WHERE deleted_at IS NULL AND id > ? "
+                    + "ORDER BY id LIMIT ?";
+    private static final String FIRST_VIDEO_TAGS =
+            "SELECT id, video_id, tag_id FROM video_tags ORDER BY id LIMIT ?";
+    private static final String NEXT_VIDEO_TAGS =
+            "SELECT id, video_id, tag_id FROM video_tags WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String VIDEOS_BY_ID =
+            "SELECT id, status, visibility, deleted_at, created_at FROM videos WHERE id IN (%s)";
+    private static final String CATEGORIES_OF_VIDEOS =
+            "SELECT id, video_id, category_id FROM video_categories WHERE deleted_at IS NULL AND video_id IN (%s)";
+    private static final String TAGS_OF_VIDEOS =
+            "SELECT id, video_id, tag_id FROM video_tags WHERE video_id IN (%s)";
+    /** 差分反映で IN 句にまとめる動画数 */
+    private static final int REFRESH_CHUNK = 1000;
+
+    private static final RowMapper<Object[]> LINK_ROW =
+            (rs, n) -> new Object[] {rs.getObject(1), rs.getObject(2), rs.getObject(3)};
+    private static final RowMapper<VideoRow> VIDEO_ROW = (rs, n) -> new VideoRow(
+            rs.getObject(1),
+            VideoStatus.valueOf(rs.getString(2)),
+            VideoVisibility.valueOf(rs.getString(3)),
+            rs.getTimestamp(4) != null,
+            rs.getTimestamp(5));
+
+    private static final UUID[] NONE = new UUID[0];
+    /** 該当なしを表す共有の空集合（変更しないこと） */
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    /**
+     * 絞り込み条件。集合が空の条件は使わない。
+     *
+     * @param anyCategories いずれかのカテゴリが付いている
+     * @param allCategories すべてのカテゴリが付いている
+     * @param noCategories  いずれのカテゴリも付いていない
+     * @param anyTags       いずれかのタグが付いている
+     * @param allTags       すべてのタグが付いている
+     * @param noTags        いずれのタグも付いていない
+     * @param visibility    公開範囲（null なら問わない）
+     * @param status        状態（null なら問わない）
+     */
+    public record Query(Set<UUID> anyCategories, Set<UUID> allCategories, Set<UUID> noCategories,
+                        Set<UUID> anyTags, Set<UUID> allTags, Set<UUID> noTags,
+                        VideoVisibility visibility, VideoStatus status) {
+    }
+
+    /**
+     * 絞り込み結果。
+     *
+     * @param total          該当件数
+     * @param videoIds       指定範囲の動画ID（作成日時の新しい順）
+     * @param categoryCounts 該当動画のカテゴリ別件数
+     * @param tagCounts      該当動画のタグ別件数（件数の多い順に上位のみ）
+     * @param statusCounts   該当動画の状態別件数
+     */
+    public record Result(long total, List<UUID> videoIds, Map<UUID, Long> categoryCounts,
+                         Map<UUID, Long> tagCounts, Map<VideoStatus, Long> statusCounts) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FacetProperties props;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** 全件読み直しを直列化する */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private Facets facets = new Facets();
+    private volatile boolean ready;
+    private volatile boolean loading;
+    /** 差分・読み直しに振る世代 */
+    private final AtomicLong generations = new AtomicLong();
+    /** 現在の索引に最後に反映を始めた差分の世代（{@link #lock} の書き込みロック下で更新する） */
+    private long appliedGeneration;
+    /** 初回の読み込みの最中に届いた変更（読み込み後に反映する） */
+    private final Queue<Runnable> replay = new ConcurrentLinkedQueue<>();
+
+    public VideoFacetIndex(JdbcTemplate jdbcTemplate, FacetProperties props, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.props = props;
+        meterRegistry.gauge("video.facet.videos", this, s -> s.readLocked(f -> f.alive.cardinality()));
+        meterRegistry.gauge("video.facet.tags", this, s -> s.readLocked(f -> (long) f.byTag.size()));
+    }
+
+    // ========================================================
+    // ======================= 参照 ===========================
+    // ========================================================
+
+    /**
+     * 条件に合う動画を作成日時の新しい順に {@code offset} 件目から最大 {@code limit} 件返し、
+     * 該当動画全体のファセット別件数を添える。
+     */
+    public Result query(Query q, long offset, int limit) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Facets f = facets;
+            RoaringBitmap hits = f.alive;
+            if (q.visibility() != null) hits = RoaringBitmap.and(hits, f.byVisibility.getOrDefault(q.visibility(), EMPTY));
+            if (q.status() != null) hits = RoaringBitmap.and(hits, f.byStatus.getOrDefault(q.status(), EMPTY));
+            if (!q.anyCategories().isEmpty()) hits = RoaringBitmap.and(hits, union(f.byCategory, q.anyCategories()));
+            if (!q.anyTags().isEmpty()) hits = RoaringBitmap.and(hits, union(f.byTag, q.anyTags()));
+            hits = intersectAll(hits, f.byCategory, q.allCategories());
+            hits = intersectAll(hits, f.byTag, q.allTags());
+            if (!q.noCategories().isEmpty()) hits = RoaringBitmap.andNot(hits, union(f.byCategory, q.noCategories()));
+            if (!q.noTags().isEmpty()) hits = RoaringBitmap.andNot(hits, union(f.byTag, q.noTags()));
+
+            RoaringBitmap matched = hits;
+            List<UUID> ids = new ArrayList<>(limit);
+            for (int ordinal : matched.descending(offset, limit)) {
+                ids.add(f.videos.get(ordinal));
+            }
+
+            Map<UUID, Long> categoryCounts = new LinkedHashMap<>();
+            f.byCategory.forEach((id, bitmap) -> {
+                long n = RoaringBitmap.andCardinality(matched, bitmap);
+                if (n > 0) categoryCounts.put(id, n);
+            });
+            Map<VideoStatus, Long> statusCounts = new EnumMap<>(VideoStatus.class);
+            f.byStatus.forEach((status, bitmap) -> {
+                long n = RoaringBitmap.andCardinality(matched, bitmap);
+                if (n > 0) statusCounts.put(status, n);
+            });
+            return new Result(matched.cardinality(), ids, categoryCounts, topTags(f, matched), statusCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========================================================
+    // ======================= 更新 ===========================
+    // ========================================================
+
+    @TransactionalEventListener
+    public void onVideoChanged(VideoLifecycleEvent event) {
+        apply(() -> refresh(List.of(event.videoId())));
+    }
+
+    @TransactionalEventListener
+    public void onLinksChanged(VideoLinksChangedEvent event) {
+        List<UUID> ids = List.copyOf(event.videoIds());
+        apply(() -> refresh(ids));
+    }
+
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryLifecycleEvent event) {
+        if (event.type() == CategoryLifecycleEvent.Type.DELETED) {
+            apply(() -> writeLocked(f -> f.dropCategory(event.categoryId())));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTagChanged(TagLifecycleEvent event) {
+        if (event.type() == TagLifecycleEvent.Type.DELETED) {
+            apply(() -> writeLocked(f -> f.dropTag(event.tagId())));
+        }
+    }
+
+    /**
+     * 動画・付与を全件読み直して索引を作り直す（起動時・定期）。
+     * 読み直しの開始後に差分を反映していれば、読み直した索引は差し替えずに捨てる。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.facet.rebuild-interval-ms:21600000}",
+               fixedDelayString = "${app.facet.rebuild-interval-ms:21600000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            loading = true;
+            long generation = generations.incrementAndGet();
+            long started = System.currentTimeMillis();
+            Facets fresh = load();
+            lock.writeLock().lock();
+            try {
+                if (ready && appliedGeneration > generation) {
+                    log.info("video facet index rebuild discarded (newer deltas applied): tookMs={}",
+                            System.currentTimeMillis() - started);
+                    return;
+                }
+                facets = fresh;
+                appliedGeneration = generation;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            loading = false;
+            for (Runnable r; (r = replay.poll()) != null; ) {
+                apply(r);
+            }
+            log.info("video facet index rebuilt: videos={}, categories={}, tags={}, tookMs={}",
+                    fresh.videos.size(), fresh.byCategory.size(), fresh.byTag.size(),
+                    System.currentTimeMillis() - started);
+        } finally {
+            loading = false;
+            rebuildLock.unlock();
+        }
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    /** 動画1件分の行 */
+    private record VideoRow(Object id, VideoStatus status, VideoVisibility visibility, boolean deleted,
+                            Timestamp createdAt) {
+    }
+
+    /** 序数ごとに保持する、現在索引に載っている状態（差分反映で外すために使う） */
+    private record Entry(VideoStatus status, VideoVisibility visibility, boolean deleted,
+                         UUID[] categories, UUID[] tags) {
+    }
+
+    /**
+     * 索引の本体。書き込みは {@link #lock} の書き込みロック下でのみ行う。
+     */
+    private static final class Facets {
+        final List<UUID> videos = new ArrayList<>();
+        final Map<UUID, Integer> ordinals = new HashMap<>();
+        final List<Entry> entries = new ArrayList<>();
+        final RoaringBitmap alive = new RoaringBitmap();
+        final Map<VideoVisibility, RoaringBitmap> byVisibility = new EnumMap<>(VideoVisibility.class);
+        final Map<VideoStatus, RoaringBitmap> byStatus = new EnumMap<>(VideoStatus.class);
+        final Map<UUID, RoaringBitmap> byCategory = new HashMap<>();
+        final Map<UUID, RoaringBitmap> byTag = new HashMap<>();
+
+        int ordinalOf(UUID videoId) {
+            Integer ordinal = ordinals.get(videoId);
+            if (ordinal == null) {
+                ordinal = videos.size();
+                videos.add(videoId);
+                entries.add(null);
+                ordinals.put(videoId, ordinal);
+            }
+            return ordinal;
+        }
+
+        void put(int ordinal, Entry entry) {
+            clear(ordinal);
+            entries.set(ordinal, entry);
+            if (!entry.deleted()) alive.add(ordinal);
+            byVisibility.computeIfAbsent(entry.visibility(), v -> new RoaringBitmap()).add(ordinal);
+            byStatus.computeIfAbsent(entry.status(), s -> new RoaringBitmap()).add(ordinal);
+            for (UUID c : entry.categories()) byCategory.computeIfAbsent(c, k -> new RoaringBitmap()).add(ordinal);
+            for (UUID t : entry.tags()) byTag.computeIfAbsent(t, k -> new RoaringBitmap()).add(ordinal);
+        }
+
+        void clear(int ordinal) {
+            Entry old = entries.set(ordinal, null);
+            if (old == null) return;
+            alive.remove(ordinal);
+            removeFrom(byVisibility, old.visibility(), ordinal);
+            removeFrom(byStatus, old.status(), ordinal);
+            for (UUID c : old.categories()) removeFrom(byCategory, c, ordinal);
+            for (UUID t : old.tags()) removeFrom(byTag, t, ordinal);
+        }
+
+        void dropCategory(UUID categoryId) {
+            RoaringBitmap members = byCategory.remove(categoryId);
+            if (members == null) return;
+            members.forEach(o -> {
+                Entry e = entries.get(o);
+                entries.set(o, new Entry(e.status(), e.visibility(), e.deleted(), without(e.categories(), categoryId), e.tags()));
+            });
+        }
+
+        void dropTag(UUID tagId) {
+            RoaringBitmap members = byTag.remove(tagId);
+            if (members == null) return;
+            members.forEach(o -> {
+                Entry e = entries.get(o);
+                entries.set(o, new Entry(e.status(), e.visibility(), e.deleted(), e.categories(), without(e.tags(), tagId)));
+            });
+        }
+
+        private static <K> void removeFrom(Map<K, RoaringBitmap> map, K key, int ordinal) {
+            RoaringBitmap bitmap = map.get(key);
+            if (bitmap != null && bitmap.remove(ordinal) && bitmap.isEmpty()) {
+                map.remove(key);
+            }
+        }
+
+        private static UUID[] without(UUID[] ids, UUID id) {
+            return Arrays.stream(ids).filter(x -> !x.equals(id)).toArray(UUID[]::new);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!ready) {
+            rebuildLock.lock();
+            try {
+                if (!ready) rebuild();
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 変更に世代を振って現在の索引に反映する。初回の読み込み中なら読み込み後に反映する。
+     * 反映を始める前に世代を記録するので、DB を読んでから書き込むまでの間に差し替えが走っても
+     * その読み直しは捨てられる。
+     */
+    private void apply(Runnable change) {
+        if (!ready) {
+            if (!loading) return; // これから始まる初回の読み込みに含まれる
+            replay.add(change);
+            if (!ready || !replay.remove(change)) return; // 読み込み完了と入れ違って取り残したものだけ自分で反映する
+        }
+        long generation = generations.incrementAndGet();
+        writeLocked(f -> appliedGeneration = Math.max(appliedGeneration, generation));
+        change.run();
+    }
+
+    /**
+     * 動画の行と付与を IN 句でまとめて DB から読み直し、索引に反映する。
+     */
+    private void refresh(List<UUID> videoIds) {
+        for (int from = 0; from < videoIds.size(); from += REFRESH_CHUNK) {
+            List<UUID> chunk = videoIds.subList(from, Math.min(from + REFRESH_CHUNK, videoIds.size()));
+            Object[] keys = chunk.stream().map(UuidBinary::toBytes).toArray();
+            String in = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            Map<UUID, VideoRow> rows = new HashMap<>();
+            jdbcTemplate.query(String.format(VIDEOS_BY_ID, in), VIDEO_ROW, keys)
+                    .forEach(r -> rows.put(toUuid(r.id()), r));
+            Map<UUID, List<UUID>> categories = groupLinks(String.format(CATEGORIES_OF_VIDEOS, in), keys);
+            Map<UUID, List<UUID>> tags = groupLinks(String.format(TAGS_OF_VIDEOS, in), keys);
+            writeLocked(f -> {
+                for (UUID videoId : chunk) {
+                    VideoRow row = rows.get(videoId);
+                    if (row == null) {
+                        Integer ordinal = f.ordinals.get(videoId);
+                        if (ordinal != null) f.clear(ordinal);
+                        continue;
+                    }
+                    f.put(f.ordinalOf(videoId), new Entry(row.status(), row.visibility(), row.deleted(),
+                            categories.getOrDefault(videoId, List.of()).toArray(NONE),
+                            tags.getOrDefault(videoId, List.of()).toArray(NONE)));
+                }
+            });
+        }
+    }
+
+    /** (行ID, 動画ID, 相手ID) の行を動画IDごとにまとめる */
+    private Map<UUID, List<UUID>> groupLinks(String sql, Object[] keys) {
+        Map<UUID, List<UUID>> links = new HashMap<>();
+        for (Object[] row : jdbcTemplate.query(sql, LINK_ROW, keys)) {
+            links.computeIfAbsent(toUuid(row[1]), v -> new ArrayList<>(2)).add(toUuid(row[2]));
+        }
+        return links;
+    }
+
+    private Facets load() {
+        int chunk = props.getLoadChunkSize();
+
+        // 1) 動画を読み、作成日時順に序数を振る
+        List<VideoRow> videos = new ArrayList<>();
+        Object after = null;
+        while (true) {
+            List<VideoRow> rows = after == null
+                    ? jdbcTemplate.query(FIRST_VIDEOS, VIDEO_ROW, chunk)
+                    : jdbcTemplate.query(NEXT_VIDEOS, VIDEO_ROW, after, chunk);
+            videos.addAll(rows);
+            if (rows.size() < chunk) break;
+            after = rows.get(rows.size() - 1).id();
+        }
+        videos.sort(Comparator.comparing(VideoRow::createdAt));
+
+        Facets f = new Facets();
+        for (VideoRow v : videos) {
+            f.ordinalOf(toUuid(v.id()));
+        }
+
+        // 2) 付与を読み、動画ごとに集める
+        Map<Integer, List<UUID>> categories = loadLinks(FIRST_VIDEO_CATEGORIES, NEXT_VIDEO_CATEGORIES, f, chunk);
+        Map<Integer, List<UUID>> tags = loadLinks(FIRST_VIDEO_TAGS, NEXT_VIDEO_TAGS, f, chunk);
+
+        // 3) 序数の昇順に登録する（ビットマップへの追加が末尾追記になる）
+        for (int ordinal = 0; ordinal < videos.size(); ordinal++) {
+            VideoRow v = videos.get(ordinal);
+            f.put(ordinal, new Entry(v.status(), v.visibility(), v.deleted(),
+                    categories.getOrDefault(ordinal, List.of()).toArray(NONE),
+                    tags.getOrDefault(ordinal, List.of()).toArray(NONE)));
+        }
+        return f;
+    }
+
+    private Map<Integer, List<UUID>> loadLinks(String first, String next, Facets f, int chunk) {
+        Map<Integer, List<UUID>> links = new HashMap<>();
+        Object after = null;
+        while (true) {
+            List<Object[]> rows = after == null
+                    ? jdbcTemplate.query(first, LINK_ROW, chunk)
+                    : jdbcTemplate.query(next, LINK_ROW, after, chunk);
+            for (Object[] row : rows) {
+                Integer ordinal = f.ordinals.get(toUuid(row[1]));
+                if (ordinal != null) {
+                    links.computeIfAbsent(ordinal, o -> new ArrayList<>(2)).add(toUuid(row[2]));
+                }
+            }
+            if (rows.size() < chunk) break;
+            after = rows.get(rows.size() - 1)[0];
+        }
+        return links;
+    }
+
+    /**
+     * 該当動画のタグ別件数の上位。該当件数が少なければ動画ごとのタグを数え、
+     * 多ければタグのビットマップとの AND 件数を数える（ビットマップの件数が現在の下限以下のタグは飛ばす）。
+     * 上限が 0 以下ならタグ別件数は数えない。
+     */
+    private Map<UUID, Long> topTags(Facets f, RoaringBitmap hits) {
+        int k = props.getTagCountLimit();
+        if (k <= 0) return Map.of();
+        PriorityQueue<Map.Entry<UUID, Long>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        if (hits.cardinality() <= props.getTagCountScanLimit()) {
+            Map<UUID, Long> counts = new HashMap<>();
+            hits.forEach(o -> {
+                for (UUID t : f.entries.get(o).tags()) counts.merge(t, 1L, Long::sum);
+            });
+            counts.entrySet().forEach(e -> offer(top, e, k));
+        } else {
+            for (Map.Entry<UUID, RoaringBitmap> e : f.byTag.entrySet()) {
+                if (top.size() == k && e.getValue().cardinality() <= top.peek().getValue()) continue;
+                long n = RoaringBitmap.andCardinality(hits, e.getValue());
+                if (n > 0) offer(top, Map.entry(e.getKey(), n), k);
+            }
+        }
+        List<Map.Entry<UUID, Long>> sorted = new ArrayList<>(top);
+        sorted.sort(Map.Entry.<UUID, Long>comparingByValue().reversed());
+        Map<UUID, Long> out = new LinkedHashMap<>();
+        sorted.forEach(e -> out.put(e.getKey(), e.getValue()));
+        return out;
+    }
+
+    private static void offer(PriorityQueue<Map.Entry<UUID, Long>> top, Map.Entry<UUID, Long> e, int k) {
+        if (top.size() < k) {
+            top.add(e);
+        } else if (e.getValue() > top.peek().getValue()) {
+            top.poll();
+            top.add(e);
+        }
+    }
+
+    private static RoaringBitmap union(Map<UUID, RoaringBitmap> index, Collection<UUID> keys) {
+        RoaringBitmap out = EMPTY;
+        for (UUID key : keys) {
+            RoaringBitmap bitmap = index.get(key);
+            if (bitmap != null) out = RoaringBitmap.or(out, bitmap);
+        }
+        return out;
+    }
+
+    private static RoaringBitmap intersectAll(RoaringBitmap hits, Map<UUID, RoaringBitmap> index, Collection<UUID> keys) {
+        for (UUID key : keys) {
+            hits = RoaringBitmap.and(hits, index.getOrDefault(key, EMPTY));
+        }
+        return hits;
+    }
+
+    private <T> T readLocked(Function<Facets, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void writeLocked(Consumer<Facets> writer) {
+        lock.writeLock().lock();
+        try {
+            writer.accept(facets);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
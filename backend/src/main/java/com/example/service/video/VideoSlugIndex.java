@@ -0,0 +1,233 @@
+package com.example.service.video;
+
+import static com.example.util.UuidBinary.*;
+
+import com.example.event.VideoLifecycleEvent;
+import com.example.util.cache.BoundedExpiringSet;
+import com.example.util.slug.Slugifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 動画のスラッグ → 動画ID の索引と、スラッグの採番。
+ *
+ * 1. 起動時に videos をキーセットで読み、スラッグ → 動画ID をメモリに持つ（削除済みの動画も、
+ *    スラッグのユニーク制約に当たらないよう使用済みとして持つ）。スラッグでの参照は DB を引かない。
+ * 2. スラッグ未設定の動画は、読み込みの後にタイトルから作って一定件数ずつバッチ更新で補う。
+ * 3. 作成時の採番はタイトルから作ったスラッグに、使用済みなら連番（-2, -3, ...）を付ける。
+ *    コミット前の採番は一定時間予約として持ち、同時に作成された動画と重ならないようにする。
+ * 4. 以降は動画の作成・削除・復元等のコミット後イベントで1件ずつ DB から読み直して反映する。
+ *    索引にないスラッグ（他ノードで作成された動画・取りこぼしたイベント）は DB で確かめて取り込み、
+ *    一定間隔で全件を読み直して他ノードでの変更と突き合わせる。
+ */
+@Service
+public class VideoSlugIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(VideoSlugIndex.class);
+
+    private static final String FIRST_VIDEOS =
+            "SELECT id, slug, title, deleted_at FROM videos ORDER BY id LIMIT ?";
+    private static final String NEXT_VIDEOS =
+            "SELECT id, slug, title, deleted_at FROM videos WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String VIDEO_BY_ID =
+            "SELECT id, slug, title, deleted_at FROM videos WHERE id = ?";
+    private static final String VIDEO_BY_SLUG =
+            "SELECT id, slug, title, deleted_at FROM videos WHERE slug = ?";
+    private static final String ASSIGN_SLUG =
+            "UPDATE videos SET slug = ? WHERE id = ? AND slug IS NULL";
+    private static final RowMapper<Row> ROW = (rs, n) -> new Row(
+            rs.getObject(1), rs.getString(2), rs.getString(3), rs.getTimestamp(4) != null);
+
+    /** 起動時の読み込みで一度に読む行数 */
+    private static final int LOAD_CHUNK = 10_000;
+    /** スラッグの補完で1トランザクションにまとめる件数 */
+    private static final int BACKFILL_CHUNK = 1_000;
+    /** 採番してからコミットされるまでの予約の保持時間（ms） */
+    private static final long RESERVATION_MS = 60_000;
+
+    private record Row(Object id, String slug, String title, boolean deleted) {
+    }
+
+    /** スラッグの持ち主 */
+    private record Owner(UUID videoId, boolean deleted) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+
+    private final ConcurrentHashMap<String, Owner> bySlug = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, String> slugOf = new ConcurrentHashMap<>();
+    private final BoundedExpiringSet<String> reserved = new BoundedExpiringSet<>(10_000, RESERVATION_MS);
+    private volatile boolean ready;
+    private volatile boolean loading;
+    /** 全件読み直しを直列化する */
+    private final ReentrantLock loadLock = new ReentrantLock();
+    /** 読み込み中に届いた変更（読み込み後にもう一度反映する） */
+    private final Queue<UUID> replay = new ConcurrentLinkedQueue<>();
+
+    public VideoSlugIndex(JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        meterRegistry.gauge("video.slug.index.size", bySlug, ConcurrentHashMap::size);
+    }
+
+    // ========================================================
+    // ======================= 参照 ===========================
+    // ========================================================
+
+    /**
+     * スラッグから削除されていない動画のIDを引く。
+     * 読み込みが終わるまでと、索引にないスラッグは DB を引く（見つかれば索引に取り込む）。
+     */
+    public Optional<UUID> resolve(String slug) {
+        String key = slug.toLowerCase(Locale.ROOT);
+        Owner owner = ready ? bySlug.get(key) : null;
+        if (owner == null) {
+            List<Row> rows = jdbcTemplate.query(VIDEO_BY_SLUG, ROW, key);
+            if (rows.isEmpty()) return Optional.empty();
+            Row r = rows.get(0);
+            owner = new Owner(toUuid(r.id()), r.deleted());
+            if (ready) put(owner.videoId(), r.slug(), r.deleted());
+        }
+        return owner.deleted() ? Optional.empty() : Optional.of(owner.videoId());
+    }
+
+    /**
+     * タイトルから未使用のスラッグを採番し、コミットされるまで予約しておく。
+     * 他ノードでの採番に備え、候補は DB でも使われていないことを確かめる。
+     */
+    public synchronized String allocate(String title) {
+        String base = Slugifier.slugOf(title);
+        long now = System.currentTimeMillis();
+        String slug = Slugifier.unique(base.isEmpty() ? "video" : base,
+                s -> isTaken(s, now) || !jdbcTemplate.query(VIDEO_BY_SLUG, ROW, s).isEmpty());
+        reserved.add(slug, now);
+        return slug;
+    }
+
+    // ========================================================
+    // ======================= 更新 ===========================
+    // ========================================================
+
+    /**
+     * 全動画のスラッグを読み込み、未設定のものを補う（起動時・定期）。
+     * 定期の読み直しでは、他ノードで作成・変更・削除された動画を索引に取り込む。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.video-slug.reconcile-interval-ms:300000}",
+               fixedDelayString = "${app.video-slug.reconcile-interval-ms:300000}")
+    public void load() {
+        if (!loadLock.tryLock()) return;
+        try {
+            loading = true;
+            replay.clear();
+            List<Row> missing = new ArrayList<>();
+            Object after = null;
+            while (true) {
+                List<Row> rows = after == null
+                        ? jdbcTemplate.query(FIRST_VIDEOS, ROW, LOAD_CHUNK)
+                        : jdbcTemplate.query(NEXT_VIDEOS, ROW, after, LOAD_CHUNK);
+                for (Row r : rows) {
+                    if (r.slug() != null) put(toUuid(r.id()), r.slug(), r.deleted());
+                    else missing.add(r);
+                }
+                if (rows.size() < LOAD_CHUNK) break;
+                after = rows.get(rows.size() - 1).id();
+            }
+            ready = true;
+            loading = false;
+            for (UUID id; (id = replay.poll()) != null; ) {
+                refresh(id);
+            }
+            backfill(missing);
+        } finally {
+            loading = false;
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * 動画の変更をコミット後に反映する。
+     */
+    @TransactionalEventListener
+    public void onVideoChanged(VideoLifecycleEvent event) {
+        if (loading) replay.add(event.videoId());
+        if (ready) refresh(event.videoId());
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    /**
+     * スラッグ未設定の動画にタイトルからスラッグを付ける（他ノードが先に付けたものは上書きしない）。
+     */
+    private void backfill(List<Row> missing) {
+        int filled = 0;
+        for (int from = 0; from < missing.size(); from += BACKFILL_CHUNK) {
+            List<Row> chunk = missing.subList(from, Math.min(from + BACKFILL_CHUNK, missing.size()));
+            List<Object[]> updates = new ArrayList<>(chunk.size());
+            synchronized (this) {
+                long now = System.currentTimeMillis();
+                for (Row r : chunk) {
+                    String base = Slugifier.slugOf(r.title());
+                    String slug = Slugifier.unique(base.isEmpty() ? "video" : base, s -> isTaken(s, now));
+                    reserved.add(slug, now);
+                    updates.add(new Object[] {slug, toBytes(toUuid(r.id()))});
+                }
+            }
+            try {
+                tx.executeWithoutResult(status -> jdbcTemplate.batchUpdate(ASSIGN_SLUG, updates));
+                chunk.forEach(r -> refresh(toUuid(r.id())));
+                filled += chunk.size();
+            } catch (RuntimeException e) {
+                log.warn("video slug backfill failed: videos={}", chunk.size(), e);
+            }
+        }
+        if (filled > 0) {
+            log.info("video slugs backfilled: videos={}", filled);
+        }
+    }
+
+    private void refresh(UUID videoId) {
+        List<Row> rows = jdbcTemplate.query(VIDEO_BY_ID, ROW, (Object) toBytes(videoId));
+        Row r = rows.isEmpty() ? null : rows.get(0);
+        put(videoId, r != null ? r.slug() : null, r != null && r.deleted());
+    }
+
+    private synchronized void put(UUID videoId, String slug, boolean deleted) {
+        String prev = slug != null ? slugOf.put(videoId, slug) : slugOf.remove(videoId);
+        if (prev != null && !prev.equals(slug)) {
+            bySlug.computeIfPresent(prev, (k, owner) -> owner.videoId().equals(videoId) ? null : owner);
+        }
+        if (slug != null) {
+            bySlug.put(slug, new Owner(videoId, deleted));
+            reserved.remove(slug);
+        }
+    }
+
+    private boolean isTaken(String slug, long now) {
+        return bySlug.containsKey(slug) || reserved.contains(slug, now);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.util;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * BINARY(16) の UUID 列（JdbcTemplate で直接読み書きする列）に関するユーティリティ。
+ * バイト列は上位 64bit → 下位 64bit のビッグエンディアンで、JPA 側の UUID 列と同じ並び。
+ */
+public final class UuidBinary {
+
+    private UuidBinary() {
+        // インスタンス化禁止
+    }
+
+    /** BINARY(16) の UUID 列へ渡すバイト列 */
+    public static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    /** BINARY(16) の UUID 列の値（ドライバにより UUID またはバイト列） */
+    public static UUID toUuid(Object value) {
+        if (value instanceof UUID id) return id;
+        ByteBuffer bytes = ByteBuffer.wrap((byte[]) value);
+        return new UUID(bytes.getLong(), bytes.getLong());
+    }
+
+    /**
+     * BINARY(16) の ORDER BY と同じ順（符号なしのバイト順）で比べる。
+     * {@link UUID#compareTo} は上位・下位 64bit を符号付きで比べるため、最上位ビットが立った ID で順序が食い違う。
+     */
+    public static int compareUnsigned(UUID a, UUID b) {
+        int c = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return c != 0 ? c : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,500 @@
+package com.example.util.bitmap;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * 非負の int の集合を表す圧縮ビットマップ（Roaring 方式）。
+ *
+ * 1. 値の上位16ビットごとにコンテナを分け、コンテナ内の要素が {@value #ARRAY_MAX} 件以下なら
+ *    下位16ビットのソート済み配列、超えたら 2^16 ビットのビット列で持つ。
+ *    疎な集合は配列で小さく、密な集合はビット列で速く扱える。
+ * 2. AND / OR / AND NOT はコンテナ単位で突き合わせ、新しいビットマップを返す（引数は変更しない）。
+ *    件数だけが必要な場合は {@link #andCardinality} で中間結果を作らずに数える。
+ *
+ * 同期化はしていない。共有する場合は呼び出し側で排他するか、変更後に差し替えること。
+ */
+public final class RoaringBitmap {
+
+    /** 配列コンテナの最大件数（これを超えるとビット列に切り替える） */
+    static final int ARRAY_MAX = 4096;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    public RoaringBitmap() {
+    }
+
+    public static RoaringBitmap of(int... values) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int v : values) bitmap.add(v);
+        return bitmap;
+    }
+
+    // ========================================================
+    // ======================= 参照・更新 ======================
+    // ========================================================
+
+    /**
+     * 値を追加する。
+     *
+     * @return 新たに追加されたか
+     */
+    public boolean add(int value) {
+        checkValue(value);
+        char hi = (char) (value >>> 16);
+        int i = indexOf(hi);
+        if (i < 0) {
+            i = -i - 1;
+            insertContainer(i, hi, new Container());
+        }
+        return containers[i].add((char) value);
+    }
+
+    /**
+     * 値を取り除く。
+     *
+     * @return 取り除いたか
+     */
+    public boolean remove(int value) {
+        if (value < 0) return false;
+        int i = indexOf((char) (value >>> 16));
+        if (i < 0) return false;
+        boolean removed = containers[i].remove((char) value);
+        if (removed && containers[i].card == 0) {
+            removeContainer(i);
+        }
+        return removed;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) return false;
+        int i = indexOf((char) (value >>> 16));
+        return i >= 0 && containers[i].contains((char) value);
+    }
+
+    public long cardinality() {
+        long total = 0;
+        for (int i = 0; i < size; i++) total += containers[i].card;
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public RoaringBitmap copy() {
+        RoaringBitmap copy = new RoaringBitmap();
+        copy.keys = Arrays.copyOf(keys, Math.max(4, size));
+        copy.containers = new Container[copy.keys.length];
+        for (int i = 0; i < size; i++) copy.containers[i] = containers[i].copy();
+        copy.size = size;
+        return copy;
+    }
+
+    /** 昇順に値を渡す */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    public int[] toArray() {
+        int[] out = new int[Math.toIntExact(cardinality())];
+        int[] n = {0};
+        forEach(v -> out[n[0]++] = v);
+        return out;
+    }
+
+    /**
+     * 降順に並べたときの {@code offset} 番目から最大 {@code limit} 件を返す。
+     * 読み飛ばす範囲はコンテナ単位で件数だけを見て進める。
+     */
+    public int[] descending(long offset, int limit) {
+        int[] out = new int[(int) Math.max(0, Math.min(limit, cardinality() - offset))];
+        int n = 0;
+        long skip = offset;
+        for (int i = size - 1; i >= 0 && n < out.length; i--) {
+            Container c = containers[i];
+            if (skip >= c.card) {
+                skip -= c.card;
+                continue;
+            }
+            n = c.descending(keys[i] << 16, (int) skip, out, n);
+            skip = 0;
+        }
+        return out;
+    }
+
+    // ========================================================
+    // ======================= 集合演算 ========================
+    // ========================================================
+
+    public static RoaringBitmap and(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap out = new RoaringBitmap();
+        int i = 0, j = 0;
+        while (i < a.size && j < b.size) {
+            int cmp = Character.compare(a.keys[i], b.keys[j]);
+            if (cmp < 0) {
+                i++;
+            } else if (cmp > 0) {
+                j++;
+            } else {
+                Container c = Container.and(a.containers[i], b.containers[j]);
+                if (c.card > 0) out.appendContainer(a.keys[i], c);
+                i++;
+                j++;
+            }
+        }
+        return out;
+    }
+
+    public static RoaringBitmap or(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap out = new RoaringBitmap();
+        int i = 0, j = 0;
+        while (i < a.size || j < b.size) {
+            int cmp = i == a.size ? 1 : j == b.size ? -1 : Character.compare(a.keys[i], b.keys[j]);
+            if (cmp < 0) {
+                out.appendContainer(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (cmp > 0) {
+                out.appendContainer(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                out.appendContainer(a.keys[i], Container.or(a.containers[i], b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return out;
+    }
+
+    /** a から b の要素を除いた集合 */
+    public static RoaringBitmap andNot(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap out = new RoaringBitmap();
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            while (j < b.size && b.keys[j] < a.keys[i]) j++;
+            Container c = (j < b.size && b.keys[j] == a.keys[i])
+                    ? Container.andNot(a.containers[i], b.containers[j])
+                    : a.containers[i].copy();
+            if (c.card > 0) out.appendContainer(a.keys[i], c);
+        }
+        return out;
+    }
+
+    /** AND の件数（中間のビットマップは作らない） */
+    public static long andCardinality(RoaringBitmap a, RoaringBitmap b) {
+        long total = 0;
+        int i = 0, j = 0;
+        while (i < a.size && j < b.size) {
+            int cmp = Character.compare(a.keys[i], b.keys[j]);
+            if (cmp < 0) {
+                i++;
+            } else if (cmp > 0) {
+                j++;
+            } else {
+                total += Container.andCardinality(a.containers[i], b.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("負の値は格納できません: " + value);
+        }
+    }
+
+    private int indexOf(char hi) {
+        // 末尾への追加が多いので最後のコンテナを先に見る
+        if (size > 0 && keys[size - 1] == hi) return size - 1;
+        return Arrays.binarySearch(keys, 0, size, hi);
+    }
+
+    private void insertContainer(int at, char hi, Container c) {
+        ensureCapacity(size + 1);
+        System.arraycopy(keys, at, keys, at + 1, size - at);
+        System.arraycopy(containers, at, containers, at + 1, size - at);
+        keys[at] = hi;
+        containers[at] = c;
+        size++;
+    }
+
+    private void appendContainer(char hi, Container c) {
+        ensureCapacity(size + 1);
+        keys[size] = hi;
+        containers[size] = c;
+        size++;
+    }
+
+    private void removeContainer(int at) {
+        System.arraycopy(keys, at + 1, keys, at, size - at - 1);
+        System.arraycopy(containers, at + 1, containers, at, size - at - 1);
+        containers[--size] = null;
+    }
+
+    private void ensureCapacity(int n) {
+        if (n > keys.length) {
+            int cap = Math.max(n, keys.length * 2);
+            keys = Arrays.copyOf(keys, cap);
+            containers = Arrays.copyOf(containers, cap);
+        }
+    }
+
+    /**
+     * 上位16ビットが同じ値の集合。{@code bits == null} なら配列、そうでなければビット列。
+     */
+    private static final class Container {
+        char[] array = new char[4];
+        long[] bits;
+        int card;
+
+        Container copy() {
+            Container c = new Container();
+            c.card = card;
+            if (bits != null) {
+                c.bits = bits.clone();
+                c.array = null;
+            } else {
+                c.array = Arrays.copyOf(array, Math.max(4, card));
+            }
+            return c;
+        }
+
+        boolean contains(char lo) {
+            if (bits != null) return (bits[lo >>> 6] & (1L << lo)) != 0;
+            return Arrays.binarySearch(array, 0, card, lo) >= 0;
+        }
+
+        boolean add(char lo) {
+            if (bits != null) {
+                long before = bits[lo >>> 6];
+                bits[lo >>> 6] = before | (1L << lo);
+                if (before == bits[lo >>> 6]) return false;
+                card++;
+                return true;
+            }
+            int pos = Arrays.binarySearch(array, 0, card, lo);
+            if (pos >= 0) return false;
+            if (card == ARRAY_MAX) {
+                toBits();
+                return add(lo);
+            }
+            pos = -pos - 1;
+            if (card == array.length) {
+                array = Arrays.copyOf(array, Math.min(ARRAY_MAX, array.length * 2));
+            }
+            System.arraycopy(array, pos, array, pos + 1, card - pos);
+            array[pos] = lo;
+            card++;
+            return true;
+        }
+
+        boolean remove(char lo) {
+            if (bits != null) {
+                long before = bits[lo >>> 6];
+                bits[lo >>> 6] = before & ~(1L << lo);
+                if (before == bits[lo >>> 6]) return false;
+                card--;
+                if (card <= ARRAY_MAX) toArrayForm();
+                return true;
+            }
+            int pos = Arrays.binarySearch(array, 0, card, lo);
+            if (pos < 0) return false;
+            System.arraycopy(array, pos + 1, array, pos, card - pos - 1);
+            card--;
+            return true;
+        }
+
+        void forEach(int base, IntConsumer action) {
+            if (bits != null) {
+                for (int w = 0; w < bits.length; w++) {
+                    long word = bits[w];
+                    while (word != 0) {
+                        action.accept(base | (w << 6) | Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                for (int k = 0; k < card; k++) action.accept(base | array[k]);
+            }
+        }
+
+        /** 降順に skip 件を飛ばし、out[n..] へ詰める。詰め終えた位置を返す */
+        int descending(int base, int skip, int[] out, int n) {
+            if (bits != null) {
+                for (int w = bits.length - 1; w >= 0 && n < out.length; w--) {
+                    long word = bits[w];
+                    int count = Long.bitCount(word);
+                    if (skip >= count) {
+                        skip -= count;
+                        continue;
+                    }
+                    while (word != 0 && n < out.length) {
+                        int bit = 63 - Long.numberOfLeadingZeros(word);
+                        word &= ~(1L << bit);
+                        if (skip > 0) {
+                            skip--;
+                        } else {
+                            out[n++] = base | (w << 6) | bit;
+                        }
+                    }
+                }
+            } else {
+                for (int k = card - 1 - skip; k >= 0 && n < out.length; k--) {
+                    out[n++] = base | array[k];
+                }
+            }
+            return n;
+        }
+
+        private void toBits() {
+            long[] b = new long[1024];
+            for (int k = 0; k < card; k++) b[array[k] >>> 6] |= 1L << array[k];
+            bits = b;
+            array = null;
+        }
+
+        private void toArrayForm() {
+            char[] a = new char[Math.max(4, card)];
+            int n = 0;
+            for (int w = 0; w < bits.length; w++) {
+                long word = bits[w];
+                while (word != 0) {
+                    a[n++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            array = a;
+            bits = null;
+        }
+
+        private static Container ofBits(long[] bits) {
+            Container c = new Container();
+            c.array = null;
+            c.bits = bits;
+            int card = 0;
+            for (long w : bits) card += Long.bitCount(w);
+            c.card = card;
+            if (card <= ARRAY_MAX) c.toArrayForm();
+            return c;
+        }
+
+        private static Container ofArray(char[] array, int card) {
+            Container c = new Container();
+            c.array = array;
+            c.card = card;
+            return c;
+        }
+
+        static Container and(Container a, Container b) {
+            if (a.bits != null && b.bits != null) {
+                long[] out = new long[1024];
+                for (int w = 0; w < 1024; w++) out[w] = a.bits[w] & b.bits[w];
+                return ofBits(out);
+            }
+            if (a.bits != null) return and(b, a);
+            char[] out = new char[Math.max(4, a.card)];
+            int n = 0;
+            if (b.bits != null) {
+                for (int k = 0; k < a.card; k++) {
+                    if (b.contains(a.array[k])) out[n++] = a.array[k];
+                }
+            } else {
+                int i = 0, j = 0;
+                while (i < a.card && j < b.card) {
+                    if (a.array[i] < b.array[j]) i++;
+                    else if (a.array[i] > b.array[j]) j++;
+                    else {
+                        out[n++] = a.array[i];
+                        i++;
+                        j++;
+                    }
+                }
+            }
+            return ofArray(out, n);
+        }
+
+        static Container or(Container a, Container b) {
+            if (a.bits != null || b.bits != null) {
+                long[] out;
+                if (a.bits != null && b.bits != null) {
+                    out = new long[1024];
+                    for (int w = 0; w < 1024; w++) out[w] = a.bits[w] | b.bits[w];
+                } else {
+                    Container dense = a.bits != null ? a : b;
+                    Container sparse = a.bits != null ? b : a;
+                    out = dense.bits.clone();
+                    for (int k = 0; k < sparse.card; k++) out[sparse.array[k] >>> 6] |= 1L << sparse.array[k];
+                }
+                return ofBits(out);
+            }
+            char[] out = new char[a.card + b.card];
+            int i = 0, j = 0, n = 0;
+            while (i < a.card || j < b.card) {
+                if (j == b.card || (i < a.card && a.array[i] < b.array[j])) out[n++] = a.array[i++];
+                else if (i == a.card || b.array[j] < a.array[i]) out[n++] = b.array[j++];
+                else {
+                    out[n++] = a.array[i++];
+                    j++;
+                }
+            }
+            Container c = ofArray(out, n);
+            if (n > ARRAY_MAX) c.toBits();
+            return c;
+        }
+
+        static Container andNot(Container a, Container b) {
+            if (a.bits != null) {
+                long[] out = a.bits.clone();
+                if (b.bits != null) {
+                    for (int w = 0; w < 1024; w++) out[w] &= ~b.bits[w];
+                } else {
+                    for (int k = 0; k < b.card; k++) out[b.array[k] >>> 6] &= ~(1L << b.array[k]);
+                }
+                return ofBits(out);
+            }
+            char[] out = new char[Math.max(4, a.card)];
+            int n = 0;
+            for (int k = 0; k < a.card; k++) {
+                if (!b.contains(a.array[k])) out[n++] = a.array[k];
+            }
+            return ofArray(out, n);
+        }
+
+        static int andCardinality(Container a, Container b) {
+            if (a.bits != null && b.bits != null) {
+                int n = 0;
+                for (int w = 0; w < 1024; w++) n += Long.bitCount(a.bits[w] & b.bits[w]);
+                return n;
+            }
+            if (a.bits != null) return andCardinality(b, a);
+            int n = 0;
+            if (b.bits != null) {
+                for (int k = 0; k < a.card; k++) {
+                    if (b.contains(a.array[k])) n++;
+                }
+                return n;
+            }
+            int i = 0, j = 0;
+            while (i < a.card && j < b.card) {
+                if (a.array[i] < b.array[j]) i++;
+                else if (a.array[i] > b.array[j]) j++;
+                else {
+                    n++;
+                    i++;
+                    j++;
+                }
+            }
+            return n;
+        }
+    }
+}
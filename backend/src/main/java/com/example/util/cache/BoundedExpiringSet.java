@@ -0,0 +1,57 @@
+package com.example.util.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 件数上限と有効期限つきの集合（LRU で古いものから追い出す）。
+ * 存在しないキーのネガティブキャッシュなど、「最近見た」ことだけを覚えておく用途に使う。
+ */
+public final class BoundedExpiringSet<K> {
+
+    private final int maxSize;
+    private final long ttlMs;
+    private final LinkedHashMap<K, Long> entries;
+
+    public BoundedExpiringSet(int maxSize, long ttlMs) {
+        if (maxSize <= 0 || ttlMs <= 0) {
+            throw new IllegalArgumentException("上限件数と有効期限は1以上で指定してください");
+        }
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Long> eldest) {
+                return size() > BoundedExpiringSet.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * キーを追加（既存なら期限を延長）する。
+     */
+    public synchronized void add(K key, long nowMs) {
+        entries.put(key, nowMs + ttlMs);
+    }
+
+    /**
+     * 期限内のキーが含まれるか。期限切れなら取り除いて false を返す。
+     */
+    public synchronized boolean contains(K key, long nowMs) {
+        Long expiresAt = entries.get(key);
+        if (expiresAt == null) return false;
+        if (expiresAt <= nowMs) {
+            entries.remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
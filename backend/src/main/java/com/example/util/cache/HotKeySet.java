@@ -0,0 +1,163 @@
+package com.example.util.cache;
+
+import com.example.util.sketch.ConcurrentCountMinSketch;
+import com.example.util.sketch.CountMinSketch;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * アクセス頻度の高いキー（ホットキー）を見つけ、その値だけを手元に持つ小さなニアキャッシュ。
+ *
+ * 1. アクセスのたびに {@link ConcurrentCountMinSketch} でキーの頻度をロックなしで数える。
+ *    推定値が promoteThreshold 以上のキーをホットキーに昇格させる（上限 maxKeys 件。
+ *    満杯なら最も冷えているホットキーより頻度が高いときだけ入れ替える）。
+ * 2. {@link #decay()} を定期的に呼び、全カウンタを半分にする。推定値が demoteThreshold を下回った
+ *    ホットキーは降格させ、値も捨てる（昇格と降格の閾値を分けて、境界付近で出入りを繰り返さないようにする）。
+ * 3. ホットキーにだけ値を置ける（{@link #offer}）。値は有効期限つきで、参照は排他なしで行う。
+ *
+ * スレッドセーフ（昇格・降格だけを同期し、頻度の更新と値の参照は同期しない）。
+ */
+public final class HotKeySet<K, V> {
+
+    /** ホットキー1件の状態（{@link #snapshot()} 用） */
+    public record HotKey<K>(K key, int frequency, long promotedAt, boolean cached) {
+    }
+
+    private static final class Slot<V> {
+        final long promotedAt;
+        volatile V value;
+        volatile long expiresAt;
+
+        Slot(long promotedAt) {
+            this.promotedAt = promotedAt;
+        }
+    }
+
+    private final ConcurrentCountMinSketch sketch;
+    private final int promoteThreshold;
+    private final int demoteThreshold;
+    private final int maxKeys;
+    private final Map<K, Slot<V>> hot = new ConcurrentHashMap<>();
+    private final AtomicLong promotions = new AtomicLong();
+    private final AtomicLong demotions = new AtomicLong();
+
+    /**
+     * @param width            頻度スケッチの1行あたりのカウンタ数
+     * @param promoteThreshold この推定頻度に達したら昇格させる
+     * @param demoteThreshold  減衰後の推定頻度がこれを下回ったら降格させる（promoteThreshold 以下）
+     * @param maxKeys          ホットキーの上限件数
+     */
+    public HotKeySet(int width, int promoteThreshold, int demoteThreshold, int maxKeys) {
+        if (promoteThreshold < 1 || demoteThreshold < 0 || demoteThreshold > promoteThreshold) {
+            throw new IllegalArgumentException("閾値は 0 <= demoteThreshold <= promoteThreshold, 1 <= promoteThreshold で指定してください");
+        }
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("maxKeys は1以上で指定してください");
+        }
+        this.sketch = new ConcurrentCountMinSketch(width);
+        this.promoteThreshold = promoteThreshold;
+        this.demoteThreshold = demoteThreshold;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * キーへのアクセスを1回数え、ホットキーで有効な値を持っていればそれを返す（なければ null）。
+     */
+    public V touch(K key, long now) {
+        int frequency = sketch.increment(CountMinSketch.hash(key));
+        Slot<V> slot = hot.get(key);
+        if (slot == null) {
+            // 閾値以上なら昇格を試みる（降格後や推定値の飛びで閾値を跨いだキーも拾う）。
+            // 満杯のときだけ頻度が 2 のべき乗に達したときに絞る
+            //（入れ替えられないキーが、アクセスのたびに同期を取らないように）
+            if (frequency >= promoteThreshold
+                    && (hot.size() < maxKeys || (frequency & (frequency - 1)) == 0)) {
+                promote(key, frequency, now);
+            }
+            return null;
+        }
+        V value = slot.value;
+        return (value != null && now < slot.expiresAt) ? value : null;
+    }
+
+    /**
+     * ホットキーであれば値を置く（ホットキーでなければ何もしない）。
+     */
+    public void offer(K key, V value, long expiresAt) {
+        Slot<V> slot = hot.get(key);
+        if (slot == null) return;
+        slot.expiresAt = expiresAt;
+        slot.value = value;
+    }
+
+    /**
+     * キーの値を捨てる（ホットキーのままにする）。
+     */
+    public void invalidate(K key) {
+        Slot<V> slot = hot.get(key);
+        if (slot != null) slot.value = null;
+    }
+
+    /**
+     * 全カウンタを半分にし、冷えたホットキーを降格させる。
+     */
+    public synchronized void decay() {
+        sketch.halve();
+        for (K key : List.copyOf(hot.keySet())) {
+            if (sketch.estimate(CountMinSketch.hash(key)) < demoteThreshold && hot.remove(key) != null) {
+                demotions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 現在のホットキーを推定頻度の高い順に返す。
+     */
+    public List<HotKey<K>> snapshot() {
+        List<HotKey<K>> result = new ArrayList<>(hot.size());
+        hot.forEach((key, slot) -> result.add(new HotKey<>(key, sketch.estimate(CountMinSketch.hash(key)),
+                slot.promotedAt, slot.value != null)));
+        result.sort(Comparator.comparingInt((HotKey<K> h) -> h.frequency()).reversed());
+        return result;
+    }
+
+    public int size() {
+        return hot.size();
+    }
+
+    public long promotionCount() {
+        return promotions.get();
+    }
+
+    public long demotionCount() {
+        return demotions.get();
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private synchronized void promote(K key, int frequency, long now) {
+        if (hot.containsKey(key)) return;
+        if (hot.size() >= maxKeys) {
+            K coldest = null;
+            int coldestFrequency = Integer.MAX_VALUE;
+            for (K candidate : hot.keySet()) {
+                int f = sketch.estimate(CountMinSketch.hash(candidate));
+                if (f < coldestFrequency) {
+                    coldest = candidate;
+                    coldestFrequency = f;
+                }
+            }
+            if (coldest == null || coldestFrequency >= frequency) return;
+            hot.remove(coldest);
+            demotions.incrementAndGet();
+        }
+        hot.put(key, new Slot<>(now));
+        promotions.incrementAndGet();
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.util.cache;
+
+import com.example.util.sketch.CountMinSketch;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * バイト数を上限とする W-TinyLFU 方式のキャッシュ（値はバイト列）。
+ *
+ * 1. 新しいエントリはまず容量の約1%の窓（LRU）に入る。窓から溢れたものは本体への入場候補になる。
+ * 2. 本体は SLRU（試用 20% / 保護 80%）。試用中に再びアクセスされたものは保護区画へ移る。
+ * 3. 本体が満杯なら、候補と本体の追い出し対象（試用区画の最古）のアクセス頻度を {@link CountMinSketch} で比べ、
+ *    候補の方が多いときだけ対象を追い出して入れる。一度きりのアクセスが人気のエントリを押し出さない。
+ * 4. エントリごとに有効期限を持ち、期限切れは参照時に取り除く。
+ *
+ * スレッドセーフ（メソッド単位で同期する）。
+ */
+public final class WTinyLfuCache<K> {
+
+    /** キー・ノードの管理分として1エントリに上乗せするバイト数の目安 */
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private static final class Node<K> {
+        final K key;
+        final byte[] value;
+        final long expiresAt;
+        final int weight;
+
+        Node(K key, byte[] value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.weight = value.length + ENTRY_OVERHEAD;
+        }
+    }
+
+    private final long maxBytes;
+    private final long windowMax;
+    private final long protectedMax;
+    private final long ttlMs;
+    private final CountMinSketch sketch;
+
+    private final LinkedHashMap<K, Node<K>> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Node<K>> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Node<K>> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+    private long windowBytes;
+    private long probationBytes;
+    private long protectedBytes;
+    private long evictions;
+    private long expirations;
+
+    /**
+     * @param maxBytes        保持するバイト数の上限
+     * @param ttlMs           エントリの有効期限（ms）
+     * @param expectedEntries 想定するエントリ数（頻度スケッチの大きさに使う）
+     */
+    public WTinyLfuCache(long maxBytes, long ttlMs, int expectedEntries) {
+        if (maxBytes <= 0 || ttlMs <= 0 || expectedEntries <= 0) {
+            throw new IllegalArgumentException("上限バイト数・有効期限・想定件数は1以上で指定してください");
+        }
+        this.maxBytes = maxBytes;
+        this.windowMax = Math.max(1, maxBytes / 100);
+        this.protectedMax = (maxBytes - windowMax) * 8 / 10;
+        this.ttlMs = ttlMs;
+        this.sketch = new CountMinSketch(expectedEntries, 10L * expectedEntries);
+    }
+
+    /**
+     * 期限内の値を返す（なければ null）。ヒットしなくてもアクセス頻度は数える。
+     */
+    public synchronized byte[] get(K key, long nowMs) {
+        sketch.increment(CountMinSketch.hash(key));
+        Node<K> node = window.get(key);
+        if (node == null) node = probation.get(key);
+        if (node == null) node = protectedSegment.get(key);
+        if (node == null) return null;
+        if (node.expiresAt <= nowMs) {
+            remove(key);
+            expirations++;
+            return null;
+        }
+        if (probation.remove(key) != null) {
+            probationBytes -= node.weight;
+            protectedSegment.put(key, node);
+            protectedBytes += node.weight;
+            demoteProtected();
+        }
+        return node.value;
+    }
+
+    /**
+     * 値を入れる（既存なら置き換える）。上限の半分を超える値は保持しない。
+     */
+    public synchronized void put(K key, byte[] value, long nowMs) {
+        remove(key);
+        Node<K> node = new Node<>(key, value, nowMs + ttlMs);
+        if (node.weight > maxBytes / 2) return;
+        window.put(key, node);
+        windowBytes += node.weight;
+        while (windowBytes > windowMax) {
+            Node<K> candidate = removeEldest(window);
+            windowBytes -= candidate.weight;
+            admit(candidate);
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        remove(key);
+    }
+
+    public synchronized void clear() {
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+        windowBytes = probationBytes = protectedBytes = 0;
+    }
+
+    public synchronized int size() {
+        return window.size() + probation.size() + protectedSegment.size();
+    }
+
+    /** 保持しているバイト数（管理分の目安を含む） */
+    public synchronized long weightedSize() {
+        return windowBytes + probationBytes + protectedBytes;
+    }
+
+    /** 容量による追い出し（入場を拒否した候補を含む）の累計 */
+    public synchronized long evictionCount() {
+        return evictions;
+    }
+
+    /** 期限切れで取り除いた件数の累計 */
+    public synchronized long expirationCount() {
+        return expirations;
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    /**
+     * 窓から溢れた候補を本体に入れる。本体が満杯なら頻度の比較で候補か追い出し対象のどちらかを捨てる。
+     */
+    private void admit(Node<K> candidate) {
+        long mainMax = maxBytes - windowMax;
+        int candidateFreq = sketch.estimate(CountMinSketch.hash(candidate.key));
+        while (probationBytes + protectedBytes + candidate.weight > mainMax) {
+            Map<K, Node<K>> segment = !probation.isEmpty() ? probation : protectedSegment;
+            if (segment.isEmpty()) {
+                evictions++;
+                return;
+            }
+            Node<K> victim = segment.values().iterator().next();
+            if (candidateFreq <= sketch.estimate(CountMinSketch.hash(victim.key))) {
+                evictions++; // 候補を捨てる
+                return;
+            }
+            remove(victim.key);
+            evictions++;
+        }
+        probation.put(candidate.key, candidate);
+        probationBytes += candidate.weight;
+    }
+
+    /** 保護区画が上限を超えたら、古いものから試用区画へ戻す */
+    private void demoteProtected() {
+        while (protectedBytes > protectedMax && protectedSegment.size() > 1) {
+            Node<K> node = removeEldest(protectedSegment);
+            protectedBytes -= node.weight;
+            probation.put(node.key, node);
+            probationBytes += node.weight;
+        }
+    }
+
+    private void remove(K key) {
+        Node<K> node;
+        if ((node = window.remove(key)) != null) {
+            windowBytes -= node.weight;
+        } else if ((node = probation.remove(key)) != null) {
+            probationBytes -= node.weight;
+        } else if ((node = protectedSegment.remove(key)) != null) {
+            protectedBytes -= node.weight;
+        }
+    }
+
+    private static <K> Node<K> removeEldest(LinkedHashMap<K, Node<K>> segment) {
+        Iterator<Node<K>> it = segment.values().iterator();
+        Node<K> eldest = it.next();
+        it.remove();
+        return eldest;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.util.concurrent;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * キーごとの加算値をロックなしで溜め、まとめて取り出す。
+ *
+ * 頻繁に届く小さな加算（再生数 +1 など）を、読み手と共有する大きなロックを都度取らずに受け付け、
+ * 定期的な {@link #drain(Sink)} で1回のロックの中でまとめて反映するために使う。
+ * 取り出しはキーごとに不可分に行うため、取り出しと同時に届いた加算は失われず次回に回る。
+ */
+public final class DeltaAccumulator<K> {
+
+    /** 取り出した加算値の反映先 */
+    @FunctionalInterface
+    public interface Sink<K> {
+        void accept(K key, long delta);
+    }
+
+    private final ConcurrentHashMap<K, Long> pending = new ConcurrentHashMap<>();
+
+    public void add(K key, long delta) {
+        pending.merge(key, delta, Long::sum);
+    }
+
+    /**
+     * 溜まっている加算値をすべて取り出して sink に渡し、取り出したキー数を返す。
+     */
+    public int drain(Sink<K> sink) {
+        int drained = 0;
+        for (K key : pending.keySet()) {
+            Long delta = pending.remove(key);
+            if (delta != null) {
+                sink.accept(key, delta);
+                drained++;
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * キーの溜まっている加算値を捨てる（加算済みの値を別の経路で読み直して上書きする場合）。
+     */
+    public void reset(K key) {
+        pending.remove(key);
+    }
+
+    /** 溜まっているキー数 */
+    public int size() {
+        return pending.size();
+    }
+
+    public void clear() {
+        pending.clear();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.util.concurrent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * キー（送信元アドレスなど）ごとの {@link TokenBucket} による流量制限。
+ *
+ * バケットは最大 {@code maxKeys} 個まで保持し、超えたら最も長く使われていないものから捨てる。
+ * 捨てたキーは次に来たとき満杯のバケットから始まるため、上限は同時に制限したいキー数より十分大きくすること。
+ */
+public final class KeyedRateLimiter<K> {
+
+    private final double ratePerSecond;
+    private final int burst;
+    private final LinkedHashMap<K, TokenBucket> buckets;
+
+    /**
+     * @param ratePerSecond キーごとの1秒あたりの補充数（0 より大きい値）
+     * @param burst         キーごとに溜められる最大数（1以上）
+     * @param maxKeys       保持するバケット数の上限（1以上）
+     */
+    public KeyedRateLimiter(double ratePerSecond, int burst, int maxKeys) {
+        if (ratePerSecond <= 0 || burst < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("補充数は0より大きく、最大数・保持数は1以上で指定してください");
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.buckets = new LinkedHashMap<>(Math.min(maxKeys, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, TokenBucket> eldest) {
+                return size() > maxKeys;
+            }
+        };
+    }
+
+    /**
+     * キーのトークンを1個消費できれば消費して true を返す。
+     */
+    public boolean tryAcquire(K key, long nowMs) {
+        TokenBucket bucket;
+        synchronized (this) {
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(ratePerSecond, burst));
+        }
+        return bucket.tryAcquire(nowMs);
+    }
+
+    public synchronized int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.util.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 同じキーの同時実行をまとめる（single-flight）。
+ *
+ * 最初に来た呼び出し（リーダー）だけが処理を実行し、実行中に同じキーで来た呼び出しはその結果を待って共有する。
+ * 結果は保持しない（完了したらキーを外す）ため、次の呼び出しは改めて実行される。
+ * 処理が例外で終わった場合は、待っていた呼び出しにも同じ例外を投げる。
+ */
+public final class SingleFlight<K> {
+
+    /** 1回の呼び出しの結果（まとめられたかどうか） */
+    public record Result<V>(V value, boolean shared) {
+    }
+
+    private final ConcurrentHashMap<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * キーの処理を実行する。同じキーの処理が実行中ならその完了を待って結果を返す。
+     */
+    @SuppressWarnings("unchecked")
+    public <V> Result<V> run(K key, Supplier<V> loader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            try {
+                return new Result<>((V) running.join(), true);
+            } catch (CompletionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /** 実行中のキーの数 */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException e) return e;
+        if (cause instanceof Error e) throw e;
+        return new IllegalStateException(cause);
+    }
+}
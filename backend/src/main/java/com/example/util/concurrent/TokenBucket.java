@@ -0,0 +1,44 @@
+package com.example.util.concurrent;
+
+/**
+ * トークンバケットによる流量制限。
+ *
+ * 毎秒 {@code ratePerSecond} 個ずつ（最大 {@code burst} 個まで）トークンが溜まり、1回の実行につき1個消費する。
+ * トークンは経過時間から都度計算するため、補充用のタイマーは持たない。
+ */
+public final class TokenBucket {
+
+    private final double ratePerMs;
+    private final double burst;
+    private double tokens;
+    private long lastMs;
+
+    /**
+     * @param ratePerSecond 1秒あたりの補充数（0 より大きい値）
+     * @param burst         溜められる最大数（1以上）
+     */
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("補充数は0より大きく、最大数は1以上で指定してください");
+        }
+        this.ratePerMs = ratePerSecond / 1000.0;
+        this.burst = burst;
+        this.tokens = burst;
+        this.lastMs = Long.MIN_VALUE;
+    }
+
+    /**
+     * トークンを1個消費できれば消費して true を返す。
+     */
+    public synchronized boolean tryAcquire(long nowMs) {
+        if (lastMs != Long.MIN_VALUE && nowMs > lastMs) {
+            tokens = Math.min(burst, tokens + (nowMs - lastMs) * ratePerMs);
+        }
+        if (lastMs == Long.MIN_VALUE || nowMs > lastMs) {
+            lastMs = nowMs;
+        }
+        if (tokens < 1) return false;
+        tokens -= 1;
+        return true;
+    }
+}
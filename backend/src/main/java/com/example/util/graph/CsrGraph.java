@@ -0,0 +1,297 @@
+package com.example.util.graph;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * 有向グラフの不変スナップショット（CSR: Compressed Sparse Row）。
+ *
+ * 1. ノードは 0 始まりの int 番号で、辺は「出辺」「入辺」それぞれを offsets / targets の2本の int 配列に詰めて持つ。
+ *    各ノードの隣接リストは番号順に並び、重複はない（辺の有無は二分探索）。
+ * 2. 差分（追加・削除した辺）は {@link #withChanges} で既存の配列とマージして新しいスナップショットを作る（O(V + E)）。
+ * 3. {@link #suggest} は起点ノード群から1歩先のノードを数え上げ、上位を返す（各ノードの辺は先頭から上限件数まで）。
+ *
+ * インスタンスは不変で、複数スレッドから同時に読んでよい。
+ */
+public final class CsrGraph {
+
+    /** 候補ノードと、起点からたどり着いた回数（多い順） */
+    public record Suggestions(int[] nodes, int[] scores) {
+    }
+
+    private final int nodeCount;
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final int[] inOffsets;
+    private final int[] inSources;
+
+    private CsrGraph(int nodeCount, int[] outOffsets, int[] outTargets) {
+        this.nodeCount = nodeCount;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.inOffsets = new int[nodeCount + 1];
+        this.inSources = new int[outTargets.length];
+        transpose();
+    }
+
+    /**
+     * 辺の配列からグラフを作る（重複した辺は1本にまとめる）。
+     *
+     * @param nodeCount ノード数（辺の両端は 0 以上 nodeCount 未満）
+     * @param src       辺の始点
+     * @param dst       辺の終点
+     * @param edgeCount 有効な辺の数（配列の先頭から）
+     */
+    public static CsrGraph fromEdges(int nodeCount, int[] src, int[] dst, int edgeCount) {
+        int[] offsets = new int[nodeCount + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            offsets[checkNode(src[i], nodeCount) + 1]++;
+            checkNode(dst[i], nodeCount);
+        }
+        for (int u = 0; u < nodeCount; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+        int[] targets = new int[edgeCount];
+        int[] fill = Arrays.copyOf(offsets, nodeCount);
+        for (int i = 0; i < edgeCount; i++) {
+            targets[fill[src[i]]++] = dst[i];
+        }
+        // 行ごとに並べ、重複を詰める
+        int write = 0;
+        int rowStart = 0;
+        for (int u = 0; u < nodeCount; u++) {
+            int from = rowStart;
+            int to = offsets[u + 1];
+            Arrays.sort(targets, from, to);
+            rowStart = to;
+            offsets[u] = write;
+            for (int i = from; i < to; i++) {
+                if (i == from || targets[i] != targets[i - 1]) {
+                    targets[write++] = targets[i];
+                }
+            }
+        }
+        offsets[nodeCount] = write;
+        return new CsrGraph(nodeCount, offsets, write == edgeCount ? targets : Arrays.copyOf(targets, write));
+    }
+
+    public static CsrGraph empty() {
+        return new CsrGraph(0, new int[1], new int[0]);
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int edgeCount() {
+        return outTargets.length;
+    }
+
+    public int outDegree(int u) {
+        return u < nodeCount ? outOffsets[u + 1] - outOffsets[u] : 0;
+    }
+
+    public int inDegree(int u) {
+        return u < nodeCount ? inOffsets[u + 1] - inOffsets[u] : 0;
+    }
+
+    /** u → v の辺があるか */
+    public boolean hasEdge(int u, int v) {
+        return u < nodeCount && Arrays.binarySearch(outTargets, outOffsets[u], outOffsets[u + 1], v) >= 0;
+    }
+
+    /** u の出辺の先（番号順・先頭から最大 limit 件） */
+    public int[] outNeighbors(int u, int limit) {
+        if (u >= nodeCount) return new int[0];
+        return Arrays.copyOfRange(outTargets, outOffsets[u], outOffsets[u] + Math.min(limit, outDegree(u)));
+    }
+
+    /** u の入辺の元（番号順・先頭から最大 limit 件） */
+    public int[] inNeighbors(int u, int limit) {
+        if (u >= nodeCount) return new int[0];
+        return Arrays.copyOfRange(inSources, inOffsets[u], inOffsets[u] + Math.min(limit, inDegree(u)));
+    }
+
+    /**
+     * 差分を反映した新しいグラフを返す（このインスタンスは変更しない）。
+     * 同じ辺が追加と削除の両方にある場合は削除を優先する。
+     *
+     * @param newNodeCount 反映後のノード数（現在以上）
+     */
+    public CsrGraph withChanges(int newNodeCount, int[] addSrc, int[] addDst, int addCount,
+                                int[] removeSrc, int[] removeDst, int removeCount) {
+        if (newNodeCount < nodeCount) {
+            throw new IllegalArgumentException("ノード数は減らせません");
+        }
+        long[] adds = pack(addSrc, addDst, addCount, newNodeCount);
+        long[] removes = pack(removeSrc, removeDst, removeCount, newNodeCount);
+
+        int[] offsets = new int[newNodeCount + 1];
+        int[] targets = new int[outTargets.length + adds.length];
+        int write = 0;
+        int a = 0;
+        for (int u = 0; u < newNodeCount; u++) {
+            offsets[u] = write;
+            int i = u < nodeCount ? outOffsets[u] : 0;
+            int end = u < nodeCount ? outOffsets[u + 1] : 0;
+            while (i < end || (a < adds.length && srcOf(adds[a]) == u)) {
+                int next;
+                if (a < adds.length && srcOf(adds[a]) == u && (i >= end || dstOf(adds[a]) <= outTargets[i])) {
+                    next = dstOf(adds[a++]);
+                    if (i < end && outTargets[i] == next) i++; // 既存の辺と同じ
+                } else {
+                    next = outTargets[i++];
+                }
+                if ((write > offsets[u] && targets[write - 1] == next)
+                        || Arrays.binarySearch(removes, ((long) u << 32) | next) >= 0) {
+                    continue;
+                }
+                targets[write++] = next;
+            }
+        }
+        offsets[newNodeCount] = write;
+        return new CsrGraph(newNodeCount, offsets, write == targets.length ? targets : Arrays.copyOf(targets, write));
+    }
+
+    /**
+     * 起点ノード群の出辺の先を数え、たどり着いた回数の多い順に最大 k 件返す。
+     * 同数なら入辺の多いノード、さらに番号の小さいノードを優先する。
+     *
+     * @param seeds    起点（同じノードを複数回含めるとその分だけ重みが増す）
+     * @param k        返す最大件数
+     * @param fanout   1ノードあたりにたどる辺の上限
+     * @param excluded 候補から除くノード
+     */
+    public Suggestions suggest(int[] seeds, int k, int fanout, IntPredicate excluded) {
+        IntCounter counter = new IntCounter(Math.min(1 << 16, Math.max(16, seeds.length * 4)));
+        for (int seed : seeds) {
+            if (seed < 0 || seed >= nodeCount) continue;
+            int from = outOffsets[seed];
+            int to = Math.min(outOffsets[seed + 1], from + fanout);
+            for (int i = from; i < to; i++) {
+                int v = outTargets[i];
+                if (!excluded.test(v)) counter.increment(v);
+            }
+        }
+
+        // (回数, 入辺数, -番号) の順に大きいものを上位とする
+        long[] ranked = new long[counter.size()];
+        int n = 0;
+        for (int slot = 0; slot < counter.keys.length; slot++) {
+            int node = counter.keys[slot];
+            if (node < 0) continue;
+            long popularity = Math.min(inDegree(node), (1 << 20) - 1);
+            ranked[n++] = ((long) Math.min(counter.values[slot], (1 << 11) - 1) << 52)
+                    | (popularity << 32)
+                    | (Integer.MAX_VALUE - node);
+        }
+        Arrays.sort(ranked, 0, n);
+        int size = Math.min(k, n);
+        int[] nodes = new int[size];
+        int[] scores = new int[size];
+        for (int i = 0; i < size; i++) {
+            long key = ranked[n - 1 - i];
+            nodes[i] = Integer.MAX_VALUE - (int) (key & 0xffffffffL);
+            scores[i] = (int) (key >>> 52);
+        }
+        return new Suggestions(nodes, scores);
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private void transpose() {
+        for (int t : outTargets) {
+            inOffsets[t + 1]++;
+        }
+        for (int u = 0; u < nodeCount; u++) {
+            inOffsets[u + 1] += inOffsets[u];
+        }
+        int[] fill = Arrays.copyOf(inOffsets, nodeCount);
+        // 始点の番号順に走査するため、各行は自然に番号順になる
+        for (int u = 0; u < nodeCount; u++) {
+            for (int i = outOffsets[u]; i < outOffsets[u + 1]; i++) {
+                inSources[fill[outTargets[i]]++] = u;
+            }
+        }
+    }
+
+    private static long[] pack(int[] src, int[] dst, int count, int nodeCount) {
+        long[] packed = new long[count];
+        for (int i = 0; i < count; i++) {
+            packed[i] = ((long) checkNode(src[i], nodeCount) << 32) | checkNode(dst[i], nodeCount);
+        }
+        Arrays.sort(packed);
+        return packed;
+    }
+
+    private static int srcOf(long edge) {
+        return (int) (edge >>> 32);
+    }
+
+    private static int dstOf(long edge) {
+        return (int) edge;
+    }
+
+    private static int checkNode(int node, int nodeCount) {
+        if (node < 0 || node >= nodeCount) {
+            throw new IllegalArgumentException("ノード番号が範囲外です: " + node);
+        }
+        return node;
+    }
+
+    /** int → 回数 のオープンアドレス法ハッシュ（キーは 0 以上） */
+    private static final class IntCounter {
+        int[] keys;
+        int[] values;
+        int size;
+
+        IntCounter(int capacity) {
+            int cap = Integer.highestOneBit(Math.max(16, capacity - 1) << 1);
+            keys = new int[cap];
+            values = new int[cap];
+            Arrays.fill(keys, -1);
+        }
+
+        int size() {
+            return size;
+        }
+
+        void increment(int key) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (keys[slot] >= 0) {
+                if (keys[slot] == key) {
+                    values[slot]++;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = 1;
+            if (++size * 2 > keys.length) grow();
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            Arrays.fill(keys, -1);
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] < 0) continue;
+                int slot = mix(oldKeys[i]) & mask;
+                while (keys[slot] >= 0) slot = (slot + 1) & mask;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
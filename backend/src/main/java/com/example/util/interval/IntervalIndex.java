@@ -0,0 +1,98 @@
+package com.example.util.interval;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 半開区間 [start, end) をキーごとに1つ保持し、指定範囲と重なる区間を返す索引。
+ *
+ * 区間を開始位置順の木に並べ、登録済み区間の長さの最大値 {@code maxLength} を覚えておく。
+ * [from, to) と重なる区間の開始位置は必ず (from - maxLength, to) に入るため、その範囲だけを走査すればよい。
+ * 区間の長さがほぼ揃っている用途（配信予定の想定枠など）では O(log n + k) で答えられる。
+ *
+ * スレッドセーフではない（呼び出し側で排他する）。
+ *
+ * @param <K> 区間のキー
+ */
+public final class IntervalIndex<K> {
+
+    /** 登録された区間 */
+    public record Interval<K>(K key, long start, long end) {
+
+        public boolean overlaps(long from, long to) {
+            return start < to && end > from;
+        }
+    }
+
+    private final NavigableMap<Long, Map<K, Interval<K>>> byStart = new TreeMap<>();
+    private final Map<K, Interval<K>> byKey = new HashMap<>();
+    /** 登録された区間の長さの最大値（削除しても縮めない。安全側に広く走査するだけ） */
+    private long maxLength;
+
+    /**
+     * 区間を登録する（同じキーの区間は置き換える）。
+     *
+     * @throws IllegalArgumentException {@code end <= start} の場合
+     */
+    public void put(K key, long start, long end) {
+        if (end <= start) {
+            throw new IllegalArgumentException("区間の終了は開始より後である必要があります");
+        }
+        remove(key);
+        Interval<K> interval = new Interval<>(key, start, end);
+        byStart.computeIfAbsent(start, s -> new LinkedHashMap<>()).put(key, interval);
+        byKey.put(key, interval);
+        maxLength = Math.max(maxLength, end - start);
+    }
+
+    /**
+     * 区間を取り除く。
+     *
+     * @return 取り除いた区間（なければ null）
+     */
+    public Interval<K> remove(K key) {
+        Interval<K> interval = byKey.remove(key);
+        if (interval != null) {
+            Map<K, Interval<K>> sameStart = byStart.get(interval.start());
+            sameStart.remove(key);
+            if (sameStart.isEmpty()) {
+                byStart.remove(interval.start());
+            }
+        }
+        return interval;
+    }
+
+    public Interval<K> get(K key) {
+        return byKey.get(key);
+    }
+
+    public int size() {
+        return byKey.size();
+    }
+
+    public boolean isEmpty() {
+        return byKey.isEmpty();
+    }
+
+    /**
+     * [from, to) と重なる区間を開始位置順に返す。
+     */
+    public List<Interval<K>> overlapping(long from, long to) {
+        List<Interval<K>> result = new ArrayList<>();
+        if (to <= from || byKey.isEmpty()) return result;
+        long lower = from - maxLength;
+        for (Map<K, Interval<K>> sameStart : byStart.subMap(lower, false, to, false).values()) {
+            for (Interval<K> interval : sameStart.values()) {
+                if (interval.overlaps(from, to)) {
+                    result.add(interval);
+                }
+            }
+        }
+        return result;
+    }
+}
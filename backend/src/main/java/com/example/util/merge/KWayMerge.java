@@ -0,0 +1,49 @@
+package com.example.util.merge;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 並び済みの複数リストをヒープで k-way マージする。
+ * 各リストの先頭だけをヒープに載せるため、k 本から先頭 n 件を取り出す計算量は O((k + n) log k)。
+ */
+public final class KWayMerge {
+
+    private KWayMerge() {
+    }
+
+    /** ヒープに載せる各リストの読み取り位置 */
+    private record Cursor<T>(List<? extends T> list, int index) {
+        T head() {
+            return list.get(index);
+        }
+    }
+
+    /**
+     * 並び済みのリスト群をマージし、先頭から最大 {@code limit} 件を返す。
+     *
+     * @param sorted 各要素が {@code order} の順に並んだリスト
+     * @param order  並び順
+     * @param limit  取り出す最大件数
+     */
+    public static <T> List<T> merge(List<? extends List<? extends T>> sorted, Comparator<? super T> order, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit は0以上で指定してください");
+        }
+        PriorityQueue<Cursor<T>> heap = new PriorityQueue<>(Math.max(1, sorted.size()),
+                (a, b) -> order.compare(a.head(), b.head()));
+        for (List<? extends T> list : sorted) {
+            if (!list.isEmpty()) heap.add(new Cursor<>(list, 0));
+        }
+        List<T> merged = new ArrayList<>(Math.min(limit, 1024));
+        while (merged.size() < limit && !heap.isEmpty()) {
+            Cursor<T> top = heap.poll();
+            merged.add(top.head());
+            int next = top.index() + 1;
+            if (next < top.list().size()) heap.add(new Cursor<>(top.list(), next));
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.util.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 固定長レコードをヒープ外（direct ByteBuffer）に並べて持つ領域。
+ *
+ * 1. レコードは 2^segmentShift 件ずつのセグメント（1本の direct ByteBuffer）に入れ、足りなくなったら
+ *    セグメントを足す。既存のセグメントは動かさない。
+ * 2. 空いたスロットは単方向の空きリストでつなぐ（次の空きスロット番号をレコードの先頭 4 バイトに書く）。
+ * 3. フィールドはレコード内のバイト位置で読み書きする。文字列は「長さ（short）＋ UTF-8 のバイト列」を
+ *    固定幅の枠に入れ、枠に入らないものは書かずに false を返す（呼び出し側で別に持つ）。
+ *
+ * スレッドセーフではない（呼び出し側で同期すること）。
+ */
+public final class OffHeapSlab {
+
+    private static final int NO_FREE = -1;
+
+    private final int recordBytes;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private int next;
+    private int freeHead = NO_FREE;
+    private int live;
+
+    /**
+     * @param recordBytes  1レコードのバイト数（4 以上）
+     * @param segmentShift 1セグメントのレコード数（2 のべき乗の指数）
+     */
+    public OffHeapSlab(int recordBytes, int segmentShift) {
+        if (recordBytes < 4) {
+            throw new IllegalArgumentException("recordBytes は4以上で指定してください");
+        }
+        if (segmentShift < 1 || ((long) recordBytes << segmentShift) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("1セグメントが 2GiB を超えない segmentShift を指定してください");
+        }
+        this.recordBytes = recordBytes;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1 << segmentShift) - 1;
+    }
+
+    // ========================================================
+    // ===================== スロット =========================
+    // ========================================================
+
+    /**
+     * 空きスロットを1つ確保する（中身は前の値が残っているので、呼び出し側で全フィールドを書くこと）。
+     */
+    public int allocate() {
+        live++;
+        if (freeHead != NO_FREE) {
+            int slot = freeHead;
+            freeHead = buffer(slot).getInt(offset(slot));
+            return slot;
+        }
+        int slot = next++;
+        if ((slot >>> segmentShift) == segments.size()) {
+            segments.add(ByteBuffer.allocateDirect(recordBytes << segmentShift));
+        }
+        return slot;
+    }
+
+    /**
+     * スロットを空きに戻す。
+     */
+    public void free(int slot) {
+        buffer(slot).putInt(offset(slot), freeHead);
+        freeHead = slot;
+        live--;
+    }
+
+    /** 使用中のスロット数 */
+    public int size() {
+        return live;
+    }
+
+    /** 確保済みのヒープ外メモリのバイト数 */
+    public long capacityBytes() {
+        return (long) segments.size() * (recordBytes << segmentShift);
+    }
+
+    // ========================================================
+    // ==================== フィールド ========================
+    // ========================================================
+
+    public long getLong(int slot, int field) {
+        return buffer(slot).getLong(offset(slot) + field);
+    }
+
+    public void putLong(int slot, int field, long value) {
+        buffer(slot).putLong(offset(slot) + field, value);
+    }
+
+    public byte getByte(int slot, int field) {
+        return buffer(slot).get(offset(slot) + field);
+    }
+
+    public void putByte(int slot, int field, byte value) {
+        buffer(slot).put(offset(slot) + field, value);
+    }
+
+    /**
+     * 文字列を枠（長さ 2 バイト＋ width バイト）に書く。null は長さ -1 として書く。
+     *
+     * @return 枠に入った場合は true（入らなければ長さ -2 を書いて false）
+     */
+    public boolean putString(int slot, int field, int width, String value) {
+        ByteBuffer buf = buffer(slot);
+        int at = offset(slot) + field;
+        if (value == null) {
+            buf.putShort(at, (short) -1);
+            return true;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > width) {
+            buf.putShort(at, (short) -2);
+            return false;
+        }
+        buf.putShort(at, (short) bytes.length);
+        buf.put(at + 2, bytes);
+        return true;
+    }
+
+    /**
+     * 枠の文字列のバイト長（null なら -1、枠に入らなかったものは -2）。
+     */
+    public int stringLength(int slot, int field) {
+        return buffer(slot).getShort(offset(slot) + field);
+    }
+
+    /**
+     * 枠の文字列のバイト列を dst にコピーし、長さを返す（null・枠外の場合は -1 / -2 を返し、コピーしない）。
+     * dst は枠の幅以上の長さを用意すること。
+     */
+    public int copyString(int slot, int field, byte[] dst) {
+        ByteBuffer buf = buffer(slot);
+        int at = offset(slot) + field;
+        int length = buf.getShort(at);
+        if (length > 0) buf.get(at + 2, dst, 0, length);
+        return length;
+    }
+
+    public String getString(int slot, int field) {
+        int length = stringLength(slot, field);
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        copyString(slot, field, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private ByteBuffer buffer(int slot) {
+        return segments.get(slot >>> segmentShift);
+    }
+
+    private int offset(int slot) {
+        return (slot & segmentMask) * recordBytes;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.util.offheap;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * UUID → スロット番号（int）のオープンアドレス法のハッシュ索引。表は既定でヒープ外（direct ByteBuffer）に置く。
+ *
+ * 1. 1エントリは 20 バイト（UUID の上位 64bit・下位 64bit・スロット番号）。UUID オブジェクトは保持しない。
+ * 2. 線形探索。削除は墓標（TOMBSTONE）で行い、使用中＋墓標が容量の半分を超えたら倍の表に作り直す
+ *    （墓標が多いだけなら同じ大きさで作り直す）。
+ * 3. 容量は 2 のべき乗。最大 2^26 エントリ（表 1.25GiB）。
+ *
+ * スレッドセーフではない（呼び出し側で同期すること）。
+ */
+public final class UuidSlotIndex {
+
+    private static final int ENTRY_BYTES = 20;
+    private static final int EMPTY = -1;
+    private static final int TOMBSTONE = -2;
+    private static final int MAX_CAPACITY = 1 << 26;
+
+    private final boolean direct;
+    private ByteBuffer table;
+    private int mask;
+    private int size;
+    private int tombstones;
+
+    /**
+     * 表をヒープ外に置く索引を作る。
+     *
+     * @param expectedSize 想定件数（この件数まで作り直さずに入る容量で確保する）
+     */
+    public UuidSlotIndex(int expectedSize) {
+        this(expectedSize, true);
+    }
+
+    /**
+     * @param expectedSize 想定件数（この件数まで作り直さずに入る容量で確保する）
+     * @param direct       true なら表をヒープ外に、false ならヒープ上の byte[] に置く
+     *                     （定期的に作り直して捨てる索引は、GC で回収されるヒープ上に置くこと）
+     */
+    public UuidSlotIndex(int expectedSize, boolean direct) {
+        this.direct = direct;
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * スロット番号を返す（なければ -1）。
+     */
+    public int get(long msb, long lsb) {
+        for (int i = bucket(msb, lsb); ; i = (i + 1) & mask) {
+            int at = i * ENTRY_BYTES;
+            int slot = table.getInt(at + 16);
+            if (slot == EMPTY) return -1;
+            if (slot != TOMBSTONE && table.getLong(at) == msb && table.getLong(at + 8) == lsb) return slot;
+        }
+    }
+
+    public int get(UUID id) {
+        return get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    /**
+     * スロット番号を登録（上書き）する。
+     */
+    public void put(long msb, long lsb, int slot) {
+        if (slot < 0) {
+            throw new IllegalArgumentException("スロット番号は0以上で指定してください");
+        }
+        if ((size + tombstones + 1) * 2L > mask + 1L) {
+            rehash(size + 1);
+        }
+        int firstTombstone = -1;
+        for (int i = bucket(msb, lsb); ; i = (i + 1) & mask) {
+            int at = i * ENTRY_BYTES;
+            int current = table.getInt(at + 16);
+            if (current == EMPTY) {
+                if (firstTombstone >= 0) {
+                    at = firstTombstone * ENTRY_BYTES;
+                    tombstones--;
+                }
+                table.putLong(at, msb);
+                table.putLong(at + 8, lsb);
+                table.putInt(at + 16, slot);
+                size++;
+                return;
+            }
+            if (current == TOMBSTONE) {
+                if (firstTombstone < 0) firstTombstone = i;
+            } else if (table.getLong(at) == msb && table.getLong(at + 8) == lsb) {
+                table.putInt(at + 16, slot);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 登録を外し、外したスロット番号を返す（なければ -1）。
+     */
+    public int remove(long msb, long lsb) {
+        for (int i = bucket(msb, lsb); ; i = (i + 1) & mask) {
+            int at = i * ENTRY_BYTES;
+            int slot = table.getInt(at + 16);
+            if (slot == EMPTY) return -1;
+            if (slot != TOMBSTONE && table.getLong(at) == msb && table.getLong(at + 8) == lsb) {
+                table.putInt(at + 16, TOMBSTONE);
+                size--;
+                tombstones++;
+                return slot;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** 表が確保しているバイト数 */
+    public long capacityBytes() {
+        return (long) table.capacity();
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private void rehash(int needed) {
+        ByteBuffer old = table;
+        int oldCapacity = mask + 1;
+        allocate(Math.max(oldCapacity, capacityFor(needed)));
+        for (int i = 0; i < oldCapacity; i++) {
+            int at = i * ENTRY_BYTES;
+            int slot = old.getInt(at + 16);
+            if (slot >= 0) insertFresh(old.getLong(at), old.getLong(at + 8), slot);
+        }
+    }
+
+    /** 作り直した表への挿入（重複・墓標がない前提） */
+    private void insertFresh(long msb, long lsb, int slot) {
+        for (int i = bucket(msb, lsb); ; i = (i + 1) & mask) {
+            int at = i * ENTRY_BYTES;
+            if (table.getInt(at + 16) == EMPTY) {
+                table.putLong(at, msb);
+                table.putLong(at + 8, lsb);
+                table.putInt(at + 16, slot);
+                size++;
+                return;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        table = direct
+                ? ByteBuffer.allocateDirect(capacity * ENTRY_BYTES)
+                : ByteBuffer.allocate(capacity * ENTRY_BYTES);
+        for (int i = 0; i < capacity; i++) {
+            table.putInt(i * ENTRY_BYTES + 16, EMPTY);
+        }
+        mask = capacity - 1;
+        size = 0;
+        tombstones = 0;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long wanted = Math.max(16L, (long) expectedSize * 2);
+        if (wanted > MAX_CAPACITY) {
+            throw new IllegalStateException("索引の上限（" + MAX_CAPACITY / 2 + " 件）を超えています");
+        }
+        return Integer.highestOneBit((int) wanted - 1) << 1;
+    }
+
+    private int bucket(long msb, long lsb) {
+        long h = msb * 0x9e3779b97f4a7c15L ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
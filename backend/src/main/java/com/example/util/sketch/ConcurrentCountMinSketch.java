@@ -0,0 +1,74 @@
+package com.example.util.sketch;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * ロックなしで更新できる Count-Min Sketch（{@link CountMinSketch} の並行版。自動減衰はしない）。
+ *
+ * 4 行 × width 列のカウンタを {@link AtomicIntegerArray} に持ち、各カウンタを CAS で個別に増やす。
+ * 推定値は各行のカウンタの最小値。1回の追加の途中で別スレッドの {@link #halve()} が挟まると
+ * 行ごとに減衰前・後の値が混ざるが、近似カウンタとしての用途では許容する。
+ */
+public final class ConcurrentCountMinSketch {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x9e3779b97f4a7c15L, 0xc2b2ae3d27d4eb4fL, 0x165667b19e3779f9L, 0x27d4eb2f165667c5L};
+
+    private final int mask;
+    private final AtomicIntegerArray table;
+
+    /**
+     * @param width 1行あたりのカウンタ数（2 のべき乗に切り上げる）
+     */
+    public ConcurrentCountMinSketch(int width) {
+        if (width <= 0) {
+            throw new IllegalArgumentException("width は1以上で指定してください");
+        }
+        int w = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+        this.mask = w - 1;
+        this.table = new AtomicIntegerArray(DEPTH * w);
+    }
+
+    /**
+     * 64bit ハッシュ値の出現を1回数え、数えた後の推定値を返す。
+     */
+    public int increment(long hash) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int i = index(hash, row);
+            int v = table.getAndUpdate(i, c -> c < Integer.MAX_VALUE ? c + 1 : c);
+            min = Math.min(min, v < Integer.MAX_VALUE ? v + 1 : v);
+        }
+        return min;
+    }
+
+    /**
+     * 64bit ハッシュ値の出現回数の推定値。
+     */
+    public int estimate(long hash) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, table.get(index(hash, row)));
+        }
+        return min;
+    }
+
+    /**
+     * 全カウンタを半分にする（減衰）。
+     */
+    public void halve() {
+        for (int i = 0; i < table.length(); i++) {
+            table.getAndUpdate(i, c -> c >>> 1);
+        }
+    }
+
+    public int width() {
+        return mask + 1;
+    }
+
+    private int index(long hash, int row) {
+        long h = HyperLogLog.fmix64(hash + SEEDS[row]);
+        return row * (mask + 1) + ((int) h & mask);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.util.sketch;
+
+import java.util.Arrays;
+
+/**
+ * Count-Min Sketch による出現回数の近似カウンタ（減衰つき）。
+ *
+ * 4 行 × width 列の int カウンタを持ち、推定値は各行のカウンタの最小値（過大にしか外れない）。
+ * 追加回数が sampleSize に達するたびに全カウンタを半分にし、古い出現の重みを下げる（TinyLFU の reset）。
+ * スレッドセーフではない（呼び出し側で同期すること）。
+ */
+public final class CountMinSketch {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x9e3779b97f4a7c15L, 0xc2b2ae3d27d4eb4fL, 0x165667b19e3779f9L, 0x27d4eb2f165667c5L};
+
+    private final int mask;
+    private final int[] table;
+    private final long sampleSize;
+    private long additions;
+
+    /**
+     * @param width      1行あたりのカウンタ数（2 のべき乗に切り上げる）
+     * @param sampleSize この回数だけ追加したら全カウンタを半分にする（0 以下なら自動では減衰しない）
+     */
+    public CountMinSketch(int width, long sampleSize) {
+        if (width <= 0) {
+            throw new IllegalArgumentException("width は1以上で指定してください");
+        }
+        int w = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+        this.mask = w - 1;
+        this.table = new int[DEPTH * w];
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * 64bit ハッシュ値の出現を1回数え、数えた後の推定値を返す。
+     */
+    public int increment(long hash) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int i = index(hash, row);
+            if (table[i] < Integer.MAX_VALUE) table[i]++;
+            min = Math.min(min, table[i]);
+        }
+        if (sampleSize > 0 && ++additions >= sampleSize) {
+            halve();
+        }
+        return min;
+    }
+
+    /**
+     * 64bit ハッシュ値の出現回数の推定値。
+     */
+    public int estimate(long hash) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, table[index(hash, row)]);
+        }
+        return min;
+    }
+
+    /**
+     * 全カウンタを半分にする（減衰）。
+     */
+    public void halve() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] >>>= 1;
+        }
+        additions >>>= 1;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+        additions = 0;
+    }
+
+    public int width() {
+        return mask + 1;
+    }
+
+    /**
+     * 任意のオブジェクトの hashCode を 64bit に拡散する。
+     */
+    public static long hash(Object key) {
+        return HyperLogLog.fmix64(key.hashCode() * 0x9e3779b97f4a7c15L);
+    }
+
+    private int index(long hash, int row) {
+        long h = HyperLogLog.fmix64(hash + SEEDS[row]);
+        return row * (mask + 1) + ((int) h & mask);
+    }
+}
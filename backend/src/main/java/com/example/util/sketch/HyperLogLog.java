@@ -0,0 +1,116 @@
+package com.example.util.sketch;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog による異なり数（カーディナリティ）の近似カウンタ。
+ *
+ * 精度 p に対してレジスタ 2^p バイトを使い、標準誤差はおよそ 1.04 / sqrt(2^p)（p=12 で約1.6%）。
+ * 小さい値域では線形カウンティングに切り替える。スレッドセーフではない（呼び出し側で同期すること）。
+ */
+public final class HyperLogLog {
+
+    private final int p;
+    private final int m;
+    private final byte[] registers;
+
+    /**
+     * @param precision レジスタ数の対数（4〜16）
+     */
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("precision は 4〜16 で指定してください");
+        }
+        this.p = precision;
+        this.m = 1 << precision;
+        this.registers = new byte[m];
+    }
+
+    /**
+     * 64bit ハッシュ値を追加する。
+     */
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - p));
+        long rest = hash << p;
+        int rank = rest == 0 ? 64 - p + 1 : Long.numberOfLeadingZeros(rest) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * 文字列キーを追加する。
+     */
+    public void add(CharSequence key) {
+        addHash(hash(key));
+    }
+
+    /**
+     * 別のカウンタを取り込む（和集合）。
+     */
+    public void merge(HyperLogLog other) {
+        if (other.p != p) {
+            throw new IllegalArgumentException("precision が異なるため統合できません");
+        }
+        for (int i = 0; i < m; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(registers, (byte) 0);
+    }
+
+    /**
+     * 異なり数の推定値を返す。
+     */
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte r : registers) {
+            sum += 1.0 / (1L << r);
+            if (r == 0) zeros++;
+        }
+        double estimate = alpha() * m * (double) m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros); // 線形カウンティング
+        }
+        return Math.round(estimate);
+    }
+
+    public int precision() {
+        return p;
+    }
+
+    private double alpha() {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+
+    /**
+     * 文字列の64bitハッシュ（FNV-1a + MurmurHash3 の fmix64 で拡散）。
+     */
+    public static long hash(CharSequence key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return fmix64(h);
+    }
+
+    static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.util.slug;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * URL 用のスラッグを作るユーティリティ。
+ *
+ * 1. NFKC で正規化（半角カナ・全角英数を揃える）して小文字にし、文字・数字以外の連続をハイフン1つにまとめる。
+ * 2. ひらがな・カタカナはヘボン式のローマ字に置き換える（拗音・促音・外来語の小書き母音に対応、長音符は読まない）。
+ *    漢字は読みを辞書なしに決められないため、そのまま残す。ローマ字とそれ以外の文字の境目にはハイフンを入れる。
+ * 3. 長さは {@link #MAX_LENGTH} 文字までに切り詰める。
+ */
+public final class Slugifier {
+
+    /** 生成するスラッグの最大長（衝突回避の連番は別に付く） */
+    public static final int MAX_LENGTH = 80;
+
+    /** カタカナ1文字 → ローマ字 */
+    private static final Map<Character, String> KANA = new HashMap<>();
+
+    static {
+        row("アイウエオ", "a", "i", "u", "e", "o");
+        row("カキクケコ", "ka", "ki", "ku", "ke", "ko");
+        row("ガギグゲゴ", "ga", "gi", "gu", "ge", "go");
+        row("サシスセソ", "sa", "shi", "su", "se", "so");
+        row("ザジズゼゾ", "za", "ji", "zu", "ze", "zo");
+        row("タチツテト", "ta", "chi", "tsu", "te", "to");
+        row("ダヂヅデド", "da", "ji", "zu", "de", "do");
+        row("ナニヌネノ", "na", "ni", "nu", "ne", "no");
+        row("ハヒフヘホ", "ha", "hi", "fu", "he", "ho");
+        row("バビブベボ", "ba", "bi", "bu", "be", "bo");
+        row("パピプペポ", "pa", "pi", "pu", "pe", "po");
+        row("マミムメモ", "ma", "mi", "mu", "me", "mo");
+        row("ヤユヨ", "ya", "yu", "yo");
+        row("ラリルレロ", "ra", "ri", "ru", "re", "ro");
+        row("ワヰヱヲン", "wa", "i", "e", "o", "n");
+        row("ヴヵヶヮ", "vu", "ka", "ke", "wa");
+        row("ァィゥェォャュョ", "a", "i", "u", "e", "o", "ya", "yu", "yo");
+    }
+
+    private Slugifier() {
+    }
+
+    /**
+     * テキストからスラッグを作る。
+     *
+     * @return スラッグ（文字・数字を含まない場合は空文字）
+     */
+    public static String slugOf(String text) {
+        if (text == null) return "";
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder slug = new StringBuilder(normalized.length() * 2);
+        boolean lastRomaji = false;
+        boolean geminate = false;
+        for (int i = 0; i < normalized.length(); ) {
+            int cp = normalized.codePointAt(i);
+            i += Character.charCount(cp);
+            char kana = toKatakana(cp);
+            if (kana == 'ッ') {
+                geminate = true;
+                continue;
+            }
+            if (kana == 'ー' && lastRomaji) {
+                continue; // 長音符は読まない（ラーメン → ramen）
+            }
+            String romaji = KANA.get(kana);
+            if (romaji != null) {
+                if (i < normalized.length()) {
+                    String combined = combine(romaji, toKatakana(normalized.codePointAt(i)));
+                    if (combined != null) {
+                        romaji = combined;
+                        i += Character.charCount(normalized.codePointAt(i));
+                    }
+                }
+                if (geminate) romaji = doubled(romaji);
+                if (!lastRomaji && slug.length() > 0 && slug.charAt(slug.length() - 1) != '-') slug.append('-');
+                slug.append(romaji);
+                lastRomaji = true;
+            } else if (Character.isLetterOrDigit(cp)) {
+                if (lastRomaji) slug.append('-');
+                slug.appendCodePoint(cp);
+                lastRomaji = false;
+            } else {
+                if (slug.length() > 0 && slug.charAt(slug.length() - 1) != '-') slug.append('-');
+                lastRomaji = false;
+            }
+            geminate = false;
+        }
+        if (slug.length() > MAX_LENGTH) {
+            int end = MAX_LENGTH;
+            if (Character.isLowSurrogate(slug.charAt(end))) end--;
+            slug.setLength(end);
+        }
+        while (slug.length() > 0 && slug.charAt(slug.length() - 1) == '-') {
+            slug.setLength(slug.length() - 1);
+        }
+        return slug.toString();
+    }
+
+    /**
+     * スラッグとして正規の形（{@link #slugOf} を通しても変わらない）かどうか。
+     */
+    public static boolean isCanonical(String slug) {
+        return slug != null && !slug.isEmpty() && slug.equals(slugOf(slug));
+    }
+
+    /**
+     * 使われていないスラッグを返す。base が使われていれば base-2, base-3, ... を順に試す。
+     *
+     * @param taken 使用済みかどうかの判定
+     */
+    public static String unique(String base, Predicate<String> taken) {
+        if (!taken.test(base)) return base;
+        for (int n = 2; ; n++) {
+            String candidate = base + "-" + n;
+            if (!taken.test(candidate)) return candidate;
+        }
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private static void row(String kana, String... romaji) {
+        for (int i = 0; i < romaji.length; i++) {
+            KANA.put(kana.charAt(i), romaji[i]);
+        }
+    }
+
+    /** ひらがなは対応するカタカナに、それ以外はそのまま（BMP 外は 0） */
+    private static char toKatakana(int cp) {
+        if (cp >= 'ぁ' && cp <= 'ゖ') return (char) (cp + ('ァ' - 'ぁ'));
+        return cp <= Character.MAX_VALUE ? (char) cp : 0;
+    }
+
+    /**
+     * 拗音（キャ → kya, シャ → sha）と小書き母音（ファ → fa, ティ → ti, ウィ → wi）をまとめる。
+     *
+     * @return まとめられない場合は null
+     */
+    private static String combine(String romaji, char next) {
+        if (romaji.length() < 2 && !romaji.equals("u")) return null;
+        String stem = romaji.equals("u") ? "w" : romaji.substring(0, romaji.length() - 1);
+        switch (next) {
+            case 'ャ', 'ュ', 'ョ' -> {
+                if (!romaji.endsWith("i") || romaji.equals("u")) return null;
+                String vowel = KANA.get(next).substring(1);
+                boolean palatal = stem.equals("sh") || stem.equals("ch") || stem.equals("j");
+                return (palatal ? stem : stem + "y") + vowel;
+            }
+            case 'ァ', 'ィ', 'ゥ', 'ェ', 'ォ' -> {
+                return stem + KANA.get(next);
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    /** 促音：次の子音を重ねる（チ → tchi） */
+    private static String doubled(String romaji) {
+        char first = romaji.charAt(0);
+        if ("aiueon".indexOf(first) >= 0) return romaji;
+        return (romaji.startsWith("ch") ? "t" : String.valueOf(first)) + romaji;
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.util.timer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * キーごとに1つのタイマーを持つ階層型タイミングホイール。
+ *
+ * 1. 最下層は {@code tickMs} 刻み・{@code wheelSize} スロットで、上の層ほど1スロットの幅が {@code wheelSize} 倍になる。
+ *    範囲に収まらない期限が来たら層を追加するため、何日先の期限でも登録・取消は O(1)。
+ * 2. {@link #advance(long)} で時計を進めると、上の層のスロットは下の層へ振り直され（カスケード）、
+ *    最下層で期限に達したタイマーが返る。期限より早く発火することはなく、遅れは最大 {@code tickMs}。
+ * 3. 同じキーで登録し直すと前のタイマーは置き換わる。
+ *
+ * 時計は呼び出し側が進める（内部にスレッドは持たない）。全メソッドは同期化している。
+ *
+ * @param <K> タイマーのキー
+ * @param <V> 発火時に返す値
+ */
+public final class HierarchicalTimingWheel<K, V> {
+
+    /** 発火したタイマー */
+    public record Expired<K, V>(K key, long deadlineMs, V value) {
+    }
+
+    private static final class Timer<K, V> {
+        final K key;
+        final long deadlineMs;
+        final V value;
+        Map<K, Timer<K, V>> bucket;
+
+        Timer(K key, long deadlineMs, V value) {
+            this.key = key;
+            this.deadlineMs = deadlineMs;
+            this.value = value;
+        }
+    }
+
+    private final long tickMs;
+    private final int wheelSize;
+    /** 層ごとのスロット（層 i の1スロット幅は tickMs * wheelSize^i） */
+    private final List<List<Map<K, Timer<K, V>>>> levels = new ArrayList<>();
+    private final Map<K, Timer<K, V>> timers = new HashMap<>();
+    /** 現在時刻（tickMs 単位に切り捨て） */
+    private long currentMs;
+
+    /**
+     * @param startMs   開始時刻（ms）
+     * @param tickMs    最下層の1スロットの幅（ms）
+     * @param wheelSize 1層あたりのスロット数
+     */
+    public HierarchicalTimingWheel(long startMs, long tickMs, int wheelSize) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs は1以上、wheelSize は2以上で指定してください");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentMs = startMs - Math.floorMod(startMs, tickMs);
+        addLevel();
+    }
+
+    /**
+     * タイマーを登録する（同じキーのタイマーは置き換える）。
+     *
+     * @return 期限が既に過ぎていてすぐに発火させるべき場合は、そのタイマー（登録はしない）
+     */
+    public synchronized List<Expired<K, V>> schedule(K key, long deadlineMs, V value) {
+        cancel(key);
+        List<Expired<K, V>> expired = new ArrayList<>(0);
+        place(new Timer<>(key, deadlineMs, value), expired);
+        return expired;
+    }
+
+    /**
+     * タイマーを取り消す。
+     *
+     * @return 取り消したタイマーがあったか
+     */
+    public synchronized boolean cancel(K key) {
+        Timer<K, V> timer = timers.remove(key);
+        if (timer == null) return false;
+        timer.bucket.remove(key);
+        return true;
+    }
+
+    /** 登録中のタイマーの期限（なければ -1） */
+    public synchronized long deadlineOf(K key) {
+        Timer<K, V> timer = timers.get(key);
+        return timer != null ? timer.deadlineMs : -1;
+    }
+
+    /** 登録中のタイマーの値（なければ null） */
+    public synchronized V valueOf(K key) {
+        Timer<K, V> timer = timers.get(key);
+        return timer != null ? timer.value : null;
+    }
+
+    public synchronized int size() {
+        return timers.size();
+    }
+
+    /**
+     * 時計を {@code nowMs} まで進め、期限に達したタイマーを期限順に返す。
+     */
+    public synchronized List<Expired<K, V>> advance(long nowMs) {
+        List<Expired<K, V>> expired = new ArrayList<>();
+        while (currentMs + tickMs <= nowMs) {
+            currentMs += tickMs;
+            // 上の層から順に、スロットの境界に来た層を下へ振り直す
+            for (int level = levels.size() - 1; level >= 0; level--) {
+                long span = tickOf(level);
+                if (currentMs % span != 0) continue;
+                Map<K, Timer<K, V>> bucket = levels.get(level).get(slotOf(currentMs, span));
+                if (bucket.isEmpty()) continue;
+                List<Timer<K, V>> due = new ArrayList<>(bucket.values());
+                bucket.clear();
+                for (Timer<K, V> timer : due) {
+                    timers.remove(timer.key);
+                    place(timer, expired);
+                }
+            }
+        }
+        expired.sort((a, b) -> Long.compare(a.deadlineMs(), b.deadlineMs()));
+        return expired;
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private void place(Timer<K, V> timer, List<Expired<K, V>> expired) {
+        // 期限を tick 境界へ切り上げ、境界に達した時点で発火させる
+        long due = timer.deadlineMs + Math.floorMod(-timer.deadlineMs, tickMs);
+        if (due <= currentMs) {
+            expired.add(new Expired<>(timer.key, timer.deadlineMs, timer.value));
+            return;
+        }
+        int level = 0;
+        while (true) {
+            long span = tickOf(level);
+            long levelStart = currentMs - Math.floorMod(currentMs, span);
+            if (due < levelStart + span * wheelSize) break;
+            level++;
+            if (level == levels.size()) addLevel();
+        }
+        Map<K, Timer<K, V>> bucket = levels.get(level).get(slotOf(due, tickOf(level)));
+        bucket.put(timer.key, timer);
+        timer.bucket = bucket;
+        timers.put(timer.key, timer);
+    }
+
+    private long tickOf(int level) {
+        long span = tickMs;
+        for (int i = 0; i < level; i++) {
+            span = Math.multiplyExact(span, wheelSize);
+        }
+        return span;
+    }
+
+    private int slotOf(long timeMs, long span) {
+        return (int) Math.floorMod(Math.floorDiv(timeMs, span), (long) wheelSize);
+    }
+
+    private void addLevel() {
+        List<Map<K, Timer<K, V>>> slots = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(new LinkedHashMap<>());
+        }
+        levels.add(slots);
+    }
+}
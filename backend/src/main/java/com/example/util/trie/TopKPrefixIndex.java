@@ -0,0 +1,159 @@
+package com.example.util.trie;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 前方一致の候補を利用回数の多い順に返すトライ。
+ *
+ * 1. 各ノードは「そのノード以下の上位 {@code k} 件」を持つ。親の上位は子の上位と自ノードの終端の和集合から決まるため、
+ *    回数の変化は葉から根へ向かって、上位が変わらなくなったノードで伝播を打ち切る。
+ * 2. 問い合わせは接頭辞のノードまで降りて、持っている上位をそのまま返す（O(接頭辞長 + limit)）。
+ * 3. 同じ回数なら文字列の辞書順を優先する。
+ *
+ * 全メソッドは同期化している。キーの正規化（大文字小文字・全角半角など）は呼び出し側で行う。
+ *
+ * @param <K> 要素のID
+ */
+public final class TopKPrefixIndex<K> {
+
+    private final class Node {
+        final Node parent;
+        final char label;
+        final Map<Character, Node> children = new HashMap<>(4);
+        final List<K> terminals = new ArrayList<>(1);
+        List<K> top = List.of();
+
+        Node(Node parent, char label) {
+            this.parent = parent;
+            this.label = label;
+        }
+    }
+
+    private record Entry(String key, long count) {
+    }
+
+    private final int k;
+    private final Node root = new Node(null, '\0');
+    private final Map<K, Entry> entries = new HashMap<>();
+    private final Comparator<K> order;
+
+    /**
+     * @param k 各ノードが保持する上位件数（= 問い合わせで返せる最大件数）
+     */
+    public TopKPrefixIndex(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k は1以上で指定してください");
+        }
+        this.k = k;
+        this.order = Comparator.<K>comparingLong(id -> -entries.get(id).count())
+                .thenComparing(id -> entries.get(id).key());
+    }
+
+    /**
+     * 要素を登録する（同じIDがあればキー・回数を置き換える）。
+     */
+    public synchronized void put(K id, String key, long count) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("キーは空にできません");
+        }
+        remove(id);
+        entries.put(id, new Entry(key, count));
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            Node current = node;
+            char c = key.charAt(i);
+            node = current.children.computeIfAbsent(c, ch -> new Node(current, ch));
+        }
+        node.terminals.add(id);
+        propagate(node, id);
+    }
+
+    /**
+     * 要素の回数を増減する。
+     *
+     * @return 変更後の回数（未登録なら -1）
+     */
+    public synchronized long addCount(K id, long delta) {
+        Entry entry = entries.get(id);
+        if (entry == null) return -1;
+        long count = Math.max(0, entry.count() + delta);
+        entries.put(id, new Entry(entry.key(), count));
+        propagate(find(entry.key()), id);
+        return count;
+    }
+
+    public synchronized boolean remove(K id) {
+        Entry entry = entries.get(id);
+        if (entry == null) return false;
+        Node node = find(entry.key());
+        node.terminals.remove(id);
+        entries.remove(id);
+        // 空になった葉を刈り込み、残ったノードから上位を更新する
+        while (node != root && node.terminals.isEmpty() && node.children.isEmpty()) {
+            node.parent.children.remove(node.label);
+            node = node.parent;
+        }
+        propagate(node, id);
+        return true;
+    }
+
+    /** 登録中の回数（未登録なら -1） */
+    public synchronized long countOf(K id) {
+        Entry entry = entries.get(id);
+        return entry != null ? entry.count() : -1;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 接頭辞に一致する要素を回数の多い順に最大 limit 件（最大 k 件）返す。
+     */
+    public synchronized List<K> top(String prefix, int limit) {
+        Node node = find(prefix);
+        if (node == null) return List.of();
+        List<K> top = node.top;
+        return List.copyOf(top.subList(0, Math.min(limit, top.size())));
+    }
+
+    // ========================================================
+    // ================== INTERNAL UTILITIES ==================
+    // ========================================================
+
+    private Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * 変化した要素について、ノードから根へ上位を作り直す。上位が変わらなくなったら打ち切る。
+     */
+    private void propagate(Node node, K changed) {
+        for (; node != null; node = node.parent) {
+            Entry entry = entries.get(changed);
+            boolean relevant = node.top.contains(changed)
+                    || (entry != null && (node.top.size() < k || order.compare(changed, node.top.get(k - 1)) < 0));
+            if (!relevant) return;
+            List<K> rebuilt = rebuild(node);
+            if (rebuilt.equals(node.top) && entry != null && !rebuilt.contains(changed)) return;
+            node.top = rebuilt;
+        }
+    }
+
+    private List<K> rebuild(Node node) {
+        List<K> candidates = new ArrayList<>(node.terminals);
+        for (Node child : node.children.values()) {
+            candidates.addAll(child.top);
+        }
+        candidates.sort(order);
+        return List.copyOf(candidates.subList(0, Math.min(k, candidates.size())));
+    }
+}
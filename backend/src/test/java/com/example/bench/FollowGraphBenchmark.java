@@ -0,0 +1,110 @@
+package com.example.bench;
+
+import com.example.util.graph.CsrGraph;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * フォローグラフ（{@link CsrGraph}）のベンチマーク。既定は 100万ユーザー・5000万フォロー。
+ *
+ * フォロー先は番号の小さいユーザーほど選ばれやすい偏った分布で生成する（一部の人気チャンネルに集中）。
+ * 実行：テストクラスパスで {@link #main} を起動する（surefire の対象外）。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class FollowGraphBenchmark {
+
+    @Param("1000000")
+    int users;
+
+    @Param("50000000")
+    int edges;
+
+    @Param("200")
+    int fanout;
+
+    /** 差分マージ1回あたりのフォロー・解除の件数 */
+    @Param("10000")
+    int changes;
+
+    private CsrGraph graph;
+    private int[] addSrc;
+    private int[] addDst;
+    private int[] removeSrc;
+    private int[] removeDst;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void build() {
+        SplittableRandom seed = new SplittableRandom(42);
+        int[] src = new int[edges];
+        int[] dst = new int[edges];
+        for (int i = 0; i < edges; i++) {
+            src[i] = seed.nextInt(users);
+            dst[i] = skewed(seed);
+        }
+        graph = CsrGraph.fromEdges(users, src, dst, edges);
+
+        addSrc = new int[changes];
+        addDst = new int[changes];
+        removeSrc = new int[changes];
+        removeDst = new int[changes];
+        for (int i = 0; i < changes; i++) {
+            addSrc[i] = seed.nextInt(users);
+            addDst[i] = skewed(seed);
+            removeSrc[i] = src[seed.nextInt(edges)];
+            removeDst[i] = dst[seed.nextInt(edges)];
+        }
+        random = new SplittableRandom(7);
+    }
+
+    /** ランダムなユーザー1人のおすすめ上位20件（フォロー中＋フォロワーを起点に2歩先） */
+    @Benchmark
+    public CsrGraph.Suggestions suggest() {
+        int u = random.nextInt(users);
+        int[] following = graph.outNeighbors(u, fanout);
+        int[] followers = graph.inNeighbors(u, fanout);
+        int[] seeds = new int[following.length + followers.length];
+        System.arraycopy(following, 0, seeds, 0, following.length);
+        System.arraycopy(followers, 0, seeds, following.length, followers.length);
+        return graph.suggest(seeds, 20, fanout, v -> v == u || graph.hasEdge(u, v));
+    }
+
+    /** フォロー・解除の差分を全体にマージして新しいスナップショットを作る */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public CsrGraph mergeChanges() {
+        return graph.withChanges(users, addSrc, addDst, changes, removeSrc, removeDst, changes);
+    }
+
+    private int skewed(SplittableRandom random) {
+        double r = random.nextDouble();
+        return (int) (users * r * r * r);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FollowGraphBenchmark.class.getSimpleName()).build()).run();
+    }
+}
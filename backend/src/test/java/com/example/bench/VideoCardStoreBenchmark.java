@@ -0,0 +1,144 @@
+package com.example.bench;
+
+import com.example.dto.videos.PublicVideoResponseDTO;
+import com.example.dto.videos.UploaderDTO;
+import com.example.service.video.VideoCardTable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 動画カードをヒープ上の Map（DTO）で持つ場合と、ヒープ外の {@link VideoCardTable} で持つ場合の比較。
+ * 既定は 200万件・投稿者 2万人。
+ *
+ * page   … ランダムな 20 件を JSON に書き出す（GC プロファイラで1回あたりの割り当て量も見る）
+ * fullGc … カードを保持したまま System.gc() を1回実行した時間（生存オブジェクトの走査にかかる停止時間の目安）
+ * 実行：テストクラスパスで {@link #main} を起動する（surefire の対象外）。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g", "-XX:+UseG1GC", "-XX:MaxDirectMemorySize=4g"})
+public class VideoCardStoreBenchmark {
+
+    @Param({"HEAP", "OFF_HEAP"})
+    String store;
+
+    @Param("2000000")
+    int cards;
+
+    @Param("20000")
+    int uploaders;
+
+    @Param("20")
+    int pageSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+    private Map<UUID, PublicVideoResponseDTO> heap;
+    private VideoCardTable offHeap;
+    /** 動画IDの上位・下位 64bit（UUID オブジェクトはどちらの方式でも持たない） */
+    private long[] msb;
+    private long[] lsb;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void build() {
+        SplittableRandom seed = new SplittableRandom(42);
+        UploaderDTO[] people = new UploaderDTO[uploaders];
+        for (int i = 0; i < uploaders; i++) {
+            people[i] = UploaderDTO.builder()
+                    .id(new UUID(seed.nextLong(), seed.nextLong()))
+                    .name("channel-" + i)
+                    .profileImagePath("/profiles/" + i + ".png")
+                    .build();
+        }
+        msb = new long[cards];
+        lsb = new long[cards];
+        heap = "HEAP".equals(store) ? new HashMap<>(cards * 2) : null;
+        offHeap = "OFF_HEAP".equals(store) ? new VideoCardTable(cards) : null;
+        if (offHeap != null) {
+            for (UploaderDTO p : people) offHeap.putUploader(p);
+        }
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < cards; i++) {
+            msb[i] = seed.nextLong();
+            lsb[i] = seed.nextLong();
+            UUID id = new UUID(msb[i], lsb[i]);
+            UploaderDTO uploader = people[seed.nextInt(uploaders)];
+            String title = "動画タイトル " + i;
+            String slug = "video-" + i;
+            String thumbnail = "/thumbnails/" + i + ".jpg";
+            long views = seed.nextInt(1_000_000);
+            if (heap != null) {
+                heap.put(id, PublicVideoResponseDTO.builder().id(id).title(title).slug(slug)
+                        .thumbnailPath(thumbnail).viewsCount(views).uploader(uploader).build());
+            } else {
+                offHeap.put(id, title, slug, thumbnail, views, base.plusSeconds(i), uploader.getId());
+            }
+        }
+        random = new SplittableRandom(7);
+    }
+
+    /** ランダムな1ページ分のカードを JSON に書き出す */
+    @Benchmark
+    public int page() throws IOException {
+        List<UUID> ids = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            int k = random.nextInt(cards);
+            ids.add(new UUID(msb[k], lsb[k]));
+        }
+        out.reset();
+        if (heap != null) {
+            List<PublicVideoResponseDTO> items = new ArrayList<>(pageSize);
+            for (UUID id : ids) items.add(heap.get(id));
+            objectMapper.writeValue(out, items);
+        } else {
+            objectMapper.writeValue(out, offHeap.cards(ids));
+        }
+        return out.size();
+    }
+
+    /** カードを保持したままのフル GC 1回 */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    public void fullGc() {
+        System.gc();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VideoCardStoreBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -254,4 +254,35 @@ class CategoryControllerSecurityTest extends MvcTestBase {
     if ("ADMIN".equals(who)) assertNot401Or403(s);
     else org.junit.jupiter.api.Assertions.assertEquals(403, s);
   }
+
+  @ParameterizedTest(name = "PUT /api/categories/'{'id'}'/parent - {0}")
+  @MethodSource("authedCases")
+  void move_category_role_matrix(String who, Supplier<RequestPostProcessor> auth) throws Exception {
+    UUID id = UUID.randomUUID();
+    var req = CategoryMoveRequestDTO.builder().parentId(UUID.randomUUID()).build();
+    var res = CategoryResponseDTO.builder().id(id).name("Child").build();
+
+    given(categoryService.moveCategory(eq(id), any(CategoryMoveRequestDTO.class))).willReturn(res);
+
+    int s = mvc.perform(put("/api/categories/{id}/parent", id)
+            .with(auth.get())
+            .with(SecurityMockMvcRequestPostProcessors.csrf())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(om.writeValueAsString(req)))
+        .andReturn().getResponse().getStatus();
+
+    if ("ADMIN".equals(who)) assertNot401Or403(s);
+    else org.junit.jupiter.api.Assertions.assertEquals(403, s);
+  }
+
+  @org.junit.jupiter.api.Test
+  void move_category_unauth_401() throws Exception {
+    int s = mvc.perform(put("/api/categories/{id}/parent", UUID.randomUUID())
+            .with(SecurityMockMvcRequestPostProcessors.csrf())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{}"))
+        .andReturn().getResponse().getStatus();
+
+    org.junit.jupiter.api.Assertions.assertEquals(401, s);
+  }
 }
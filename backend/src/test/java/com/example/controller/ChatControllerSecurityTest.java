@@ -0,0 +1,106 @@
+// src/test/java/com/example/controller/ChatControllerSecurityTest.java
+package com.example.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.example.testbase.AuthPostProcessors;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ChatControllerSecurityTest {
+
+  @Autowired
+  MockMvc mvc;
+
+  // ==========================================
+  // # ChatControllerSecurityTest
+  // ## 1. 公開APIの検証（匿名アクセス）
+  // ## 2. 認証APIの検証（JWT必須）
+  // ## 3. 典型的な異常系（401）
+  // ==========================================
+
+  private static void assertNot401Or403(int status) {
+    org.junit.jupiter.api.Assertions.assertTrue(status != 401 && status != 403,
+        () -> "unexpected 401/403, got " + status);
+  }
+
+  static Stream<Arguments> authedCases() {
+    return Stream.of(
+        Arguments.of("ADMIN", AuthPostProcessors.admin()),
+        Arguments.of("MODERATOR", AuthPostProcessors.moderator()),
+        Arguments.of("USER", AuthPostProcessors.user())
+    );
+  }
+
+  static Stream<Arguments> allRolesInclAnon() {
+    return Stream.of(
+        Arguments.of("ADMIN", AuthPostProcessors.admin(), true),
+        Arguments.of("MODERATOR", AuthPostProcessors.moderator(), true),
+        Arguments.of("USER", AuthPostProcessors.user(), true),
+        Arguments.of("ANON", AuthPostProcessors.anon(), true) // 公開は true
+    );
+  }
+
+  @Nested
+  class PublicApis {
+
+    @ParameterizedTest(name = "GET /api/live-streams/'{'liveStreamId'}'/chat/replay - {0}")
+    @MethodSource("com.example.controller.ChatControllerSecurityTest#allRolesInclAnon")
+    void replay_public(String who, Supplier<RequestPostProcessor> auth, boolean allowed) throws Exception {
+      int s = mvc.perform(get("/api/live-streams/{liveStreamId}/chat/replay", UUID.randomUUID()).with(auth.get())
+                     .param("from", "0")
+                     .param("to", "30000")
+                     .param("prefetch", "10000"))
+                 .andReturn().getResponse().getStatus();
+      if (allowed) assertNot401Or403(s);
+    }
+
+    @ParameterizedTest(name = "GET /api/live-streams/'{'liveStreamId'}'/chat/replay?after - {0}")
+    @MethodSource("com.example.controller.ChatControllerSecurityTest#allRolesInclAnon")
+    void replay_with_cursor_public(String who, Supplier<RequestPostProcessor> auth, boolean allowed) throws Exception {
+      int s = mvc.perform(get("/api/live-streams/{liveStreamId}/chat/replay", UUID.randomUUID()).with(auth.get())
+                     .param("from", "0")
+                     .param("to", "30000")
+                     .param("after", "not-a-cursor"))
+                 .andReturn().getResponse().getStatus();
+      if (allowed) assertNot401Or403(s);
+    }
+  }
+
+  @Nested
+  class AuthedApis {
+
+    @ParameterizedTest(name = "POST /api/live-streams/'{'liveStreamId'}'/chat - {0}")
+    @MethodSource("com.example.controller.ChatControllerSecurityTest#authedCases")
+    void post_authed(String who, Supplier<RequestPostProcessor> auth) throws Exception {
+      int s = mvc.perform(post("/api/live-streams/{liveStreamId}/chat", UUID.randomUUID()).with(auth.get())
+                     .contentType(MediaType.APPLICATION_JSON)
+                     .content("{\"message\":\"hello\"}"))
+                 .andReturn().getResponse().getStatus();
+      assertNot401Or403(s);
+    }
+
+    @Test
+    void post_unauth_401() throws Exception {
+      mvc.perform(post("/api/live-streams/{liveStreamId}/chat", UUID.randomUUID())
+              .contentType(MediaType.APPLICATION_JSON)
+              .content("{\"message\":\"hello\"}"))
+         .andExpect(status().isUnauthorized());
+    }
+  }
+}
@@ -0,0 +1,63 @@
+// src/test/java/com/example/controller/HotKeysEndpointSecurityTest.java
+package com.example.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.example.testbase.MvcTestBase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.test.context.support.WithMockUser;
+
+class HotKeysEndpointSecurityTest extends MvcTestBase {
+
+  // ==========================================
+  // # HotKeysEndpointSecurityTest
+  // ## /actuator/hotkeys は ADMIN のみ（他ロールは 403・未認証は 401）
+  // ==========================================
+
+  @Test
+  @DisplayName("ADMIN は /actuator/hotkeys にアクセスできる (200)")
+  @WithMockUser(username = "alice", roles = {"ADMIN"})
+  void adminCanListHotKeys() throws Exception {
+    mvc.perform(get("/actuator/hotkeys"))
+       .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("ADMIN は /actuator/hotkeys/{cache} にアクセスできる (200)")
+  @WithMockUser(username = "alice", roles = {"ADMIN"})
+  void adminCanListHotKeysOfCache() throws Exception {
+    mvc.perform(get("/actuator/hotkeys/{cache}", "video"))
+       .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("USER は /actuator/hotkeys にアクセスできない (403)")
+  @WithMockUser(username = "bob", roles = {"USER"})
+  void userCannotListHotKeys() throws Exception {
+    mvc.perform(get("/actuator/hotkeys"))
+       .andExpect(status().isForbidden());
+    mvc.perform(get("/actuator/hotkeys/{cache}", "video"))
+       .andExpect(status().isForbidden());
+  }
+
+  @Test
+  @DisplayName("MODERATOR も /actuator/hotkeys にアクセスできない (403)")
+  @WithMockUser(username = "charlie", roles = {"MODERATOR"})
+  void moderatorCannotListHotKeys() throws Exception {
+    mvc.perform(get("/actuator/hotkeys"))
+       .andExpect(status().isForbidden());
+    mvc.perform(get("/actuator/hotkeys/{cache}", "video"))
+       .andExpect(status().isForbidden());
+  }
+
+  @Test
+  @DisplayName("未認証は /actuator/hotkeys で 401")
+  void unauthenticatedGets401() throws Exception {
+    mvc.perform(get("/actuator/hotkeys"))
+       .andExpect(status().isUnauthorized());
+    mvc.perform(get("/actuator/hotkeys/{cache}", "video"))
+       .andExpect(status().isUnauthorized());
+  }
+}
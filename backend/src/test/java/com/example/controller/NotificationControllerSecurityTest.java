@@ -0,0 +1,82 @@
+// src/test/java/com/example/controller/NotificationControllerSecurityTest.java
+package com.example.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.example.testbase.AuthPostProcessors;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class NotificationControllerSecurityTest {
+
+  @Autowired
+  MockMvc mvc;
+
+  // ==========================================
+  // # NotificationControllerSecurityTest
+  // ## 1. 認証APIの検証（JWT必須）
+  // ## 2. 典型的な異常系（401）
+  // ## 配信状況の「配信者本人または ADMIN」はサービス側の判定（本人以外は AccessDeniedException → 403）。
+  // ## 存在しない配信IDでは所有者の判定より先に 404 になるため、ここでは 401/403 にならないことだけ確認し、
+  // ## 本人以外の 403 は NotificationServiceTest で確認する
+  // ==========================================
+
+  private static void assertNot401Or403(int status) {
+    org.junit.jupiter.api.Assertions.assertTrue(status != 401 && status != 403,
+        () -> "unexpected 401/403, got " + status);
+  }
+
+  static Stream<Arguments> authedCases() {
+    return Stream.of(
+        Arguments.of("ADMIN", AuthPostProcessors.admin()),
+        Arguments.of("MODERATOR", AuthPostProcessors.moderator()),
+        Arguments.of("USER", AuthPostProcessors.user())
+    );
+  }
+
+  @Nested
+  class AuthedApis {
+
+    @ParameterizedTest(name = "GET /api/notifications - {0}")
+    @MethodSource("com.example.controller.NotificationControllerSecurityTest#authedCases")
+    void my_notifications_authed(String who, Supplier<RequestPostProcessor> auth) throws Exception {
+      int s = mvc.perform(get("/api/notifications").with(auth.get()))
+                 .andReturn().getResponse().getStatus();
+      assertNot401Or403(s);
+    }
+
+    @Test
+    void my_notifications_unauth_401() throws Exception {
+      mvc.perform(get("/api/notifications"))
+         .andExpect(status().isUnauthorized());
+    }
+
+    @ParameterizedTest(name = "GET /api/notifications/fanout/'{'liveStreamId'}' - {0}")
+    @MethodSource("com.example.controller.NotificationControllerSecurityTest#authedCases")
+    void fanout_progress_authed(String who, Supplier<RequestPostProcessor> auth) throws Exception {
+      int s = mvc.perform(get("/api/notifications/fanout/{liveStreamId}", UUID.randomUUID()).with(auth.get()))
+                 .andReturn().getResponse().getStatus();
+      assertNot401Or403(s);
+    }
+
+    @Test
+    void fanout_progress_unauth_401() throws Exception {
+      mvc.perform(get("/api/notifications/fanout/{liveStreamId}", UUID.randomUUID()))
+         .andExpect(status().isUnauthorized());
+    }
+  }
+}
@@ -0,0 +1,116 @@
+// src/test/java/com/example/controller/SubscriptionControllerSecurityTest.java
+package com.example.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.example.testbase.AuthPostProcessors;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SubscriptionControllerSecurityTest {
+
+  @Autowired
+  MockMvc mvc;
+
+  // ==========================================
+  // # SubscriptionControllerSecurityTest
+  // ## 1. 公開APIの検証（匿名アクセス）
+  // ## 2. 認証APIの検証（JWT必須）
+  // ## 3. 典型的な異常系（401）
+  // ==========================================
+
+  private static void assertNot401Or403(int status) {
+    org.junit.jupiter.api.Assertions.assertTrue(status != 401 && status != 403,
+        () -> "unexpected 401/403, got " + status);
+  }
+
+  static Stream<Arguments> authedCases() {
+    return Stream.of(
+        Arguments.of("ADMIN", AuthPostProcessors.admin()),
+        Arguments.of("MODERATOR", AuthPostProcessors.moderator()),
+        Arguments.of("USER", AuthPostProcessors.user())
+    );
+  }
+
+  static Stream<Arguments> allRolesInclAnon() {
+    return Stream.of(
+        Arguments.of("ADMIN", AuthPostProcessors.admin(), true),
+        Arguments.of("MODERATOR", AuthPostProcessors.moderator(), true),
+        Arguments.of("USER", AuthPostProcessors.user(), true),
+        Arguments.of("ANON", AuthPostProcessors.anon(), true) // 公開は true
+    );
+  }
+
+  @Nested
+  class PublicApis {
+
+    @ParameterizedTest(name = "GET /api/users/'{'userId'}'/follow-stats - {0}")
+    @MethodSource("com.example.controller.SubscriptionControllerSecurityTest#allRolesInclAnon")
+    void follow_stats_public(String who, Supplier<RequestPostProcessor> auth, boolean allowed) throws Exception {
+      int s = mvc.perform(get("/api/users/{userId}/follow-stats", UUID.randomUUID()).with(auth.get()))
+                 .andReturn().getResponse().getStatus();
+      if (allowed) assertNot401Or403(s);
+    }
+  }
+
+  @Nested
+  class AuthedApis {
+
+    @ParameterizedTest(name = "POST /api/users/'{'userId'}'/follow - {0}")
+    @MethodSource("com.example.controller.SubscriptionControllerSecurityTest#authedCases")
+    void follow_authed(String who, Supplier<RequestPostProcessor> auth) throws Exception {
+      int s = mvc.perform(post("/api/users/{userId}/follow", UUID.randomUUID()).with(auth.get()))
+                 .andReturn().getResponse().getStatus();
+      assertNot401Or403(s);
+    }
+
+    @Test
+    void follow_unauth_401() throws Exception {
+      mvc.perform(post("/api/users/{userId}/follow", UUID.randomUUID()))
+         .andExpect(status().isUnauthorized());
+    }
+
+    @ParameterizedTest(name = "DELETE /api/users/'{'userId'}'/follow - {0}")
+    @MethodSource("com.example.controller.SubscriptionControllerSecurityTest#authedCases")
+    void unfollow_authed(String who, Supplier<RequestPostProcessor> auth) throws Exception {
+      int s = mvc.perform(delete("/api/users/{userId}/follow", UUID.randomUUID()).with(auth.get()))
+                 .andReturn().getResponse().getStatus();
+      assertNot401Or403(s);
+    }
+
+    @Test
+    void unfollow_unauth_401() throws Exception {
+      mvc.perform(delete("/api/users/{userId}/follow", UUID.randomUUID()))
+         .andExpect(status().isUnauthorized());
+    }
+
+    @ParameterizedTest(name = "GET /api/users/me/follow-suggestions - {0}")
+    @MethodSource("com.example.controller.SubscriptionControllerSecurityTest#authedCases")
+    void follow_suggestions_authed(String who, Supplier<RequestPostProcessor> auth) throws Exception {
+      int s = mvc.perform(get("/api/users/me/follow-suggestions").with(auth.get())
+                     .param("limit", "10"))
+                 .andReturn().getResponse().getStatus();
+      assertNot401Or403(s);
+    }
+
+    @Test
+    void follow_suggestions_unauth_401() throws Exception {
+      mvc.perform(get("/api/users/me/follow-suggestions"))
+         .andExpect(status().isUnauthorized());
+    }
+  }
+}
@@ -115,6 +115,18 @@ class VideoControllerSecurityTest {
         assertNot401Or403(s);
     }
 
+    @ParameterizedTest(name = "GET /api/videos/browse - {0}")
+    @MethodSource("com.example.controller.VideoControllerSecurityTest#allRolesInclAnon")
+    void browse_public(String who, Supplier<RequestPostProcessor> auth, boolean allowed)
+        throws Exception {
+      int s = mvc.perform(get("/api/videos/browse").with(auth.get())
+              .param("categoryIds", UUID.randomUUID().toString())
+              .param("tagIds", UUID.randomUUID().toString()))
+          .andReturn().getResponse().getStatus();
+      if (allowed)
+        assertNot401Or403(s);
+    }
+
     @ParameterizedTest(name = "PATCH /api/videos/'{'id'}'/views - {0}")
     @MethodSource("com.example.controller.VideoControllerSecurityTest#allRolesInclAnon")
     void views_public(String who, Supplier<RequestPostProcessor> auth, boolean allowed)
@@ -219,6 +231,19 @@ class VideoControllerSecurityTest {
       mvc.perform(patch("/api/videos/{id}/unpublish", UUID.randomUUID()))
           .andExpect(status().isUnauthorized());
     }
+
+    @ParameterizedTest(name = "GET /api/videos/feed - {0}")
+    @MethodSource("com.example.controller.VideoControllerSecurityTest#authedCases")
+    void feed_authed(String who, Supplier<RequestPostProcessor> auth) throws Exception {
+      int s = mvc.perform(get("/api/videos/feed").with(auth.get()).param("size", "10")).andReturn()
+          .getResponse().getStatus();
+      assertNot401Or403(s);
+    }
+
+    @Test
+    void feed_unauth_401() throws Exception {
+      mvc.perform(get("/api/videos/feed")).andExpect(status().isUnauthorized());
+    }
   }
 
   @Nested
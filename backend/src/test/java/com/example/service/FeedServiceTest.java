@@ -0,0 +1,210 @@
+// src/test/java/com/example/service/FeedServiceTest.java
+package com.example.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.example.config.FeedProperties;
+import com.example.dto.videos.FeedPageDTO;
+import com.example.dto.videos.FeedVideoDTO;
+import com.example.entity.User;
+import com.example.entity.Video;
+import com.example.repository.SubscriptionRepository;
+import com.example.repository.VideoRepository;
+import com.example.service.feed.CreatorTimelineStore;
+import com.example.service.feed.FeedCursor;
+import com.example.service.feed.HomeFeedCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+class FeedServiceTest {
+
+  // ==========================================
+  // # FeedServiceTest
+  // ## 1. indexAfter（カーソルより後ろの最初の位置。同時刻は ID の符号なし降順）
+  // ## 2. キャッシュ内に収まるページはメモリから返し、complete なら DB を読まない
+  // ## 3. キャッシュを越えるページは DB から読み、キャッシュ内のカーソルはキャッシュの項目に置き換える
+  // ==========================================
+
+  static final UUID USER = UUID.randomUUID();
+  static final UUID CREATOR_A = UUID.randomUUID();
+  static final UUID CREATOR_B = UUID.randomUUID();
+  static final LocalDateTime AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+  VideoRepository videoRepository;
+  CreatorTimelineStore timelineStore;
+  FeedProperties props;
+  FeedService service;
+  /** DB にある公開動画（新しい順） */
+  final List<FeedVideoDTO> all = new ArrayList<>();
+  /** 配信者ID → 新しい順の動画 */
+  final Map<UUID, List<FeedVideoDTO>> byCreator = new LinkedHashMap<>();
+
+  @BeforeEach
+  void setUp() {
+    SubscriptionRepository subscriptionRepository = mock(SubscriptionRepository.class);
+    given(subscriptionRepository.findTargetIdsBySubscriberId(USER)).willReturn(List.of(CREATOR_A, CREATOR_B));
+    timelineStore = mock(CreatorTimelineStore.class);
+    // 配信者ごとの新着は上位 perCreatorLimit 件だけを持つ
+    given(timelineStore.getAll(anyCollection(), anyLong())).willAnswer(inv -> {
+      Map<UUID, List<FeedVideoDTO>> top = new LinkedHashMap<>();
+      byCreator.forEach((creator, items) ->
+          top.put(creator, items.subList(0, Math.min(items.size(), props.getPerCreatorLimit()))));
+      return top;
+    });
+    videoRepository = mock(VideoRepository.class);
+    given(videoRepository.findFeedAfter(eq(USER), any(), any(), any())).willAnswer(inv -> {
+      FeedCursor after = new FeedCursor(inv.getArgument(1), inv.getArgument(2));
+      Pageable page = inv.getArgument(3);
+      return all.stream()
+          .filter(v -> FeedCursor.NEWEST_FIRST.compare(FeedCursor.of(v), after) > 0)
+          .limit(page.getPageSize())
+          .map(FeedServiceTest::entity)
+          .toList();
+    });
+    props = new FeedProperties();
+    props.setPerCreatorLimit(3);
+    props.setCachedItems(3);
+    service = new FeedService(subscriptionRepository, videoRepository, timelineStore,
+        new HomeFeedCache(props, new SimpleMeterRegistry()), props);
+  }
+
+  @Test
+  @DisplayName("indexAfter はカーソルより後ろの最初の位置を返し、同時刻は ID の符号なし降順で比べる")
+  void indexAfter() {
+    UUID high = new UUID(0x8000_0000_0000_0000L, 0); // 符号付き比較では負になる
+    UUID low = new UUID(1, 0);
+    FeedVideoDTO newest = item(AT.plusMinutes(2), UUID.randomUUID());
+    FeedVideoDTO tieHigh = item(AT.plusMinutes(1), high);
+    FeedVideoDTO tieLow = item(AT.plusMinutes(1), low);
+    FeedVideoDTO oldest = item(AT, UUID.randomUUID());
+    HomeFeedCache.Feed feed = new HomeFeedCache.Feed(Set.of(), List.of(newest, tieHigh, tieLow, oldest), false, 0);
+
+    assertEquals(0, feed.indexAfter(new FeedCursor(AT.plusMinutes(3), UUID.randomUUID())));
+    assertEquals(1, feed.indexAfter(FeedCursor.of(newest)));
+    assertEquals(2, feed.indexAfter(FeedCursor.of(tieHigh)));
+    assertEquals(3, feed.indexAfter(FeedCursor.of(tieLow)));
+    assertEquals(2, feed.indexAfter(new FeedCursor(AT.plusMinutes(1), new UUID(2, 0)))); // tieHigh と tieLow の間
+    assertEquals(4, feed.indexAfter(FeedCursor.of(oldest)));
+    assertEquals(4, feed.indexAfter(new FeedCursor(AT.minusDays(1), UUID.randomUUID())));
+  }
+
+  @Test
+  @DisplayName("先頭ページとキャッシュ内に収まるページはメモリから返し、complete でなければ続きがある")
+  void pagesWithinCacheAreServedFromMemory() {
+    publish(6); // キャッシュは先頭 3 件、complete = false
+
+    FeedPageDTO first = service.getFeed(USER, null, 2);
+    assertEquals(ids(0, 2), ids(first));
+    FeedPageDTO second = service.getFeed(USER, cursorAfter(0), 2);
+    assertEquals(ids(1, 3), ids(second));
+    assertEquals(FeedCursor.of(all.get(2)).encode(), second.getNextCursor());
+
+    verify(videoRepository, never()).findFeedAfter(any(), any(), any(), any());
+    verify(timelineStore, times(1)).getAll(anyCollection(), anyLong());
+  }
+
+  @Test
+  @DisplayName("全件がキャッシュに収まる（complete）フィードは末尾を越えても DB を読まず、最後のページに nextCursor を付けない")
+  void completeFeedNeverReadsDatabase() {
+    publish(2);
+
+    FeedPageDTO first = service.getFeed(USER, null, 2);
+    assertEquals(ids(0, 2), ids(first));
+    assertNull(first.getNextCursor());
+
+    FeedPageDTO beyond = service.getFeed(USER, cursorAfter(1), 5);
+    assertEquals(List.of(), beyond.getItems());
+    assertNull(beyond.getNextCursor());
+    verify(videoRepository, never()).findFeedAfter(any(), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("キャッシュ内を指すカーソルでキャッシュを越えるページは、キャッシュの直前の項目から DB を読む")
+  void cursorInsideCacheIsRewritten() {
+    publish(8); // キャッシュは先頭 3 件
+    // 返した後に削除された動画のカーソル（キャッシュの 0 番目と 1 番目の間）
+    FeedCursor between = new FeedCursor(all.get(1).getPublishedAt().plusSeconds(1), UUID.randomUUID());
+
+    FeedPageDTO page = service.getFeed(USER, between.encode(), 4);
+
+    assertEquals(ids(1, 5), ids(page));
+    verify(videoRepository).findFeedAfter(USER, all.get(0).getPublishedAt(), all.get(0).getId(), PageRequest.of(0, 5));
+  }
+
+  @Test
+  @DisplayName("キャッシュより古いカーソルは置き換えずにそのまま DB を読み、ページの境界で重複も欠落もない")
+  void cursorBeyondCacheIsKept() {
+    publish(8);
+
+    List<UUID> seen = new ArrayList<>();
+    String cursor = null;
+    do {
+      FeedPageDTO page = service.getFeed(USER, cursor, 2);
+      seen.addAll(ids(page));
+      cursor = page.getNextCursor();
+    } while (cursor != null);
+
+    assertEquals(ids(0, 8), seen);
+    verify(videoRepository).findFeedAfter(USER, all.get(3).getPublishedAt(), all.get(3).getId(), PageRequest.of(0, 3));
+  }
+
+  @Test
+  @DisplayName("件数の範囲外・不正なカーソルは IllegalArgumentException")
+  void rejectsInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> service.getFeed(USER, null, 0));
+    assertThrows(IllegalArgumentException.class, () -> service.getFeed(USER, null, props.getMaxPageSize() + 1));
+    assertThrows(IllegalArgumentException.class, () -> service.getFeed(USER, "not-a-cursor", 10));
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  /** 2人の配信者に交互に n 件を公開する（all は新しい順） */
+  private void publish(int n) {
+    for (int i = 0; i < n; i++) {
+      UUID creator = i % 2 == 0 ? CREATOR_A : CREATOR_B;
+      FeedVideoDTO video = item(AT.minusMinutes(i), UUID.randomUUID());
+      all.add(video);
+      byCreator.computeIfAbsent(creator, k -> new ArrayList<>()).add(video);
+    }
+  }
+
+  private String cursorAfter(int index) {
+    return FeedCursor.of(all.get(index)).encode();
+  }
+
+  private List<UUID> ids(int from, int to) {
+    return all.subList(from, to).stream().map(FeedVideoDTO::getId).toList();
+  }
+
+  private static List<UUID> ids(FeedPageDTO page) {
+    return page.getItems().stream().map(FeedVideoDTO::getId).toList();
+  }
+
+  private static FeedVideoDTO item(LocalDateTime publishedAt, UUID id) {
+    return FeedVideoDTO.builder().id(id).title("video " + id).publishedAt(publishedAt).build();
+  }
+
+  private static Video entity(FeedVideoDTO dto) {
+    Video video = mock(Video.class);
+    given(video.getId()).willReturn(dto.getId());
+    given(video.getTitle()).willReturn(dto.getTitle());
+    given(video.getPublishedAt()).willReturn(dto.getPublishedAt());
+    given(video.getUser()).willReturn(mock(User.class));
+    return video;
+  }
+}
@@ -0,0 +1,72 @@
+// src/test/java/com/example/service/NotificationServiceTest.java
+package com.example.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import com.example.dto.notifications.NotificationFanoutStatusDTO;
+import com.example.entity.LiveStream;
+import com.example.entity.User;
+import com.example.enums.UserRole;
+import com.example.repository.LiveStreamRepository;
+import com.example.repository.NotificationRepository;
+import com.example.service.notification.LiveNotificationFanoutService;
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class NotificationServiceTest {
+
+  // ==========================================
+  // # NotificationServiceTest
+  // ## 1. 配信状況は配信者本人と ADMIN だけが見られ、それ以外は AccessDeniedException（403）
+  // ==========================================
+
+  LiveStreamRepository liveStreamRepository;
+  LiveNotificationFanoutService fanoutService;
+  NotificationService service;
+  LiveStream stream;
+  UUID ownerId;
+
+  @BeforeEach
+  void setUp() {
+    liveStreamRepository = mock(LiveStreamRepository.class);
+    fanoutService = mock(LiveNotificationFanoutService.class);
+    service = new NotificationService(mock(NotificationRepository.class), liveStreamRepository, fanoutService);
+
+    User owner = new User("owner", "owner@example.com");
+    ownerId = UUID.randomUUID();
+    ReflectionTestUtils.setField(owner, "id", ownerId);
+    stream = new LiveStream("title", null, null, LocalDateTime.now().plusHours(1), owner);
+    ReflectionTestUtils.setField(stream, "id", UUID.randomUUID());
+    given(liveStreamRepository.findById(stream.getId())).willReturn(Optional.of(stream));
+  }
+
+  @Test
+  @DisplayName("配信者本人と ADMIN は進捗を取得できる")
+  void ownerAndAdminCanRead() {
+    NotificationFanoutStatusDTO status = mock(NotificationFanoutStatusDTO.class);
+    given(fanoutService.getProgress(stream.getId())).willReturn(status);
+
+    assertSame(status, service.getFanoutProgress(stream.getId(), ownerId, UserRole.USER));
+    assertSame(status, service.getFanoutProgress(stream.getId(), UUID.randomUUID(), UserRole.ADMIN));
+  }
+
+  @Test
+  @DisplayName("本人以外（MODERATOR を含む）は AccessDeniedException、存在しない配信は NoSuchElementException")
+  void othersAreDenied() {
+    assertThrows(AccessDeniedException.class,
+        () -> service.getFanoutProgress(stream.getId(), UUID.randomUUID(), UserRole.USER));
+    assertThrows(AccessDeniedException.class,
+        () -> service.getFanoutProgress(stream.getId(), UUID.randomUUID(), UserRole.MODERATOR));
+    assertThrows(NoSuchElementException.class,
+        () -> service.getFanoutProgress(UUID.randomUUID(), ownerId, UserRole.ADMIN));
+    verifyNoInteractions(fanoutService);
+  }
+}
@@ -0,0 +1,96 @@
+// src/test/java/com/example/service/TagServiceTest.java
+package com.example.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.example.config.TagProperties;
+import com.example.dto.tags.TagCreateRequestDTO;
+import com.example.dto.tags.TagUpdateRequestDTO;
+import com.example.entity.Tag;
+import com.example.repository.LiveStreamTagRepository;
+import com.example.repository.TagRepository;
+import com.example.repository.VideoTagRepository;
+import com.example.service.tag.TagSuggestIndex;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class TagServiceTest {
+
+  // ==========================================
+  // # TagServiceTest
+  // ## 1. タグ名は NFKC で正規化・前後の空白を除いた名前で重複を確認し、その名前で保存する
+  // ==========================================
+
+  TagRepository tagRepository;
+  TagService service;
+
+  @BeforeEach
+  void setUp() {
+    tagRepository = mock(TagRepository.class);
+    given(tagRepository.findByNameIgnoreCase(anyString())).willReturn(Optional.empty());
+    given(tagRepository.findBySlug(anyString())).willReturn(Optional.empty());
+    given(tagRepository.save(any(Tag.class))).willAnswer(inv -> {
+      Tag t = inv.getArgument(0);
+      ReflectionTestUtils.setField(t, "id", UUID.randomUUID());
+      return t;
+    });
+    service = new TagService(tagRepository, mock(VideoTagRepository.class), mock(LiveStreamTagRepository.class),
+        mock(TagSuggestIndex.class), new TagProperties(), mock(ApplicationEventPublisher.class));
+  }
+
+  @Test
+  @DisplayName("全角・前後の空白だけが違う名前は既存のタグと重複として 400 にする")
+  void createRejectsNormalizedDuplicate() {
+    Tag existing = tag("Java");
+    given(tagRepository.findByNameIgnoreCase("Java")).willReturn(Optional.of(existing));
+
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> service.createTag(TagCreateRequestDTO.builder().name("  Ｊａｖａ　").build()));
+    assertEquals("タグ名は既に存在します", e.getMessage());
+    verify(tagRepository, never()).save(any());
+  }
+
+  @Test
+  @DisplayName("作成時は正規化した名前で保存し、スラッグも正規化した名前から作る")
+  void createStoresCanonicalName() {
+    var created = service.createTag(TagCreateRequestDTO.builder().name(" Ｓｐｒｉｎｇ Boot ").build());
+
+    assertEquals("Spring Boot", created.getName());
+    verify(tagRepository).findByNameIgnoreCase("Spring Boot");
+  }
+
+  @Test
+  @DisplayName("改名時も正規化した名前で重複を確認し（自分自身は除く）、空白だけの名前は 400")
+  void updateChecksCanonicalName() {
+    Tag self = tag("Kotlin");
+    Tag other = tag("Java");
+    given(tagRepository.findById(self.getId())).willReturn(Optional.of(self));
+    given(tagRepository.findByNameIgnoreCase("Java")).willReturn(Optional.of(other));
+    given(tagRepository.findByNameIgnoreCase("Kotlin")).willReturn(Optional.of(self));
+
+    assertThrows(IllegalArgumentException.class,
+        () -> service.updateTag(self.getId(), TagUpdateRequestDTO.builder().name("Ｊａｖａ ").build()));
+    assertThrows(IllegalArgumentException.class,
+        () -> service.updateTag(self.getId(), TagUpdateRequestDTO.builder().name("　 ").build()));
+
+    assertEquals("Kotlin", service.updateTag(self.getId(), TagUpdateRequestDTO.builder().name(" Ｋｏｔｌｉｎ").build())
+        .getName());
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private static Tag tag(String name) {
+    Tag t = new Tag(name, name.toLowerCase());
+    ReflectionTestUtils.setField(t, "id", UUID.randomUUID());
+    return t;
+  }
+}
@@ -0,0 +1,185 @@
+// src/test/java/com/example/service/VideoServiceTest.java
+package com.example.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.example.dto.videos.PublicVideoResponseDTO;
+import com.example.dto.videos.UploaderDTO;
+import com.example.entity.Video;
+import com.example.repository.UserRepository;
+import com.example.repository.VideoRepository;
+import com.example.service.cache.DtoCaches;
+import com.example.service.cache.ReadCoalescer;
+import com.example.service.video.VideoCardStore;
+import com.example.service.video.VideoCardTable;
+import com.example.service.video.VideoCatalog;
+import com.example.service.video.VideoColumns;
+import com.example.service.video.VideoSlugIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+class VideoServiceTest {
+
+  // ==========================================
+  // # VideoServiceTest
+  // ## 1. カタログからの一覧はカードを写さずに返し、JSON は DTO のページと同じ形になる
+  // ## 2. 一覧を返した後に外れたカードは、JSON にも Java 側の走査にも null として出ない
+  // ## 3. 並び順には同順位の並びとして id 昇順を足す（カタログ・DB のどちらから返しても同じ順）
+  // ## 4. カードストアにない動画（他ノードで公開されたもの）は DB から読んでストアに登録して返す
+  // ==========================================
+
+  final ObjectMapper om = new ObjectMapper().findAndRegisterModules();
+  VideoRepository videoRepository;
+  ReadCoalescer readCoalescer;
+  VideoCatalog catalog;
+  VideoCardStore cardStore;
+  VideoCardTable table;
+  VideoService service;
+  UploaderDTO alice;
+
+  @BeforeEach
+  void setUp() {
+    videoRepository = mock(VideoRepository.class);
+    readCoalescer = mock(ReadCoalescer.class);
+    given(readCoalescer.load(anyString(), any(), any())).willAnswer(inv -> ((Supplier<?>) inv.getArgument(2)).get());
+    catalog = mock(VideoCatalog.class);
+    cardStore = mock(VideoCardStore.class);
+    table = new VideoCardTable(16);
+    given(cardStore.isReady()).willReturn(true);
+    given(cardStore.cards(anyList())).willAnswer(inv -> table.cards(inv.getArgument(0)));
+    given(cardStore.missing(anyList())).willAnswer(inv -> ((List<UUID>) inv.getArgument(0)).stream()
+        .filter(id -> !table.contains(id)).toList());
+
+    service = new VideoService(videoRepository, mock(UserRepository.class),
+        mock(VideoSlugIndex.class), mock(DtoCaches.class), readCoalescer,
+        catalog, cardStore, mock(ApplicationEventPublisher.class));
+
+    alice = UploaderDTO.builder().id(UUID.randomUUID()).name("アリス").profileImagePath("a.png").build();
+    table.putUploader(alice);
+  }
+
+  @Test
+  @DisplayName("新着一覧の JSON は同じ DTO を PageImpl に入れた JSON と一致し、中身はカードのまま")
+  void listingJsonMatchesDtoPage() throws Exception {
+    List<UUID> ids = List.of(put("一本目🔥", "first", 10), put("二本目", "second", 3));
+    given(catalog.query(eq(VideoColumns.Filter.none()), any())).willReturn(Optional.of(new VideoColumns.Result(5, ids)));
+
+    Page<PublicVideoResponseDTO> page = service.getRecentVideos(PageRequest.of(1, 2));
+
+    assertInstanceOf(VideoCardTable.Cards.class, page.getContent());
+    Pageable sorted = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "publishedAt").and(Sort.by("id")));
+    Page<PublicVideoResponseDTO> expected = new PageImpl<>(dtos(ids), sorted, 5);
+    assertEquals(om.readTree(om.writeValueAsBytes(expected)), om.readTree(om.writeValueAsBytes(page)));
+    assertEquals(om.readTree(om.writeValueAsString(expected)), om.readTree(om.writeValueAsString(page)));
+    assertEquals(3, page.getTotalPages());
+    assertTrue(page.hasNext());
+    assertFalse(page.isFirst());
+  }
+
+  @Test
+  @DisplayName("一覧を返した後に削除されたカードは JSON から除かれ、map・走査でも null にならない")
+  void removedCardsAreSkipped() throws Exception {
+    UUID kept = put("残る", "kept", 1);
+    UUID removed = put("消える", "removed", 2);
+    given(catalog.query(eq(VideoColumns.Filter.none()), any()))
+        .willReturn(Optional.of(new VideoColumns.Result(2, List.of(removed, kept))));
+
+    Page<PublicVideoResponseDTO> page = service.getPopularVideos(PageRequest.of(0, 10));
+    table.remove(removed);
+
+    JsonNode content = om.readTree(om.writeValueAsBytes(page)).get("content");
+    assertEquals(1, content.size());
+    assertEquals(kept.toString(), content.get(0).get("id").asText());
+
+    List<UUID> iterated = new ArrayList<>();
+    page.forEach(dto -> iterated.add(dto.getId()));
+    assertEquals(List.of(kept), iterated);
+    assertEquals(List.of(kept), page.map(PublicVideoResponseDTO::getId).getContent());
+  }
+
+  @Test
+  @DisplayName("カタログで答えられない場合も、DB へは id 昇順を足した並び順で問い合わせる")
+  void fallbackSortsTieBreakById() {
+    given(catalog.query(any(), any())).willReturn(Optional.empty());
+    given(videoRepository.findByVisibility(any(), any())).willReturn(Page.empty());
+    given(videoRepository.findByUserIdAndVisibility(any(), any(), any())).willReturn(Page.empty());
+
+    service.getPopularVideos(PageRequest.of(0, 10));
+    service.getPublicVideosByUser(UUID.randomUUID(), PageRequest.of(0, 10, Sort.by("publishedAt")));
+    service.getPublicVideosByUser(UUID.randomUUID(), PageRequest.of(0, 10));
+
+    ArgumentCaptor<Pageable> byVisibility = ArgumentCaptor.forClass(Pageable.class);
+    verify(videoRepository).findByVisibility(any(), byVisibility.capture());
+    assertEquals(Sort.by(Sort.Direction.DESC, "viewsCount").and(Sort.by("id")), byVisibility.getValue().getSort());
+
+    ArgumentCaptor<Pageable> byUser = ArgumentCaptor.forClass(Pageable.class);
+    verify(videoRepository, times(2)).findByUserIdAndVisibility(any(), any(), byUser.capture());
+    assertEquals(Sort.by("publishedAt").and(Sort.by("id")), byUser.getAllValues().get(0).getSort());
+    assertEquals(Sort.by("id"), byUser.getAllValues().get(1).getSort());
+  }
+
+  @Test
+  @DisplayName("カタログが返した動画がカードストアになければ、DB から読んでストアに登録し、ページから落とさない")
+  void missingCardsAreLoadedIntoStore() {
+    UUID stored = put("登録済み", "stored", 1);
+    UUID remote = UUID.randomUUID();
+    Video video = mock(Video.class);
+    given(videoRepository.findAllWithUserByIdIn(List.of(remote))).willReturn(List.of(video));
+    willAnswer(inv -> {
+      table.put(remote, "他ノード", "remote", null, 7, LocalDateTime.now(), alice.getId());
+      return null;
+    }).given(cardStore).put(video);
+    given(catalog.query(eq(VideoColumns.Filter.none()), any()))
+        .willReturn(Optional.of(new VideoColumns.Result(2, List.of(remote, stored))));
+
+    Page<PublicVideoResponseDTO> page = service.getRecentVideos(PageRequest.of(0, 10));
+
+    verify(cardStore).put(video);
+    assertEquals(List.of(remote, stored), page.map(PublicVideoResponseDTO::getId).getContent());
+    assertEquals(2, page.getTotalElements());
+  }
+
+  @Test
+  @DisplayName("カードストアにすべてある場合は DB を読まない")
+  void storedCardsSkipDatabase() {
+    UUID stored = put("登録済み", "stored", 1);
+    given(catalog.query(eq(VideoColumns.Filter.none()), any()))
+        .willReturn(Optional.of(new VideoColumns.Result(1, List.of(stored))));
+
+    service.getRecentVideos(PageRequest.of(0, 10));
+
+    verify(videoRepository, never()).findAllWithUserByIdIn(any());
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private UUID put(String title, String slug, long views) {
+    UUID id = UUID.randomUUID();
+    table.put(id, title, slug, "thumbs/" + slug + ".png", views, LocalDateTime.now(), alice.getId());
+    return id;
+  }
+
+  private List<PublicVideoResponseDTO> dtos(List<UUID> ids) {
+    return ids.stream().map(id -> table.get(id).orElseThrow()).toList();
+  }
+}
@@ -0,0 +1,120 @@
+// src/test/java/com/example/service/cache/DtoCacheTest.java
+package com.example.service.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.example.util.cache.HotKeySet;
+import com.example.util.cache.WTinyLfuCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DtoCacheTest {
+
+  // ==========================================
+  // # DtoCacheTest
+  // ## 1. 読み通し（ミスで読み込んで載せ、ヒットは JSON から作り直した別インスタンス）
+  // ## 2. 破棄（invalidate 後は読み直す。読み込みと重なった破棄の後に古い内容を残さない）
+  // ## 3. ホットキーのニアキャッシュ・loader の例外
+  // ==========================================
+
+  public record Dto(UUID id, String title) {
+  }
+
+  static final UUID ID = UUID.randomUUID();
+
+  final AtomicInteger loads = new AtomicInteger();
+  DtoCache<Dto> cache;
+
+  @BeforeEach
+  void setUp() {
+    ReadCoalescer coalescer = mock(ReadCoalescer.class);
+    given(coalescer.load(anyString(), any(), any())).willAnswer(inv -> ((Supplier<?>) inv.getArgument(2)).get());
+    // 3回目の参照でホットキーに昇格する
+    HotKeySet<UUID, Dto> hotKeys = new HotKeySet<>(1024, 3, 1, 16);
+    cache = new DtoCache<>("test", Dto.class, new ObjectMapper(), new WTinyLfuCache<>(1_000_000, 60_000, 100),
+        hotKeys, 60_000, coalescer, new SimpleMeterRegistry());
+  }
+
+  @Test
+  @DisplayName("2回目の参照は loader を呼ばず、JSON から作り直した同じ内容の別インスタンスを返す")
+  void secondGetHitsCache() {
+    Dto first = cache.get(ID, () -> load("一本目"));
+    Dto second = cache.get(ID, () -> load("呼ばれない"));
+
+    assertEquals(1, loads.get());
+    assertEquals(first, second);
+    assertNotSame(first, second);
+  }
+
+  @Test
+  @DisplayName("invalidate の後は loader で読み直す")
+  void invalidateForcesReload() {
+    cache.get(ID, () -> load("古い"));
+
+    cache.invalidate(ID);
+    Dto reloaded = cache.get(ID, () -> load("新しい"));
+
+    assertEquals("新しい", reloaded.title());
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  @DisplayName("読み込みの最中に破棄された結果は載せず、次の参照で読み直す")
+  void loadRacingInvalidationIsDiscarded() {
+    Dto stale = cache.get(ID, () -> {
+      Dto loaded = load("破棄前に読んだ内容");
+      cache.invalidate(ID); // 読み込みとコミット後の破棄が重なった
+      return loaded;
+    });
+    Dto fresh = cache.get(ID, () -> load("破棄後の内容"));
+
+    assertEquals("破棄前に読んだ内容", stale.title());
+    assertEquals("破棄後の内容", fresh.title());
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  @DisplayName("ホットキーに昇格した ID はニアキャッシュから同じインスタンスを返し、invalidate で捨てる")
+  void hotKeysAreServedFromNearCache() {
+    cache.get(ID, () -> load("内容"));
+    cache.get(ID, () -> load("内容"));
+    Dto promoted = cache.get(ID, () -> load("内容")); // 3回目で昇格し、ニアキャッシュに置く
+
+    assertSame(promoted, cache.get(ID, () -> load("呼ばれない")));
+    assertEquals(1, cache.hotKeys().size());
+    assertEquals(1, loads.get());
+
+    cache.invalidate(ID);
+    assertEquals("更新後", cache.get(ID, () -> load("更新後")).title());
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  @DisplayName("loader の例外はそのまま投げ、何も載せない")
+  void loaderExceptionIsNotCached() {
+    assertThrows(IllegalStateException.class, () -> cache.get(ID, () -> {
+      loads.incrementAndGet();
+      throw new IllegalStateException("DB 障害");
+    }));
+
+    assertEquals("復旧後", cache.get(ID, () -> load("復旧後")).title());
+    assertEquals(2, loads.get());
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private Dto load(String title) {
+    loads.incrementAndGet();
+    return new Dto(ID, title);
+  }
+}
@@ -0,0 +1,152 @@
+// src/test/java/com/example/service/cache/ReadCoalescerTest.java
+package com.example.service.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+class ReadCoalescerTest {
+
+  // ==========================================
+  // # ReadCoalescerTest
+  // ## 1. 同時に来た同じ読み取りは1本にまとめ、リーダー・まとめられた回数をグループごとに数える
+  // ## 2. リーダーの例外は待っていた呼び出しにも届き、完了後はキーを外す
+  // ## 3. グループが違えば同じキーでもまとめない
+  // ==========================================
+
+  static final int WAITERS = 5;
+
+  PlatformTransactionManager transactionManager;
+  SimpleMeterRegistry registry;
+  ReadCoalescer coalescer;
+  final CountDownLatch release = new CountDownLatch(1);
+  final AtomicInteger loads = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() {
+    transactionManager = mock(PlatformTransactionManager.class);
+    registry = new SimpleMeterRegistry();
+    coalescer = new ReadCoalescer(transactionManager, registry);
+  }
+
+  @Test
+  @DisplayName("実行中の読み取りに来た呼び出しは同じ結果を受け取り、loader とトランザクションはリーダーの1回だけ")
+  void concurrentReadsAreCoalesced() throws Exception {
+    ConcurrentLinkedQueue<String> results = new ConcurrentLinkedQueue<>();
+    List<Thread> threads = startAll(() -> results.add(coalescer.load("video.popular", ReadCoalescer.key("week", null),
+        () -> blocked("popular"))));
+
+    release.countDown();
+    joinAll(threads);
+
+    assertEquals(1, loads.get());
+    assertEquals(WAITERS + 1, results.size());
+    assertTrue(results.stream().allMatch("popular"::equals), "all share the leader's result");
+    assertEquals(1, calls("video.popular", "leader"));
+    assertEquals(WAITERS, calls("video.popular", "coalesced"));
+    assertEquals(0, registry.get("read.coalesce.inflight").gauge().value());
+    verify(transactionManager, times(1)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+  }
+
+  @Test
+  @DisplayName("リーダーの例外は待っていた呼び出しにも同じものが届き、次の呼び出しは改めて読み取る")
+  void waitersReceiveLeaderExceptionAndKeyIsCleared() throws Exception {
+    IllegalStateException failure = new IllegalStateException("DB 障害");
+    ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+    List<Thread> threads = startAll(() -> {
+      try {
+        coalescer.load("video.popular", "k", () -> {
+          blocked(null);
+          throw failure;
+        });
+      } catch (RuntimeException e) {
+        errors.add(e);
+      }
+    });
+
+    release.countDown();
+    joinAll(threads);
+
+    assertEquals(WAITERS + 1, errors.size());
+    assertTrue(errors.stream().allMatch(e -> e == failure), "all receive the leader's exception");
+    assertEquals(0, registry.get("read.coalesce.inflight").gauge().value());
+
+    assertEquals("復旧後", coalescer.load("video.popular", "k", () -> "復旧後"));
+    assertEquals(1, calls("video.popular", "leader"));
+    assertEquals(0, calls("video.popular", "coalesced"));
+  }
+
+  @Test
+  @DisplayName("グループが違えば同じキーでもまとめず、それぞれのグループで数える")
+  void groupsAreSeparate() {
+    assertEquals("a", coalescer.load("video.popular", "k", () -> "a"));
+    assertEquals("b", coalescer.load("video.latest", "k", () -> "b"));
+
+    assertEquals(1, calls("video.popular", "leader"));
+    assertEquals(1, calls("video.latest", "leader"));
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  /** release が開くまで止まる読み取り（呼ばれた回数を数える） */
+  private String blocked(String value) {
+    loads.incrementAndGet();
+    try {
+      assertTrue(release.await(5, TimeUnit.SECONDS), "release");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return value;
+  }
+
+  private double calls(String group, String result) {
+    return registry.counter("read.coalesce.calls", "group", group, "result", result).count();
+  }
+
+  /** リーダーを loader の中で止めてから、待つ側を起動して全員が待ちに入るまで待つ */
+  private List<Thread> startAll(Runnable call) throws InterruptedException {
+    List<Thread> threads = new ArrayList<>();
+    Thread leader = new Thread(call);
+    leader.start();
+    threads.add(leader);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (loads.get() == 0) {
+      assertTrue(System.nanoTime() < deadline, "leader did not start");
+      Thread.sleep(1);
+    }
+    for (int i = 0; i < WAITERS; i++) {
+      Thread waiter = new Thread(call);
+      waiter.start();
+      threads.add(waiter);
+    }
+    for (Thread t : threads) {
+      while (t.getState() != Thread.State.WAITING && t.getState() != Thread.State.TIMED_WAITING) {
+        assertTrue(System.nanoTime() < deadline, "thread did not block: " + t.getState());
+        Thread.sleep(1);
+      }
+    }
+    return threads;
+  }
+
+  private static void joinAll(List<Thread> threads) throws InterruptedException {
+    for (Thread t : threads) {
+      t.join(5_000);
+      assertFalse(t.isAlive(), "thread did not finish");
+    }
+  }
+}
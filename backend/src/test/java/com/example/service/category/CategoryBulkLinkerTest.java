@@ -0,0 +1,199 @@
+// src/test/java/com/example/service/category/CategoryBulkLinkerTest.java
+package com.example.service.category;
+
+import static com.example.util.UuidBinary.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.example.config.CategoryProperties;
+import com.example.event.VideoLinksChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class CategoryBulkLinkerTest {
+
+  // ==========================================
+  // # CategoryBulkLinkerTest
+  // ## 1. 対象ごとの結果（LINKED: 付与数 > 0 / UNCHANGED: すべて付与済み / NOT_FOUND: 対象なし）
+  // ## 2. 論理削除済みの付与は行を作らずに削除を取り消す
+  // ## 3. 挿入は重複キーで削除の取り消しに切り替わる（同時付与で一意制約違反にしない）
+  // ## 4. チャンクごとのトランザクションと、動画の付与変更の通知
+  // ==========================================
+
+  static final UUID C1 = UUID.randomUUID();
+  static final UUID C2 = UUID.randomUUID();
+
+  JdbcTemplate jdbcTemplate;
+  ApplicationEventPublisher eventPublisher;
+  CategoryProperties props;
+  CategoryBulkLinker linker;
+  /** 存在する（削除されていない）対象ID */
+  final Set<UUID> owners = new LinkedHashSet<>();
+  /** 既存の付与の行（id, 対象ID, category_id, deleted_at） */
+  final List<Object[]> links = new ArrayList<>();
+  /** バッチ実行された SQL → 引数 */
+  final Map<String, List<Object[]>> batches = new LinkedHashMap<>();
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = mock(JdbcTemplate.class);
+    given(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).willAnswer(inv -> {
+      String sql = inv.getArgument(0);
+      RowMapper<?> mapper = inv.getArgument(1);
+      List<Object[]> source = sql.startsWith("SELECT id FROM")
+          ? owners.stream().map(id -> new Object[] {toBytes(id)}).toList()
+          : links;
+      List<Object> out = new ArrayList<>();
+      for (int i = 0; i < source.size(); i++) out.add(mapper.mapRow(resultSet(source.get(i)), i));
+      return out;
+    });
+    given(jdbcTemplate.batchUpdate(anyString(), anyList())).willAnswer(inv -> {
+      List<Object[]> args = inv.getArgument(1);
+      batches.computeIfAbsent(inv.getArgument(0), k -> new ArrayList<>()).addAll(args);
+      return new int[args.size()];
+    });
+    eventPublisher = mock(ApplicationEventPublisher.class);
+    props = new CategoryProperties();
+    linker = new CategoryBulkLinker(jdbcTemplate, mock(PlatformTransactionManager.class), eventPublisher, props,
+        new SimpleMeterRegistry());
+  }
+
+  @Test
+  @DisplayName("未付与のカテゴリがあれば付与数を返し（LINKED）、すべて付与済みなら 0（UNCHANGED）、対象がなければ found=false（NOT_FOUND）")
+  void perItemOutcomes() {
+    UUID linked = owner();
+    UUID unchanged = owner();
+    UUID missing = UUID.randomUUID();
+    link(unchanged, C1, null);
+
+    List<CategoryBulkLinker.Outcome> outcomes = linker.link(CategoryBulkLinker.Target.VIDEO,
+        requested(linked, Set.of(C1, C2), unchanged, Set.of(C1), missing, Set.of(C1)));
+
+    assertEquals(List.of(
+        new CategoryBulkLinker.Outcome(linked, true, 2),
+        new CategoryBulkLinker.Outcome(unchanged, true, 0),
+        new CategoryBulkLinker.Outcome(missing, false, 0)), outcomes);
+    assertEquals(2, rows("INSERT").size());
+    assertTrue(rows("UPDATE").isEmpty());
+    verify(eventPublisher).publishEvent(new VideoLinksChangedEvent(List.of(linked)));
+  }
+
+  @Test
+  @DisplayName("論理削除済みの付与は挿入せず、その行の削除を取り消して付与数に数える")
+  void softDeletedLinkIsRevived() {
+    UUID video = owner();
+    byte[] deletedLinkId = link(video, C1, LocalDateTime.now().minusDays(1));
+    link(video, C2, null);
+
+    List<CategoryBulkLinker.Outcome> outcomes = linker.link(CategoryBulkLinker.Target.VIDEO,
+        requested(video, Set.of(C1, C2)));
+
+    assertEquals(List.of(new CategoryBulkLinker.Outcome(video, true, 1)), outcomes);
+    assertTrue(rows("INSERT").isEmpty());
+    List<Object[]> revived = rows("UPDATE");
+    assertEquals(1, revived.size());
+    assertSame(deletedLinkId, revived.get(0)[1]);
+    assertTrue(sql("UPDATE").contains("SET deleted_at = NULL"));
+  }
+
+  @Test
+  @DisplayName("挿入は ON DUPLICATE KEY UPDATE で、同時に作られた付与の削除を取り消す（一意制約違反で失敗しない）")
+  void insertUpsertsOnDuplicateKey() {
+    UUID video = owner();
+
+    linker.link(CategoryBulkLinker.Target.VIDEO, requested(video, Set.of(C1)));
+
+    String insert = sql("INSERT");
+    assertTrue(insert.startsWith("INSERT INTO video_categories"), insert);
+    assertTrue(insert.contains("ON DUPLICATE KEY UPDATE"), insert);
+    assertTrue(insert.endsWith("deleted_at = NULL"), insert);
+    Object[] row = rows("INSERT").get(0);
+    assertEquals(insert.chars().filter(c -> c == '?').count(), row.length);
+    assertEquals(C1, toUuid(row[1]));
+    assertEquals(video, toUuid(row[2]));
+  }
+
+  @Test
+  @DisplayName("bulkChunkSize 件ごとにトランザクションを分け、ライブ配信の付与では動画の変更を通知しない")
+  void chunksAndLiveStreamTarget() {
+    props.setBulkChunkSize(2);
+    UUID a = owner();
+    UUID b = owner();
+    UUID c = owner();
+
+    List<CategoryBulkLinker.Outcome> outcomes = linker.link(CategoryBulkLinker.Target.LIVE_STREAM,
+        requested(a, Set.of(C1), b, Set.of(C1), c, Set.of(C1)));
+
+    assertEquals(List.of(a, b, c), outcomes.stream().map(CategoryBulkLinker.Outcome::entityId).toList());
+    assertTrue(sql("INSERT").startsWith("INSERT INTO live_stream_categories"));
+    verify(jdbcTemplate, times(2)).query(startsWith("SELECT id FROM live_streams"), any(RowMapper.class),
+        any(Object[].class));
+    verifyNoInteractions(eventPublisher);
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private UUID owner() {
+    UUID id = UUID.randomUUID();
+    owners.add(id);
+    return id;
+  }
+
+  /** 付与の行を追加し、その行の ID を返す */
+  private byte[] link(UUID ownerId, UUID categoryId, LocalDateTime deletedAt) {
+    byte[] id = toBytes(UUID.randomUUID());
+    links.add(new Object[] {id, ownerId, categoryId, deletedAt == null ? null : Timestamp.valueOf(deletedAt)});
+    return id;
+  }
+
+  private static Map<UUID, Set<UUID>> requested(Object... pairs) {
+    Map<UUID, Set<UUID>> requested = new LinkedHashMap<>();
+    for (int i = 0; i < pairs.length; i += 2) {
+      @SuppressWarnings("unchecked")
+      Set<UUID> categories = (Set<UUID>) pairs[i + 1];
+      requested.put((UUID) pairs[i], categories);
+    }
+    return requested;
+  }
+
+  private String sql(String prefix) {
+    return batches.keySet().stream().filter(s -> s.startsWith(prefix)).findFirst().orElseThrow();
+  }
+
+  private List<Object[]> rows(String prefix) {
+    return batches.entrySet().stream().filter(e -> e.getKey().startsWith(prefix))
+        .flatMap(e -> e.getValue().stream()).toList();
+  }
+
+  /** 列番号（1始まり）→ 値の ResultSet */
+  private static ResultSet resultSet(Object[] columns) throws SQLException {
+    ResultSet rs = mock(ResultSet.class);
+    for (int i = 0; i < columns.length; i++) {
+      Object value = columns[i];
+      given(rs.getObject(i + 1)).willReturn(value);
+      if (value instanceof byte[] b) given(rs.getBytes(i + 1)).willReturn(b);
+      if (value instanceof Timestamp t) given(rs.getTimestamp(i + 1)).willReturn(t);
+    }
+    return rs;
+  }
+}
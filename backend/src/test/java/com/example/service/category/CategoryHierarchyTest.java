@@ -0,0 +1,280 @@
+// src/test/java/com/example/service/category/CategoryHierarchyTest.java
+package com.example.service.category;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.example.entity.Category;
+import com.example.entity.CategoryClosure;
+import com.example.event.CategoryLifecycleEvent;
+import com.example.repository.CategoryClosureRepository;
+import com.example.repository.CategoryRepository;
+import java.util.*;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class CategoryHierarchyTest {
+
+  // ==========================================
+  // # CategoryHierarchyTest
+  // ## 1. 閉包の維持（登録・付け替え・削除）を、親ポインタから作った閉包と突き合わせる
+  // ## 2. 異常系（子孫を親にする・子を持つカテゴリの削除）
+  // ## 3. 部分木キャッシュの破棄
+  // ## 4. 削除後の起動時補完（削除済みカテゴリの行は補わない）
+  // ## 閉包テーブルはメモリ上のリストで代用する（DB は使わない）
+  // ==========================================
+
+  CategoryClosureRepository closureRepository;
+  CategoryRepository categoryRepository;
+  CategoryHierarchy hierarchy;
+  List<CategoryClosure> closures;
+  List<Category> categories;
+
+  @BeforeEach
+  void setUp() {
+    closures = new ArrayList<>();
+    categories = new ArrayList<>();
+    closureRepository = mock(CategoryClosureRepository.class);
+    categoryRepository = mock(CategoryRepository.class);
+
+    given(closureRepository.lockByDescendantId(any())).willAnswer(inv ->
+        rows(cc -> cc.getDescendant().getId().equals(inv.getArgument(0))));
+    given(closureRepository.lockByAncestorId(any())).willAnswer(inv ->
+        rows(cc -> cc.getAncestor().getId().equals(inv.getArgument(0))));
+    given(closureRepository.findDescendantIds(any())).willAnswer(inv ->
+        rows(cc -> cc.getAncestor().getId().equals(inv.getArgument(0))).stream()
+            .map(cc -> cc.getDescendant().getId()).toList());
+    given(closureRepository.saveAll(anyList())).willAnswer(inv -> {
+      closures.addAll(inv.getArgument(0));
+      return inv.getArgument(0);
+    });
+    given(closureRepository.deleteOuterLinks(anyCollection())).willAnswer(inv -> {
+      Collection<UUID> subtree = inv.getArgument(0);
+      int before = closures.size();
+      closures.removeIf(cc -> subtree.contains(cc.getDescendant().getId())
+          && !subtree.contains(cc.getAncestor().getId()));
+      return before - closures.size();
+    });
+    // findCategoryIdsWithoutClosure のクエリと同じ条件（削除されていない・深さ0の行がない）
+    given(closureRepository.findCategoryIdsWithoutClosure()).willAnswer(inv -> categories.stream()
+        .filter(c -> !c.isDeleted())
+        .filter(c -> closures.stream().noneMatch(cc -> cc.getDescendant() == c && cc.getDepth() == 0))
+        .map(Category::getId)
+        .toList());
+    given(categoryRepository.findAllById(anyIterable())).willAnswer(inv -> {
+      Set<UUID> ids = new HashSet<>();
+      ((Iterable<UUID>) inv.getArgument(0)).forEach(ids::add);
+      return categories.stream().filter(c -> ids.contains(c.getId())).toList();
+    });
+    given(closureRepository.deleteByDescendant_Id(any())).willAnswer(inv -> {
+      int before = closures.size();
+      closures.removeIf(cc -> cc.getDescendant().getId().equals(inv.getArgument(0)));
+      return before - closures.size();
+    });
+
+    hierarchy = new CategoryHierarchy(closureRepository, categoryRepository, mock(PlatformTransactionManager.class));
+  }
+
+  @Test
+  @DisplayName("attach は自分自身（深さ0）と親の祖先すべてとの組を作る")
+  void attach_linksAllAncestors() {
+    Category root = create("root", null);
+    Category a = create("a", root);
+    Category b = create("b", a);
+
+    assertEquals(expectedClosure(List.of(root, a, b)), actualClosure());
+    assertEquals(Set.of(root.getId(), a.getId(), b.getId()), hierarchy.subtreeOf(root.getId()));
+  }
+
+  @Test
+  @DisplayName("move は部分木ごと新しい親の下へ付け替え、外側の祖先との組を張り替える")
+  void move_rewiresSubtree() {
+    Category r1 = create("r1", null);
+    Category r2 = create("r2", null);
+    Category a = create("a", r1);
+    Category b = create("b", a);
+    Category c = create("c", b);
+    List<Category> all = List.of(r1, r2, a, b, c);
+
+    hierarchy.move(a, r2);
+    assertSame(r2, a.getParent());
+    assertEquals(expectedClosure(all), actualClosure());
+
+    hierarchy.move(b, null); // 最上位へ
+    assertNull(b.getParent());
+    assertEquals(expectedClosure(all), actualClosure());
+  }
+
+  @Test
+  @DisplayName("move は対象と新しい親の行をロックしてから閉包を読む")
+  void move_locksRowsBeforeReading() {
+    Category r = create("r", null);
+    Category a = create("a", null);
+
+    hierarchy.move(a, r);
+
+    var order = inOrder(categoryRepository, closureRepository);
+    order.verify(categoryRepository).lockAllById(List.of(a.getId(), r.getId()));
+    order.verify(closureRepository).lockByAncestorId(a.getId());
+    order.verify(closureRepository).lockByDescendantId(r.getId());
+  }
+
+  @Test
+  @DisplayName("自分自身・子孫を親にする move は IllegalArgumentException で、閉包は変えない")
+  void move_rejectsCycles() {
+    Category a = create("a", null);
+    Category b = create("b", a);
+    Category c = create("c", b);
+    Set<List<UUID>> before = actualClosure();
+
+    assertThrows(IllegalArgumentException.class, () -> hierarchy.move(a, c));
+    assertThrows(IllegalArgumentException.class, () -> hierarchy.move(a, a));
+    assertEquals(before, actualClosure());
+    assertNull(a.getParent());
+  }
+
+  @Test
+  @DisplayName("ランダムな付け替えを繰り返しても、閉包が親ポインタから作った閉包と一致する")
+  void randomMoves_matchParentPointers() {
+    Random rnd = new Random(7);
+    List<Category> all = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      all.add(create("c" + i, i == 0 || rnd.nextInt(4) == 0 ? null : all.get(rnd.nextInt(all.size()))));
+    }
+    for (int round = 0; round < 300; round++) {
+      Category target = all.get(rnd.nextInt(all.size()));
+      Category parent = rnd.nextInt(5) == 0 ? null : all.get(rnd.nextInt(all.size()));
+      boolean cycle = parent != null && ancestorsOf(parent).contains(target);
+      if (cycle) {
+        assertThrows(IllegalArgumentException.class, () -> hierarchy.move(target, parent));
+      } else {
+        hierarchy.move(target, parent);
+      }
+      assertEquals(expectedClosure(all), actualClosure(), "round " + round);
+    }
+  }
+
+  @Test
+  @DisplayName("detach は子を持つカテゴリを拒否し、葉なら閉包の行をすべて外す")
+  void detach_onlyLeaves() {
+    Category a = create("a", null);
+    Category b = create("b", a);
+
+    assertThrows(IllegalArgumentException.class, () -> hierarchy.detach(a.getId()));
+    hierarchy.detach(b.getId());
+
+    assertTrue(closures.stream().noneMatch(cc -> cc.getDescendant() == b || cc.getAncestor() == b));
+    assertEquals(expectedClosure(List.of(a)), actualClosure());
+  }
+
+  @Test
+  @DisplayName("部分木のキャッシュは付け替えのコミット後に破棄し、名前の更新では破棄しない")
+  void subtreeCache_invalidatedOnHierarchyChanges() {
+    Category a = create("a", null);
+    Category b = create("b", null);
+    assertEquals(Set.of(a.getId()), hierarchy.subtreeOf(a.getId()));
+
+    hierarchy.move(b, a);
+    hierarchy.onCategoryChanged(new CategoryLifecycleEvent(a.getId(), CategoryLifecycleEvent.Type.UPDATED));
+    assertEquals(Set.of(a.getId()), hierarchy.subtreeOf(a.getId())); // まだキャッシュ
+
+    hierarchy.onCategoryChanged(new CategoryLifecycleEvent(b.getId(), CategoryLifecycleEvent.Type.MOVED));
+    assertEquals(Set.of(a.getId(), b.getId()), hierarchy.subtreeOf(a.getId()));
+    verify(closureRepository, times(2)).findDescendantIds(a.getId());
+  }
+
+  @Test
+  @DisplayName("子を削除したあとの起動時補完は削除済みの子の行を作り直さず、親も削除できる")
+  void backfill_skipsDeletedCategories() {
+    Category parent = create("parent", null);
+    Category child = create("child", parent);
+
+    // CategoryService.deleteCategory と同じ順序（閉包から外してから論理削除）
+    hierarchy.detach(child.getId());
+    child.softDelete();
+    hierarchy.backfill();
+
+    assertTrue(closures.stream().noneMatch(cc -> cc.getDescendant() == child));
+    assertEquals(Set.of(parent.getId()), hierarchy.subtreeOf(parent.getId()));
+    assertDoesNotThrow(() -> hierarchy.detach(parent.getId()));
+  }
+
+  @Test
+  @DisplayName("起動時補完は閉包の行を持たない削除されていないカテゴリを、親をたどって補う")
+  void backfill_fillsMissingRows() {
+    Category root = create("root", null);
+    Category a = new Category("a", "a", null);
+    ReflectionTestUtils.setField(a, "id", UUID.randomUUID());
+    a.moveTo(root);
+    categories.add(a);
+
+    hierarchy.backfill();
+
+    assertEquals(expectedClosure(List.of(root, a)), actualClosure());
+  }
+
+  @Test
+  @DisplayName("定期的な破棄で、他ノードでの付け替え（イベントなし）も取り込む")
+  void subtreeCache_invalidatedPeriodically() {
+    Category a = create("a", null);
+    Category b = create("b", null);
+    assertEquals(Set.of(a.getId()), hierarchy.subtreeOf(a.getId()));
+
+    hierarchy.move(b, a); // イベントは届かない
+    assertEquals(Set.of(a.getId()), hierarchy.subtreeOf(a.getId()));
+
+    hierarchy.invalidate();
+    assertEquals(Set.of(a.getId(), b.getId()), hierarchy.subtreeOf(a.getId()));
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private Category create(String name, Category parent) {
+    Category c = new Category(name, name, null);
+    ReflectionTestUtils.setField(c, "id", UUID.randomUUID());
+    c.moveTo(parent);
+    hierarchy.attach(c, parent);
+    categories.add(c);
+    return c;
+  }
+
+  private List<CategoryClosure> rows(java.util.function.Predicate<CategoryClosure> filter) {
+    return closures.stream().filter(filter).toList();
+  }
+
+  /** (祖先ID, 子孫ID, 深さ) の集合 */
+  private Set<List<UUID>> actualClosure() {
+    return closures.stream()
+        .map(cc -> List.of(cc.getAncestor().getId(), cc.getDescendant().getId(), depthKey(cc.getDepth())))
+        .collect(Collectors.toSet());
+  }
+
+  private static Set<List<UUID>> expectedClosure(List<Category> all) {
+    Set<List<UUID>> out = new HashSet<>();
+    for (Category c : all) {
+      int depth = 0;
+      for (Category a = c; a != null; a = a.getParent()) {
+        out.add(List.of(a.getId(), c.getId(), depthKey(depth++)));
+      }
+    }
+    return out;
+  }
+
+  private static List<Category> ancestorsOf(Category c) {
+    List<Category> out = new ArrayList<>();
+    for (Category a = c; a != null; a = a.getParent()) out.add(a);
+    return out;
+  }
+
+  /** 深さを組に入れるための UUID（比較用） */
+  private static UUID depthKey(int depth) {
+    return new UUID(0, depth);
+  }
+}
@@ -0,0 +1,163 @@
+// src/test/java/com/example/service/category/CategoryStatsStoreTest.java
+package com.example.service.category;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.example.config.CategoryProperties;
+import com.example.event.VideoLinksChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+class CategoryStatsStoreTest {
+
+  // ==========================================
+  // # CategoryStatsStoreTest
+  // ## 1. 再生数が同じ動画は ID の符号なし比較順（BINARY(16) の ORDER BY と同じ）
+  // ## 2. 人気動画の補充はロックの外で DB を読み、読んでいる間の変更があれば結果を捨てる
+  // ==========================================
+
+  static final UUID CATEGORY = UUID.randomUUID();
+  // 符号付き比較と符号なし比較で順序が逆になる ID
+  static final UUID LOW = new UUID(0x0000_0000_0000_0001L, 0);
+  static final UUID HIGH = new UUID(0x8000_0000_0000_0000L, 0);
+
+  JdbcTemplate jdbcTemplate;
+  CategoryStatsStore store;
+  /** 付与の行（vc.id, category_id, video_id, views_count） */
+  List<Object[]> links = new ArrayList<>();
+  /** 補充クエリの行（video_id, views_count） */
+  List<Object[]> top = new ArrayList<>();
+  Runnable onTopQuery = () -> { };
+  final AtomicBoolean queriedUnderLock = new AtomicBoolean();
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = mock(JdbcTemplate.class);
+    given(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).willAnswer(inv -> {
+      String sql = inv.getArgument(0);
+      RowMapper<?> mapper = inv.getArgument(1);
+      List<Object[]> source;
+      if (sql.contains("ORDER BY v.views_count")) {
+        if (Thread.holdsLock(store)) queriedUnderLock.set(true);
+        onTopQuery.run();
+        source = top;
+      } else if (sql.contains("AND v.id IN")) {
+        source = links.stream().filter(r -> hasKey(inv.getArguments(), (UUID) r[2])).toList();
+      } else {
+        source = links;
+      }
+      List<Object> out = new ArrayList<>();
+      for (int i = 0; i < source.size(); i++) out.add(mapper.mapRow(resultSet(source.get(i)), i));
+      return out;
+    });
+    CategoryProperties props = new CategoryProperties();
+    props.setPopularSize(2);
+    store = new CategoryStatsStore(jdbcTemplate, props, new SimpleMeterRegistry());
+  }
+
+  @Test
+  @DisplayName("再生数が同じなら ID の符号なし比較順に並ぶ")
+  void tieBreakIsUnsigned() {
+    link(HIGH, 5);
+    link(LOW, 5);
+    store.reconcile();
+
+    assertEquals(List.of(LOW, HIGH), store.popular(CATEGORY, 10));
+    assertEquals(2, store.count(CATEGORY));
+  }
+
+  @Test
+  @DisplayName("人気動画が足りなくなったカテゴリは、ロックを持たずに DB から補充する")
+  void refillRunsOutsideMonitor() {
+    List<UUID> ids = linkMany(5); // 保持は上位 4 件
+    store.reconcile();
+    removeLinks(ids.subList(0, 3)); // 残り 2 件のうち保持は 1 件 → 補充が必要
+
+    top.add(new Object[]{ids.get(3), 2L});
+    top.add(new Object[]{ids.get(4), 1L});
+    assertEquals(List.of(ids.get(3), ids.get(4)), store.popular(CATEGORY, 10));
+    assertFalse(queriedUnderLock.get());
+    verify(jdbcTemplate, times(1)).query(contains("ORDER BY v.views_count"), any(RowMapper.class), any(Object[].class));
+  }
+
+  @Test
+  @DisplayName("補充の読み込み中にカテゴリが変わった場合は、古い結果で上書きせず次の参照で読み直す")
+  void refillDiscardedWhenChangedMeanwhile() {
+    List<UUID> ids = linkMany(5);
+    store.reconcile();
+    removeLinks(ids.subList(0, 3));
+
+    UUID added = UUID.randomUUID();
+    top.add(new Object[]{ids.get(3), 2L});
+    top.add(new Object[]{ids.get(4), 1L});
+    onTopQuery = () -> {
+      onTopQuery = () -> { };
+      links.add(new Object[]{UUID.randomUUID(), CATEGORY, added, 100L});
+      store.onLinksChanged(VideoLinksChangedEvent.of(added));
+    };
+
+    assertEquals(List.of(added, ids.get(3)), store.popular(CATEGORY, 10)); // 補充結果は捨てた
+
+    top.add(0, new Object[]{added, 100L});
+    assertEquals(List.of(added, ids.get(3), ids.get(4)), store.popular(CATEGORY, 10));
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private void link(UUID videoId, long views) {
+    links.add(new Object[]{UUID.randomUUID(), CATEGORY, videoId, views});
+  }
+
+  /** 再生数の多い順に n 件の動画を付与する */
+  private List<UUID> linkMany(int n) {
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      UUID id = UUID.randomUUID();
+      link(id, n - i);
+      ids.add(id);
+    }
+    return ids;
+  }
+
+  private void removeLinks(List<UUID> videoIds) {
+    links.removeIf(r -> videoIds.contains((UUID) r[2]));
+    top.removeIf(r -> videoIds.contains((UUID) r[0]));
+    store.onLinksChanged(new VideoLinksChangedEvent(videoIds));
+  }
+
+  private static boolean hasKey(Object[] args, UUID id) {
+    for (Object a : args) {
+      if (a instanceof byte[] b && ByteBuffer.wrap(b).getLong() == id.getMostSignificantBits()
+          && ByteBuffer.wrap(b).getLong(8) == id.getLeastSignificantBits()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** 列番号（1始まり）→ 値の ResultSet */
+  private static ResultSet resultSet(Object[] columns) throws SQLException {
+    ResultSet rs = mock(ResultSet.class);
+    for (int i = 0; i < columns.length; i++) {
+      Object value = columns[i];
+      given(rs.getObject(i + 1)).willReturn(value);
+      if (value instanceof Number n) given(rs.getLong(i + 1)).willReturn(n.longValue());
+    }
+    return rs;
+  }
+}
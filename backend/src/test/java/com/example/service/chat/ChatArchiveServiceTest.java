@@ -0,0 +1,139 @@
+// src/test/java/com/example/service/chat/ChatArchiveServiceTest.java
+package com.example.service.chat;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.example.config.ChatProperties;
+import com.example.entity.ChatArchive;
+import com.example.entity.ChatArchiveBlock;
+import com.example.entity.LiveStream;
+import com.example.repository.ChatArchiveBlockRepository;
+import com.example.repository.ChatArchiveRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ChatArchiveServiceTest {
+
+  // ==========================================
+  // # ChatArchiveServiceTest
+  // ## 1. ブロック境界を跨ぐ読み出し（必要なブロックだけを読む）
+  // ## 2. offset / limit の切り詰め・空のアーカイブ
+  // ## 3. 展開済みブロックは DB から読み直さない
+  // ==========================================
+
+  static final int BLOCK_SIZE = 3;
+  static final LocalDateTime AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+  ChatArchiveBlockRepository blockRepository;
+  ChatArchiveService service;
+  ChatArchive archive;
+  final List<ArchivedChatMessage> messages = new ArrayList<>();
+  final List<ChatArchiveBlock> blocks = new ArrayList<>();
+  /** DB から読んだブロック番号（呼び出しごと） */
+  final List<List<Integer>> fetched = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    blockRepository = mock(ChatArchiveBlockRepository.class);
+    ChatProperties props = new ChatProperties();
+    props.getReplay().setBlockCacheSize(8);
+    service = new ChatArchiveService(mock(ChatArchiveRepository.class), blockRepository, props);
+
+    // 8件を 3件ずつ：[0..2] [3..5] [6..7]
+    archive = archive(8);
+    given(blockRepository.findByArchive_IdAndBlockNoInOrderByBlockNo(eq(archive.getId()), anyCollection()))
+        .willAnswer(inv -> {
+          Collection<Integer> blockNos = inv.getArgument(1);
+          fetched.add(List.copyOf(blockNos));
+          return blocks.stream().filter(b -> blockNos.contains(b.getBlockNo())).toList();
+        });
+    given(blockRepository.findByArchive_IdAndBlockNoBetweenOrderByBlockNo(eq(archive.getId()), anyInt(), anyInt()))
+        .willAnswer(inv -> {
+          int from = inv.getArgument(1);
+          int to = inv.getArgument(2);
+          return blocks.stream().filter(b -> b.getBlockNo() >= from && b.getBlockNo() <= to).toList();
+        });
+  }
+
+  @Test
+  @DisplayName("ブロック境界を跨ぐ範囲を投稿順に返し、範囲に掛かるブロックだけを読む")
+  void readsAcrossBlockBoundaries() {
+    assertEquals(messages.subList(2, 7), service.read(archive, 2, 5));
+    assertEquals(List.of(List.of(0, 1, 2)), fetched);
+
+    fetched.clear();
+    service = new ChatArchiveService(mock(ChatArchiveRepository.class), blockRepository, new ChatProperties());
+    assertEquals(messages.subList(3, 6), service.read(archive, 3, 3));
+    assertEquals(List.of(List.of(1)), fetched);
+  }
+
+  @Test
+  @DisplayName("展開済みのブロックは読まず、キャッシュに無いブロックの行だけを読む")
+  void cachedBlocksAreNotFetched() {
+    service.read(archive, 4, 1); // ブロック1を展開
+
+    assertEquals(messages, service.read(archive, 0, 100));
+    assertEquals(List.of(List.of(1), List.of(0, 2)), fetched);
+
+    assertEquals(messages.subList(1, 8), service.read(archive, 1, 7));
+    assertEquals(messages.subList(3, 6), service.block(archive, 1));
+    assertEquals(2, fetched.size());
+    verify(blockRepository, never()).findByArchive_IdAndBlockNoBetweenOrderByBlockNo(any(), anyInt(), anyInt());
+  }
+
+  @Test
+  @DisplayName("負の offset は先頭から、件数を超える limit は末尾までに切り詰め、範囲外・limit <= 0 は DB を読まずに空")
+  void clampsOffsetAndLimit() {
+    assertEquals(messages.subList(0, 2), service.read(archive, -5, 2));
+    assertEquals(messages.subList(6, 8), service.read(archive, 6, 100));
+    assertEquals(messages.subList(7, 8), service.read(archive, 7, Integer.MAX_VALUE));
+
+    fetched.clear();
+    assertEquals(List.of(), service.read(archive, 8, 5));
+    assertEquals(List.of(), service.read(archive, 100, 5));
+    assertEquals(List.of(), service.read(archive, 3, 0));
+    assertEquals(List.of(), service.read(archive, 3, -1));
+    assertEquals(List.of(), fetched);
+  }
+
+  @Test
+  @DisplayName("メッセージが0件のアーカイブは DB を読まずに空")
+  void emptyArchive() {
+    ChatArchive empty = archive(0);
+
+    assertEquals(List.of(), service.read(empty, 0, 10));
+    verifyNoInteractions(blockRepository);
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  /** n 件のメッセージを BLOCK_SIZE 件ずつのブロックに圧縮した完了済みアーカイブ */
+  private ChatArchive archive(int n) {
+    ChatArchive a = new ChatArchive(mock(LiveStream.class), BLOCK_SIZE);
+    ReflectionTestUtils.setField(a, "id", UUID.randomUUID());
+    messages.clear();
+    blocks.clear();
+    for (int i = 0; i < n; i++) {
+      messages.add(new ArchivedChatMessage(UUID.randomUUID(), UUID.randomUUID(), "user" + i, "message " + i,
+          AT.plusSeconds(i)));
+    }
+    for (int first = 0; first < n; first += BLOCK_SIZE) {
+      List<ArchivedChatMessage> part = messages.subList(first, Math.min(first + BLOCK_SIZE, n));
+      blocks.add(new ChatArchiveBlock(a, first / BLOCK_SIZE, first, part.size(), part.get(0).createdAt(),
+          ChatArchiveCodec.encode(part).data()));
+    }
+    a.complete(n, blocks.size(), 0, 0, AT, AT.plusSeconds(n), UUID.randomUUID());
+    return a;
+  }
+}
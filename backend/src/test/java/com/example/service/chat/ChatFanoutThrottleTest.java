@@ -0,0 +1,123 @@
+// src/test/java/com/example/service/chat/ChatFanoutThrottleTest.java
+package com.example.service.chat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ChatFanoutThrottleTest {
+
+  // ==========================================
+  // # ChatFanoutThrottleTest
+  // ## 1. レートの平滑化（EWMA）と間引きへの切り替え
+  // ## 2. enter / exit の閾値によるヒステリシス
+  // ## 3. 間引き中の配信判定・静かな配信の破棄・設定値の検証
+  // ==========================================
+
+  static final UUID STREAM = UUID.randomUUID();
+  static final UUID OTHER = UUID.randomUUID();
+
+  // enter 100件/秒、exit 50件/秒、間引き中の目標 20件/秒
+  final ChatFanoutThrottle throttle = new ChatFanoutThrottle(100, 50, 20);
+
+  @Test
+  @DisplayName("計測前の配信は全件配信する")
+  void unknownStreamDeliversAll() {
+    assertEquals(1, throttle.sampleEvery(STREAM));
+    assertEquals(0.0, throttle.rate(STREAM));
+    assertTrue(throttle.shouldDeliver(STREAM));
+  }
+
+  @Test
+  @DisplayName("平滑化したレートが enter 以上になったら、目標レートに収まる間隔で間引く")
+  void entersSamplingAboveEnterRate() {
+    receive(STREAM, 300);
+    throttle.tick(1_000); // 0.5 * 300 = 150件/秒
+
+    assertEquals(150.0, throttle.rate(STREAM));
+    assertEquals(8, throttle.sampleEvery(STREAM)); // ceil(150 / 20)
+    assertEquals(1, throttle.sampledStreamCount());
+  }
+
+  @Test
+  @DisplayName("経過時間で割ってレートを求め、enter 未満なら exit を超えていても全件配信のまま")
+  void staysNormalBelowEnterRate() {
+    receive(STREAM, 75);
+    throttle.tick(500); // 0.5 * 150 = 75件/秒
+
+    assertEquals(75.0, throttle.rate(STREAM));
+    assertEquals(1, throttle.sampleEvery(STREAM));
+    assertEquals(0, throttle.sampledStreamCount());
+  }
+
+  @Test
+  @DisplayName("間引き中は exit を下回るまで解除せず、間隔だけレートに合わせて詰める")
+  void exitsSamplingOnlyBelowExitRate() {
+    receive(STREAM, 300);
+    throttle.tick(1_000); // 150
+
+    throttle.tick(1_000); // 75: enter 未満だが exit 以上
+    assertEquals(4, throttle.sampleEvery(STREAM)); // ceil(75 / 20)
+
+    throttle.tick(1_000); // 37.5
+    assertEquals(1, throttle.sampleEvery(STREAM));
+    assertEquals(0, throttle.sampledStreamCount());
+  }
+
+  @Test
+  @DisplayName("間引き中は N 件に1件だけ配信し、他の配信には影響しない")
+  void deliversEveryNthWhileSampled() {
+    receive(STREAM, 300);
+    throttle.tick(1_000); // 8件に1件
+
+    int delivered = 0;
+    for (int i = 0; i < 80; i++) {
+      if (throttle.shouldDeliver(STREAM)) delivered++;
+    }
+    assertEquals(10, delivered);
+    assertTrue(throttle.shouldDeliver(OTHER));
+  }
+
+  @Test
+  @DisplayName("十分に静かになった配信は状態ごと破棄し、forget でも破棄できる")
+  void dropsQuietAndForgottenStreams() {
+    receive(STREAM, 1);
+    receive(OTHER, 300);
+    throttle.tick(1_000); // STREAM 0.5件/秒
+
+    for (int i = 0; i < 6; i++) throttle.tick(1_000); // 0.5 / 2^6 < 0.01
+    assertEquals(0.0, throttle.rate(STREAM));
+
+    throttle.forget(OTHER);
+    assertEquals(0.0, throttle.rate(OTHER));
+    assertEquals(0, throttle.sampledStreamCount());
+  }
+
+  @Test
+  @DisplayName("経過時間が0以下の tick は何もしない")
+  void ignoresNonPositiveElapsed() {
+    receive(STREAM, 300);
+    throttle.tick(0);
+    assertEquals(0.0, throttle.rate(STREAM));
+
+    throttle.tick(1_000); // 計上分は次の tick に持ち越される
+    assertEquals(150.0, throttle.rate(STREAM));
+  }
+
+  @Test
+  @DisplayName("exitRate が enterRate を超える、または targetRate が正でなければ IllegalArgumentException")
+  void rejectsInvalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> new ChatFanoutThrottle(50, 100, 20));
+    assertThrows(IllegalArgumentException.class, () -> new ChatFanoutThrottle(100, 50, 0));
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private void receive(UUID streamId, int count) {
+    for (int i = 0; i < count; i++) throttle.record(streamId);
+  }
+}
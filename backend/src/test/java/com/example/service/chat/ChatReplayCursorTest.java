@@ -0,0 +1,57 @@
+// src/test/java/com/example/service/chat/ChatReplayCursorTest.java
+package com.example.service.chat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ChatReplayCursorTest {
+
+  // ==========================================
+  // # ChatReplayCursorTest
+  // ## 1. 位置の比較（投稿日時 → ID の符号なしバイト順）
+  // ## 2. 文字列化・復元
+  // ==========================================
+
+  static final LocalDateTime AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+  static final UUID LOW = new UUID(0x0000_0000_0000_0001L, 0L);
+  static final UUID HIGH = new UUID(0x8000_0000_0000_0000L, 0L); // 符号付き比較では負になる
+
+  @Test
+  @DisplayName("投稿日時が後ろなら ID に関係なく後ろとみなす")
+  void laterCreatedAtIsAfter() {
+    ChatReplayCursor cursor = new ChatReplayCursor(AT, HIGH);
+
+    assertTrue(cursor.isBefore(AT.plusNanos(1_000), LOW));
+    assertFalse(cursor.isBefore(AT.minusNanos(1_000), HIGH));
+  }
+
+  @Test
+  @DisplayName("同時刻は ID を BINARY(16) と同じ符号なしのバイト順で比べる（最上位ビットの立った ID は後ろ）")
+  void sameCreatedAtComparesIdUnsigned() {
+    assertTrue(new ChatReplayCursor(AT, LOW).isBefore(AT, HIGH));
+    assertFalse(new ChatReplayCursor(AT, HIGH).isBefore(AT, LOW));
+    assertFalse(new ChatReplayCursor(AT, HIGH).isBefore(AT, HIGH));
+  }
+
+  @Test
+  @DisplayName("下位 64bit も符号なしで比べる")
+  void leastSignificantBitsAreUnsigned() {
+    UUID low = new UUID(1L, 1L);
+    UUID high = new UUID(1L, -1L);
+
+    assertTrue(new ChatReplayCursor(AT, low).isBefore(AT, high));
+  }
+
+  @Test
+  @DisplayName("encode したカーソルは decode で元に戻り、不正な文字列は IllegalArgumentException")
+  void roundTripsAndRejectsMalformed() {
+    ChatReplayCursor cursor = new ChatReplayCursor(AT, HIGH);
+
+    assertEquals(cursor, ChatReplayCursor.decode(cursor.encode()));
+    assertThrows(IllegalArgumentException.class, () -> ChatReplayCursor.decode("not-a-cursor"));
+  }
+}
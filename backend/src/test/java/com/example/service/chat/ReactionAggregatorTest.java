@@ -0,0 +1,99 @@
+// src/test/java/com/example/service/chat/ReactionAggregatorTest.java
+package com.example.service.chat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ReactionAggregatorTest {
+
+  // ==========================================
+  // # ReactionAggregatorTest
+  // ## 1. リアクションの判定（絵文字のみ・定型の一語・正規化）
+  // ## 2. ウィンドウの集計（配信・リアクションごとの件数、取り出しでのリセット）
+  // ## 3. 状態の破棄・設定値の検証
+  // ==========================================
+
+  static final UUID STREAM_A = UUID.randomUUID();
+  static final UUID STREAM_B = UUID.randomUUID();
+
+  final ReactionAggregator aggregator = new ReactionAggregator(8, List.of("草", "888", "ｗｗｗ"));
+
+  @Test
+  @DisplayName("絵文字だけのメッセージは前後の空白を除いてそのままリアクションとみなす")
+  void emojiOnlyMessagesAreReactions() {
+    assertEquals("🔥", aggregator.normalize(" 🔥 "));
+    assertEquals("❤️", aggregator.normalize("❤️"));           // 異体字セレクタ付き
+    assertEquals("👍🏽", aggregator.normalize("👍🏽"));         // 肌の色
+    assertEquals("👨‍👩‍👧", aggregator.normalize("👨‍👩‍👧")); // 結合子でつないだ絵文字
+  }
+
+  @Test
+  @DisplayName("文字を含むもの・maxCodePoints を超える絵文字列・空白だけのものはリアクションとみなさない")
+  void rejectsNonReactions() {
+    assertNull(aggregator.normalize("🔥a"));
+    assertNull(aggregator.normalize("🔥".repeat(9)));
+    assertNull(aggregator.normalize("   "));
+    assertNull(aggregator.normalize(null));
+    assertEquals("🔥".repeat(8), aggregator.normalize("🔥".repeat(8)));
+  }
+
+  @Test
+  @DisplayName("定型の一語は全角半角・大文字小文字を畳んで一致させ、短いだけの普通の発言は対象外")
+  void foldsRegisteredWords() {
+    assertEquals("草", aggregator.normalize("草"));
+    assertEquals("888", aggregator.normalize("８８８"));
+    assertEquals("www", aggregator.normalize("WWW"));
+    assertNull(aggregator.normalize("ありがとう"));
+  }
+
+  @Test
+  @DisplayName("同じ配信の同じリアクションはまとめて数え、配信ごとに分けて取り出す")
+  void countsPerStreamAndReaction() {
+    for (int i = 0; i < 3; i++) assertTrue(aggregator.offer(STREAM_A, "🔥"));
+    assertTrue(aggregator.offer(STREAM_A, "ＷＷＷ"));
+    assertTrue(aggregator.offer(STREAM_A, "www"));
+    assertTrue(aggregator.offer(STREAM_B, "🔥"));
+    assertFalse(aggregator.offer(STREAM_A, "こんにちは"));
+
+    Map<UUID, Map<String, Long>> window = aggregator.drain();
+
+    assertEquals(Map.of(
+        STREAM_A, Map.of("🔥", 3L, "www", 2L),
+        STREAM_B, Map.of("🔥", 1L)), window);
+  }
+
+  @Test
+  @DisplayName("取り出すとウィンドウがリセットされ、その後の加算は次のウィンドウに計上される")
+  void drainResetsWindow() {
+    aggregator.offer(STREAM_A, "🔥");
+    aggregator.offer(STREAM_A, "🔥");
+    assertEquals(Map.of(STREAM_A, Map.of("🔥", 2L)), aggregator.drain());
+
+    assertEquals(Map.of(), aggregator.drain());
+
+    aggregator.offer(STREAM_A, "🔥");
+    assertEquals(Map.of(STREAM_A, Map.of("🔥", 1L)), aggregator.drain());
+  }
+
+  @Test
+  @DisplayName("forget した配信の集計だけを捨てる")
+  void forgetDropsOnlyThatStream() {
+    aggregator.offer(STREAM_A, "🔥");
+    aggregator.offer(STREAM_B, "草");
+
+    aggregator.forget(STREAM_A);
+
+    assertEquals(Map.of(STREAM_B, Map.of("草", 1L)), aggregator.drain());
+  }
+
+  @Test
+  @DisplayName("maxCodePoints が1未満なら IllegalArgumentException")
+  void rejectsInvalidMaxCodePoints() {
+    assertThrows(IllegalArgumentException.class, () -> new ReactionAggregator(0, List.of()));
+  }
+}
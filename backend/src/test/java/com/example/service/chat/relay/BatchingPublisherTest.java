@@ -0,0 +1,123 @@
+// src/test/java/com/example/service/chat/relay/BatchingPublisherTest.java
+package com.example.service.chat.relay;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BatchingPublisherTest {
+
+  // ==========================================
+  // # BatchingPublisherTest
+  // ## 1. 上限件数・時間経過・close でのバッチ送信
+  // ## 2. 上限到達と明示的な flush が重なっても送信順が入れ替わらない
+  // ==========================================
+
+  static final String TOPIC = RelayEnvelope.streamTopic("a");
+
+  /** publish されたバッチを記録するだけのブローカー */
+  static final class RecordingBroker implements ChatBroker {
+    final List<List<RelayEnvelope>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void publish(List<RelayEnvelope> batch) {
+      batches.add(List.copyOf(batch));
+    }
+
+    @Override
+    public Subscription subscribe(String topic, Consumer<RelayEnvelope> listener) {
+      return () -> { };
+    }
+
+    @Override
+    public void close() {
+    }
+
+    List<Long> seqs() {
+      synchronized (batches) {
+        return batches.stream().flatMap(List::stream).map(RelayEnvelope::seq).toList();
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("上限件数に達したバッチはすぐ送り、残りは close 時に送る")
+  void sendsFullBatchesAndRestOnClose() throws Exception {
+    RecordingBroker broker = new RecordingBroker();
+    BatchingPublisher publisher = new BatchingPublisher(broker, 3, 60_000);
+
+    for (int i = 1; i <= 7; i++) publisher.offer(envelope(i));
+    waitUntil(() -> broker.batches.size() == 2);
+    assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), broker.seqs());
+
+    publisher.close();
+    assertEquals(3, broker.batches.size());
+    assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), broker.seqs());
+  }
+
+  @Test
+  @DisplayName("上限に満たない分は最初の1件から lingerMs 後にまとめて送る")
+  void sendsPartialBatchAfterLinger() throws Exception {
+    RecordingBroker broker = new RecordingBroker();
+    try (BatchingPublisher publisher = new BatchingPublisher(broker, 100, 20)) {
+      publisher.offer(envelope(1));
+      publisher.offer(envelope(2));
+
+      waitUntil(() -> broker.batches.size() == 1);
+      assertEquals(List.of(List.of(envelope(1), envelope(2))), broker.batches);
+    }
+  }
+
+  @Test
+  @DisplayName("別スレッドから flush を繰り返しても、メッセージは offer した順に1回ずつ送られる")
+  void keepsOrderUnderConcurrentFlush() throws Exception {
+    RecordingBroker broker = new RecordingBroker();
+    BatchingPublisher publisher = new BatchingPublisher(broker, 7, 1);
+    AtomicBoolean done = new AtomicBoolean();
+    Thread flusher = new Thread(() -> {
+      while (!done.get()) publisher.flush();
+    });
+    flusher.start();
+
+    int n = 20_000;
+    for (int i = 1; i <= n; i++) publisher.offer(envelope(i));
+    done.set(true);
+    flusher.join();
+    publisher.close();
+
+    List<Long> seqs = broker.seqs();
+    assertEquals(n, seqs.size());
+    for (int i = 0; i < n; i++) {
+      assertEquals(i + 1, seqs.get(i), "position " + i);
+    }
+  }
+
+  @Test
+  @DisplayName("上限件数が1未満・lingerMs が負なら IllegalArgumentException")
+  void rejectsInvalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> new BatchingPublisher(new RecordingBroker(), 0, 10));
+    assertThrows(IllegalArgumentException.class, () -> new BatchingPublisher(new RecordingBroker(), 1, -1));
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private static RelayEnvelope envelope(long seq) {
+    return new RelayEnvelope(TOPIC, 1, seq, "node-1", "chat", "{}");
+  }
+
+  private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.currentTimeMillis() < deadline, "timed out");
+      Thread.sleep(5);
+    }
+  }
+}
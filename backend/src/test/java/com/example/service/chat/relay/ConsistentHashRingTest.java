@@ -0,0 +1,96 @@
+// src/test/java/com/example/service/chat/relay/ConsistentHashRingTest.java
+package com.example.service.chat.relay;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+  // ==========================================
+  // # ConsistentHashRingTest
+  // ## 1. 決定性（ノードの並び順に依存しない）と偏りの少なさ
+  // ## 2. ノードの追加・削除で担当が移るのは、追加・削除したノードの分だけ
+  // ==========================================
+
+  static final int KEYS = 20_000;
+  static final int VNODES = 128;
+
+  @Test
+  @DisplayName("同じノード集合なら並び順が違っても同じオーナーを返し、各ノードの担当はおおよそ均等")
+  void deterministicAndBalanced() {
+    List<UUID> keys = keys();
+    ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), VNODES);
+    ConsistentHashRing reordered = new ConsistentHashRing(List.of("c", "a", "b"), VNODES);
+
+    Map<String, Integer> share = new HashMap<>();
+    for (UUID key : keys) {
+      assertEquals(ring.ownerOf(key), reordered.ownerOf(key));
+      share.merge(ring.ownerOf(key), 1, Integer::sum);
+    }
+
+    assertEquals(Set.of("a", "b", "c"), share.keySet());
+    for (int n : share.values()) {
+      assertTrue(n > KEYS * 0.2 && n < KEYS * 0.47, () -> "unbalanced: " + share);
+    }
+  }
+
+  @Test
+  @DisplayName("ノードを追加すると、移るのは新しいノードへの分だけで、その量はおおよそ 1/ノード数")
+  void addingNodeOnlyMovesKeysToIt() {
+    List<UUID> keys = keys();
+    ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), VNODES);
+    ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b", "c", "d"), VNODES);
+
+    int moved = 0;
+    for (UUID key : keys) {
+      String from = before.ownerOf(key);
+      String to = after.ownerOf(key);
+      if (!from.equals(to)) {
+        assertEquals("d", to, "moved between existing nodes: " + key);
+        moved++;
+      }
+    }
+
+    assertTrue(moved > KEYS * 0.15 && moved < KEYS * 0.35, "moved=" + moved);
+  }
+
+  @Test
+  @DisplayName("ノードを外すと、移るのは外したノードが担当していた分だけ")
+  void removingNodeOnlyMovesItsKeys() {
+    ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), VNODES);
+    ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b"), VNODES);
+
+    for (UUID key : keys()) {
+      String from = before.ownerOf(key);
+      if (!from.equals("c")) {
+        assertEquals(from, after.ownerOf(key));
+      } else {
+        assertNotEquals("c", after.ownerOf(key));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("ノードが空、または仮想ノード数が1未満なら IllegalArgumentException")
+  void rejectsInvalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of(), VNODES));
+    assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of("a"), 0));
+    assertEquals("a", new ConsistentHashRing(List.of("a"), 1).ownerOf(UUID.randomUUID()));
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private static List<UUID> keys() {
+    Random rnd = new Random(11);
+    List<UUID> keys = new ArrayList<>(KEYS);
+    for (int i = 0; i < KEYS; i++) {
+      keys.add(new UUID(rnd.nextLong(), rnd.nextLong()));
+    }
+    return keys;
+  }
+}
@@ -0,0 +1,87 @@
+// src/test/java/com/example/service/chat/relay/InMemoryChatBrokerTest.java
+package com.example.service.chat.relay;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class InMemoryChatBrokerTest {
+
+  // ==========================================
+  // # InMemoryChatBrokerTest
+  // ## 1. 同じ Hub のノード間の往復（購読中のトピックだけ・バッチ内の順序どおり）
+  // ## 2. 購読解除・退出・リスナー例外の扱い
+  // ==========================================
+
+  static final String A = RelayEnvelope.streamTopic("a");
+  static final String B = RelayEnvelope.streamTopic("b");
+
+  @Test
+  @DisplayName("publish したバッチは、自ノードを含む全ノードの購読者へ購読中のトピックだけ順序どおりに届く")
+  void roundTripAcrossHub() {
+    InMemoryChatBroker.Hub hub = new InMemoryChatBroker.Hub();
+    InMemoryChatBroker node1 = hub.join();
+    InMemoryChatBroker node2 = hub.join();
+    List<RelayEnvelope> got1 = new ArrayList<>();
+    List<RelayEnvelope> got2 = new ArrayList<>();
+    node1.subscribe(A, got1::add);
+    node2.subscribe(A, got2::add);
+
+    List<RelayEnvelope> batch = List.of(envelope(A, 1), envelope(B, 1), envelope(A, 2));
+    node1.publish(batch);
+
+    assertEquals(List.of(batch.get(0), batch.get(2)), got1);
+    assertEquals(List.of(batch.get(0), batch.get(2)), got2);
+  }
+
+  @Test
+  @DisplayName("購読解除・退出したノードには届かず、単独ノードは自分にだけ配送する")
+  void unsubscribeAndClose() {
+    InMemoryChatBroker.Hub hub = new InMemoryChatBroker.Hub();
+    InMemoryChatBroker node1 = hub.join();
+    InMemoryChatBroker node2 = hub.join();
+    List<RelayEnvelope> got1 = new ArrayList<>();
+    List<RelayEnvelope> got2 = new ArrayList<>();
+    ChatBroker.Subscription sub = node1.subscribe(A, got1::add);
+    node2.subscribe(A, got2::add);
+
+    sub.unsubscribe();
+    node2.close();
+    node1.publish(List.of(envelope(A, 1)));
+    assertTrue(got1.isEmpty());
+    assertTrue(got2.isEmpty());
+
+    InMemoryChatBroker standalone = new InMemoryChatBroker();
+    List<RelayEnvelope> self = new ArrayList<>();
+    standalone.subscribe(A, self::add);
+    standalone.publish(List.of(envelope(A, 1)));
+    node1.publish(List.of(envelope(A, 2)));
+    assertEquals(List.of(envelope(A, 1)), self);
+  }
+
+  @Test
+  @DisplayName("リスナーの例外は同じトピックの他のリスナー・後続のメッセージへの配送を止めない")
+  void listenerFailureIsIsolated() {
+    InMemoryChatBroker broker = new InMemoryChatBroker();
+    List<Long> got = new ArrayList<>();
+    broker.subscribe(A, e -> {
+      throw new IllegalStateException("boom");
+    });
+    broker.subscribe(A, e -> got.add(e.seq()));
+
+    broker.publish(List.of(envelope(A, 1), envelope(A, 2)));
+
+    assertEquals(List.of(1L, 2L), got);
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  static RelayEnvelope envelope(String topic, long seq) {
+    return new RelayEnvelope(topic, 1, seq, "node-1", "chat", "{\"seq\":" + seq + "}");
+  }
+}
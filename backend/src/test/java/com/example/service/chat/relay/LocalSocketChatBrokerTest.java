@@ -0,0 +1,118 @@
+// src/test/java/com/example/service/chat/relay/LocalSocketChatBrokerTest.java
+package com.example.service.chat.relay;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LocalSocketChatBrokerTest {
+
+  // ==========================================
+  // # LocalSocketChatBrokerTest
+  // ## 1. フレームの書き出し・読み込みの往復（不正なサイズは拒否）
+  // ## 2. ループバック上の2ノード間の往復（購読中のトピックだけ・順序どおり）
+  // ==========================================
+
+  static final String A = RelayEnvelope.streamTopic("a");
+  static final String B = RelayEnvelope.streamTopic("b");
+
+  @Test
+  @DisplayName("writeFrame で書いたバッチを readFrame で同じ内容・順序で読める（マルチバイト文字を含む）")
+  void frameRoundTrip() throws IOException {
+    List<RelayEnvelope> batch = List.of(
+        new RelayEnvelope(A, 3, 1, "node-1", "chat", "{\"message\":\"草🔥\"}"),
+        new RelayEnvelope(RelayEnvelope.nodeTopic("node-2"), 3, 0, "node-1", "post", ""));
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    LocalSocketChatBroker.writeFrame(new DataOutputStream(bytes), batch);
+    List<RelayEnvelope> read = LocalSocketChatBroker.readFrame(
+        new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+    assertEquals(batch, read);
+  }
+
+  @Test
+  @DisplayName("件数が負・上限超えのフレームは IOException")
+  void rejectsInvalidFrameSize() {
+    assertThrows(IOException.class, () -> LocalSocketChatBroker.readFrame(frameOfSize(-1)));
+    assertThrows(IOException.class, () -> LocalSocketChatBroker.readFrame(frameOfSize(1 << 20)));
+  }
+
+  @Test
+  @DisplayName("publish したバッチは自ノードとピアの購読者へ、購読中のトピックだけ publish 順に届く")
+  void roundTripBetweenNodes() throws Exception {
+    int[] ports = freePorts(2);
+    try (LocalSocketChatBroker node1 = new LocalSocketChatBroker(ports[0], List.of(ports[1]));
+         LocalSocketChatBroker node2 = new LocalSocketChatBroker(ports[1], List.of(ports[0]))) {
+      BlockingQueue<RelayEnvelope> got1 = new LinkedBlockingQueue<>();
+      BlockingQueue<RelayEnvelope> got2 = new LinkedBlockingQueue<>();
+      node1.subscribe(A, got1::add);
+      node2.subscribe(A, got2::add);
+
+      List<RelayEnvelope> expected = new ArrayList<>();
+      for (int round = 0; round < 5; round++) {
+        List<RelayEnvelope> batch = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+          long seq = round * 20L + i + 1;
+          RelayEnvelope e = new RelayEnvelope(i % 4 == 0 ? B : A, 1, seq, "node-1", "chat", "{\"seq\":" + seq + "}");
+          batch.add(e);
+          if (e.topic().equals(A)) expected.add(e);
+        }
+        node1.publish(batch);
+      }
+
+      assertEquals(expected, take(got2, expected.size()));
+      assertEquals(expected, take(got1, expected.size())); // 自ノードへは publish の中で配送済み
+
+      RelayEnvelope reply = new RelayEnvelope(A, 2, 1, "node-2", "chat", "{}");
+      node2.publish(List.of(reply));
+      assertEquals(List.of(reply), take(got1, 1));
+      assertEquals(List.of(reply), take(got2, 1));
+      assertNull(got2.poll(200, TimeUnit.MILLISECONDS)); // 自ノード分は1回だけ届く
+    }
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private static DataInputStream frameOfSize(int n) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    new DataOutputStream(bytes).writeInt(n);
+    return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+  }
+
+  private static int[] freePorts(int n) throws IOException {
+    int[] ports = new int[n];
+    List<ServerSocket> sockets = new ArrayList<>();
+    try {
+      for (int i = 0; i < n; i++) {
+        ServerSocket s = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        sockets.add(s);
+        ports[i] = s.getLocalPort();
+      }
+    } finally {
+      for (ServerSocket s : sockets) s.close();
+    }
+    return ports;
+  }
+
+  private static List<RelayEnvelope> take(BlockingQueue<RelayEnvelope> queue, int n) throws InterruptedException {
+    List<RelayEnvelope> out = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      RelayEnvelope e = queue.poll(5, TimeUnit.SECONDS);
+      assertNotNull(e, "timed out after " + i + " messages");
+      out.add(e);
+    }
+    return out;
+  }
+}
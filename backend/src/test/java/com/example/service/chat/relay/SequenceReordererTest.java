@@ -0,0 +1,185 @@
+// src/test/java/com/example/service/chat/relay/SequenceReordererTest.java
+package com.example.service.chat.relay;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SequenceReordererTest {
+
+  // ==========================================
+  // # SequenceReordererTest
+  // ## 1. 連番順の配送（前後して届いた分の並べ直し・重複の破棄）
+  // ## 2. 欠番の扱い（バッファ上限・待ち時間の超過で諦める）
+  // ## 3. 送信元（ノード, 世代）ごとの独立した並べ替え（オーナー交代・再起動）・トピックの独立・状態の破棄
+  // ==========================================
+
+  static final String TOPIC = RelayEnvelope.streamTopic("a");
+
+  final List<Long> delivered = new ArrayList<>();
+
+  @Test
+  @DisplayName("前後して届いた連番は、欠番が埋まった時点でまとめて連番順に渡す")
+  void reordersOutOfOrderMessages() {
+    SequenceReorderer r = new SequenceReorderer(16, 1_000);
+
+    accept(r, TOPIC, 1, 1, 0);
+    accept(r, TOPIC, 1, 3, 0);
+    accept(r, TOPIC, 1, 4, 0);
+    assertEquals(List.of(1L), delivered);
+
+    accept(r, TOPIC, 1, 2, 0);
+    assertEquals(List.of(1L, 2L, 3L, 4L), delivered);
+  }
+
+  @Test
+  @DisplayName("最初に届いた連番から始め、配送済みより前の連番（重複・再送）は捨てる")
+  void startsFromFirstSeqAndDropsDuplicates() {
+    SequenceReorderer r = new SequenceReorderer(16, 1_000);
+
+    accept(r, TOPIC, 1, 5, 0);
+    accept(r, TOPIC, 1, 6, 0);
+    accept(r, TOPIC, 1, 6, 0);
+    accept(r, TOPIC, 1, 4, 0);
+    accept(r, TOPIC, 1, 7, 0);
+
+    assertEquals(List.of(5L, 6L, 7L), delivered);
+  }
+
+  @Test
+  @DisplayName("バッファが maxPending を超えたら欠番を諦めて進め、後から届いた欠番は捨てる")
+  void skipsGapWhenBufferOverflows() {
+    SequenceReorderer r = new SequenceReorderer(2, 60_000);
+
+    accept(r, TOPIC, 1, 1, 0);
+    accept(r, TOPIC, 1, 3, 0);
+    accept(r, TOPIC, 1, 4, 0);
+    assertEquals(List.of(1L), delivered);
+
+    accept(r, TOPIC, 1, 5, 0);
+    assertEquals(List.of(1L, 3L, 4L, 5L), delivered);
+
+    accept(r, TOPIC, 1, 2, 0);
+    accept(r, TOPIC, 1, 6, 0);
+    assertEquals(List.of(1L, 3L, 4L, 5L, 6L), delivered);
+  }
+
+  @Test
+  @DisplayName("後続が届かない静かなトピックも、止まってから gapTimeoutMs 経てば skipExpiredGaps で進める")
+  void skipExpiredGapsAdvancesQuietTopics() {
+    SequenceReorderer r = new SequenceReorderer(16, 100);
+
+    accept(r, TOPIC, 1, 1, 0);
+    accept(r, TOPIC, 1, 3, 10); // 10ms に欠番で停止
+    accept(r, TOPIC, 1, 4, 50);
+
+    r.skipExpiredGaps(109, e -> delivered.add(e.seq()));
+    assertEquals(List.of(1L), delivered);
+
+    r.skipExpiredGaps(110, e -> delivered.add(e.seq()));
+    assertEquals(List.of(1L, 3L, 4L), delivered);
+
+    r.skipExpiredGaps(10_000, e -> delivered.add(e.seq())); // 止まっていないトピックは何もしない
+    assertEquals(List.of(1L, 3L, 4L), delivered);
+  }
+
+  @Test
+  @DisplayName("待ち時間の超過は次の受信でも判定し、先の欠番で止まり直したら待ち時間を数え直す")
+  void acceptSkipsExpiredGapAndRestartsTimer() {
+    SequenceReorderer r = new SequenceReorderer(16, 100);
+
+    accept(r, TOPIC, 1, 1, 0);
+    accept(r, TOPIC, 1, 3, 10);
+    accept(r, TOPIC, 1, 5, 120); // 3 の手前の欠番を諦める → 3 を渡して 5 の手前で止まり直す
+    assertEquals(List.of(1L, 3L), delivered);
+
+    r.skipExpiredGaps(200, e -> delivered.add(e.seq()));
+    assertEquals(List.of(1L, 3L), delivered);
+
+    r.skipExpiredGaps(220, e -> delivered.add(e.seq()));
+    assertEquals(List.of(1L, 3L, 5L), delivered);
+  }
+
+  @Test
+  @DisplayName("新しい世代は最初の連番から配送し、古い世代の残りも古い世代の連番順に配送する")
+  void newEpochStartsItsOwnSequence() {
+    SequenceReorderer r = new SequenceReorderer(16, 1_000);
+
+    accept(r, TOPIC, "node-1", 1, 1, 0);
+    accept(r, TOPIC, "node-1", 1, 3, 0); // 欠番待ちのまま世代交代
+    accept(r, TOPIC, "node-1", 2, 1, 0);
+    accept(r, TOPIC, "node-1", 1, 2, 0);
+    accept(r, TOPIC, "node-1", 2, 2, 0);
+
+    assertEquals(List.of(1L, 1L, 2L, 3L, 2L), delivered);
+  }
+
+  @Test
+  @DisplayName("起動の早い（世代の小さい）ノードへオーナーが移っても、新しいオーナーの連番を捨てずに配送する")
+  void handoffToOlderNodeIsDelivered() {
+    SequenceReorderer r = new SequenceReorderer(16, 1_000);
+
+    accept(r, TOPIC, "node-1", 500, 1, 0);
+    accept(r, TOPIC, "node-1", 500, 2, 0);
+    accept(r, TOPIC, "node-2", 100, 1, 0);
+    accept(r, TOPIC, "node-2", 100, 2, 0);
+    accept(r, TOPIC, "node-2", 100, 2, 0); // 重複は捨てる
+
+    assertEquals(List.of(1L, 2L, 1L, 2L), delivered);
+  }
+
+  @Test
+  @DisplayName("送信元が上限を超えたら、最も長く届いていない送信元のバッファを連番順に吐き出して捨てる")
+  void evictsLeastRecentSource() {
+    SequenceReorderer r = new SequenceReorderer(16, 60_000);
+
+    accept(r, TOPIC, "node-0", 1, 1, 0);
+    accept(r, TOPIC, "node-0", 1, 3, 0); // 欠番待ち
+    for (int i = 1; i < SequenceReorderer.MAX_SOURCES; i++) {
+      accept(r, TOPIC, "node-" + i, 1, 10, 0);
+    }
+    assertEquals(1 + SequenceReorderer.MAX_SOURCES - 1, delivered.size());
+
+    accept(r, TOPIC, "node-9", 1, 20, 0);
+    assertEquals(List.of(3L, 20L), delivered.subList(delivered.size() - 2, delivered.size()));
+  }
+
+  @Test
+  @DisplayName("トピックごとに独立して並べ直し、forget したトピックは次に届いた連番から始め直す")
+  void topicsAreIndependentAndForgettable() {
+    SequenceReorderer r = new SequenceReorderer(16, 1_000);
+    String other = RelayEnvelope.streamTopic("b");
+
+    accept(r, TOPIC, 1, 1, 0);
+    accept(r, TOPIC, 1, 3, 0);
+    accept(r, other, 1, 1, 0);
+    accept(r, other, 1, 2, 0);
+    assertEquals(List.of(1L, 1L, 2L), delivered);
+
+    r.forget(TOPIC);
+    accept(r, TOPIC, 1, 10, 0);
+    assertEquals(List.of(1L, 1L, 2L, 10L), delivered);
+  }
+
+  @Test
+  @DisplayName("maxPending・gapTimeoutMs が1未満なら IllegalArgumentException")
+  void rejectsInvalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> new SequenceReorderer(0, 100));
+    assertThrows(IllegalArgumentException.class, () -> new SequenceReorderer(1, 0));
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private void accept(SequenceReorderer r, String topic, long epoch, long seq, long now) {
+    accept(r, topic, "node-1", epoch, seq, now);
+  }
+
+  private void accept(SequenceReorderer r, String topic, String origin, long epoch, long seq, long now) {
+    r.accept(new RelayEnvelope(topic, epoch, seq, origin, "chat", "{}"), now, e -> delivered.add(e.seq()));
+  }
+}
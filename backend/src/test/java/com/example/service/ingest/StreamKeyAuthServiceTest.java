@@ -0,0 +1,91 @@
+// src/test/java/com/example/service/ingest/StreamKeyAuthServiceTest.java
+package com.example.service.ingest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.example.config.IngestProperties;
+import com.example.entity.LiveStream;
+import com.example.entity.User;
+import com.example.repository.LiveStreamRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class StreamKeyAuthServiceTest {
+
+  // ==========================================
+  // # StreamKeyAuthServiceTest
+  // ## 1. キャッシュにないキーの照会は送信元ごとに制限する（総当たりは DB を引かずに拒否し、他の送信元は締め出さない）
+  // ## 2. ネガティブキャッシュにあるキーの照会し直しはノード全体でも制限する
+  // ==========================================
+
+  static final String INGEST = "10.0.0.10";
+  static final String ATTACKER = "198.51.100.1";
+
+  LiveStreamRepository repository;
+  StreamKeyAuthService service;
+  LiveStream stream;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(LiveStreamRepository.class);
+    given(repository.findByStreamKey(anyString())).willReturn(Optional.empty());
+
+    User owner = new User("owner", "owner@example.com");
+    ReflectionTestUtils.setField(owner, "id", UUID.randomUUID());
+    stream = new LiveStream("title", null, null, LocalDateTime.now().plusHours(1), owner);
+    ReflectionTestUtils.setField(stream, "id", UUID.randomUUID());
+
+    IngestProperties props = new IngestProperties();
+    props.setNegativeRechecksPerSecond(0.001);
+    props.setNegativeRecheckBurst(1);
+    props.setLookupsPerSecondPerSource(0.001);
+    props.setLookupBurstPerSource(5);
+    service = new StreamKeyAuthService(repository, props, new SimpleMeterRegistry());
+  }
+
+  @Test
+  @DisplayName("異なる無効キーでの総当たりは送信元の上限を超えたら DB を引かずに拒否し、他の送信元の正規のキーは認可する")
+  void randomKeysAreThrottledPerSource() {
+    for (int i = 0; i < 1_000; i++) {
+      String key = UUID.randomUUID().toString();
+      assertThrows(NoSuchElementException.class, () -> service.authorize(key, ATTACKER));
+    }
+    verify(repository, times(5)).findByStreamKey(anyString());
+
+    given(repository.findByStreamKey(stream.getStreamKey())).willReturn(Optional.of(stream));
+    assertThrows(NoSuchElementException.class, () -> service.authorize(stream.getStreamKey(), ATTACKER));
+    assertEquals(stream.getId(), service.authorize(stream.getStreamKey(), INGEST).getLiveStreamId());
+    // キャッシュに載った有効キーは送信元の上限に関係なく認可する
+    assertEquals(stream.getId(), service.authorize(stream.getStreamKey(), ATTACKER).getLiveStreamId());
+    verify(repository, times(6)).findByStreamKey(anyString());
+  }
+
+  @Test
+  @DisplayName("ネガティブキャッシュにあるキーは流量制限の範囲でだけ照会し直し、超えた分は照会せずに拒否する")
+  void negativeKeysAreRecheckedWithinBudget() {
+    String key = stream.getStreamKey();
+    assertThrows(NoSuchElementException.class, () -> service.authorize(key, INGEST));
+
+    // 他ノードで有効になった: 1回目の照会し直しで拾う
+    given(repository.findByStreamKey(key)).willReturn(Optional.of(stream));
+    assertEquals(stream.getId(), service.authorize(key, INGEST).getLiveStreamId());
+    assertEquals(stream.getId(), service.authorize(key, INGEST).getLiveStreamId()); // 以降はキャッシュ
+    verify(repository, times(2)).findByStreamKey(key);
+
+    String unknown = "unknown-key";
+    assertThrows(NoSuchElementException.class, () -> service.authorize(unknown, INGEST)); // 初回は照会
+    for (int i = 0; i < 10; i++) {
+      assertThrows(NoSuchElementException.class, () -> service.authorize(unknown, INGEST));
+    }
+    verify(repository, times(1)).findByStreamKey(unknown);
+  }
+}
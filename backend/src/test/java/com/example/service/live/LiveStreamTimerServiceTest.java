@@ -0,0 +1,125 @@
+// src/test/java/com/example/service/live/LiveStreamTimerServiceTest.java
+package com.example.service.live;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.example.config.LiveTimerProperties;
+import com.example.entity.LiveStream;
+import com.example.enums.StreamStatus;
+import com.example.repository.LiveStreamRepository;
+import com.example.service.LiveStreamService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+class LiveStreamTimerServiceTest {
+
+  // ==========================================
+  // # LiveStreamTimerServiceTest
+  // ## 1. 遷移の対象外だった配信（他ノードで予定変更・ハートビート受信済み）は DB の状態からタイマーを張り直す
+  // ## 2. 遷移が反映された配信は張り直さない
+  // ==========================================
+
+  static final UUID ID = UUID.randomUUID();
+
+  LiveStreamRepository liveStreamRepository;
+  LiveStreamService liveStreamService;
+  LiveTimerProperties props;
+  LiveStreamTimerService service;
+
+  @BeforeEach
+  void setUp() {
+    liveStreamRepository = mock(LiveStreamRepository.class);
+    liveStreamService = mock(LiveStreamService.class);
+    props = new LiveTimerProperties();
+    // 1ms 刻み・猶予なしにして、期限切れのタイマーを次の tick で発火させる
+    props.setTickMs(1);
+    props.setReminderLeadMinutes(0);
+    props.setNoShowGraceMinutes(0);
+    props.setHeartbeatTimeoutMs(60_000);
+    service = new LiveStreamTimerService(liveStreamRepository, liveStreamService,
+        mock(ApplicationEventPublisher.class), props, new SimpleMeterRegistry());
+  }
+
+  @Test
+  @DisplayName("自動キャンセルの対象外だった配信は張り直し、次の tick で再び判定する")
+  void skippedNoShowIsRearmed() throws InterruptedException {
+    LiveStream overdue = scheduled(LocalDateTime.now().minusHours(1));
+    given(liveStreamRepository.findAllByStatusIn(any())).willReturn(List.of(overdue));
+    given(liveStreamRepository.findById(ID)).willReturn(Optional.of(overdue));
+    // 1回目は他ノードの更新と重なって対象外、2回目で自動キャンセルされる
+    given(liveStreamService.cancelNoShows(anyCollection(), any())).willReturn(List.of(), List.of(ID));
+
+    service.rebuild();
+    tickAfterDeadline();
+    tickAfterDeadline();
+    tickAfterDeadline();
+
+    verify(liveStreamService, times(2)).cancelNoShows(eq(List.of(ID)), any());
+    verify(liveStreamRepository, times(1)).findById(ID);
+  }
+
+  @Test
+  @DisplayName("自動終了の対象外だった配信は DB の最終ハートビートから張り直し、ハートビートで延長できる")
+  void skippedHeartbeatTimeoutIsRearmed() {
+    LiveStream stale = live(LocalDateTime.now().minusHours(1));
+    LiveStream alive = live(LocalDateTime.now());
+    given(liveStreamRepository.findAllByStatusIn(any())).willReturn(List.of(stale));
+    given(liveStreamRepository.findById(ID)).willReturn(Optional.of(alive));
+    given(liveStreamService.closeAbandoned(anyCollection(), any())).willReturn(List.of());
+    given(liveStreamRepository.recordHeartbeat(eq(ID), any())).willReturn(1);
+
+    service.rebuild(); // 最終ハートビートが古いため即座に期限切れ → 他ノードが受信済みで対象外
+
+    verify(liveStreamService).closeAbandoned(eq(List.of(ID)), any());
+    assertTrue(service.touch(ID), "HEARTBEAT timer must be re-armed");
+  }
+
+  @Test
+  @DisplayName("自動終了が反映された配信は張り直さない")
+  void appliedTransitionIsNotRearmed() {
+    LiveStream stale = live(LocalDateTime.now().minusHours(1));
+    given(liveStreamRepository.findAllByStatusIn(any())).willReturn(List.of(stale));
+    given(liveStreamService.closeAbandoned(anyCollection(), any())).willReturn(List.of(ID));
+    given(liveStreamRepository.recordHeartbeat(eq(ID), any())).willReturn(1);
+
+    service.rebuild();
+
+    verify(liveStreamRepository, never()).findById(any());
+    assertFalse(service.touch(ID));
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private void tickAfterDeadline() throws InterruptedException {
+    Thread.sleep(5);
+    service.tick();
+  }
+
+  private static LiveStream scheduled(LocalDateTime scheduledAt) {
+    LiveStream stream = mock(LiveStream.class);
+    given(stream.getId()).willReturn(ID);
+    given(stream.getStatus()).willReturn(StreamStatus.SCHEDULED);
+    given(stream.getScheduledAt()).willReturn(scheduledAt);
+    return stream;
+  }
+
+  private static LiveStream live(LocalDateTime lastHeartbeatAt) {
+    LiveStream stream = mock(LiveStream.class);
+    given(stream.getId()).willReturn(ID);
+    given(stream.getStatus()).willReturn(StreamStatus.LIVE);
+    given(stream.getStartedAt()).willReturn(lastHeartbeatAt.minusHours(1));
+    given(stream.getLastHeartbeatAt()).willReturn(lastHeartbeatAt);
+    return stream;
+  }
+}
@@ -0,0 +1,94 @@
+// src/test/java/com/example/service/presence/LivePresenceServiceTest.java
+package com.example.service.presence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.example.config.PresenceProperties;
+import com.example.service.live.LiveStreamRegistry;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LivePresenceServiceTest {
+
+  // ==========================================
+  // # LivePresenceServiceTest
+  // ## 1. 匿名視聴者は (送信元アドレス, clientId) で数え、水増しはアドレスごとの流量で抑える
+  // ## 2. ログインユーザーはユーザーIDで数える
+  // ## 3. 異常系（clientId なし・配信中でない）
+  // ==========================================
+
+  LiveStreamRegistry registry;
+  PresenceProperties props;
+  LivePresenceService service;
+  UUID streamId = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    registry = mock(LiveStreamRegistry.class);
+    given(registry.isLive(any())).willReturn(false);
+    given(registry.isLive(streamId)).willReturn(true);
+    props = new PresenceProperties();
+    props.setAnonymousHeartbeatsPerSecond(0.001);
+    props.setAnonymousHeartbeatBurst(4);
+    service = new LivePresenceService(registry, props);
+  }
+
+  @Test
+  @DisplayName("同じアドレスから clientId を変えて送り続けても、流量を超えた分は数えない")
+  void anonymousHeartbeatsAreRateLimitedPerAddress() {
+    for (int i = 0; i < 1_000; i++) {
+      service.heartbeat(streamId, null, UUID.randomUUID().toString(), "203.0.113.7");
+    }
+
+    assertEquals(4, service.uniqueViewers(streamId));
+    assertEquals(4, service.getPresence(streamId).getCurrentViewers());
+
+    for (int i = 0; i < 1_000; i++) {
+      service.heartbeat(streamId, null, UUID.randomUUID().toString(), "198.51.100." + (i % 10));
+    }
+    assertEquals(44, service.uniqueViewers(streamId));
+  }
+
+  @Test
+  @DisplayName("同じアドレス（NAT・プロキシの内側）の別々の clientId は、流量の範囲内なら全員を別の視聴者として数える")
+  void anonymousViewersBehindOneAddressAreCountedSeparately() {
+    props.setAnonymousHeartbeatsPerSecond(1_000);
+    props.setAnonymousHeartbeatBurst(1_000);
+    service = new LivePresenceService(registry, props);
+
+    for (int i = 0; i < 500; i++) {
+      service.heartbeat(streamId, null, "client-" + i, "10.0.0.1");
+    }
+
+    assertEquals(500, service.uniqueViewers(streamId));
+    assertEquals(500, service.getPresence(streamId).getCurrentViewers());
+  }
+
+  @Test
+  @DisplayName("同じ clientId の再送は同じ視聴者として数え、ログインユーザーはアドレスに関係なくユーザーIDで数える")
+  void viewerIdentity() {
+    service.heartbeat(streamId, null, "client-1", "203.0.113.7");
+    service.heartbeat(streamId, null, "client-1", "203.0.113.7");
+    assertEquals(1, service.uniqueViewers(streamId));
+
+    UUID userId = UUID.randomUUID();
+    service.heartbeat(streamId, userId, null, "203.0.113.7");
+    service.heartbeat(streamId, userId, "ignored", "192.0.2.1");
+    assertEquals(2, service.uniqueViewers(streamId));
+  }
+
+  @Test
+  @DisplayName("匿名で clientId がない・長すぎる場合は IllegalArgumentException、配信中でなければ NoSuchElementException")
+  void rejectsInvalidHeartbeats() {
+    assertThrows(IllegalArgumentException.class, () -> service.heartbeat(streamId, null, null, "203.0.113.7"));
+    assertThrows(IllegalArgumentException.class, () -> service.heartbeat(streamId, null, "x".repeat(65), "203.0.113.7"));
+    assertThrows(NoSuchElementException.class,
+        () -> service.heartbeat(UUID.randomUUID(), null, "client-1", "203.0.113.7"));
+    assertEquals(0, service.uniqueViewers(UUID.randomUUID()));
+  }
+}
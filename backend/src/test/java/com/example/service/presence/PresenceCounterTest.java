@@ -0,0 +1,102 @@
+// src/test/java/com/example/service/presence/PresenceCounterTest.java
+package com.example.service.presence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PresenceCounterTest {
+
+  // ==========================================
+  // # PresenceCounterTest
+  // ## 1. 正確モード（重複・TTL 切れ）
+  // ## 2. 近似モードへの切り替えと正確モードへの復帰
+  // ## 3. 復帰準備中に閾値を超えても、準備前からの視聴者を落とさない
+  // ## 4. 累計ユニーク視聴者数
+  // ==========================================
+
+  static final int THRESHOLD = 100;
+  static final long TTL = 30_000;
+  static final long BUCKET = 5_000;
+
+  @Test
+  @DisplayName("閾値以下では視聴者ごとに正確に数え、同じ視聴者の再送は1人、TTL を過ぎたら離脱とみなす")
+  void exactCounting() {
+    PresenceCounter c = counter();
+    c.heartbeat("a", 0);
+    c.heartbeat("b", 0);
+    c.heartbeat("a", 10_000);
+
+    assertEquals(2, c.concurrent(10_000));
+    assertEquals(1, c.concurrent(TTL + 1)); // b だけ離脱
+    assertEquals(0, c.concurrent(10_000 + TTL + 1));
+    assertFalse(c.isApproximate());
+    assertEquals(2, c.uniqueViewers());
+  }
+
+  @Test
+  @DisplayName("閾値を超えたら近似に切り替え、少なくなったら TTL 分の準備を経て正確モードへ戻る")
+  void switchesToApproximateAndBack() {
+    PresenceCounter c = counter();
+    for (int i = 0; i < 300; i++) c.heartbeat("v" + i, 0);
+
+    assertTrue(c.isApproximate());
+    assertEquals(300, c.concurrent(0), 300 * 0.1);
+
+    // 全員が離脱 → 推定が閾値の半分を下回り、復帰準備を始める
+    long t = TTL + BUCKET + 1;
+    for (int i = 0; i < 20; i++) c.heartbeat("w" + i, t);
+    assertEquals(20, c.concurrent(t), 3);
+    assertTrue(c.isApproximate());
+
+    long later = t + TTL;
+    for (int i = 0; i < 20; i++) c.heartbeat("w" + i, later);
+    assertEquals(20, c.concurrent(later));
+    assertFalse(c.isApproximate());
+  }
+
+  @Test
+  @DisplayName("復帰準備中に閾値を超えたら準備をやめ、準備を始める前からいる視聴者も数え続ける")
+  void warmUpOverflowKeepsEarlierViewers() {
+    PresenceCounter c = counter();
+    for (int i = 0; i < 300; i++) c.heartbeat("a" + i, 0);
+
+    long t = TTL + BUCKET + 1;                // 最初の 300 人は離脱済み
+    for (int i = 0; i < 40; i++) c.heartbeat("c" + i, t);
+    assertEquals(40, c.concurrent(t), 4);     // 閾値の半分未満 → 復帰準備を開始（c はまだ準備中の集計にいない）
+
+    long t2 = t + 1_000;
+    for (int i = 0; i < THRESHOLD + 1; i++) c.heartbeat("d" + i, t2);
+
+    assertTrue(c.isApproximate());
+    assertEquals(141, c.concurrent(t2), 141 * 0.1);
+  }
+
+  @Test
+  @DisplayName("累計ユニーク視聴者数は閾値までは正確に、超えたら推定値で数える")
+  void uniqueViewers() {
+    PresenceCounter c = counter();
+    for (int i = 0; i < THRESHOLD; i++) c.heartbeat("v" + i, i);
+    for (int i = 0; i < THRESHOLD; i++) c.heartbeat("v" + i, 1_000 + i);
+    assertEquals(THRESHOLD, c.uniqueViewers());
+
+    for (int i = 0; i < 5_000; i++) c.heartbeat("x" + i, 2_000);
+    assertEquals(5_100, c.uniqueViewers(), 5_100 * 0.1);
+  }
+
+  @Test
+  @DisplayName("設定が不正（閾値・TTL・バケットが1未満、バケットが TTL より長い）なら IllegalArgumentException")
+  void rejectsInvalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> new PresenceCounter(0, TTL, BUCKET, 12));
+    assertThrows(IllegalArgumentException.class, () -> new PresenceCounter(THRESHOLD, TTL, TTL + 1, 12));
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private static PresenceCounter counter() {
+    return new PresenceCounter(THRESHOLD, TTL, BUCKET, 12);
+  }
+}
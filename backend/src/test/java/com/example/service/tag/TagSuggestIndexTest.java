@@ -0,0 +1,175 @@
+// src/test/java/com/example/service/tag/TagSuggestIndexTest.java
+package com.example.service.tag;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.example.config.TagProperties;
+import com.example.dto.tags.TagSuggestionDTO;
+import com.example.entity.Tag;
+import com.example.event.TagLifecycleEvent;
+import com.example.event.TagUsageChangedEvent;
+import com.example.repository.LiveStreamTagRepository;
+import com.example.repository.TagRepository;
+import com.example.repository.VideoTagRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class TagSuggestIndexTest {
+
+  // ==========================================
+  // # TagSuggestIndexTest
+  // ## 1. 読み込み後は正規化（NFKC・小文字・前後の空白）した前方一致を利用件数の多い順に返す
+  // ## 2. 読み込み前は DB の前方一致で返す
+  // ## 3. タグの作成・改名・削除と利用件数の増減を反映する
+  // ## 4. 作り直し中の増減は集計より後に届いた分だけを流し直す
+  // ==========================================
+
+  TagRepository tagRepository;
+  VideoTagRepository videoTagRepository;
+  LiveStreamTagRepository liveStreamTagRepository;
+  TagSuggestIndex index;
+  List<Tag> tags = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    tagRepository = mock(TagRepository.class);
+    videoTagRepository = mock(VideoTagRepository.class);
+    liveStreamTagRepository = mock(LiveStreamTagRepository.class);
+    given(tagRepository.findAll()).willReturn(tags);
+    index = new TagSuggestIndex(tagRepository, videoTagRepository, liveStreamTagRepository, new TagProperties());
+  }
+
+  @Test
+  @DisplayName("動画・配信の利用件数を合算した多い順に返し、入力は全角・大文字・前後の空白を揃えて照合する")
+  void suggestsByUsageWithNormalizedPrefix() {
+    Tag java = tag("Java");
+    Tag javascript = tag("JavaScript");
+    Tag jazz = tag("ｊａｚｚ"); // 全角
+    given(videoTagRepository.countGroupByTag()).willReturn(rows(java.getId(), 3L, javascript.getId(), 4L));
+    given(liveStreamTagRepository.countGroupByTag()).willReturn(rows(java.getId(), 2L));
+    index.reload();
+
+    List<TagSuggestionDTO> got = index.suggest("  ＪＡ", 10);
+
+    assertEquals(List.of(java.getId(), javascript.getId(), jazz.getId()), ids(got));
+    assertEquals(5L, got.get(0).getUsageCount());
+    assertEquals("ｊａｚｚ", got.get(2).getName()); // 表示名はそのまま
+    assertEquals(List.of(java.getId()), ids(index.suggest("java", 1)));
+  }
+
+  @Test
+  @DisplayName("読み込み前は DB の前方一致（名前順・利用件数 0）で返す")
+  void fallsBackToDatabaseBeforeLoad() {
+    Tag java = tag("Java");
+    given(tagRepository.findByNameStartingWithIgnoreCase(eq("ja"), any(Pageable.class))).willReturn(List.of(java));
+
+    List<TagSuggestionDTO> got = index.suggest(" ja ", 5);
+
+    assertEquals(List.of(java.getId()), ids(got));
+    assertEquals(0L, got.get(0).getUsageCount());
+  }
+
+  @Test
+  @DisplayName("作成・改名・削除と利用件数の増減のイベントを索引へ反映する")
+  void appliesEvents() {
+    given(videoTagRepository.countGroupByTag()).willReturn(List.of());
+    given(liveStreamTagRepository.countGroupByTag()).willReturn(List.of());
+    Tag go = tag("Go");
+    index.reload();
+
+    Tag golf = tag("Golf");
+    given(tagRepository.findById(golf.getId())).willReturn(Optional.of(golf));
+    index.onTagChanged(new TagLifecycleEvent(golf.getId(), TagLifecycleEvent.Type.CREATED));
+    index.onUsageChanged(new TagUsageChangedEvent(Map.of(golf.getId(), 2L)));
+    assertEquals(List.of(golf.getId(), go.getId()), ids(index.suggest("go", 10)));
+
+    golf.rename("Tennis", null);
+    index.onTagChanged(new TagLifecycleEvent(golf.getId(), TagLifecycleEvent.Type.UPDATED));
+    assertEquals(List.of(go.getId()), ids(index.suggest("go", 10)));
+    assertEquals(2L, index.suggest("te", 10).get(0).getUsageCount()); // 改名しても件数は引き継ぐ
+
+    index.onTagChanged(new TagLifecycleEvent(go.getId(), TagLifecycleEvent.Type.DELETED));
+    assertEquals(List.of(), index.suggest("go", 10));
+  }
+
+  @Test
+  @DisplayName("作り直しの集計中に届いた増減（集計に含まれる）は足さず、集計後に届いた増減は新しい索引へ流し直す")
+  void reloadReplaysOnlyDeltasAfterSnapshot() {
+    Tag java = tag("Java");
+    given(videoTagRepository.countGroupByTag()).willReturn(rows(java.getId(), 3L));
+    given(liveStreamTagRepository.countGroupByTag()).willReturn(List.of());
+    index.reload();
+
+    // 集計中に届いた +1 は集計（4件）に含まれている
+    given(videoTagRepository.countGroupByTag()).willAnswer(inv -> {
+      index.onUsageChanged(new TagUsageChangedEvent(Map.of(java.getId(), 1L)));
+      return rows(java.getId(), 4L);
+    });
+    // 集計後（タグ一覧の読み込み中）に届いた +2 は集計に含まれていない
+    given(tagRepository.findAll()).willAnswer(inv -> {
+      index.onUsageChanged(new TagUsageChangedEvent(Map.of(java.getId(), 2L)));
+      return tags;
+    });
+    index.reload();
+
+    assertEquals(6L, index.suggest("ja", 10).get(0).getUsageCount());
+    index.onUsageChanged(new TagUsageChangedEvent(Map.of(java.getId(), 1L)));
+    assertEquals(7L, index.suggest("ja", 10).get(0).getUsageCount());
+  }
+
+  @Test
+  @DisplayName("作り直しの読み込み中に削除されたタグは、差し替え後の索引に残さない")
+  void reloadReappliesTagChanges() {
+    Tag java = tag("Java");
+    given(videoTagRepository.countGroupByTag()).willReturn(List.of());
+    given(liveStreamTagRepository.countGroupByTag()).willReturn(List.of());
+    given(tagRepository.findById(java.getId())).willReturn(Optional.empty());
+    given(tagRepository.findAll()).willAnswer(inv -> {
+      List<Tag> snapshot = List.copyOf(tags); // 削除前の一覧
+      index.onTagChanged(new TagLifecycleEvent(java.getId(), TagLifecycleEvent.Type.DELETED));
+      return snapshot;
+    });
+
+    index.reload();
+
+    assertEquals(List.of(), index.suggest("ja", 10));
+  }
+
+  @Test
+  @DisplayName("canonicalName は NFKC と前後の空白の除去だけを行い、大文字小文字は残す")
+  void canonicalName() {
+    assertEquals("Java Script", TagSuggestIndex.canonicalName("　Ｊａｖａ Script "));
+    assertEquals("java script", TagSuggestIndex.normalize("　Ｊａｖａ Script "));
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private Tag tag(String name) {
+    Tag t = new Tag(name, name.toLowerCase());
+    ReflectionTestUtils.setField(t, "id", UUID.randomUUID());
+    tags.add(t);
+    return t;
+  }
+
+  private static List<Object[]> rows(Object... idAndCounts) {
+    List<Object[]> rows = new ArrayList<>();
+    for (int i = 0; i < idAndCounts.length; i += 2) rows.add(new Object[]{idAndCounts[i], idAndCounts[i + 1]});
+    return rows;
+  }
+
+  private static List<UUID> ids(List<TagSuggestionDTO> suggestions) {
+    return suggestions.stream().map(TagSuggestionDTO::getId).toList();
+  }
+}
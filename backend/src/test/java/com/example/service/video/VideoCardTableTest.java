@@ -0,0 +1,120 @@
+// src/test/java/com/example/service/video/VideoCardTableTest.java
+package com.example.service.video;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.dto.videos.PublicVideoResponseDTO;
+import com.example.dto.videos.UploaderDTO;
+import com.example.util.concurrent.DeltaAccumulator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import java.util.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class VideoCardTableTest {
+
+  // ==========================================
+  // # VideoCardTableTest
+  // ## 1. JSON の書き出しが PublicVideoResponseDTO の配列と同じになること
+  // ##    （UTF-8 のバイト列へ書く場合と文字列へ書く場合・枠に入らない文字列・null・投稿者なし）
+  // ## 2. 上書き・削除・再生数の加算
+  // ==========================================
+
+  final ObjectMapper om = new ObjectMapper().findAndRegisterModules();
+  VideoCardTable table;
+  UploaderDTO alice;
+
+  @BeforeEach
+  void setUp() {
+    table = new VideoCardTable(16);
+    alice = UploaderDTO.builder().id(UUID.randomUUID()).name("アリス \"A\"").profileImagePath(null).build();
+    table.putUploader(alice);
+  }
+
+  @Test
+  @DisplayName("cards の JSON は DTO 配列の JSON と一致する（バイト列・文字列の両方）")
+  void cardsJsonMatchesDtoJson() throws Exception {
+    List<UUID> ids = new ArrayList<>();
+    ids.add(put("ふつうのタイトル", "futsuu", "thumbs/a.png", 10, alice.getId()));
+    ids.add(put("絵文字🔥と\"引用符\"と\\改行\n", "s".repeat(121), "t".repeat(161), 0, alice.getId())); // 枠外
+    ids.add(put("あ".repeat(50), null, null, Long.MAX_VALUE, alice.getId()));                            // 枠ちょうど・null
+    ids.add(put("", "", "", 3, UUID.randomUUID()));                                                       // 投稿者なし
+    ids.add(UUID.randomUUID());                                                                           // 未登録は除く
+
+    List<PublicVideoResponseDTO> dtos = new ArrayList<>();
+    for (UUID id : ids) table.get(id).ifPresent(dtos::add);
+    assertEquals(4, dtos.size());
+    JsonNode expected = om.readTree(om.writeValueAsBytes(dtos));
+
+    VideoCardTable.Cards cards = table.cards(ids);
+    assertEquals(expected, om.readTree(om.writeValueAsBytes(cards)));
+    assertEquals(expected, om.readTree(om.writeValueAsString(cards)));
+    assertEquals("s".repeat(121), dtos.get(1).getSlug());
+    assertNull(dtos.get(3).getUploader());
+  }
+
+  @Test
+  @DisplayName("上書きで枠外の文字列が枠内に戻っても古い値を返さず、削除したスロットは再利用される")
+  void overwriteAndRemove() {
+    UUID id = put("a", "s".repeat(200), "t", 1, alice.getId());
+    put(id, "b", "short", "t", 2, alice.getId());
+    assertEquals("short", table.get(id).orElseThrow().getSlug());
+
+    table.remove(id);
+    assertTrue(table.get(id).isEmpty());
+    assertEquals(0, table.size());
+    assertTrue(table.cards(List.of(id)).isEmpty());
+
+    UUID other = put("c", "x".repeat(130), "t", 5, alice.getId());
+    assertEquals("x".repeat(130), table.get(other).orElseThrow().getSlug());
+    assertEquals(1, table.size());
+  }
+
+  @Test
+  @DisplayName("再生数の書き換え・加算は登録済みの動画だけに反映する")
+  void viewsUpdates() {
+    UUID id = put("a", "a", "t", 10, alice.getId());
+    UUID missing = UUID.randomUUID();
+    table.setViews(id, 100);
+    DeltaAccumulator<UUID> pending = new DeltaAccumulator<>();
+    pending.add(id, 5);
+    pending.add(id, 2);
+    pending.add(missing, 9);
+
+    table.addViews(pending);
+
+    assertEquals(107L, table.get(id).orElseThrow().getViewsCount());
+    assertTrue(table.get(missing).isEmpty());
+    assertEquals(0, pending.size());
+  }
+
+  @Test
+  @DisplayName("公開日時はミリ秒精度で往復し、未設定なら空")
+  void publishedAtRoundTrip() {
+    LocalDateTime at = LocalDateTime.of(2024, 2, 29, 23, 59, 58, 123_000_000);
+    UUID id = UUID.randomUUID();
+    table.put(id, "a", "a", null, 0, at, alice.getId());
+    UUID none = UUID.randomUUID();
+    table.put(none, "b", "b", null, 0, null, alice.getId());
+
+    assertEquals(Optional.of(at), table.publishedAt(id));
+    assertEquals(Optional.empty(), table.publishedAt(none));
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private UUID put(String title, String slug, String thumbnail, long views, UUID uploaderId) {
+    UUID id = UUID.randomUUID();
+    put(id, title, slug, thumbnail, views, uploaderId);
+    return id;
+  }
+
+  private void put(UUID id, String title, String slug, String thumbnail, long views, UUID uploaderId) {
+    table.put(id, title, slug, thumbnail, views, LocalDateTime.now(), uploaderId);
+  }
+}
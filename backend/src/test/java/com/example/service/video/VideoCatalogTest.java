@@ -0,0 +1,133 @@
+// src/test/java/com/example/service/video/VideoCatalogTest.java
+package com.example.service.video;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.example.config.VideoCatalogProperties;
+import com.example.event.VideoViewedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+class VideoCatalogTest {
+
+  // ==========================================
+  // # VideoCatalogTest
+  // ## 1. 同順位の並びとしての id 昇順はカタログで答え、id 降順などはフォールバックする
+  // ## 2. 再生数の読み直しで他ノードの再生数を取り込み、人気順が変わる（上書きした行の反映待ちは二重に足さない）
+  // ==========================================
+
+  static final LocalDateTime AT = LocalDateTime.of(2024, 5, 1, 12, 0);
+  // 符号付き比較と符号なし比較で順序が逆になる ID
+  static final UUID LOW = new UUID(0x0000_0000_0000_0001L, 0);
+  static final UUID HIGH = new UUID(0x8000_0000_0000_0000L, 0);
+
+  JdbcTemplate jdbcTemplate;
+  VideoCatalog catalog;
+  List<Object[]> videoRows = new ArrayList<>();
+  List<Object[]> viewRows = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = mock(JdbcTemplate.class);
+    given(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).willAnswer(inv -> {
+      String sql = inv.getArgument(0);
+      RowMapper<?> mapper = inv.getArgument(1);
+      List<Object[]> source = sql.startsWith("SELECT id, views_count") ? viewRows : videoRows;
+      List<Object> out = new ArrayList<>();
+      for (int i = 0; i < source.size(); i++) out.add(mapper.mapRow(resultSet(source.get(i)), i));
+      return out;
+    });
+    VideoCatalogProperties props = new VideoCatalogProperties();
+    props.setLoadChunkSize(1_000);
+    catalog = new VideoCatalog(jdbcTemplate, props, new SimpleMeterRegistry());
+  }
+
+  @Test
+  @DisplayName("並び順の末尾の id 昇順はカタログで答え、同順位は ID の符号なし比較で並ぶ")
+  void idTieBreakIsServedFromCatalog() {
+    UUID user = UUID.randomUUID();
+    videoRows.add(new Object[]{HIGH, user, Timestamp.valueOf(AT), 5L, null});
+    videoRows.add(new Object[]{LOW, user, Timestamp.valueOf(AT), 5L, null});
+    catalog.rebuild();
+
+    Sort byPublished = Sort.by(Sort.Direction.DESC, "publishedAt").and(Sort.by("id"));
+    VideoColumns.Result result = catalog.query(VideoColumns.Filter.none(), PageRequest.of(0, 10, byPublished))
+        .orElseThrow();
+    assertEquals(List.of(LOW, HIGH), result.videoIds());
+
+    Sort idDesc = Sort.by(Sort.Direction.DESC, "publishedAt").and(Sort.by(Sort.Direction.DESC, "id"));
+    assertTrue(catalog.query(VideoColumns.Filter.none(), PageRequest.of(0, 10, idDesc)).isEmpty());
+  }
+
+  @Test
+  @DisplayName("refreshViews は DB の再生数で上書きし、人気順に反映する")
+  void refreshViewsUpdatesPopularOrder() {
+    UUID user = UUID.randomUUID();
+    videoRows.add(new Object[]{LOW, user, Timestamp.valueOf(AT), 10L, 30});
+    videoRows.add(new Object[]{HIGH, user, Timestamp.valueOf(AT), 1L, 30});
+    catalog.rebuild();
+    Sort byViews = Sort.by(Sort.Direction.DESC, "viewsCount").and(Sort.by("id"));
+    assertEquals(List.of(LOW, HIGH),
+        catalog.query(VideoColumns.Filter.none(), PageRequest.of(0, 10, byViews)).orElseThrow().videoIds());
+
+    viewRows.add(new Object[]{LOW, 10L});
+    viewRows.add(new Object[]{HIGH, 50L});
+    viewRows.add(new Object[]{UUID.randomUUID(), 99L}); // カタログにない動画は無視
+    catalog.refreshViews();
+
+    assertEquals(List.of(HIGH, LOW),
+        catalog.query(VideoColumns.Filter.none(), PageRequest.of(0, 10, byViews)).orElseThrow().videoIds());
+  }
+
+  @Test
+  @DisplayName("refreshViews で DB の値（このノードの再生を含む）に上書きした行は、反映待ちの再生数を足さない")
+  void refreshViewsDropsPendingViewsForOverwrittenRows() {
+    UUID user = UUID.randomUUID();
+    videoRows.add(new Object[]{LOW, user, Timestamp.valueOf(AT), 6L, 30});
+    videoRows.add(new Object[]{HIGH, user, Timestamp.valueOf(AT), 5L, 30});
+    catalog.rebuild();
+
+    // HIGH の再生は DB に加算済み（6）で、イベントの分がまだ反映待ち
+    catalog.onVideoViewed(new VideoViewedEvent(HIGH));
+    viewRows.add(new Object[]{LOW, 6L});
+    viewRows.add(new Object[]{HIGH, 6L});
+    catalog.refreshViews();
+    catalog.flushViews();
+
+    Sort byViews = Sort.by(Sort.Direction.DESC, "viewsCount").and(Sort.by("id"));
+    assertEquals(List.of(LOW, HIGH), // 同数なので ID 順（二重に足すと HIGH が 7 で先頭になる）
+        catalog.query(VideoColumns.Filter.none(), PageRequest.of(0, 10, byViews)).orElseThrow().videoIds());
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  /** 列番号（1始まり）→ 値の ResultSet */
+  private static ResultSet resultSet(Object[] columns) throws SQLException {
+    ResultSet rs = mock(ResultSet.class);
+    for (int i = 0; i < columns.length; i++) {
+      Object value = columns[i];
+      given(rs.getObject(i + 1)).willReturn(value);
+      if (value instanceof Timestamp t) given(rs.getTimestamp(i + 1)).willReturn(t);
+      if (value instanceof Number n) given(rs.getLong(i + 1)).willReturn(n.longValue());
+    }
+    return rs;
+  }
+}
@@ -0,0 +1,200 @@
+// src/test/java/com/example/service/video/VideoColumnsTest.java
+package com.example.service.video;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class VideoColumnsTest {
+
+  // ==========================================
+  // # VideoColumnsTest
+  // ## 1. 絞り込み（投稿者・公開日時/再生数/長さの範囲）と該当件数
+  // ## 2. 並べ替え・上位 N 件の切り出し（同順位は動画IDの符号なし昇順、未設定は昇順で先頭）
+  // ## 3. 追加・削除を繰り返した表をナイーブな並べ替えと突き合わせる
+  // ==========================================
+
+  record Row(UUID id, UUID user, LocalDateTime published, long views, Integer duration) {
+  }
+
+  static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  @Test
+  @DisplayName("投稿者で絞り込み、該当件数は offset / limit に関係なく全件を数える")
+  void filterByUser() {
+    VideoColumns columns = new VideoColumns(0);
+    UUID alice = UUID.randomUUID();
+    UUID bob = UUID.randomUUID();
+    for (int i = 0; i < 10; i++) {
+      columns.put(new UUID(0, i), i % 3 == 0 ? alice : bob, T0.plusMinutes(i), i, null);
+    }
+    List<VideoColumns.Order> newest = List.of(new VideoColumns.Order(VideoColumns.SortKey.PUBLISHED_AT, true));
+
+    VideoColumns.Result r = columns.query(VideoColumns.Filter.byUser(alice), newest, 1, 2);
+
+    assertEquals(4, r.total());
+    assertEquals(List.of(new UUID(0, 6), new UUID(0, 3)), r.videoIds());
+    assertEquals(0, columns.query(VideoColumns.Filter.byUser(UUID.randomUUID()), newest, 0, 10).total());
+    assertEquals(10, columns.query(VideoColumns.Filter.none(), newest, 8, 10).total());
+    assertEquals(2, columns.query(VideoColumns.Filter.none(), newest, 8, 10).videoIds().size());
+    assertTrue(columns.query(VideoColumns.Filter.none(), newest, 20, 10).videoIds().isEmpty());
+  }
+
+  @Test
+  @DisplayName("公開日時は [from, before)、再生数・長さは両端を含む範囲で絞り込み、範囲指定のある列の未設定は含めない")
+  void filterByRanges() {
+    VideoColumns columns = new VideoColumns(0);
+    UUID user = UUID.randomUUID();
+    for (int i = 0; i < 10; i++) {
+      columns.put(new UUID(0, i), user, i == 9 ? null : T0.plusDays(i), i * 10, i == 8 ? null : i * 60);
+    }
+    List<VideoColumns.Order> oldest = List.of(new VideoColumns.Order(VideoColumns.SortKey.PUBLISHED_AT, false));
+
+    VideoColumns.Filter published = VideoColumns.Filter.none().publishedBetween(T0.plusDays(2), T0.plusDays(5));
+    assertEquals(List.of(new UUID(0, 2), new UUID(0, 3), new UUID(0, 4)),
+        columns.query(published, oldest, 0, 10).videoIds());
+    assertEquals(9, columns.query(VideoColumns.Filter.none().publishedBetween(null, T0.plusYears(1)), oldest, 0, 10)
+        .total());
+
+    VideoColumns.Filter views = VideoColumns.Filter.none().viewsBetween(30L, 50L);
+    assertEquals(List.of(new UUID(0, 3), new UUID(0, 4), new UUID(0, 5)), columns.query(views, oldest, 0, 10).videoIds());
+
+    VideoColumns.Filter duration = VideoColumns.Filter.byUser(user).durationBetween(420, null);
+    assertEquals(List.of(new UUID(0, 9), new UUID(0, 7)), columns.query(duration, oldest, 0, 10).videoIds());
+    assertEquals(9, columns.query(VideoColumns.Filter.none().durationBetween(null, 1_000), oldest, 0, 10).total());
+
+    VideoColumns.Filter all = VideoColumns.Filter.none()
+        .publishedBetween(T0, T0.plusDays(7)).viewsBetween(10L, null).durationBetween(null, 300);
+    assertEquals(5, columns.query(all, oldest, 0, 10).total());
+  }
+
+  @Test
+  @DisplayName("同順位は動画IDの符号なし昇順（上位 64bit が負の ID は後ろ）、未設定の長さは昇順で先頭")
+  void tieBreakAndMissingValues() {
+    VideoColumns columns = new VideoColumns(0);
+    UUID user = UUID.randomUUID();
+    UUID high = new UUID(-1L, 0);       // 符号なしでは最大
+    UUID low = new UUID(1L, 5);
+    UUID lower = new UUID(1L, -2L);     // 下位 64bit も符号なしで比べる
+    columns.put(high, user, T0, 5, 60);
+    columns.put(low, user, T0, 5, 60);
+    columns.put(lower, user, T0, 5, null);
+
+    List<VideoColumns.Order> views = List.of(new VideoColumns.Order(VideoColumns.SortKey.VIEWS_COUNT, true));
+    assertEquals(List.of(low, lower, high), columns.query(VideoColumns.Filter.none(), views, 0, 10).videoIds());
+
+    List<VideoColumns.Order> shortest = List.of(new VideoColumns.Order(VideoColumns.SortKey.DURATION, false));
+    assertEquals(List.of(lower, low, high), columns.query(VideoColumns.Filter.none(), shortest, 0, 10).videoIds());
+  }
+
+  @Test
+  @DisplayName("再生数の加算・削除・同じ ID の上書きが並びに反映される")
+  void updatesAffectOrder() {
+    VideoColumns columns = new VideoColumns(0);
+    UUID user = UUID.randomUUID();
+    UUID a = new UUID(0, 1);
+    UUID b = new UUID(0, 2);
+    UUID c = new UUID(0, 3);
+    columns.put(a, user, T0, 10, null);
+    columns.put(b, user, T0, 20, null);
+    columns.put(c, user, T0, 30, null);
+    List<VideoColumns.Order> popular = List.of(new VideoColumns.Order(VideoColumns.SortKey.VIEWS_COUNT, true));
+
+    columns.addViews(a, 25);
+    columns.remove(c);
+    columns.put(b, user, T0, 1, null);
+
+    assertEquals(2, columns.size());
+    assertEquals(List.of(a, b), columns.query(VideoColumns.Filter.none(), popular, 0, 10).videoIds());
+    columns.addViews(c, 100); // 削除済みは無視
+    assertEquals(List.of(a, b), columns.query(VideoColumns.Filter.none(), popular, 0, 10).videoIds());
+  }
+
+  @Test
+  @DisplayName("追加・削除を繰り返した表（バッチ境界をまたぐ件数）で、ナイーブな絞り込み・並べ替えと一致する")
+  void matchesNaiveSort() {
+    Random rnd = new Random(3);
+    VideoColumns columns = new VideoColumns(0);
+    Map<UUID, Row> model = new HashMap<>();
+    List<UUID> users = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < VideoColumns.BATCH * 2 + 100; i++) {
+      ids.add(new UUID(rnd.nextLong(), rnd.nextLong()));
+    }
+    for (int step = 0; step < 15_000; step++) {
+      UUID id = ids.get(rnd.nextInt(ids.size()));
+      if (rnd.nextInt(5) == 0) {
+        columns.remove(id);
+        model.remove(id);
+      } else {
+        Row row = new Row(id, users.get(rnd.nextInt(users.size())),
+            rnd.nextInt(10) == 0 ? null : T0.plusSeconds(rnd.nextInt(50)),
+            rnd.nextInt(20), rnd.nextInt(10) == 0 ? null : rnd.nextInt(30));
+        columns.put(row.id(), row.user(), row.published(), row.views(), row.duration());
+        model.put(id, row);
+      }
+    }
+    assertEquals(model.size(), columns.size());
+
+    for (int q = 0; q < 200; q++) {
+      UUID user = rnd.nextBoolean() ? null : users.get(rnd.nextInt(users.size()));
+      LocalDateTime from = rnd.nextInt(3) == 0 ? T0.plusSeconds(rnd.nextInt(50)) : null;
+      LocalDateTime before = rnd.nextInt(3) == 0 ? T0.plusSeconds(rnd.nextInt(50)) : null;
+      Long minViews = rnd.nextInt(3) == 0 ? (long) rnd.nextInt(20) : null;
+      Long maxViews = rnd.nextInt(3) == 0 ? (long) rnd.nextInt(20) : null;
+      Integer minDuration = rnd.nextInt(3) == 0 ? rnd.nextInt(30) : null;
+      Integer maxDuration = rnd.nextInt(3) == 0 ? rnd.nextInt(30) : null;
+      VideoColumns.Filter filter = new VideoColumns.Filter(
+          user, from, before, minViews, maxViews, minDuration, maxDuration);
+      List<VideoColumns.Order> orders = new ArrayList<>();
+      List<VideoColumns.SortKey> keys = new ArrayList<>(List.of(VideoColumns.SortKey.values()));
+      Collections.shuffle(keys, rnd);
+      for (int k = 0; k <= rnd.nextInt(keys.size()); k++) {
+        orders.add(new VideoColumns.Order(keys.get(k), rnd.nextBoolean()));
+      }
+      int offset = rnd.nextInt(300);
+      int limit = 1 + rnd.nextInt(100);
+
+      List<UUID> expected = model.values().stream()
+          .filter(r -> user == null || r.user().equals(user))
+          .filter(r -> (from == null && before == null) || r.published() != null
+              && (from == null || !r.published().isBefore(from)) && (before == null || r.published().isBefore(before)))
+          .filter(r -> (minViews == null || r.views() >= minViews) && (maxViews == null || r.views() <= maxViews))
+          .filter(r -> (minDuration == null && maxDuration == null) || r.duration() != null
+              && (minDuration == null || r.duration() >= minDuration)
+              && (maxDuration == null || r.duration() <= maxDuration))
+          .sorted(comparator(orders))
+          .map(Row::id)
+          .toList();
+      VideoColumns.Result actual = columns.query(filter, orders, offset, limit);
+
+      assertEquals(expected.size(), actual.total(), "query " + q);
+      assertEquals(expected.subList(Math.min(offset, expected.size()), Math.min(offset + limit, expected.size())),
+          actual.videoIds(), "query " + q);
+    }
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private static Comparator<Row> comparator(List<VideoColumns.Order> orders) {
+    Comparator<Row> c = (a, b) -> 0;
+    for (VideoColumns.Order o : orders) {
+      Comparator<Row> key = Comparator.comparingLong(r -> switch (o.key()) {
+        case PUBLISHED_AT -> r.published() == null ? Long.MIN_VALUE
+            : r.published().toInstant(java.time.ZoneOffset.UTC).toEpochMilli();
+        case VIEWS_COUNT -> r.views();
+        case DURATION -> r.duration() == null ? Long.MIN_VALUE : r.duration();
+      });
+      c = c.thenComparing(o.descending() ? key.reversed() : key);
+    }
+    return c.thenComparing((a, b) -> {
+      int hi = Long.compareUnsigned(a.id().getMostSignificantBits(), b.id().getMostSignificantBits());
+      return hi != 0 ? hi : Long.compareUnsigned(a.id().getLeastSignificantBits(), b.id().getLeastSignificantBits());
+    });
+  }
+}
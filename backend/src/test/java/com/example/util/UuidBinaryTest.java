@@ -0,0 +1,55 @@
+// src/test/java/com/example/util/UuidBinaryTest.java
+package com.example.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class UuidBinaryTest {
+
+  // ==========================================
+  // # UuidBinaryTest
+  // ## 1. UUID ⇔ BINARY(16) のバイト列の往復（ドライバが UUID のまま返す場合も）
+  // ## 2. compareUnsigned はバイト列の符号なし辞書順（MySQL の BINARY の比較）と一致する
+  // ==========================================
+
+  @Test
+  @DisplayName("toBytes は上位 64bit → 下位 64bit のビッグエンディアンで、toUuid で元に戻る")
+  void roundTrip() {
+    UUID id = UUID.fromString("01234567-89ab-cdef-fedc-ba9876543210");
+    byte[] bytes = UuidBinary.toBytes(id);
+
+    assertEquals(16, bytes.length);
+    assertEquals((byte) 0x01, bytes[0]);
+    assertEquals((byte) 0x10, bytes[15]);
+    assertEquals(id, UuidBinary.toUuid(bytes));
+    assertSame(id, UuidBinary.toUuid(id));
+  }
+
+  @Test
+  @DisplayName("compareUnsigned の順はバイト列の符号なし比較と同じで、符号付きの UUID.compareTo とは異なる")
+  void compareUnsignedMatchesBinaryOrder() {
+    UUID low = new UUID(0x0000_0000_0000_0001L, 0);
+    UUID high = new UUID(0x8000_0000_0000_0000L, 0);
+    assertTrue(UuidBinary.compareUnsigned(low, high) < 0);
+    assertTrue(low.compareTo(high) > 0);
+
+    Random random = new Random(7);
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 200; i++) ids.add(new UUID(random.nextLong(), random.nextLong()));
+    ids.add(new UUID(5, -1));
+    ids.add(new UUID(5, 1));
+    for (UUID a : ids) {
+      for (UUID b : ids) {
+        assertEquals(Integer.signum(Arrays.compareUnsigned(UuidBinary.toBytes(a), UuidBinary.toBytes(b))),
+            Integer.signum(UuidBinary.compareUnsigned(a, b)));
+      }
+    }
+  }
+}
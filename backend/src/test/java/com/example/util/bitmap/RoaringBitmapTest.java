@@ -0,0 +1,161 @@
+// src/test/java/com/example/util/bitmap/RoaringBitmapTest.java
+package com.example.util.bitmap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class RoaringBitmapTest {
+
+  // ==========================================
+  // # RoaringBitmapTest
+  // ## 1. 配列コンテナとビット列コンテナの切り替え（4096 件の境界）
+  // ## 2. 上位16ビットが大きい値（Integer.MAX_VALUE 付近）
+  // ## 3. and / or / andNot / andCardinality をナイーブな集合と突き合わせる（空の結果を含む）
+  // ==========================================
+
+  @Test
+  @DisplayName("4096 件までは配列、4097 件目でビット列になり、4096 件に戻ると配列に戻る")
+  void arrayBitmapConversion() {
+    RoaringBitmap b = new RoaringBitmap();
+    for (int v = 0; v < RoaringBitmap.ARRAY_MAX; v++) b.add(v * 3);
+    assertFalse(isBits(b));
+    assertEquals(RoaringBitmap.ARRAY_MAX, b.cardinality());
+
+    assertFalse(b.add(0));
+    assertTrue(b.add(1));
+    assertTrue(isBits(b));
+    assertEquals(RoaringBitmap.ARRAY_MAX + 1, b.cardinality());
+    assertTrue(b.contains(1));
+    assertTrue(b.contains(3 * (RoaringBitmap.ARRAY_MAX - 1)));
+    assertFalse(b.contains(2));
+
+    assertFalse(b.remove(2));
+    assertTrue(b.remove(1));
+    assertFalse(isBits(b));
+    assertEquals(RoaringBitmap.ARRAY_MAX, b.cardinality());
+    int[] values = b.toArray();
+    for (int i = 0; i < values.length; i++) assertEquals(i * 3, values[i]);
+    assertArrayEquals(new int[] {3 * (RoaringBitmap.ARRAY_MAX - 1), 3 * (RoaringBitmap.ARRAY_MAX - 2)},
+        b.descending(0, 2));
+  }
+
+  @Test
+  @DisplayName("上位16ビットが大きい値も昇順・降順を保ち、負の値は格納できない")
+  void highKeys() {
+    RoaringBitmap b = RoaringBitmap.of(Integer.MAX_VALUE, 0x7FFF_0000, 5, 0x0001_0000);
+
+    assertArrayEquals(new int[] {5, 0x0001_0000, 0x7FFF_0000, Integer.MAX_VALUE}, b.toArray());
+    assertArrayEquals(new int[] {Integer.MAX_VALUE, 0x7FFF_0000, 0x0001_0000}, b.descending(0, 3));
+    assertArrayEquals(new int[] {0x0001_0000, 5}, b.descending(2, 10));
+    assertTrue(b.contains(Integer.MAX_VALUE));
+    assertFalse(b.contains(-1));
+    assertFalse(b.remove(-1));
+    assertThrows(IllegalArgumentException.class, () -> b.add(-1));
+
+    assertTrue(b.remove(Integer.MAX_VALUE));
+    assertTrue(b.remove(0x7FFF_0000));
+    assertArrayEquals(new int[] {5, 0x0001_0000}, b.toArray());
+  }
+
+  @Test
+  @DisplayName("共通部分のない and・自分自身との andNot は空で、件数も 0")
+  void emptyResults() {
+    RoaringBitmap a = RoaringBitmap.of(1, 2, 3);
+    RoaringBitmap b = RoaringBitmap.of(4, 0x0001_0000);
+    RoaringBitmap empty = new RoaringBitmap();
+
+    assertTrue(RoaringBitmap.and(a, b).isEmpty());
+    assertEquals(0, RoaringBitmap.andCardinality(a, b));
+    assertTrue(RoaringBitmap.andNot(a, a).isEmpty());
+    assertTrue(RoaringBitmap.and(a, empty).isEmpty());
+    assertArrayEquals(a.toArray(), RoaringBitmap.or(a, empty).toArray());
+    assertArrayEquals(a.toArray(), RoaringBitmap.andNot(a, empty).toArray());
+    assertEquals(0, empty.cardinality());
+    assertArrayEquals(new int[0], empty.descending(0, 10));
+    assertArrayEquals(new int[0], a.descending(5, 10));
+
+    // ビット列同士の and で 4096 件以下になった結果も空として扱う
+    RoaringBitmap evens = new RoaringBitmap();
+    RoaringBitmap odds = new RoaringBitmap();
+    for (int v = 0; v < 20_000; v++) (v % 2 == 0 ? evens : odds).add(v);
+    assertTrue(RoaringBitmap.and(evens, odds).isEmpty());
+    assertTrue(RoaringBitmap.andNot(evens, evens).isEmpty());
+  }
+
+  @Test
+  @DisplayName("疎・密を混ぜた集合の and / or / andNot / andCardinality がナイーブな集合と一致し、引数は変えない")
+  void setOperationsMatchNaive() {
+    Random random = new Random(42);
+    for (int round = 0; round < 20; round++) {
+      TreeSet<Integer> sa = new TreeSet<>();
+      TreeSet<Integer> sb = new TreeSet<>();
+      RoaringBitmap a = new RoaringBitmap();
+      RoaringBitmap b = new RoaringBitmap();
+      fill(random, sa, a);
+      fill(random, sb, b);
+      int[] beforeA = a.toArray();
+      int[] beforeB = b.toArray();
+
+      TreeSet<Integer> and = new TreeSet<>(sa);
+      and.retainAll(sb);
+      TreeSet<Integer> or = new TreeSet<>(sa);
+      or.addAll(sb);
+      TreeSet<Integer> andNot = new TreeSet<>(sa);
+      andNot.removeAll(sb);
+
+      assertArrayEquals(toArray(and), RoaringBitmap.and(a, b).toArray());
+      assertArrayEquals(toArray(or), RoaringBitmap.or(a, b).toArray());
+      assertArrayEquals(toArray(andNot), RoaringBitmap.andNot(a, b).toArray());
+      assertEquals(and.size(), RoaringBitmap.andCardinality(a, b));
+      assertEquals(or.size(), RoaringBitmap.or(a, b).cardinality());
+      assertArrayEquals(beforeA, a.toArray());
+      assertArrayEquals(beforeB, b.toArray());
+    }
+  }
+
+  @Test
+  @DisplayName("copy は独立した集合を返す")
+  void copyIsIndependent() {
+    RoaringBitmap a = new RoaringBitmap();
+    for (int v = 0; v < 5_000; v++) a.add(v);
+    RoaringBitmap c = a.copy();
+    c.remove(0);
+    c.add(1 << 20);
+
+    assertEquals(5_000, a.cardinality());
+    assertTrue(a.contains(0));
+    assertFalse(a.contains(1 << 20));
+    assertEquals(5_000, c.cardinality());
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  /** 先頭のコンテナがビット列か */
+  private static boolean isBits(RoaringBitmap bitmap) {
+    Object[] containers = (Object[]) ReflectionTestUtils.getField(bitmap, "containers");
+    return ReflectionTestUtils.getField(containers[0], "bits") != null;
+  }
+
+  /** コンテナ 0〜3 に、疎（配列）と密（ビット列）が混ざるように値を入れる */
+  private static void fill(Random random, TreeSet<Integer> naive, RoaringBitmap bitmap) {
+    for (int hi = 0; hi < 4; hi++) {
+      int n = random.nextBoolean() ? random.nextInt(50) : 4_000 + random.nextInt(8_000);
+      for (int i = 0; i < n; i++) {
+        int v = (hi << 16) | random.nextInt(1 << 14);
+        naive.add(v);
+        bitmap.add(v);
+      }
+    }
+  }
+
+  private static int[] toArray(TreeSet<Integer> set) {
+    return set.stream().mapToInt(Integer::intValue).toArray();
+  }
+}
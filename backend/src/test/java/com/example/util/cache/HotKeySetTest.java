@@ -0,0 +1,141 @@
+// src/test/java/com/example/util/cache/HotKeySetTest.java
+package com.example.util.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.util.sketch.ConcurrentCountMinSketch;
+import com.example.util.sketch.CountMinSketch;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HotKeySetTest {
+
+  // ==========================================
+  // # HotKeySetTest
+  // ## 1. 閾値での昇格・閾値を跨いだキーの昇格・値の有効期限
+  // ## 2. 減衰（半減）と、昇格・降格の閾値を分けたヒステリシス
+  // ## 3. 満杯のときは最も冷えたホットキーより頻度が高い場合だけ入れ替える
+  // ==========================================
+
+  @Test
+  @DisplayName("推定頻度が promoteThreshold に達したアクセスで昇格する")
+  void promotesAtThreshold() {
+    HotKeySet<String, String> keys = new HotKeySet<>(1024, 3, 1, 16);
+
+    keys.touch("a", 0);
+    keys.touch("a", 0);
+    assertEquals(0, keys.size());
+
+    keys.touch("a", 0);
+    assertEquals(List.of("a"), hotKeys(keys));
+    assertEquals(1, keys.promotionCount());
+  }
+
+  @Test
+  @DisplayName("推定値が閾値を飛び越えた（2 のべき乗でない）キーも、空きがあれば昇格する")
+  void promotesKeyThatSkippedThreshold() {
+    HotKeySet<String, String> keys = new HotKeySet<>(1, 3, 1, 16);
+    for (int i = 0; i < 5; i++) keys.touch("a", 0);
+    // 幅の小さいスケッチで "a" と全行のカウンタを共有するキー（最初のアクセスで推定値 6）
+    String colliding = collidingKey("a", 5);
+
+    keys.touch(colliding, 0);
+
+    assertTrue(hotKeys(keys).contains(colliding), "colliding key must be promoted");
+  }
+
+  @Test
+  @DisplayName("ホットキーにだけ値を置け、有効期限まで返す。invalidate は値だけ捨ててホットキーのまま")
+  void offerAndExpiry() {
+    HotKeySet<String, String> keys = new HotKeySet<>(1024, 1, 0, 16);
+    keys.offer("cold", "v", 100);
+    assertNull(keys.touch("cold", 0)); // 1回目のアクセスで昇格するが、値は置かれていない
+
+    keys.offer("cold", "v", 100);
+    assertEquals("v", keys.touch("cold", 99));
+    assertNull(keys.touch("cold", 100));
+
+    keys.offer("cold", "v", 200);
+    keys.invalidate("cold");
+    assertNull(keys.touch("cold", 0));
+    assertEquals(1, keys.size());
+  }
+
+  @Test
+  @DisplayName("decay で推定頻度を半分にする")
+  void decayHalvesFrequency() {
+    HotKeySet<String, String> keys = new HotKeySet<>(1024, 3, 0, 16);
+    for (int i = 0; i < 10; i++) keys.touch("a", 0);
+
+    keys.decay();
+    assertEquals(5, keys.snapshot().get(0).frequency());
+    keys.decay();
+    assertEquals(2, keys.snapshot().get(0).frequency());
+  }
+
+  @Test
+  @DisplayName("昇格閾値を下回っても降格閾値までは残り、降格後は昇格閾値まで戻らないと再昇格しない")
+  void hysteresisBetweenThresholds() {
+    HotKeySet<String, String> keys = new HotKeySet<>(1024, 4, 2, 16);
+    for (int i = 0; i < 4; i++) keys.touch("a", 0);
+
+    keys.decay(); // 4 → 2：昇格閾値未満だが降格閾値以上
+    assertEquals(1, keys.size());
+
+    keys.decay(); // 2 → 1：降格
+    assertEquals(0, keys.size());
+    assertEquals(1, keys.demotionCount());
+
+    keys.touch("a", 0); // 2
+    keys.touch("a", 0); // 3
+    assertEquals(0, keys.size());
+    keys.touch("a", 0); // 4
+    assertEquals(List.of("a"), hotKeys(keys));
+    assertEquals(2, keys.promotionCount());
+  }
+
+  @Test
+  @DisplayName("満杯なら最も冷えたホットキーより頻度が高いときだけ入れ替え、同じ頻度では入れ替えない")
+  void fullSetReplacesColdest() {
+    HotKeySet<String, String> keys = new HotKeySet<>(1024, 3, 1, 2);
+    for (int i = 0; i < 3; i++) keys.touch("cold", 0);
+    for (int i = 0; i < 6; i++) keys.touch("warm", 0);
+
+    for (int i = 0; i < 4; i++) keys.touch("new", 0); // 4 > cold(3) で入れ替え
+    assertEquals(List.of("warm", "new"), hotKeys(keys));
+    assertEquals(1, keys.demotionCount());
+
+    for (int i = 0; i < 4; i++) keys.touch("late", 0); // 4 は new(4) を上回らない
+    assertEquals(List.of("warm", "new"), hotKeys(keys));
+    assertEquals(3, keys.promotionCount());
+  }
+
+  @Test
+  @DisplayName("閾値・上限件数の不正値は IllegalArgumentException")
+  void rejectsInvalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> new HotKeySet<String, String>(1024, 0, 0, 16));
+    assertThrows(IllegalArgumentException.class, () -> new HotKeySet<String, String>(1024, 3, 4, 16));
+    assertThrows(IllegalArgumentException.class, () -> new HotKeySet<String, String>(1024, 3, -1, 16));
+    assertThrows(IllegalArgumentException.class, () -> new HotKeySet<String, String>(1024, 3, 1, 0));
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  /** 推定頻度の高い順のホットキー */
+  private static List<String> hotKeys(HotKeySet<String, String> keys) {
+    return keys.snapshot().stream().map(HotKeySet.HotKey::key).toList();
+  }
+
+  /** 幅1（2列）のスケッチで、key を count 回数えた後に推定値が count になる別のキーを探す */
+  private static String collidingKey(String key, int count) {
+    ConcurrentCountMinSketch probe = new ConcurrentCountMinSketch(1);
+    for (int i = 0; i < count; i++) probe.increment(CountMinSketch.hash(key));
+    for (int i = 0; ; i++) {
+      String candidate = key + "-" + i;
+      if (probe.estimate(CountMinSketch.hash(candidate)) == count) return candidate;
+    }
+  }
+}
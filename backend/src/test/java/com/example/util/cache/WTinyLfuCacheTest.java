@@ -0,0 +1,129 @@
+// src/test/java/com/example/util/cache/WTinyLfuCacheTest.java
+package com.example.util.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class WTinyLfuCacheTest {
+
+  // ==========================================
+  // # WTinyLfuCacheTest
+  // ## 1. 参照・置き換え・破棄と有効期限
+  // ## 2. バイト数の上限による追い出し（上限の半分を超える値は保持しない）
+  // ## 3. 頻度による入場判定（一度きりのアクセスが人気のエントリを押し出さない）
+  // ==========================================
+
+  /** 1エントリの重み（値 100 バイト + 管理分 96 バイト） */
+  static final int WEIGHT = 196;
+
+  @Test
+  @DisplayName("入れた値を返し、同じキーに入れ直すと置き換えて重みを二重に数えない")
+  void putGetAndReplace() {
+    WTinyLfuCache<String> cache = new WTinyLfuCache<>(10_000, 1_000, 100);
+
+    cache.put("a", bytes(100, 1), 0);
+    cache.put("a", bytes(100, 2), 0);
+
+    assertEquals(2, cache.get("a", 0)[0]);
+    assertNull(cache.get("b", 0));
+    assertEquals(1, cache.size());
+    assertEquals(WEIGHT, cache.weightedSize());
+  }
+
+  @Test
+  @DisplayName("有効期限ちょうどで期限切れとして取り除き、件数に数える")
+  void expiresAtTtl() {
+    WTinyLfuCache<String> cache = new WTinyLfuCache<>(10_000, 100, 100);
+    cache.put("a", bytes(100, 1), 0);
+
+    assertNotNull(cache.get("a", 99));
+    assertNull(cache.get("a", 100));
+
+    assertEquals(1, cache.expirationCount());
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.weightedSize());
+  }
+
+  @Test
+  @DisplayName("invalidate・clear で取り除く")
+  void invalidateAndClear() {
+    WTinyLfuCache<String> cache = new WTinyLfuCache<>(10_000, 1_000, 100);
+    cache.put("a", bytes(100, 1), 0);
+    cache.put("b", bytes(100, 1), 0);
+
+    cache.invalidate("a");
+    assertNull(cache.get("a", 0));
+    assertNotNull(cache.get("b", 0));
+
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.weightedSize());
+  }
+
+  @Test
+  @DisplayName("保持するバイト数は上限を超えず、溢れた分を追い出しとして数える")
+  void staysWithinByteBudget() {
+    WTinyLfuCache<Integer> cache = new WTinyLfuCache<>(10_000, 60_000, 100);
+
+    for (int i = 0; i < 200; i++) {
+      cache.put(i, bytes(100, i), 0);
+      assertTrue(cache.weightedSize() <= 10_000, "weightedSize");
+    }
+
+    assertEquals(200 - cache.size(), cache.evictionCount());
+    assertEquals((long) cache.size() * WEIGHT, cache.weightedSize());
+  }
+
+  @Test
+  @DisplayName("上限の半分を超える値は保持しない")
+  void rejectsOversizedValues() {
+    WTinyLfuCache<String> cache = new WTinyLfuCache<>(10_000, 1_000, 100);
+
+    cache.put("big", bytes(5_000, 1), 0);
+
+    assertNull(cache.get("big", 0));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  @DisplayName("よく参照されるエントリは、一度きりのキーが大量に入っても押し出されない")
+  void frequentEntriesSurviveScan() {
+    WTinyLfuCache<String> cache = new WTinyLfuCache<>(10_000, 60_000, 100);
+    for (int i = 0; i < 20; i++) {
+      cache.put("hot-" + i, bytes(100, i), 0);
+    }
+    for (int round = 0; round < 10; round++) {
+      for (int i = 0; i < 20; i++) cache.get("hot-" + i, 0);
+    }
+
+    for (int i = 0; i < 500; i++) {
+      cache.put("scan-" + i, bytes(100, i), 0);
+    }
+
+    for (int i = 0; i < 20; i++) {
+      assertNotNull(cache.get("hot-" + i, 0), "hot-" + i);
+    }
+    assertTrue(cache.weightedSize() <= 10_000, "weightedSize");
+  }
+
+  @Test
+  @DisplayName("上限バイト数・有効期限・想定件数が1未満なら IllegalArgumentException")
+  void rejectsInvalidSettings() {
+    assertThrows(IllegalArgumentException.class, () -> new WTinyLfuCache<String>(0, 1, 1));
+    assertThrows(IllegalArgumentException.class, () -> new WTinyLfuCache<String>(1, 0, 1));
+    assertThrows(IllegalArgumentException.class, () -> new WTinyLfuCache<String>(1, 1, 0));
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private static byte[] bytes(int length, int fill) {
+    byte[] b = new byte[length];
+    Arrays.fill(b, (byte) fill);
+    return b;
+  }
+}
@@ -0,0 +1,155 @@
+// src/test/java/com/example/util/concurrent/SingleFlightTest.java
+package com.example.util.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  // ==========================================
+  // # SingleFlightTest
+  // ## 1. 実行中の同じキーはリーダーの結果を共有し、loader は1回だけ（例外も同じものを受け取る）
+  // ## 2. 完了したらキーを外し、次の呼び出しは改めて実行する
+  // ## 3. 別のキーはまとめない
+  // ==========================================
+
+  static final int WAITERS = 8;
+
+  final SingleFlight<String> flights = new SingleFlight<>();
+  final CountDownLatch release = new CountDownLatch(1);
+  final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  @DisplayName("リーダーの実行中に来た呼び出しは loader を呼ばず、同じ値を shared=true で受け取る")
+  void waitersShareLeaderResult() throws Exception {
+    ConcurrentLinkedQueue<SingleFlight.Result<String>> results = new ConcurrentLinkedQueue<>();
+    List<Thread> threads = startAll(() -> results.add(flights.run("k", blockedLoader(() -> "value"))));
+
+    release.countDown();
+    joinAll(threads);
+
+    assertEquals(1, loads.get());
+    assertEquals(WAITERS + 1, results.size());
+    assertEquals(1, results.stream().filter(r -> !r.shared()).count());
+    assertTrue(results.stream().allMatch(r -> "value".equals(r.value())), "all share the leader's value");
+    assertEquals(0, flights.inFlight());
+  }
+
+  @Test
+  @DisplayName("リーダーの loader が例外で終わると、待っていた呼び出しにも同じ例外を投げる")
+  void waitersReceiveLeaderException() throws Exception {
+    IllegalStateException failure = new IllegalStateException("DB 障害");
+    ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+    List<Thread> threads = startAll(() -> {
+      try {
+        flights.run("k", blockedLoader(() -> {
+          throw failure;
+        }));
+      } catch (RuntimeException e) {
+        errors.add(e);
+      }
+    });
+
+    release.countDown();
+    joinAll(threads);
+
+    assertEquals(1, loads.get());
+    assertEquals(WAITERS + 1, errors.size());
+    assertTrue(errors.stream().allMatch(e -> e == failure), "all receive the leader's exception");
+    assertEquals(0, flights.inFlight());
+  }
+
+  @Test
+  @DisplayName("完了（正常・例外とも）したキーは外し、次の呼び出しは loader を改めて実行する")
+  void keyIsClearedAfterCompletion() {
+    assertThrows(IllegalStateException.class, () -> flights.run("k", () -> {
+      loads.incrementAndGet();
+      throw new IllegalStateException("一時的な失敗");
+    }));
+    assertEquals(0, flights.inFlight());
+
+    SingleFlight.Result<String> first = flights.run("k", () -> "v" + loads.incrementAndGet());
+    SingleFlight.Result<String> second = flights.run("k", () -> "v" + loads.incrementAndGet());
+
+    assertEquals(new SingleFlight.Result<>("v2", false), first);
+    assertEquals(new SingleFlight.Result<>("v3", false), second);
+    assertEquals(0, flights.inFlight());
+  }
+
+  @Test
+  @DisplayName("実行中のキーがあっても、別のキーはまとめずに実行する")
+  void differentKeysAreNotCoalesced() throws Exception {
+    Thread leader = new Thread(() -> flights.run("a", blockedLoader(() -> "a")));
+    leader.start();
+    awaitWaiting(leader);
+
+    SingleFlight.Result<String> other = flights.run("b", () -> "b");
+
+    assertEquals(new SingleFlight.Result<>("b", false), other);
+    assertEquals(1, flights.inFlight());
+    release.countDown();
+    leader.join(5_000);
+    assertEquals(0, flights.inFlight());
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  /** release が開くまで止まる loader（呼ばれた回数を数える） */
+  private <V> Supplier<V> blockedLoader(Supplier<V> body) {
+    return () -> {
+      loads.incrementAndGet();
+      try {
+        assertTrue(release.await(5, TimeUnit.SECONDS), "release");
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return body.get();
+    };
+  }
+
+  /** リーダーを loader の中で止めてから、待つ側を起動して全員が待ちに入るまで待つ */
+  private List<Thread> startAll(Runnable call) throws InterruptedException {
+    List<Thread> threads = new ArrayList<>();
+    Thread leader = new Thread(call);
+    leader.start();
+    threads.add(leader);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (loads.get() == 0) {
+      assertTrue(System.nanoTime() < deadline, "leader did not start");
+      Thread.sleep(1);
+    }
+    for (int i = 0; i < WAITERS; i++) {
+      Thread waiter = new Thread(call);
+      waiter.start();
+      threads.add(waiter);
+    }
+    for (Thread t : threads) awaitWaiting(t);
+    return threads;
+  }
+
+  private static void awaitWaiting(Thread thread) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+      assertTrue(System.nanoTime() < deadline, "thread did not block: " + thread.getState());
+      Thread.sleep(1);
+    }
+  }
+
+  private static void joinAll(List<Thread> threads) throws InterruptedException {
+    for (Thread t : threads) {
+      t.join(5_000);
+      assertFalse(t.isAlive(), "thread did not finish");
+    }
+  }
+}
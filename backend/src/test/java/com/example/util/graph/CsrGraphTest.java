@@ -0,0 +1,149 @@
+// src/test/java/com/example/util/graph/CsrGraphTest.java
+package com.example.util.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CsrGraphTest {
+
+  // ==========================================
+  // # CsrGraphTest
+  // ## 1. 構築（重複の除去・隣接リストの並び・入辺）
+  // ## 2. 差分の反映（追加・削除・ノード追加）をナイーブな集合と突き合わせる
+  // ## 3. おすすめ（回数 → 入辺数 → 番号の順位付け・fanout・除外）
+  // ==========================================
+
+  @Test
+  @DisplayName("fromEdges は重複した辺を1本にまとめ、隣接リストを番号順に並べる")
+  void fromEdges_dedupesAndSorts() {
+    CsrGraph g = CsrGraph.fromEdges(4,
+        new int[] {0, 0, 0, 2, 0, 3},
+        new int[] {3, 1, 3, 1, 2, 0}, 6);
+
+    assertEquals(4, g.nodeCount());
+    assertEquals(5, g.edgeCount());
+    assertArrayEquals(new int[] {1, 2, 3}, g.outNeighbors(0, 10));
+    assertArrayEquals(new int[] {0, 2}, g.inNeighbors(1, 10));
+    assertArrayEquals(new int[] {1, 2}, g.outNeighbors(0, 2));
+    assertTrue(g.hasEdge(0, 3));
+    assertFalse(g.hasEdge(3, 1));
+    assertEquals(2, g.inDegree(1));
+    assertEquals(0, g.outDegree(1));
+  }
+
+  @Test
+  @DisplayName("範囲外のノード番号は IllegalArgumentException、範囲外の参照は空")
+  void outOfRangeNodes() {
+    assertThrows(IllegalArgumentException.class,
+        () -> CsrGraph.fromEdges(2, new int[] {0}, new int[] {2}, 1));
+    CsrGraph g = CsrGraph.fromEdges(2, new int[] {0}, new int[] {1}, 1);
+    assertEquals(0, g.outNeighbors(5, 10).length);
+    assertFalse(g.hasEdge(5, 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> g.withChanges(1, new int[0], new int[0], 0, new int[0], new int[0], 0));
+  }
+
+  @Test
+  @DisplayName("withChanges は追加・削除を反映し（両方にある辺は削除優先）、元のグラフは変えない")
+  void withChanges_appliesDelta() {
+    CsrGraph g = CsrGraph.fromEdges(3, new int[] {0, 0, 1}, new int[] {1, 2, 2}, 3);
+    CsrGraph next = g.withChanges(5,
+        new int[] {0, 3, 4, 1}, new int[] {4, 0, 3, 0}, 4,
+        new int[] {0, 1}, new int[] {2, 0}, 2);
+
+    assertEquals(5, next.nodeCount());
+    assertArrayEquals(new int[] {1, 4}, next.outNeighbors(0, 10));
+    assertArrayEquals(new int[] {2}, next.outNeighbors(1, 10));
+    assertArrayEquals(new int[] {0}, next.outNeighbors(3, 10));
+    assertArrayEquals(new int[] {3}, next.outNeighbors(4, 10));
+    assertArrayEquals(new int[] {3}, next.inNeighbors(0, 10));
+    assertArrayEquals(new int[] {4}, next.inNeighbors(3, 10));
+    assertEquals(5, next.edgeCount());
+    assertArrayEquals(new int[] {1, 2}, g.outNeighbors(0, 10));
+    assertEquals(3, g.edgeCount());
+  }
+
+  @Test
+  @DisplayName("withChanges をランダムな差分で繰り返しても、辺の集合と出辺・入辺がナイーブな実装と一致する")
+  void withChanges_matchesNaiveModel() {
+    Random rnd = new Random(42);
+    int nodes = 40;
+    Set<Long> model = new HashSet<>();
+    CsrGraph g = CsrGraph.empty();
+    for (int round = 0; round < 200; round++) {
+      int newNodes = Math.min(200, nodes + rnd.nextInt(3));
+      int adds = rnd.nextInt(30);
+      int removes = rnd.nextInt(20);
+      int[] as = new int[adds], ad = new int[adds], rs = new int[removes], rd = new int[removes];
+      for (int i = 0; i < adds; i++) {
+        as[i] = rnd.nextInt(newNodes);
+        ad[i] = rnd.nextInt(newNodes);
+      }
+      List<Long> existing = new ArrayList<>(model);
+      for (int i = 0; i < removes; i++) {
+        long e = !existing.isEmpty() && rnd.nextBoolean()
+            ? existing.get(rnd.nextInt(existing.size()))
+            : edge(rnd.nextInt(newNodes), rnd.nextInt(newNodes));
+        rs[i] = (int) (e >>> 32);
+        rd[i] = (int) e;
+      }
+      g = g.withChanges(newNodes, as, ad, adds, rs, rd, removes);
+      nodes = newNodes;
+      for (int i = 0; i < adds; i++) model.add(edge(as[i], ad[i]));
+      for (int i = 0; i < removes; i++) model.remove(edge(rs[i], rd[i]));
+
+      assertEquals(model.size(), g.edgeCount(), "round " + round);
+      for (int u = 0; u < nodes; u++) {
+        assertArrayEquals(expectedOut(model, u), g.outNeighbors(u, Integer.MAX_VALUE), "out " + u);
+        assertArrayEquals(expectedIn(model, u), g.inNeighbors(u, Integer.MAX_VALUE), "in " + u);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("suggest は回数の多い順、同数なら入辺の多い順、さらに番号の小さい順に返す")
+  void suggest_ranksByScoreThenPopularityThenId() {
+    // 0,1 が起点。0 → 2,3,4 / 1 → 3,4,5 / 6 → 4,5（4 と 5 は入辺が多い）
+    CsrGraph g = CsrGraph.fromEdges(7,
+        new int[] {0, 0, 0, 1, 1, 1, 6, 6},
+        new int[] {2, 3, 4, 3, 4, 5, 4, 5}, 8);
+
+    CsrGraph.Suggestions s = g.suggest(new int[] {0, 1}, 10, 10, v -> false);
+
+    assertArrayEquals(new int[] {4, 3, 5, 2}, s.nodes());
+    assertArrayEquals(new int[] {2, 2, 1, 1}, s.scores());
+  }
+
+  @Test
+  @DisplayName("suggest は fanout で1ノードあたりの辺を先頭から打ち切り、除外したノードと範囲外の起点を無視する")
+  void suggest_respectsFanoutAndExclusion() {
+    CsrGraph g = CsrGraph.fromEdges(5,
+        new int[] {0, 0, 0, 1},
+        new int[] {2, 3, 4, 2}, 4);
+
+    CsrGraph.Suggestions s = g.suggest(new int[] {0, 1, 99, -1}, 10, 2, v -> v == 2);
+
+    assertArrayEquals(new int[] {3}, s.nodes());
+    assertArrayEquals(new int[] {1}, s.scores());
+    assertEquals(1, g.suggest(new int[] {0}, 1, 10, v -> false).nodes().length);
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private static long edge(int u, int v) {
+    return ((long) u << 32) | v;
+  }
+
+  private static int[] expectedOut(Set<Long> model, int u) {
+    return model.stream().filter(e -> (int) (e >>> 32) == u).mapToInt(e -> (int) (long) e).sorted().toArray();
+  }
+
+  private static int[] expectedIn(Set<Long> model, int v) {
+    return model.stream().filter(e -> (int) (long) e == v).mapToInt(e -> (int) (e >>> 32)).sorted().toArray();
+  }
+}
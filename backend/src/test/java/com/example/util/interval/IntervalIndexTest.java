@@ -0,0 +1,131 @@
+// src/test/java/com/example/util/interval/IntervalIndexTest.java
+package com.example.util.interval;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class IntervalIndexTest {
+
+  // ==========================================
+  // # IntervalIndexTest
+  // ## 1. 半開区間 [start, end) の重なり判定（境界で接するだけの区間は重ならない）
+  // ## 2. 同じキーの置き換え・取り除き
+  // ## 3. maxLength による走査範囲（長い区間を取りこぼさない）・素朴な全件走査との一致
+  // ==========================================
+
+  final IntervalIndex<String> index = new IntervalIndex<>();
+
+  @Test
+  @DisplayName("終了位置ちょうどから・開始位置ちょうどまでの範囲とは重ならない")
+  void halfOpenBoundaries() {
+    index.put("a", 10, 20);
+
+    assertEquals(List.of(), keys(20, 30));
+    assertEquals(List.of(), keys(0, 10));
+    assertEquals(List.of("a"), keys(19, 20));
+    assertEquals(List.of("a"), keys(0, 11));
+    assertEquals(List.of("a"), keys(12, 15));
+  }
+
+  @Test
+  @DisplayName("重なる区間を開始位置順に返し、空の範囲（to <= from）には何も返さない")
+  void returnsInStartOrder() {
+    index.put("c", 30, 40);
+    index.put("a", 10, 40);
+    index.put("b", 20, 40);
+
+    assertEquals(List.of("a", "b", "c"), keys(35, 36));
+    assertEquals(List.of(), keys(36, 35));
+    assertEquals(List.of(), keys(36, 36));
+  }
+
+  @Test
+  @DisplayName("同じキーを登録し直すと古い区間は残らない")
+  void putReplacesKey() {
+    index.put("a", 10, 20);
+    index.put("a", 100, 110);
+
+    assertEquals(1, index.size());
+    assertEquals(List.of(), keys(10, 20));
+    assertEquals(List.of("a"), keys(105, 106));
+    assertEquals(new IntervalIndex.Interval<>("a", 100, 110), index.get("a"));
+  }
+
+  @Test
+  @DisplayName("取り除いた区間を返し、開始位置が同じ他の区間は残す")
+  void removeKeepsSiblingsWithSameStart() {
+    index.put("a", 10, 20);
+    index.put("b", 10, 30);
+
+    assertEquals(new IntervalIndex.Interval<>("a", 10, 20), index.remove("a"));
+    assertNull(index.remove("a"));
+    assertEquals(List.of("b"), keys(0, 100));
+
+    index.remove("b");
+    assertTrue(index.isEmpty());
+    assertEquals(List.of(), keys(0, 100));
+  }
+
+  @Test
+  @DisplayName("開始位置がずっと前の長い区間も、最長の区間の長さだけ遡って拾う")
+  void scansBackByMaxLength() {
+    index.put("long", 0, 1_000);
+    index.put("short", 900, 910);
+
+    assertEquals(List.of("long", "short"), keys(905, 906));
+    assertEquals(List.of("long"), keys(950, 960));
+    assertEquals(List.of(), keys(1_000, 1_100));
+
+    index.remove("long"); // maxLength は縮まないが、結果は変わらない
+    assertEquals(List.of("short"), keys(905, 906));
+    assertEquals(List.of(), keys(950, 960));
+  }
+
+  @Test
+  @DisplayName("終了が開始以前の区間は IllegalArgumentException")
+  void rejectsEmptyInterval() {
+    assertThrows(IllegalArgumentException.class, () -> index.put("a", 10, 10));
+    assertThrows(IllegalArgumentException.class, () -> index.put("a", 10, 5));
+  }
+
+  @Test
+  @DisplayName("ランダムな登録・置き換え・削除の後も、全件を素朴に調べた結果と一致する")
+  void matchesNaiveScan() {
+    Random random = new Random(42);
+    TreeMap<String, long[]> naive = new TreeMap<>();
+    for (int i = 0; i < 2_000; i++) {
+      String key = "k" + random.nextInt(200);
+      if (random.nextInt(4) == 0) {
+        index.remove(key);
+        naive.remove(key);
+      } else {
+        long start = random.nextInt(10_000);
+        long end = start + 1 + random.nextInt(random.nextInt(10) == 0 ? 2_000 : 100);
+        index.put(key, start, end);
+        naive.put(key, new long[] {start, end});
+      }
+      long from = random.nextInt(10_000);
+      long to = from + 1 + random.nextInt(300);
+      List<String> expected = naive.entrySet().stream()
+          .filter(e -> e.getValue()[0] < to && e.getValue()[1] > from)
+          .map(Map.Entry::getKey)
+          .sorted()
+          .toList();
+      assertEquals(expected, keys(from, to).stream().sorted().toList());
+    }
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private List<String> keys(long from, long to) {
+    return index.overlapping(from, to).stream().map(IntervalIndex.Interval::key).toList();
+  }
+}
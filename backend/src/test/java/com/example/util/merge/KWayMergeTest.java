@@ -0,0 +1,83 @@
+// src/test/java/com/example/util/merge/KWayMergeTest.java
+package com.example.util.merge;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class KWayMergeTest {
+
+  // ==========================================
+  // # KWayMergeTest
+  // ## 1. 並び済みリスト群のマージ（limit・空のリスト）
+  // ## 2. 各リストを上位 perCreatorLimit 件に切ってマージしても、先頭 perCreatorLimit 件は全件のマージと一致する
+  // ## 3. その境界からキーセットで続きを読むと、重複も欠落もない
+  // ==========================================
+
+  /** フィード項目の代わり（公開時刻の新しい順、同時刻は ID の降順） */
+  record Item(int time, int id) {
+  }
+
+  static final Comparator<Item> NEWEST_FIRST =
+      Comparator.comparingInt(Item::time).reversed().thenComparing(Comparator.comparingInt(Item::id).reversed());
+
+  @Test
+  @DisplayName("並び済みのリスト群を1本の並びにし、limit 件で打ち切る")
+  void mergesSortedLists() {
+    List<List<Integer>> lists = List.of(List.of(1, 4, 7), List.of(2, 5), List.of(), List.of(3, 6, 8, 9));
+
+    assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9), KWayMerge.merge(lists, Comparator.<Integer>naturalOrder(), 100));
+    assertEquals(List.of(1, 2, 3, 4), KWayMerge.merge(lists, Comparator.<Integer>naturalOrder(), 4));
+    assertEquals(List.of(), KWayMerge.merge(lists, Comparator.<Integer>naturalOrder(), 0));
+    assertEquals(List.of(), KWayMerge.merge(List.<List<Integer>>of(), Comparator.<Integer>naturalOrder(), 10));
+  }
+
+  @Test
+  @DisplayName("負の limit は IllegalArgumentException")
+  void rejectsNegativeLimit() {
+    assertThrows(IllegalArgumentException.class,
+        () -> KWayMerge.merge(List.of(List.of(1)), Comparator.<Integer>naturalOrder(), -1));
+  }
+
+  @Test
+  @DisplayName("各リストを上位 perCreatorLimit 件に切ってマージしても先頭 perCreatorLimit 件は全件のマージと同じで、続きをキーセットで読むと重複・欠落がない")
+  void truncatedListsMatchFullMergeAtPageBoundary() {
+    Random random = new Random(3);
+    for (int round = 0; round < 200; round++) {
+      int perCreatorLimit = 1 + random.nextInt(6);
+      List<List<Item>> full = new ArrayList<>();
+      int id = 0;
+      for (int creator = random.nextInt(6); creator >= 0; creator--) {
+        List<Item> timeline = new ArrayList<>();
+        for (int n = random.nextInt(12); n > 0; n--) {
+          timeline.add(new Item(random.nextInt(10), id++)); // 同時刻を多く作る
+        }
+        timeline.sort(NEWEST_FIRST);
+        full.add(timeline);
+      }
+      List<Item> expected = KWayMerge.merge(full, NEWEST_FIRST, Integer.MAX_VALUE);
+
+      List<List<Item>> truncated = full.stream()
+          .map(l -> l.subList(0, Math.min(l.size(), perCreatorLimit)))
+          .toList();
+      List<Item> head = KWayMerge.merge(truncated, NEWEST_FIRST, perCreatorLimit);
+      assertEquals(expected.subList(0, head.size()), head, "round " + round);
+      assertEquals(Math.min(perCreatorLimit, expected.size()), head.size(), "round " + round);
+
+      // 境界の直後からキーセットで続きを読む
+      List<Item> pages = new ArrayList<>(head);
+      if (!head.isEmpty()) {
+        Item last = head.get(head.size() - 1);
+        expected.stream().filter(i -> NEWEST_FIRST.compare(i, last) > 0).forEach(pages::add);
+      } else {
+        pages.addAll(expected);
+      }
+      assertEquals(expected, pages, "round " + round);
+    }
+  }
+}
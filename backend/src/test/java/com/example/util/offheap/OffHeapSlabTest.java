@@ -0,0 +1,90 @@
+// src/test/java/com/example/util/offheap/OffHeapSlabTest.java
+package com.example.util.offheap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OffHeapSlabTest {
+
+  // ==========================================
+  // # OffHeapSlabTest
+  // ## 1. スロットの確保・解放（空きリストの再利用・セグメントの追加）
+  // ## 2. フィールドの読み書き（long / byte / 文字列の枠・null・枠外）
+  // ==========================================
+
+  @Test
+  @DisplayName("解放したスロットは後入れ先出しで再利用し、足りなくなったらセグメントを足す")
+  void allocateReusesFreedSlots() {
+    OffHeapSlab slab = new OffHeapSlab(16, 2); // 1セグメント 4 件
+    int a = slab.allocate();
+    int b = slab.allocate();
+    int c = slab.allocate();
+    assertEquals(List.of(0, 1, 2), List.of(a, b, c));
+    assertEquals(16L * 4, slab.capacityBytes());
+
+    slab.free(a);
+    slab.free(c);
+    assertEquals(1, slab.size());
+    assertEquals(c, slab.allocate());
+    assertEquals(a, slab.allocate());
+
+    for (int i = 0; i < 3; i++) slab.allocate(); // 3, 4, 5 → 2本目のセグメント
+    assertEquals(6, slab.size());
+    assertEquals(16L * 8, slab.capacityBytes());
+  }
+
+  @Test
+  @DisplayName("セグメントをまたいでもフィールドは独立して読み書きできる")
+  void fieldsAcrossSegments() {
+    OffHeapSlab slab = new OffHeapSlab(24, 3);
+    Map<Integer, Long> expected = new HashMap<>();
+    for (int i = 0; i < 100; i++) {
+      int slot = slab.allocate();
+      slab.putLong(slot, 0, i * 31L);
+      slab.putLong(slot, 8, -i);
+      slab.putByte(slot, 16, (byte) i);
+      expected.put(slot, i * 31L);
+    }
+    expected.forEach((slot, v) -> {
+      assertEquals(v, slab.getLong(slot, 0));
+      assertEquals(-v / 31, slab.getLong(slot, 8));
+      assertEquals((byte) (v / 31), slab.getByte(slot, 16));
+    });
+  }
+
+  @Test
+  @DisplayName("文字列は枠に入れば UTF-8 で往復し、null は -1、枠に入らなければ -2 で false を返す")
+  void stringsFitOrOverflow() {
+    OffHeapSlab slab = new OffHeapSlab(64, 2);
+    int slot = slab.allocate();
+
+    assertTrue(slab.putString(slot, 0, 12, "日本語ab"));  // 3×3 + 2 = 11 バイト
+    assertEquals("日本語ab", slab.getString(slot, 0));
+    assertEquals(11, slab.stringLength(slot, 0));
+    byte[] dst = new byte[12];
+    assertEquals(11, slab.copyString(slot, 0, dst));
+
+    assertTrue(slab.putString(slot, 20, 8, ""));
+    assertEquals("", slab.getString(slot, 20));
+
+    assertTrue(slab.putString(slot, 30, 8, null));
+    assertNull(slab.getString(slot, 30));
+    assertEquals(-1, slab.stringLength(slot, 30));
+
+    assertFalse(slab.putString(slot, 40, 8, "あいうえ")); // 12 バイト
+    assertEquals(-2, slab.stringLength(slot, 40));
+    assertEquals(-2, slab.copyString(slot, 40, dst));
+    assertNull(slab.getString(slot, 40));
+  }
+
+  @Test
+  @DisplayName("不正なレコード長・セグメント指数は IllegalArgumentException")
+  void rejectsInvalidLayout() {
+    assertThrows(IllegalArgumentException.class, () -> new OffHeapSlab(3, 4));
+    assertThrows(IllegalArgumentException.class, () -> new OffHeapSlab(16, 0));
+    assertThrows(IllegalArgumentException.class, () -> new OffHeapSlab(1 << 10, 22));
+  }
+}
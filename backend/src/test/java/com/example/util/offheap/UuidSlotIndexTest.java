@@ -0,0 +1,121 @@
+// src/test/java/com/example/util/offheap/UuidSlotIndexTest.java
+package com.example.util.offheap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class UuidSlotIndexTest {
+
+  // ==========================================
+  // # UuidSlotIndexTest
+  // ## 1. 登録・上書き・削除の基本動作
+  // ## 2. 墓標（削除済み）をまたいだ探索と再利用、作り直し（rehash）後の整合性
+  // ## ヒープ外（direct）とヒープ上の両方で同じ結果になること
+  // ==========================================
+
+  @ParameterizedTest(name = "direct={0}")
+  @ValueSource(booleans = {true, false})
+  @DisplayName("put / get / remove の基本動作（上書き・未登録は -1）")
+  void basicOperations(boolean direct) {
+    UuidSlotIndex index = new UuidSlotIndex(4, direct);
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+
+    assertEquals(-1, index.get(a));
+    index.put(a.getMostSignificantBits(), a.getLeastSignificantBits(), 7);
+    index.put(b.getMostSignificantBits(), b.getLeastSignificantBits(), 0);
+    index.put(a.getMostSignificantBits(), a.getLeastSignificantBits(), 9);
+
+    assertEquals(9, index.get(a));
+    assertEquals(0, index.get(b));
+    assertEquals(2, index.size());
+    assertEquals(9, index.remove(a.getMostSignificantBits(), a.getLeastSignificantBits()));
+    assertEquals(-1, index.remove(a.getMostSignificantBits(), a.getLeastSignificantBits()));
+    assertEquals(-1, index.get(a));
+    assertEquals(0, index.get(b));
+    assertEquals(1, index.size());
+  }
+
+  @Test
+  @DisplayName("負のスロット番号は IllegalArgumentException")
+  void rejectsNegativeSlot() {
+    UuidSlotIndex index = new UuidSlotIndex(4, false);
+    assertThrows(IllegalArgumentException.class, () -> index.put(1, 2, -1));
+  }
+
+  @Test
+  @DisplayName("同じバケットに衝突したキーは、手前のキーを消しても（墓標をまたいで）引ける")
+  void probesPastTombstones() {
+    // 容量 16 の表で同じバケットに入るキーを集める
+    UuidSlotIndex index = new UuidSlotIndex(8, false);
+    List<long[]> colliding = collidingKeys(16, 4);
+    for (int i = 0; i < colliding.size(); i++) {
+      index.put(colliding.get(i)[0], colliding.get(i)[1], i);
+    }
+    index.remove(colliding.get(0)[0], colliding.get(0)[1]);
+    index.remove(colliding.get(1)[0], colliding.get(1)[1]);
+
+    assertEquals(2, index.get(colliding.get(2)[0], colliding.get(2)[1]));
+    assertEquals(3, index.get(colliding.get(3)[0], colliding.get(3)[1]));
+
+    // 後ろのキーの上書きは墓標に重複して入らず、既存のエントリを書き換える
+    index.put(colliding.get(3)[0], colliding.get(3)[1], 30);
+    assertEquals(30, index.get(colliding.get(3)[0], colliding.get(3)[1]));
+    assertEquals(2, index.size());
+    index.remove(colliding.get(3)[0], colliding.get(3)[1]);
+    assertEquals(-1, index.get(colliding.get(3)[0], colliding.get(3)[1]));
+  }
+
+  @ParameterizedTest(name = "direct={0}")
+  @ValueSource(booleans = {true, false})
+  @DisplayName("追加・削除を繰り返しても（墓標の掃除・拡張を含む）、HashMap と同じ結果を返す")
+  void matchesHashMapUnderChurn(boolean direct) {
+    Random rnd = new Random(11);
+    UuidSlotIndex index = new UuidSlotIndex(16, direct);
+    Map<UUID, Integer> model = new HashMap<>();
+    List<UUID> keys = new ArrayList<>();
+    for (int i = 0; i < 3000; i++) keys.add(new UUID(rnd.nextLong(), rnd.nextLong()));
+
+    for (int step = 0; step < 50_000; step++) {
+      UUID k = keys.get(rnd.nextInt(step < 20_000 ? keys.size() : 200)); // 後半は少数のキーを出し入れ
+      if (rnd.nextInt(3) == 0) {
+        Integer expected = model.remove(k);
+        assertEquals(expected == null ? -1 : expected,
+            index.remove(k.getMostSignificantBits(), k.getLeastSignificantBits()));
+      } else {
+        int slot = rnd.nextInt(1 << 20);
+        model.put(k, slot);
+        index.put(k.getMostSignificantBits(), k.getLeastSignificantBits(), slot);
+      }
+      assertEquals(model.size(), index.size());
+    }
+    for (UUID k : keys) {
+      assertEquals(model.getOrDefault(k, -1), index.get(k), k::toString);
+    }
+    // 墓標が溜まっても表は件数に比例した大きさに収まる
+    assertTrue(index.capacityBytes() <= 20L * 4 * Math.max(16, Integer.highestOneBit(keys.size()) * 2));
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  /** 容量 capacity の表で同じバケットに入る (msb, lsb) を count 個探す（UuidSlotIndex と同じハッシュ） */
+  private static List<long[]> collidingKeys(int capacity, int count) {
+    Map<Integer, List<long[]>> byBucket = new HashMap<>();
+    for (long i = 1; ; i++) {
+      long h = i * 0x9e3779b97f4a7c15L ^ 0L;
+      h ^= h >>> 33;
+      h *= 0xff51afd7ed558ccdL;
+      h ^= h >>> 33;
+      List<long[]> list = byBucket.computeIfAbsent((int) h & (capacity - 1), b -> new ArrayList<>());
+      list.add(new long[] {i, 0L});
+      if (list.size() == count) return list;
+    }
+  }
+}
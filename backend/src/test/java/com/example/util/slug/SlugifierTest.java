@@ -0,0 +1,93 @@
+// src/test/java/com/example/util/slug/SlugifierTest.java
+package com.example.util.slug;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SlugifierTest {
+
+  // ==========================================
+  // # SlugifierTest
+  // ## 1. かなのローマ字化（拗音・促音・小書き母音・長音符）
+  // ## 2. 正規化・区切り・長さの切り詰め
+  // ## 3. 連番による重複回避・正規形の判定
+  // ==========================================
+
+  @Test
+  @DisplayName("拗音はまとめて読み、シャ・チャ・ジャ行は y を挟まない")
+  void contractedSounds() {
+    assertEquals("kyatto", Slugifier.slugOf("キャット"));
+    assertEquals("shatsu", Slugifier.slugOf("シャツ"));
+    assertEquals("chokoreto", Slugifier.slugOf("チョコレート"));
+    assertEquals("janru", Slugifier.slugOf("ジャンル"));
+    assertEquals("ryokou", Slugifier.slugOf("りょこう"));
+  }
+
+  @Test
+  @DisplayName("促音は次の子音を重ね、チの前は t を重ねる")
+  void doubledConsonants() {
+    assertEquals("matchi", Slugifier.slugOf("マッチ"));
+    assertEquals("kitte", Slugifier.slugOf("きって"));
+    assertEquals("zasshi", Slugifier.slugOf("ざっし"));
+  }
+
+  @Test
+  @DisplayName("外来語の小書き母音は前の子音とまとめる（ファ → fa, ティ → ti, ウィ → wi）")
+  void smallVowels() {
+    assertEquals("fan", Slugifier.slugOf("ファン"));
+    assertEquals("pati", Slugifier.slugOf("パーティ"));
+    assertEquals("wiki", Slugifier.slugOf("ウィキ"));
+    assertEquals("fesu", Slugifier.slugOf("フェス"));
+  }
+
+  @Test
+  @DisplayName("かなの後の長音符は読まない")
+  void longVowelMark() {
+    assertEquals("ramen", Slugifier.slugOf("ラーメン"));
+    assertEquals("supa", Slugifier.slugOf("スーパー"));
+    assertEquals("kohi-2", Slugifier.slugOf("コーヒー 2"));
+  }
+
+  @Test
+  @DisplayName("全角英数・半角カナを揃えて小文字にし、記号の連続はハイフン1つ、ローマ字と漢字の境目にもハイフン")
+  void normalizesAndSeparates() {
+    assertEquals("hello-world-2024", Slugifier.slugOf("Ｈｅｌｌｏ,  World!! 2024"));
+    assertEquals("kamera", Slugifier.slugOf("ｶﾒﾗ"));
+    assertEquals("東京-tawa", Slugifier.slugOf("東京タワー"));
+    assertEquals("", Slugifier.slugOf("!!!"));
+    assertEquals("", Slugifier.slugOf(null));
+  }
+
+  @Test
+  @DisplayName("MAX_LENGTH で切り詰め、サロゲートペアの途中では切らない")
+  void truncatesWithoutSplittingSurrogatePair() {
+    String text = "a".repeat(Slugifier.MAX_LENGTH - 1) + "𠮷";
+
+    String slug = Slugifier.slugOf(text);
+
+    assertEquals("a".repeat(Slugifier.MAX_LENGTH - 1), slug);
+    assertEquals("a".repeat(Slugifier.MAX_LENGTH), Slugifier.slugOf("a".repeat(Slugifier.MAX_LENGTH + 5)));
+  }
+
+  @Test
+  @DisplayName("使われていれば -2, -3, ... と順に試し、空いている最初の候補を返す")
+  void uniqueAppendsSuffix() {
+    Set<String> taken = Set.of("ramen", "ramen-2");
+
+    assertEquals("ramen-3", Slugifier.unique("ramen", taken::contains));
+    assertEquals("soba", Slugifier.unique("soba", taken::contains));
+  }
+
+  @Test
+  @DisplayName("slugOf を通しても変わらないものだけを正規の形とみなす")
+  void isCanonical() {
+    assertTrue(Slugifier.isCanonical("kyatto-2"));
+    assertFalse(Slugifier.isCanonical("Kyatto"));
+    assertFalse(Slugifier.isCanonical("動画の説明です。"));
+    assertFalse(Slugifier.isCanonical(""));
+    assertFalse(Slugifier.isCanonical(null));
+  }
+}
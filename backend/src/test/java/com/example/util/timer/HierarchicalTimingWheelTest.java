@@ -0,0 +1,164 @@
+// src/test/java/com/example/util/timer/HierarchicalTimingWheelTest.java
+package com.example.util.timer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+  // ==========================================
+  // # HierarchicalTimingWheelTest
+  // ## 1. 期限切れの登録・tick 境界への切り上げ（早く発火しない）
+  // ## 2. 上の層からのカスケード・層の追加（遠い期限）
+  // ## 3. 取消・同じキーでの張り直し・発火順
+  // ==========================================
+
+  // 最下層 10ms × 4 スロット（層0: 40ms, 層1: 160ms, 層2: 640ms, ...）
+  final HierarchicalTimingWheel<String, String> wheel = new HierarchicalTimingWheel<>(0, 10, 4);
+
+  @Test
+  @DisplayName("期限が現在時刻以前なら登録せずにそのまま返す")
+  void pastDeadlineFiresImmediately() {
+    List<HierarchicalTimingWheel.Expired<String, String>> expired = wheel.schedule("a", -5, "v");
+
+    assertEquals(List.of(new HierarchicalTimingWheel.Expired<>("a", -5L, "v")), expired);
+    assertEquals(List.of("b"), keys(wheel.schedule("b", 0, "v")));
+    assertEquals(0, wheel.size());
+    assertEquals(-1, wheel.deadlineOf("a"));
+  }
+
+  @Test
+  @DisplayName("期限は次の tick 境界へ切り上げ、境界に達するまで発火しない")
+  void roundsUpToNextTick() {
+    wheel.schedule("a", 15, "v");
+    wheel.schedule("b", 20, "v");
+
+    assertEquals(List.of(), keys(wheel.advance(19)));
+    assertEquals(List.of("a", "b"), keys(wheel.advance(20)));
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  @DisplayName("層0の範囲を超える期限は上の層に置き、境界でカスケードして期限どおりに発火する")
+  void cascadesAcrossLevelBoundaries() {
+    wheel.advance(30);
+    wheel.schedule("a", 75, "v");  // 80 に切り上げ、層1へ
+    wheel.schedule("b", 170, "v"); // 層1の別スロット
+
+    assertEquals(List.of(), keys(wheel.advance(79)));
+    assertEquals(List.of("a"), keys(wheel.advance(80)));
+    assertEquals(List.of(), keys(wheel.advance(169)));
+    assertEquals(List.of("b"), keys(wheel.advance(170)));
+  }
+
+  @Test
+  @DisplayName("範囲に収まらない遠い期限は層を追加して登録し、期限ちょうどに発火する")
+  void farDeadlineAddsLevels() {
+    wheel.schedule("far", 10_000, "v");
+    wheel.schedule("near", 35, "v");
+
+    assertEquals(10_000, wheel.deadlineOf("far"));
+    assertEquals(List.of("near"), keys(wheel.advance(9_990)));
+    assertEquals(List.of("far"), keys(wheel.advance(10_000)));
+  }
+
+  @Test
+  @DisplayName("取り消したタイマーは発火せず、二度目の取消は false")
+  void cancelRemovesTimer() {
+    wheel.schedule("a", 500, "v");
+
+    assertTrue(wheel.cancel("a"));
+    assertFalse(wheel.cancel("a"));
+    assertEquals(List.of(), keys(wheel.advance(1_000)));
+  }
+
+  @Test
+  @DisplayName("同じキーで張り直すと前のタイマーは置き換わり、新しい期限・値で一度だけ発火する")
+  void rescheduleReplacesTimer() {
+    wheel.schedule("a", 500, "old");
+    wheel.schedule("a", 30, "new");
+
+    assertEquals(1, wheel.size());
+    assertEquals("new", wheel.valueOf("a"));
+    List<HierarchicalTimingWheel.Expired<String, String>> fired = wheel.advance(30);
+    assertEquals(List.of(new HierarchicalTimingWheel.Expired<>("a", 30L, "new")), fired);
+    assertEquals(List.of(), keys(wheel.advance(1_000)));
+
+    wheel.schedule("b", 30_000, "far");  // 上の層から
+    wheel.schedule("b", 1_020, "near");  // 層0へ張り直す
+    assertEquals(List.of("b"), keys(wheel.advance(1_020)));
+    assertEquals(List.of(), keys(wheel.advance(40_000)));
+  }
+
+  @Test
+  @DisplayName("まとめて進めたときは期限順に返す")
+  void returnsInDeadlineOrder() {
+    wheel.schedule("c", 900, "v");
+    wheel.schedule("a", 12, "v");
+    wheel.schedule("b", 95, "v");
+
+    assertEquals(List.of("a", "b", "c"), keys(wheel.advance(5_000)));
+  }
+
+  @Test
+  @DisplayName("開始時刻は tick 境界に切り捨て、tickMs・wheelSize の不正値は IllegalArgumentException")
+  void startAndSettings() {
+    HierarchicalTimingWheel<String, String> w = new HierarchicalTimingWheel<>(1_007, 10, 4);
+    w.schedule("a", 1_005, "v");
+    assertEquals(List.of("a"), keys(w.advance(1_010)));
+
+    assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<String, String>(0, 0, 4));
+    assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<String, String>(0, 10, 1));
+  }
+
+  @Test
+  @DisplayName("ランダムな登録・取消・張り直しでも、切り上げた期限より早くも tick 以上遅くも発火しない")
+  void neverFiresEarlyOrLate() {
+    Random random = new Random(7);
+    Map<String, Long> expected = new HashMap<>();
+    long now = 0;
+    for (int step = 0; step < 5_000; step++) {
+      String key = "k" + random.nextInt(100);
+      int op = random.nextInt(10);
+      if (op == 0) {
+        wheel.cancel(key);
+        expected.remove(key);
+      } else if (op < 5) {
+        long deadline = now + random.nextInt(random.nextInt(20) == 0 ? 100_000 : 500) - 20;
+        List<HierarchicalTimingWheel.Expired<String, String>> immediate = wheel.schedule(key, deadline, "v");
+        if (immediate.isEmpty()) {
+          expected.put(key, deadline);
+        } else {
+          assertTrue(deadline <= now, "immediate only when already due");
+          expected.remove(key);
+        }
+      } else {
+        now += random.nextInt(60);
+        for (HierarchicalTimingWheel.Expired<String, String> e : wheel.advance(now)) {
+          Long deadline = expected.remove(e.key());
+          assertNotNull(deadline, "fired twice or after cancel: " + e.key());
+          assertEquals(deadline.longValue(), e.deadlineMs(), "deadline of " + e.key());
+          assertTrue(e.deadlineMs() <= now, "fired early: " + e.key());
+        }
+        for (Map.Entry<String, Long> e : expected.entrySet()) {
+          assertTrue(e.getValue() > now - now % 10, "not fired: " + e.getKey());
+        }
+      }
+      assertEquals(expected.size(), wheel.size());
+    }
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private static List<String> keys(List<HierarchicalTimingWheel.Expired<String, String>> expired) {
+    return expired.stream().map(HierarchicalTimingWheel.Expired::key).toList();
+  }
+}
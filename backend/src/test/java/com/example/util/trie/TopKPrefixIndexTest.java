@@ -0,0 +1,151 @@
+// src/test/java/com/example/util/trie/TopKPrefixIndexTest.java
+package com.example.util.trie;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TopKPrefixIndexTest {
+
+  // ==========================================
+  // # TopKPrefixIndexTest
+  // ## 1. 前方一致の候補を回数の多い順（同数はキーの辞書順）に最大 k 件返す
+  // ## 2. 回数の増減・置き換え・削除が上位に反映される
+  // ## 3. ランダムな操作列で、全件を並べ替えた結果と一致する
+  // ==========================================
+
+  @Test
+  @DisplayName("接頭辞に一致する要素を回数の多い順、同数はキーの辞書順で返す")
+  void topByCountThenKey() {
+    TopKPrefixIndex<String> index = new TopKPrefixIndex<>(10);
+    index.put("a", "java", 5);
+    index.put("b", "javascript", 9);
+    index.put("c", "jazz", 5);
+    index.put("d", "go", 100);
+
+    assertEquals(List.of("b", "a", "c"), index.top("ja", 10));
+    assertEquals(List.of("b", "a"), index.top("jav", 10));
+    assertEquals(List.of("d", "b"), index.top("", 2));
+    assertEquals(List.of(), index.top("x", 10));
+    assertEquals(List.of("b"), index.top("java", 1)); // "javascript" も "java" の下
+  }
+
+  @Test
+  @DisplayName("各ノードは上位 k 件までしか持たない")
+  void capsAtK() {
+    TopKPrefixIndex<Integer> index = new TopKPrefixIndex<>(3);
+    for (int i = 0; i < 10; i++) index.put(i, "tag" + i, i);
+
+    assertEquals(List.of(9, 8, 7), index.top("tag", 10));
+    assertEquals(10, index.size());
+  }
+
+  @Test
+  @DisplayName("回数の増減で順位が入れ替わり、下位から k 件に入る・k 件から落ちる")
+  void addCountReorders() {
+    TopKPrefixIndex<String> index = new TopKPrefixIndex<>(2);
+    index.put("a", "rust", 3);
+    index.put("b", "ruby", 2);
+    index.put("c", "rune", 1);
+
+    assertEquals(5, index.addCount("c", 4));
+    assertEquals(List.of("c", "a"), index.top("ru", 10));
+
+    assertEquals(0, index.addCount("c", -100)); // 0 未満にはしない
+    assertEquals(List.of("a", "b"), index.top("ru", 10));
+    assertEquals(-1, index.addCount("missing", 1));
+  }
+
+  @Test
+  @DisplayName("同じ ID の put はキーと回数を置き換え、remove は上位から外して空の枝を刈り込む")
+  void replaceAndRemove() {
+    TopKPrefixIndex<String> index = new TopKPrefixIndex<>(5);
+    index.put("a", "cat", 1);
+    index.put("b", "car", 2);
+
+    index.put("a", "dog", 7);
+    assertEquals(List.of("b"), index.top("ca", 10));
+    assertEquals(List.of("a"), index.top("d", 10));
+    assertEquals(7, index.countOf("a"));
+
+    assertTrue(index.remove("a"));
+    assertFalse(index.remove("a"));
+    assertEquals(List.of(), index.top("d", 10));
+    assertEquals(List.of("b"), index.top("", 10));
+    assertEquals(-1, index.countOf("a"));
+  }
+
+  @Test
+  @DisplayName("k が1未満・空のキーは IllegalArgumentException")
+  void rejectsInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new TopKPrefixIndex<String>(0));
+    TopKPrefixIndex<String> index = new TopKPrefixIndex<>(1);
+    assertThrows(IllegalArgumentException.class, () -> index.put("a", "", 1));
+    assertThrows(IllegalArgumentException.class, () -> index.put("a", null, 1));
+  }
+
+  @Test
+  @DisplayName("ランダムな put・addCount・remove の後も、全件を並べ替えた上位と一致する")
+  void matchesBruteForce() {
+    Random random = new Random(42);
+    int k = 4;
+    TopKPrefixIndex<Integer> index = new TopKPrefixIndex<>(k);
+    Map<Integer, String> keys = new HashMap<>();
+    Map<Integer, Long> counts = new HashMap<>();
+
+    for (int step = 0; step < 5_000; step++) {
+      int id = random.nextInt(60);
+      int op = random.nextInt(10);
+      if (op < 4) {
+        String key = randomKey(random) + "#" + id; // 同じキーの同順位は順序が決まらないので、キーは ID ごとに変える
+        long count = random.nextInt(20);
+        index.put(id, key, count);
+        keys.put(id, key);
+        counts.put(id, count);
+      } else if (op < 8) {
+        long delta = random.nextInt(11) - 5;
+        long result = index.addCount(id, delta);
+        if (keys.containsKey(id)) {
+          counts.put(id, Math.max(0, counts.get(id) + delta));
+          assertEquals(counts.get(id), result);
+        } else {
+          assertEquals(-1, result);
+        }
+      } else {
+        assertEquals(keys.containsKey(id), index.remove(id));
+        keys.remove(id);
+        counts.remove(id);
+      }
+
+      String prefix = randomKey(random).substring(0, random.nextInt(3));
+      assertEquals(bruteForce(keys, counts, prefix, k), index.top(prefix, k), "step " + step + " prefix " + prefix);
+    }
+  }
+
+  // ---------------------------
+  // helpers
+  // ---------------------------
+
+  private static String randomKey(Random random) {
+    StringBuilder sb = new StringBuilder();
+    int length = 2 + random.nextInt(3);
+    for (int i = 0; i < length; i++) sb.append((char) ('a' + random.nextInt(3)));
+    return sb.toString();
+  }
+
+  private static List<Integer> bruteForce(Map<Integer, String> keys, Map<Integer, Long> counts, String prefix, int k) {
+    List<Integer> matched = new ArrayList<>();
+    keys.forEach((id, key) -> {
+      if (key.startsWith(prefix)) matched.add(id);
+    });
+    matched.sort(Comparator.<Integer>comparingLong(id -> -counts.get(id)).thenComparing(keys::get));
+    return matched.subList(0, Math.min(k, matched.size()));
+  }
+}